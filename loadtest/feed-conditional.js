@@ -0,0 +1,60 @@
+// Scenario 6 — Conditional GET on anonymous public reads.
+//
+// Same URL rotation as feed-anonymous.js, but each VU remembers the ETag it
+// last saw per URL and revalidates with If-None-Match, like a browser or the
+// edge after max-age expires. Measures how many revalidations are answered
+// with 304 and how many body bytes that saves. Point it straight at the
+// origin (local stand-in, no edge) to isolate origin CPU:
+//
+//   k6 run feed-conditional.js -e BASE_URL=http://localhost:8080 -e RPS=50
+//
+// Compare http_req_duration and the origin CPU with CONDITIONAL=false
+// (plain refetches, the pre-ETag behaviour) at the same RPS.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter, Rate } from 'k6/metrics';
+import { BASE_URL, constantRate, PUBLIC_READ_THRESHOLDS } from './lib/config.js';
+
+const CONDITIONAL = (__ENV.CONDITIONAL || 'true') !== 'false';
+
+const notModified = new Rate('not_modified');
+const bodyBytes = new Counter('body_bytes');
+const bytesSaved = new Counter('body_bytes_saved');
+
+export const options = {
+  scenarios: { feed_conditional: constantRate() },
+  thresholds: PUBLIC_READ_THRESHOLDS,
+};
+
+const PAGES = [
+  '/public/entries?page=0&size=48',
+  '/public/entries?page=0&size=48', // weight page 0 double
+  '/public/entries?page=1&size=48',
+  '/public/entries/feed?sort=newest&page=0&size=48',
+  '/public/entries/community/feed?sort=newest&page=0&size=48',
+  '/public/collections?page=0&size=48',
+];
+
+// Per-VU validator cache: url → { etag, size }.
+const seen = {};
+
+export default function () {
+  const path = PAGES[Math.floor(Math.random() * PAGES.length)];
+  const prior = seen[path];
+  const headers = CONDITIONAL && prior ? { 'If-None-Match': prior.etag } : {};
+
+  const res = http.get(BASE_URL + path, { headers, tags: { name: 'public-feed' } });
+
+  check(res, { 'status 200/304': (r) => r.status === 200 || r.status === 304 });
+
+  if (prior) notModified.add(res.status === 304);
+  if (res.status === 304) {
+    bytesSaved.add(prior.size);
+    return;
+  }
+  const size = res.body ? res.body.length : 0;
+  bodyBytes.add(size);
+  const etag = res.headers['Etag'] || res.headers['ETag'];
+  if (etag) seen[path] = { etag, size };
+}
@@ -22,7 +22,11 @@ const PLAYLIST = __ENV.PLAYLIST || 'master.m3u8';
 /** How many media segments to fetch per iteration (a player pulls them continuously). */
 const SEGMENTS_PER_ITERATION = parseInt(__ENV.SEGMENTS_PER_ITERATION || '3', 10);
 
+const PLAYBACK_COOKIE = __ENV.PLAYBACK_COOKIE || 'playback_token';
+
 const segmentEdgeHit = new Rate('hls_segment_edge_hit');
+/** Share of sessions where the worker set the playback-token cookie (docs/PLAYBACK-TOKENS.md). */
+const playbackToken = new Rate('hls_playback_token');
 
 export const options = {
   scenarios: { hls: constantRate() },
@@ -47,6 +51,8 @@ export default function () {
   const master = http.get(`${base()}/${PLAYLIST}`,
       { headers: authHeaders(), tags: { name: 'hls-playlist' } });
   if (!check(master, { 'playlist 200': (r) => r.status === 200 })) return;
+  playbackToken.add(PLAYBACK_COOKIE in master.cookies
+      || http.cookieJar().cookiesForURL(`${base()}/`)[PLAYBACK_COOKIE] !== undefined);
 
   const lines = master.body.split('\n').map((l) => l.trim());
   const variant = lines.find((l) => l && !l.startsWith('#') && l.endsWith('.m3u8'));
@@ -0,0 +1,85 @@
+// Scenario 7 — Thousands of checkouts waiting on their order status.
+//
+// Reproduces the post-202 phase of a drop: every buyer has submitted and is
+// waiting for PROCESSING → COMPLETED. With AWAIT=true (default) each VU holds
+// a long-poll on GET /api/payments/orders/{id}/await; with AWAIT=false it
+// polls GET /api/payments/orders/{id} every POLL_INTERVAL_S like the SPA used
+// to. Compare both at the same WAITERS:
+//
+//   k6 run order-await.js -e BASE_URL=http://localhost:8080 -e AUTH_TOKEN=$TOKEN \
+//     -e ENTRY_ID=<paid entry id> -e BUYER_WALLET=G... -e WAITERS=3000
+//   k6 run order-await.js ... -e AWAIT=false
+//
+// setup() prepares ONE order for the buyer and every VU waits on it with
+// since=PENDING: nothing submits it, so each long-poll is held for the full
+// server-side timeout — the worst case for held connections. order_requests
+// is the number of requests that reached the origin (each poll is one order
+// read; each long-poll is one read per timeout); watch the Atlas opcounters
+// on `orders` alongside it.
+//
+// ⚠ Held requests count against Cloud Run's per-instance concurrency (default
+//   80). Run against a local stand-in, or raise --concurrency on staging.
+
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+import { BASE_URL, AUTH_TOKEN, DURATION, authHeaders } from './lib/config.js';
+
+const ENTRY_ID = __ENV.ENTRY_ID || '';
+const BUYER_WALLET = __ENV.BUYER_WALLET || '';
+const WAITERS = parseInt(__ENV.WAITERS || '2000', 10);
+const AWAIT = (__ENV.AWAIT || 'true') !== 'false';
+const POLL_INTERVAL_S = parseInt(__ENV.POLL_INTERVAL_S || '3', 10);
+
+const orderRequests = new Counter('order_requests');
+const heldFor = new Trend('order_await_held', true);
+
+export const options = {
+  scenarios: {
+    waiting_checkouts: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: WAITERS },
+        { duration: DURATION, target: WAITERS },
+        { duration: '10s', target: 0 },
+      ],
+      gracefulRampDown: '40s',
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+    checks: ['rate>0.99'],
+  },
+};
+
+export function setup() {
+  if (!AUTH_TOKEN) throw new Error('AUTH_TOKEN is required (buyer session)');
+  if (!ENTRY_ID) throw new Error('ENTRY_ID is required (a PAID entry)');
+  if (!BUYER_WALLET) throw new Error('BUYER_WALLET is required (G... public key of the test wallet)');
+
+  const res = http.post(`${BASE_URL}/api/payments/prepare`, JSON.stringify({
+    entryId: ENTRY_ID, collectionId: null, franchiseSlug: null, buyerWallet: BUYER_WALLET,
+  }), { headers: Object.assign({ 'Content-Type': 'application/json' }, authHeaders()) });
+  if (res.status !== 200) throw new Error(`prepare failed: ${res.status} ${res.body}`);
+  return { orderId: res.json().orderId };
+}
+
+export default function (data) {
+  const params = { headers: authHeaders(), timeout: '60s' };
+
+  if (AWAIT) {
+    const res = http.get(`${BASE_URL}/api/payments/orders/${data.orderId}/await?since=PENDING`,
+        Object.assign({ tags: { name: 'order-await' } }, params));
+    orderRequests.add(1);
+    heldFor.add(res.timings.duration);
+    check(res, { 'await 200': (r) => r.status === 200 });
+    return;
+  }
+
+  const res = http.get(`${BASE_URL}/api/payments/orders/${data.orderId}`,
+      Object.assign({ tags: { name: 'order-status' } }, params));
+  orderRequests.add(1);
+  check(res, { 'poll 200': (r) => r.status === 200 });
+  sleep(POLL_INTERVAL_S);
+}
@@ -66,7 +66,8 @@ public class AuthService {
             User user = optionalUser.get();
 
             // Detect if username or avatar changed so we can update denormalized entry data
-            boolean usernameChanged = !username.equals(user.getUsername());
+            String previousUsername = user.getUsername();
+            boolean usernameChanged = !username.equals(previousUsername);
             boolean avatarChanged = !profileImageUrl.equals(user.getProfileImageUrl());
 
             user.setDisplayName(displayName);
@@ -77,6 +78,11 @@ public class AuthService {
             user.setTempUUID(tempUUID);
             user.setTempUUIDCreatedAt(Instant.now());
             userService.save(user);
+            if (usernameChanged) {
+                // save() evicts the new name from the profile cache; the old one
+                // must not keep resolving to this user either.
+                userService.evictUsername(previousUsername);
+            }
 
             // Sync denormalized author info on all entries and collections when
             // username or avatar changes (collections are conceptually bound to
@@ -10,7 +10,8 @@ import org.earnlumens.mediastore.domain.media.model.CollectionItem;
 import org.earnlumens.mediastore.domain.media.model.CollectionStatus;
 import org.earnlumens.mediastore.domain.media.model.CollectionType;
 import org.earnlumens.mediastore.domain.media.model.EntitlementStatus;
-import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryAccessView;
+import org.earnlumens.mediastore.domain.media.model.EntryItemView;
 import org.earnlumens.mediastore.domain.media.model.EntryStatus;
 import org.earnlumens.mediastore.domain.media.model.EntryType;
 import org.earnlumens.mediastore.domain.media.model.MediaVisibility;
@@ -230,10 +231,10 @@ public class CollectionService {
         List<String> itemEntryIds = collection.getItems().stream()
                 .map(CollectionItem::getEntryId).toList();
         if (!itemEntryIds.isEmpty()) {
-            List<Entry> entries = entryRepository.findByTenantIdAndIdIn(tenantId, itemEntryIds);
+            List<EntryAccessView> entries = entryRepository.findAccessViewsByTenantIdAndIdIn(tenantId, itemEntryIds);
             List<String> nonPublished = entries.stream()
-                    .filter(e -> e.getStatus() != EntryStatus.PUBLISHED)
-                    .map(Entry::getId).toList();
+                    .filter(e -> e.status() != EntryStatus.PUBLISHED)
+                    .map(EntryAccessView::id).toList();
             if (!nonPublished.isEmpty()) {
                 throw new IllegalArgumentException(
                         "All entries must be PUBLISHED before publishing the collection. Non-published: " + nonPublished);
@@ -371,9 +372,9 @@ public class CollectionService {
         }
 
         // Verify the entry exists and is published
-        Entry entry = entryRepository.findByTenantIdAndId(tenantId, entryId)
+        EntryAccessView entry = entryRepository.findAccessViewByTenantIdAndId(tenantId, entryId)
                 .orElseThrow(() -> new IllegalArgumentException("Entry not found: " + entryId));
-        if (entry.getStatus() != EntryStatus.PUBLISHED) {
+        if (entry.status() != EntryStatus.PUBLISHED) {
             throw new IllegalArgumentException("Only PUBLISHED entries can be added to a collection");
         }
 
@@ -509,16 +510,17 @@ public class CollectionService {
                 .toList();
         List<String> entryIds = sortedItems.stream().map(CollectionItem::getEntryId).toList();
 
-        Map<String, Entry> entriesById = entryIds.isEmpty() ? Map.of()
-                : entryRepository.findByTenantIdAndIdIn(tenantId, entryIds).stream()
-                        .collect(Collectors.toMap(Entry::getId, e -> e));
+        // Projected read: card fields only (no resource text, splits or history).
+        Map<String, EntryItemView> entriesById = entryIds.isEmpty() ? Map.of()
+                : entryRepository.findItemViewsByTenantIdAndIdIn(tenantId, entryIds).stream()
+                        .collect(Collectors.toMap(EntryItemView::id, e -> e));
 
         // Batch-check individual entry entitlements (only if user doesn't have collection access)
         Set<String> entitledEntryIds = Set.of();
         if (!collUnlocked && !isOwner && userId != null) {
             List<String> paidEntryIds = entriesById.values().stream()
-                    .filter(Entry::isPaid)
-                    .map(Entry::getId)
+                    .filter(EntryItemView::isPaid)
+                    .map(EntryItemView::id)
                     .toList();
             entitledEntryIds = entitlementRepository.findEntitledEntryIds(
                     tenantId, userId, paidEntryIds, EntitlementStatus.ACTIVE);
@@ -527,33 +529,33 @@ public class CollectionService {
         Set<String> finalEntitledEntryIds = entitledEntryIds;
         List<CollectionDetailResponse.CollectionEntryItem> entryItems = sortedItems.stream()
                 .filter(item -> entriesById.containsKey(item.getEntryId()))
-                .filter(item -> isOwner || entriesById.get(item.getEntryId()).getStatus() == EntryStatus.PUBLISHED)
+                .filter(item -> isOwner || entriesById.get(item.getEntryId()).status() == EntryStatus.PUBLISHED)
                 .map(item -> {
-                    Entry entry = entriesById.get(item.getEntryId());
+                    EntryItemView entry = entriesById.get(item.getEntryId());
                     boolean entryLocked;
                     boolean entryUnlocked;
                     if (!entry.isPaid() || isOwner || collUnlocked) {
                         entryLocked = false;
                         entryUnlocked = entry.isPaid();
                     } else {
-                        entryUnlocked = finalEntitledEntryIds.contains(entry.getId());
+                        entryUnlocked = finalEntitledEntryIds.contains(entry.id());
                         entryLocked = !entryUnlocked;
                     }
 
                     return new CollectionDetailResponse.CollectionEntryItem(
-                            entry.getId(),
+                            entry.id(),
                             item.getPosition(),
-                            entry.getType() != null ? entry.getType().name().toLowerCase() : "resource",
-                            entry.getTitle(),
-                            entry.getDescription(),
-                            entry.getAuthorUsername(),
-                            entry.getThumbnailR2Key(),
-                            entry.getDurationSec(),
+                            entry.type() != null ? entry.type().name().toLowerCase() : "resource",
+                            entry.title(),
+                            entry.description(),
+                            entry.authorUsername(),
+                            entry.thumbnailR2Key(),
+                            entry.durationSec(),
                             entry.isPaid(),
-                            entry.getPriceXlm(),
+                            entry.priceXlm(),
                             entryLocked,
                             entryUnlocked,
-                            entry.getThumbnailVariantsPrefix()
+                            entry.thumbnailVariantsPrefix()
                     );
                 })
                 .toList();
@@ -14,9 +14,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Cleans up orphaned DRAFT entries that have no associated assets.
@@ -26,8 +28,9 @@ import java.util.Map;
  * The 24-hour window ensures entries being actively uploaded are never touched.
  * <p>
  * Also reclaims R2 storage: bytes uploaded for an orphaned draft (the upload
- * succeeded but finalize never ran) and stale upload sessions (abandoned
- * single-PUT objects and incomplete multipart uploads).
+ * succeeded but finalize never ran — queued on {@link R2DeletionQueueService})
+ * and stale upload sessions (abandoned single-PUT objects and incomplete
+ * multipart uploads).
  */
 @Service
 public class DraftCleanupService {
@@ -40,15 +43,18 @@ public class DraftCleanupService {
     private final AssetRepository assetRepository;
     private final UploadSessionRepository uploadSessionRepository;
     private final R2StorageService r2StorageService;
+    private final R2DeletionQueueService deletionQueueService;
 
     public DraftCleanupService(EntryRepository entryRepository,
                                AssetRepository assetRepository,
                                UploadSessionRepository uploadSessionRepository,
-                               R2StorageService r2StorageService) {
+                               R2StorageService r2StorageService,
+                               R2DeletionQueueService deletionQueueService) {
         this.entryRepository = entryRepository;
         this.assetRepository = assetRepository;
         this.uploadSessionRepository = uploadSessionRepository;
         this.r2StorageService = r2StorageService;
+        this.deletionQueueService = deletionQueueService;
     }
 
     /**
@@ -65,30 +71,33 @@ public class DraftCleanupService {
 
         logger.info("Cleanup: found {} stale DRAFT entries older than {} for tenant={}", staleDrafts.size(), cutoff, tenantId);
 
+        // One projected $in probe instead of an asset lookup per draft.
+        Set<String> withAssets = assetRepository.findEntryIdsWithAssetsByTenantIdAndEntryIdIn(
+                tenantId, staleDrafts.stream().map(Entry::getId).toList());
+        List<Entry> orphans = staleDrafts.stream()
+                .filter(entry -> !withAssets.contains(entry.getId()))
+                .toList();
+
+        // Reclaim any bytes that were uploaded but never finalized (the upload
+        // PUT succeeded but /finalize never ran). The prefixes are queued
+        // durably before the entries are deleted, so a crash here never
+        // leaks storage; the queue worker deletes them asynchronously.
+        List<String> prefixes = new ArrayList<>(orphans.size() * 2);
+        for (Entry entry : orphans) {
+            prefixes.add("private/media/" + entry.getId() + "/");
+            prefixes.add("public/media/" + entry.getId() + "/");
+        }
+        deletionQueueService.enqueue(tenantId, prefixes);
+
         Map<String, Integer> byType = new HashMap<>();
         int deleted = 0;
 
-        for (Entry entry : staleDrafts) {
-            boolean hasAssets = !assetRepository
-                    .findByTenantIdAndEntryId(entry.getTenantId(), entry.getId())
-                    .isEmpty();
-
-            if (!hasAssets) {
-                // Reclaim any bytes that were uploaded but never finalized
-                // (the upload PUT succeeded but /finalize never ran).
-                try {
-                    r2StorageService.deleteByPrefix("private/media/" + entry.getId() + "/");
-                    r2StorageService.deleteByPrefix("public/media/" + entry.getId() + "/");
-                } catch (Exception e) {
-                    logger.warn("Cleanup: R2 prefix delete failed for entry={}: {}", entry.getId(), e.getMessage());
-                }
-
-                entryRepository.deleteByTenantIdAndId(entry.getTenantId(), entry.getId());
-                byType.merge(entry.getType().name(), 1, Integer::sum);
-                deleted++;
-                logger.debug("Cleanup: deleted orphaned entry id={}, type={}, tenant={}, createdAt={}",
-                        entry.getId(), entry.getType(), entry.getTenantId(), entry.getCreatedAt());
-            }
+        for (Entry entry : orphans) {
+            entryRepository.deleteByTenantIdAndId(entry.getTenantId(), entry.getId());
+            byType.merge(entry.getType().name(), 1, Integer::sum);
+            deleted++;
+            logger.debug("Cleanup: deleted orphaned entry id={}, type={}, tenant={}, createdAt={}",
+                    entry.getId(), entry.getType(), entry.getTenantId(), entry.getCreatedAt());
         }
 
         int staleSessions = cleanStaleUploadSessions();
@@ -8,6 +8,7 @@ import org.earnlumens.mediastore.domain.media.dto.request.UpdateEntryStatusReque
 import org.earnlumens.mediastore.domain.media.dto.response.CreateEntryResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.FinalizeUploadResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.InitUploadResponse;
+import org.earnlumens.mediastore.domain.media.dto.response.PartUrlWindowResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.OwnerEntryPageResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.OwnerEntryResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.StudioItemResponse;
@@ -19,7 +20,6 @@ import org.earnlumens.mediastore.domain.media.model.EntryStatus;
 import org.earnlumens.mediastore.domain.media.model.EntryType;
 import org.earnlumens.mediastore.domain.media.model.MediaKind;
 import org.earnlumens.mediastore.domain.media.model.MediaVisibility;
-import org.earnlumens.mediastore.domain.media.model.OrderStatus;
 import org.earnlumens.mediastore.domain.media.model.PaymentSplit;
 import org.earnlumens.mediastore.domain.media.model.PriceCurrency;
 import org.earnlumens.mediastore.domain.media.model.SplitRole;
@@ -28,9 +28,7 @@ import org.earnlumens.mediastore.domain.media.model.ModerationJobStatus;
 import org.earnlumens.mediastore.domain.media.model.TranscodingJobStatus;
 import org.earnlumens.mediastore.domain.media.model.UploadSession;
 import org.earnlumens.mediastore.domain.media.repository.AssetRepository;
-import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
-import org.earnlumens.mediastore.domain.media.repository.OrderRepository;
 import org.earnlumens.mediastore.domain.media.repository.UploadSessionRepository;
 import org.earnlumens.mediastore.domain.user.repository.UserRepository;
 import org.earnlumens.mediastore.application.user.UserBadgeService;
@@ -133,9 +131,23 @@ public class EntryUploadService {
     /** Files at or above this size are uploaded via S3 multipart (resumable per-part). */
     public static final long MULTIPART_THRESHOLD_BYTES = 64L * MB;
 
-    /** Uniform part size (R2 requires all parts equal except the last). */
+    /**
+     * Minimum part size (R2 requires all parts equal except the last). The
+     * actual size is chosen per upload by {@link #partSizeFor(long)}.
+     */
     public static final long PART_SIZE_BYTES = 16L * MB;
 
+    /** Part size doubles until the upload needs at most this many parts. */
+    static final int TARGET_MAX_PARTS = 1000;
+
+    /**
+     * Part URLs presigned up front by {@code initUpload}, and the maximum the
+     * client may request per {@code generatePartUrlWindow} call. Presigning
+     * every part at init made init latency and response size grow with file
+     * size (a 5 GB video = 320 URLs); a window keeps both constant.
+     */
+    public static final int PART_URL_WINDOW = 32;
+
     public static final long MAX_THUMBNAIL_BYTES = 10L * MB;
     public static final long MAX_PREVIEW_BYTES = 512L * MB;
     public static final Map<EntryType, Long> MAX_FULL_BYTES = Map.of(
@@ -156,8 +168,6 @@ public class EntryUploadService {
     private final EntryRepository entryRepository;
     private final AssetRepository assetRepository;
     private final UserRepository userRepository;
-    private final OrderRepository orderRepository;
-    private final CollectionRepository collectionRepository;
     private final R2PresignedUrlService r2PresignedUrlService;
     private final R2StorageService r2StorageService;
     private final UploadSessionRepository uploadSessionRepository;
@@ -174,8 +184,6 @@ public class EntryUploadService {
             EntryRepository entryRepository,
             AssetRepository assetRepository,
             UserRepository userRepository,
-            OrderRepository orderRepository,
-            CollectionRepository collectionRepository,
             R2PresignedUrlService r2PresignedUrlService,
             R2StorageService r2StorageService,
             UploadSessionRepository uploadSessionRepository,
@@ -191,8 +199,6 @@ public class EntryUploadService {
         this.entryRepository = entryRepository;
         this.assetRepository = assetRepository;
         this.userRepository = userRepository;
-        this.orderRepository = orderRepository;
-        this.collectionRepository = collectionRepository;
         this.r2PresignedUrlService = r2PresignedUrlService;
         this.r2StorageService = r2StorageService;
         this.uploadSessionRepository = uploadSessionRepository;
@@ -387,20 +393,22 @@ public class EntryUploadService {
 
         if (multipart) {
             String s3UploadId = r2StorageService.createMultipartUpload(r2Key, request.contentType());
-            int totalParts = (int) ((request.fileSizeBytes() + PART_SIZE_BYTES - 1) / PART_SIZE_BYTES);
-            List<String> partUrls = new ArrayList<>(totalParts);
-            for (int part = 1; part <= totalParts; part++) {
-                partUrls.add(r2PresignedUrlService.generatePresignedUploadPartUrl(r2Key, s3UploadId, part));
-            }
+            long partSize = partSizeFor(request.fileSizeBytes());
+            int totalParts = (int) ((request.fileSizeBytes() + partSize - 1) / partSize);
+            // Only the first window is presigned here; the client pulls the
+            // rest via generatePartUrlWindow as its upload advances.
+            List<String> partUrls = r2PresignedUrlService.generatePresignedUploadPartUrls(
+                    r2Key, s3UploadId, 1, Math.min(totalParts, PART_URL_WINDOW));
             session.setS3UploadId(s3UploadId);
-            session.setPartSizeBytes(PART_SIZE_BYTES);
+            session.setPartSizeBytes(partSize);
             session.setTotalParts(totalParts);
             uploadSessionRepository.save(session);
 
-            logger.info("initUpload (multipart): uploadId={}, entryId={}, kind={}, r2Key={}, parts={}",
-                    uploadId, request.entryId(), kind, r2Key, totalParts);
+            logger.info("initUpload (multipart): uploadId={}, entryId={}, kind={}, r2Key={}, partSize={}, parts={}",
+                    uploadId, request.entryId(), kind, r2Key, partSize, totalParts);
 
-            return Optional.of(new InitUploadResponse(uploadId, null, r2Key, true, PART_SIZE_BYTES, partUrls));
+            return Optional.of(new InitUploadResponse(
+                    uploadId, null, r2Key, true, partSize, partUrls, totalParts));
         }
 
         String presignedUrl = r2PresignedUrlService.generatePresignedPutUrl(
@@ -659,6 +667,47 @@ public class EntryUploadService {
                 session.getR2Key(), session.getS3UploadId(), partNumber));
     }
 
+    /**
+     * Presigns the next window of part URLs for an in-progress multipart
+     * upload: parts {@code firstPart .. firstPart + count - 1}, clipped to the
+     * upload's last part. {@code count} is capped at {@link #PART_URL_WINDOW}.
+     *
+     * @return the window, or empty if the session is not found or not owned
+     * @throws IllegalArgumentException INVALID_PART_NUMBER if the session is
+     *         not multipart or {@code firstPart} is out of range
+     */
+    public Optional<PartUrlWindowResponse> generatePartUrlWindow(
+            String tenantId, String userId, String uploadId, int firstPart, int count) {
+        UploadSession session = uploadSessionRepository.findByIdAndTenantId(uploadId, tenantId).orElse(null);
+        if (session == null || !userId.equals(session.getUserId())) {
+            return Optional.empty();
+        }
+        if (!session.isMultipart() || session.getTotalParts() == null
+                || firstPart < 1 || firstPart > session.getTotalParts() || count < 1) {
+            throw new IllegalArgumentException("INVALID_PART_NUMBER");
+        }
+        int totalParts = session.getTotalParts();
+        int windowSize = Math.min(Math.min(count, PART_URL_WINDOW), totalParts - firstPart + 1);
+        List<String> urls = r2PresignedUrlService.generatePresignedUploadPartUrls(
+                session.getR2Key(), session.getS3UploadId(), firstPart, windowSize);
+        return Optional.of(new PartUrlWindowResponse(uploadId, firstPart, totalParts, urls));
+    }
+
+    /**
+     * Part size for a multipart upload of {@code fileSizeBytes}: starts at
+     * {@link #PART_SIZE_BYTES} and doubles until the upload fits in
+     * {@link #TARGET_MAX_PARTS} parts, so large files get fewer, larger parts
+     * (fewer URLs to sign, fewer PUT round-trips, smaller ListParts on
+     * complete) while small uploads keep fine-grained resume.
+     */
+    static long partSizeFor(long fileSizeBytes) {
+        long partSize = PART_SIZE_BYTES;
+        while ((fileSizeBytes + partSize - 1) / partSize > TARGET_MAX_PARTS) {
+            partSize *= 2;
+        }
+        return partSize;
+    }
+
     /**
      * Aborts an in-progress upload: cancels the multipart upload (freeing
      * stored parts) or deletes the single-PUT object, and marks the session
@@ -689,8 +738,11 @@ public class EntryUploadService {
     /**
      * Upload limits and multipart parameters, exposed so the client always
      * validates against the same numbers the server enforces.
+     * {@code partSizeBytes} is the part size {@code initUpload} will use for
+     * {@code fileSizeBytes}, or the minimum part size when no size is given;
+     * {@code minPartSizeBytes} is always the minimum.
      */
-    public Map<String, Object> getUploadConfig() {
+    public Map<String, Object> getUploadConfig(Long fileSizeBytes) {
         Map<String, Object> maxFullBytes = new HashMap<>();
         MAX_FULL_BYTES.forEach((type, bytes) -> maxFullBytes.put(type.name(), bytes));
         Map<String, Object> config = new HashMap<>();
@@ -698,7 +750,11 @@ public class EntryUploadService {
         config.put("maxThumbnailBytes", MAX_THUMBNAIL_BYTES);
         config.put("maxPreviewBytes", MAX_PREVIEW_BYTES);
         config.put("multipartThresholdBytes", MULTIPART_THRESHOLD_BYTES);
-        config.put("partSizeBytes", PART_SIZE_BYTES);
+        config.put("minPartSizeBytes", PART_SIZE_BYTES);
+        config.put("partSizeBytes", fileSizeBytes != null && fileSizeBytes > 0
+                ? partSizeFor(fileSizeBytes) : PART_SIZE_BYTES);
+        config.put("targetMaxParts", TARGET_MAX_PARTS);
+        config.put("partUrlWindow", PART_URL_WINDOW);
         return config;
     }
 
@@ -1075,99 +1131,6 @@ public class EntryUploadService {
         return true;
     }
 
-    /**
-     * Aggregated dashboard stats for the owner (counts by status + total views).
-     * Delegates to a single MongoDB aggregation pipeline for efficiency.
-     */
-    public org.earnlumens.mediastore.domain.media.dto.response.OwnerStatsResponse getOwnerStats(
-            String tenantId, String userId) {
-        java.util.Map<String, Long> raw = entryRepository.getOwnerStats(tenantId, userId);
-        long totalSales = orderRepository.countByTenantIdAndSellerIdAndStatus(
-                tenantId, userId, OrderStatus.COMPLETED);
-        return new org.earnlumens.mediastore.domain.media.dto.response.OwnerStatsResponse(
-                raw.getOrDefault("totalEntries", 0L),
-                raw.getOrDefault("published", 0L),
-                raw.getOrDefault("drafts", 0L),
-                raw.getOrDefault("inReview", 0L),
-                raw.getOrDefault("rejected", 0L),
-                raw.getOrDefault("archived", 0L),
-                raw.getOrDefault("deleted", 0L),
-                raw.getOrDefault("totalViews", 0L),
-                totalSales
-        );
-    }
-
-    /**
-     * Returns the list of completed sales for a seller, with payment split breakdown.
-     * Each sale includes the target title (entry or collection), gross amount,
-     * splits (with computed XLM amounts), and the Stellar transaction hash
-     * for on-chain verification. Collection sales are reported with type COLLECTION.
-     */
-    public List<org.earnlumens.mediastore.domain.media.dto.response.SellerOrderResponse> getSellerSales(
-            String tenantId, String sellerId) {
-        var orders = orderRepository.findByTenantIdAndSellerIdAndStatus(
-                tenantId, sellerId, OrderStatus.COMPLETED);
-
-        // Batch-load entry titles (legacy orders without targetType are entry sales)
-        List<String> entryIds = orders.stream()
-                .filter(o -> o.getTargetType() != org.earnlumens.mediastore.domain.media.model.TargetType.COLLECTION)
-                .map(o -> o.getEntryId())
-                .filter(java.util.Objects::nonNull)
-                .distinct().toList();
-        java.util.Map<String, Entry> entryMap = new java.util.HashMap<>();
-        if (!entryIds.isEmpty()) {
-            entryRepository.findByTenantIdAndIdIn(tenantId, entryIds)
-                    .forEach(e -> entryMap.put(e.getId(), e));
-        }
-
-        // Batch-load collection titles
-        List<String> collectionIds = orders.stream()
-                .filter(o -> o.getTargetType() == org.earnlumens.mediastore.domain.media.model.TargetType.COLLECTION)
-                .map(o -> o.getCollectionId())
-                .filter(java.util.Objects::nonNull)
-                .distinct().toList();
-        java.util.Map<String, org.earnlumens.mediastore.domain.media.model.Collection> collectionMap =
-                new java.util.HashMap<>();
-        if (!collectionIds.isEmpty()) {
-            collectionRepository.findByTenantIdAndIdIn(tenantId, collectionIds)
-                    .forEach(c -> collectionMap.put(c.getId(), c));
-        }
-
-        return orders.stream().map(order -> {
-            boolean isCollection =
-                    order.getTargetType() == org.earnlumens.mediastore.domain.media.model.TargetType.COLLECTION;
-
-            String targetId;
-            String targetTitle;
-            String targetType;
-            if (isCollection) {
-                var collection = collectionMap.get(order.getCollectionId());
-                targetId = order.getCollectionId();
-                targetTitle = collection != null ? collection.getTitle() : "—";
-                targetType = "COLLECTION";
-            } else {
-                Entry entry = entryMap.get(order.getEntryId());
-                targetId = order.getEntryId();
-                targetTitle = entry != null ? entry.getTitle() : "—";
-                targetType = entry != null && entry.getType() != null ? entry.getType().name() : "RESOURCE";
-            }
-
-            // Build split details with computed XLM amounts
-            BigDecimal gross = order.getAmountXlm() != null ? order.getAmountXlm() : BigDecimal.ZERO;
-            List<org.earnlumens.mediastore.domain.media.dto.response.SellerOrderResponse.SplitDetail> splits =
-                    order.getPaymentSplits().stream().map(s -> {
-                        BigDecimal splitXlm = gross.multiply(s.getPercent())
-                                .divide(ONE_HUNDRED, 7, java.math.RoundingMode.HALF_UP);
-                        return new org.earnlumens.mediastore.domain.media.dto.response.SellerOrderResponse.SplitDetail(
-                                s.getWallet(), s.getRole().name(), s.getPercent(), splitXlm);
-                    }).toList();
-
-            return new org.earnlumens.mediastore.domain.media.dto.response.SellerOrderResponse(
-                    order.getId(), targetId, targetTitle, targetType,
-                    gross, order.getStellarTxHash(), order.getCompletedAt(), splits);
-        }).toList();
-    }
-
     /**
      * Returns a paginated list of entries owned by the authenticated user,
      * optionally filtered by status and/or type.
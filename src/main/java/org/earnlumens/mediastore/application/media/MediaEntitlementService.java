@@ -6,7 +6,7 @@ import org.earnlumens.mediastore.domain.media.model.AssetStatus;
 import org.earnlumens.mediastore.domain.media.model.Collection;
 import org.earnlumens.mediastore.domain.media.model.CollectionStatus;
 import org.earnlumens.mediastore.domain.media.model.Entitlement;
-import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryAccessView;
 import org.earnlumens.mediastore.domain.media.model.EntitlementStatus;
 import org.earnlumens.mediastore.domain.media.model.EntryType;
 import org.earnlumens.mediastore.domain.media.model.GrantType;
@@ -64,13 +64,14 @@ public class MediaEntitlementService {
      * @return the entitlement response if allowed, empty otherwise
      */
     public Optional<MediaEntitlementResponse> checkEntitlement(String tenantId, String userId, String entryId) {
-        Optional<Entry> optEntry = entryRepository.findByTenantIdAndId(tenantId, entryId);
+        // Projected read: the check needs owner, price flag, type and HLS fields only.
+        Optional<EntryAccessView> optEntry = entryRepository.findAccessViewByTenantIdAndId(tenantId, entryId);
         if (optEntry.isEmpty()) {
             logger.debug("Entry not found: tenantId={}, entryId={}", tenantId, entryId);
             return Optional.empty();
         }
 
-        Entry entry = optEntry.get();
+        EntryAccessView entry = optEntry.get();
 
         // Free content is accessible to anyone (including unauthenticated users)
         if (!entry.isPaid()) {
@@ -85,7 +86,7 @@ public class MediaEntitlementService {
         }
 
         // Owner always has access
-        if (userId.equals(entry.getUserId())) {
+        if (userId.equals(entry.userId())) {
             logger.debug("Access granted (owner): userId={}, entryId={}", userId, entryId);
             return buildAssetResponse(tenantId, entry);
         }
@@ -160,15 +161,15 @@ public class MediaEntitlementService {
         return valid;
     }
 
-    private Optional<MediaEntitlementResponse> buildAssetResponse(String tenantId, Entry entry) {
-        String entryId = entry.getId();
+    private Optional<MediaEntitlementResponse> buildAssetResponse(String tenantId, EntryAccessView entry) {
+        String entryId = entry.id();
         Optional<Asset> optAsset = assetRepository
                 .findByTenantIdAndEntryIdAndKindAndStatus(tenantId, entryId, MediaKind.FULL, AssetStatus.READY);
 
         if (optAsset.isEmpty()) {
             // RESOURCE entries can be text-only (no file upload).
             // Grant access so the frontend can render resourceContent.
-            if (entry.getType() == EntryType.RESOURCE) {
+            if (entry.type() == EntryType.RESOURCE) {
                 logger.debug("Text-only RESOURCE entry, granting access: tenantId={}, entryId={}", tenantId, entryId);
                 return Optional.of(new MediaEntitlementResponse(true, null, null, null, null, null));
             }
@@ -181,9 +182,9 @@ public class MediaEntitlementService {
         // Resolve HLS R2 prefix: stored on entry for new transcodes,
         // computed for legacy entries that have hlsReady but no stored prefix
         String hlsPrefix = null;
-        if (entry.isHlsReady()) {
-            hlsPrefix = entry.getHlsR2Prefix() != null
-                    ? entry.getHlsR2Prefix()
+        if (entry.hlsReady()) {
+            hlsPrefix = entry.hlsR2Prefix() != null
+                    ? entry.hlsR2Prefix()
                     : "public/media/" + entryId + "/hls";
         }
 
@@ -0,0 +1,50 @@
+package org.earnlumens.mediastore.application.media;
+
+import org.earnlumens.mediastore.infrastructure.lock.DistributedLockService;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Periodically rebuilds stale {@code owner_stats} documents from source via
+ * {@link OwnerStatsService#reconcile()}.
+ *
+ * <p>Runs on a fixed delay (default 5 min, configurable via
+ * {@code mediastore.owner-stats.reconcile-interval-ms}); the distributed lock
+ * keeps a single instance reconciling per cycle.
+ */
+@Component
+public class OwnerStatsReconciliationWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(OwnerStatsReconciliationWorker.class);
+
+    private final OwnerStatsService ownerStatsService;
+    private final DistributedLockService lockService;
+
+    public OwnerStatsReconciliationWorker(OwnerStatsService ownerStatsService, DistributedLockService lockService) {
+        this.ownerStatsService = ownerStatsService;
+        this.lockService = lockService;
+    }
+
+    @Scheduled(fixedDelayString = "${mediastore.owner-stats.reconcile-interval-ms:300000}",
+               initialDelayString = "${mediastore.owner-stats.reconcile-interval-ms:300000}")
+    public void run() {
+        if (!lockService.tryAcquire("owner-stats-reconcile", Duration.ofMinutes(4))) {
+            return; // another instance is reconciling this cycle
+        }
+        TenantContext.runWithoutTenant(() -> {
+            try {
+                int drifted = ownerStatsService.reconcile();
+                if (drifted > 0) {
+                    logger.info("Owner stats reconcile cycle: repaired {} drifted document(s)", drifted);
+                }
+            } catch (Exception e) {
+                logger.error("Owner stats reconcile cycle failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+}
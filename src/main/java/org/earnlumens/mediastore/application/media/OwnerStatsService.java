@@ -0,0 +1,148 @@
+package org.earnlumens.mediastore.application.media;
+
+import org.earnlumens.mediastore.domain.media.dto.response.OwnerStatsResponse;
+import org.earnlumens.mediastore.domain.media.model.CollectionStatus;
+import org.earnlumens.mediastore.domain.media.model.EntryStatus;
+import org.earnlumens.mediastore.domain.media.model.OrderStatus;
+import org.earnlumens.mediastore.domain.media.model.OwnerStats;
+import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.domain.media.repository.OrderRepository;
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Creator Studio dashboard counters backed by {@code owner_stats}.
+ * <p>
+ * {@link #getStats} is a single point read; the document is kept current by
+ * {@code $inc} deltas from the entry/collection adapters and the payment flow.
+ * On a miss it is built from source (entry aggregation, collection counts and
+ * completed orders) and stored. {@link #reconcile} (run by
+ * {@link OwnerStatsReconciliationWorker}) periodically rebuilds the
+ * least-recently reconciled documents to repair any drift from a lost
+ * best-effort increment.
+ * <p>
+ * A rebuild reads the stored version before counting from source and stores
+ * the result only if the version is unchanged; an increment that lands in
+ * between makes it skip, and the document is picked up again next cycle.
+ */
+@Service
+public class OwnerStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OwnerStatsService.class);
+
+    private final OwnerStatsRepository ownerStatsRepository;
+    private final EntryRepository entryRepository;
+    private final CollectionRepository collectionRepository;
+    private final OrderRepository orderRepository;
+    private final int batchSize;
+    private final Duration maxAge;
+
+    public OwnerStatsService(
+            OwnerStatsRepository ownerStatsRepository,
+            EntryRepository entryRepository,
+            CollectionRepository collectionRepository,
+            OrderRepository orderRepository,
+            @Value("${mediastore.owner-stats.reconcile-batch-size:200}") int batchSize,
+            @Value("${mediastore.owner-stats.reconcile-max-age-hours:6}") long maxAgeHours
+    ) {
+        this.ownerStatsRepository = ownerStatsRepository;
+        this.entryRepository = entryRepository;
+        this.collectionRepository = collectionRepository;
+        this.orderRepository = orderRepository;
+        this.batchSize = batchSize;
+        this.maxAge = Duration.ofHours(maxAgeHours);
+    }
+
+    /** Dashboard stats for the owner: one {@code _id} read, built from source on first use. */
+    public OwnerStatsResponse getStats(String tenantId, String userId) {
+        OwnerStats stats = ownerStatsRepository.findByTenantIdAndUserId(tenantId, userId)
+                .orElseGet(() -> {
+                    OwnerStats built = countFromSource(tenantId, userId);
+                    ownerStatsRepository.replaceByTenantIdAndUserId(tenantId, userId, built, null);
+                    return built;
+                });
+        return toResponse(stats);
+    }
+
+    /**
+     * Rebuilds one batch of documents last reconciled more than
+     * {@code reconcile-max-age-hours} ago.
+     *
+     * @return number of documents whose stored counters had drifted
+     */
+    public int reconcile() {
+        LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minus(maxAge);
+        List<OwnerStats> stale = ownerStatsRepository.findByReconciledAtBefore(cutoff, batchSize);
+        int drifted = 0;
+        for (OwnerStats stored : stale) {
+            try {
+                OwnerStats rebuilt = countFromSource(stored.getTenantId(), stored.getUserId());
+                if (!ownerStatsRepository.replaceByTenantIdAndUserId(
+                        stored.getTenantId(), stored.getUserId(), rebuilt, stored.getVersion())) {
+                    continue; // incremented meanwhile; picked up again next cycle
+                }
+                if (!rebuilt.sameCountsAs(stored)) {
+                    drifted++;
+                    logger.info("OWNER_STATS_DRIFT tenant={}, userId={}: entries={}→{}, views={}→{}, sales={}→{}",
+                            stored.getTenantId(), stored.getUserId(),
+                            stored.getTotalEntries(), rebuilt.getTotalEntries(),
+                            stored.getTotalViews(), rebuilt.getTotalViews(),
+                            stored.getTotalSales(), rebuilt.getTotalSales());
+                }
+            } catch (Exception e) {
+                logger.error("Owner stats reconcile failed for tenant={}, userId={}: {}",
+                        stored.getTenantId(), stored.getUserId(), e.getMessage(), e);
+            }
+        }
+        return drifted;
+    }
+
+    /** Counts the owner's entries, collections and completed sales from the source collections. */
+    private OwnerStats countFromSource(String tenantId, String userId) {
+        Map<String, Long> entryCounts = new HashMap<>(entryRepository.getOwnerStats(tenantId, userId));
+        long totalEntries = Optional.ofNullable(entryCounts.remove(OwnerStats.TOTAL_ENTRIES)).orElse(0L);
+        long totalViews = Optional.ofNullable(entryCounts.remove(OwnerStats.TOTAL_VIEWS)).orElse(0L);
+        Map<String, Long> collectionCounts = collectionRepository.countByTenantIdAndUserIdGroupByStatus(tenantId, userId);
+
+        OwnerStats rebuilt = new OwnerStats();
+        rebuilt.setEntries(entryCounts);
+        rebuilt.setTotalEntries(totalEntries);
+        rebuilt.setTotalViews(totalViews);
+        rebuilt.setCollections(new HashMap<>(collectionCounts));
+        rebuilt.setTotalCollections(collectionCounts.values().stream().mapToLong(Long::longValue).sum());
+        rebuilt.setTotalSales(orderRepository.countByTenantIdAndSellerIdAndStatus(
+                tenantId, userId, OrderStatus.COMPLETED));
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        rebuilt.setUpdatedAt(now);
+        rebuilt.setReconciledAt(now);
+        return rebuilt;
+    }
+
+    private static OwnerStatsResponse toResponse(OwnerStats stats) {
+        return new OwnerStatsResponse(
+                stats.getTotalEntries(),
+                stats.entryCount(EntryStatus.PUBLISHED),
+                stats.entryCount(EntryStatus.DRAFT),
+                stats.entryCount(EntryStatus.IN_REVIEW),
+                stats.entryCount(EntryStatus.REJECTED),
+                stats.entryCount(EntryStatus.ARCHIVED),
+                stats.entryCount(EntryStatus.DELETED),
+                stats.getTotalViews(),
+                stats.getTotalSales(),
+                stats.getTotalCollections(),
+                stats.collectionCount(CollectionStatus.PUBLISHED)
+        );
+    }
+}
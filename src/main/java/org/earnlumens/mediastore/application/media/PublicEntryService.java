@@ -15,6 +15,7 @@ import org.earnlumens.mediastore.domain.media.repository.AssetRepository;
 import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntitlementRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.domain.user.model.BadgeType;
 import org.bson.Document;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -69,8 +70,8 @@ public class PublicEntryService {
         return entryRepository.findByTenantIdAndId(tenantId, entryId)
                 .filter(entry -> isVisibleToViewer(tenantId, entry, viewerUserId))
                 .map(entry -> {
-                    // Atomically increment view count (fire-and-forget)
-                    entryRepository.incrementViewCount(tenantId, entryId);
+                    // Buffered view count, flushed in batches (fire-and-forget)
+                    entryRepository.incrementViewCount(tenantId, entryId, entry.getUserId());
 
                     // For detail view: include FULL asset metadata if available
                     AssetInfo assetInfo = assetRepository
@@ -273,7 +274,7 @@ public class PublicEntryService {
                                                     org.earnlumens.mediastore.domain.media.model.LanguageFilter languageFilter,
                                                     int page, int size) {
         int skip = page * size;
-        Document facetResult = entryRepository.findCommunityFeed(tenantId, "u1", type, pricing, sort, languageFilter, skip, size);
+        Document facetResult = entryRepository.findCommunityFeed(tenantId, BadgeType.U1.key(), type, pricing, sort, languageFilter, skip, size);
 
         List<Document> docs = facetResult != null
                 ? facetResult.getList("data", Document.class, List.of())
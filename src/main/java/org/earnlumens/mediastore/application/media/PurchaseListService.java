@@ -1,5 +1,6 @@
 package org.earnlumens.mediastore.application.media;
 
+import org.earnlumens.mediastore.domain.media.dto.response.PurchaseLibraryPageResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.PurchasedCollectionPageResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.PurchasedCollectionResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.PurchasedEntryPageResponse;
@@ -7,10 +8,10 @@ import org.earnlumens.mediastore.domain.media.dto.response.PurchasedEntryRespons
 import org.earnlumens.mediastore.domain.media.dto.response.PublicFeedItemResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.PublicFeedPageResponse;
 import org.earnlumens.mediastore.domain.media.model.Collection;
-import org.earnlumens.mediastore.domain.media.model.CollectionItem;
 import org.earnlumens.mediastore.domain.media.model.Entitlement;
 import org.earnlumens.mediastore.domain.media.model.EntitlementStatus;
 import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.PurchaseLibraryPage;
 import org.earnlumens.mediastore.domain.media.model.TargetType;
 import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntitlementRepository;
@@ -23,17 +24,19 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Service for listing a user's purchased content.
- * Joins entitlements with entry/collection data in a single paginated response.
+ * Joins entitlements with entry/collection data in a single paginated response;
+ * each page is one aggregation rooted at the user's entitlements.
  */
 @Service
 public class PurchaseListService {
@@ -41,6 +44,9 @@ public class PurchaseListService {
     private static final Logger logger = LoggerFactory.getLogger(PurchaseListService.class);
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
+    public static final int DEFAULT_PAGE_SIZE = 24;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final EntitlementRepository entitlementRepository;
     private final EntryRepository entryRepository;
     private final CollectionRepository collectionRepository;
@@ -57,105 +63,63 @@ public class PurchaseListService {
      * Returns a paginated list of entries the user has purchased (ACTIVE entitlements).
      * For collection entitlements, expands into individual entries so the frontend
      * store knows which entry IDs are unlocked via collection purchase.
+     * <p>
+     * Pages are windows of {@code size} entitlements; the window and its
+     * expansion are resolved in one aggregation. Prefer {@link #getLibraryPage},
+     * which seeks by cursor instead of skipping earlier windows.
      */
     public PurchasedEntryPageResponse listPurchases(String tenantId, String userId,
                                                      int page, int size) {
-        // 1. Get paginated entitlements (both ENTRY and COLLECTION types)
-        Page<Entitlement> entitlementPage = entitlementRepository
-                .findByTenantIdAndUserIdAndStatus(
-                        tenantId, userId, EntitlementStatus.ACTIVE,
-                        PageRequest.of(page, size));
-
-        List<Entitlement> entitlements = entitlementPage.getContent();
+        long total = entitlementRepository.countByTenantIdAndUserIdAndStatus(
+                tenantId, userId, EntitlementStatus.ACTIVE);
+        int totalPages = size > 0 ? (int) Math.ceil((double) total / size) : 0;
 
-        if (entitlements.isEmpty()) {
-            return new PurchasedEntryPageResponse(
-                    List.of(), page, size,
-                    entitlementPage.getTotalElements(),
-                    entitlementPage.getTotalPages());
+        if (total == 0 || (long) page * size >= total) {
+            return new PurchasedEntryPageResponse(List.of(), page, size, total, totalPages);
         }
 
-        // 2. Separate entry-level and collection-level entitlements
-        List<Entitlement> entryEntitlements = entitlements.stream()
-                .filter(ent -> ent.getEntryId() != null)
-                .toList();
-        List<Entitlement> collectionEntitlements = entitlements.stream()
-                .filter(ent -> ent.getEntryId() == null && ent.getCollectionId() != null)
-                .toList();
+        PurchaseLibraryPage window = entitlementRepository.findLibraryPageByTenantIdAndUserId(
+                tenantId, userId, null, null, page * size, size);
 
-        // 3. Batch-load entries from direct entry entitlements
-        List<String> directEntryIds = entryEntitlements.stream()
-                .map(Entitlement::getEntryId)
-                .toList();
+        return new PurchasedEntryPageResponse(toResponses(window), page, size, total, totalPages);
+    }
 
-        Map<String, Entry> entriesById = directEntryIds.isEmpty()
-                ? new LinkedHashMap<>()
-                : new LinkedHashMap<>(entryRepository
-                        .findByTenantIdAndIdIn(tenantId, directEntryIds)
-                        .stream()
-                        .collect(Collectors.toMap(Entry::getId, e -> e)));
-
-        // 4. Expand collection entitlements → load collections → extract entry IDs → load entries
-        Map<String, Entitlement> collEntitlementByCollId = new LinkedHashMap<>();
-        for (Entitlement ent : collectionEntitlements) {
-            collEntitlementByCollId.put(ent.getCollectionId(), ent);
+    /**
+     * One window of the purchase library, newest purchase first. Cost is
+     * bounded by {@code limit}: the window is an index seek past the cursor,
+     * expanded to entries in the same aggregation, with no total count.
+     *
+     * @param cursor opaque cursor from the previous window, or null for the first one
+     * @param limit  number of entitlements per window; a collection purchase
+     *               contributes all of its entries
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public PurchaseLibraryPageResponse getLibraryPage(String tenantId, String userId, String cursor, int limit) {
+        int size = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        LocalDateTime afterGrantedAt = null;
+        String afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor decoded = decodeCursor(cursor);
+            afterGrantedAt = decoded.grantedAt();
+            afterId = decoded.id();
         }
 
-        List<PurchasedEntryResponse> collectionExpandedItems = new ArrayList<>();
-        if (!collectionEntitlements.isEmpty()) {
-            List<String> collIds = new ArrayList<>(collEntitlementByCollId.keySet());
-            List<Collection> collections = collectionRepository.findByTenantIdAndIdIn(tenantId, collIds);
-
-            // Find entry IDs not yet loaded
-            List<String> expandedEntryIds = collections.stream()
-                    .filter(c -> c.getItems() != null)
-                    .flatMap(c -> c.getItems().stream().map(CollectionItem::getEntryId))
-                    .filter(id -> id != null && !entriesById.containsKey(id))
-                    .distinct()
-                    .toList();
-
-            if (!expandedEntryIds.isEmpty()) {
-                entryRepository.findByTenantIdAndIdIn(tenantId, expandedEntryIds)
-                        .forEach(e -> entriesById.put(e.getId(), e));
-            }
+        PurchaseLibraryPage window = entitlementRepository.findLibraryPageByTenantIdAndUserId(
+                tenantId, userId, afterGrantedAt, afterId, 0, size);
 
-            // Create response items for each entry in each purchased collection
-            for (Collection coll : collections) {
-                Entitlement ent = collEntitlementByCollId.get(coll.getId());
-                if (coll.getItems() == null) continue;
-                for (CollectionItem item : coll.getItems()) {
-                    Entry entry = entriesById.get(item.getEntryId());
-                    if (entry != null) {
-                        collectionExpandedItems.add(toResponse(entry, ent));
-                    }
-                }
-            }
-        }
+        String nextCursor = window.hasMore()
+                ? encodeCursor(window.lastGrantedAt(), window.lastEntitlementId())
+                : null;
+        return new PurchaseLibraryPageResponse(toResponses(window), nextCursor);
+    }
 
-        // 5. Build direct entry items
-        List<PurchasedEntryResponse> directItems = entryEntitlements.stream()
-                .filter(ent -> entriesById.containsKey(ent.getEntryId()))
-                .map(ent -> toResponse(entriesById.get(ent.getEntryId()), ent))
+    private List<PurchasedEntryResponse> toResponses(PurchaseLibraryPage window) {
+        return window.items().stream()
+                .map(item -> toResponse(item.entry(), item.grantedAt()))
                 .toList();
-
-        // 6. Merge, deduplicate by entry ID (direct purchases take precedence)
-        Map<String, PurchasedEntryResponse> merged = new LinkedHashMap<>();
-        for (PurchasedEntryResponse item : directItems) {
-            merged.put(item.id(), item);
-        }
-        for (PurchasedEntryResponse item : collectionExpandedItems) {
-            merged.putIfAbsent(item.id(), item);
-        }
-
-        return new PurchasedEntryPageResponse(
-                new ArrayList<>(merged.values()),
-                entitlementPage.getNumber(),
-                entitlementPage.getSize(),
-                entitlementPage.getTotalElements(),
-                entitlementPage.getTotalPages());
     }
 
-    private PurchasedEntryResponse toResponse(Entry entry, Entitlement entitlement) {
+    private PurchasedEntryResponse toResponse(Entry entry, LocalDateTime grantedAt) {
         return new PurchasedEntryResponse(
                 entry.getId(),
                 entry.getType() != null ? entry.getType().name().toLowerCase() : "resource",
@@ -170,9 +134,7 @@ public class PurchaseListService {
                 entry.isPaid(),
                 entry.getPriceXlm(),
                 entry.getTags(),
-                entitlement.getGrantedAt() != null
-                        ? entitlement.getGrantedAt().format(ISO_FORMATTER)
-                        : null,
+                grantedAt != null ? grantedAt.format(ISO_FORMATTER) : null,
                 entry.getThumbnailVariantsPrefix(),
                 entry.getPreviewVariantsPrefix()
         );
@@ -238,7 +200,7 @@ public class PurchaseListService {
                 entitlementPage.getTotalPages());
     }
 
-    // ── Unified purchased feed (entries + collections via $unionWith) ──────
+    // ── Unified purchased feed (entries + collections via $lookup) ─────────
 
     /**
      * Returns a unified, paginated feed of purchased entries + collections.
@@ -247,25 +209,22 @@ public class PurchaseListService {
     public PublicFeedPageResponse getUnifiedPurchases(String tenantId, String userId,
                                                        String type, String search, String sort,
                                                        int page, int size) {
-        // 1. Get ALL entitled entry IDs and collection IDs
-        Set<String> entryIds = entitlementRepository.findAllEntitledEntryIds(
-                tenantId, userId, EntitlementStatus.ACTIVE);
-        Set<String> collectionIds = entitlementRepository.findAllEntitledCollectionIds(
-                tenantId, userId, EntitlementStatus.ACTIVE);
-
-        if (entryIds.isEmpty() && collectionIds.isEmpty()) {
-            return new PublicFeedPageResponse(List.of(), page, size, 0, 0);
-        }
-
-        // 2. Run $unionWith aggregation with server-side pagination
+        // 1. One aggregation from the user's entitlements: $lookup entries and
+        //    collections, filter, sort, and page + count via $facet
         int skip = page * size;
-        List<Document> docs = entryRepository.findPurchasedFeedItems(
-                tenantId, entryIds, collectionIds, type, search, sort, skip, size);
-        long total = entryRepository.countPurchasedFeedItems(
-                tenantId, entryIds, collectionIds, type, search);
+        Document facetResult = entryRepository.findPurchasedFeed(
+                tenantId, userId, type, search, sort, skip, size);
+
+        List<Document> docs = facetResult != null
+                ? facetResult.getList("data", Document.class, List.of())
+                : List.of();
+        List<Document> countList = facetResult != null
+                ? facetResult.getList("count", Document.class, List.of())
+                : List.of();
+        long total = countList.isEmpty() ? 0 : countList.get(0).get("total", Number.class).longValue();
         int totalPages = size > 0 ? (int) Math.ceil((double) total / size) : 0;
 
-        // 3. Map docs — all purchased items are unlocked
+        // 2. Map docs — all purchased items are unlocked
         List<PublicFeedItemResponse> content = docs.stream()
                 .map(this::mapPurchasedDoc)
                 .toList();
@@ -306,4 +265,26 @@ public class PurchaseListService {
                 doc.getString("coverVariantsPrefix")
         );
     }
+
+    // ─── Cursor ───
+
+    record Cursor(LocalDateTime grantedAt, String id) {}
+
+    static String encodeCursor(LocalDateTime grantedAt, String id) {
+        String raw = grantedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
 }
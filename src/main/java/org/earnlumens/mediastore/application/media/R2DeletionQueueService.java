@@ -0,0 +1,131 @@
+package org.earnlumens.mediastore.application.media;
+
+import org.earnlumens.mediastore.domain.media.model.R2DeletionTask;
+import org.earnlumens.mediastore.domain.media.repository.R2DeletionTaskRepository;
+import org.earnlumens.mediastore.infrastructure.r2.R2PrefixDeleter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Durable queue of R2 prefix deletions ({@code r2_deletion_queue}).
+ * <p>
+ * {@link #enqueue} records the prefixes and returns immediately, so request
+ * and cleanup paths never wait on R2. {@link #drain} (run by
+ * {@link R2DeletionQueueWorker}) takes a batch of due items, claims each one
+ * by pushing its {@code nextAttemptAt} out by {@link #CLAIM_LEASE}, deletes the
+ * claimed prefixes concurrently through {@link R2PrefixDeleter} and records
+ * the outcome: success → DONE (purged by TTL after {@link #DONE_RETENTION});
+ * failure → rescheduled with exponential backoff, or FAILED once
+ * {@code max-attempts} is reached.
+ * <p>
+ * The claim, not the worker's short distributed lock, is what keeps two
+ * instances off the same item: a drain that outlives the lock only loses
+ * the race for items another instance already claimed. Deleting a prefix is
+ * idempotent, so a crash after the claim just leaves the item due again once
+ * the lease passes.
+ */
+@Service
+public class R2DeletionQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(R2DeletionQueueService.class);
+
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    static final Duration CLAIM_LEASE = Duration.ofMinutes(15);
+    static final Duration DONE_RETENTION = Duration.ofDays(7);
+
+    private final R2DeletionTaskRepository taskRepository;
+    private final R2PrefixDeleter prefixDeleter;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    public R2DeletionQueueService(
+            R2DeletionTaskRepository taskRepository,
+            R2PrefixDeleter prefixDeleter,
+            @Value("${mediastore.r2.delete-queue-batch-size:50}") int batchSize,
+            @Value("${mediastore.r2.delete-max-attempts:6}") int maxAttempts
+    ) {
+        this.taskRepository = taskRepository;
+        this.prefixDeleter = prefixDeleter;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /** Queues every prefix for deletion; safe to call again for the same prefix. */
+    public void enqueue(String tenantId, Collection<String> prefixes) {
+        if (prefixes.isEmpty()) {
+            return;
+        }
+        List<R2DeletionTask> tasks = prefixes.stream()
+                .map(prefix -> new R2DeletionTask(tenantId, prefix))
+                .toList();
+        taskRepository.saveAll(tasks);
+        logger.debug("R2 deletion queue: enqueued {} prefix(es) for tenant={}", tasks.size(), tenantId);
+    }
+
+    /**
+     * Processes one batch of due items.
+     *
+     * @return the deleter report for the batch (empty report when nothing was due)
+     */
+    public R2PrefixDeleter.Report drain() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(CLAIM_LEASE);
+        List<R2DeletionTask> due = taskRepository.findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtAsc(
+                        R2DeletionTask.Status.PENDING, now, PageRequest.of(0, batchSize))
+                .stream()
+                .filter(task -> taskRepository.claim(task.getId(), now, leaseUntil) == 1)
+                .toList();
+        if (due.isEmpty()) {
+            return new R2PrefixDeleter.Report(Map.of(), Map.of(), 0, 0, 0);
+        }
+
+        R2PrefixDeleter.Report report = prefixDeleter.deletePrefixes(
+                due.stream().map(R2DeletionTask::getPrefix).toList());
+
+        LocalDateTime finishedAt = LocalDateTime.now();
+        for (R2DeletionTask task : due) {
+            task.setAttempts(task.getAttempts() + 1);
+            task.setUpdatedAt(finishedAt);
+            Long deleted = report.deleted().get(task.getPrefix());
+            if (deleted != null) {
+                task.setObjectsDeleted(task.getObjectsDeleted() + deleted);
+                task.setStatus(R2DeletionTask.Status.DONE);
+                task.setLastError(null);
+                task.setExpiresAt(finishedAt.plus(DONE_RETENTION));
+            } else {
+                task.setLastError(report.failed().get(task.getPrefix()));
+                if (task.getAttempts() >= maxAttempts) {
+                    task.setStatus(R2DeletionTask.Status.FAILED);
+                    logger.error("R2 deletion queue: giving up on prefix='{}' after {} attempts: {}",
+                            task.getPrefix(), task.getAttempts(), task.getLastError());
+                } else {
+                    task.setNextAttemptAt(finishedAt.plus(backoff(task.getAttempts())));
+                }
+            }
+        }
+        taskRepository.saveAll(due);
+        return report;
+    }
+
+    /** Items still waiting (including ones backing off after a failure). */
+    public long pendingCount() {
+        return taskRepository.countByStatus(R2DeletionTask.Status.PENDING);
+    }
+
+    /** 30 s, 60 s, 120 s, … capped at one hour. */
+    static Duration backoff(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration delay = BASE_BACKOFF.multipliedBy(factor);
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+}
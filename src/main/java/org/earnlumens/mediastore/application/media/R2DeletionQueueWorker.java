@@ -0,0 +1,55 @@
+package org.earnlumens.mediastore.application.media;
+
+import org.earnlumens.mediastore.infrastructure.lock.DistributedLockService;
+import org.earnlumens.mediastore.infrastructure.r2.R2PrefixDeleter;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Periodically drains the R2 deletion queue via {@link R2DeletionQueueService}.
+ *
+ * <p>Runs on a fixed delay (default 15 s, configurable via
+ * {@code mediastore.r2.delete-queue-interval-ms}); the distributed lock keeps
+ * a single instance draining per cycle. A drain may outlive the lock's
+ * lease; items are claimed one by one in {@link R2DeletionQueueService#drain},
+ * so an overlapping cycle on another instance skips them instead of
+ * deleting them twice.
+ */
+@Component
+public class R2DeletionQueueWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(R2DeletionQueueWorker.class);
+
+    private final R2DeletionQueueService queueService;
+    private final DistributedLockService lockService;
+
+    public R2DeletionQueueWorker(R2DeletionQueueService queueService, DistributedLockService lockService) {
+        this.queueService = queueService;
+        this.lockService = lockService;
+    }
+
+    @Scheduled(fixedDelayString = "${mediastore.r2.delete-queue-interval-ms:15000}",
+               initialDelayString = "${mediastore.r2.delete-queue-interval-ms:15000}")
+    public void run() {
+        if (!lockService.tryAcquire("r2-deletion-queue", Duration.ofSeconds(12))) {
+            return; // another instance is draining this cycle
+        }
+        TenantContext.runWithoutTenant(() -> {
+            try {
+                R2PrefixDeleter.Report report = queueService.drain();
+                if (!report.deleted().isEmpty() || !report.failed().isEmpty()) {
+                    logger.info("R2 deletion queue cycle: done={}, failed={}, objects={}, objects/s={}",
+                            report.deleted().size(), report.failed().size(), report.objects(),
+                            String.format("%.1f", report.objectsPerSecond()));
+                }
+            } catch (Exception e) {
+                logger.error("R2 deletion queue cycle failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+}
@@ -184,6 +184,18 @@ public class RatingService {
         return toAggregateResponse(targetType.name(), targetId, agg);
     }
 
+    /**
+     * {@link #getAggregateResponse} for anonymous storefront reads: may be
+     * served by a secondary, so a vote cast seconds ago can be missing. The
+     * voter's own response after {@code submitRating} uses the primary read.
+     */
+    public RatingAggregateResponse getPublicAggregateResponse(String tenantId, TargetType targetType, String targetId) {
+        RatingAggregate agg = aggregateRepository
+                .findPublicByTenantIdAndTargetTypeAndTargetId(tenantId, targetType, targetId)
+                .orElse(null);
+        return toAggregateResponse(targetType.name(), targetId, agg);
+    }
+
     public RatingResponse toRatingResponse(Rating r) {
         if (r == null) return null;
         boolean verified = r.getProofType() == RatingProofType.PURCHASE;
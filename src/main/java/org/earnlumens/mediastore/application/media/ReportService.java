@@ -5,15 +5,18 @@ import org.earnlumens.mediastore.infrastructure.persistence.media.entity.ReportE
 import org.earnlumens.mediastore.infrastructure.persistence.media.repository.ReportMongoRepository;
 import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.domain.media.repository.ReportCounterRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Handles report creation, priority scoring, and threshold-based escalation.
@@ -37,6 +40,10 @@ import java.util.Set;
  * <h3>Escalation threshold:</h3>
  * Entry transitions to IN_REVIEW when any report reaches priority ≥ 60,
  * OR when 3+ distinct users have reported it.
+ *
+ * <p>Factors 2–5 come from maintained tallies ({@link ReportCounter}) rather
+ * than from counting {@code reports}, so scoring reads three small documents
+ * however many reports already target the entry.
  */
 @Service
 public class ReportService {
@@ -65,13 +72,16 @@ public class ReportService {
     private final ReportMongoRepository reportRepository;
     private final EntryRepository entryRepository;
     private final CollectionRepository collectionRepository;
+    private final ReportCounterRepository reportCounterRepository;
 
     public ReportService(ReportMongoRepository reportRepository,
                          EntryRepository entryRepository,
-                         CollectionRepository collectionRepository) {
+                         CollectionRepository collectionRepository,
+                         ReportCounterRepository reportCounterRepository) {
         this.reportRepository = reportRepository;
         this.entryRepository = entryRepository;
         this.collectionRepository = collectionRepository;
+        this.reportCounterRepository = reportCounterRepository;
     }
 
     // ── Public API ─────────────────────────────────────────────
@@ -146,8 +156,8 @@ public class ReportService {
         logger.info("Report created: id={}, entry={}, reason={}, severity={}, priority={}, reporter={}",
                 saved.getId(), entryId, reason, severity, priority, reporterUsername);
 
-        // 9. Check escalation: re-count after saving
-        long totalReports = reportRepository.countByTenantIdAndEntryId(tenantId, entryId);
+        // 9. Check escalation: the target total including this report
+        long totalReports = recordReport(saved);
 
         if (shouldEscalate(priority, totalReports, entry)) {
             escalateToReview(entry, tenantId, totalReports);
@@ -234,6 +244,42 @@ public class ReportService {
         logger.info("Collection report created: id={}, collection={}, reason={}, severity={}, priority={}, reporter={}",
                 saved.getId(), collectionId, reason, severity, priority, reporterUsername);
 
+        recordReport(saved);
+        return saved;
+    }
+
+    /**
+     * Record a moderator's decision on a report and move it between the
+     * reporter and creator resolution tallies used by future scoring. Called
+     * by admin-api through {@code ReportResolutionController}.
+     *
+     * @throws IllegalArgumentException if the report does not exist or the resolution is OPEN
+     */
+    public ReportEntity resolveReport(String tenantId, String reportId,
+                                      ReportResolution resolution, String resolvedBy) {
+        if (resolution == null || resolution == ReportResolution.OPEN) {
+            throw new IllegalArgumentException("INVALID_RESOLUTION");
+        }
+        ReportEntity report = reportRepository.findById(reportId)
+                .filter(r -> tenantId.equals(r.getTenantId()))
+                .orElseThrow(() -> new IllegalArgumentException("REPORT_NOT_FOUND"));
+
+        ReportResolution previous = report.getResolution() != null
+                ? ReportResolution.valueOf(report.getResolution())
+                : ReportResolution.OPEN;
+        report.setResolution(resolution.name());
+        report.setResolvedBy(resolvedBy);
+        report.setResolvedAt(LocalDateTime.now());
+        ReportEntity saved = reportRepository.save(report);
+
+        try {
+            reportCounterRepository.recordResolutionByTenantId(tenantId,
+                    report.getReporterUserId(), report.getCreatorUserId(), previous, resolution);
+        } catch (RuntimeException e) {
+            // Tallies are rebuilt from reports; a missed move only skews scoring slightly.
+            logger.warn("REPORT_COUNTER_UPDATE_FAILED report={} tenant={}: {}", reportId, tenantId, e.getMessage());
+        }
+        logger.info("Report resolved: id={}, {} -> {}, by={}", reportId, previous, resolution, resolvedBy);
         return saved;
     }
 
@@ -260,22 +306,28 @@ public class ReportService {
             case LOW -> 8;
         };
 
+        // One round trip for the three tallies the remaining factors need.
+        String targetKey = ReportCounter.idFor(tenantId, ReportCounter.TARGET, entryId);
+        String reporterKey = ReportCounter.idFor(tenantId, ReportCounter.REPORTER, reporterUserId);
+        String creatorKey = ReportCounter.idFor(tenantId, ReportCounter.CREATOR, creatorUserId);
+        Map<String, ReportCounter> counters = reportCounterRepository
+                .findByTenantIdAndIdIn(tenantId, List.of(targetKey, reporterKey, creatorKey))
+                .stream()
+                .collect(Collectors.toMap(ReportCounter::getId, Function.identity()));
+        ReportCounter target = counters.getOrDefault(targetKey, new ReportCounter());
+
         // Factor 2: Reporter reputation (0–25)
-        score += computeReporterReputation(tenantId, reporterUserId);
+        score += computeReporterReputation(counters.get(reporterKey));
 
         // Factor 3: Creator history (0–20)
-        score += computeCreatorHistory(tenantId, creatorUserId);
+        score += computeCreatorHistory(counters.get(creatorKey));
 
         // Factor 4: Distinct report count on this entry (0–15)
-        long entryReports = reportRepository.countByTenantIdAndEntryId(tenantId, entryId);
+        long entryReports = target.getTotal();
         score += Math.min(15, (int) (entryReports * 5)); // 5 pts per report, capped at 15
 
         // Factor 5: Velocity — reports in last hour (0–10)
-        List<ReportEntity> recentForEntry = reportRepository.findByTenantIdAndEntryId(tenantId, entryId);
-        long reportsLastHour = recentForEntry.stream()
-                .filter(r -> r.getCreatedAt() != null &&
-                        Duration.between(r.getCreatedAt(), LocalDateTime.now()).toHours() < 1)
-                .count();
+        long reportsLastHour = target.reportsInLastHour(LocalDateTime.now());
         score += Math.min(10, (int) (reportsLastHour * 4)); // 4 pts per report/hour, capped at 10
 
         return Math.min(100, score);
@@ -285,18 +337,15 @@ public class ReportService {
      * Reporter reputation: 0–25.
      * Starts at 15 (neutral). Goes up with accepted reports, down with dismissed.
      */
-    private int computeReporterReputation(String tenantId, String reporterUserId) {
-        long totalReports = reportRepository.countByTenantIdAndReporterUserId(tenantId, reporterUserId);
+    private int computeReporterReputation(ReportCounter reporter) {
+        long totalReports = reporter != null ? reporter.getTotal() : 0;
         if (totalReports == 0) {
             return 15; // New reporter — neutral trust
         }
 
-        long dismissed = reportRepository.countByTenantIdAndReporterUserIdAndResolution(
-                tenantId, reporterUserId, ReportResolution.DISMISSED.name());
-        long actioned = reportRepository.countByTenantIdAndReporterUserIdAndResolution(
-                tenantId, reporterUserId, ReportResolution.REMOVED.name())
-                + reportRepository.countByTenantIdAndReporterUserIdAndResolution(
-                tenantId, reporterUserId, ReportResolution.SANCTIONED.name());
+        long dismissed = reporter.resolutionCount(ReportResolution.DISMISSED);
+        long actioned = reporter.resolutionCount(ReportResolution.REMOVED)
+                + reporter.resolutionCount(ReportResolution.SANCTIONED);
 
         // Ratio-based: more actioned = higher rep, more dismissed = lower
         double actionRate = (double) actioned / totalReports;
@@ -312,10 +361,13 @@ public class ReportService {
      * Creator history: 0–20.
      * More prior sanctions = higher modifier.
      */
-    private int computeCreatorHistory(String tenantId, String creatorUserId) {
-        long totalReportsAgainst = reportRepository.countByTenantIdAndCreatorUserId(tenantId, creatorUserId);
-        long priorSanctions = reportRepository.countByTenantIdAndCreatorUserIdAndResolutionIn(
-                tenantId, creatorUserId, List.of(ReportResolution.REMOVED.name(), ReportResolution.SANCTIONED.name()));
+    private int computeCreatorHistory(ReportCounter creator) {
+        if (creator == null) {
+            return 0;
+        }
+        long totalReportsAgainst = creator.getTotal();
+        long priorSanctions = creator.resolutionCount(ReportResolution.REMOVED)
+                + creator.resolutionCount(ReportResolution.SANCTIONED);
 
         int score = 0;
         score += Math.min(8, (int) (totalReportsAgainst * 2)); // 2 per report, max 8
@@ -323,6 +375,22 @@ public class ReportService {
         return Math.min(20, score);
     }
 
+    /**
+     * Count a saved report in the target, reporter and creator tallies.
+     * Returns the target's report total; falls back to an index count if the
+     * tallies could not be updated (they are rebuilt from reports).
+     */
+    private long recordReport(ReportEntity report) {
+        try {
+            return reportCounterRepository.recordReportByTenantId(report.getTenantId(), report.getEntryId(),
+                    report.getReporterUserId(), report.getCreatorUserId(), report.getCreatedAt());
+        } catch (RuntimeException e) {
+            logger.warn("REPORT_COUNTER_UPDATE_FAILED report={} tenant={}: {}",
+                    report.getId(), report.getTenantId(), e.getMessage());
+            return reportRepository.countByTenantIdAndEntryId(report.getTenantId(), report.getEntryId());
+        }
+    }
+
     // ── Severity ───────────────────────────────────────────────
 
     ReportSeverity computeSeverity(ReportReason reason) {
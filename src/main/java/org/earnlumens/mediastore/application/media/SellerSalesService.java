@@ -0,0 +1,296 @@
+package org.earnlumens.mediastore.application.media;
+
+import org.earnlumens.mediastore.domain.media.dto.response.SellerOrderResponse;
+import org.earnlumens.mediastore.domain.media.dto.response.SellerSalesDailyResponse;
+import org.earnlumens.mediastore.domain.media.dto.response.SellerSalesPageResponse;
+import org.earnlumens.mediastore.domain.media.model.Collection;
+import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.Order;
+import org.earnlumens.mediastore.domain.media.model.OrderStatus;
+import org.earnlumens.mediastore.domain.media.model.SellerSalesDay;
+import org.earnlumens.mediastore.domain.media.model.SplitRole;
+import org.earnlumens.mediastore.domain.media.model.TargetType;
+import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.domain.media.repository.OrderRepository;
+import org.earnlumens.mediastore.domain.media.repository.SellerSalesDayRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Read side of a creator's sales: keyset-paginated order history, per-day
+ * totals from the {@code seller_sales_daily} rollup, and a CSV export that
+ * streams from a Mongo cursor.
+ * <p>
+ * None of the paths load the full sales history: pages are bounded by
+ * {@link #MAX_PAGE_SIZE}, totals are a range read over at most
+ * {@link #MAX_DAILY_RANGE_DAYS} rollup documents, and the export holds at
+ * most {@link #EXPORT_CHUNK_SIZE} orders (plus their titles) in memory at a
+ * time regardless of how many sales the seller has.
+ */
+@Service
+public class SellerSalesService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    /** Hard cap for the legacy un-paginated list endpoint. */
+    public static final int LEGACY_LIST_LIMIT = 500;
+    public static final int MAX_DAILY_RANGE_DAYS = 366;
+    /** Orders buffered per title batch-load while streaming the CSV export. */
+    static final int EXPORT_CHUNK_SIZE = 500;
+
+    static final String CSV_HEADER =
+            "orderId,completedAt,targetType,targetId,title,amountXlm,sellerXlm,stellarTxHash\n";
+
+    private final OrderRepository orderRepository;
+    private final EntryRepository entryRepository;
+    private final CollectionRepository collectionRepository;
+    private final SellerSalesDayRepository sellerSalesDayRepository;
+
+    public SellerSalesService(OrderRepository orderRepository,
+                              EntryRepository entryRepository,
+                              CollectionRepository collectionRepository,
+                              SellerSalesDayRepository sellerSalesDayRepository) {
+        this.orderRepository = orderRepository;
+        this.entryRepository = entryRepository;
+        this.collectionRepository = collectionRepository;
+        this.sellerSalesDayRepository = sellerSalesDayRepository;
+    }
+
+    /**
+     * One page of completed sales, newest first.
+     *
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public SellerSalesPageResponse getSalesPage(String tenantId, String sellerId, String cursor, int limit) {
+        int size = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        LocalDateTime afterCreatedAt = null;
+        String afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor decoded = decodeCursor(cursor);
+            afterCreatedAt = decoded.createdAt();
+            afterId = decoded.id();
+        }
+
+        // Fetch one extra row to learn whether another page exists without a count.
+        List<Order> orders = orderRepository.findPageByTenantIdAndSellerIdAndStatus(
+                tenantId, sellerId, OrderStatus.COMPLETED, afterCreatedAt, afterId, size + 1);
+        boolean hasMore = orders.size() > size;
+        List<Order> page = hasMore ? orders.subList(0, size) : orders;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Order last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new SellerSalesPageResponse(toResponses(tenantId, page), nextCursor);
+    }
+
+    /**
+     * Most recent sales as a plain list, for the legacy {@code GET /mine/sales}
+     * contract. Bounded by {@link #LEGACY_LIST_LIMIT}.
+     */
+    public List<SellerOrderResponse> getRecentSales(String tenantId, String sellerId) {
+        List<Order> orders = orderRepository.findPageByTenantIdAndSellerIdAndStatus(
+                tenantId, sellerId, OrderStatus.COMPLETED, null, null, LEGACY_LIST_LIMIT);
+        return toResponses(tenantId, orders);
+    }
+
+    /**
+     * Per-day totals over the inclusive UTC day range {@code [from, to]}.
+     *
+     * @throws IllegalArgumentException if the range is inverted or longer than
+     *                                  {@link #MAX_DAILY_RANGE_DAYS}
+     */
+    public SellerSalesDailyResponse getDailyTotals(String tenantId, String sellerId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_DAILY_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_DAILY_RANGE_DAYS + " days");
+        }
+
+        List<SellerSalesDay> rows = sellerSalesDayRepository.findByTenantIdAndSellerIdAndDayBetween(
+                tenantId, sellerId, from.toString(), to.toString());
+
+        long orders = 0;
+        long grossStroops = 0;
+        long sellerStroops = 0;
+        List<SellerSalesDailyResponse.Day> days = new ArrayList<>(rows.size());
+        for (SellerSalesDay row : rows) {
+            orders += row.getOrders();
+            grossStroops += row.getGrossStroops();
+            sellerStroops += row.getSellerStroops();
+            days.add(new SellerSalesDailyResponse.Day(row.getDay(), row.getOrders(),
+                    SellerSalesDay.toXlm(row.getGrossStroops()), SellerSalesDay.toXlm(row.getSellerStroops())));
+        }
+        return new SellerSalesDailyResponse(from.toString(), to.toString(), orders,
+                SellerSalesDay.toXlm(grossStroops), SellerSalesDay.toXlm(sellerStroops), days);
+    }
+
+    /**
+     * Writes every completed sale as CSV, newest first, straight from a
+     * server-side cursor. Titles are batch-loaded per chunk of
+     * {@link #EXPORT_CHUNK_SIZE} orders and each chunk is flushed before the
+     * next is read, so memory stays flat however long the history is.
+     *
+     * @return number of data rows written
+     */
+    public long exportCsv(String tenantId, String sellerId, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        long rows = 0;
+        try (Stream<Order> stream = orderRepository.streamByTenantIdAndSellerIdAndStatus(
+                tenantId, sellerId, OrderStatus.COMPLETED)) {
+            Iterator<Order> it = stream.iterator();
+            List<Order> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !it.hasNext()) {
+                    for (SellerOrderResponse sale : toResponses(tenantId, chunk)) {
+                        writeCsvRow(writer, sale);
+                    }
+                    rows += chunk.size();
+                    chunk.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    // ─── Mapping ───
+
+    /**
+     * Maps orders to seller responses, batch-loading entry and collection
+     * titles with one query each.
+     */
+    private List<SellerOrderResponse> toResponses(String tenantId, List<Order> orders) {
+        // Legacy orders without targetType are entry sales
+        List<String> entryIds = orders.stream()
+                .filter(o -> o.getTargetType() != TargetType.COLLECTION)
+                .map(Order::getEntryId)
+                .filter(Objects::nonNull)
+                .distinct().toList();
+        Map<String, Entry> entryMap = new HashMap<>();
+        if (!entryIds.isEmpty()) {
+            entryRepository.findByTenantIdAndIdIn(tenantId, entryIds)
+                    .forEach(e -> entryMap.put(e.getId(), e));
+        }
+
+        List<String> collectionIds = orders.stream()
+                .filter(o -> o.getTargetType() == TargetType.COLLECTION)
+                .map(Order::getCollectionId)
+                .filter(Objects::nonNull)
+                .distinct().toList();
+        Map<String, Collection> collectionMap = new HashMap<>();
+        if (!collectionIds.isEmpty()) {
+            collectionRepository.findByTenantIdAndIdIn(tenantId, collectionIds)
+                    .forEach(c -> collectionMap.put(c.getId(), c));
+        }
+
+        return orders.stream().map(order -> {
+            String targetId;
+            String targetTitle;
+            String targetType;
+            if (order.getTargetType() == TargetType.COLLECTION) {
+                Collection collection = collectionMap.get(order.getCollectionId());
+                targetId = order.getCollectionId();
+                targetTitle = collection != null ? collection.getTitle() : "—";
+                targetType = "COLLECTION";
+            } else {
+                Entry entry = entryMap.get(order.getEntryId());
+                targetId = order.getEntryId();
+                targetTitle = entry != null ? entry.getTitle() : "—";
+                targetType = entry != null && entry.getType() != null ? entry.getType().name() : "RESOURCE";
+            }
+
+            BigDecimal gross = order.getAmountXlm() != null ? order.getAmountXlm() : BigDecimal.ZERO;
+            List<SellerOrderResponse.SplitDetail> splits = order.getPaymentSplits().stream()
+                    .map(s -> new SellerOrderResponse.SplitDetail(
+                            s.getWallet(), s.getRole().name(), s.getPercent(),
+                            SellerSalesDay.splitXlm(gross, s.getPercent())))
+                    .toList();
+
+            return new SellerOrderResponse(
+                    order.getId(), targetId, targetTitle, targetType,
+                    gross, order.getStellarTxHash(), order.getCompletedAt(), splits);
+        }).toList();
+    }
+
+    private static void writeCsvRow(Writer writer, SellerOrderResponse sale) throws IOException {
+        BigDecimal sellerXlm = sale.splits().stream()
+                .filter(s -> SplitRole.SELLER.name().equals(s.role()))
+                .map(SellerOrderResponse.SplitDetail::amountXlm)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        writer.write(String.join(",",
+                csv(sale.orderId()),
+                csv(sale.completedAt() != null ? sale.completedAt().toString() : ""),
+                csv(sale.entryType()),
+                csv(sale.entryId()),
+                csv(sale.entryTitle()),
+                sale.amountXlm().toPlainString(),
+                sellerXlm.toPlainString(),
+                csv(sale.stellarTxHash())));
+        writer.write('\n');
+    }
+
+    /**
+     * RFC 4180 field escaping. Values starting with a spreadsheet formula
+     * trigger are prefixed with a quote so creator-controlled titles cannot
+     * inject formulas when the file is opened in a spreadsheet.
+     */
+    static String csv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String v = value;
+        char first = v.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            v = "'" + v;
+        }
+        if (v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0) {
+            v = '"' + v.replace("\"", "\"\"") + '"';
+        }
+        return v;
+    }
+
+    // ─── Cursor ───
+
+    record Cursor(LocalDateTime createdAt, String id) {}
+
+    static String encodeCursor(LocalDateTime createdAt, String id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
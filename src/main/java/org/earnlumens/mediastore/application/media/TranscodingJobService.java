@@ -1,7 +1,9 @@
 package org.earnlumens.mediastore.application.media;
 
+import org.earnlumens.mediastore.domain.media.dto.response.BackfillResult;
 import org.earnlumens.mediastore.domain.media.model.Asset;
 import org.earnlumens.mediastore.domain.media.model.AssetStatus;
+import org.earnlumens.mediastore.domain.media.model.BackfillCheckpoint;
 import org.earnlumens.mediastore.domain.media.model.Entry;
 import org.earnlumens.mediastore.domain.media.model.EntryStatus;
 import org.earnlumens.mediastore.domain.media.model.EntryType;
@@ -10,16 +12,25 @@ import org.earnlumens.mediastore.domain.media.model.TranscodingJob;
 import org.earnlumens.mediastore.domain.media.model.TranscodingJobStatus;
 import org.earnlumens.mediastore.domain.media.port.TranscodingDispatchPort;
 import org.earnlumens.mediastore.domain.media.repository.AssetRepository;
+import org.earnlumens.mediastore.domain.media.repository.BackfillCheckpointRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
 import org.earnlumens.mediastore.domain.media.repository.TranscodingJobRepository;
 import org.earnlumens.mediastore.infrastructure.config.TranscodingConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 
 /**
  * Application service for managing transcoding job lifecycle.
@@ -49,17 +60,20 @@ public class TranscodingJobService {
     private final EntryRepository entryRepository;
     private final TranscodingConfig config;
     private final TranscodingDispatchPort dispatchPort;
+    private final BackfillCheckpointRepository checkpointRepository;
 
     public TranscodingJobService(TranscodingJobRepository jobRepository,
                                   AssetRepository assetRepository,
                                   EntryRepository entryRepository,
                                   TranscodingConfig config,
-                                  TranscodingDispatchPort dispatchPort) {
+                                  TranscodingDispatchPort dispatchPort,
+                                  BackfillCheckpointRepository checkpointRepository) {
         this.jobRepository = jobRepository;
         this.assetRepository = assetRepository;
         this.entryRepository = entryRepository;
         this.config = config;
         this.dispatchPort = dispatchPort;
+        this.checkpointRepository = checkpointRepository;
     }
 
     // ─── Job creation (called by EntryUploadService) ───────────
@@ -270,66 +284,215 @@ public class TranscodingJobService {
 
     // ─── Batch operations (called by internal endpoints) ────────
 
+    /** Checkpoint name of the batch-transcode backfill. */
+    static final String TRANSCODE_BACKFILL = "transcode";
+
+    /** Checkpoint name of the missing-duration backfill. */
+    static final String DURATION_BACKFILL = "duration";
+
     /**
      * Creates PENDING transcoding jobs for all published VIDEO entries
      * that don't already have an active or completed transcoding job.
      *
+     * <p>Runs as a resumable keyset backfill: each page of entries costs one
+     * batched asset lookup, one batched active-job lookup and one
+     * {@code insertMany}, independent of the page size. See
+     * {@link #runBackfill} for paging, checkpointing and the time budget.
+     *
      * @param tenantId the tenant to operate on
+     * @param resume   continue an unfinished run from its checkpoint; false restarts from the first entry
+     */
+    public BackfillResult batchTranscodeExistingVideos(String tenantId, boolean resume) {
+        return runBackfill(tenantId, TRANSCODE_BACKFILL, resume, page -> enqueueTranscodeJobs(tenantId, page));
+    }
+
+    /**
+     * Enqueues jobs for one page of entries. Skips entries that are already
+     * HLS-ready, have an active job, or have no FULL source asset.
+     *
      * @return number of jobs created
      */
-    public int batchTranscodeExistingVideos(String tenantId) {
-        List<Entry> videoEntries = entryRepository.findByTenantIdAndStatusAndType(
-                tenantId, EntryStatus.PUBLISHED, EntryType.VIDEO);
-
-        logger.info("Batch transcode: found {} published VIDEO entries for tenant={}",
-                videoEntries.size(), tenantId);
-
-        int created = 0;
-        for (Entry entry : videoEntries) {
-            // Skip if there's already an active job (PENDING/DISPATCHED/PROCESSING)
-            if (jobRepository.findActiveByTenantIdAndEntryId(tenantId, entry.getId()).isPresent()) {
-                logger.debug("Batch transcode: skipping entry={} — active job exists", entry.getId());
-                continue;
-            }
+    private int enqueueTranscodeJobs(String tenantId, List<Entry> page) {
+        List<String> candidateIds = page.stream()
+                .filter(entry -> !entry.isHlsReady())
+                .map(Entry::getId)
+                .toList();
+        if (candidateIds.isEmpty()) {
+            return 0;
+        }
 
-            // Skip if HLS is already ready (transcoded previously)
-            if (entry.isHlsReady()) {
-                logger.debug("Batch transcode: skipping entry={} — hlsReady=true", entry.getId());
-                continue;
-            }
+        Set<String> withActiveJob = jobRepository.findActiveEntryIdsByTenantIdAndEntryIdIn(tenantId, candidateIds);
 
-            // Find the FULL asset — we need its r2Key as the transcoding source
-            // Pre-pipeline videos have READY assets; new ones have UPLOADED
-            var optAsset = assetRepository.findByTenantIdAndEntryIdAndKindAndStatus(
-                    tenantId, entry.getId(), MediaKind.FULL, AssetStatus.UPLOADED);
+        // Pre-pipeline videos have READY assets; new ones have UPLOADED — prefer UPLOADED
+        Map<String, Asset> sourceByEntry = pickAssetPerEntry(
+                assetRepository.findByTenantIdAndEntryIdInAndKind(tenantId, candidateIds, MediaKind.FULL),
+                AssetStatus.UPLOADED, AssetStatus.READY);
 
-            if (optAsset.isEmpty()) {
-                optAsset = assetRepository.findByTenantIdAndEntryIdAndKindAndStatus(
-                        tenantId, entry.getId(), MediaKind.FULL, AssetStatus.READY);
+        List<TranscodingJob> jobs = new ArrayList<>();
+        for (String entryId : candidateIds) {
+            if (withActiveJob.contains(entryId)) {
+                logger.debug("Batch transcode: skipping entry={} — active job exists", entryId);
+                continue;
             }
-
-            if (optAsset.isEmpty()) {
-                logger.warn("Batch transcode: skipping entry={} — no FULL asset found", entry.getId());
+            Asset asset = sourceByEntry.get(entryId);
+            if (asset == null) {
+                logger.warn("Batch transcode: skipping entry={} — no FULL asset found", entryId);
                 continue;
             }
 
-            Asset asset = optAsset.get();
-
             TranscodingJob job = new TranscodingJob();
             job.setTenantId(tenantId);
-            job.setEntryId(entry.getId());
+            job.setEntryId(entryId);
             job.setAssetId(asset.getId());
             job.setSourceR2Key(asset.getR2Key());
             job.setStatus(TranscodingJobStatus.PENDING);
             job.setRetryCount(0);
             job.setMaxRetries(config.getMaxRetries());
-            createJob(job);
-            created++;
+            jobs.add(job);
+        }
+
+        if (jobs.isEmpty()) {
+            return 0;
+        }
+        try {
+            return jobRepository.insertAllForTenantId(tenantId, jobs).size();
+        } catch (DuplicateKeyException e) {
+            // A concurrent run (or a finished job on the same asset) already holds
+            // one of these assetIds — the unique (tenantId, assetId) index rejects
+            // the whole insertMany. Fall back to per-job inserts for this page.
+            logger.warn("Batch transcode: insertMany hit a duplicate for tenant={}, retrying page per job",
+                    tenantId);
+            int created = 0;
+            for (TranscodingJob job : jobs) {
+                try {
+                    createJob(job);
+                    created++;
+                } catch (DuplicateKeyException duplicate) {
+                    logger.debug("Batch transcode: skipping entry={} — job already exists for asset={}",
+                            job.getEntryId(), job.getAssetId());
+                }
+            }
+            return created;
+        }
+    }
+
+    /**
+     * Fills missing durationSec on published VIDEO entries by copying from
+     * the FULL asset (client-reported metadata). Useful for videos that were
+     * uploaded with client metadata but whose Entry never got durationSec set.
+     *
+     * <p>Same resumable keyset backfill as {@link #batchTranscodeExistingVideos};
+     * each page costs one batched asset lookup and one unordered bulk update.
+     *
+     * @param resume continue an unfinished run from its checkpoint; false restarts from the first entry
+     */
+    public BackfillResult batchFillMissingDuration(String tenantId, boolean resume) {
+        return runBackfill(tenantId, DURATION_BACKFILL, resume, page -> fillMissingDuration(tenantId, page));
+    }
+
+    private int fillMissingDuration(String tenantId, List<Entry> page) {
+        List<String> missing = page.stream()
+                .filter(entry -> entry.getDurationSec() == null || entry.getDurationSec() <= 0)
+                .map(Entry::getId)
+                .toList();
+        if (missing.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Asset> assetByEntry = pickAssetPerEntry(
+                assetRepository.findByTenantIdAndEntryIdInAndKind(tenantId, missing, MediaKind.FULL),
+                AssetStatus.READY, AssetStatus.UPLOADED);
+
+        Map<String, Integer> durations = new LinkedHashMap<>();
+        assetByEntry.forEach((entryId, asset) -> {
+            if (asset.getDurationSec() != null && asset.getDurationSec() > 0) {
+                durations.put(entryId, asset.getDurationSec());
+            }
+        });
+        if (durations.isEmpty()) {
+            return 0;
         }
+        return (int) entryRepository.updateDurationSecByTenantId(tenantId, durations);
+    }
 
-        logger.info("Batch transcode: created {} new transcoding jobs for tenant={}",
-                created, tenantId);
-        return created;
+    /**
+     * For each entry, picks the asset in {@code preferred} status, falling back to
+     * one in {@code fallback} status. Assets in any other status are ignored.
+     */
+    private static Map<String, Asset> pickAssetPerEntry(List<Asset> assets,
+                                                        AssetStatus preferred, AssetStatus fallback) {
+        Map<String, Asset> picked = new HashMap<>();
+        for (Asset asset : assets) {
+            if (asset.getStatus() == preferred) {
+                picked.put(asset.getEntryId(), asset);
+            } else if (asset.getStatus() == fallback) {
+                picked.putIfAbsent(asset.getEntryId(), asset);
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * Shared driver for the resumable tenant backfills.
+     *
+     * <p>Pages over the tenant's published VIDEO entries in {@code _id} order
+     * ({@code backfill-page-size} per page), hands each page to {@code pageHandler}
+     * and records the last processed entry id in {@code backfill_checkpoints}
+     * after every page. When {@code backfill-time-budget-seconds} elapses the
+     * run stops at a page boundary and reports {@code completed=false}; the next
+     * call with {@code resume=true} continues after the checkpointed entry.
+     * A finished run is marked completed, so the next call starts a fresh pass.
+     */
+    BackfillResult runBackfill(String tenantId, String name, boolean resume,
+                               ToIntFunction<List<Entry>> pageHandler) {
+        long startNanos = System.nanoTime();
+        long budgetNanos = TimeUnit.SECONDS.toNanos(config.getBackfillTimeBudgetSeconds());
+        int pageSize = config.getBackfillPageSize();
+
+        BackfillCheckpoint checkpoint = checkpointRepository.findByTenantIdAndName(tenantId, name)
+                .filter(existing -> resume && !existing.isCompleted())
+                .orElseGet(() -> new BackfillCheckpoint(tenantId, name));
+        boolean resumed = checkpoint.getLastEntryId() != null;
+        if (resumed) {
+            logger.info("Backfill {}: resuming for tenant={} after entry={} (scanned so far={})",
+                    name, tenantId, checkpoint.getLastEntryId(), checkpoint.getScanned());
+        }
+
+        long scanned = 0;
+        long affected = 0;
+        boolean completed = false;
+        while (true) {
+            List<Entry> page = entryRepository.findByTenantIdAndStatusAndTypeAfterId(
+                    tenantId, EntryStatus.PUBLISHED, EntryType.VIDEO, checkpoint.getLastEntryId(), pageSize);
+            if (!page.isEmpty()) {
+                int changed = pageHandler.applyAsInt(page);
+                scanned += page.size();
+                affected += changed;
+                checkpoint.setLastEntryId(page.get(page.size() - 1).getId());
+                checkpoint.setScanned(checkpoint.getScanned() + page.size());
+                checkpoint.setAffected(checkpoint.getAffected() + changed);
+            }
+            if (page.size() < pageSize) {
+                completed = true;
+            }
+            checkpoint.setCompleted(completed);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+
+            if (completed || System.nanoTime() - startNanos >= budgetNanos) {
+                break;
+            }
+        }
+
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        double rowsPerSecond = durationMs > 0 ? scanned * 1000.0 / durationMs : scanned;
+        logger.info("Backfill {}: tenant={} scanned={} affected={} in {} ms ({} rows/s), completed={}, "
+                        + "run totals scanned={} affected={}",
+                name, tenantId, scanned, affected, durationMs, String.format("%.1f", rowsPerSecond),
+                completed, checkpoint.getScanned(), checkpoint.getAffected());
+
+        return new BackfillResult(scanned, affected, checkpoint.getScanned(), checkpoint.getAffected(),
+                resumed, completed, durationMs, rowsPerSecond);
     }
 
     /**
@@ -486,46 +649,4 @@ public class TranscodingJobService {
         return status == TranscodingJobStatus.COMPLETED
                 || status == TranscodingJobStatus.DEAD;
     }
-
-    /**
-     * Fills missing durationSec on published VIDEO entries by copying from
-     * the FULL asset (client-reported metadata). Useful for videos that were
-     * uploaded with client metadata but whose Entry never got durationSec set.
-     *
-     * @return number of entries updated
-     */
-    public int batchFillMissingDuration(String tenantId) {
-        List<Entry> entries = entryRepository.findByTenantIdAndStatusAndType(
-                tenantId, EntryStatus.PUBLISHED, EntryType.VIDEO);
-
-        int updated = 0;
-        for (Entry entry : entries) {
-            if (entry.getDurationSec() != null && entry.getDurationSec() > 0) {
-                continue; // already has duration
-            }
-
-            // Look for a FULL asset with duration metadata
-            var optAsset = assetRepository.findByTenantIdAndEntryIdAndKindAndStatus(
-                    tenantId, entry.getId(), MediaKind.FULL, AssetStatus.READY);
-            if (optAsset.isEmpty()) {
-                optAsset = assetRepository.findByTenantIdAndEntryIdAndKindAndStatus(
-                        tenantId, entry.getId(), MediaKind.FULL, AssetStatus.UPLOADED);
-            }
-            if (optAsset.isEmpty()) {
-                continue;
-            }
-
-            Asset asset = optAsset.get();
-            if (asset.getDurationSec() != null && asset.getDurationSec() > 0) {
-                entry.setDurationSec(asset.getDurationSec());
-                entryRepository.save(entry);
-                updated++;
-                logger.info("Batch metadata: set durationSec={} on entry={} from asset={}",
-                        asset.getDurationSec(), entry.getId(), asset.getId());
-            }
-        }
-
-        logger.info("Batch metadata: updated {} entries for tenant={}", updated, tenantId);
-        return updated;
-    }
 }
@@ -0,0 +1,66 @@
+package org.earnlumens.mediastore.application.payment;
+
+import org.earnlumens.mediastore.domain.media.model.OrderStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process registry of checkouts waiting for an order to change status
+ * ({@code GET /api/payments/orders/{id}/await}).
+ *
+ * <p>A waiter is a {@link CompletableFuture} parked by a request thread
+ * (virtual, so an idle wait costs a few hundred bytes of stack, not a platform
+ * thread and not a Mongo query). {@link #publish} completes every waiter for
+ * the order. It is called in-process when {@link PaymentService} moves an
+ * order (finalization, reconciliation) and by the {@code orders} change stream
+ * for transitions made on other instances, so the same transition may be
+ * published twice — completing a completed future is a no-op.
+ */
+@Component
+public class OrderStatusNotifier {
+
+    private final Map<String, List<CompletableFuture<OrderStatus>>> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a waiter for {@code orderId}. Callers must subscribe
+     * <em>before</em> reading the current status, so a transition landing in
+     * between is not missed, and must always {@link #unsubscribe}.
+     */
+    public CompletableFuture<OrderStatus> subscribe(String orderId) {
+        CompletableFuture<OrderStatus> waiter = new CompletableFuture<>();
+        waiters.compute(orderId, (id, list) -> {
+            List<CompletableFuture<OrderStatus>> next = list != null ? list : new ArrayList<>(1);
+            next.add(waiter);
+            return next;
+        });
+        return waiter;
+    }
+
+    public void unsubscribe(String orderId, CompletableFuture<OrderStatus> waiter) {
+        waiters.computeIfPresent(orderId, (id, list) -> {
+            list.remove(waiter);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /** Wakes every waiter on {@code orderId} with its new status. */
+    public void publish(String orderId, OrderStatus status) {
+        if (orderId == null || status == null) {
+            return;
+        }
+        List<CompletableFuture<OrderStatus>> woken = waiters.remove(orderId);
+        if (woken != null) {
+            woken.forEach(waiter -> waiter.complete(status));
+        }
+    }
+
+    /** Number of orders with at least one waiter (diagnostics and tests). */
+    public int waitingOrders() {
+        return waiters.size();
+    }
+}
@@ -10,6 +10,8 @@ import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntitlementRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
 import org.earnlumens.mediastore.domain.media.repository.OrderRepository;
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
+import org.earnlumens.mediastore.domain.media.repository.SellerSalesDayRepository;
 import org.earnlumens.mediastore.infrastructure.config.StellarConfig;
 import org.earnlumens.mediastore.infrastructure.external.pricing.XlmUsdPriceService;
 import org.earnlumens.mediastore.infrastructure.franchise.read.FranchiseReadModel;
@@ -27,12 +29,18 @@ import org.earnlumens.mediastore.infrastructure.config.PlatformConfig;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Orchestrates the two-phase payment flow:
@@ -88,6 +96,9 @@ public class PaymentService {
     private final XlmUsdPriceService xlmUsdPriceService;
     private final TenantConfigService tenantConfigService;
     private final FranchiseReadRepository franchiseReadRepository;
+    private final SellerSalesDayRepository sellerSalesDayRepository;
+    private final OwnerStatsRepository ownerStatsRepository;
+    private final OrderStatusNotifier orderStatusNotifier;
 
     public PaymentService(EntryRepository entryRepository,
                           CollectionRepository collectionRepository,
@@ -98,7 +109,10 @@ public class PaymentService {
                           PlatformConfig platformConfig,
                           XlmUsdPriceService xlmUsdPriceService,
                           TenantConfigService tenantConfigService,
-                          FranchiseReadRepository franchiseReadRepository) {
+                          FranchiseReadRepository franchiseReadRepository,
+                          SellerSalesDayRepository sellerSalesDayRepository,
+                          OwnerStatsRepository ownerStatsRepository,
+                          OrderStatusNotifier orderStatusNotifier) {
         this.entryRepository = entryRepository;
         this.collectionRepository = collectionRepository;
         this.orderRepository = orderRepository;
@@ -109,6 +123,9 @@ public class PaymentService {
         this.xlmUsdPriceService = xlmUsdPriceService;
         this.tenantConfigService = tenantConfigService;
         this.franchiseReadRepository = franchiseReadRepository;
+        this.sellerSalesDayRepository = sellerSalesDayRepository;
+        this.ownerStatsRepository = ownerStatsRepository;
+        this.orderStatusNotifier = orderStatusNotifier;
     }
 
     /**
@@ -192,30 +209,30 @@ public class PaymentService {
             }
         } else {
             // ── Entry purchase (existing logic) ──
-            Entry entry = entryRepository.findByTenantIdAndId(tenantId, entryId)
+            EntryPricingView entry = entryRepository.findPricingViewByTenantIdAndId(tenantId, entryId)
                     .orElseThrow(() -> new IllegalArgumentException("Entry not found"));
 
             if (!entry.isPaid()) {
                 throw new IllegalArgumentException("Entry is not paid content");
             }
-            if (entry.getStatus() != EntryStatus.PUBLISHED) {
+            if (entry.status() != EntryStatus.PUBLISHED) {
                 throw new IllegalArgumentException("Entry is not published");
             }
-            if (userId.equals(entry.getUserId())) {
+            if (userId.equals(entry.userId())) {
                 throw new IllegalArgumentException("Cannot purchase your own content");
             }
 
-            sellerId = entry.getUserId();
-            priceCurrency = entry.getPriceCurrency() != null
-                    ? entry.getPriceCurrency().name() : "XLM";
-            targetSplits = entry.getPaymentSplits();
+            sellerId = entry.userId();
+            priceCurrency = entry.priceCurrency() != null
+                    ? entry.priceCurrency().name() : "XLM";
+            targetSplits = entry.paymentSplits();
 
             if (targetSplits == null || targetSplits.isEmpty()) {
                 throw new IllegalArgumentException("Entry has no payment splits configured");
             }
 
-            if (entry.getPriceCurrency() == PriceCurrency.USD) {
-                BigDecimal usdAmount = entry.getPriceUsd();
+            if (entry.priceCurrency() == PriceCurrency.USD) {
+                BigDecimal usdAmount = entry.priceUsd();
                 if (usdAmount == null || usdAmount.compareTo(BigDecimal.ZERO) <= 0) {
                     throw new IllegalArgumentException("Entry has no valid USD price");
                 }
@@ -230,7 +247,7 @@ public class PaymentService {
                 logger.info("USD→XLM conversion: ${} / {} = {} XLM",
                         usdAmount.toPlainString(), rate.toPlainString(), totalXlm.toPlainString());
             } else {
-                totalXlm = entry.getPriceXlm();
+                totalXlm = entry.priceXlm();
                 if (totalXlm == null || totalXlm.compareTo(BigDecimal.ZERO) <= 0) {
                     throw new IllegalArgumentException("Entry has no valid price");
                 }
@@ -389,13 +406,13 @@ public class PaymentService {
             creatorUserId = collection.getUserId();
             contentOwnWallet = collection.getSellerWallet();
         } else {
-            Entry entry = entryRepository.findByTenantIdAndId(tenantId, entryId)
+            EntryPricingView entry = entryRepository.findPricingViewByTenantIdAndId(tenantId, entryId)
                     .orElseThrow(() -> new IllegalArgumentException("Entry not found"));
-            if (entry.getStatus() != EntryStatus.PUBLISHED) {
+            if (entry.status() != EntryStatus.PUBLISHED) {
                 throw new IllegalArgumentException("Entry is not published");
             }
-            creatorUserId = entry.getUserId();
-            contentOwnWallet = entry.getSellerWallet();
+            creatorUserId = entry.userId();
+            contentOwnWallet = entry.sellerWallet();
         }
 
         if (userId.equals(creatorUserId)) {
@@ -736,6 +753,8 @@ public class PaymentService {
                         LocalDateTime.now(ZoneOffset.UTC))
                 .orElseThrow(() -> new IllegalStateException(
                         "Order state changed concurrently during completion (orderId=" + orderId + ")"));
+        orderStatusNotifier.publish(orderId, OrderStatus.COMPLETED);
+        recordSaleRollup(completed);
 
         // 7. Expire all other PENDING orders for this buyer (single atomic bulk update).
         // A successful submission changes the buyer's on-chain sequence number,
@@ -788,6 +807,50 @@ public class PaymentService {
         );
     }
 
+    /**
+     * Long-poll variant of {@link #getOrderStatus}: returns as soon as the
+     * order's status differs from {@code since}, or with the unchanged status
+     * once {@code timeout} elapses (the client simply asks again).
+     *
+     * <p>The wait itself is a parked future on the request's virtual thread —
+     * no Mongo traffic while idle. The order is read once up front (ownership
+     * and current status) and once more per actual transition, so the response
+     * is always the stored state rather than the signal's.
+     */
+    public SubmitPaymentResponse awaitOrderStatus(String tenantId, String userId, String orderId,
+                                                  OrderStatus since, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture<OrderStatus> change = orderStatusNotifier.subscribe(orderId);
+        try {
+            SubmitPaymentResponse current = getOrderStatus(tenantId, userId, orderId);
+            while (since.name().equals(current.status())) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                OrderStatus signalled;
+                try {
+                    signalled = change.get(remaining, TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    break;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    break;
+                }
+                orderStatusNotifier.unsubscribe(orderId, change);
+                change = orderStatusNotifier.subscribe(orderId);
+                if (signalled != since) {
+                    current = getOrderStatus(tenantId, userId, orderId);
+                }
+            }
+            return current;
+        } finally {
+            orderStatusNotifier.unsubscribe(orderId, change);
+        }
+    }
+
     /**
      * Confirms the tx on-chain via Horizon. When the submission outcome was
      * ambiguous (timeout), polls a few times to let the ledger close before
@@ -836,7 +899,10 @@ public class PaymentService {
     private void failOrder(String tenantId, String orderId) {
         orderRepository.tryTransitionStatus(tenantId, orderId, OrderStatus.PROCESSING, OrderStatus.FAILED)
                 .ifPresentOrElse(
-                        o -> logger.info("Order marked FAILED: orderId={}", orderId),
+                        o -> {
+                            logger.info("Order marked FAILED: orderId={}", orderId);
+                            orderStatusNotifier.publish(orderId, OrderStatus.FAILED);
+                        },
                         () -> logger.warn("Could not mark order FAILED (state already changed): orderId={}", orderId));
     }
 
@@ -878,7 +944,8 @@ public class PaymentService {
             if (orderRepository.existsCompletedByStellarTxHashExcludingOrder(txHash, orderId)) {
                 logger.error("Reconciliation: txHash={} already consumed by another COMPLETED order — "
                         + "expiring orderId={}", txHash, orderId);
-                orderRepository.tryTransitionStatus(tenantId, orderId, status, OrderStatus.EXPIRED);
+                orderRepository.tryTransitionStatus(tenantId, orderId, status, OrderStatus.EXPIRED)
+                        .ifPresent(o -> orderStatusNotifier.publish(orderId, OrderStatus.EXPIRED));
                 return ReconcileOutcome.FINALIZED_NOT_ON_CHAIN;
             }
             Optional<Order> completed = orderRepository.tryCompleteFrom(
@@ -886,6 +953,8 @@ public class PaymentService {
             if (completed.isPresent()) {
                 logger.warn("Reconciliation: recovered confirmed on-chain payment — orderId={}, txHash={}, "
                         + "previousStatus={}", orderId, txHash, status);
+                orderStatusNotifier.publish(orderId, OrderStatus.COMPLETED);
+                recordSaleRollup(completed.get());
                 orderRepository.expirePendingOrdersForUserExcept(tenantId, order.getUserId(), orderId);
                 ensureEntitlement(completed.get());
                 return ReconcileOutcome.COMPLETED;
@@ -909,11 +978,48 @@ public class PaymentService {
         }
         // Timebounds + grace elapsed: the tx can never land. Final verdict.
         orderRepository.tryTransitionStatus(tenantId, orderId, status, OrderStatus.EXPIRED)
-                .ifPresent(o -> logger.info("Reconciliation: order finalized as EXPIRED (tx never landed): "
-                        + "orderId={}, txHash={}", orderId, txHash));
+                .ifPresent(o -> {
+                    logger.info("Reconciliation: order finalized as EXPIRED (tx never landed): "
+                            + "orderId={}, txHash={}", orderId, txHash);
+                    orderStatusNotifier.publish(orderId, OrderStatus.EXPIRED);
+                });
         return ReconcileOutcome.FINALIZED_NOT_ON_CHAIN;
     }
 
+    /**
+     * Adds a freshly COMPLETED order to the seller's daily sales rollup and
+     * to the seller's {@code owner_stats} sales counter.
+     * Only called by the thread whose CAS won the transition to COMPLETED, so
+     * each order is counted once. Best effort: the payment is already final
+     * on-chain, so a rollup failure is logged and never surfaces to the buyer.
+     */
+    private void recordSaleRollup(Order order) {
+        try {
+            BigDecimal gross = order.getAmountXlm() != null ? order.getAmountXlm() : BigDecimal.ZERO;
+            BigDecimal sellerXlm = BigDecimal.ZERO;
+            for (PaymentSplit split : order.getPaymentSplits()) {
+                if (split.getRole() == SplitRole.SELLER) {
+                    sellerXlm = sellerXlm.add(SellerSalesDay.splitXlm(gross, split.getPercent()));
+                }
+            }
+            LocalDateTime completedAt = order.getCompletedAt() != null
+                    ? order.getCompletedAt() : LocalDateTime.now(ZoneOffset.UTC);
+            sellerSalesDayRepository.incrementByTenantIdAndSellerIdAndDay(
+                    order.getTenantId(), order.getSellerId(), completedAt.toLocalDate().toString(),
+                    1, SellerSalesDay.toStroops(gross), SellerSalesDay.toStroops(sellerXlm));
+        } catch (Exception e) {
+            logger.error("SALES_ROLLUP_FAILED — daily totals for sellerId={} are missing orderId={}: {}",
+                    order.getSellerId(), order.getId(), e.getMessage(), e);
+        }
+        try {
+            ownerStatsRepository.incrementByTenantIdAndUserId(
+                    order.getTenantId(), order.getSellerId(), Map.of(OwnerStats.TOTAL_SALES, 1L));
+        } catch (Exception e) {
+            logger.warn("OWNER_STATS_UPDATE_FAILED — totalSales for sellerId={} misses orderId={}: {}",
+                    order.getSellerId(), order.getId(), e.getMessage());
+        }
+    }
+
     /**
      * Idempotently guarantees the entitlement backing a COMPLETED order exists.
      * Used by the reconciliation watchdog and the prepare self-healing path.
@@ -24,8 +24,9 @@ import java.util.concurrent.RejectedExecutionException;
  * an immediate 4xx. The blocking part ({@link PaymentService#finalizeSubmission}
  * — Horizon submission + up to ~20 s of on-chain confirmation polling) is
  * handed to a dedicated executor and the caller gets the order back in
- * {@code PROCESSING} state right away (HTTP 202). The frontend polls
- * {@code GET /api/payments/orders/{orderId}} until the order reaches a final
+ * {@code PROCESSING} state right away (HTTP 202). The frontend waits on
+ * {@code GET /api/payments/orders/{orderId}/await} (or polls
+ * {@code GET /api/payments/orders/{orderId}}) until the order reaches a final
  * state.
  *
  * <p><b>Safety net:</b> nothing changes in the correctness model. Every state
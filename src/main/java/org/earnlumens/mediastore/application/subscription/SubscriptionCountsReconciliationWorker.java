@@ -0,0 +1,63 @@
+package org.earnlumens.mediastore.application.subscription;
+
+import org.earnlumens.mediastore.infrastructure.lock.DistributedLockService;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Periodically rebuilds stale {@code subscription_counts} documents from the
+ * subscriptions themselves via {@link SubscriptionService#reconcileCounts}.
+ *
+ * <p>Runs on a fixed delay (default 5 min, configurable via
+ * {@code mediastore.subscription-counts.reconcile-interval-ms}); the
+ * distributed lock keeps a single instance reconciling per cycle.
+ */
+@Component
+public class SubscriptionCountsReconciliationWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionCountsReconciliationWorker.class);
+
+    private final SubscriptionService subscriptionService;
+    private final DistributedLockService lockService;
+    private final int batchSize;
+    private final Duration maxAge;
+
+    public SubscriptionCountsReconciliationWorker(
+            SubscriptionService subscriptionService,
+            DistributedLockService lockService,
+            @Value("${mediastore.subscription-counts.reconcile-batch-size:200}") int batchSize,
+            @Value("${mediastore.subscription-counts.reconcile-max-age-hours:6}") long maxAgeHours
+    ) {
+        this.subscriptionService = subscriptionService;
+        this.lockService = lockService;
+        this.batchSize = batchSize;
+        this.maxAge = Duration.ofHours(maxAgeHours);
+    }
+
+    @Scheduled(fixedDelayString = "${mediastore.subscription-counts.reconcile-interval-ms:300000}",
+               initialDelayString = "${mediastore.subscription-counts.reconcile-interval-ms:300000}")
+    public void run() {
+        if (!lockService.tryAcquire("subscription-counts-reconcile", Duration.ofMinutes(4))) {
+            return; // another instance is reconciling this cycle
+        }
+        TenantContext.runWithoutTenant(() -> {
+            try {
+                LocalDateTime cutoff = LocalDateTime.now(ZoneOffset.UTC).minus(maxAge);
+                int drifted = subscriptionService.reconcileCounts(cutoff, batchSize);
+                if (drifted > 0) {
+                    logger.info("Subscription counts reconcile cycle: repaired {} drifted document(s)", drifted);
+                }
+            } catch (Exception e) {
+                logger.error("Subscription counts reconcile cycle failed: {}", e.getMessage(), e);
+            }
+        });
+    }
+}
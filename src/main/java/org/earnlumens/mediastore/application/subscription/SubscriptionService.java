@@ -1,24 +1,35 @@
 package org.earnlumens.mediastore.application.subscription;
 
 import org.earnlumens.mediastore.domain.subscription.model.Subscription;
+import org.earnlumens.mediastore.domain.subscription.model.SubscriptionCounts;
+import org.earnlumens.mediastore.domain.subscription.repository.SubscriptionCountsRepository;
 import org.earnlumens.mediastore.domain.subscription.repository.SubscriptionRepository;
 import org.earnlumens.mediastore.domain.user.model.User;
 import org.earnlumens.mediastore.domain.user.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Application service for managing user subscriptions.
  *
  * <p>Handles subscribe/unsubscribe with idempotency, self-subscription prevention,
  * bidirectional listing (my subscriptions / my subscribers), and subscriber counts.</p>
+ *
+ * <p>Counts are denormalized in {@code subscription_counts} and moved with
+ * {@code $inc} by subscribe/unsubscribe, so a profile view is one point read.
+ * {@link #reconcileCounts} (run by {@link SubscriptionCountsReconciliationWorker})
+ * rebuilds stale counters from the subscriptions themselves to repair drift.</p>
  */
 @Service
 public class SubscriptionService {
@@ -26,12 +37,18 @@ public class SubscriptionService {
     private static final Logger logger = LoggerFactory.getLogger(SubscriptionService.class);
     private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
+    public static final int DEFAULT_PAGE_SIZE = 24;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final SubscriptionRepository subscriptionRepository;
     private final UserRepository userRepository;
+    private final SubscriptionCountsRepository subscriptionCountsRepository;
 
-    public SubscriptionService(SubscriptionRepository subscriptionRepository, UserRepository userRepository) {
+    public SubscriptionService(SubscriptionRepository subscriptionRepository, UserRepository userRepository,
+                               SubscriptionCountsRepository subscriptionCountsRepository) {
         this.subscriptionRepository = subscriptionRepository;
         this.userRepository = userRepository;
+        this.subscriptionCountsRepository = subscriptionCountsRepository;
     }
 
     /**
@@ -70,7 +87,14 @@ public class SubscriptionService {
         subscription.setTargetDisplayName(target.getDisplayName());
         subscription.setTargetAvatarUrl(target.getProfileImageUrl());
 
-        subscriptionRepository.save(subscription);
+        try {
+            subscriptionRepository.save(subscription);
+        } catch (DuplicateKeyException e) {
+            // Concurrent subscribe won the unique index; it also moved the counters.
+            logger.debug("Already subscribed (concurrent): subscriber={} target={}", subscriberId, targetUserId);
+            return false;
+        }
+        moveCounts(tenantId, subscriberId, targetUserId, 1);
         logger.info("User {} subscribed to {}", subscriberId, targetUserId);
         return true;
     }
@@ -89,7 +113,10 @@ public class SubscriptionService {
             return false;
         }
 
-        subscriptionRepository.deleteByTenantIdAndId(tenantId, existing.get().getId());
+        if (!subscriptionRepository.deleteByTenantIdAndId(tenantId, existing.get().getId())) {
+            return false; // a concurrent unsubscribe removed it (and moved the counters)
+        }
+        moveCounts(tenantId, subscriberId, targetUserId, -1);
         logger.info("User {} unsubscribed from {}", subscriberId, targetUserId);
         return true;
     }
@@ -102,38 +129,32 @@ public class SubscriptionService {
     }
 
     /**
-     * Get subscriber count for a user (public metric).
+     * Get subscriber count for a user (public metric). One point read.
      */
     public long getSubscriberCount(String tenantId, String targetUserId) {
-        return subscriptionRepository.countByTenantIdAndTargetUserId(tenantId, targetUserId);
+        return countsFor(tenantId, targetUserId).getSubscribers();
     }
 
     /**
-     * Get subscription count for a user (how many they follow).
+     * Get subscription count for a user (how many they follow). One point read.
      */
     public long getSubscriptionCount(String tenantId, String subscriberId) {
-        return subscriptionRepository.countByTenantIdAndSubscriberId(tenantId, subscriberId);
+        return countsFor(tenantId, subscriberId).getSubscriptions();
     }
 
     /**
      * List users the current user is subscribed to (my subscriptions).
+     * Offset page; the total comes from the denormalized counters.
      */
     public SubscriptionPageResponse listMySubscriptions(String tenantId, String subscriberId, int page, int size) {
-        Page<Subscription> subscriptionPage = subscriptionRepository.findByTenantIdAndSubscriberId(
-                tenantId, subscriberId, PageRequest.of(page, size));
-
-        List<SubscriptionUserResponse> items = subscriptionPage.getContent().stream()
-                .map(s -> new SubscriptionUserResponse(
-                        s.getTargetUserId(),
-                        s.getTargetUsername(),
-                        s.getTargetDisplayName(),
-                        s.getTargetAvatarUrl(),
-                        s.getSubscribedAt() != null ? s.getSubscribedAt().format(ISO_FORMATTER) : null
-                ))
+        List<SubscriptionUserResponse> items = subscriptionRepository
+                .findByTenantIdAndSubscriberId(tenantId, subscriberId, PageRequest.of(page, size))
+                .stream()
+                .map(SubscriptionService::toTargetResponse)
                 .toList();
 
-        return new SubscriptionPageResponse(items, page, size,
-                subscriptionPage.getTotalElements(), subscriptionPage.getTotalPages());
+        long total = getSubscriptionCount(tenantId, subscriberId);
+        return new SubscriptionPageResponse(items, page, size, total, totalPages(total, size));
     }
 
     /**
@@ -141,21 +162,78 @@ public class SubscriptionService {
      * Only the profile owner should call this.
      */
     public SubscriptionPageResponse listMySubscribers(String tenantId, String targetUserId, int page, int size) {
-        Page<Subscription> subscriberPage = subscriptionRepository.findByTenantIdAndTargetUserId(
-                tenantId, targetUserId, PageRequest.of(page, size));
-
-        List<SubscriptionUserResponse> items = subscriberPage.getContent().stream()
-                .map(s -> new SubscriptionUserResponse(
-                        s.getSubscriberId(),
-                        s.getSubscriberUsername(),
-                        s.getSubscriberDisplayName(),
-                        s.getSubscriberAvatarUrl(),
-                        s.getSubscribedAt() != null ? s.getSubscribedAt().format(ISO_FORMATTER) : null
-                ))
+        List<SubscriptionUserResponse> items = subscriptionRepository
+                .findByTenantIdAndTargetUserId(tenantId, targetUserId, PageRequest.of(page, size))
+                .stream()
+                .map(SubscriptionService::toSubscriberResponse)
                 .toList();
 
-        return new SubscriptionPageResponse(items, page, size,
-                subscriberPage.getTotalElements(), subscriberPage.getTotalPages());
+        long total = getSubscriberCount(tenantId, targetUserId);
+        return new SubscriptionPageResponse(items, page, size, total, totalPages(total, size));
+    }
+
+    /**
+     * Keyset page of the users the current user is subscribed to, most recent first.
+     *
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public SubscriptionCursorPageResponse getMySubscriptionsPage(String tenantId, String subscriberId,
+                                                                 String cursor, int limit) {
+        int size = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        Cursor after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+        // Fetch one extra row to learn whether another page exists without a count.
+        List<Subscription> rows = subscriptionRepository.findPageByTenantIdAndSubscriberId(tenantId, subscriberId,
+                after != null ? after.subscribedAt() : null, after != null ? after.id() : null, size + 1);
+        return toCursorPage(rows, size, SubscriptionService::toTargetResponse);
+    }
+
+    /**
+     * Keyset page of the current user's subscribers, most recent first. Cost
+     * per page is constant however deep the list is.
+     *
+     * @param cursor opaque cursor from the previous page, or null for the first page
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public SubscriptionCursorPageResponse getMySubscribersPage(String tenantId, String targetUserId,
+                                                               String cursor, int limit) {
+        int size = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        Cursor after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+        List<Subscription> rows = subscriptionRepository.findPageByTenantIdAndTargetUserId(tenantId, targetUserId,
+                after != null ? after.subscribedAt() : null, after != null ? after.id() : null, size + 1);
+        return toCursorPage(rows, size, SubscriptionService::toSubscriberResponse);
+    }
+
+    /**
+     * Rebuilds one batch of counters last reconciled before {@code cutoff}.
+     * Each rebuild reads the stored version before counting and is stored only
+     * if the version is unchanged; a concurrent increment makes it skip until
+     * the next cycle.
+     *
+     * @return number of documents whose stored counters had drifted
+     */
+    public int reconcileCounts(LocalDateTime cutoff, int batchSize) {
+        int drifted = 0;
+        for (SubscriptionCounts stored : subscriptionCountsRepository.findByReconciledAtBefore(cutoff, batchSize)) {
+            try {
+                SubscriptionCounts rebuilt = countFromSource(stored.getTenantId(), stored.getUserId());
+                if (!subscriptionCountsRepository.replaceByTenantIdAndUserId(
+                        stored.getTenantId(), stored.getUserId(), rebuilt, stored.getVersion())) {
+                    continue; // incremented meanwhile; picked up again next cycle
+                }
+                if (!rebuilt.sameCountsAs(stored)) {
+                    drifted++;
+                    logger.info("SUBSCRIPTION_COUNTS_DRIFT tenant={}, userId={}: subscribers={}→{}, subscriptions={}→{}",
+                            stored.getTenantId(), stored.getUserId(),
+                            stored.getSubscribers(), rebuilt.getSubscribers(),
+                            stored.getSubscriptions(), rebuilt.getSubscriptions());
+                }
+            } catch (Exception e) {
+                logger.error("Subscription counts reconcile failed for tenant={}, userId={}: {}",
+                        stored.getTenantId(), stored.getUserId(), e.getMessage(), e);
+            }
+        }
+        return drifted;
     }
 
     /**
@@ -165,6 +243,104 @@ public class SubscriptionService {
         return subscriptionRepository.findSubscribedTargetIds(tenantId, subscriberId, targetUserIds);
     }
 
+    // ── Counters ────────────────────────────────────────────
+
+    /** Stored counters, built from source and stored on first use. */
+    private SubscriptionCounts countsFor(String tenantId, String userId) {
+        return subscriptionCountsRepository.findByTenantIdAndUserId(tenantId, userId)
+                .orElseGet(() -> {
+                    SubscriptionCounts built = countFromSource(tenantId, userId);
+                    subscriptionCountsRepository.replaceByTenantIdAndUserId(tenantId, userId, built, null);
+                    return built;
+                });
+    }
+
+    private SubscriptionCounts countFromSource(String tenantId, String userId) {
+        SubscriptionCounts counts = new SubscriptionCounts();
+        counts.setSubscribers(subscriptionRepository.countByTenantIdAndTargetUserId(tenantId, userId));
+        counts.setSubscriptions(subscriptionRepository.countByTenantIdAndSubscriberId(tenantId, userId));
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        counts.setUpdatedAt(now);
+        counts.setReconciledAt(now);
+        return counts;
+    }
+
+    /**
+     * Best effort: the subscription itself is already stored, and reconciliation
+     * repairs a counter whose increment was lost.
+     */
+    private void moveCounts(String tenantId, String subscriberId, String targetUserId, long delta) {
+        try {
+            subscriptionCountsRepository.incrementByTenantIdAndUserId(
+                    tenantId, targetUserId, SubscriptionCounts.SUBSCRIBERS, delta);
+            subscriptionCountsRepository.incrementByTenantIdAndUserId(
+                    tenantId, subscriberId, SubscriptionCounts.SUBSCRIPTIONS, delta);
+        } catch (Exception e) {
+            logger.warn("SUBSCRIPTION_COUNTS_UPDATE_FAILED tenant={}, subscriber={}, target={}: {}",
+                    tenantId, subscriberId, targetUserId, e.getMessage());
+        }
+    }
+
+    // ── Mapping ─────────────────────────────────────────────
+
+    private static SubscriptionUserResponse toTargetResponse(Subscription s) {
+        return new SubscriptionUserResponse(
+                s.getTargetUserId(),
+                s.getTargetUsername(),
+                s.getTargetDisplayName(),
+                s.getTargetAvatarUrl(),
+                s.getSubscribedAt() != null ? s.getSubscribedAt().format(ISO_FORMATTER) : null
+        );
+    }
+
+    private static SubscriptionUserResponse toSubscriberResponse(Subscription s) {
+        return new SubscriptionUserResponse(
+                s.getSubscriberId(),
+                s.getSubscriberUsername(),
+                s.getSubscriberDisplayName(),
+                s.getSubscriberAvatarUrl(),
+                s.getSubscribedAt() != null ? s.getSubscribedAt().format(ISO_FORMATTER) : null
+        );
+    }
+
+    private static int totalPages(long total, int size) {
+        return size > 0 ? (int) Math.ceil((double) total / size) : 0;
+    }
+
+    private static SubscriptionCursorPageResponse toCursorPage(List<Subscription> rows, int size,
+                                                               Function<Subscription, SubscriptionUserResponse> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<Subscription> page = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            Subscription last = page.get(page.size() - 1);
+            nextCursor = encodeCursor(last.getSubscribedAt(), last.getId());
+        }
+        return new SubscriptionCursorPageResponse(page.stream().map(mapper).toList(), nextCursor);
+    }
+
+    // ── Cursor ──────────────────────────────────────────────
+
+    record Cursor(LocalDateTime subscribedAt, String id) {}
+
+    static String encodeCursor(LocalDateTime subscribedAt, String id) {
+        String raw = subscribedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
     // ── Response DTOs ───────────────────────────────────────
 
     public record SubscriptionUserResponse(
@@ -182,4 +358,12 @@ public class SubscriptionService {
             long totalElements,
             int totalPages
     ) {}
+
+    /**
+     * Keyset page; {@code nextCursor} is opaque and null on the last page.
+     */
+    public record SubscriptionCursorPageResponse(
+            List<SubscriptionUserResponse> items,
+            String nextCursor
+    ) {}
 }
@@ -1,13 +1,24 @@
 package org.earnlumens.mediastore.application.user;
 
+import org.earnlumens.mediastore.application.user.UserBadgeService.ExpirationResult;
+import org.earnlumens.mediastore.infrastructure.lock.DistributedLockService;
 import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
 import org.earnlumens.mediastore.infrastructure.tenant.read.TenantConfigService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Scheduled task that processes expired badge assignments.
@@ -16,7 +27,11 @@ import java.util.List;
  *
  * <p>Iterates over every ACTIVE tenant returned by
  * {@link TenantConfigService#findAllActiveTenantIds()} so secondary tenants
- * do not silently miss badge expiration.
+ * do not silently miss badge expiration. The distributed lock keeps a single
+ * instance expiring per cycle; tenants are processed in parallel on virtual
+ * threads, at most {@code mediastore.badges.expiration-tenant-concurrency} at
+ * a time. Every cycle that expired anything logs assignments, users and
+ * users/s.
  */
 @Component
 public class BadgeExpirationTask {
@@ -25,16 +40,45 @@ public class BadgeExpirationTask {
 
     private final UserBadgeService userBadgeService;
     private final TenantConfigService tenantConfigService;
+    private final DistributedLockService lockService;
+    private final int tenantConcurrency;
 
     public BadgeExpirationTask(UserBadgeService userBadgeService,
-                               TenantConfigService tenantConfigService) {
+                               TenantConfigService tenantConfigService,
+                               DistributedLockService lockService,
+                               @Value("${mediastore.badges.expiration-tenant-concurrency:8}") int tenantConcurrency) {
         this.userBadgeService = userBadgeService;
         this.tenantConfigService = tenantConfigService;
+        this.lockService = lockService;
+        this.tenantConcurrency = Math.max(1, tenantConcurrency);
     }
 
+    /**
+     * Totals of one expiration cycle.
+     *
+     * @param tenants         tenants scanned
+     * @param failedTenants   tenants whose processing threw (retried next cycle)
+     * @param assignments     assignments marked EXPIRED
+     * @param users           distinct users whose content badge changed
+     * @param durationMs      wall-clock time of the cycle
+     * @param usersPerSecond  expiration throughput of the cycle
+     */
+    public record CycleReport(
+            int tenants,
+            int failedTenants,
+            long assignments,
+            long users,
+            long durationMs,
+            double usersPerSecond
+    ) {}
+
     @Scheduled(fixedDelayString = "${mediastore.badges.expiration-check-interval-ms:3600000}",
                initialDelayString = "${mediastore.badges.expiration-check-initial-delay-ms:60000}")
     public void run() {
+        // Lease well below the hourly interval: a crashed holder only delays the next cycle.
+        if (!lockService.tryAcquire("badge-expiration", Duration.ofMinutes(30))) {
+            return; // another instance is expiring badges this cycle
+        }
         TenantContext.runWithoutTenant(() -> {
             List<String> tenantIds;
             try {
@@ -44,18 +88,48 @@ public class BadgeExpirationTask {
                 return;
             }
 
-            long totalProcessed = 0;
-            for (String tenantId : tenantIds) {
-                try {
-                    totalProcessed += userBadgeService.processExpiredBadges(tenantId);
-                } catch (Exception e) {
-                    logger.error("Badge expiration cycle failed for tenant={}: {}", tenantId, e.getMessage(), e);
-                }
-            }
-            if (totalProcessed > 0) {
-                logger.info("Badge expiration cycle: processed {} expired assignment(s) across {} tenant(s)",
-                        totalProcessed, tenantIds.size());
+            CycleReport report = expireAcrossTenants(tenantIds);
+            if (report.assignments() > 0 || report.failedTenants() > 0) {
+                logger.info("Badge expiration cycle: tenants={}, failed={}, assignments={}, users={}, durationMs={}, users/s={}",
+                        report.tenants(), report.failedTenants(), report.assignments(), report.users(),
+                        report.durationMs(), String.format("%.1f", report.usersPerSecond()));
             }
         });
     }
+
+    /**
+     * Runs {@link UserBadgeService#processExpiredBadges} for every tenant, in
+     * parallel on virtual threads. Blocks until all tenants finished or failed;
+     * never throws for a single tenant.
+     */
+    CycleReport expireAcrossTenants(List<String> tenantIds) {
+        long start = System.nanoTime();
+        Semaphore permits = new Semaphore(tenantConcurrency);
+        AtomicLong assignments = new AtomicLong();
+        AtomicLong users = new AtomicLong();
+        AtomicInteger failed = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> runs = new ArrayList<>(tenantIds.size());
+            for (String tenantId : tenantIds) {
+                permits.acquireUninterruptibly();
+                runs.add(executor.submit(() -> TenantContext.runWithoutTenant(() -> {
+                    try {
+                        ExpirationResult result = userBadgeService.processExpiredBadges(tenantId);
+                        assignments.addAndGet(result.assignments());
+                        users.addAndGet(result.users());
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                        logger.error("Badge expiration cycle failed for tenant={}: {}", tenantId, e.getMessage(), e);
+                    } finally {
+                        permits.release();
+                    }
+                })));
+            }
+        } // close() waits for every submitted tenant
+
+        long durationMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        return new CycleReport(tenantIds.size(), failed.get(), assignments.get(), users.get(),
+                durationMs, users.get() * 1000.0 / durationMs);
+    }
 }
@@ -1,14 +1,18 @@
 package org.earnlumens.mediastore.application.user;
 
+import org.earnlumens.mediastore.domain.media.model.BackfillCheckpoint;
+import org.earnlumens.mediastore.domain.media.repository.BackfillCheckpointRepository;
 import org.earnlumens.mediastore.domain.user.model.BadgeAssignedBy;
 import org.earnlumens.mediastore.domain.user.model.BadgeAssignmentStatus;
 import org.earnlumens.mediastore.domain.user.model.BadgeType;
 import org.earnlumens.mediastore.domain.user.model.UserBadgeAssignment;
 import org.earnlumens.mediastore.domain.user.repository.UserBadgeRepository;
-import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntryMongoRepository;
-import org.earnlumens.mediastore.infrastructure.persistence.media.repository.CollectionMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.CollectionEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -16,21 +20,48 @@ import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class UserBadgeService {
 
     private static final Logger log = LoggerFactory.getLogger(UserBadgeService.class);
 
+    /** {@link BackfillCheckpoint} name under which expiration progress is recorded per tenant. */
+    static final String EXPIRATION_CHECKPOINT = "badge-expiration";
+
     private final UserBadgeRepository badgeRepository;
     private final MongoTemplate mongoTemplate;
+    private final BackfillCheckpointRepository checkpointRepository;
+    private final UserProfileCache profileCache;
+    private final int expirationBatchSize;
 
     public UserBadgeService(UserBadgeRepository badgeRepository,
-                            MongoTemplate mongoTemplate) {
+                            MongoTemplate mongoTemplate,
+                            BackfillCheckpointRepository checkpointRepository,
+                            UserProfileCache profileCache,
+                            @Value("${mediastore.badges.expiration-batch-size:500}") int expirationBatchSize) {
         this.badgeRepository = badgeRepository;
         this.mongoTemplate = mongoTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.profileCache = profileCache;
+        this.expirationBatchSize = Math.max(1, expirationBatchSize);
+    }
+
+    /**
+     * Outcome of {@link #processExpiredBadges} for one tenant.
+     *
+     * @param assignments assignments marked EXPIRED
+     * @param users       distinct users whose content badge was cleared or downgraded
+     */
+    public record ExpirationResult(long assignments, long users) {
+
+        public static final ExpirationResult NONE = new ExpirationResult(0, 0);
     }
 
     /**
@@ -57,6 +88,7 @@ public class UserBadgeService {
         assignment.setCreatedAt(now);
 
         UserBadgeAssignment saved = badgeRepository.save(assignment);
+        profileCache.invalidate(userId);
 
         // Stamp the badge on all existing PUBLISHED entries and collections of this user
         stampBadgeOnUserContent(tenantId, userId, toBadgeKey(BadgeType.U1));
@@ -95,71 +127,124 @@ public class UserBadgeService {
     }
 
     /**
-     * Process expired badge assignments: mark them as EXPIRED and clear authorBadge
-     * from their entries/collections so they no longer appear in community feeds.
+     * Process expired badge assignments: clear or downgrade authorBadge on their
+     * users' entries/collections, then mark them as EXPIRED.
+     *
+     * <p>Works in batches of {@code mediastore.badges.expiration-batch-size}
+     * assignments, oldest expiry first. Each batch resolves the users' remaining
+     * badges in one query and rewrites their content with one {@code bulkWrite}
+     * per collection. Assignments are flipped to EXPIRED only after their content
+     * writes succeeded, so the ACTIVE-and-past-expiry set is itself the resume
+     * point: an interrupted run leaves the unfinished batch in place and the next
+     * run redoes it (the content writes are idempotent). Cumulative progress of
+     * the run is recorded in the tenant's {@code badge-expiration} checkpoint.
      */
-    public long processExpiredBadges(String tenantId) {
+    public ExpirationResult processExpiredBadges(String tenantId) {
         LocalDateTime now = LocalDateTime.now();
-        List<UserBadgeAssignment> expired = badgeRepository.findExpiredAssignments(tenantId, now);
+        List<UserBadgeAssignment> batch = badgeRepository.findExpiredAssignments(tenantId, now, expirationBatchSize);
+        if (batch.isEmpty()) {
+            return ExpirationResult.NONE;
+        }
 
-        if (expired.isEmpty()) {
-            return 0;
+        BackfillCheckpoint checkpoint = checkpointRepository.findByTenantIdAndName(tenantId, EXPIRATION_CHECKPOINT)
+                .filter(c -> !c.isCompleted())
+                .orElseGet(() -> new BackfillCheckpoint(tenantId, EXPIRATION_CHECKPOINT));
+        if (checkpoint.getScanned() > 0) {
+            log.info("Resuming badge expiration for tenant {} after {} assignment(s) from the interrupted run",
+                    tenantId, checkpoint.getScanned());
         }
 
-        // Expire the assignments
-        long count = badgeRepository.expireAssignments(tenantId, now);
+        long assignments = 0;
+        long users = 0;
+        while (!batch.isEmpty()) {
+            int batchUsers = rewriteContentForExpired(tenantId, batch, now);
+            long expired = badgeRepository.expireAssignments(tenantId,
+                    batch.stream().map(UserBadgeAssignment::getId).toList());
+            batch.forEach(a -> profileCache.invalidate(a.getUserId()));
+            assignments += expired;
+            users += batchUsers;
+
+            checkpoint.setScanned(checkpoint.getScanned() + expired);
+            checkpoint.setAffected(checkpoint.getAffected() + batchUsers);
+            checkpoint.setUpdatedAt(LocalDateTime.now());
+            checkpointRepository.save(checkpoint);
+
+            if (expired == 0 || batch.size() < expirationBatchSize) {
+                break; // drained, or the batch was flipped concurrently — never spin on it
+            }
+            batch = badgeRepository.findExpiredAssignments(tenantId, now, expirationBatchSize);
+        }
+
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+
+        log.info("Processed {} expired badge assignments ({} users) for tenant {}", assignments, users, tenantId);
+        return new ExpirationResult(assignments, users);
+    }
+
+    /**
+     * Rewrites authorBadge for every user in the batch: downgraded to the highest
+     * badge still active, or cleared when none is left. One bulkWrite per collection.
+     *
+     * @return number of distinct users in the batch
+     */
+    private int rewriteContentForExpired(String tenantId, List<UserBadgeAssignment> batch, LocalDateTime now) {
+        Set<String> userIds = new LinkedHashSet<>();
+        batch.forEach(a -> userIds.add(a.getUserId()));
+
+        Map<String, BadgeType> remaining = new HashMap<>();
+        for (UserBadgeAssignment active : badgeRepository.findUnexpiredByUsers(tenantId, userIds, now)) {
+            remaining.merge(active.getUserId(), active.getBadgeType(), (a, b) -> a.compareTo(b) >= 0 ? a : b);
+        }
 
-        // For each expired user, check if they still have any active badge
-        for (UserBadgeAssignment assignment : expired) {
-            Optional<String> remainingBadge = getActiveBadgeKey(tenantId, assignment.getUserId());
-            if (remainingBadge.isEmpty()) {
+        BulkOperations entries = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EntryEntity.class);
+        BulkOperations collections = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CollectionEntity.class);
+        for (String userId : userIds) {
+            BadgeType badge = remaining.get(userId);
+            Query query;
+            Update update;
+            if (badge == null) {
                 // No more active badges — clear from content
-                clearBadgeFromUserContent(tenantId, assignment.getUserId());
+                query = userContentQuery(tenantId, userId);
+                update = new Update().unset("authorBadge");
             } else {
                 // Downgrade to remaining badge
-                stampBadgeOnUserContent(tenantId, assignment.getUserId(), remainingBadge.get());
+                query = publishedContentQuery(tenantId, userId);
+                update = new Update().set("authorBadge", toBadgeKey(badge));
             }
+            entries.updateMulti(query, update);
+            collections.updateMulti(query, update);
         }
-
-        log.info("Processed {} expired badge assignments for tenant {}", count, tenantId);
-        return count;
+        entries.execute();
+        collections.execute();
+        return userIds.size();
     }
 
     /**
      * Set the authorBadge field on all PUBLISHED entries and collections of a user.
      */
     private void stampBadgeOnUserContent(String tenantId, String userId, String badgeKey) {
-        Query query = new Query(Criteria.where("tenantId").is(tenantId)
-                .and("userId").is(userId)
-                .and("status").is("PUBLISHED"));
+        Query query = publishedContentQuery(tenantId, userId);
 
         Update update = new Update().set("authorBadge", badgeKey);
 
-        long entries = mongoTemplate.updateMulti(query, update,
-                org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity.class).getModifiedCount();
-        long collections = mongoTemplate.updateMulti(query, update,
-                org.earnlumens.mediastore.infrastructure.persistence.media.entity.CollectionEntity.class).getModifiedCount();
+        long entries = mongoTemplate.updateMulti(query, update, EntryEntity.class).getModifiedCount();
+        long collections = mongoTemplate.updateMulti(query, update, CollectionEntity.class).getModifiedCount();
 
         log.info("Stamped badge {} on {} entries and {} collections for user {} in tenant {}",
                 badgeKey, entries, collections, userId, tenantId);
     }
 
-    /**
-     * Clear the authorBadge field from all entries and collections of a user.
-     */
-    private void clearBadgeFromUserContent(String tenantId, String userId) {
-        Query query = new Query(Criteria.where("tenantId").is(tenantId)
-                .and("userId").is(userId));
-
-        Update update = new Update().unset("authorBadge");
-
-        long entries = mongoTemplate.updateMulti(query, update,
-                org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity.class).getModifiedCount();
-        long collections = mongoTemplate.updateMulti(query, update,
-                org.earnlumens.mediastore.infrastructure.persistence.media.entity.CollectionEntity.class).getModifiedCount();
+    private static Query publishedContentQuery(String tenantId, String userId) {
+        return new Query(Criteria.where("tenantId").is(tenantId)
+                .and("userId").is(userId)
+                .and("status").is("PUBLISHED"));
+    }
 
-        log.info("Cleared badge from {} entries and {} collections for user {} in tenant {}",
-                entries, collections, userId, tenantId);
+    private static Query userContentQuery(String tenantId, String userId) {
+        return new Query(Criteria.where("tenantId").is(tenantId)
+                .and("userId").is(userId));
     }
 
     /**
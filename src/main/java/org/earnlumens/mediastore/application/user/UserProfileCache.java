@@ -0,0 +1,138 @@
+package org.earnlumens.mediastore.application.user;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-instance LRU of (tenant, user) → {@link UserProfileSnapshot}, so
+ * {@code GET /api/user/me} — called on every SPA load and token refresh —
+ * is answered from memory in the steady state.
+ *
+ * <p>Entries are grouped by user: every invalidation is per user and drops
+ * the snapshot for all tenants, because the writers that change a profile
+ * ({@link UserService#save}, badge claims and expiry in
+ * {@link UserBadgeService}) do not all know the tenant. {@code max-entries}
+ * bounds the number of users. Writes made by another instance or outside
+ * this service (moderation sanctions) show up once the entry expires
+ * ({@code ttl-seconds}), which is why the TTL is short.
+ *
+ * <p>A snapshot loaded while an invalidation happened is returned to its
+ * caller but not cached, so a load racing a write never pins the old state.
+ */
+@Component
+public class UserProfileCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProfileCache.class);
+
+    /** Cumulative counters since startup. */
+    public record Stats(long hits, long misses, long invalidations, int users) {}
+
+    private record Cached(UserProfileSnapshot snapshot, long expiresAtNanos) {}
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    /** userId → (tenantId → snapshot); access-ordered. Guarded by itself. */
+    private final Map<String, Map<String, Cached>> entries;
+    /** Bumped on every invalidation; a load only caches if it did not move. Guarded by {@link #entries}. */
+    private long generation;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private long loggedHits;
+    private long loggedMisses;
+
+    public UserProfileCache(
+            @Value("${mediastore.users.profile-cache.max-entries:20000}") int maxEntries,
+            @Value("${mediastore.users.profile-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = Duration.ofSeconds(Math.max(0, ttlSeconds)).toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, Cached>> eldest) {
+                return size() > UserProfileCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The snapshot for ({@code tenantId}, {@code userId}), calling
+     * {@code loader} outside the lock on a miss.
+     */
+    public UserProfileSnapshot get(String tenantId, String userId, Supplier<UserProfileSnapshot> loader) {
+        long loadGeneration;
+        synchronized (entries) {
+            Map<String, Cached> byTenant = entries.get(userId);
+            Cached cached = byTenant != null ? byTenant.get(tenantId) : null;
+            if (cached != null && System.nanoTime() - cached.expiresAtNanos() < 0) {
+                hits.increment();
+                return cached.snapshot();
+            }
+            loadGeneration = generation;
+        }
+        misses.increment();
+
+        UserProfileSnapshot snapshot = loader.get();
+        if (ttlNanos == 0) {
+            return snapshot;
+        }
+        synchronized (entries) {
+            if (generation == loadGeneration) {
+                Map<String, Cached> byTenant = entries.get(userId);
+                Map<String, Cached> updated = byTenant != null ? new HashMap<>(byTenant) : new HashMap<>(2);
+                updated.put(tenantId, new Cached(snapshot, System.nanoTime() + ttlNanos));
+                entries.put(userId, Map.copyOf(updated));
+            }
+        }
+        return snapshot;
+    }
+
+    /** Drops every cached snapshot of {@code userId}, in all tenants. */
+    public void invalidate(String userId) {
+        if (userId == null) {
+            return;
+        }
+        synchronized (entries) {
+            generation++;
+            entries.remove(userId);
+        }
+        invalidations.increment();
+    }
+
+    public Stats stats() {
+        int users;
+        synchronized (entries) {
+            users = entries.size();
+        }
+        return new Stats(hits.sum(), misses.sum(), invalidations.sum(), users);
+    }
+
+    // ─── Metrics ───────────────────────────────────────────────
+
+    /** One line per interval, e.g. {@code PROFILE_CACHE hits=940 misses=60 hitRatePct=94 users=512 invalidations=75}. */
+    @Scheduled(fixedDelayString = "${mediastore.users.profile-cache.stats-interval-ms:60000}",
+            initialDelayString = "${mediastore.users.profile-cache.stats-interval-ms:60000}")
+    public void logStats() {
+        Stats stats = stats();
+        long windowHits = stats.hits() - loggedHits;
+        long windowMisses = stats.misses() - loggedMisses;
+        loggedHits = stats.hits();
+        loggedMisses = stats.misses();
+        long lookups = windowHits + windowMisses;
+        if (lookups == 0) {
+            return;
+        }
+        logger.info("PROFILE_CACHE hits={} misses={} hitRatePct={} users={} invalidations={}",
+                windowHits, windowMisses, windowHits * 100 / lookups, stats.users(), stats.invalidations());
+    }
+}
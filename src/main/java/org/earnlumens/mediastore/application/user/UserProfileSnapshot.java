@@ -0,0 +1,76 @@
+package org.earnlumens.mediastore.application.user;
+
+import org.earnlumens.mediastore.domain.user.model.User;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The persisted parts of {@code GET /api/user/me} for one (tenant, user):
+ * active badge, content-language preferences and self sanction status.
+ * Immutable, so one instance can be served from {@link UserProfileCache} to
+ * concurrent requests.
+ *
+ * @param profileBadge               highest active badge key, or {@code null}
+ * @param contentLanguagePreferences preferences with defaults applied, or {@code null} when the user is not stored
+ * @param sanctionStatus             self-disclosed moderation state; empty for clean accounts
+ */
+public record UserProfileSnapshot(
+        String profileBadge,
+        Map<String, Object> contentLanguagePreferences,
+        Map<String, Object> sanctionStatus
+) {
+
+    public static UserProfileSnapshot of(String profileBadge, User user) {
+        if (user == null) {
+            return new UserProfileSnapshot(profileBadge, null, Map.of());
+        }
+        return new UserProfileSnapshot(profileBadge,
+                Collections.unmodifiableMap(preferencesOf(user)),
+                Collections.unmodifiableMap(sanctionOf(user)));
+    }
+
+    /**
+     * Serialize content-language preferences with safe defaults so the UI
+     * always receives a fully-populated object (never null fields).
+     */
+    public static Map<String, Object> preferencesOf(User user) {
+        Map<String, Object> prefs = new LinkedHashMap<>();
+        List<String> langs = user.getContentLanguages();
+        prefs.put("contentLanguages", langs != null ? List.copyOf(langs) : List.of());
+        prefs.put("includeMulti", user.getIncludeMulti() == null ? Boolean.TRUE : user.getIncludeMulti());
+        prefs.put("showAllLanguages", user.getShowAllLanguages() == null ? Boolean.FALSE : user.getShowAllLanguages());
+        return prefs;
+    }
+
+    /**
+     * Self-disclosure of moderation status. Returned to the user under
+     * {@code sanctionStatus} on {@code GET /api/user/me} so the storefront
+     * can render a banner explaining what is going on. Empty when the user
+     * has no warnings, strikes or active ban.
+     *
+     * <p>Intentionally omits the moderator's identity ({@code banIssuedBy}):
+     * the affected user sees the platform decision, not who personally
+     * pressed the button.
+     */
+    public static Map<String, Object> sanctionOf(User user) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        if (user.isBlocked()) {
+            out.put("blocked", true);
+            out.put("banType", user.getBanType() != null ? user.getBanType() : "PERMA_BAN");
+            if (user.getBanReason() != null) out.put("reason", user.getBanReason());
+            if (user.getBanExpiresAt() != null) out.put("expiresAt", user.getBanExpiresAt().toString());
+            if (user.getBlockedAt() != null) out.put("issuedAt", user.getBlockedAt().toString());
+        }
+        Integer strikes = user.getStrikeCount();
+        if (strikes != null && strikes > 0) {
+            out.put("strikeCount", strikes);
+            if (user.getLastStrikeAt() != null) {
+                out.put("lastStrikeAt", user.getLastStrikeAt().toString());
+            }
+        }
+        return out;
+    }
+}
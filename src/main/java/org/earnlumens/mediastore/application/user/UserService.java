@@ -12,17 +12,46 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UsernameCache usernameCache;
+    private final UserProfileCache profileCache;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UsernameCache usernameCache, UserProfileCache profileCache) {
         this.userRepository = userRepository;
+        this.usernameCache = usernameCache;
+        this.profileCache = profileCache;
     }
 
     public Optional<User> findByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
+    /**
+     * Case-insensitive profile lookup served from {@link UsernameCache} when
+     * hot. Use {@link #findByUsername} when the full, mutable user is needed.
+     */
+    public Optional<UserSummary> findSummaryByUsername(String username) {
+        UserSummary cached = usernameCache.get(username);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return userRepository.findByUsername(username).map(user -> {
+            UserSummary summary = UserSummary.of(user);
+            usernameCache.put(summary);
+            return summary;
+        });
+    }
+
     public Boolean existsByUsername(String username) {
-        return userRepository.existsByUsername(username);
+        return usernameCache.get(username) != null || userRepository.existsByUsername(username);
+    }
+
+    /**
+     * Drops the cached profile for {@code username}. {@link #save} already
+     * evicts the user's current username; callers renaming a user also evict
+     * the previous one.
+     */
+    public void evictUsername(String username) {
+        usernameCache.invalidate(username);
     }
 
     public Optional<User> findByOauthUserId(String oauthUserId) {
@@ -33,8 +62,16 @@ public class UserService {
         return userRepository.existsByOauthUserId(oauthUserId);
     }
 
+    /**
+     * Persists the user and evicts both profile caches: every profile write
+     * in this service (login sync, preferences, lazy unban, temp UUID) goes
+     * through here.
+     */
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        usernameCache.invalidate(user.getUsername());
+        profileCache.invalidate(user.getOauthUserId());
+        return saved;
     }
 
     public Optional<User> findByTempUUID(String tempUUID) {
@@ -68,7 +105,7 @@ public class UserService {
             if (request.showAllLanguages() != null) {
                 user.setShowAllLanguages(request.showAllLanguages());
             }
-            return userRepository.save(user);
+            return save(user);
         });
     }
 }
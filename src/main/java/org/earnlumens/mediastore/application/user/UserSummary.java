@@ -0,0 +1,23 @@
+package org.earnlumens.mediastore.application.user;
+
+import org.earnlumens.mediastore.domain.user.model.User;
+
+/**
+ * Public profile fields of a {@link User} — what a profile page or a
+ * by-username lookup needs. Immutable, so it can be shared from
+ * {@link UsernameCache} without callers mutating a cached user.
+ */
+public record UserSummary(
+        String id,
+        String oauthUserId,
+        String username,
+        String displayName,
+        String profileImageUrl,
+        Integer followersCount
+) {
+
+    public static UserSummary of(User user) {
+        return new UserSummary(user.getId(), user.getOauthUserId(), user.getUsername(),
+                user.getDisplayName(), user.getProfileImageUrl(), user.getFollowersCount());
+    }
+}
@@ -0,0 +1,92 @@
+package org.earnlumens.mediastore.application.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Per-instance LRU of username → {@link UserSummary} for profile lookups
+ * ({@code /api/user/by-username}, {@code /exists}, public subscriber counts).
+ *
+ * <p>Keys are lowercased, matching the case-insensitive lookup. Only hits
+ * are cached: a miss always reaches Mongo, so a name registered a moment
+ * ago is never reported as unknown. Entries are evicted on profile updates
+ * from this instance ({@link UserService#save}, the login sync in
+ * {@code AuthService}); an update made on another instance shows up once
+ * the entry expires ({@code ttl-seconds}).
+ */
+@Component
+public class UsernameCache {
+
+    private record Cached(UserSummary summary, long expiresAtNanos) {}
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Map<String, Cached> entries;
+
+    public UsernameCache(
+            @Value("${mediastore.users.username-cache.max-entries:10000}") int maxEntries,
+            @Value("${mediastore.users.username-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlNanos = Duration.ofSeconds(Math.max(0, ttlSeconds)).toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > UsernameCache.this.maxEntries;
+            }
+        };
+    }
+
+    /** The cached summary for {@code username}, or {@code null} when absent or expired. */
+    public UserSummary get(String username) {
+        String key = key(username);
+        if (key == null) {
+            return null;
+        }
+        synchronized (entries) {
+            Cached cached = entries.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (System.nanoTime() - cached.expiresAtNanos() >= 0) {
+                entries.remove(key);
+                return null;
+            }
+            return cached.summary();
+        }
+    }
+
+    public void put(UserSummary summary) {
+        String key = key(summary.username());
+        if (key == null || ttlNanos == 0) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Cached(summary, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public void invalidate(String username) {
+        String key = key(username);
+        if (key == null) {
+            return;
+        }
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static String key(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,25 @@
+package org.earnlumens.mediastore.domain.media.dto.response;
+
+/**
+ * Outcome of one invocation of a resumable tenant backfill.
+ *
+ * @param scanned       entries scanned by this invocation
+ * @param affected      entries changed by this invocation (jobs created / entries updated)
+ * @param totalScanned  entries scanned across the whole run, including resumed invocations
+ * @param totalAffected entries changed across the whole run
+ * @param resumed       true when this invocation continued from a stored checkpoint
+ * @param completed     true when the run reached the end; false when the time budget ran out
+ *                      and the caller should invoke the endpoint again to resume
+ * @param durationMs    wall-clock time of this invocation
+ * @param rowsPerSecond scan throughput of this invocation
+ */
+public record BackfillResult(
+        long scanned,
+        long affected,
+        long totalScanned,
+        long totalAffected,
+        boolean resumed,
+        boolean completed,
+        long durationMs,
+        double rowsPerSecond
+) {}
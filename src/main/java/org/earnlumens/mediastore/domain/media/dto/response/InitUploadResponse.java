@@ -2,16 +2,24 @@ package org.earnlumens.mediastore.domain.media.dto.response;
 
 import java.util.List;
 
+/**
+ * Result of {@code POST /api/uploads/init}.
+ * <p>
+ * For multipart uploads {@code partUrls} holds only the first window of
+ * presigned part URLs (parts {@code 1..partUrls.size()}); the client fetches
+ * the rest from {@code POST /api/uploads/part-urls} as it progresses.
+ */
 public record InitUploadResponse(
         String uploadId,
         String presignedUrl,
         String r2Key,
         boolean multipart,
         Long partSizeBytes,
-        List<String> partUrls
+        List<String> partUrls,
+        Integer totalParts
 ) {
     /** Single-PUT upload (non-multipart). */
     public InitUploadResponse(String uploadId, String presignedUrl, String r2Key) {
-        this(uploadId, presignedUrl, r2Key, false, null, null);
+        this(uploadId, presignedUrl, r2Key, false, null, null, null);
     }
 }
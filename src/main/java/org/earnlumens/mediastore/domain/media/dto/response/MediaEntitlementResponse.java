@@ -1,10 +1,29 @@
 package org.earnlumens.mediastore.domain.media.dto.response;
 
+/**
+ * Entitlement decision for the cdn-worker. {@code playbackToken} (with its
+ * expiry in epoch seconds) is set for HLS entries when playback tokens are
+ * enabled; the worker then authorizes the rest of the session's manifests
+ * and segments without calling back.
+ */
 public record MediaEntitlementResponse(
         boolean allowed,
         String r2Key,
         String contentType,
         String contentDisposition,
         String fileName,
-        String hlsR2Prefix
-) {}
+        String hlsR2Prefix,
+        String playbackToken,
+        Long playbackTokenExpiresAt
+) {
+
+    public MediaEntitlementResponse(boolean allowed, String r2Key, String contentType,
+                                    String contentDisposition, String fileName, String hlsR2Prefix) {
+        this(allowed, r2Key, contentType, contentDisposition, fileName, hlsR2Prefix, null, null);
+    }
+
+    public MediaEntitlementResponse withPlaybackToken(String token, long expiresAt) {
+        return new MediaEntitlementResponse(allowed, r2Key, contentType, contentDisposition, fileName, hlsR2Prefix,
+                token, expiresAt);
+    }
+}
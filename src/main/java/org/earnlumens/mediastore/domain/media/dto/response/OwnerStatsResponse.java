@@ -2,7 +2,7 @@ package org.earnlumens.mediastore.domain.media.dto.response;
 
 /**
  * Aggregated statistics for the authenticated creator (Creator Studio dashboard).
- * Computed server-side via MongoDB aggregation for accuracy and efficiency.
+ * Served from the materialized {@code owner_stats} document (single point read).
  */
 public record OwnerStatsResponse(
         long totalEntries,
@@ -13,5 +13,7 @@ public record OwnerStatsResponse(
         long archived,
         long deleted,
         long totalViews,
-        long totalSales
+        long totalSales,
+        long totalCollections,
+        long publishedCollections
 ) {}
@@ -0,0 +1,17 @@
+package org.earnlumens.mediastore.domain.media.dto.response;
+
+import java.util.List;
+
+/**
+ * A window of presigned part URLs for an in-progress multipart upload.
+ *
+ * @param firstPart  part number of {@code partUrls.get(0)}
+ * @param totalParts total parts in the upload, so the client knows when to stop
+ * @param partUrls   URLs for parts {@code firstPart .. firstPart + partUrls.size() - 1}
+ */
+public record PartUrlWindowResponse(
+        String uploadId,
+        int firstPart,
+        int totalParts,
+        List<String> partUrls
+) {}
@@ -0,0 +1,13 @@
+package org.earnlumens.mediastore.domain.media.dto.response;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated window of a user's purchase library, newest purchase first.
+ * Collection purchases are expanded to their entries. {@code nextCursor} is
+ * opaque; pass it back to fetch the following window. It is null on the last one.
+ */
+public record PurchaseLibraryPageResponse(
+        List<PurchasedEntryResponse> items,
+        String nextCursor
+) {}
@@ -0,0 +1,25 @@
+package org.earnlumens.mediastore.domain.media.dto.response;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A seller's completed-sale totals over an inclusive range of UTC days,
+ * read from the daily rollup. Days without sales are omitted from
+ * {@code days}. {@code sellerXlm} is the creator's own share (SELLER split).
+ */
+public record SellerSalesDailyResponse(
+        String from,
+        String to,
+        long orders,
+        BigDecimal grossXlm,
+        BigDecimal sellerXlm,
+        List<Day> days
+) {
+    public record Day(
+            String day,
+            long orders,
+            BigDecimal grossXlm,
+            BigDecimal sellerXlm
+    ) {}
+}
@@ -0,0 +1,13 @@
+package org.earnlumens.mediastore.domain.media.dto.response;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated page of a seller's completed sales, newest first.
+ * {@code nextCursor} is opaque; pass it back to fetch the following page.
+ * It is null on the last page.
+ */
+public record SellerSalesPageResponse(
+        List<SellerOrderResponse> items,
+        String nextCursor
+) {}
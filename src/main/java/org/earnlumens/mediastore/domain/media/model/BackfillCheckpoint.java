@@ -0,0 +1,90 @@
+package org.earnlumens.mediastore.domain.media.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress marker for a resumable, tenant-scoped backfill (e.g. the batch
+ * transcode of pre-pipeline videos).
+ * <p>
+ * Backfills page over {@code entries} in {@code _id} order; after every page
+ * the last processed entry id is written here, so a run that is interrupted
+ * (time budget exhausted, instance recycled, HTTP timeout) continues from the
+ * next entry instead of rescanning the tenant from the start. One document per
+ * {@code (tenantId, name)} — the id is derived from both so {@code save()}
+ * upserts in place.
+ */
+@Document(collection = "backfill_checkpoints")
+@CompoundIndex(name = "idx_tenant_name", def = "{'tenantId': 1, 'name': 1}", unique = true)
+public class BackfillCheckpoint {
+
+    @Id
+    private String id;
+
+    private String tenantId;
+
+    /** Backfill identifier, e.g. {@code "transcode"} or {@code "duration"}. */
+    private String name;
+
+    /** Last entry id fully processed by the current run; null before the first page. */
+    private String lastEntryId;
+
+    /** Entries scanned across all resumed invocations of the current run. */
+    private long scanned;
+
+    /** Entries changed (jobs created / entries updated) across the current run. */
+    private long affected;
+
+    /** True once the run reached the end of the tenant's entries. */
+    private boolean completed;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime updatedAt;
+
+    public BackfillCheckpoint() {}
+
+    public BackfillCheckpoint(String tenantId, String name) {
+        this.id = idFor(tenantId, name);
+        this.tenantId = tenantId;
+        this.name = name;
+        this.startedAt = LocalDateTime.now();
+        this.updatedAt = this.startedAt;
+    }
+
+    public static String idFor(String tenantId, String name) {
+        return tenantId + ":" + name;
+    }
+
+    // ─── Getters / setters ──────────────────────────────────────
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getLastEntryId() { return lastEntryId; }
+    public void setLastEntryId(String lastEntryId) { this.lastEntryId = lastEntryId; }
+
+    public long getScanned() { return scanned; }
+    public void setScanned(long scanned) { this.scanned = scanned; }
+
+    public long getAffected() { return affected; }
+    public void setAffected(long affected) { this.affected = affected; }
+
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,24 @@
+package org.earnlumens.mediastore.domain.media.model;
+
+/**
+ * The fields of an entry that access checks read: ownership, pricing flag,
+ * status and the HLS location. Loaded by a projected query, so the
+ * description, resource text, splits and history never leave Mongo.
+ *
+ * @param hlsR2Prefix stored HLS prefix, or {@code null} for legacy transcodes
+ */
+public record EntryAccessView(
+        String id,
+        String userId,
+        EntryType type,
+        EntryStatus status,
+        boolean isPaid,
+        boolean hlsReady,
+        String hlsR2Prefix
+) {
+
+    public static EntryAccessView of(Entry entry) {
+        return new EntryAccessView(entry.getId(), entry.getUserId(), entry.getType(), entry.getStatus(),
+                entry.isPaid(), entry.isHlsReady(), entry.getHlsR2Prefix());
+    }
+}
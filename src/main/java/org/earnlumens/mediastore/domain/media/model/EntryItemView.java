@@ -0,0 +1,29 @@
+package org.earnlumens.mediastore.domain.media.model;
+
+import java.math.BigDecimal;
+
+/**
+ * The card fields of an entry listed inside a collection: what the
+ * collection detail page renders plus status and pricing for the lock
+ * state. Loaded by a projected query.
+ */
+public record EntryItemView(
+        String id,
+        EntryType type,
+        EntryStatus status,
+        boolean isPaid,
+        BigDecimal priceXlm,
+        String title,
+        String description,
+        String authorUsername,
+        String thumbnailR2Key,
+        String thumbnailVariantsPrefix,
+        Integer durationSec
+) {
+
+    public static EntryItemView of(Entry entry) {
+        return new EntryItemView(entry.getId(), entry.getType(), entry.getStatus(), entry.isPaid(),
+                entry.getPriceXlm(), entry.getTitle(), entry.getDescription(), entry.getAuthorUsername(),
+                entry.getThumbnailR2Key(), entry.getThumbnailVariantsPrefix(), entry.getDurationSec());
+    }
+}
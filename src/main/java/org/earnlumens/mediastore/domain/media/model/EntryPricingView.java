@@ -0,0 +1,27 @@
+package org.earnlumens.mediastore.domain.media.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * The fields of an entry that order preparation and tips read: seller,
+ * status, price and payout configuration. Loaded by a projected query.
+ */
+public record EntryPricingView(
+        String id,
+        String userId,
+        EntryStatus status,
+        boolean isPaid,
+        PriceCurrency priceCurrency,
+        BigDecimal priceXlm,
+        BigDecimal priceUsd,
+        List<PaymentSplit> paymentSplits,
+        String sellerWallet
+) {
+
+    public static EntryPricingView of(Entry entry) {
+        return new EntryPricingView(entry.getId(), entry.getUserId(), entry.getStatus(), entry.isPaid(),
+                entry.getPriceCurrency(), entry.getPriceXlm(), entry.getPriceUsd(),
+                entry.getPaymentSplits(), entry.getSellerWallet());
+    }
+}
@@ -0,0 +1,148 @@
+package org.earnlumens.mediastore.domain.media.model;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Domain model for a creator's materialized dashboard counters
+ * ({@code owner_stats}), one document per {@code (tenantId, userId)}.
+ * <p>
+ * Maintained incrementally with {@code $inc}: entry and collection status
+ * transitions move one unit between the per-status counters, view-count
+ * increments bump {@code totalViews} and completed sales bump
+ * {@code totalSales}. Increments never create the document, so a partial
+ * document can't appear; it is built from source on first read and
+ * periodically rebuilt by the reconciliation job. {@code version} is bumped
+ * by every increment and lets a rebuild detect a concurrent write.
+ */
+public class OwnerStats {
+
+    public static final String ENTRIES = "entries";
+    public static final String COLLECTIONS = "collections";
+    public static final String TOTAL_ENTRIES = "totalEntries";
+    public static final String TOTAL_COLLECTIONS = "totalCollections";
+    public static final String TOTAL_VIEWS = "totalViews";
+    public static final String TOTAL_SALES = "totalSales";
+
+    private String id;
+    private String tenantId;
+    private String userId;
+    /** Entry count per {@link EntryStatus} name. */
+    private Map<String, Long> entries = new HashMap<>();
+    /** Collection count per {@link CollectionStatus} name. */
+    private Map<String, Long> collections = new HashMap<>();
+    private long totalEntries;
+    private long totalCollections;
+    private long totalViews;
+    private long totalSales;
+    private long version;
+    private LocalDateTime updatedAt;
+    private LocalDateTime reconciledAt;
+
+    public OwnerStats() {}
+
+    /** Deterministic id so the document is a point read by {@code _id}. */
+    public static String idFor(String tenantId, String userId) {
+        return tenantId + ":" + userId;
+    }
+
+    /**
+     * {@code $inc} deltas for an entry moving from {@code from} to {@code to}
+     * status. {@code null} stands for "not stored" (insert or delete).
+     * Empty when nothing changes.
+     */
+    public static Map<String, Long> entryDelta(String from, String to) {
+        return statusDelta(ENTRIES, TOTAL_ENTRIES, from, to);
+    }
+
+    /** Same as {@link #entryDelta} for collections. */
+    public static Map<String, Long> collectionDelta(String from, String to) {
+        return statusDelta(COLLECTIONS, TOTAL_COLLECTIONS, from, to);
+    }
+
+    private static Map<String, Long> statusDelta(String group, String totalField, String from, String to) {
+        Map<String, Long> delta = new LinkedHashMap<>();
+        if (Objects.equals(from, to)) {
+            return delta;
+        }
+        if (from != null) {
+            delta.put(group + "." + from, -1L);
+        }
+        if (to != null) {
+            delta.put(group + "." + to, 1L);
+        }
+        if (from == null) {
+            delta.put(totalField, 1L);
+        } else if (to == null) {
+            delta.put(totalField, -1L);
+        }
+        return delta;
+    }
+
+    public long entryCount(EntryStatus status) {
+        return entries.getOrDefault(status.name(), 0L);
+    }
+
+    public long collectionCount(CollectionStatus status) {
+        return collections.getOrDefault(status.name(), 0L);
+    }
+
+    /** True when both snapshots carry the same counters (ids and bookkeeping ignored). */
+    public boolean sameCountsAs(OwnerStats other) {
+        return totalEntries == other.totalEntries
+                && totalCollections == other.totalCollections
+                && totalViews == other.totalViews
+                && totalSales == other.totalSales
+                && nonZero(entries).equals(nonZero(other.entries))
+                && nonZero(collections).equals(nonZero(other.collections));
+    }
+
+    private static Map<String, Long> nonZero(Map<String, Long> counts) {
+        Map<String, Long> result = new HashMap<>();
+        counts.forEach((status, count) -> {
+            if (count != null && count != 0) {
+                result.put(status, count);
+            }
+        });
+        return result;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public Map<String, Long> getEntries() { return entries; }
+    public void setEntries(Map<String, Long> entries) { this.entries = entries != null ? entries : new HashMap<>(); }
+
+    public Map<String, Long> getCollections() { return collections; }
+    public void setCollections(Map<String, Long> collections) { this.collections = collections != null ? collections : new HashMap<>(); }
+
+    public long getTotalEntries() { return totalEntries; }
+    public void setTotalEntries(long totalEntries) { this.totalEntries = totalEntries; }
+
+    public long getTotalCollections() { return totalCollections; }
+    public void setTotalCollections(long totalCollections) { this.totalCollections = totalCollections; }
+
+    public long getTotalViews() { return totalViews; }
+    public void setTotalViews(long totalViews) { this.totalViews = totalViews; }
+
+    public long getTotalSales() { return totalSales; }
+    public void setTotalSales(long totalSales) { this.totalSales = totalSales; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+    public void setReconciledAt(LocalDateTime reconciledAt) { this.reconciledAt = reconciledAt; }
+}
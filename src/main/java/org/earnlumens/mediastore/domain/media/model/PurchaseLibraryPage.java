@@ -0,0 +1,37 @@
+package org.earnlumens.mediastore.domain.media.model;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One window of a user's purchase library, resolved in a single aggregation.
+ * <p>
+ * The window is a run of ACTIVE entitlements ordered by
+ * {@code (grantedAt desc, _id desc)}; each entitlement is expanded to the
+ * entries it unlocks (the entry itself, or every item of a purchased
+ * collection) and de-duplicated with direct purchases taking precedence.
+ * {@code lastGrantedAt}/{@code lastEntitlementId} identify the last
+ * entitlement of the window (the keyset for the next one) even when it
+ * expanded to no visible entry.
+ *
+ * @param items             expanded entries, direct purchases first
+ * @param entitlements      number of entitlements in the window
+ * @param lastGrantedAt     grantedAt of the last entitlement in the window, or null if empty
+ * @param lastEntitlementId id of the last entitlement in the window, or null if empty
+ * @param hasMore           whether more entitlements follow the window
+ */
+public record PurchaseLibraryPage(
+        List<Item> items,
+        int entitlements,
+        LocalDateTime lastGrantedAt,
+        String lastEntitlementId,
+        boolean hasMore
+) {
+
+    /**
+     * @param entry         the unlocked entry
+     * @param grantedAt     when the unlocking entitlement was granted
+     * @param viaCollection true when unlocked through a collection purchase
+     */
+    public record Item(Entry entry, LocalDateTime grantedAt, boolean viaCollection) {}
+}
@@ -0,0 +1,101 @@
+package org.earnlumens.mediastore.domain.media.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Durable work item: "delete every R2 object under {@link #prefix}".
+ * <p>
+ * Draft cleanup enqueues the prefixes of abandoned drafts here instead of
+ * deleting inline; the queue worker claims due PENDING items, drains them
+ * through the async prefix deleter and reschedules failures with
+ * exponential backoff until {@code maxAttempts}, after which the item is
+ * parked as FAILED for inspection. DONE items carry {@link #expiresAt} and
+ * are purged by a TTL index. The id is derived from {@code (tenantId, prefix)} so
+ * re-enqueueing the same prefix upserts instead of duplicating.
+ */
+@Document(collection = "r2_deletion_queue")
+@CompoundIndex(name = "idx_status_next_attempt", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class R2DeletionTask {
+
+    public enum Status { PENDING, DONE, FAILED }
+
+    @Id
+    private String id;
+
+    private String tenantId;
+
+    private String prefix;
+
+    private Status status = Status.PENDING;
+
+    private int attempts;
+
+    /** Objects deleted across all attempts. */
+    private long objectsDeleted;
+
+    private String lastError;
+
+    /** Earliest time the worker may pick this item up; pushed out by a claim while it is being processed. */
+    private LocalDateTime nextAttemptAt;
+
+    /** Set when the item is DONE; {@code idx_r2_deletion_done_ttl} purges it afterwards. */
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    public R2DeletionTask() {}
+
+    public R2DeletionTask(String tenantId, String prefix) {
+        this.id = idFor(tenantId, prefix);
+        this.tenantId = tenantId;
+        this.prefix = prefix;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+        this.nextAttemptAt = this.createdAt;
+    }
+
+    public static String idFor(String tenantId, String prefix) {
+        return tenantId + ":" + prefix;
+    }
+
+    // ─── Getters / setters ──────────────────────────────────────
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
+
+    public String getPrefix() { return prefix; }
+    public void setPrefix(String prefix) { this.prefix = prefix; }
+
+    public Status getStatus() { return status; }
+    public void setStatus(Status status) { this.status = status; }
+
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+
+    public long getObjectsDeleted() { return objectsDeleted; }
+    public void setObjectsDeleted(long objectsDeleted) { this.objectsDeleted = objectsDeleted; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getNextAttemptAt() { return nextAttemptAt; }
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) { this.nextAttemptAt = nextAttemptAt; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(LocalDateTime expiresAt) { this.expiresAt = expiresAt; }
+}
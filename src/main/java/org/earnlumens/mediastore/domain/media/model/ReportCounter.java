@@ -0,0 +1,96 @@
+package org.earnlumens.mediastore.domain.media.model;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintained report tallies ({@code report_counters}) that feed
+ * {@code ReportService} priority scoring, one document per subject:
+ * <ul>
+ *   <li>{@link #TARGET} — reports filed against an entry or collection, plus a
+ *       velocity ring of report counts per {@link #VELOCITY_BUCKET_MINUTES}-minute
+ *       bucket covering the last hour</li>
+ *   <li>{@link #REPORTER} — reports filed by a user, per resolution</li>
+ *   <li>{@link #CREATOR} — reports filed against a creator's content, per resolution</li>
+ * </ul>
+ * Incremented when a report is filed and moved between resolutions when it is
+ * resolved, so scoring reads three small documents no matter how many reports exist.
+ */
+public class ReportCounter {
+
+    public static final String TARGET = "target";
+    public static final String REPORTER = "reporter";
+    public static final String CREATOR = "creator";
+
+    public static final int VELOCITY_BUCKET_MINUTES = 5;
+    /** Buckets kept in the ring: one hour. */
+    public static final int VELOCITY_BUCKETS = 12;
+
+    private String id;
+    private String tenantId;
+    private String kind;
+    private String subjectId;
+    private long total;
+    /** Report count per {@link ReportResolution} name (reporter and creator tallies). */
+    private Map<String, Long> resolutions = new HashMap<>();
+    /** Report count per velocity bucket number (target tallies), last hour only. */
+    private Map<String, Long> velocity = new HashMap<>();
+    private LocalDateTime updatedAt;
+
+    public ReportCounter() {}
+
+    /** Deterministic id so each tally is a point read by {@code _id}. */
+    public static String idFor(String tenantId, String kind, String subjectId) {
+        return tenantId + ":" + kind + ":" + subjectId;
+    }
+
+    /** Velocity bucket number of {@code at}: {@value #VELOCITY_BUCKET_MINUTES}-minute slots since the epoch. */
+    public static long velocityBucket(LocalDateTime at) {
+        return at.toEpochSecond(ZoneOffset.UTC) / (60L * VELOCITY_BUCKET_MINUTES);
+    }
+
+    public long resolutionCount(ReportResolution resolution) {
+        return resolutions != null ? resolutions.getOrDefault(resolution.name(), 0L) : 0L;
+    }
+
+    /** Reports counted in the buckets of the hour ending at {@code now}. */
+    public long reportsInLastHour(LocalDateTime now) {
+        if (velocity == null) {
+            return 0;
+        }
+        long oldest = velocityBucket(now) - (VELOCITY_BUCKETS - 1);
+        long sum = 0;
+        for (Map.Entry<String, Long> bucket : velocity.entrySet()) {
+            if (Long.parseLong(bucket.getKey()) >= oldest && bucket.getValue() != null) {
+                sum += bucket.getValue();
+            }
+        }
+        return sum;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getSubjectId() { return subjectId; }
+    public void setSubjectId(String subjectId) { this.subjectId = subjectId; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public Map<String, Long> getResolutions() { return resolutions; }
+    public void setResolutions(Map<String, Long> resolutions) { this.resolutions = resolutions; }
+
+    public Map<String, Long> getVelocity() { return velocity; }
+    public void setVelocity(Map<String, Long> velocity) { this.velocity = velocity; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
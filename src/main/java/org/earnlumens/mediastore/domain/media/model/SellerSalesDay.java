@@ -0,0 +1,83 @@
+package org.earnlumens.mediastore.domain.media.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Domain model for one seller's completed-sale totals on one UTC day.
+ * <p>
+ * Maintained incrementally by the payment flow: every order that transitions
+ * to COMPLETED adds itself to the day of its {@code completedAt}. Amounts are
+ * kept in stroops (1 XLM = 10^7 stroops, the native Stellar precision) so the
+ * counters can be {@code $inc}-ed atomically without decimal drift.
+ * Tenant-scoped: one document per {@code (tenantId, sellerId, day)}.
+ */
+public class SellerSalesDay {
+
+    public static final int XLM_SCALE = 7;
+
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100.00");
+
+    private String id;
+    private String tenantId;
+    private String sellerId;
+    /** UTC calendar day, ISO-8601 ({@code yyyy-MM-dd}) — sorts lexicographically. */
+    private String day;
+    private long orders;
+    /** Sum of order gross amounts, in stroops. */
+    private long grossStroops;
+    /** Sum of the SELLER split amounts (the creator's own take), in stroops. */
+    private long sellerStroops;
+    private LocalDateTime updatedAt;
+
+    public SellerSalesDay() {}
+
+    /** Deterministic id so the daily document can be upserted without a read. */
+    public static String idFor(String tenantId, String sellerId, String day) {
+        return tenantId + ":" + sellerId + ":" + day;
+    }
+
+    /** XLM → stroops. Amounts are already at Stellar precision (7 decimals). */
+    public static long toStroops(BigDecimal xlm) {
+        return xlm.movePointRight(XLM_SCALE).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * One split's share of a gross amount: {@code gross * percent / 100}
+     * rounded HALF_UP to Stellar precision — the same figure shown per split
+     * in the seller's sales list.
+     */
+    public static BigDecimal splitXlm(BigDecimal gross, BigDecimal percent) {
+        return gross.multiply(percent).divide(ONE_HUNDRED, XLM_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /** Stroops → XLM at scale 7. */
+    public static BigDecimal toXlm(long stroops) {
+        return BigDecimal.valueOf(stroops, XLM_SCALE);
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
+
+    public String getSellerId() { return sellerId; }
+    public void setSellerId(String sellerId) { this.sellerId = sellerId; }
+
+    public String getDay() { return day; }
+    public void setDay(String day) { this.day = day; }
+
+    public long getOrders() { return orders; }
+    public void setOrders(long orders) { this.orders = orders; }
+
+    public long getGrossStroops() { return grossStroops; }
+    public void setGrossStroops(long grossStroops) { this.grossStroops = grossStroops; }
+
+    public long getSellerStroops() { return sellerStroops; }
+    public void setSellerStroops(long sellerStroops) { this.sellerStroops = sellerStroops; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -4,8 +4,10 @@ import org.earnlumens.mediastore.domain.media.model.Asset;
 import org.earnlumens.mediastore.domain.media.model.AssetStatus;
 import org.earnlumens.mediastore.domain.media.model.MediaKind;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface AssetRepository {
 
@@ -14,5 +16,11 @@ public interface AssetRepository {
 
     List<Asset> findByTenantIdAndEntryId(String tenantId, String entryId);
 
+    /** Batched lookup of one asset kind for many entries ({@code $in} on entryId). */
+    List<Asset> findByTenantIdAndEntryIdInAndKind(String tenantId, Collection<String> entryIds, MediaKind kind);
+
+    /** Which of {@code entryIds} have at least one asset (ids only, one round-trip). */
+    Set<String> findEntryIdsWithAssetsByTenantIdAndEntryIdIn(String tenantId, Collection<String> entryIds);
+
     Asset save(Asset asset);
 }
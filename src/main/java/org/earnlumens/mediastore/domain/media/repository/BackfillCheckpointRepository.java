@@ -0,0 +1,16 @@
+package org.earnlumens.mediastore.domain.media.repository;
+
+import org.earnlumens.mediastore.domain.media.model.BackfillCheckpoint;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Optional;
+
+/**
+ * Persistence for {@link BackfillCheckpoint}. Like {@link UploadSessionRepository}
+ * this is bookkeeping rather than a rich domain model, so Spring Data Mongo is
+ * used directly without the entity/mapper indirection.
+ */
+public interface BackfillCheckpointRepository extends MongoRepository<BackfillCheckpoint, String> {
+
+    Optional<BackfillCheckpoint> findByTenantIdAndName(String tenantId, String name);
+}
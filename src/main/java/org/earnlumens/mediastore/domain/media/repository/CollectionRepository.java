@@ -7,6 +7,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface CollectionRepository {
@@ -38,6 +39,9 @@ public interface CollectionRepository {
      */
     long updateAuthorInfoByUserId(String tenantId, String userId, String newUsername, String newAvatarUrl);
 
+    /** Collection count per {@code CollectionStatus} name for one owner (source for {@code owner_stats}). */
+    Map<String, Long> countByTenantIdAndUserIdGroupByStatus(String tenantId, String userId);
+
     Collection save(Collection collection);
 
     void deleteByTenantIdAndId(String tenantId, String id);
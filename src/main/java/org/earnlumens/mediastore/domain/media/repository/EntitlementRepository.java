@@ -2,10 +2,12 @@ package org.earnlumens.mediastore.domain.media.repository;
 
 import org.earnlumens.mediastore.domain.media.model.Entitlement;
 import org.earnlumens.mediastore.domain.media.model.EntitlementStatus;
+import org.earnlumens.mediastore.domain.media.model.PurchaseLibraryPage;
 import org.earnlumens.mediastore.domain.media.model.TargetType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -38,17 +40,24 @@ public interface EntitlementRepository {
     Set<String> findEntitledCollectionIds(
             String tenantId, String userId, List<String> collectionIds, EntitlementStatus status);
 
-    Page<Entitlement> findByTenantIdAndUserIdAndStatus(
-            String tenantId, String userId, EntitlementStatus status, Pageable pageable);
+    long countByTenantIdAndUserIdAndStatus(String tenantId, String userId, EntitlementStatus status);
+
+    /**
+     * One window of the user's purchase library (ACTIVE entitlements expanded
+     * to the entries they unlock), resolved in a single aggregation.
+     * Resumes strictly after {@code (afterGrantedAt, afterId)} when given,
+     * otherwise after {@code skip} entitlements. Cost is bounded by
+     * {@code limit}, not by the size of the library.
+     */
+    PurchaseLibraryPage findLibraryPageByTenantIdAndUserId(String tenantId, String userId,
+                                                           LocalDateTime afterGrantedAt, String afterId,
+                                                           int skip, int limit);
 
     /** Paginated entitlements filtered by targetType (ENTRY or COLLECTION) */
     Page<Entitlement> findByTenantIdAndUserIdAndTargetTypeAndStatus(
             String tenantId, String userId, TargetType targetType, EntitlementStatus status, Pageable pageable);
 
-    /** All entry IDs the user is entitled to (unpaginated, for purchased feed). */
-    Set<String> findAllEntitledEntryIds(String tenantId, String userId, EntitlementStatus status);
-
-    /** All collection IDs the user is entitled to (unpaginated, for purchased feed). */
+    /** All collection IDs the user is entitled to (unpaginated). */
     Set<String> findAllEntitledCollectionIds(String tenantId, String userId, EntitlementStatus status);
 
     /**
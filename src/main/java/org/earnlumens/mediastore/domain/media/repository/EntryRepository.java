@@ -1,6 +1,9 @@
 package org.earnlumens.mediastore.domain.media.repository;
 
 import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryAccessView;
+import org.earnlumens.mediastore.domain.media.model.EntryItemView;
+import org.earnlumens.mediastore.domain.media.model.EntryPricingView;
 import org.earnlumens.mediastore.domain.media.model.EntryStatus;
 import org.earnlumens.mediastore.domain.media.model.EntryType;
 import org.springframework.data.domain.Page;
@@ -16,6 +19,20 @@ public interface EntryRepository {
 
     Optional<Entry> findByTenantIdAndId(String tenantId, String id);
 
+    // ── Projected reads (hot paths that need a handful of fields) ──
+
+    /** Access-check fields only; see {@link EntryAccessView}. */
+    Optional<EntryAccessView> findAccessViewByTenantIdAndId(String tenantId, String id);
+
+    /** Access-check fields of many entries, in no particular order. */
+    List<EntryAccessView> findAccessViewsByTenantIdAndIdIn(String tenantId, List<String> ids);
+
+    /** Pricing and payout fields only; see {@link EntryPricingView}. */
+    Optional<EntryPricingView> findPricingViewByTenantIdAndId(String tenantId, String id);
+
+    /** Collection-item card fields of many entries, in no particular order. */
+    List<EntryItemView> findItemViewsByTenantIdAndIdIn(String tenantId, List<String> ids);
+
     Page<Entry> findByTenantIdAndStatus(String tenantId, EntryStatus status, Pageable pageable);
 
     /**
@@ -49,10 +66,42 @@ public interface EntryRepository {
     /** Finds all entries matching the given tenant, status and type. Used by batch operations. */
     List<Entry> findByTenantIdAndStatusAndType(String tenantId, EntryStatus status, EntryType type);
 
-    /** Atomically increments the view counter on an entry within a tenant. */
-    void incrementViewCount(String tenantId, String entryId);
+    /**
+     * Keyset page over entries of the given tenant, status and type in {@code _id}
+     * order, starting strictly after {@code afterId} (null for the first page).
+     * Used by resumable backfills so memory stays bounded by the page size.
+     */
+    List<Entry> findByTenantIdAndStatusAndTypeAfterId(String tenantId, EntryStatus status, EntryType type,
+                                                      String afterId, int limit);
+
+    /**
+     * Sets {@code durationSec} on many entries of a tenant in a single unordered
+     * bulk write. Keys are entry ids.
+     *
+     * @return number of entries modified
+     */
+    long updateDurationSecByTenantId(String tenantId, java.util.Map<String, Integer> durationByEntryId);
+
+    /**
+     * Counts one view of an entry the caller has loaded; {@code ownerId} is the
+     * entry's userId. Views are buffered and written in batches together with
+     * the owner's {@code owner_stats.totalViews}, so they show up after the
+     * next flush.
+     */
+    void incrementViewCount(String tenantId, String entryId, String ownerId);
+
+    /**
+     * Counts one anonymous view answered without loading the entry (a
+     * {@code 304} or a cached body). The owner is looked up at flush time, and
+     * the view is dropped unless the entry is PUBLISHED or UNLISTED.
+     */
+    void incrementPublicViewCount(String tenantId, String entryId);
 
-    /** Aggregated stats for the owner dashboard (counts by status + total views). */
+    /**
+     * Source aggregation for the owner dashboard: keys totalEntries,
+     * totalViews and one per {@code EntryStatus} name present. Used to
+     * (re)build {@code owner_stats}; the endpoint reads the materialized copy.
+     */
     java.util.Map<String, Long> getOwnerStats(String tenantId, String userId);
 
     /** Count entries created by a user after a given timestamp (for daily quota). */
@@ -95,14 +144,9 @@ public interface EntryRepository {
 
     // ── Purchased feed ──────────────────────────────────────────────────
 
-    List<Document> findPurchasedFeedItems(String tenantId,
-                                          java.util.Set<String> entryIds, java.util.Set<String> collectionIds,
-                                          String type, String search, String sort,
-                                          int skip, int limit);
-
-    long countPurchasedFeedItems(String tenantId,
-                                 java.util.Set<String> entryIds, java.util.Set<String> collectionIds,
-                                 String type, String search);
+    Document findPurchasedFeed(String tenantId, String userId,
+                               String type, String search, String sort,
+                               int skip, int limit);
 
     // ── Explore feed ────────────────────────────────────────────────────
 
@@ -6,6 +6,7 @@ import org.earnlumens.mediastore.domain.media.model.OrderStatus;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository {
 
@@ -25,8 +26,21 @@ public interface OrderRepository {
     /** Count completed sales for a seller within a tenant */
     long countByTenantIdAndSellerIdAndStatus(String tenantId, String sellerId, OrderStatus status);
 
-    /** List completed sales for a seller within a tenant, newest first */
-    List<Order> findByTenantIdAndSellerIdAndStatus(String tenantId, String sellerId, OrderStatus status);
+    /**
+     * Keyset page of a seller's orders in {@code status}, ordered by
+     * {@code (createdAt desc, id desc)}. Pass a null cursor for the first page;
+     * otherwise the page starts strictly after {@code (afterCreatedAt, afterId)}.
+     * Served entirely by {@code idx_order_tenant_seller_status_created_id}.
+     */
+    List<Order> findPageByTenantIdAndSellerIdAndStatus(String tenantId, String sellerId, OrderStatus status,
+                                                       LocalDateTime afterCreatedAt, String afterId, int limit);
+
+    /**
+     * Streams every seller order in {@code status} from a server-side cursor,
+     * in the same order as {@link #findPageByTenantIdAndSellerIdAndStatus}.
+     * The caller MUST close the stream (try-with-resources) to release the cursor.
+     */
+    Stream<Order> streamByTenantIdAndSellerIdAndStatus(String tenantId, String sellerId, OrderStatus status);
 
     Order save(Order order);
 
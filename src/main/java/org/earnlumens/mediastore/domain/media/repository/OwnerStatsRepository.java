@@ -0,0 +1,44 @@
+package org.earnlumens.mediastore.domain.media.repository;
+
+import org.earnlumens.mediastore.domain.media.model.OwnerStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Port for the materialized per-creator dashboard counters ({@code owner_stats}).
+ */
+public interface OwnerStatsRepository {
+
+    Optional<OwnerStats> findByTenantIdAndUserId(String tenantId, String userId);
+
+    /**
+     * Atomically applies {@code $inc} deltas (field path → delta) and bumps the
+     * version. A no-op when the document does not exist yet: it is built from
+     * source on first read, so an increment must never create a partial one.
+     */
+    void incrementByTenantIdAndUserId(String tenantId, String userId, Map<String, Long> deltas);
+
+    /**
+     * Adds buffered views to {@code totalViews} for many owners in one bulk
+     * write, with the same version bump and missing-document rule as
+     * {@link #incrementByTenantIdAndUserId}.
+     *
+     * @param viewsByUserId owner userId → views to add
+     */
+    void incrementTotalViewsByTenantId(String tenantId, Map<String, Long> viewsByUserId);
+
+    /**
+     * Stores a snapshot rebuilt from source. With {@code expectedVersion == null}
+     * the document must not exist yet; otherwise it is replaced only if its
+     * version is still {@code expectedVersion}.
+     *
+     * @return false when a concurrent write won (the snapshot was not stored)
+     */
+    boolean replaceByTenantIdAndUserId(String tenantId, String userId, OwnerStats rebuilt, Long expectedVersion);
+
+    /** Documents last reconciled before {@code cutoff}, oldest first (cross-tenant). */
+    List<OwnerStats> findByReconciledAtBefore(LocalDateTime cutoff, int limit);
+}
@@ -0,0 +1,32 @@
+package org.earnlumens.mediastore.domain.media.repository;
+
+import org.earnlumens.mediastore.domain.media.model.R2DeletionTask;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Persistence for {@link R2DeletionTask}. Queue bookkeeping, so Spring Data
+ * Mongo is used directly (same as {@link UploadSessionRepository}).
+ */
+public interface R2DeletionTaskRepository extends MongoRepository<R2DeletionTask, String> {
+
+    /** Due items, oldest first; served by {@code idx_status_next_attempt}. */
+    List<R2DeletionTask> findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtAsc(
+            R2DeletionTask.Status status, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Claims a due PENDING item by moving its {@code nextAttemptAt} to
+     * {@code leaseUntil}. Returns 1 only for the caller that won the item;
+     * if that caller dies, the item is due again once the lease passes.
+     */
+    @Query("{ '_id': ?0, 'status': 'PENDING', 'nextAttemptAt': { '$lte': ?1 } }")
+    @Update("{ '$set': { 'nextAttemptAt': ?2 } }")
+    long claim(String id, LocalDateTime now, LocalDateTime leaseUntil);
+
+    long countByStatus(R2DeletionTask.Status status);
+}
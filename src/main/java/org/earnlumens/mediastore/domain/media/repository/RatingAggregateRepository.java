@@ -14,6 +14,13 @@ public interface RatingAggregateRepository {
     Optional<RatingAggregate> findByTenantIdAndTargetTypeAndTargetId(
             String tenantId, TargetType targetType, String targetId);
 
+    /**
+     * Same lookup for public display: may be served by a secondary and lag
+     * recent votes by a few seconds. Not for read-modify-write.
+     */
+    Optional<RatingAggregate> findPublicByTenantIdAndTargetTypeAndTargetId(
+            String tenantId, TargetType targetType, String targetId);
+
     /** Persist (create or update) the aggregate. */
     RatingAggregate save(RatingAggregate aggregate);
 }
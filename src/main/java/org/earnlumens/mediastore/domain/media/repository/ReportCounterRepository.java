@@ -0,0 +1,35 @@
+package org.earnlumens.mediastore.domain.media.repository;
+
+import org.earnlumens.mediastore.domain.media.model.ReportCounter;
+import org.earnlumens.mediastore.domain.media.model.ReportResolution;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Port for the maintained report tallies ({@code report_counters}).
+ */
+public interface ReportCounterRepository {
+
+    /** Point reads by {@link ReportCounter#idFor}; missing tallies are simply absent. */
+    List<ReportCounter> findByTenantIdAndIdIn(String tenantId, List<String> ids);
+
+    /**
+     * Counts a newly filed OPEN report: bumps the target total and its velocity
+     * bucket for {@code at}, and the reporter and creator tallies. Upserts.
+     *
+     * @return the target's report total including this report
+     */
+    long recordReportByTenantId(String tenantId, String targetId, String reporterUserId,
+                                String creatorUserId, LocalDateTime at);
+
+    /** Moves one report from {@code from} to {@code to} in the reporter and creator tallies. */
+    void recordResolutionByTenantId(String tenantId, String reporterUserId, String creatorUserId,
+                                    ReportResolution from, ReportResolution to);
+
+    /**
+     * Recomputes totals and resolution tallies for every tenant from the
+     * {@code reports} collection. Velocity rings are left untouched.
+     */
+    void rebuildFromReports();
+}
@@ -0,0 +1,23 @@
+package org.earnlumens.mediastore.domain.media.repository;
+
+import org.earnlumens.mediastore.domain.media.model.SellerSalesDay;
+
+import java.util.List;
+
+/**
+ * Port for the per-seller daily sales rollup ({@code seller_sales_daily}).
+ * Every method is tenant-scoped.
+ */
+public interface SellerSalesDayRepository {
+
+    /**
+     * Atomically adds a completed sale to the seller's day, creating the
+     * document on first use (single upsert with {@code $inc}).
+     */
+    void incrementByTenantIdAndSellerIdAndDay(String tenantId, String sellerId, String day,
+                                              long orders, long grossStroops, long sellerStroops);
+
+    /** Daily rows for a seller with {@code fromDay <= day <= toDay}, oldest first. */
+    List<SellerSalesDay> findByTenantIdAndSellerIdAndDayBetween(String tenantId, String sellerId,
+                                                                String fromDay, String toDay);
+}
@@ -4,8 +4,10 @@ import org.earnlumens.mediastore.domain.media.model.TranscodingJob;
 import org.earnlumens.mediastore.domain.media.model.TranscodingJobStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository contract for transcoding jobs.
@@ -40,4 +42,16 @@ public interface TranscodingJobRepository {
 
     /** Find jobs by entry, useful for checking if an entry already has a pending/active job. */
     Optional<TranscodingJob> findActiveByTenantIdAndEntryId(String tenantId, String entryId);
+
+    /**
+     * Batched variant of {@link #findActiveByTenantIdAndEntryId}: returns the subset of
+     * {@code entryIds} that already have a PENDING/DISPATCHED/PROCESSING job.
+     */
+    Set<String> findActiveEntryIdsByTenantIdAndEntryIdIn(String tenantId, Collection<String> entryIds);
+
+    /**
+     * Inserts many new jobs with a single {@code insertMany}. Every job must belong
+     * to {@code tenantId}; a job carrying another tenant is rejected before any write.
+     */
+    List<TranscodingJob> insertAllForTenantId(String tenantId, List<TranscodingJob> jobs);
 }
@@ -0,0 +1,66 @@
+package org.earnlumens.mediastore.domain.subscription.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Denormalized subscription counters for one user ({@code subscription_counts}),
+ * one document per {@code (tenantId, userId)}.
+ * <p>
+ * {@code subscribers} (who follows the user) and {@code subscriptions} (whom
+ * the user follows) are moved with {@code $inc} by subscribe/unsubscribe, so
+ * profile views read one document instead of counting {@code subscriptions}.
+ * Increments never create the document; it is built from source on first read
+ * and periodically rebuilt by reconciliation. {@code version} is bumped by every
+ * increment and lets a rebuild detect a concurrent write.
+ */
+public class SubscriptionCounts {
+
+    public static final String SUBSCRIBERS = "subscribers";
+    public static final String SUBSCRIPTIONS = "subscriptions";
+
+    private String id;
+    private String tenantId;
+    private String userId;
+    private long subscribers;
+    private long subscriptions;
+    private long version;
+    private LocalDateTime updatedAt;
+    private LocalDateTime reconciledAt;
+
+    public SubscriptionCounts() {}
+
+    /** Deterministic id so the document is a point read by {@code _id}. */
+    public static String idFor(String tenantId, String userId) {
+        return tenantId + ":" + userId;
+    }
+
+    public boolean sameCountsAs(SubscriptionCounts other) {
+        return other != null
+                && subscribers == other.subscribers
+                && subscriptions == other.subscriptions;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public long getSubscribers() { return subscribers; }
+    public void setSubscribers(long subscribers) { this.subscribers = subscribers; }
+
+    public long getSubscriptions() { return subscriptions; }
+    public void setSubscriptions(long subscriptions) { this.subscriptions = subscriptions; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+    public void setReconciledAt(LocalDateTime reconciledAt) { this.reconciledAt = reconciledAt; }
+}
@@ -0,0 +1,35 @@
+package org.earnlumens.mediastore.domain.subscription.repository;
+
+import org.earnlumens.mediastore.domain.subscription.model.SubscriptionCounts;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Port for the denormalized per-user subscription counters ({@code subscription_counts}).
+ */
+public interface SubscriptionCountsRepository {
+
+    Optional<SubscriptionCounts> findByTenantIdAndUserId(String tenantId, String userId);
+
+    /**
+     * Atomically applies {@code $inc delta} to {@code field} and bumps the
+     * version. A no-op when the document does not exist yet: it is built from
+     * source on first read, so an increment must never create a partial one.
+     */
+    void incrementByTenantIdAndUserId(String tenantId, String userId, String field, long delta);
+
+    /**
+     * Stores counters rebuilt from source. With {@code expectedVersion == null}
+     * the document must not exist yet; otherwise it is replaced only if its
+     * version is still {@code expectedVersion}.
+     *
+     * @return false when a concurrent write won (the counters were not stored)
+     */
+    boolean replaceByTenantIdAndUserId(String tenantId, String userId, SubscriptionCounts rebuilt,
+                                       Long expectedVersion);
+
+    /** Documents last reconciled before {@code cutoff}, oldest first (cross-tenant). */
+    List<SubscriptionCounts> findByReconciledAtBefore(LocalDateTime cutoff, int limit);
+}
@@ -1,9 +1,9 @@
 package org.earnlumens.mediastore.domain.subscription.repository;
 
 import org.earnlumens.mediastore.domain.subscription.model.Subscription;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -21,16 +21,38 @@ public interface SubscriptionRepository {
     /** Find a specific subscription by subscriber + target. */
     Optional<Subscription> findByTenantIdAndSubscriberIdAndTargetUserId(String tenantId, String subscriberId, String targetUserId);
 
-    /** List users I am subscribed to, ordered by most recent first. */
-    Page<Subscription> findByTenantIdAndSubscriberId(String tenantId, String subscriberId, Pageable pageable);
+    /**
+     * List users I am subscribed to, ordered by most recent first. Offset page
+     * without a count query; totals come from {@link SubscriptionCountsRepository}.
+     */
+    List<Subscription> findByTenantIdAndSubscriberId(String tenantId, String subscriberId, Pageable pageable);
 
-    /** List users subscribed to a target (my subscribers), ordered by most recent first. */
-    Page<Subscription> findByTenantIdAndTargetUserId(String tenantId, String targetUserId, Pageable pageable);
+    /**
+     * List users subscribed to a target (my subscribers), ordered by most recent
+     * first. Offset page without a count query.
+     */
+    List<Subscription> findByTenantIdAndTargetUserId(String tenantId, String targetUserId, Pageable pageable);
 
-    /** Count how many subscribers a user has. */
+    /**
+     * Keyset page of the users I am subscribed to, ordered by
+     * {@code (subscribedAt desc, id desc)}. Pass a null cursor for the first
+     * page; otherwise the page starts strictly after
+     * {@code (afterSubscribedAt, afterId)}. Served by {@code idx_sub_tenant_sub_date_id}.
+     */
+    List<Subscription> findPageByTenantIdAndSubscriberId(String tenantId, String subscriberId,
+                                                         LocalDateTime afterSubscribedAt, String afterId, int limit);
+
+    /**
+     * Keyset page of a target's subscribers, in the same order as
+     * {@link #findPageByTenantIdAndSubscriberId}. Served by {@code idx_sub_tenant_target_date_id}.
+     */
+    List<Subscription> findPageByTenantIdAndTargetUserId(String tenantId, String targetUserId,
+                                                         LocalDateTime afterSubscribedAt, String afterId, int limit);
+
+    /** Count how many subscribers a user has (source of truth for reconciliation). */
     long countByTenantIdAndTargetUserId(String tenantId, String targetUserId);
 
-    /** Count how many users someone is subscribed to. */
+    /** Count how many users someone is subscribed to (source of truth for reconciliation). */
     long countByTenantIdAndSubscriberId(String tenantId, String subscriberId);
 
     /** Check which target user IDs the subscriber is subscribed to (batch check). */
@@ -38,5 +60,6 @@ public interface SubscriptionRepository {
 
     Subscription save(Subscription subscription);
 
-    void deleteByTenantIdAndId(String tenantId, String id);
+    /** @return true if this call removed the subscription */
+    boolean deleteByTenantIdAndId(String tenantId, String id);
 }
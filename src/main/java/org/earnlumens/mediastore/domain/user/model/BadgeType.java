@@ -11,5 +11,13 @@ package org.earnlumens.mediastore.domain.user.model;
 public enum BadgeType {
     U1,
     U2,
-    U3
+    U3;
+
+    /**
+     * Lowercase key stamped on content as {@code authorBadge} (e.g. {@code "u1"});
+     * the community feed lists content whose key is {@code U1.key()}.
+     */
+    public String key() {
+        return name().toLowerCase();
+    }
 }
@@ -4,6 +4,7 @@ import org.earnlumens.mediastore.domain.user.model.BadgeType;
 import org.earnlumens.mediastore.domain.user.model.UserBadgeAssignment;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,12 +23,18 @@ public interface UserBadgeRepository {
     /** Find all active assignments of a given badge type within a tenant. */
     List<UserBadgeAssignment> findActiveByBadgeType(String tenantId, BadgeType badgeType);
 
-    /** Find all assignments that are ACTIVE but their expiresAt is before the given threshold. */
-    List<UserBadgeAssignment> findExpiredAssignments(String tenantId, LocalDateTime before);
+    /**
+     * Find up to {@code limit} assignments that are ACTIVE but whose expiresAt is before the
+     * given threshold, oldest expiry first. Served by {@code idx_badge_tenant_status_expires}.
+     */
+    List<UserBadgeAssignment> findExpiredAssignments(String tenantId, LocalDateTime before, int limit);
+
+    /** Find the ACTIVE assignments of the given users that have not expired at {@code at}. */
+    List<UserBadgeAssignment> findUnexpiredByUsers(String tenantId, Collection<String> userIds, LocalDateTime at);
 
     /** Check if a user has a specific active badge in a tenant. */
     boolean hasActiveBadge(String tenantId, String userId, BadgeType badgeType);
 
-    /** Bulk update status for expired assignments. Returns the count of updated documents. */
-    long expireAssignments(String tenantId, LocalDateTime before);
+    /** Mark the given ACTIVE assignments as EXPIRED. Returns the count of updated documents. */
+    long expireAssignments(String tenantId, Collection<String> ids);
 }
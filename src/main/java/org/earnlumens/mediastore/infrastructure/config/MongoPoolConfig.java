@@ -1,36 +1,98 @@
 package org.earnlumens.mediastore.infrastructure.config;
 
+import com.mongodb.MongoCompressor;
 import com.mongodb.connection.ConnectionPoolSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Explicit MongoDB connection-pool sizing (Phase 1 of SCALABILITY-AUDIT.md).
+ * Explicit MongoDB connection-pool sizing (Phase 1 of SCALABILITY-AUDIT.md)
+ * and wire compression.
  * <p>
  * The driver default of 100 connections per instance multiplied by Cloud Run
  * autoscaling can exhaust the Atlas connection limit (e.g. M10 = 1500
  * connections at ~15 instances). Capping the pool per instance keeps total
  * connections proportional to instance count and predictable.
  * <p>
+ * Feed pages and {@code $facet} results are large, repetitive BSON, so the
+ * client offers the compressors in {@code MONGO_COMPRESSORS} and the server
+ * picks the first one it also supports. Compressors whose codec is not on
+ * the classpath are dropped with a warning rather than failing the handshake.
+ * The pool is filled eagerly by {@code MongoWarmup} after startup.
+ * <p>
  * Tunable via env vars without a rebuild:
  * {@code MONGO_MAX_POOL_SIZE} (default 40), {@code MONGO_MIN_POOL_SIZE}
- * (default 5), {@code MONGO_MAX_CONN_IDLE_MS} (default 60000).
+ * (default 5), {@code MONGO_MAX_CONN_IDLE_MS} (default 60000),
+ * {@code MONGO_COMPRESSORS} (default {@code zstd,snappy,zlib}; empty disables).
  */
 @Configuration
 public class MongoPoolConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(MongoPoolConfig.class);
+
     @Bean
     public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(
             @Value("${MONGO_MAX_POOL_SIZE:40}") int maxPoolSize,
             @Value("${MONGO_MIN_POOL_SIZE:5}") int minPoolSize,
-            @Value("${MONGO_MAX_CONN_IDLE_MS:60000}") long maxConnIdleMs) {
-        return builder -> builder.applyToConnectionPoolSettings((ConnectionPoolSettings.Builder pool) -> pool
-                .maxSize(maxPoolSize)
-                .minSize(minPoolSize)
-                .maxConnectionIdleTime(maxConnIdleMs, TimeUnit.MILLISECONDS));
+            @Value("${MONGO_MAX_CONN_IDLE_MS:60000}") long maxConnIdleMs,
+            @Value("${MONGO_COMPRESSORS:zstd,snappy,zlib}") String compressors) {
+        List<MongoCompressor> compressorList = compressors(compressors);
+        logger.info("Mongo pool: maxSize={} minSize={} compressors={}", maxPoolSize, minPoolSize,
+                compressorList.stream().map(MongoCompressor::getName).toList());
+        return builder -> builder
+                .applyToConnectionPoolSettings((ConnectionPoolSettings.Builder pool) -> pool
+                        .maxSize(maxPoolSize)
+                        .minSize(minPoolSize)
+                        .maxConnectionIdleTime(maxConnIdleMs, TimeUnit.MILLISECONDS))
+                .compressorList(compressorList);
+    }
+
+    /**
+     * Parses a comma-separated preference list ({@code zstd}, {@code snappy},
+     * {@code zlib}) in order, skipping unknown names and codecs that are not
+     * on the classpath.
+     */
+    static List<MongoCompressor> compressors(String names) {
+        List<MongoCompressor> out = new ArrayList<>();
+        if (names == null) {
+            return out;
+        }
+        for (String raw : names.split(",")) {
+            String name = raw.trim().toLowerCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            switch (name) {
+                case "zstd" -> {
+                    if (onClasspath("com.github.luben.zstd.Zstd")) out.add(MongoCompressor.createZstdCompressor());
+                    else logger.warn("MONGO_COMPRESSORS: zstd-jni is not on the classpath — zstd skipped");
+                }
+                case "snappy" -> {
+                    if (onClasspath("org.xerial.snappy.Snappy")) out.add(MongoCompressor.createSnappyCompressor());
+                    else logger.warn("MONGO_COMPRESSORS: snappy-java is not on the classpath — snappy skipped");
+                }
+                case "zlib" -> out.add(MongoCompressor.createZlibCompressor());
+                default -> logger.warn("MONGO_COMPRESSORS: unknown compressor '{}' — skipped", name);
+            }
+        }
+        return out;
+    }
+
+    private static boolean onClasspath(String className) {
+        try {
+            Class.forName(className, false, MongoPoolConfig.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
     }
 }
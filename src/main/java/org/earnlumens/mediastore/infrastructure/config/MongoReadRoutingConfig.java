@@ -0,0 +1,54 @@
+package org.earnlumens.mediastore.infrastructure.config;
+
+import org.earnlumens.mediastore.infrastructure.persistence.routing.ReadTarget;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Configuration for routing staleness-tolerant reads to Atlas secondaries
+ * (see {@code MongoReadRouter}).
+ * <p>
+ * Read from application properties:
+ * <pre>
+ *   mediastore.mongo.read-routing.enabled=true
+ *   # Secondaries lagging more than this are not selected. The driver
+ *   # rejects values under 90.
+ *   mediastore.mongo.read-routing.max-staleness-seconds=90
+ *   mediastore.mongo.read-routing.stats-interval-ms=60000
+ *   # Per-route override of the route's default target (primary | secondary),
+ *   # keyed by ReadRoute key.
+ *   mediastore.mongo.read-routing.routes.search=primary
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "mediastore.mongo.read-routing")
+public class MongoReadRoutingConfig {
+
+    /** Smallest value the driver accepts for {@code maxStalenessSeconds}. */
+    public static final long MIN_MAX_STALENESS_SECONDS = 90;
+
+    /** When false every route reads from the primary. */
+    private boolean enabled = true;
+
+    private long maxStalenessSeconds = MIN_MAX_STALENESS_SECONDS;
+
+    private long statsIntervalMs = 60_000;
+
+    /** Route key → target; routes not listed use their default. */
+    private Map<String, ReadTarget> routes = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getMaxStalenessSeconds() { return maxStalenessSeconds; }
+    public void setMaxStalenessSeconds(long maxStalenessSeconds) { this.maxStalenessSeconds = maxStalenessSeconds; }
+
+    public long getStatsIntervalMs() { return statsIntervalMs; }
+    public void setStatsIntervalMs(long statsIntervalMs) { this.statsIntervalMs = statsIntervalMs; }
+
+    public Map<String, ReadTarget> getRoutes() { return routes; }
+    public void setRoutes(Map<String, ReadTarget> routes) { this.routes = routes; }
+}
@@ -0,0 +1,54 @@
+package org.earnlumens.mediastore.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for HLS playback capability tokens (see
+ * {@code PlaybackTokenService} and docs/PLAYBACK-TOKENS.md).
+ * <p>
+ * Read from application properties:
+ * <pre>
+ *   mediastore.playback-token.enabled=false
+ *   mediastore.playback-token.ttl-seconds=900
+ *   # Key ring shared with the cdn-worker: comma-separated kid:base64url-secret
+ *   # pairs (secrets of at least 32 bytes). Every listed key verifies; only
+ *   # the active one signs.
+ *   mediastore.playback-token.keys=k2:…,k1:…
+ *   mediastore.playback-token.active-key-id=k2
+ *   mediastore.playback-token.revocation-refresh-interval-ms=5000
+ * </pre>
+ */
+@Configuration
+@ConfigurationProperties(prefix = "mediastore.playback-token")
+public class PlaybackTokenConfig {
+
+    /** Shortest secret accepted for a key (HMAC-SHA256 block strength). */
+    public static final int MIN_KEY_BYTES = 32;
+
+    /** When false no token is minted and the edge keeps asking the entitlement endpoint. */
+    private boolean enabled = false;
+
+    private long ttlSeconds = 900;
+
+    private String keys = "";
+
+    private String activeKeyId = "";
+
+    private long revocationRefreshIntervalMs = 5_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getTtlSeconds() { return ttlSeconds; }
+    public void setTtlSeconds(long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+
+    public String getKeys() { return keys; }
+    public void setKeys(String keys) { this.keys = keys; }
+
+    public String getActiveKeyId() { return activeKeyId; }
+    public void setActiveKeyId(String activeKeyId) { this.activeKeyId = activeKeyId; }
+
+    public long getRevocationRefreshIntervalMs() { return revocationRefreshIntervalMs; }
+    public void setRevocationRefreshIntervalMs(long revocationRefreshIntervalMs) { this.revocationRefreshIntervalMs = revocationRefreshIntervalMs; }
+}
@@ -14,6 +14,8 @@ import org.springframework.context.annotation.Configuration;
  *   mediastore.transcoding.dispatch-batch-size=10
  *   mediastore.transcoding.dispatch-interval-ms=10000
  *   mediastore.transcoding.stale-batch-size=50
+ *   mediastore.transcoding.backfill-page-size=500
+ *   mediastore.transcoding.backfill-time-budget-seconds=240
  *   mediastore.transcoding.cloud-run-project-id=...
  *   mediastore.transcoding.cloud-run-region=europe-west1
  *   mediastore.transcoding.cloud-run-job-name=transcode-video
@@ -46,6 +48,16 @@ public class TranscodingConfig {
     /** Maximum number of stale jobs to recover per watchdog cycle. */
     private int staleBatchSize = 50;
 
+    /** Entries read per keyset page by the batch transcode / metadata backfills. */
+    private int backfillPageSize = 500;
+
+    /**
+     * Wall-clock budget of a single backfill invocation. When exceeded the run
+     * checkpoints and returns {@code completed=false}; calling the endpoint again
+     * resumes from the checkpoint. Keeps each call well under the request timeout.
+     */
+    private int backfillTimeBudgetSeconds = 240;
+
     /** Google Cloud project ID for Cloud Run Jobs. */
     private String cloudRunProjectId = "";
 
@@ -76,6 +88,12 @@ public class TranscodingConfig {
     public int getStaleBatchSize() { return staleBatchSize; }
     public void setStaleBatchSize(int staleBatchSize) { this.staleBatchSize = staleBatchSize; }
 
+    public int getBackfillPageSize() { return backfillPageSize; }
+    public void setBackfillPageSize(int backfillPageSize) { this.backfillPageSize = backfillPageSize; }
+
+    public int getBackfillTimeBudgetSeconds() { return backfillTimeBudgetSeconds; }
+    public void setBackfillTimeBudgetSeconds(int backfillTimeBudgetSeconds) { this.backfillTimeBudgetSeconds = backfillTimeBudgetSeconds; }
+
     public String getCloudRunProjectId() { return cloudRunProjectId; }
     public void setCloudRunProjectId(String cloudRunProjectId) { this.cloudRunProjectId = cloudRunProjectId; }
 
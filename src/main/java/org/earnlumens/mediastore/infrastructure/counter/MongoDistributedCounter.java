@@ -1,10 +1,11 @@
 package org.earnlumens.mediastore.infrastructure.counter;
 
 import com.mongodb.client.model.IndexOptions;
-import jakarta.annotation.PostConstruct;
 import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
@@ -61,8 +62,11 @@ public class MongoDistributedCounter implements DistributedCounter {
      * Creates the TTL purge index (idempotent; auto-index-creation is disabled
      * project-wide). Failure is logged but never blocks startup: counters keep
      * working without the index, documents just linger until it is created.
+     * Runs once the application is ready rather than at bean creation, so a
+     * context that stops at refresh (the AppCDS training run) never waits on
+     * Mongo server selection.
      */
-    @PostConstruct
+    @EventListener(ApplicationReadyEvent.class)
     void ensureTtlIndex() {
         try {
             mongoTemplate.getCollection(COLLECTION).createIndex(
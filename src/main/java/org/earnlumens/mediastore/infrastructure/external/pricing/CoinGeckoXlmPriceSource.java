@@ -4,6 +4,7 @@ import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -32,10 +33,18 @@ public class CoinGeckoXlmPriceSource implements XlmUsdPriceSource {
 
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
+    private final String url;
 
+    @Autowired
     public CoinGeckoXlmPriceSource(@Qualifier("pricingHttpClient") HttpClient httpClient) {
+        this(httpClient, URL);
+    }
+
+    /** Package-private constructor for testing against a local endpoint. */
+    CoinGeckoXlmPriceSource(HttpClient httpClient, String url) {
         this.httpClient = httpClient;
         this.objectMapper = new ObjectMapper();
+        this.url = url;
     }
 
     @Override
@@ -47,7 +56,7 @@ public class CoinGeckoXlmPriceSource implements XlmUsdPriceSource {
     public Optional<BigDecimal> fetchPrice() {
         try {
             HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(URL))
+                    .uri(URI.create(url))
                     .timeout(Duration.ofSeconds(5))
                     .GET()
                     .build();
@@ -55,7 +64,7 @@ public class CoinGeckoXlmPriceSource implements XlmUsdPriceSource {
             HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
 
             if (response.statusCode() != 200) {
-                logger.warn("[{}] {} — HTTP {} at {}", name(), Instant.now(), response.statusCode(), URL);
+                logger.warn("[{}] {} — HTTP {} at {}", name(), Instant.now(), response.statusCode(), url);
                 return Optional.empty();
             }
 
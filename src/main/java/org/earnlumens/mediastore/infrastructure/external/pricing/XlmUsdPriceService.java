@@ -1,8 +1,12 @@
 package org.earnlumens.mediastore.infrastructure.external.pricing;
 
+import jakarta.annotation.PreDestroy;
+import org.earnlumens.mediastore.infrastructure.lock.DistributedLockService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -12,45 +16,95 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * Thread-safe, in-memory cached XLM/USD price resolver.
  * <p>
- * <b>Cache strategy:</b>
+ * <b>Refresh-ahead (production):</b> {@link #refreshAhead()} runs on a fixed
+ * delay shorter than the cache TTL and publishes a new immutable
+ * {@link PriceSnapshot} through a {@code volatile} reference. Readers
+ * ({@code /public/price}, {@code /api/payments/prepare}) only read that
+ * reference — they never take a lock and never wait on an external API. If
+ * refreshes keep failing, the last good price is served until it is older than
+ * {@code max-staleness}; past that bound {@link #getPrice()} throws and callers
+ * answer 503 rather than quote a price that may have moved.
+ * <p>
+ * <b>Sources:</b> a refresh queries SDEX only. The CEX sources are queried
+ * (in parallel on virtual threads, alongside SDEX) when SDEX has no price, and
+ * otherwise once per {@code cex-sample-interval} across the fleet — the
+ * instance that wins the {@value #CEX_SAMPLE_LOCK} lease samples them so the
+ * divergence metric keeps a data point without every instance calling every
+ * exchange each round. Each source is bounded by {@code source-timeout} so one
+ * slow API cannot hold back the others. Latency per source and divergence from
+ * the published price are logged on every refresh ({@code PRICE_REFRESH}).
+ * <p>
+ * <b>Selection rules:</b>
  * <ul>
- *   <li>If {@code currentPrice} exists and is younger than 60 s → return without API call.</li>
- *   <li>On first load → query all 3 sources and use the <b>median</b>.</li>
- *   <li>On refresh → query the next source in rotation (1→2→3→1).</li>
+ *   <li>SDEX mid-market price available → use it.</li>
+ *   <li>On first load without SDEX → <b>median</b> of the valid CEX prices.</li>
+ *   <li>On refresh without SDEX → the next CEX source in rotation (1→2→3→1).</li>
  *   <li>If the new price differs &lt; 3% from the cached price → <b>direct update</b>.</li>
- *   <li>If ≥ 3% → query the other 2 sources and use the <b>median</b> of all valid prices.</li>
- *   <li>If median recalculation has &lt; 2 valid prices → <b>keep the old price</b>.</li>
+ *   <li>If ≥ 3% → <b>median</b> of all valid CEX prices from the same round.</li>
+ *   <li>If the median has &lt; 2 valid prices → <b>keep the old price</b>.</li>
  * </ul>
  * <p>
- * <b>Thread safety:</b> A {@link ReentrantLock} ensures only one thread refreshes at a time.
- * Other threads either return the stale (but valid) cached price or block during initial load.
- * The cached snapshot reference is {@code volatile} for safe publication.
+ * <b>On-demand mode</b> (refresh-ahead disabled, and the test constructors):
+ * a reader that finds the snapshot older than the TTL refreshes it inline; a
+ * {@link ReentrantLock} ensures only one thread refreshes at a time while the
+ * others return the stale snapshot (or wait, on the very first load).
  */
 @Service
 public class XlmUsdPriceService {
 
     private static final Logger logger = LoggerFactory.getLogger(XlmUsdPriceService.class);
     private static final BigDecimal SPIKE_THRESHOLD = new BigDecimal("0.03"); // 3%
+    private static final long SPIKE_THRESHOLD_BPS = 300;
+    static final String CEX_SAMPLE_LOCK = "xlm-price-cex-sample";
+
+    /** Result of one source query within a refresh round. */
+    record SourceQuote(String source, BigDecimal price, long latencyMs, boolean timedOut) {
+        boolean ok() {
+            return price != null;
+        }
+    }
 
     private final List<XlmUsdPriceSource> sources;
     private final SdexXlmPriceSource sdexSource;
     private final Duration cacheTtl;
+    private final boolean refreshAheadEnabled;
+    private final Duration sourceTimeout;
+    private final Duration maxStaleness;
+    private final DistributedLockService lockService;
+    private final Duration cexSampleInterval;
+    private final ExecutorService fetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
     private final AtomicInteger rotationIndex = new AtomicInteger(0);
     private final ReentrantLock refreshLock = new ReentrantLock();
     private volatile PriceSnapshot currentSnapshot;
+    private volatile List<SourceQuote> lastQuotes = List.of();
+    private volatile Instant lastCexSampleAttempt;
 
     /** Production constructor — injected by Spring with 60 s cache TTL. */
     @Autowired
-    public XlmUsdPriceService(List<XlmUsdPriceSource> sources, SdexXlmPriceSource sdexSource) {
-        this(sources, sdexSource, Duration.ofSeconds(60));
+    public XlmUsdPriceService(
+            List<XlmUsdPriceSource> sources,
+            SdexXlmPriceSource sdexSource,
+            DistributedLockService lockService,
+            @Value("${mediastore.pricing.refresh-ahead.enabled:true}") boolean refreshAheadEnabled,
+            @Value("${mediastore.pricing.source-timeout-ms:2000}") long sourceTimeoutMs,
+            @Value("${mediastore.pricing.max-staleness-seconds:300}") long maxStalenessSeconds,
+            @Value("${mediastore.pricing.cex-sample-interval-seconds:300}") long cexSampleIntervalSeconds) {
+        this(sources, sdexSource, Duration.ofSeconds(60), refreshAheadEnabled,
+                Duration.ofMillis(sourceTimeoutMs), Duration.ofSeconds(maxStalenessSeconds),
+                lockService, Duration.ofSeconds(cexSampleIntervalSeconds));
     }
 
     /** Package-private constructor for tests — allows custom cache TTL. */
@@ -60,24 +114,59 @@ public class XlmUsdPriceService {
 
     /** Package-private constructor for tests — allows custom cache TTL and optional SDEX source. */
     XlmUsdPriceService(List<XlmUsdPriceSource> sources, SdexXlmPriceSource sdexSource, Duration cacheTtl) {
+        this(sources, sdexSource, cacheTtl, false, Duration.ofSeconds(5), Duration.ofDays(1));
+    }
+
+    /**
+     * Package-private constructor for tests — full control over refresh-ahead
+     * settings; samples the CEX sources on every round.
+     */
+    XlmUsdPriceService(List<XlmUsdPriceSource> sources, SdexXlmPriceSource sdexSource, Duration cacheTtl,
+                       boolean refreshAheadEnabled, Duration sourceTimeout, Duration maxStaleness) {
+        this(sources, sdexSource, cacheTtl, refreshAheadEnabled, sourceTimeout, maxStaleness, null, Duration.ZERO);
+    }
+
+    /** Package-private constructor for tests — also controls CEX sampling ({@code lockService} may be null). */
+    XlmUsdPriceService(List<XlmUsdPriceSource> sources, SdexXlmPriceSource sdexSource, Duration cacheTtl,
+                       boolean refreshAheadEnabled, Duration sourceTimeout, Duration maxStaleness,
+                       DistributedLockService lockService, Duration cexSampleInterval) {
         if (sources == null || sources.isEmpty()) {
             throw new IllegalArgumentException("At least one price source is required");
         }
         this.sources = List.copyOf(sources);
         this.sdexSource = sdexSource;
         this.cacheTtl = cacheTtl;
+        this.refreshAheadEnabled = refreshAheadEnabled;
+        this.sourceTimeout = sourceTimeout;
+        this.maxStaleness = maxStaleness;
+        this.lockService = lockService;
+        this.cexSampleInterval = cexSampleInterval;
+    }
+
+    /** Stops the fetch threads; an HTTP call still in flight is abandoned. */
+    @PreDestroy
+    void shutdown() {
+        fetchExecutor.shutdownNow();
     }
 
     // ─── Public API ────────────────────────────────────────────
 
     /**
-     * Returns the current XLM/USD price, refreshing from external sources if the cache is stale.
+     * Returns the current XLM/USD price.
+     * <p>
+     * With refresh-ahead enabled this never blocks: it returns the last
+     * published snapshot as long as it is within the staleness bound.
      *
      * @return a non-null {@link PriceSnapshot} with the latest price
-     * @throws IllegalStateException if no price is available (all sources failed on initial load)
+     * @throws IllegalStateException if no price is available (not loaded yet,
+     *                               older than the staleness bound, or all
+     *                               sources failed on initial load)
      */
     public PriceSnapshot getPrice() {
         PriceSnapshot snapshot = currentSnapshot;
+        if (refreshAheadEnabled) {
+            return serveWithinStaleness(snapshot);
+        }
         if (snapshot != null && !isExpired(snapshot)) {
             return snapshot;
         }
@@ -89,12 +178,59 @@ public class XlmUsdPriceService {
         return currentSnapshot;
     }
 
-    // ─── Refresh logic ─────────────────────────────────────────
+    /**
+     * Background refresh: fetches SDEX (and the CEX sources when needed) and
+     * publishes a new snapshot.
+     * Skipped if another refresh is still running (a slow round is never
+     * stacked behind another one).
+     */
+    @Scheduled(fixedDelayString = "${mediastore.pricing.refresh-interval-ms:20000}",
+            initialDelayString = "${mediastore.pricing.refresh-initial-delay-ms:0}")
+    public void refreshAhead() {
+        if (!refreshAheadEnabled || !refreshLock.tryLock()) {
+            return;
+        }
+        try {
+            PriceSnapshot previous = currentSnapshot;
+            if (previous == null) {
+                performInitialLoad();
+            } else {
+                performIncrementalUpdate(previous);
+            }
+        } catch (IllegalStateException e) {
+            logger.warn("XLM/USD refresh failed: {}", e.getMessage());
+        } catch (Exception e) {
+            logger.error("XLM/USD refresh failed unexpectedly: {}", e.getMessage(), e);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /** Quotes from the most recent refresh round (diagnostics and tests). */
+    List<SourceQuote> lastQuotes() {
+        return lastQuotes;
+    }
+
+    // ─── Read path ─────────────────────────────────────────────
 
     private boolean isExpired(PriceSnapshot snapshot) {
         return Duration.between(snapshot.timestamp(), Instant.now()).compareTo(cacheTtl) > 0;
     }
 
+    private PriceSnapshot serveWithinStaleness(PriceSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalStateException("XLM/USD price not loaded yet");
+        }
+        Duration age = Duration.between(snapshot.timestamp(), Instant.now());
+        if (age.compareTo(maxStaleness) > 0) {
+            throw new IllegalStateException(
+                    "XLM/USD price is stale: last good price is " + age.toSeconds() + " s old");
+        }
+        return snapshot;
+    }
+
+    // ─── On-demand refresh ─────────────────────────────────────
+
     private PriceSnapshot refresh() {
         // Fast path: try to acquire the lock without blocking.
         // If another thread is already refreshing, return the stale snapshot (if any).
@@ -134,23 +270,21 @@ public class XlmUsdPriceService {
     // ─── Initial load ──────────────────────────────────────────
 
     private PriceSnapshot performInitialLoad() {
-        // ── Try SDEX first ──
-        Optional<BigDecimal> sdexPrice = fetchSdex();
-        if (sdexPrice.isPresent()) {
-            PriceSnapshot snapshot = new PriceSnapshot(
-                    sdexPrice.get(), Instant.now(), "sdex", PriceUpdateMode.INITIAL_LOAD);
-            currentSnapshot = snapshot;
-            logger.info("XLM/USD initial load from SDEX: price={}", sdexPrice.get().toPlainString());
-            return snapshot;
+        List<SourceQuote> quotes = fetchAllQuotes();
+        SourceQuote sdex = sdexQuote(quotes);
+
+        // ── SDEX first ──
+        if (sdex != null && sdex.ok()) {
+            return publish(new PriceSnapshot(sdex.price(), Instant.now(), "sdex", PriceUpdateMode.INITIAL_LOAD), quotes);
         }
 
         // ── SDEX unavailable — fall back to CEX median ──
-        logger.info("XLM/USD SDEX unavailable on initial load, falling back to {} CEX sources", sources.size());
-
-        List<BigDecimal> prices = fetchAllSources();
-        List<BigDecimal> valid = prices.stream().filter(Objects::nonNull).toList();
+        List<BigDecimal> valid = cexQuotes(quotes).stream()
+                .filter(SourceQuote::ok).map(SourceQuote::price).toList();
 
         if (valid.isEmpty()) {
+            lastQuotes = quotes;
+            logRefresh(null, quotes);
             throw new IllegalStateException(
                     "XLM/USD price unavailable: all " + sources.size() + " sources failed on initial load");
         }
@@ -164,116 +298,213 @@ public class XlmUsdPriceService {
             price = valid.getFirst();
             sourcesDesc = "single-source-fallback";
         }
-
-        PriceSnapshot newSnapshot = new PriceSnapshot(price, Instant.now(), sourcesDesc, PriceUpdateMode.INITIAL_LOAD);
-        currentSnapshot = newSnapshot;
-        logger.info("XLM/USD initial load complete: price={}, source={}", price.toPlainString(), sourcesDesc);
-        return newSnapshot;
+        return publish(new PriceSnapshot(price, Instant.now(), sourcesDesc, PriceUpdateMode.INITIAL_LOAD), quotes);
     }
 
     // ─── Incremental update ────────────────────────────────────
 
     private PriceSnapshot performIncrementalUpdate(PriceSnapshot previous) {
-        // ── Try SDEX first ──
-        Optional<BigDecimal> sdexPrice = fetchSdex();
-        if (sdexPrice.isPresent()) {
-            PriceSnapshot updated = new PriceSnapshot(
-                    sdexPrice.get(), Instant.now(), "sdex", PriceUpdateMode.DIRECT_UPDATE);
-            currentSnapshot = updated;
-            logger.info("XLM/USD update from SDEX: price={}", sdexPrice.get().toPlainString());
-            return updated;
+        List<SourceQuote> quotes = fetchAllQuotes();
+        SourceQuote sdex = sdexQuote(quotes);
+
+        // ── SDEX first ──
+        if (sdex != null && sdex.ok()) {
+            return publish(new PriceSnapshot(sdex.price(), Instant.now(), "sdex", PriceUpdateMode.DIRECT_UPDATE), quotes);
         }
 
         // ── SDEX unavailable — fall back to CEX round-robin ──
-        logger.info("XLM/USD SDEX unavailable, falling back to CEX rotation");
-
-        // Pick the next source in round-robin rotation
+        List<SourceQuote> cex = cexQuotes(quotes);
         int idx = rotationIndex.getAndUpdate(i -> (i + 1) % sources.size());
-        XlmUsdPriceSource primarySource = sources.get(idx);
+        SourceQuote primary = cex.get(idx);
 
-        Optional<BigDecimal> fetched = safeFetch(primarySource);
-        if (fetched.isEmpty()) {
+        if (!primary.ok()) {
             logger.warn("XLM/USD {} — source '{}' failed, keeping previous price {}",
-                    Instant.now(), primarySource.name(), previous.price().toPlainString());
-            return previous;
+                    Instant.now(), primary.source(), previous.price().toPlainString());
+            return keep(previous, quotes);
         }
 
-        BigDecimal newPrice = fetched.get();
+        BigDecimal newPrice = primary.price();
         BigDecimal diffRatio = newPrice.subtract(previous.price()).abs()
                 .divide(previous.price(), 6, RoundingMode.HALF_UP);
 
         // ── Small diff (< 3%): direct update ──
         if (diffRatio.compareTo(SPIKE_THRESHOLD) < 0) {
-            PriceSnapshot updated = new PriceSnapshot(
-                    newPrice, Instant.now(), primarySource.name(), PriceUpdateMode.DIRECT_UPDATE);
-            currentSnapshot = updated;
-            logger.info("XLM/USD direct update: price={}, source={}, diff={}%",
-                    newPrice.toPlainString(), primarySource.name(),
-                    diffRatio.multiply(BigDecimal.valueOf(100)).setScale(2, RoundingMode.HALF_UP));
-            return updated;
+            return publish(new PriceSnapshot(
+                    newPrice, Instant.now(), primary.source(), PriceUpdateMode.DIRECT_UPDATE), quotes);
         }
 
-        // ── Spike (≥ 3%): median recalculation from all sources ──
+        // ── Spike (≥ 3%): median of every CEX price from this round ──
         logger.info("XLM/USD spike detected: diff={}% from {} (source: {}), triggering median recalculation",
                 diffRatio.multiply(BigDecimal.valueOf(100)).setScale(2, RoundingMode.HALF_UP),
-                previous.price().toPlainString(), primarySource.name());
+                previous.price().toPlainString(), primary.source());
 
-        // We already have the primary source's price; query the other two.
         List<BigDecimal> allPrices = new ArrayList<>();
         allPrices.add(newPrice);
-        for (int i = 0; i < sources.size(); i++) {
-            if (i != idx) {
-                safeFetch(sources.get(i)).ifPresent(allPrices::add);
+        for (int i = 0; i < cex.size(); i++) {
+            if (i != idx && cex.get(i).ok()) {
+                allPrices.add(cex.get(i).price());
             }
         }
 
         if (allPrices.size() >= 2) {
-            BigDecimal medianPrice = median(allPrices);
-            PriceSnapshot updated = new PriceSnapshot(
-                    medianPrice, Instant.now(),
+            return publish(new PriceSnapshot(
+                    median(allPrices), Instant.now(),
                     "median(" + allPrices.size() + " sources)",
-                    PriceUpdateMode.MEDIAN_RECALCULATION);
-            currentSnapshot = updated;
-            logger.info("XLM/USD median recalculation: price={}, validSources={}",
-                    medianPrice.toPlainString(), allPrices.size());
-            return updated;
-        } else {
-            logger.warn("XLM/USD median recalculation failed: only {} valid price(s), keeping previous {}",
-                    allPrices.size(), previous.price().toPlainString());
-            return previous;
+                    PriceUpdateMode.MEDIAN_RECALCULATION), quotes);
         }
+        logger.warn("XLM/USD median recalculation failed: only {} valid price(s), keeping previous {}",
+                allPrices.size(), previous.price().toPlainString());
+        return keep(previous, quotes);
+    }
+
+    private PriceSnapshot publish(PriceSnapshot snapshot, List<SourceQuote> quotes) {
+        currentSnapshot = snapshot;
+        lastQuotes = quotes;
+        logRefresh(snapshot, quotes);
+        return snapshot;
     }
 
-    // ─── Helpers ───────────────────────────────────────────────
+    private PriceSnapshot keep(PriceSnapshot previous, List<SourceQuote> quotes) {
+        lastQuotes = quotes;
+        logRefresh(previous, quotes);
+        return previous;
+    }
 
-    private Optional<BigDecimal> fetchSdex() {
-        if (sdexSource == null) return Optional.empty();
-        try {
-            return sdexSource.fetchPrice();
-        } catch (Exception e) {
-            logger.error("[sdex] {} — unexpected error: {}", Instant.now(), e.getMessage(), e);
-            return Optional.empty();
+    // ─── Parallel fetch ────────────────────────────────────────
+
+    /**
+     * Queries the sources for one round. Each source gets {@code sourceTimeout};
+     * a source that has not answered by then counts as failed for this round
+     * (its HTTP call finishes in the background). The result lists SDEX first,
+     * then the CEX sources in rotation order.
+     * <p>
+     * With SDEX configured the CEX sources are only queried when this round
+     * samples them (concurrently with SDEX) or when SDEX has no price (after
+     * it), so a healthy SDEX costs one external call per round.
+     */
+    private List<SourceQuote> fetchAllQuotes() {
+        if (sdexSource == null) {
+            return join(fetchCex(new ArrayList<>(sources.size())));
+        }
+        List<CompletableFuture<SourceQuote>> pending = new ArrayList<>(sources.size() + 1);
+        pending.add(quote(sdexSource.name(), sdexSource::fetchPrice));
+        if (shouldSampleCex()) {
+            return join(fetchCex(pending));
         }
+        if (pending.getFirst().join().ok()) {
+            return join(pending);
+        }
+        return join(fetchCex(pending));
     }
 
-    private List<BigDecimal> fetchAllSources() {
-        List<BigDecimal> prices = new ArrayList<>();
+    private List<CompletableFuture<SourceQuote>> fetchCex(List<CompletableFuture<SourceQuote>> pending) {
         for (XlmUsdPriceSource source : sources) {
-            prices.add(safeFetch(source).orElse(null));
+            pending.add(quote(source.name(), source::fetchPrice));
         }
-        return prices;
+        return pending;
+    }
+
+    private static List<SourceQuote> join(List<CompletableFuture<SourceQuote>> pending) {
+        return pending.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Whether this round also samples the CEX sources while SDEX is healthy:
+     * at most once per {@code cexSampleInterval} per instance, and only on the
+     * instance holding the {@value #CEX_SAMPLE_LOCK} lease for that interval.
+     */
+    private boolean shouldSampleCex() {
+        Instant now = Instant.now();
+        Instant last = lastCexSampleAttempt;
+        if (last != null && Duration.between(last, now).compareTo(cexSampleInterval) < 0) {
+            return false;
+        }
+        lastCexSampleAttempt = now;
+        return lockService == null || lockService.tryAcquire(CEX_SAMPLE_LOCK, cexSampleInterval);
+    }
+
+    private CompletableFuture<SourceQuote> quote(String name, Supplier<Optional<BigDecimal>> fetch) {
+        long start = System.nanoTime();
+        return CompletableFuture
+                .supplyAsync(() -> new SourceQuote(name, safeFetch(name, fetch).orElse(null),
+                        elapsedMs(start), false), fetchExecutor)
+                .completeOnTimeout(new SourceQuote(name, null, sourceTimeout.toMillis(), true),
+                        sourceTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private SourceQuote sdexQuote(List<SourceQuote> quotes) {
+        return sdexSource != null ? quotes.getFirst() : null;
     }
 
-    private Optional<BigDecimal> safeFetch(XlmUsdPriceSource source) {
+    private List<SourceQuote> cexQuotes(List<SourceQuote> quotes) {
+        return sdexSource != null ? quotes.subList(1, quotes.size()) : quotes;
+    }
+
+    private static Optional<BigDecimal> safeFetch(String name, Supplier<Optional<BigDecimal>> fetch) {
         try {
-            return source.fetchPrice();
+            return fetch.get();
         } catch (Exception e) {
             logger.error("[{}] {} — unexpected error fetching price: {}",
-                    source.name(), Instant.now(), e.getMessage(), e);
+                    name, Instant.now(), e.getMessage(), e);
             return Optional.empty();
         }
     }
 
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    // ─── Metrics ───────────────────────────────────────────────
+
+    /**
+     * One line per refresh round: the published price plus each source's
+     * latency and its divergence from that price in basis points, e.g.
+     * {@code sdex=0.1234/85ms/+0bps kraken=timeout/2000ms}.
+     */
+    private void logRefresh(PriceSnapshot published, List<SourceQuote> quotes) {
+        BigDecimal reference = published != null ? published.price() : null;
+        long maxDivergenceBps = 0;
+        for (SourceQuote q : quotes) {
+            if (q.ok() && reference != null) {
+                maxDivergenceBps = Math.max(maxDivergenceBps, Math.abs(divergenceBps(q.price(), reference)));
+            }
+        }
+        String detail = quotes.stream().map(q -> describe(q, reference)).collect(Collectors.joining(" "));
+        if (published == null) {
+            logger.warn("PRICE_REFRESH price=none {}", detail);
+            return;
+        }
+        logger.info("PRICE_REFRESH price={} source={} mode={} ageMs={} maxDivergenceBps={} {}",
+                published.price().toPlainString(), published.sourceUsed(), published.mode(),
+                Duration.between(published.timestamp(), Instant.now()).toMillis(), maxDivergenceBps, detail);
+        if (maxDivergenceBps >= SPIKE_THRESHOLD_BPS) {
+            logger.warn("PRICE_DIVERGENCE price={} maxDivergenceBps={} {}",
+                    published.price().toPlainString(), maxDivergenceBps, detail);
+        }
+    }
+
+    private static String describe(SourceQuote q, BigDecimal reference) {
+        if (q.timedOut()) {
+            return q.source() + "=timeout/" + q.latencyMs() + "ms";
+        }
+        if (!q.ok()) {
+            return q.source() + "=failed/" + q.latencyMs() + "ms";
+        }
+        String divergence = reference != null ? String.format("/%+dbps", divergenceBps(q.price(), reference)) : "";
+        return q.source() + "=" + q.price().toPlainString() + "/" + q.latencyMs() + "ms" + divergence;
+    }
+
+    /**
+     * Signed divergence of {@code price} from {@code reference} in basis points
+     * (1 bps = 0.01%). Package-private for direct unit testing.
+     */
+    static long divergenceBps(BigDecimal price, BigDecimal reference) {
+        return price.subtract(reference)
+                .multiply(BigDecimal.valueOf(10_000))
+                .divide(reference, 0, RoundingMode.HALF_UP)
+                .longValue();
+    }
+
     /**
      * Computes the median of a list of positive {@link BigDecimal} values.
      * <ul>
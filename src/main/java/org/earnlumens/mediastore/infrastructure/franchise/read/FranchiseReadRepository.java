@@ -9,7 +9,8 @@ import java.util.Optional;
  * Read-only access to the {@code franchises} collection. Every query is scoped
  * by {@code tenantId} (the franchisor subdomain) to satisfy tenant isolation.
  */
-public interface FranchiseReadRepository extends MongoRepository<FranchiseReadModel, String> {
+public interface FranchiseReadRepository extends MongoRepository<FranchiseReadModel, String>,
+        FranchiseReadRepositoryCustom {
 
     Optional<FranchiseReadModel> findByTenantIdAndSlug(String tenantId, String slug);
 
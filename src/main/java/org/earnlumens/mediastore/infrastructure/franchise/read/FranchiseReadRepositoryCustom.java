@@ -0,0 +1,16 @@
+package org.earnlumens.mediastore.infrastructure.franchise.read;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storefront franchise reads that go through the read router
+ * ({@code ReadRoute.FRANCHISES}) and may be served by a secondary.
+ * Payment-time lookups keep using the derived queries on the primary.
+ */
+public interface FranchiseReadRepositoryCustom {
+
+    Optional<FranchiseReadModel> findPublicByTenantIdAndSlug(String tenantId, String slug);
+
+    List<FranchiseReadModel> findPublicByTenantIdAndStatus(String tenantId, String status);
+}
@@ -0,0 +1,33 @@
+package org.earnlumens.mediastore.infrastructure.franchise.read;
+
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.ReadRoute;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class FranchiseReadRepositoryCustomImpl implements FranchiseReadRepositoryCustom {
+
+    private final MongoReadRouter readRouter;
+
+    public FranchiseReadRepositoryCustomImpl(MongoReadRouter readRouter) {
+        this.readRouter = readRouter;
+    }
+
+    @Override
+    public Optional<FranchiseReadModel> findPublicByTenantIdAndSlug(String tenantId, String slug) {
+        Query query = new Query(Criteria.where("tenantId").is(tenantId).and("slug").is(slug));
+        return Optional.ofNullable(readRouter.template(ReadRoute.FRANCHISES)
+                .findOne(query, FranchiseReadModel.class));
+    }
+
+    @Override
+    public List<FranchiseReadModel> findPublicByTenantIdAndStatus(String tenantId, String status) {
+        Query query = new Query(Criteria.where("tenantId").is(tenantId).and("status").is(status));
+        return readRouter.template(ReadRoute.FRANCHISES).find(query, FranchiseReadModel.class);
+    }
+}
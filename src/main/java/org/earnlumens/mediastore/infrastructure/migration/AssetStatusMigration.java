@@ -0,0 +1,37 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import org.springframework.stereotype.Component;
+
+/**
+ * V1 — transitions all assets with status {@code UPLOADED} to {@code READY}.
+ * <p>
+ * This is needed because the original finalize-upload flow saved assets with
+ * status UPLOADED, but the entitlement service requires READY to serve content.
+ * Only documents still in UPLOADED state are touched.
+ */
+@Component
+public class AssetStatusMigration implements SchemaMigration {
+
+    private final MigrationOps ops;
+
+    public AssetStatusMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public String description() {
+        return "assets UPLOADED → READY";
+    }
+
+    @Override
+    public void migrate() throws InterruptedException {
+        ops.backfill("assets", Filters.eq("status", "UPLOADED"), Updates.set("status", "READY"));
+    }
+}
@@ -0,0 +1,68 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * V2 — hot-feed scalability indexes (Phase 1 of SCALABILITY-AUDIT.md).
+ * <p>
+ * Does two things, both idempotent:
+ * <ol>
+ *   <li>Backfills the denormalized {@code authorUsernameLower} field on
+ *       {@code entries} and {@code collections} (lowercase copy of
+ *       {@code authorUsername}) using an aggregation-pipeline update. Only
+ *       documents missing the field are touched.</li>
+ *   <li>Creates the new compound indexes.</li>
+ * </ol>
+ */
+@Component
+public class HotFeedIndexMigration implements SchemaMigration {
+
+    private final MigrationOps ops;
+
+    public HotFeedIndexMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return 2;
+    }
+
+    @Override
+    public String description() {
+        return "authorUsernameLower backfill + hot-feed badge/author indexes";
+    }
+
+    @Override
+    public void migrate() throws InterruptedException {
+        backfillAuthorUsernameLower("entries");
+        backfillAuthorUsernameLower("collections");
+
+        ops.ensureIndex("entries", "idx_tenant_status_badge_published",
+                new Document("tenantId", 1).append("status", 1)
+                        .append("authorBadge", 1).append("publishedAt", -1));
+        ops.ensureIndex("entries", "idx_tenant_status_authorlower_published",
+                new Document("tenantId", 1).append("status", 1)
+                        .append("authorUsernameLower", 1).append("publishedAt", -1));
+        ops.ensureIndex("collections", "idx_coll_tenant_status_badge_published",
+                new Document("tenantId", 1).append("status", 1)
+                        .append("authorBadge", 1).append("publishedAt", -1));
+        ops.ensureIndex("collections", "idx_coll_tenant_status_authorlower_published",
+                new Document("tenantId", 1).append("status", 1)
+                        .append("authorUsernameLower", 1).append("publishedAt", -1));
+    }
+
+    private void backfillAuthorUsernameLower(String collection) throws InterruptedException {
+        ops.backfillWithPipeline(collection,
+                Filters.and(
+                        Filters.exists("authorUsername", true),
+                        Filters.exists("authorUsernameLower", false)),
+                List.of(new Document("$set",
+                        new Document("authorUsernameLower",
+                                new Document("$toLower", "$authorUsername")))));
+    }
+}
@@ -0,0 +1,112 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Building blocks shared by {@link SchemaMigration}s.
+ * <p>
+ * Unlike the old startup runners, failures are not swallowed here: an
+ * exception fails the migration, which keeps it pending for the next boot
+ * instead of recording a half-applied version.
+ */
+@Component
+public class MigrationOps {
+
+    private static final Logger logger = LoggerFactory.getLogger(MigrationOps.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+    private final long pauseMs;
+
+    public MigrationOps(
+            MongoTemplate mongoTemplate,
+            @Value("${mediastore.migrations.backfill-batch-size:500}") int batchSize,
+            @Value("${mediastore.migrations.backfill-pause-ms:100}") long pauseMs
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMs = Math.max(0, pauseMs);
+    }
+
+    public MongoTemplate mongoTemplate() {
+        return mongoTemplate;
+    }
+
+    /**
+     * Creates the index in the background; a no-op when an identical index
+     * already exists. Explicit creation is required because
+     * {@code spring.data.mongodb.auto-index-creation} is disabled.
+     */
+    public void ensureIndex(String collection, String name, Document keys, IndexOptions options) {
+        mongoTemplate.getCollection(collection).createIndex(keys, options.name(name).background(true));
+        logger.info("[MigrationOps] Ensured index {} on {}", name, collection);
+    }
+
+    public void ensureIndex(String collection, String name, Document keys) {
+        ensureIndex(collection, name, keys, new IndexOptions());
+    }
+
+    /**
+     * Applies {@code update} to every document matching {@code filter}, in
+     * batches of {@code mediastore.migrations.backfill-batch-size} documents
+     * with a {@code backfill-pause-ms} pause in between, so a large backfill
+     * never saturates the primary while the API is serving.
+     * <p>
+     * The update must make a document stop matching {@code filter} (e.g.
+     * "field missing" → set the field); a batch that changes nothing ends the
+     * backfill rather than looping on the same documents.
+     *
+     * @return number of documents modified
+     */
+    public long backfill(String collection, Bson filter, Bson update) throws InterruptedException {
+        return backfill(collection, filter, (coll, batch) -> coll.updateMany(batch, update).getModifiedCount());
+    }
+
+    /**
+     * {@link #backfill(String, Bson, Bson)} with an aggregation-pipeline
+     * update, for values derived from other fields of the same document.
+     */
+    public long backfillWithPipeline(String collection, Bson filter, List<? extends Bson> pipeline)
+            throws InterruptedException {
+        return backfill(collection, filter, (coll, batch) -> coll.updateMany(batch, pipeline).getModifiedCount());
+    }
+
+    private long backfill(String collection, Bson filter,
+                          BiFunction<MongoCollection<Document>, Bson, Long> updateBatch) throws InterruptedException {
+        MongoCollection<Document> coll = mongoTemplate.getCollection(collection);
+        long modified = 0;
+        while (true) {
+            List<Object> ids = new ArrayList<>(batchSize);
+            coll.find(filter).projection(Projections.include("_id")).limit(batchSize)
+                    .forEach(doc -> ids.add(doc.get("_id")));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            long changed = updateBatch.apply(coll, Filters.and(Filters.in("_id", ids), filter));
+            modified += changed;
+            if (changed == 0 || ids.size() < batchSize) {
+                break;
+            }
+            if (pauseMs > 0) {
+                Thread.sleep(pauseMs);
+            }
+        }
+        logger.info("[MigrationOps] Backfilled {} {} documents", modified, collection);
+        return modified;
+    }
+}
@@ -0,0 +1,35 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+/**
+ * V6 — creates {@code idx_owner_stats_reconciled_at} on {@code owner_stats}.
+ * <p>
+ * Backs the reconciliation worker's "least recently reconciled first" scan.
+ * Reads by the stats endpoint go through {@code _id} and need no extra index.
+ */
+@Component
+public class OwnerStatsIndexMigration implements SchemaMigration {
+
+    private final MigrationOps ops;
+
+    public OwnerStatsIndexMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return 6;
+    }
+
+    @Override
+    public String description() {
+        return "owner_stats reconciledAt index";
+    }
+
+    @Override
+    public void migrate() {
+        ops.ensureIndex("owner_stats", "idx_owner_stats_reconciled_at", new Document("reconciledAt", 1));
+    }
+}
@@ -0,0 +1,41 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * V12 — TTL index on {@code playback_revocations}.
+ * <p>
+ * Creates {@code idx_playback_revocation_ttl} on {@code expiresAt}
+ * ({@code notBefore} + token TTL): once it passes, every token the
+ * revocation could reject has expired, so the document is purged and drops
+ * out of the list the cdn-worker pulls.
+ */
+@Component
+public class PlaybackRevocationIndexMigration implements SchemaMigration {
+
+    private final MigrationOps ops;
+
+    public PlaybackRevocationIndexMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return 12;
+    }
+
+    @Override
+    public String description() {
+        return "playback_revocations expiresAt TTL index";
+    }
+
+    @Override
+    public void migrate() {
+        ops.ensureIndex("playback_revocations", "idx_playback_revocation_ttl", new Document("expiresAt", 1),
+                new IndexOptions().expireAfter(0L, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,38 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+/**
+ * V7 — creates {@code idx_ent_tenant_user_status_granted_id} on {@code entitlements}.
+ * <p>
+ * The trailing {@code _id} matches the library's keyset
+ * {@code (grantedAt desc, _id desc)}, so each window is a bounded index range
+ * scan, and the same prefix backs the purchased feed's entitlement match.
+ */
+@Component
+public class PurchaseLibraryIndexMigration implements SchemaMigration {
+
+    private final MigrationOps ops;
+
+    public PurchaseLibraryIndexMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return 7;
+    }
+
+    @Override
+    public String description() {
+        return "entitlements purchase-library keyset index";
+    }
+
+    @Override
+    public void migrate() {
+        ops.ensureIndex("entitlements", "idx_ent_tenant_user_status_granted_id",
+                new Document("tenantId", 1).append("userId", 1).append("status", 1)
+                        .append("grantedAt", -1).append("_id", -1));
+    }
+}
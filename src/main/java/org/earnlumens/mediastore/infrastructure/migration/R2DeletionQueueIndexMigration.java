@@ -0,0 +1,37 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+/**
+ * V4 — creates {@code idx_status_next_attempt} on {@code r2_deletion_queue}.
+ * <p>
+ * Backs the queue worker's "due PENDING items ordered by nextAttemptAt"
+ * scan. Without it every drain cycle would scan the whole collection,
+ * including the DONE items that accumulate over time.
+ */
+@Component
+public class R2DeletionQueueIndexMigration implements SchemaMigration {
+
+    private final MigrationOps ops;
+
+    public R2DeletionQueueIndexMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return 4;
+    }
+
+    @Override
+    public String description() {
+        return "r2_deletion_queue status/nextAttemptAt index";
+    }
+
+    @Override
+    public void migrate() {
+        ops.ensureIndex("r2_deletion_queue", "idx_status_next_attempt",
+                new Document("status", 1).append("nextAttemptAt", 1));
+    }
+}
@@ -0,0 +1,40 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * V13 — TTL index on {@code r2_deletion_queue}.
+ * <p>
+ * Creates {@code idx_r2_deletion_done_ttl} on {@code expiresAt}, which only
+ * DONE items carry (finish time + 7 days), so completed deletions are purged
+ * while PENDING and FAILED items stay until handled.
+ */
+@Component
+public class R2DeletionQueueTtlMigration implements SchemaMigration {
+
+    private final MigrationOps ops;
+
+    public R2DeletionQueueTtlMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return 13;
+    }
+
+    @Override
+    public String description() {
+        return "r2_deletion_queue expiresAt TTL index for DONE items";
+    }
+
+    @Override
+    public void migrate() {
+        ops.ensureIndex("r2_deletion_queue", "idx_r2_deletion_done_ttl", new Document("expiresAt", 1),
+                new IndexOptions().expireAfter(0L, TimeUnit.SECONDS));
+    }
+}
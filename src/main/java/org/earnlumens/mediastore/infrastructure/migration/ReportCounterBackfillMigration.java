@@ -0,0 +1,49 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import org.earnlumens.mediastore.domain.media.repository.ReportCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * V8 — folds reports filed before {@code report_counters} existed into the tallies.
+ * <p>
+ * Report tallies are maintained incrementally from the moment they exist;
+ * older reports are folded in once, by rebuilding the tallies from
+ * {@code reports} while the collection is still empty. The rebuild merges
+ * into existing tallies, so a report counted by a concurrent submission is
+ * not counted twice.
+ */
+@Component
+public class ReportCounterBackfillMigration implements SchemaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportCounterBackfillMigration.class);
+
+    private final MigrationOps ops;
+    private final ReportCounterRepository reportCounterRepository;
+
+    public ReportCounterBackfillMigration(MigrationOps ops, ReportCounterRepository reportCounterRepository) {
+        this.ops = ops;
+        this.reportCounterRepository = reportCounterRepository;
+    }
+
+    @Override
+    public int version() {
+        return 8;
+    }
+
+    @Override
+    public String description() {
+        return "report_counters rebuild from reports";
+    }
+
+    @Override
+    public void migrate() {
+        if (ops.mongoTemplate().getCollection("report_counters").estimatedDocumentCount() > 0) {
+            logger.info("[ReportCounterBackfillMigration] report_counters already populated — skipping rebuild");
+            return;
+        }
+        reportCounterRepository.rebuildFromReports();
+        logger.info("[ReportCounterBackfillMigration] Rebuilt report_counters from reports");
+    }
+}
@@ -0,0 +1,32 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+/**
+ * One versioned change to the database schema or data, applied once
+ * cluster-wide by {@link SchemaMigrationRunner} and recorded in
+ * {@code schema_migrations}.
+ * <p>
+ * Implementations are Spring components. {@link #migrate()} runs on a
+ * background thread after the application is serving, under the migration
+ * lock. It must be idempotent, because a migration that fails (or whose
+ * instance dies mid-run) is not recorded and is retried in full on a later
+ * boot. Index creation goes through {@link MigrationOps#ensureIndex}; data
+ * backfills go through {@link MigrationOps#backfill}, which throttles them
+ * into small batches.
+ */
+public interface SchemaMigration {
+
+    /**
+     * Unique, strictly increasing version; pending migrations run in
+     * ascending order. Never renumber a migration that has shipped.
+     */
+    int version();
+
+    /** Short human-readable summary, stored with the applied record. */
+    String description();
+
+    /**
+     * Applies the change. Throwing leaves the version unrecorded and stops the
+     * run, so later versions never see a half-migrated predecessor.
+     */
+    void migrate() throws Exception;
+}
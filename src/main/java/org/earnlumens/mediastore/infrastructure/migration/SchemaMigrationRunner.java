@@ -0,0 +1,165 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import org.bson.Document;
+import org.earnlumens.mediastore.infrastructure.lock.DistributedLockService;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Versioned migration engine.
+ * <p>
+ * Applies every registered {@link SchemaMigration} exactly once cluster-wide
+ * and records each one in {@code schema_migrations}
+ * ({@code _id = version}). It runs on a background virtual thread once the
+ * application is ready, so index builds and backfills never delay a cold
+ * start or its readiness:
+ * <ol>
+ *   <li>One query reads the applied versions. When nothing is pending, which is
+ *       the case on every boot after the first, that query is the whole
+ *       cost.</li>
+ *   <li>Otherwise the {@code schema-migrations} lock is taken, so only one
+ *       instance migrates. Instances that lose the race skip; the winner
+ *       re-reads the applied versions under the lock.</li>
+ *   <li>Pending migrations run in ascending version order. Each success is
+ *       recorded immediately. The first failure stops the run, and that
+ *       version and the ones after it are retried on a later boot.</li>
+ * </ol>
+ */
+@Component
+public class SchemaMigrationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrationRunner.class);
+
+    static final String COLLECTION = "schema_migrations";
+    static final String LOCK_NAME = "schema-migrations";
+
+    private final List<SchemaMigration> migrations;
+    private final MongoTemplate mongoTemplate;
+    private final DistributedLockService lockService;
+    private final Duration lockLease;
+    private final boolean enabled;
+
+    public SchemaMigrationRunner(
+            List<SchemaMigration> migrations,
+            MongoTemplate mongoTemplate,
+            DistributedLockService lockService,
+            @Value("${mediastore.migrations.lock-lease-minutes:60}") long lockLeaseMinutes,
+            @Value("${mediastore.migrations.enabled:true}") boolean enabled
+    ) {
+        this.migrations = migrations.stream().sorted(Comparator.comparingInt(SchemaMigration::version)).toList();
+        this.mongoTemplate = mongoTemplate;
+        this.lockService = lockService;
+        this.lockLease = Duration.ofMinutes(lockLeaseMinutes);
+        this.enabled = enabled;
+
+        for (int i = 1; i < this.migrations.size(); i++) {
+            if (this.migrations.get(i).version() == this.migrations.get(i - 1).version()) {
+                throw new IllegalStateException("Duplicate schema migration version "
+                        + this.migrations.get(i).version() + ": "
+                        + this.migrations.get(i - 1).getClass().getSimpleName() + ", "
+                        + this.migrations.get(i).getClass().getSimpleName());
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            logger.info("[SchemaMigrationRunner] Disabled (mediastore.migrations.enabled=false)");
+            return;
+        }
+        Thread.ofVirtual().name("schema-migrations").start(() -> TenantContext.runWithoutTenant(this::runPending));
+    }
+
+    /**
+     * Applies the pending migrations, if any and if this instance wins the lock.
+     *
+     * @return number of migrations applied by this call
+     */
+    int runPending() {
+        try {
+            if (pending(appliedVersions()).isEmpty()) {
+                logger.debug("[SchemaMigrationRunner] Schema up to date ({} migrations)", migrations.size());
+                return 0;
+            }
+            if (!lockService.tryAcquire(LOCK_NAME, lockLease)) {
+                logger.info("[SchemaMigrationRunner] Another instance is applying migrations — skipping");
+                return 0;
+            }
+
+            int applied = 0;
+            for (SchemaMigration migration : pending(appliedVersions())) {
+                if (!apply(migration)) {
+                    break;
+                }
+                applied++;
+            }
+            return applied;
+        } catch (Exception e) {
+            logger.error("[SchemaMigrationRunner] Migration run failed: {}", e.getMessage(), e);
+            return 0;
+        }
+    }
+
+    private boolean apply(SchemaMigration migration) {
+        String name = migration.getClass().getSimpleName();
+        logger.info("[SchemaMigrationRunner] Applying V{} {} — {}", migration.version(), name, migration.description());
+        long start = System.nanoTime();
+        try {
+            migration.migrate();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("[SchemaMigrationRunner] V{} {} interrupted; retried on a later boot", migration.version(), name);
+            return false;
+        } catch (Exception e) {
+            logger.error("[SchemaMigrationRunner] V{} {} failed; it and later versions are retried on a later boot: {}",
+                    migration.version(), name, e.getMessage(), e);
+            return false;
+        }
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+
+        Document record = new Document("_id", migration.version())
+                .append("name", name)
+                .append("description", migration.description())
+                .append("appliedAt", new Date())
+                .append("durationMs", durationMs);
+        try {
+            mongoTemplate.insert(record, COLLECTION);
+        } catch (DuplicateKeyException e) {
+            // Recorded by an instance whose lease had lapsed; the migration is idempotent.
+            logger.warn("[SchemaMigrationRunner] V{} was already recorded", migration.version());
+        }
+        logger.info("[SchemaMigrationRunner] Applied V{} {} in {} ms", migration.version(), name, durationMs);
+        return true;
+    }
+
+    /** Whether {@code version} is recorded as applied — a single {@code _id} lookup. */
+    public boolean isApplied(int version) {
+        return mongoTemplate.exists(Query.query(Criteria.where("_id").is(version)), COLLECTION);
+    }
+
+    private List<SchemaMigration> pending(Set<Integer> applied) {
+        return migrations.stream().filter(m -> !applied.contains(m.version())).toList();
+    }
+
+    /** The single version-check query: applied version ids only. */
+    private Set<Integer> appliedVersions() {
+        return new HashSet<>(mongoTemplate.findDistinct(new Query(), "_id", COLLECTION, Integer.class));
+    }
+}
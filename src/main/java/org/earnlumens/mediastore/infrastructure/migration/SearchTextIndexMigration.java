@@ -0,0 +1,83 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * V3 — search scalability indexes (Phase 2, task 2.1 of
+ * SCALABILITY-AUDIT.md — P0-2).
+ * <p>
+ * Does three things, all idempotent:
+ * <ol>
+ *   <li>Backfills the denormalized {@code titleLower} field on {@code entries}
+ *       (lowercase copy of {@code title}) used by index-backed suggestion
+ *       prefix lookups. Only documents missing the field are touched.</li>
+ *   <li>Creates the weighted compound text indexes that back {@code $text}
+ *       search (one text index max per collection). Both are prefixed with
+ *       {@code tenantId + status} equality keys so the index is partitioned per
+ *       tenant — every {@code $text} query on these collections MUST therefore
+ *       include equality conditions on both fields:
+ *       <ul>
+ *         <li>{@code entries}: title:10, tags:8, authorUsername:5, description:1</li>
+ *         <li>{@code collections}: title:10, authorUsername:5, description:1</li>
+ *       </ul>
+ *       {@code default_language: "none"} disables stemming/stop-words so token
+ *       matching is predictable across the platform's 36 content languages.</li>
+ *   <li>Creates the {@code idx_tenant_status_titlelower} compound index for
+ *       suggestion prefix scans.</li>
+ * </ol>
+ */
+@Component
+public class SearchTextIndexMigration implements SchemaMigration {
+
+    private final MigrationOps ops;
+
+    public SearchTextIndexMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return 3;
+    }
+
+    @Override
+    public String description() {
+        return "titleLower backfill + $text search indexes";
+    }
+
+    @Override
+    public void migrate() throws InterruptedException {
+        ops.backfillWithPipeline("entries",
+                Filters.and(
+                        Filters.exists("title", true),
+                        Filters.exists("titleLower", false)),
+                List.of(new Document("$set",
+                        new Document("titleLower", new Document("$toLower", "$title")))));
+
+        ops.ensureIndex("entries", "idx_tenant_status_titlelower",
+                new Document("tenantId", 1).append("status", 1).append("titleLower", 1));
+
+        ops.ensureIndex("entries", "idx_text_search",
+                new Document("tenantId", 1).append("status", 1)
+                        .append("title", "text").append("tags", "text")
+                        .append("authorUsername", "text").append("description", "text"),
+                new IndexOptions()
+                        .weights(new Document("title", 10).append("tags", 8)
+                                .append("authorUsername", 5).append("description", 1))
+                        .defaultLanguage("none"));
+
+        ops.ensureIndex("collections", "idx_coll_text_search",
+                new Document("tenantId", 1).append("status", 1)
+                        .append("title", "text")
+                        .append("authorUsername", "text").append("description", "text"),
+                new IndexOptions()
+                        .weights(new Document("title", 10)
+                                .append("authorUsername", 5).append("description", 1))
+                        .defaultLanguage("none"));
+    }
+}
@@ -0,0 +1,138 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.model.IndexOptions;
+
+import java.util.List;
+
+/**
+ * V5 — seller sales read path.
+ * <p>
+ * Does two things, both idempotent:
+ * <ol>
+ *   <li>Creates {@code idx_order_tenant_seller_status_created_id} on
+ *       {@code orders} — the existing seller index extended with {@code _id}
+ *       so the keyset page and the CSV export cursor are fully index-ordered
+ *       on {@code (createdAt desc, _id desc)} — and the unique
+ *       {@code idx_seller_sales_tenant_seller_day} on {@code seller_sales_daily}.</li>
+ *   <li>Seeds {@code seller_sales_daily} from the COMPLETED orders that predate
+ *       the rollup, in a single server-side aggregation ending in
+ *       {@code $merge}. Amounts are summed at full decimal precision and
+ *       rounded once per day, so a seeded day may differ from the per-split
+ *       rounding of the live path by a stroop or two.</li>
+ * </ol>
+ * <p>
+ * Migrations run after the application is ready, so live sales may already
+ * have {@code $inc}-upserted rows for the same days. The two never count the
+ * same order: the completion CAS marks every order the live path counts with
+ * {@code liveRollup: true}, and the seed takes only COMPLETED orders without
+ * it. A seeded row is added to whatever the live path wrote (never
+ * replaced) and tagged {@code seeded: true}, so a re-run after a partial
+ * {@code $merge} skips the rows it already added to.
+ */
+@Component
+public class SellerSalesRollupMigration implements SchemaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(SellerSalesRollupMigration.class);
+
+    private static final String ROLLUP_COLLECTION = "seller_sales_daily";
+
+    private final MigrationOps ops;
+
+    public SellerSalesRollupMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return 5;
+    }
+
+    @Override
+    public String description() {
+        return "seller sales keyset index + seller_sales_daily seed";
+    }
+
+    @Override
+    public void migrate() {
+        ops.ensureIndex("orders", "idx_order_tenant_seller_status_created_id",
+                new Document("tenantId", 1).append("sellerId", 1).append("status", 1)
+                        .append("createdAt", -1).append("_id", -1));
+        ops.ensureIndex(ROLLUP_COLLECTION, "idx_seller_sales_tenant_seller_day",
+                new Document("tenantId", 1).append("sellerId", 1).append("day", 1),
+                new IndexOptions().unique(true));
+
+        var rollup = ops.mongoTemplate().getCollection(ROLLUP_COLLECTION);
+        ops.mongoTemplate().getCollection("orders").aggregate(seedPipeline()).allowDiskUse(true).toCollection();
+        logger.info("[SellerSalesRollupMigration] Seeded {} with {} seller-day documents",
+                ROLLUP_COLLECTION, rollup.estimatedDocumentCount());
+    }
+
+    /**
+     * COMPLETED orders not counted live → one document per (tenant, seller,
+     * UTC completion day) with order count, gross stroops and the SELLER-split
+     * stroops, added to any row the live path already holds.
+     */
+    static List<Document> seedPipeline() {
+        Document sellerPercent = new Document("$reduce", new Document("input",
+                new Document("$filter", new Document("input", new Document("$ifNull", List.of("$paymentSplits", List.of())))
+                        .append("as", "s")
+                        .append("cond", new Document("$eq", List.of("$$s.role", "SELLER")))))
+                .append("initialValue", new Document("$toDecimal", "0"))
+                .append("in", new Document("$add", List.of("$$value", new Document("$toDecimal", "$$this.percent")))));
+
+        return List.of(
+                new Document("$match", new Document("status", "COMPLETED")
+                        .append("completedAt", new Document("$type", "date"))
+                        .append("liveRollup", new Document("$ne", true))),
+                new Document("$project", new Document("tenantId", 1)
+                        .append("sellerId", 1)
+                        .append("day", new Document("$dateToString",
+                                new Document("format", "%Y-%m-%d").append("date", "$completedAt")))
+                        .append("gross", new Document("$toDecimal",
+                                new Document("$ifNull", List.of("$amountXlm", "0"))))
+                        .append("sellerPercent", sellerPercent)),
+                new Document("$group", new Document("_id",
+                        new Document("t", "$tenantId").append("s", "$sellerId").append("d", "$day"))
+                        .append("orders", new Document("$sum", 1))
+                        .append("gross", new Document("$sum", "$gross"))
+                        .append("seller", new Document("$sum", new Document("$divide", List.of(
+                                new Document("$multiply", List.of("$gross", "$sellerPercent")), 100))))),
+                new Document("$project", new Document("_id",
+                        new Document("$concat", List.of("$_id.t", ":", "$_id.s", ":", "$_id.d")))
+                        .append("tenantId", "$_id.t")
+                        .append("sellerId", "$_id.s")
+                        .append("day", "$_id.d")
+                        .append("orders", new Document("$toLong", "$orders"))
+                        .append("grossStroops", toStroops("$gross"))
+                        .append("sellerStroops", toStroops("$seller"))
+                        .append("seeded", true)
+                        .append("updatedAt", "$$NOW")),
+                new Document("$merge", new Document("into", ROLLUP_COLLECTION)
+                        .append("on", "_id")
+                        .append("whenMatched", List.of(new Document("$set", new Document()
+                                .append("orders", addSeedOnce("orders"))
+                                .append("grossStroops", addSeedOnce("grossStroops"))
+                                .append("sellerStroops", addSeedOnce("sellerStroops"))
+                                .append("seeded", true)
+                                .append("updatedAt", "$$NOW"))))
+                        .append("whenNotMatched", "insert")));
+    }
+
+    /** Live counter plus the seeded one, unless this row already took its seed. */
+    private static Document addSeedOnce(String field) {
+        return new Document("$cond", List.of(
+                new Document("$eq", List.of("$seeded", true)),
+                "$" + field,
+                new Document("$add", List.of(new Document("$ifNull", List.of("$" + field, 0L)), "$$new." + field))));
+    }
+
+    private static Document toStroops(String xlmField) {
+        return new Document("$toLong", new Document("$round",
+                List.of(new Document("$multiply", List.of(xlmField, 10_000_000L)), 0)));
+    }
+}
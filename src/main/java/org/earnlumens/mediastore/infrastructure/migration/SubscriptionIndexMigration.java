@@ -0,0 +1,43 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+/**
+ * V9 — subscription list and counter indexes.
+ * <p>
+ * Creates {@code idx_sub_tenant_sub_date_id} and
+ * {@code idx_sub_tenant_target_date_id} on {@code subscriptions}, which end
+ * in {@code _id} so the keyset list endpoints seek on
+ * {@code (subscribedAt, _id)} without a sort, and
+ * {@code idx_sub_counts_reconciled_at} on {@code subscription_counts} for the
+ * reconciliation worker.
+ */
+@Component
+public class SubscriptionIndexMigration implements SchemaMigration {
+
+    private final MigrationOps ops;
+
+    public SubscriptionIndexMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return 9;
+    }
+
+    @Override
+    public String description() {
+        return "subscription keyset indexes + subscription_counts reconciledAt index";
+    }
+
+    @Override
+    public void migrate() {
+        ops.ensureIndex("subscriptions", "idx_sub_tenant_sub_date_id",
+                new Document("tenantId", 1).append("subscriberId", 1).append("subscribedAt", -1).append("_id", -1));
+        ops.ensureIndex("subscriptions", "idx_sub_tenant_target_date_id",
+                new Document("tenantId", 1).append("targetUserId", 1).append("subscribedAt", -1).append("_id", -1));
+        ops.ensureIndex("subscription_counts", "idx_sub_counts_reconciled_at", new Document("reconciledAt", 1));
+    }
+}
@@ -0,0 +1,41 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import com.mongodb.client.model.IndexOptions;
+import org.bson.Document;
+import org.springframework.stereotype.Component;
+
+/**
+ * V11 — login-path indexes on {@code users}, found by the index audit
+ * ({@code ./gradlew indexAudit}).
+ * <p>
+ * Creates {@code idx_user_oauth_user_id} for {@code findByOauthUserId} (every
+ * login and token refresh) and the sparse {@code idx_user_temp_uuid} for the
+ * one-time {@code tempUUID} exchange; {@code tempUUID} is cleared once used,
+ * so the sparse index only holds in-flight logins.
+ */
+@Component
+public class UserLookupIndexMigration implements SchemaMigration {
+
+    private final MigrationOps ops;
+
+    public UserLookupIndexMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return 11;
+    }
+
+    @Override
+    public String description() {
+        return "users oauthUserId + tempUUID indexes";
+    }
+
+    @Override
+    public void migrate() {
+        ops.ensureIndex("users", "idx_user_oauth_user_id", new Document("oauthUserId", 1));
+        ops.ensureIndex("users", "idx_user_temp_uuid", new Document("tempUUID", 1),
+                new IndexOptions().sparse(true));
+    }
+}
@@ -0,0 +1,98 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * V10 — indexed case-insensitive username lookups.
+ * <p>
+ * Does three things, all idempotent:
+ * <ol>
+ *   <li>Backfills {@code usernameLower} on {@code users} (lowercase copy of
+ *       {@code username}) using an aggregation-pipeline update. Only
+ *       documents missing the field are touched.</li>
+ *   <li>Releases duplicate names: a stored account keeps its old X username
+ *       until its owner logs in again, so a rename followed by someone else
+ *       claiming the name leaves two users with the same lowercase name. The
+ *       most recent login keeps it; the others lose {@code usernameLower}
+ *       until their own next login refreshes their name.</li>
+ *   <li>Creates the unique {@code idx_user_username_lower} index, partial on
+ *       {@code usernameLower} existing so released accounts stay out of it.
+ *       (An equality match implies {@code $exists}, so the planner can use a
+ *       partial index on it; it cannot infer a {@code $type} filter.)</li>
+ * </ol>
+ */
+@Component
+public class UsernameLowerIndexMigration implements SchemaMigration {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsernameLowerIndexMigration.class);
+
+    public static final int VERSION = 10;
+
+    private final MigrationOps ops;
+
+    public UsernameLowerIndexMigration(MigrationOps ops) {
+        this.ops = ops;
+    }
+
+    @Override
+    public int version() {
+        return VERSION;
+    }
+
+    @Override
+    public String description() {
+        return "usernameLower backfill + unique username index";
+    }
+
+    @Override
+    public void migrate() throws InterruptedException {
+        ops.backfillWithPipeline("users",
+                Filters.and(
+                        Filters.type("username", BsonType.STRING),
+                        Filters.exists("usernameLower", false)),
+                List.of(new Document("$set",
+                        new Document("usernameLower",
+                                new Document("$toLower", "$username")))));
+
+        releaseDuplicateUsernames();
+
+        ops.ensureIndex("users", "idx_user_username_lower", new Document("usernameLower", 1),
+                new IndexOptions().unique(true)
+                        .partialFilterExpression(Filters.exists("usernameLower")));
+    }
+
+    private void releaseDuplicateUsernames() {
+        MongoCollection<Document> users = ops.mongoTemplate().getCollection("users");
+        List<Document> duplicates = users.aggregate(List.of(
+                        Aggregates.match(Filters.type("usernameLower", BsonType.STRING)),
+                        Aggregates.sort(Sorts.descending("lastLoginAt")),
+                        Aggregates.group("$usernameLower",
+                                Accumulators.push("ids", "$_id"),
+                                Accumulators.sum("count", 1)),
+                        Aggregates.match(Filters.gt("count", 1))))
+                .allowDiskUse(true)
+                .into(new ArrayList<>());
+
+        for (Document duplicate : duplicates) {
+            List<Object> stale = new ArrayList<>(duplicate.getList("ids", Object.class));
+            stale.remove(0); // most recent login keeps the name
+            users.updateMany(Filters.in("_id", stale), Updates.unset("usernameLower"));
+            logger.warn("[UsernameLowerIndexMigration] Released username '{}' from {} stale account(s)",
+                    duplicate.get("_id"), stale.size());
+        }
+    }
+}
@@ -9,8 +9,11 @@ import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.AssetMa
 import org.earnlumens.mediastore.infrastructure.persistence.media.repository.AssetMongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Repository
 public class AssetRepositoryImpl implements AssetRepository {
@@ -39,6 +42,28 @@ public class AssetRepositoryImpl implements AssetRepository {
                 .toList();
     }
 
+    @Override
+    public List<Asset> findByTenantIdAndEntryIdInAndKind(String tenantId, Collection<String> entryIds, MediaKind kind) {
+        if (entryIds.isEmpty()) {
+            return List.of();
+        }
+        return assetMongoRepository.findByTenantIdAndEntryIdInAndKind(tenantId, entryIds, kind.name())
+                .stream()
+                .map(assetMapper::toModel)
+                .toList();
+    }
+
+    @Override
+    public Set<String> findEntryIdsWithAssetsByTenantIdAndEntryIdIn(String tenantId, Collection<String> entryIds) {
+        if (entryIds.isEmpty()) {
+            return Set.of();
+        }
+        return assetMongoRepository.findEntryIdsByTenantIdAndEntryIdIn(tenantId, entryIds)
+                .stream()
+                .map(AssetEntity::getEntryId)
+                .collect(Collectors.toSet());
+    }
+
     @Override
     public Asset save(Asset asset) {
         AssetEntity entity = assetMapper.toEntity(asset);
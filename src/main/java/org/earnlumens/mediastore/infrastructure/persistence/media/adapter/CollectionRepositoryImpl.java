@@ -3,36 +3,61 @@ package org.earnlumens.mediastore.infrastructure.persistence.media.adapter;
 import org.earnlumens.mediastore.domain.media.model.Collection;
 import org.earnlumens.mediastore.domain.media.model.CollectionStatus;
 import org.earnlumens.mediastore.domain.media.model.MediaVisibility;
+import org.earnlumens.mediastore.domain.media.model.OwnerStats;
 import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
 import org.earnlumens.mediastore.infrastructure.persistence.media.entity.CollectionEntity;
 import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.CollectionMapper;
 import org.earnlumens.mediastore.infrastructure.persistence.media.repository.CollectionMongoRepository;
+import org.earnlumens.mediastore.infrastructure.web.ContentScope;
+import org.earnlumens.mediastore.infrastructure.web.ContentVersionService;
 import com.mongodb.client.result.UpdateResult;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Collection persistence adapter. Like {@link EntryRepositoryImpl}, keeps the
+ * owner's {@code owner_stats} collection counters in step on status-changing
+ * writes and deletes, and bumps the tenant's {@link ContentScope#CATALOG}
+ * version on the same writes.
+ */
 @Repository
 public class CollectionRepositoryImpl implements CollectionRepository {
 
+    private static final Logger logger = LoggerFactory.getLogger(CollectionRepositoryImpl.class);
+
     private final CollectionMongoRepository collectionMongoRepository;
     private final CollectionMapper collectionMapper;
     private final MongoTemplate mongoTemplate;
+    private final OwnerStatsRepository ownerStatsRepository;
+    private final ContentVersionService contentVersionService;
 
     public CollectionRepositoryImpl(CollectionMongoRepository collectionMongoRepository,
                                     CollectionMapper collectionMapper,
-                                    MongoTemplate mongoTemplate) {
+                                    MongoTemplate mongoTemplate,
+                                    OwnerStatsRepository ownerStatsRepository,
+                                    ContentVersionService contentVersionService) {
         this.collectionMongoRepository = collectionMongoRepository;
         this.collectionMapper = collectionMapper;
         this.mongoTemplate = mongoTemplate;
+        this.ownerStatsRepository = ownerStatsRepository;
+        this.contentVersionService = contentVersionService;
     }
 
     @Override
@@ -96,15 +121,76 @@ public class CollectionRepositoryImpl implements CollectionRepository {
         return result.getModifiedCount();
     }
 
+    @Override
+    public Map<String, Long> countByTenantIdAndUserIdGroupByStatus(String tenantId, String userId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("tenantId").is(tenantId).and("userId").is(userId)),
+                Aggregation.group("status").count().as("count"));
+        Map<String, Long> counts = new HashMap<>();
+        mongoTemplate.aggregate(aggregation, CollectionEntity.class, Document.class)
+                .forEach(doc -> {
+                    String status = doc.getString("_id");
+                    if (status != null) {
+                        counts.put(status, ((Number) doc.get("count")).longValue());
+                    }
+                });
+        return counts;
+    }
+
     @Override
     public Collection save(Collection collection) {
         CollectionEntity entity = collectionMapper.toEntity(collection);
-        CollectionEntity saved = collectionMongoRepository.save(entity);
-        return collectionMapper.toModel(saved);
+        if (entity.getId() == null) {
+            CollectionEntity saved = collectionMongoRepository.save(entity);
+            applyOwnerStatsDelta(saved.getTenantId(), saved.getUserId(),
+                    OwnerStats.collectionDelta(null, saved.getStatus()));
+            bumpCatalog(saved.getTenantId(), null, saved.getStatus());
+            return collectionMapper.toModel(saved);
+        }
+
+        Query query = Query.query(Criteria.where("_id").is(entity.getId()));
+        query.fields().include("status");
+        CollectionEntity previous = mongoTemplate.findAndReplace(query, entity, FindAndReplaceOptions.options().upsert());
+        String previousStatus = previous != null ? previous.getStatus() : null;
+        applyOwnerStatsDelta(entity.getTenantId(), entity.getUserId(),
+                OwnerStats.collectionDelta(previousStatus, entity.getStatus()));
+        bumpCatalog(entity.getTenantId(), previousStatus, entity.getStatus());
+        return collectionMapper.toModel(entity);
     }
 
     @Override
     public void deleteByTenantIdAndId(String tenantId, String id) {
-        collectionMongoRepository.deleteByTenantIdAndId(tenantId, id);
+        Query query = Query.query(Criteria.where("tenantId").is(tenantId).and("_id").is(id));
+        query.fields().include("status").include("userId");
+        CollectionEntity removed = mongoTemplate.findAndRemove(query, CollectionEntity.class);
+        if (removed != null) {
+            applyOwnerStatsDelta(tenantId, removed.getUserId(), OwnerStats.collectionDelta(removed.getStatus(), null));
+            bumpCatalog(tenantId, removed.getStatus(), null);
+        }
+    }
+
+    /** Invalidates the tenant's public catalog ETags unless the collection was and stays a draft. */
+    private void bumpCatalog(String tenantId, String from, String to) {
+        if (isDraftOrAbsent(from) && isDraftOrAbsent(to)) {
+            return;
+        }
+        contentVersionService.bump(tenantId, ContentScope.CATALOG);
+    }
+
+    private static boolean isDraftOrAbsent(String status) {
+        return status == null || CollectionStatus.DRAFT.name().equals(status);
+    }
+
+    /** Best effort: the reconciliation job repairs any counter drift. A zero delta is not written. */
+    private void applyOwnerStatsDelta(String tenantId, String userId, Map<String, Long> delta) {
+        if (userId == null || delta.values().stream().allMatch(v -> v == 0)) {
+            return;
+        }
+        try {
+            ownerStatsRepository.incrementByTenantIdAndUserId(tenantId, userId, delta);
+        } catch (Exception e) {
+            logger.warn("OWNER_STATS_UPDATE_FAILED tenant={}, userId={}, delta={}: {}",
+                    tenantId, userId, delta, e.getMessage());
+        }
     }
 }
@@ -2,15 +2,23 @@ package org.earnlumens.mediastore.infrastructure.persistence.media.adapter;
 
 import org.earnlumens.mediastore.domain.media.model.Entitlement;
 import org.earnlumens.mediastore.domain.media.model.EntitlementStatus;
+import org.earnlumens.mediastore.domain.media.model.PurchaseLibraryPage;
 import org.earnlumens.mediastore.domain.media.model.TargetType;
 import org.earnlumens.mediastore.domain.media.repository.EntitlementRepository;
 import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntitlementEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
 import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.EntitlementMapper;
+import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.EntryMapper;
 import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntitlementMongoRepository;
+import org.bson.Document;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -21,11 +29,17 @@ public class EntitlementRepositoryImpl implements EntitlementRepository {
 
     private final EntitlementMongoRepository entitlementMongoRepository;
     private final EntitlementMapper entitlementMapper;
+    private final EntryMapper entryMapper;
+    private final MongoTemplate mongoTemplate;
 
     public EntitlementRepositoryImpl(EntitlementMongoRepository entitlementMongoRepository,
-                                     EntitlementMapper entitlementMapper) {
+                                     EntitlementMapper entitlementMapper,
+                                     EntryMapper entryMapper,
+                                     MongoTemplate mongoTemplate) {
         this.entitlementMongoRepository = entitlementMongoRepository;
         this.entitlementMapper = entitlementMapper;
+        this.entryMapper = entryMapper;
+        this.mongoTemplate = mongoTemplate;
     }
 
     @Override
@@ -94,12 +108,46 @@ public class EntitlementRepositoryImpl implements EntitlementRepository {
     }
 
     @Override
-    public Page<Entitlement> findByTenantIdAndUserIdAndStatus(
-            String tenantId, String userId, EntitlementStatus status, Pageable pageable) {
-        return entitlementMongoRepository
-                .findByTenantIdAndUserIdAndStatusOrderByGrantedAtDesc(
-                        tenantId, userId, status.name(), pageable)
-                .map(entitlementMapper::toModel);
+    public long countByTenantIdAndUserIdAndStatus(String tenantId, String userId, EntitlementStatus status) {
+        return entitlementMongoRepository.countByTenantIdAndUserIdAndStatus(tenantId, userId, status.name());
+    }
+
+    @Override
+    public PurchaseLibraryPage findLibraryPageByTenantIdAndUserId(String tenantId, String userId,
+                                                                  LocalDateTime afterGrantedAt, String afterId,
+                                                                  int skip, int limit) {
+        Document result = entitlementMongoRepository.findLibraryPage(
+                tenantId, userId, afterGrantedAt, afterId, skip, limit);
+        if (result == null) {
+            return new PurchaseLibraryPage(List.of(), 0, null, null, false);
+        }
+
+        MongoConverter converter = mongoTemplate.getConverter();
+        List<PurchaseLibraryPage.Item> items = result.getList("items", Document.class).stream()
+                .map(doc -> new PurchaseLibraryPage.Item(
+                        entryMapper.toModel(converter.read(EntryEntity.class, doc.get("entry", Document.class))),
+                        toLocalDateTime(doc.get("grantedAt")),
+                        doc.getInteger("direct", 0) == 0))
+                .toList();
+
+        List<Document> window = result.getList("window", Document.class);
+        if (window.isEmpty()) {
+            return new PurchaseLibraryPage(items, 0, null, null, false);
+        }
+        Document w = window.get(0);
+        return new PurchaseLibraryPage(
+                items,
+                w.getInteger("n", 0),
+                toLocalDateTime(w.get("lastGrantedAt")),
+                w.get("lastId") != null ? w.get("lastId").toString() : null,
+                !result.getList("more", Document.class).isEmpty());
+    }
+
+    /** Raw BSON dates come back as {@link Date}; read them the way the mapping layer does. */
+    private LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Date date
+                ? mongoTemplate.getConverter().getConversionService().convert(date, LocalDateTime.class)
+                : null;
     }
 
     @Override
@@ -111,16 +159,6 @@ public class EntitlementRepositoryImpl implements EntitlementRepository {
                 .map(entitlementMapper::toModel);
     }
 
-    @Override
-    public Set<String> findAllEntitledEntryIds(String tenantId, String userId, EntitlementStatus status) {
-        return entitlementMongoRepository
-                .findByTenantIdAndUserIdAndTargetTypeAndStatus(tenantId, userId, TargetType.ENTRY.name(), status.name())
-                .stream()
-                .map(EntitlementEntity::getEntryId)
-                .filter(id -> id != null)
-                .collect(Collectors.toSet());
-    }
-
     @Override
     public Set<String> findAllEntitledCollectionIds(String tenantId, String userId, EntitlementStatus status) {
         return entitlementMongoRepository
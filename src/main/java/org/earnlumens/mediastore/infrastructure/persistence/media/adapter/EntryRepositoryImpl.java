@@ -1,29 +1,71 @@
 package org.earnlumens.mediastore.infrastructure.persistence.media.adapter;
 
 import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryAccessView;
+import org.earnlumens.mediastore.domain.media.model.EntryItemView;
+import org.earnlumens.mediastore.domain.media.model.EntryPricingView;
 import org.earnlumens.mediastore.domain.media.model.EntryStatus;
 import org.earnlumens.mediastore.domain.media.model.EntryType;
+import org.earnlumens.mediastore.domain.media.model.OwnerStats;
 import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
 import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
 import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.EntryMapper;
 import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntryMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.ReadRoute;
+import org.earnlumens.mediastore.infrastructure.web.ContentScope;
+import org.earnlumens.mediastore.infrastructure.web.ContentVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Entry persistence adapter. Also the single write path that keeps the
+ * creator's {@code owner_stats} counters in step: status-changing writes
+ * read the previous status atomically (find-and-replace / find-and-remove)
+ * and apply the exact delta. The same writes bump the tenant's
+ * {@link ContentScope#CATALOG} version: find-and-replace and find-and-remove
+ * raise no mapping event that carries the tenant and the new status.
+ */
 @Repository
 public class EntryRepositoryImpl implements EntryRepository {
 
+    private static final Logger logger = LoggerFactory.getLogger(EntryRepositoryImpl.class);
+
     private final EntryMongoRepository entryMongoRepository;
     private final EntryMapper entryMapper;
-
-    public EntryRepositoryImpl(EntryMongoRepository entryMongoRepository, EntryMapper entryMapper) {
+    private final MongoTemplate mongoTemplate;
+    private final OwnerStatsRepository ownerStatsRepository;
+    private final MongoReadRouter readRouter;
+    private final ContentVersionService contentVersionService;
+    private final EntryViewCounter viewCounter;
+
+    public EntryRepositoryImpl(EntryMongoRepository entryMongoRepository, EntryMapper entryMapper,
+                               MongoTemplate mongoTemplate, OwnerStatsRepository ownerStatsRepository,
+                               MongoReadRouter readRouter, ContentVersionService contentVersionService,
+                               EntryViewCounter viewCounter) {
         this.entryMongoRepository = entryMongoRepository;
         this.entryMapper = entryMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.ownerStatsRepository = ownerStatsRepository;
+        this.readRouter = readRouter;
+        this.contentVersionService = contentVersionService;
+        this.viewCounter = viewCounter;
     }
 
     @Override
@@ -32,6 +74,32 @@ public class EntryRepositoryImpl implements EntryRepository {
                 .map(entryMapper::toModel);
     }
 
+    @Override
+    public Optional<EntryAccessView> findAccessViewByTenantIdAndId(String tenantId, String id) {
+        return entryMongoRepository.findAccessFieldsByTenantIdAndId(tenantId, id)
+                .map(entryMapper::toAccessView);
+    }
+
+    @Override
+    public List<EntryAccessView> findAccessViewsByTenantIdAndIdIn(String tenantId, List<String> ids) {
+        return entryMongoRepository.findAccessFieldsByTenantIdAndIdIn(tenantId, ids).stream()
+                .map(entryMapper::toAccessView)
+                .toList();
+    }
+
+    @Override
+    public Optional<EntryPricingView> findPricingViewByTenantIdAndId(String tenantId, String id) {
+        return entryMongoRepository.findPricingFieldsByTenantIdAndId(tenantId, id)
+                .map(entryMapper::toPricingView);
+    }
+
+    @Override
+    public List<EntryItemView> findItemViewsByTenantIdAndIdIn(String tenantId, List<String> ids) {
+        return entryMongoRepository.findItemFieldsByTenantIdAndIdIn(tenantId, ids).stream()
+                .map(entryMapper::toItemView)
+                .toList();
+    }
+
     @Override
     public Page<Entry> findByTenantIdAndStatus(String tenantId, EntryStatus status, Pageable pageable) {
         return entryMongoRepository.findByTenantIdAndStatusOrderByPublishedAtDesc(tenantId, status.name(), pageable)
@@ -40,8 +108,16 @@ public class EntryRepositoryImpl implements EntryRepository {
 
     @Override
     public Page<Entry> findByTenantIdAndSpaceIdAndStatus(String tenantId, String spaceId, EntryStatus status, Pageable pageable) {
-        return entryMongoRepository
-                .findByTenantIdAndSpaceIdsContainingAndStatusOrderByPublishedAtDesc(tenantId, spaceId, status.name(), pageable)
+        // Public space feed: entries whose spaceIds contain the space, newest first
+        // (idx_tenant_space_status_published). Routed, so it may be served by a secondary.
+        MongoTemplate template = readRouter.template(ReadRoute.SPACE_FEED);
+        Query query = new Query(Criteria.where("tenantId").is(tenantId)
+                .and("spaceIds").is(spaceId)
+                .and("status").is(status.name()))
+                .with(Sort.by(Sort.Direction.DESC, "publishedAt"));
+        List<EntryEntity> page = template.find(Query.of(query).with(pageable), EntryEntity.class);
+        return PageableExecutionUtils.getPage(page, pageable,
+                        () -> template.count(query, EntryEntity.class))
                 .map(entryMapper::toModel);
     }
 
@@ -130,8 +206,35 @@ public class EntryRepositoryImpl implements EntryRepository {
     }
 
     @Override
-    public void incrementViewCount(String tenantId, String entryId) {
-        entryMongoRepository.incrementViewCount(tenantId, entryId);
+    public List<Entry> findByTenantIdAndStatusAndTypeAfterId(String tenantId, EntryStatus status, EntryType type,
+                                                             String afterId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<EntryEntity> entities = afterId == null
+                ? entryMongoRepository.findByTenantIdAndStatusAndTypeOrderByIdAsc(
+                        tenantId, status.name(), type.name(), page)
+                : entryMongoRepository.findByTenantIdAndStatusAndTypeAndIdGreaterThanOrderByIdAsc(
+                        tenantId, status.name(), type.name(), afterId, page);
+        return entities.stream()
+                .map(entryMapper::toModel)
+                .toList();
+    }
+
+    @Override
+    public long updateDurationSecByTenantId(String tenantId, java.util.Map<String, Integer> durationByEntryId) {
+        if (durationByEntryId.isEmpty()) {
+            return 0;
+        }
+        return entryMongoRepository.updateDurationSecByTenantId(tenantId, durationByEntryId);
+    }
+
+    @Override
+    public void incrementViewCount(String tenantId, String entryId, String ownerId) {
+        viewCounter.record(tenantId, entryId, ownerId);
+    }
+
+    @Override
+    public void incrementPublicViewCount(String tenantId, String entryId) {
+        viewCounter.recordPublic(tenantId, entryId);
     }
 
     @Override
@@ -152,14 +255,67 @@ public class EntryRepositoryImpl implements EntryRepository {
     @Override
     public Entry save(Entry entry) {
         EntryEntity entity = entryMapper.toEntity(entry);
-        EntryEntity saved = entryMongoRepository.save(entity);
-        return entryMapper.toModel(saved);
+        if (entity.getId() == null) {
+            EntryEntity saved = entryMongoRepository.save(entity);
+            applyOwnerStatsDelta(saved.getTenantId(), saved.getUserId(),
+                    OwnerStats.entryDelta(null, saved.getStatus()));
+            bumpCatalog(saved.getTenantId(), null, saved.getStatus());
+            return entryMapper.toModel(saved);
+        }
+
+        // Replace and get the previous status in one round trip, so the
+        // owner_stats delta is exact even when two writers race.
+        Query query = Query.query(Criteria.where("_id").is(entity.getId()));
+        query.fields().include("status");
+        EntryEntity previous = mongoTemplate.findAndReplace(query, entity, FindAndReplaceOptions.options().upsert());
+        String previousStatus = previous != null ? previous.getStatus() : null;
+        applyOwnerStatsDelta(entity.getTenantId(), entity.getUserId(),
+                OwnerStats.entryDelta(previousStatus, entity.getStatus()));
+        bumpCatalog(entity.getTenantId(), previousStatus, entity.getStatus());
+        return entryMapper.toModel(entity);
     }
 
     @Override
     public void deleteByTenantIdAndId(String tenantId, String id) {
-        entryMongoRepository.findByTenantIdAndId(tenantId, id)
-                .ifPresent(entity -> entryMongoRepository.deleteById(entity.getId()));
+        Query query = Query.query(Criteria.where("tenantId").is(tenantId).and("_id").is(id));
+        query.fields().include("status").include("userId");
+        EntryEntity removed = mongoTemplate.findAndRemove(query, EntryEntity.class);
+        if (removed != null) {
+            applyOwnerStatsDelta(tenantId, removed.getUserId(), OwnerStats.entryDelta(removed.getStatus(), null));
+            bumpCatalog(tenantId, removed.getStatus(), null);
+        }
+    }
+
+    /**
+     * Invalidates the tenant's public catalog ETags unless the entry was and
+     * stays a draft (or absent): drafts are in no public representation.
+     */
+    private void bumpCatalog(String tenantId, String from, String to) {
+        if (isDraftOrAbsent(from) && isDraftOrAbsent(to)) {
+            return;
+        }
+        contentVersionService.bump(tenantId, ContentScope.CATALOG);
+    }
+
+    private static boolean isDraftOrAbsent(String status) {
+        return status == null || EntryStatus.DRAFT.name().equals(status);
+    }
+
+    /**
+     * Best effort: the entry write already succeeded, and the reconciliation
+     * job repairs any counter drift. A zero delta (status unchanged) skips the
+     * owner_stats round trip.
+     */
+    private void applyOwnerStatsDelta(String tenantId, String userId, Map<String, Long> delta) {
+        if (userId == null || delta.values().stream().allMatch(v -> v == 0)) {
+            return;
+        }
+        try {
+            ownerStatsRepository.incrementByTenantIdAndUserId(tenantId, userId, delta);
+        } catch (Exception e) {
+            logger.warn("OWNER_STATS_UPDATE_FAILED tenant={}, userId={}, delta={}: {}",
+                    tenantId, userId, delta, e.getMessage());
+        }
     }
 
     @Override
@@ -194,18 +350,10 @@ public class EntryRepositoryImpl implements EntryRepository {
     }
 
     @Override
-    public java.util.List<org.bson.Document> findPurchasedFeedItems(String tenantId,
-                                                                      java.util.Set<String> entryIds, java.util.Set<String> collectionIds,
-                                                                      String type, String search, String sort,
-                                                                      int skip, int limit) {
-        return entryMongoRepository.findPurchasedFeedItems(tenantId, entryIds, collectionIds, type, search, sort, skip, limit);
-    }
-
-    @Override
-    public long countPurchasedFeedItems(String tenantId,
-                                         java.util.Set<String> entryIds, java.util.Set<String> collectionIds,
-                                         String type, String search) {
-        return entryMongoRepository.countPurchasedFeedItems(tenantId, entryIds, collectionIds, type, search);
+    public org.bson.Document findPurchasedFeed(String tenantId, String userId,
+                                               String type, String search, String sort,
+                                               int skip, int limit) {
+        return entryMongoRepository.findPurchasedFeed(tenantId, userId, type, search, sort, skip, limit);
     }
 
     @Override
@@ -0,0 +1,129 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.adapter;
+
+import jakarta.annotation.PreDestroy;
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntryMongoRepository;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Buffers entry views in memory and writes them in batches, so a detail view
+ * costs no Mongo write on the request path. Each flush (default every 5 s,
+ * configurable via {@code mediastore.views.flush-interval-ms}) issues, per
+ * tenant, one unordered bulk {@code $inc} on {@code entries.viewCount} and one
+ * on the owners' {@code owner_stats.totalViews}.
+ *
+ * <p>Views counted without loading the entry (a 304 or a cached body) carry
+ * no owner: the flush looks their owners up in one query and drops those whose
+ * entry is no longer PUBLISHED or UNLISTED.
+ *
+ * <p>Views buffered on an instance that dies before flushing are lost, and a
+ * failed flush is dropped rather than retried (a partly applied unordered bulk
+ * write would be counted twice). The {@code owner_stats} reconciliation
+ * rebuilds {@code totalViews} from {@code entries}, so the two stay consistent.
+ */
+@Component
+public class EntryViewCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EntryViewCounter.class);
+
+    /** One entry's pending views: loaded by the caller (owner known) and anonymous ones (owner looked up). */
+    record Pending(String ownerId, long views, long publicViews) {
+
+        Pending plus(Pending other) {
+            return new Pending(ownerId != null ? ownerId : other.ownerId,
+                    views + other.views, publicViews + other.publicViews);
+        }
+    }
+
+    private record Key(String tenantId, String entryId) {}
+
+    private final ConcurrentHashMap<Key, Pending> pending = new ConcurrentHashMap<>();
+
+    private final EntryMongoRepository entryMongoRepository;
+    private final OwnerStatsRepository ownerStatsRepository;
+
+    public EntryViewCounter(EntryMongoRepository entryMongoRepository, OwnerStatsRepository ownerStatsRepository) {
+        this.entryMongoRepository = entryMongoRepository;
+        this.ownerStatsRepository = ownerStatsRepository;
+    }
+
+    /** Counts one view of an entry the caller loaded; {@code ownerId} is its userId. */
+    public void record(String tenantId, String entryId, String ownerId) {
+        pending.merge(new Key(tenantId, entryId), new Pending(ownerId, 1, 0), Pending::plus);
+    }
+
+    /** Counts one anonymous view answered without loading the entry. */
+    public void recordPublic(String tenantId, String entryId) {
+        pending.merge(new Key(tenantId, entryId), new Pending(null, 0, 1), Pending::plus);
+    }
+
+    /** Views buffered and not yet flushed, across tenants. */
+    long pendingViews() {
+        return pending.values().stream().mapToLong(p -> p.views() + p.publicViews()).sum();
+    }
+
+    @Scheduled(fixedDelayString = "${mediastore.views.flush-interval-ms:5000}",
+               initialDelayString = "${mediastore.views.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        // remove() per key is atomic against merge(): a view recorded while
+        // draining lands either in this batch or in the next one.
+        Map<String, Map<String, Pending>> byTenant = new HashMap<>();
+        for (Key key : pending.keySet()) {
+            Pending drained = pending.remove(key);
+            if (drained != null) {
+                byTenant.computeIfAbsent(key.tenantId(), t -> new HashMap<>()).put(key.entryId(), drained);
+            }
+        }
+        TenantContext.runWithoutTenant(() -> byTenant.forEach(this::flushTenant));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private void flushTenant(String tenantId, Map<String, Pending> views) {
+        try {
+            List<String> unresolved = views.entrySet().stream()
+                    .filter(e -> e.getValue().publicViews() > 0)
+                    .map(Map.Entry::getKey)
+                    .toList();
+            Map<String, String> publicOwners = unresolved.isEmpty()
+                    ? Map.of()
+                    : entryMongoRepository.findPublicOwnerIdsByTenantIdAndIdIn(tenantId, unresolved);
+
+            Map<String, Long> viewsByEntryId = new HashMap<>();
+            Map<String, Long> viewsByUserId = new HashMap<>();
+            views.forEach((entryId, p) -> {
+                String publicOwner = publicOwners.get(entryId);
+                long count = p.views() + (publicOwner != null ? p.publicViews() : 0);
+                String ownerId = p.ownerId() != null ? p.ownerId() : publicOwner;
+                if (count == 0 || ownerId == null) {
+                    return;
+                }
+                viewsByEntryId.put(entryId, count);
+                viewsByUserId.merge(ownerId, count, Long::sum);
+            });
+            if (viewsByEntryId.isEmpty()) {
+                return;
+            }
+            entryMongoRepository.incrementViewCounts(tenantId, viewsByEntryId);
+            ownerStatsRepository.incrementTotalViewsByTenantId(tenantId, viewsByUserId);
+        } catch (Exception e) {
+            logger.warn("View count flush for tenant '{}' failed, dropping {} entr(y/ies): {}",
+                    tenantId, views.size(), e.getMessage());
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.earnlumens.mediastore.infrastructure.persistence.media.entity.OrderEn
 import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.OrderMapper;
 import org.earnlumens.mediastore.infrastructure.persistence.media.repository.OrderMongoRepository;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public class OrderRepositoryImpl implements OrderRepository {
@@ -24,6 +26,12 @@ public class OrderRepositoryImpl implements OrderRepository {
     /** findAndModify must return the post-update document so callers see the new status. */
     private static final FindAndModifyOptions RETURN_NEW = FindAndModifyOptions.options().returnNew(true);
 
+    /** Matches {@code idx_order_tenant_seller_status_created_id} so keyset scans never sort in memory. */
+    private static final Sort SELLER_KEYSET_SORT = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("_id"));
+
+    /** Documents per getMore round-trip when streaming a seller's sales. */
+    private static final int STREAM_BATCH_SIZE = 500;
+
     private final OrderMongoRepository orderMongoRepository;
     private final OrderMapper orderMapper;
     private final MongoTemplate mongoTemplate;
@@ -80,13 +88,33 @@ public class OrderRepositoryImpl implements OrderRepository {
     }
 
     @Override
-    public List<Order> findByTenantIdAndSellerIdAndStatus(String tenantId, String sellerId, OrderStatus status) {
-        return orderMongoRepository.findByTenantIdAndSellerIdAndStatusOrderByCompletedAtDesc(tenantId, sellerId, status.name())
+    public List<Order> findPageByTenantIdAndSellerIdAndStatus(String tenantId, String sellerId, OrderStatus status,
+                                                              LocalDateTime afterCreatedAt, String afterId, int limit) {
+        Criteria criteria = Criteria.where("tenantId").is(tenantId)
+                .and("sellerId").is(sellerId)
+                .and("status").is(status.name());
+        if (afterCreatedAt != null && afterId != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("createdAt").lt(afterCreatedAt),
+                    Criteria.where("createdAt").is(afterCreatedAt).and("_id").lt(afterId));
+        }
+        Query query = Query.query(criteria).with(SELLER_KEYSET_SORT).limit(limit);
+        return mongoTemplate.find(query, OrderEntity.class)
                 .stream()
                 .map(orderMapper::toModel)
                 .toList();
     }
 
+    @Override
+    public Stream<Order> streamByTenantIdAndSellerIdAndStatus(String tenantId, String sellerId, OrderStatus status) {
+        Query query = Query.query(Criteria.where("tenantId").is(tenantId)
+                        .and("sellerId").is(sellerId)
+                        .and("status").is(status.name()))
+                .with(SELLER_KEYSET_SORT)
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, OrderEntity.class).map(orderMapper::toModel);
+    }
+
     @Override
     public Order save(Order order) {
         OrderEntity entity = orderMapper.toEntity(order);
@@ -126,7 +154,8 @@ public class OrderRepositoryImpl implements OrderRepository {
         Update update = new Update()
                 .set("status", OrderStatus.COMPLETED.name())
                 .set("stellarTxHash", stellarTxHash)
-                .set("completedAt", completedAt);
+                .set("completedAt", completedAt)
+                .set(OrderEntity.LIVE_ROLLUP, true);
         OrderEntity updated = mongoTemplate.findAndModify(query, update, RETURN_NEW, OrderEntity.class);
         return Optional.ofNullable(updated).map(orderMapper::toModel);
     }
@@ -0,0 +1,159 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.adapter;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.earnlumens.mediastore.application.payment.OrderStatusNotifier;
+import org.earnlumens.mediastore.domain.media.model.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Tails a change stream on {@code orders} and forwards status transitions to
+ * {@link OrderStatusNotifier}, so a checkout long-polling on one instance is
+ * woken when the order is finalized on another (background submit, watchdog).
+ *
+ * <p>The pipeline is filtered server-side to updates that touch {@code status}
+ * and projected down to the order id and the new status, so each event is a
+ * few dozen bytes regardless of order size. The stream runs on one virtual
+ * thread per instance; on error it reopens after the last seen resume token
+ * (with backoff), and falls back to a fresh stream if the token is gone.
+ * Missing an event only delays a waiter until its long-poll timeout — the
+ * client then re-asks and reads the stored status.
+ *
+ * <p>Requires a replica set (Atlas always is); on a standalone {@code mongod}
+ * the stream cannot open and waiters are woken in-process only.
+ */
+@Component
+public class OrderStatusChangeStream {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusChangeStream.class);
+
+    static final String COLLECTION = "orders";
+    private static final long MAX_BACKOFF_MS = 60_000L;
+
+    private final MongoTemplate mongoTemplate;
+    private final OrderStatusNotifier notifier;
+    private final boolean enabled;
+    private volatile boolean running;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+
+    public OrderStatusChangeStream(
+            MongoTemplate mongoTemplate,
+            OrderStatusNotifier notifier,
+            @Value("${mediastore.payments.order-status.change-stream.enabled:true}") boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.notifier = notifier;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            logger.info("[OrderStatusChangeStream] Disabled (mediastore.payments.order-status.change-stream.enabled=false)");
+            return;
+        }
+        running = true;
+        Thread.ofVirtual().name("order-status-change-stream").start(this::tail);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void onContextClosed() {
+        running = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> open = cursor;
+        if (open != null) {
+            open.close();
+        }
+    }
+
+    private void tail() {
+        BsonDocument resumeToken = null;
+        long backoffMs = 1_000L;
+        while (running) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> open = open(resumeToken)) {
+                cursor = open;
+                logger.info("[OrderStatusChangeStream] Watching {} (resumed={})", COLLECTION, resumeToken != null);
+                backoffMs = 1_000L;
+                while (running) {
+                    ChangeStreamDocument<Document> event = open.next();
+                    resumeToken = event.getResumeToken();
+                    dispatch(event);
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                logger.warn("[OrderStatusChangeStream] Stream interrupted, reopening in {} ms: {}",
+                        backoffMs, e.getMessage());
+                if (e instanceof MongoCommandException mce && mce.getErrorCode() == 286) {
+                    resumeToken = null; // ChangeStreamHistoryLost — start from now
+                }
+                sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open(BsonDocument resumeToken) {
+        var stream = mongoTemplate.getCollection(COLLECTION).watch(List.of(
+                Aggregates.match(Filters.and(
+                        Filters.eq("operationType", "update"),
+                        Filters.exists("updateDescription.updatedFields.status"))),
+                Aggregates.project(Projections.include(
+                        "operationType", "documentKey", "updateDescription.updatedFields.status"))));
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        return stream.cursor();
+    }
+
+    void dispatch(ChangeStreamDocument<Document> event) {
+        BsonDocument key = event.getDocumentKey();
+        if (key == null || event.getUpdateDescription() == null
+                || event.getUpdateDescription().getUpdatedFields() == null) {
+            return;
+        }
+        BsonValue status = event.getUpdateDescription().getUpdatedFields().get("status");
+        if (status == null || !status.isString()) {
+            return;
+        }
+        String orderId = idOf(key.get("_id"));
+        try {
+            notifier.publish(orderId, OrderStatus.valueOf(status.asString().getValue()));
+        } catch (IllegalArgumentException e) {
+            logger.debug("[OrderStatusChangeStream] Ignoring unknown status {} for order {}", status, orderId);
+        }
+    }
+
+    private static String idOf(BsonValue id) {
+        if (id == null) {
+            return null;
+        }
+        if (id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id.isString() ? id.asString().getValue() : id.toString();
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.adapter;
+
+import org.earnlumens.mediastore.domain.media.model.OwnerStats;
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.OwnerStatsEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.OwnerStatsMapper;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+public class OwnerStatsRepositoryImpl implements OwnerStatsRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final OwnerStatsMapper mapper;
+
+    public OwnerStatsRepositoryImpl(MongoTemplate mongoTemplate, OwnerStatsMapper mapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Optional<OwnerStats> findByTenantIdAndUserId(String tenantId, String userId) {
+        return Optional.ofNullable(mongoTemplate.findById(OwnerStats.idFor(tenantId, userId), OwnerStatsEntity.class))
+                .map(mapper::toModel);
+    }
+
+    @Override
+    public void incrementByTenantIdAndUserId(String tenantId, String userId, Map<String, Long> deltas) {
+        if (deltas.values().stream().allMatch(v -> v == 0)) {
+            return;
+        }
+        Query query = Query.query(Criteria.where("_id").is(OwnerStats.idFor(tenantId, userId)));
+        Update update = new Update()
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now(ZoneOffset.UTC));
+        deltas.forEach(update::inc);
+        mongoTemplate.updateFirst(query, update, OwnerStatsEntity.class);
+    }
+
+    @Override
+    public void incrementTotalViewsByTenantId(String tenantId, Map<String, Long> viewsByUserId) {
+        if (viewsByUserId.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OwnerStatsEntity.class);
+        viewsByUserId.forEach((userId, views) -> bulk.updateOne(
+                Query.query(Criteria.where("_id").is(OwnerStats.idFor(tenantId, userId))),
+                new Update()
+                        .inc(OwnerStats.TOTAL_VIEWS, views)
+                        .inc("version", 1)
+                        .set("updatedAt", now)));
+        bulk.execute();
+    }
+
+    @Override
+    public boolean replaceByTenantIdAndUserId(String tenantId, String userId, OwnerStats rebuilt,
+                                              Long expectedVersion) {
+        OwnerStatsEntity entity = mapper.toEntity(rebuilt);
+        entity.setId(OwnerStats.idFor(tenantId, userId));
+        entity.setTenantId(tenantId);
+        entity.setUserId(userId);
+
+        if (expectedVersion == null) {
+            entity.setVersion(1);
+            try {
+                mongoTemplate.insert(entity);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false; // another request built it first
+            }
+        }
+
+        entity.setVersion(expectedVersion + 1);
+        Query query = Query.query(Criteria.where("_id").is(entity.getId()).and("version").is(expectedVersion));
+        return mongoTemplate.replace(query, entity).getMatchedCount() == 1;
+    }
+
+    @Override
+    public List<OwnerStats> findByReconciledAtBefore(LocalDateTime cutoff, int limit) {
+        Query query = Query.query(Criteria.where("reconciledAt").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "reconciledAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, OwnerStatsEntity.class)
+                .stream()
+                .map(mapper::toModel)
+                .toList();
+    }
+}
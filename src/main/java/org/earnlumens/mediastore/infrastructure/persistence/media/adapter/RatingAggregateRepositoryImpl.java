@@ -6,6 +6,10 @@ import org.earnlumens.mediastore.domain.media.repository.RatingAggregateReposito
 import org.earnlumens.mediastore.infrastructure.persistence.media.entity.RatingAggregateEntity;
 import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.RatingAggregateMapper;
 import org.earnlumens.mediastore.infrastructure.persistence.media.repository.RatingAggregateMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.ReadRoute;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -15,11 +19,14 @@ public class RatingAggregateRepositoryImpl implements RatingAggregateRepository
 
     private final RatingAggregateMongoRepository mongoRepository;
     private final RatingAggregateMapper mapper;
+    private final MongoReadRouter readRouter;
 
     public RatingAggregateRepositoryImpl(RatingAggregateMongoRepository mongoRepository,
-                                         RatingAggregateMapper mapper) {
+                                         RatingAggregateMapper mapper,
+                                         MongoReadRouter readRouter) {
         this.mongoRepository = mongoRepository;
         this.mapper = mapper;
+        this.readRouter = readRouter;
     }
 
     @Override
@@ -30,6 +37,17 @@ public class RatingAggregateRepositoryImpl implements RatingAggregateRepository
                 .map(mapper::toModel);
     }
 
+    @Override
+    public Optional<RatingAggregate> findPublicByTenantIdAndTargetTypeAndTargetId(
+            String tenantId, TargetType targetType, String targetId) {
+        Query query = new Query(Criteria.where("tenantId").is(tenantId)
+                .and("targetType").is(targetType.name())
+                .and("targetId").is(targetId));
+        return Optional.ofNullable(readRouter.template(ReadRoute.RATING_AGGREGATES)
+                        .findOne(query, RatingAggregateEntity.class))
+                .map(mapper::toModel);
+    }
+
     @Override
     public RatingAggregate save(RatingAggregate aggregate) {
         RatingAggregateEntity entity = mapper.toEntity(aggregate);
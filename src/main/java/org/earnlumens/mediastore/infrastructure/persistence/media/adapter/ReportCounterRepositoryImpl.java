@@ -0,0 +1,172 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.adapter;
+
+import com.mongodb.client.model.FindOneAndUpdateOptions;
+import com.mongodb.client.model.ReturnDocument;
+import org.bson.Document;
+import org.earnlumens.mediastore.domain.media.model.ReportCounter;
+import org.earnlumens.mediastore.domain.media.model.ReportResolution;
+import org.earnlumens.mediastore.domain.media.repository.ReportCounterRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.ReportCounterEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.ReportCounterMapper;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class ReportCounterRepositoryImpl implements ReportCounterRepository {
+
+    private static final String COLLECTION = "report_counters";
+
+    /** Rebuilt tallies overwrite totals/resolutions but keep the velocity ring. */
+    private static final Document MERGE = Document.parse("""
+            { "$merge": { "into": "report_counters", "on": "_id",
+                          "whenMatched": "merge", "whenNotMatched": "insert" } }
+            """);
+
+    private final MongoTemplate mongoTemplate;
+    private final ReportCounterMapper mapper;
+
+    public ReportCounterRepositoryImpl(MongoTemplate mongoTemplate, ReportCounterMapper mapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public List<ReportCounter> findByTenantIdAndIdIn(String tenantId, List<String> ids) {
+        Query query = Query.query(Criteria.where("_id").in(ids).and("tenantId").is(tenantId));
+        return mongoTemplate.find(query, ReportCounterEntity.class)
+                .stream()
+                .map(mapper::toModel)
+                .toList();
+    }
+
+    @Override
+    public long recordReportByTenantId(String tenantId, String targetId, String reporterUserId,
+                                       String creatorUserId, LocalDateTime at) {
+        // Reporter and creator tallies in one round trip.
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReportCounterEntity.class);
+        bulk.upsert(byId(tenantId, ReportCounter.REPORTER, reporterUserId),
+                reportFiled(tenantId, ReportCounter.REPORTER, reporterUserId, at));
+        bulk.upsert(byId(tenantId, ReportCounter.CREATOR, creatorUserId),
+                reportFiled(tenantId, ReportCounter.CREATOR, creatorUserId, at));
+        bulk.execute();
+
+        // Target total + velocity ring in a single pipeline update, so the
+        // ring is pruned to the last hour atomically with the increment.
+        Document result = mongoTemplate.getCollection(COLLECTION).findOneAndUpdate(
+                new Document("_id", ReportCounter.idFor(tenantId, ReportCounter.TARGET, targetId)),
+                List.of(targetIncrement(tenantId, targetId, ReportCounter.velocityBucket(at))),
+                new FindOneAndUpdateOptions().upsert(true).returnDocument(ReturnDocument.AFTER));
+        return result != null && result.get("total") instanceof Number n ? n.longValue() : 1;
+    }
+
+    @Override
+    public void recordResolutionByTenantId(String tenantId, String reporterUserId, String creatorUserId,
+                                           ReportResolution from, ReportResolution to) {
+        if (from == to) {
+            return;
+        }
+        Update update = new Update()
+                .inc("resolutions." + from.name(), -1)
+                .inc("resolutions." + to.name(), 1)
+                .set("updatedAt", LocalDateTime.now());
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ReportCounterEntity.class);
+        bulk.updateOne(byId(tenantId, ReportCounter.REPORTER, reporterUserId), update);
+        bulk.updateOne(byId(tenantId, ReportCounter.CREATOR, creatorUserId), update);
+        bulk.execute();
+    }
+
+    @Override
+    public void rebuildFromReports() {
+        var reports = mongoTemplate.getCollection("reports");
+        reports.aggregate(List.of(
+                Document.parse("""
+                    { "$group": { "_id": { "t": "$tenantId", "s": "$entryId" }, "total": { "$sum": 1 } } }
+                    """),
+                rebuildProject(ReportCounter.TARGET, false),
+                MERGE)).toCollection();
+        reports.aggregate(resolutionRebuild("$reporterUserId", ReportCounter.REPORTER)).toCollection();
+        reports.aggregate(resolutionRebuild("$creatorUserId", ReportCounter.CREATOR)).toCollection();
+    }
+
+    // ── Helpers ─────────────────────────────────────────────────────────────
+
+    private static Query byId(String tenantId, String kind, String subjectId) {
+        return Query.query(Criteria.where("_id").is(ReportCounter.idFor(tenantId, kind, subjectId)));
+    }
+
+    private static Update reportFiled(String tenantId, String kind, String subjectId, LocalDateTime at) {
+        return new Update()
+                .setOnInsert("tenantId", tenantId)
+                .setOnInsert("kind", kind)
+                .setOnInsert("subjectId", subjectId)
+                .inc("total", 1)
+                .inc("resolutions." + ReportResolution.OPEN.name(), 1)
+                .set("updatedAt", at);
+    }
+
+    /**
+     * {@code $set} stage that bumps {@code total} and the current velocity
+     * bucket, dropping buckets that fell out of the hour-long ring.
+     */
+    private static Document targetIncrement(String tenantId, String targetId, long bucket) {
+        String current = Long.toString(bucket);
+        long oldest = bucket - (ReportCounter.VELOCITY_BUCKETS - 1);
+        Document velocity = new Document("$ifNull", List.of("$velocity", new Document()));
+
+        Document kept = new Document("$filter", new Document("input", new Document("$objectToArray", velocity))
+                .append("cond", new Document("$and", List.of(
+                        new Document("$gte", List.of(new Document("$toLong", "$$this.k"), oldest)),
+                        new Document("$ne", List.of("$$this.k", current))))));
+        Document bumped = new Document("k", current).append("v", new Document("$add", List.of(
+                new Document("$ifNull", List.of(
+                        new Document("$getField", new Document("field", current).append("input", velocity)),
+                        0L)),
+                1L)));
+
+        return new Document("$set", new Document()
+                .append("tenantId", tenantId)
+                .append("kind", ReportCounter.TARGET)
+                .append("subjectId", targetId)
+                .append("total", new Document("$add", List.of(new Document("$ifNull", List.of("$total", 0L)), 1L)))
+                .append("velocity", new Document("$arrayToObject",
+                        new Document("$concatArrays", List.of(kept, List.of(bumped)))))
+                .append("updatedAt", "$$NOW"));
+    }
+
+    private static List<Document> resolutionRebuild(String subjectField, String kind) {
+        return List.of(
+                new Document("$group", new Document("_id", new Document("t", "$tenantId")
+                        .append("s", subjectField)
+                        .append("r", new Document("$ifNull", List.of("$resolution", ReportResolution.OPEN.name()))))
+                        .append("n", new Document("$sum", 1))),
+                Document.parse("""
+                    { "$group": {
+                        "_id": { "t": "$_id.t", "s": "$_id.s" },
+                        "total": { "$sum": "$n" },
+                        "resolutions": { "$push": { "k": "$_id.r", "v": { "$toLong": "$n" } } }
+                    }}
+                    """),
+                rebuildProject(kind, true),
+                MERGE);
+    }
+
+    private static Document rebuildProject(String kind, boolean withResolutions) {
+        Document project = new Document("_id", new Document("$concat", List.of("$_id.t", ":" + kind + ":", "$_id.s")))
+                .append("tenantId", "$_id.t")
+                .append("kind", new Document("$literal", kind))
+                .append("subjectId", "$_id.s")
+                .append("total", new Document("$toLong", "$total"))
+                .append("updatedAt", "$$NOW");
+        if (withResolutions) {
+            project.append("resolutions", new Document("$arrayToObject", "$resolutions"));
+        }
+        return new Document("$project", project);
+    }
+}
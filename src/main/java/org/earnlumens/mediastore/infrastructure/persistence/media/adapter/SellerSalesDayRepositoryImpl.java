@@ -0,0 +1,56 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.adapter;
+
+import org.earnlumens.mediastore.domain.media.model.SellerSalesDay;
+import org.earnlumens.mediastore.domain.media.repository.SellerSalesDayRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.SellerSalesDayEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.SellerSalesDayMapper;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Repository
+public class SellerSalesDayRepositoryImpl implements SellerSalesDayRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final SellerSalesDayMapper mapper;
+
+    public SellerSalesDayRepositoryImpl(MongoTemplate mongoTemplate, SellerSalesDayMapper mapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public void incrementByTenantIdAndSellerIdAndDay(String tenantId, String sellerId, String day,
+                                                     long orders, long grossStroops, long sellerStroops) {
+        Query query = Query.query(Criteria.where("_id").is(SellerSalesDay.idFor(tenantId, sellerId, day)));
+        Update update = new Update()
+                .inc("orders", orders)
+                .inc("grossStroops", grossStroops)
+                .inc("sellerStroops", sellerStroops)
+                .set("updatedAt", LocalDateTime.now(ZoneOffset.UTC))
+                .setOnInsert("tenantId", tenantId)
+                .setOnInsert("sellerId", sellerId)
+                .setOnInsert("day", day);
+        mongoTemplate.upsert(query, update, SellerSalesDayEntity.class);
+    }
+
+    @Override
+    public List<SellerSalesDay> findByTenantIdAndSellerIdAndDayBetween(String tenantId, String sellerId,
+                                                                       String fromDay, String toDay) {
+        Query query = Query.query(Criteria.where("tenantId").is(tenantId)
+                        .and("sellerId").is(sellerId)
+                        .and("day").gte(fromDay).lte(toDay))
+                .with(Sort.by(Sort.Direction.ASC, "day"));
+        return mongoTemplate.find(query, SellerSalesDayEntity.class)
+                .stream()
+                .map(mapper::toModel)
+                .toList();
+    }
+}
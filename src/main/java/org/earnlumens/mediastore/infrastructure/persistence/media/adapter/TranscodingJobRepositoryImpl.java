@@ -3,14 +3,18 @@ package org.earnlumens.mediastore.infrastructure.persistence.media.adapter;
 import org.earnlumens.mediastore.domain.media.model.TranscodingJob;
 import org.earnlumens.mediastore.domain.media.model.TranscodingJobStatus;
 import org.earnlumens.mediastore.domain.media.repository.TranscodingJobRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.TranscodingJobEntity;
 import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.TranscodingJobMapper;
 import org.earnlumens.mediastore.infrastructure.persistence.media.repository.TranscodingJobMongoRepository;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Repository
 public class TranscodingJobRepositoryImpl implements TranscodingJobRepository {
@@ -71,4 +75,35 @@ public class TranscodingJobRepositoryImpl implements TranscodingJobRepository {
     public Optional<TranscodingJob> findActiveByTenantIdAndEntryId(String tenantId, String entryId) {
         return mongoRepository.findActiveByTenantIdAndEntryId(tenantId, entryId).map(mapper::toModel);
     }
+
+    @Override
+    public Set<String> findActiveEntryIdsByTenantIdAndEntryIdIn(String tenantId, Collection<String> entryIds) {
+        if (entryIds.isEmpty()) {
+            return Set.of();
+        }
+        return mongoRepository.findActiveEntryIdsByTenantIdAndEntryIdIn(tenantId, entryIds)
+                .stream()
+                .map(TranscodingJobEntity::getEntryId)
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<TranscodingJob> insertAllForTenantId(String tenantId, List<TranscodingJob> jobs) {
+        if (jobs.isEmpty()) {
+            return List.of();
+        }
+        for (TranscodingJob job : jobs) {
+            if (!tenantId.equals(job.getTenantId())) {
+                throw new IllegalArgumentException("Job tenant " + job.getTenantId()
+                        + " does not match batch tenant " + tenantId);
+            }
+        }
+        List<TranscodingJobEntity> entities = jobs.stream()
+                .map(mapper::toEntity)
+                .toList();
+        return mongoRepository.insert(entities)
+                .stream()
+                .map(mapper::toModel)
+                .toList();
+    }
 }
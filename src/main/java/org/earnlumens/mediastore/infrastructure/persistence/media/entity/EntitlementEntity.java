@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @CompoundIndex(name = "idx_tenant_entry_status", def = "{'tenantId': 1, 'entryId': 1, 'status': 1}")
 @CompoundIndex(name = "idx_ent_tenant_coll_status", def = "{'tenantId': 1, 'collectionId': 1, 'status': 1}")
 @CompoundIndex(name = "idx_tenant_user_status_granted", def = "{'tenantId': 1, 'userId': 1, 'status': 1, 'grantedAt': -1}")
+@CompoundIndex(name = "idx_ent_tenant_user_status_granted_id", def = "{'tenantId': 1, 'userId': 1, 'status': 1, 'grantedAt': -1, '_id': -1}")
 public class EntitlementEntity {
 
     @Id
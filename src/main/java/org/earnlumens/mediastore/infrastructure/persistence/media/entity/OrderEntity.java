@@ -18,11 +18,19 @@ import java.util.List;
 @CompoundIndex(name = "idx_order_tenant_coll_status", def = "{'tenantId': 1, 'collectionId': 1, 'status': 1}")
 @CompoundIndex(name = "idx_order_tenant_user_status_created", def = "{'tenantId': 1, 'userId': 1, 'status': 1, 'createdAt': -1}")
 @CompoundIndex(name = "idx_order_tenant_seller_status_created", def = "{'tenantId': 1, 'sellerId': 1, 'status': 1, 'createdAt': -1}")
+@CompoundIndex(name = "idx_order_tenant_seller_status_created_id", def = "{'tenantId': 1, 'sellerId': 1, 'status': 1, 'createdAt': -1, '_id': -1}")
 @CompoundIndex(name = "idx_order_tenant_franchise_status_created", def = "{'tenantId': 1, 'franchiseId': 1, 'status': 1, 'createdAt': -1}")
 @CompoundIndex(name = "idx_order_stellar_tx", def = "{'stellarTxHash': 1}")
 @CompoundIndex(name = "idx_order_status_expires", def = "{'status': 1, 'expiresAt': 1}")
 public class OrderEntity {
 
+    /**
+     * Set to {@code true} by the completion CAS: the order's seller_sales_daily
+     * row is incremented by the live payment path. COMPLETED orders without it
+     * predate that path and are counted by the V5 seed instead.
+     */
+    public static final String LIVE_ROLLUP = "liveRollup";
+
     @Id
     private String id;
 
@@ -0,0 +1,85 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.entity;
+
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Materialized Creator Studio counters, one document per (tenant, user).
+ * The id is {@code tenantId:userId}, so the stats endpoint is a single
+ * {@code _id} read instead of an aggregation over the creator's entries.
+ */
+@Document(collection = "owner_stats")
+@CompoundIndex(name = "idx_owner_stats_reconciled_at", def = "{'reconciledAt': 1}")
+public class OwnerStatsEntity {
+
+    @Id
+    private String id;
+
+    @NotBlank
+    private String tenantId;
+
+    @NotBlank
+    private String userId;
+
+    private Map<String, Long> entries = new HashMap<>();
+
+    private Map<String, Long> collections = new HashMap<>();
+
+    private long totalEntries;
+
+    private long totalCollections;
+
+    private long totalViews;
+
+    private long totalSales;
+
+    private long version;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime reconciledAt;
+
+    public OwnerStatsEntity() {}
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public Map<String, Long> getEntries() { return entries; }
+    public void setEntries(Map<String, Long> entries) { this.entries = entries; }
+
+    public Map<String, Long> getCollections() { return collections; }
+    public void setCollections(Map<String, Long> collections) { this.collections = collections; }
+
+    public long getTotalEntries() { return totalEntries; }
+    public void setTotalEntries(long totalEntries) { this.totalEntries = totalEntries; }
+
+    public long getTotalCollections() { return totalCollections; }
+    public void setTotalCollections(long totalCollections) { this.totalCollections = totalCollections; }
+
+    public long getTotalViews() { return totalViews; }
+    public void setTotalViews(long totalViews) { this.totalViews = totalViews; }
+
+    public long getTotalSales() { return totalSales; }
+    public void setTotalSales(long totalSales) { this.totalSales = totalSales; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+    public void setReconciledAt(LocalDateTime reconciledAt) { this.reconciledAt = reconciledAt; }
+}
@@ -0,0 +1,64 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.entity;
+
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Report tally for one target, reporter or creator. The id is
+ * {@code tenantId:kind:subjectId}, so priority scoring reads its three
+ * tallies by {@code _id} instead of counting {@code reports}.
+ */
+@Document(collection = "report_counters")
+public class ReportCounterEntity {
+
+    @Id
+    private String id;
+
+    @NotBlank
+    private String tenantId;
+
+    @NotBlank
+    private String kind;
+
+    @NotBlank
+    private String subjectId;
+
+    private long total;
+
+    private Map<String, Long> resolutions = new HashMap<>();
+
+    private Map<String, Long> velocity = new HashMap<>();
+
+    private LocalDateTime updatedAt;
+
+    public ReportCounterEntity() {}
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
+
+    public String getKind() { return kind; }
+    public void setKind(String kind) { this.kind = kind; }
+
+    public String getSubjectId() { return subjectId; }
+    public void setSubjectId(String subjectId) { this.subjectId = subjectId; }
+
+    public long getTotal() { return total; }
+    public void setTotal(long total) { this.total = total; }
+
+    public Map<String, Long> getResolutions() { return resolutions; }
+    public void setResolutions(Map<String, Long> resolutions) { this.resolutions = resolutions; }
+
+    public Map<String, Long> getVelocity() { return velocity; }
+    public void setVelocity(Map<String, Long> velocity) { this.velocity = velocity; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
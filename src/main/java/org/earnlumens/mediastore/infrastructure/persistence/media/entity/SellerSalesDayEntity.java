@@ -0,0 +1,66 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.entity;
+
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-seller daily sales rollup, one document per (tenant, seller, UTC day).
+ * Incremented with {@code $inc} by the payment flow when an order completes,
+ * so seller totals are a short range read instead of a scan over
+ * {@code orders}. The id is {@code tenantId:sellerId:day}.
+ */
+@Document(collection = "seller_sales_daily")
+@CompoundIndex(name = "idx_seller_sales_tenant_seller_day", def = "{'tenantId': 1, 'sellerId': 1, 'day': 1}", unique = true)
+public class SellerSalesDayEntity {
+
+    @Id
+    private String id;
+
+    @NotBlank
+    private String tenantId;
+
+    @NotBlank
+    private String sellerId;
+
+    /** UTC day, {@code yyyy-MM-dd}. */
+    @NotBlank
+    private String day;
+
+    private long orders;
+
+    private long grossStroops;
+
+    private long sellerStroops;
+
+    private LocalDateTime updatedAt;
+
+    public SellerSalesDayEntity() {}
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
+
+    public String getSellerId() { return sellerId; }
+    public void setSellerId(String sellerId) { this.sellerId = sellerId; }
+
+    public String getDay() { return day; }
+    public void setDay(String day) { this.day = day; }
+
+    public long getOrders() { return orders; }
+    public void setOrders(long orders) { this.orders = orders; }
+
+    public long getGrossStroops() { return grossStroops; }
+    public void setGrossStroops(long grossStroops) { this.grossStroops = grossStroops; }
+
+    public long getSellerStroops() { return sellerStroops; }
+    public void setSellerStroops(long sellerStroops) { this.sellerStroops = sellerStroops; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
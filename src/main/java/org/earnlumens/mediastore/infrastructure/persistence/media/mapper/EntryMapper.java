@@ -1,6 +1,9 @@
 package org.earnlumens.mediastore.infrastructure.persistence.media.mapper;
 
 import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryAccessView;
+import org.earnlumens.mediastore.domain.media.model.EntryItemView;
+import org.earnlumens.mediastore.domain.media.model.EntryPricingView;
 import org.earnlumens.mediastore.domain.media.model.EntryStatus;
 import org.earnlumens.mediastore.domain.media.model.EntryType;
 import org.earnlumens.mediastore.domain.media.model.MediaVisibility;
@@ -43,6 +46,31 @@ public interface EntryMapper {
     @Mapping(target = "titleLower", source = "title", qualifiedByName = "toLowerCase")
     EntryEntity toEntity(Entry model);
 
+    // ── Projected views (built by hand: only the projected fields are set) ──
+
+    default EntryAccessView toAccessView(EntryEntity entity) {
+        if (entity == null) return null;
+        return new EntryAccessView(entity.getId(), entity.getUserId(),
+                stringToEntryType(entity.getType()), stringToEntryStatus(entity.getStatus()),
+                entity.isPaid(), entity.isHlsReady(), entity.getHlsR2Prefix());
+    }
+
+    default EntryPricingView toPricingView(EntryEntity entity) {
+        if (entity == null) return null;
+        return new EntryPricingView(entity.getId(), entity.getUserId(),
+                stringToEntryStatus(entity.getStatus()), entity.isPaid(),
+                stringToPriceCurrency(entity.getPriceCurrency()), entity.getPriceXlm(), entity.getPriceUsd(),
+                entitiesToSplits(entity.getPaymentSplits()), entity.getSellerWallet());
+    }
+
+    default EntryItemView toItemView(EntryEntity entity) {
+        if (entity == null) return null;
+        return new EntryItemView(entity.getId(), stringToEntryType(entity.getType()),
+                stringToEntryStatus(entity.getStatus()), entity.isPaid(), entity.getPriceXlm(),
+                entity.getTitle(), entity.getDescription(), entity.getAuthorUsername(),
+                entity.getThumbnailR2Key(), entity.getThumbnailVariantsPrefix(), entity.getDurationSec());
+    }
+
     @Named("toLowerCase")
     default String toLowerCase(String value) {
         return value == null ? null : value.toLowerCase(java.util.Locale.ROOT);
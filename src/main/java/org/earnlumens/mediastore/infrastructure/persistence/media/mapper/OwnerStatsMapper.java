@@ -0,0 +1,13 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.mapper;
+
+import org.earnlumens.mediastore.domain.media.model.OwnerStats;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.OwnerStatsEntity;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface OwnerStatsMapper {
+
+    OwnerStats toModel(OwnerStatsEntity entity);
+
+    OwnerStatsEntity toEntity(OwnerStats model);
+}
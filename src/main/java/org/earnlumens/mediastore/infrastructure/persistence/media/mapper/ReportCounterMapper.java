@@ -0,0 +1,13 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.mapper;
+
+import org.earnlumens.mediastore.domain.media.model.ReportCounter;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.ReportCounterEntity;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface ReportCounterMapper {
+
+    ReportCounter toModel(ReportCounterEntity entity);
+
+    ReportCounterEntity toEntity(ReportCounter model);
+}
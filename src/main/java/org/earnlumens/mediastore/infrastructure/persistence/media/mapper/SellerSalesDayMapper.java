@@ -0,0 +1,13 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.mapper;
+
+import org.earnlumens.mediastore.domain.media.model.SellerSalesDay;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.SellerSalesDayEntity;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface SellerSalesDayMapper {
+
+    SellerSalesDay toModel(SellerSalesDayEntity entity);
+
+    SellerSalesDayEntity toEntity(SellerSalesDay model);
+}
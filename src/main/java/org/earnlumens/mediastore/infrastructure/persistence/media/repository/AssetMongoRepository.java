@@ -2,7 +2,9 @@ package org.earnlumens.mediastore.infrastructure.persistence.media.repository;
 
 import org.earnlumens.mediastore.infrastructure.persistence.media.entity.AssetEntity;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +14,14 @@ public interface AssetMongoRepository extends MongoRepository<AssetEntity, Strin
             String tenantId, String entryId, String kind, String status);
 
     List<AssetEntity> findByTenantIdAndEntryId(String tenantId, String entryId);
+
+    /** Served by {@code idx_tenant_entry_kind}. */
+    List<AssetEntity> findByTenantIdAndEntryIdInAndKind(String tenantId, Collection<String> entryIds, String kind);
+
+    /**
+     * Batched "has any asset" probe, served by the {@code tenantId, entryId}
+     * prefix of {@code idx_tenant_entry_kind}. Projects only {@code entryId}.
+     */
+    @Query(value = "{ 'tenantId': ?0, 'entryId': { $in: ?1 } }", fields = "{ 'entryId': 1 }")
+    List<AssetEntity> findEntryIdsByTenantIdAndEntryIdIn(String tenantId, Collection<String> entryIds);
 }
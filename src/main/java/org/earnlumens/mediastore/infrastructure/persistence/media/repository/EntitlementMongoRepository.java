@@ -7,7 +7,8 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface EntitlementMongoRepository extends MongoRepository<EntitlementEntity, String> {
+public interface EntitlementMongoRepository extends MongoRepository<EntitlementEntity, String>,
+        EntitlementMongoRepositoryCustom {
 
     boolean existsByTenantIdAndUserIdAndEntryIdAndStatus(
             String tenantId, String userId, String entryId, String status);
@@ -21,8 +22,7 @@ public interface EntitlementMongoRepository extends MongoRepository<EntitlementE
     List<EntitlementEntity> findByTenantIdAndUserIdAndTargetTypeAndCollectionIdInAndStatus(
             String tenantId, String userId, String targetType, List<String> collectionIds, String status);
 
-    Page<EntitlementEntity> findByTenantIdAndUserIdAndStatusOrderByGrantedAtDesc(
-            String tenantId, String userId, String status, Pageable pageable);
+    long countByTenantIdAndUserIdAndStatus(String tenantId, String userId, String status);
 
     Page<EntitlementEntity> findByTenantIdAndUserIdAndTargetTypeAndStatusOrderByGrantedAtDesc(
             String tenantId, String userId, String targetType, String status, Pageable pageable);
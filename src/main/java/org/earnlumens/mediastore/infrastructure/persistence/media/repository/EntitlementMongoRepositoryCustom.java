@@ -0,0 +1,30 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.repository;
+
+import org.bson.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Custom entitlement queries that cannot be expressed as Spring Data derived queries.
+ */
+public interface EntitlementMongoRepositoryCustom {
+
+    /**
+     * Purchase library window: ACTIVE entitlements after the keyset
+     * {@code (afterGrantedAt, afterId)} (or after {@code skip} rows when no
+     * keyset is given), joined to entries and collections via {@code $lookup}
+     * with collection items unwound, in one aggregation.
+     * <p>
+     * Returns a single document:
+     * <ul>
+     *   <li>{@code items} — {@code { entry, grantedAt, direct }}, one per
+     *       unlocked entry, de-duplicated (direct purchases win) and ordered
+     *       by entitlement, then collection item order</li>
+     *   <li>{@code window} — {@code [{ n, lastGrantedAt, lastId }]}, empty when no entitlement matched</li>
+     *   <li>{@code more} — non-empty when more entitlements follow</li>
+     * </ul>
+     */
+    Document findLibraryPage(String tenantId, String userId,
+                             LocalDateTime afterGrantedAt, String afterId,
+                             int skip, int limit);
+}
@@ -0,0 +1,144 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.repository;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class EntitlementMongoRepositoryCustomImpl implements EntitlementMongoRepositoryCustom {
+
+    /**
+     * Entry fields needed to render a library card; the rest of the entry
+     * document (status history, splits, moderation data) never leaves the server.
+     */
+    private static final Document LIBRARY_ENTRY_PROJECT = Document.parse("""
+            { "$project": {
+                "type": 1, "title": 1, "description": 1,
+                "authorUsername": 1, "authorAvatarUrl": 1, "publishedAt": 1,
+                "thumbnailR2Key": 1, "previewR2Key": 1, "durationSec": 1,
+                "isPaid": 1, "priceXlm": 1, "tags": 1,
+                "thumbnailVariantsPrefix": 1, "previewVariantsPrefix": 1
+            }}
+            """);
+
+    private final MongoTemplate mongoTemplate;
+
+    public EntitlementMongoRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Document findLibraryPage(String tenantId, String userId,
+                                    LocalDateTime afterGrantedAt, String afterId,
+                                    int skip, int limit) {
+        List<AggregationOperation> ops = new ArrayList<>();
+
+        // 1. The user's ACTIVE entitlements, newest first. Backed by
+        //    idx_ent_tenant_user_status_granted_id, so the window is an index
+        //    range scan no matter how large the library is.
+        Criteria match = Criteria.where("tenantId").is(tenantId)
+                .and("userId").is(userId)
+                .and("status").is("ACTIVE");
+        if (afterGrantedAt != null && afterId != null) {
+            Object id = ObjectId.isValid(afterId) ? new ObjectId(afterId) : afterId;
+            match = match.orOperator(
+                    Criteria.where("grantedAt").lt(afterGrantedAt),
+                    Criteria.where("grantedAt").is(afterGrantedAt).and("_id").lt(id));
+        }
+        ops.add(Aggregation.match(match));
+        ops.add(context -> new Document("$sort", new Document("grantedAt", -1).append("_id", -1)));
+        if (skip > 0) {
+            ops.add(Aggregation.skip((long) skip));
+        }
+        // One extra row tells whether another window exists, without a count.
+        ops.add(Aggregation.limit(limit + 1L));
+
+        // 2. Window bookkeeping and the expansion share the same limit+1 rows.
+        Document window = new Document("$group", new Document("_id", null)
+                .append("n", new Document("$sum", 1))
+                .append("lastGrantedAt", new Document("$last", "$grantedAt"))
+                .append("lastId", new Document("$last", "$_id")));
+        ops.add(context -> new Document("$facet", new Document()
+                .append("window", List.of(new Document("$limit", limit), window))
+                .append("more", List.of(new Document("$skip", limit), new Document("$limit", 1)))
+                .append("items", expansionStages(tenantId, limit))));
+
+        Aggregation agg = Aggregation.newAggregation(ops);
+        return mongoTemplate.aggregate(agg, "entitlements", Document.class).getUniqueMappedResult();
+    }
+
+    /**
+     * Expands a window of entitlements to the entries they unlock:
+     * $lookup the purchased collection, unwind its items (keeping their
+     * order), $lookup each entry by {@code _id}, then keep one row per entry
+     * with direct purchases ahead of collection ones.
+     */
+    private static List<Document> expansionStages(String tenantId, int limit) {
+        List<Document> stages = new ArrayList<>();
+        stages.add(new Document("$limit", limit));
+        stages.add(Document.parse("""
+            { "$addFields": {
+                "collOid": { "$convert": { "input": "$collectionId", "to": "objectId", "onError": null, "onNull": null } },
+                "direct": { "$cond": [ { "$ne": [ { "$ifNull": [ "$entryId", null ] }, null ] }, 1, 0 ] }
+            }}
+            """));
+        stages.add(new Document("$lookup", new Document("from", "collections")
+                .append("localField", "collOid")
+                .append("foreignField", "_id")
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("tenantId", tenantId)),
+                        new Document("$project", new Document("items.entryId", 1))))
+                .append("as", "coll")));
+        stages.add(Document.parse("""
+            { "$addFields": {
+                "unlocks": { "$cond": [
+                    { "$eq": [ "$direct", 1 ] },
+                    [ "$entryId" ],
+                    { "$ifNull": [ { "$first": "$coll.items.entryId" }, [] ] }
+                ] }
+            }}
+            """));
+        stages.add(new Document("$unwind", new Document("path", "$unlocks")
+                .append("includeArrayIndex", "itemIndex")));
+        stages.add(Document.parse("""
+            { "$addFields": {
+                "entryOid": { "$convert": { "input": "$unlocks", "to": "objectId", "onError": null, "onNull": null } }
+            }}
+            """));
+        stages.add(new Document("$lookup", new Document("from", "entries")
+                .append("localField", "entryOid")
+                .append("foreignField", "_id")
+                .append("pipeline", List.of(
+                        new Document("$match", new Document("tenantId", tenantId)),
+                        LIBRARY_ENTRY_PROJECT))
+                .append("as", "entry")));
+        stages.add(new Document("$unwind", "$entry"));
+
+        Document order = new Document("direct", -1)
+                .append("grantedAt", -1)
+                .append("entitlementId", -1)
+                .append("itemIndex", 1);
+        stages.add(new Document("$addFields", new Document("entitlementId", "$_id")));
+        stages.add(new Document("$sort", order));
+        stages.add(Document.parse("""
+            { "$group": {
+                "_id": "$entry._id",
+                "entry": { "$first": "$entry" },
+                "grantedAt": { "$first": "$grantedAt" },
+                "direct": { "$first": "$direct" },
+                "entitlementId": { "$first": "$entitlementId" },
+                "itemIndex": { "$first": "$itemIndex" }
+            }}
+            """));
+        stages.add(new Document("$sort", order));
+        return stages;
+    }
+}
@@ -4,6 +4,7 @@ import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEn
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -15,16 +16,32 @@ public interface EntryMongoRepository extends MongoRepository<EntryEntity, Strin
 
     List<EntryEntity> findByTenantIdAndIdIn(String tenantId, List<String> ids);
 
-    Page<EntryEntity> findByTenantIdAndStatusOrderByPublishedAtDesc(String tenantId, String status, Pageable pageable);
+    // ── Projected reads ──
+    // Same filters as the two lookups above (served by idx_tenant_id), but only
+    // the listed fields cross the wire; the rest of the returned entity is
+    // left at its defaults and must not be read or saved back.
 
-    /**
-     * Public space feed query. Matches entries whose {@code spaceIds} array
-     * contains the given space and whose status equals the requested value.
-     * Ordered by publish date descending. Backed by the
-     * {@code idx_tenant_space_status_published} compound index.
-     */
-    Page<EntryEntity> findByTenantIdAndSpaceIdsContainingAndStatusOrderByPublishedAtDesc(
-            String tenantId, String spaceId, String status, Pageable pageable);
+    String ACCESS_FIELDS = "{ 'userId': 1, 'type': 1, 'status': 1, 'isPaid': 1, 'hlsReady': 1, 'hlsR2Prefix': 1 }";
+
+    String PRICING_FIELDS = "{ 'userId': 1, 'status': 1, 'isPaid': 1, 'priceCurrency': 1, 'priceXlm': 1,"
+            + " 'priceUsd': 1, 'paymentSplits': 1, 'sellerWallet': 1 }";
+
+    String ITEM_FIELDS = "{ 'type': 1, 'status': 1, 'isPaid': 1, 'priceXlm': 1, 'title': 1, 'description': 1,"
+            + " 'authorUsername': 1, 'thumbnailR2Key': 1, 'thumbnailVariantsPrefix': 1, 'durationSec': 1 }";
+
+    @Query(value = "{ 'tenantId': ?0, '_id': ?1 }", fields = ACCESS_FIELDS)
+    Optional<EntryEntity> findAccessFieldsByTenantIdAndId(String tenantId, String id);
+
+    @Query(value = "{ 'tenantId': ?0, '_id': { $in: ?1 } }", fields = ACCESS_FIELDS)
+    List<EntryEntity> findAccessFieldsByTenantIdAndIdIn(String tenantId, List<String> ids);
+
+    @Query(value = "{ 'tenantId': ?0, '_id': ?1 }", fields = PRICING_FIELDS)
+    Optional<EntryEntity> findPricingFieldsByTenantIdAndId(String tenantId, String id);
+
+    @Query(value = "{ 'tenantId': ?0, '_id': { $in: ?1 } }", fields = ITEM_FIELDS)
+    List<EntryEntity> findItemFieldsByTenantIdAndIdIn(String tenantId, List<String> ids);
+
+    Page<EntryEntity> findByTenantIdAndStatusOrderByPublishedAtDesc(String tenantId, String status, Pageable pageable);
 
     Page<EntryEntity> findByTenantIdAndAuthorUsernameLowerAndStatusOrderByPublishedAtDesc(String tenantId, String authorUsernameLower, String status, Pageable pageable);
 
@@ -48,6 +65,17 @@ public interface EntryMongoRepository extends MongoRepository<EntryEntity, Strin
 
     List<EntryEntity> findByTenantIdAndStatusAndType(String tenantId, String status, String type);
 
+    /**
+     * Keyset pages for resumable backfills. Ordered by {@code _id}, so the walk is
+     * served by the {@code idx_tenant_id} index (tenantId, _id) without an
+     * in-memory sort; status/type are residual filters on that scan.
+     */
+    List<EntryEntity> findByTenantIdAndStatusAndTypeOrderByIdAsc(
+            String tenantId, String status, String type, Pageable pageable);
+
+    List<EntryEntity> findByTenantIdAndStatusAndTypeAndIdGreaterThanOrderByIdAsc(
+            String tenantId, String status, String type, String afterId, Pageable pageable);
+
     long countByTenantIdAndUserIdAndCreatedAtAfter(String tenantId, String userId, LocalDateTime after);
 
     long countByTenantIdAndUserIdAndStatus(String tenantId, String userId, String status);
@@ -2,7 +2,9 @@ package org.earnlumens.mediastore.infrastructure.persistence.media.repository;
 
 import org.bson.Document;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Custom repository operations that cannot be expressed as Spring Data derived queries.
@@ -22,14 +24,34 @@ public interface EntryMongoRepositoryCustom {
     long updateAuthorInfoByUserId(String tenantId, String userId, String newUsername, String newAvatarUrl);
 
     /**
-     * Atomically increments the viewCount field on a single entry within a tenant.
-     * Uses MongoDB $inc for thread-safe, lock-free counting.
+     * Adds buffered views to viewCount on many entries within a tenant using one
+     * unordered bulk write of {@code $inc} updates.
+     *
+     * @param viewsByEntryId entry id → views to add
+     * @return number of entries modified
+     */
+    long incrementViewCounts(String tenantId, Map<String, Long> viewsByEntryId);
+
+    /**
+     * Owner userId of each given entry that is PUBLISHED or UNLISTED (what an
+     * anonymous viewer may see); other and missing entries are left out.
+     *
+     * @return entry id → owner userId
      */
-    void incrementViewCount(String tenantId, String entryId);
+    Map<String, String> findPublicOwnerIdsByTenantIdAndIdIn(String tenantId, Collection<String> entryIds);
+
+    /**
+     * Sets durationSec on many entries within a tenant using one unordered bulk write.
+     *
+     * @param durationByEntryId entry id → duration in seconds
+     * @return number of entries modified
+     */
+    long updateDurationSecByTenantId(String tenantId, Map<String, Integer> durationByEntryId);
 
     /**
      * Aggregates owner stats: count by status + sum of viewCount.
-     * Returns a map with keys: totalEntries, published, drafts, inReview, rejected, totalViews.
+     * Returns a map with keys totalEntries, totalViews and one key per
+     * {@code EntryStatus} name present (e.g. PUBLISHED, DRAFT).
      */
     java.util.Map<String, Long> getOwnerStats(String tenantId, String userId);
 
@@ -65,19 +87,15 @@ public interface EntryMongoRepositoryCustom {
     // ── Purchased feed ──────────────────────────────────────────────────────
 
     /**
-     * Unified purchased feed: merges entries + collections whose IDs are in the
-     * provided sets, with optional type filter, search, sort and pagination.
+     * Unified purchased feed: the entries + collections the user holds an ACTIVE
+     * entitlement for, resolved by {@code $lookup} from the entitlements collection,
+     * with optional type filter, search, sort and pagination.
+     * Uses $facet to return data + total count in a single aggregation pass.
+     * Returns a Document with "data" (List<Document>) and "count" ([{ total }]).
      */
-    List<Document> findPurchasedFeedItems(String tenantId,
-                                          java.util.Set<String> entryIds,
-                                          java.util.Set<String> collectionIds,
-                                          String type, String search, String sort,
-                                          int skip, int limit);
-
-    long countPurchasedFeedItems(String tenantId,
-                                 java.util.Set<String> entryIds,
-                                 java.util.Set<String> collectionIds,
-                                 String type, String search);
+    Document findPurchasedFeed(String tenantId, String userId,
+                               String type, String search, String sort,
+                               int skip, int limit);
 
     // ── Explore feed ────────────────────────────────────────────────────────
 
@@ -3,6 +3,9 @@ package org.earnlumens.mediastore.infrastructure.persistence.media.repository;
 import com.mongodb.client.result.UpdateResult;
 import org.bson.Document;
 import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.ReadRoute;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
@@ -13,28 +16,52 @@ import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Repository
 public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCustom {
 
     private final MongoTemplate mongoTemplate;
+    private final MongoReadRouter readRouter;
 
-    public EntryMongoRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+    public EntryMongoRepositoryCustomImpl(MongoTemplate mongoTemplate, MongoReadRouter readRouter) {
         this.mongoTemplate = mongoTemplate;
+        this.readRouter = readRouter;
     }
 
     @Override
-    public void incrementViewCount(String tenantId, String entryId) {
-        Query query = new Query(Criteria.where("tenantId").is(tenantId).and("_id").is(entryId));
-        Update update = new Update().inc("viewCount", 1);
-        mongoTemplate.updateFirst(query, update, EntryEntity.class);
+    public long incrementViewCounts(String tenantId, Map<String, Long> viewsByEntryId) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EntryEntity.class);
+        viewsByEntryId.forEach((entryId, views) -> bulk.updateOne(
+                new Query(Criteria.where("tenantId").is(tenantId).and("_id").is(entryId)),
+                new Update().inc("viewCount", views)));
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public Map<String, String> findPublicOwnerIdsByTenantIdAndIdIn(String tenantId, Collection<String> entryIds) {
+        Query query = new Query(Criteria.where("tenantId").is(tenantId).and("_id").in(entryIds)
+                .and("status").in("PUBLISHED", "UNLISTED"));
+        query.fields().include("userId");
+        Map<String, String> owners = new HashMap<>();
+        for (EntryEntity entry : mongoTemplate.find(query, EntryEntity.class)) {
+            owners.put(entry.getId(), entry.getUserId());
+        }
+        return owners;
+    }
+
+    @Override
+    public long updateDurationSecByTenantId(String tenantId, Map<String, Integer> durationByEntryId) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EntryEntity.class);
+        durationByEntryId.forEach((entryId, durationSec) -> bulk.updateOne(
+                new Query(Criteria.where("tenantId").is(tenantId).and("_id").is(entryId)),
+                new Update().set("durationSec", durationSec)));
+        return bulk.execute().getModifiedCount();
     }
 
     @Override
@@ -55,12 +82,6 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
         Map<String, Long> stats = new HashMap<>();
         stats.put("totalEntries", 0L);
         stats.put("totalViews", 0L);
-        stats.put("published", 0L);
-        stats.put("drafts", 0L);
-        stats.put("inReview", 0L);
-        stats.put("rejected", 0L);
-        stats.put("archived", 0L);
-        stats.put("deleted", 0L);
 
         if (doc == null) {
             return stats;
@@ -77,15 +98,8 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
         if (byStatus != null) {
             for (Document s : byStatus) {
                 String status = s.getString("_id");
-                long count = toLong(s.get("count"));
-                switch (status) {
-                    case "PUBLISHED" -> stats.put("published", count);
-                    case "DRAFT" -> stats.put("drafts", count);
-                    case "IN_REVIEW" -> stats.put("inReview", count);
-                    case "REJECTED" -> stats.put("rejected", count);
-                    case "ARCHIVED" -> stats.put("archived", count);
-                    case "DELETED" -> stats.put("deleted", count);
-                    default -> { /* ignore unknown statuses */ }
+                if (status != null) {
+                    stats.put(status, toLong(s.get("count")));
                 }
             }
         }
@@ -138,7 +152,7 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
             """));
 
         Aggregation agg = Aggregation.newAggregation(ops);
-        return mongoTemplate.aggregate(agg, "entries", Document.class).getMappedResults();
+        return readRouter.template(ReadRoute.STUDIO).aggregate(agg, "entries", Document.class).getMappedResults();
     }
 
     @Override
@@ -148,7 +162,7 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
         ops.add(Aggregation.count().as("total"));
 
         Aggregation agg = Aggregation.newAggregation(ops);
-        Document result = mongoTemplate.aggregate(agg, "entries", Document.class).getUniqueMappedResult();
+        Document result = readRouter.template(ReadRoute.STUDIO).aggregate(agg, "entries", Document.class).getUniqueMappedResult();
         return result != null ? toLong(result.get("total")) : 0;
     }
 
@@ -270,7 +284,7 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
         ops.add(context -> Document.parse(PUBLIC_FEED_PROJECT));
 
         Aggregation agg = Aggregation.newAggregation(ops);
-        return mongoTemplate.aggregate(agg, "entries", Document.class).getMappedResults();
+        return readRouter.template(ReadRoute.PROFILE_FEED).aggregate(agg, "entries", Document.class).getMappedResults();
     }
 
     @Override
@@ -280,7 +294,7 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
         ops.add(Aggregation.count().as("total"));
 
         Aggregation agg = Aggregation.newAggregation(ops);
-        Document result = mongoTemplate.aggregate(agg, "entries", Document.class).getUniqueMappedResult();
+        Document result = readRouter.template(ReadRoute.PROFILE_FEED).aggregate(agg, "entries", Document.class).getUniqueMappedResult();
         return result != null ? toLong(result.get("total")) : 0;
     }
 
@@ -339,86 +353,97 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
     // ── Purchased feed ──────────────────────────────────────────────────────
 
     @Override
-    public List<Document> findPurchasedFeedItems(String tenantId,
-                                                  Set<String> entryIds, Set<String> collectionIds,
-                                                  String type, String search, String sort,
-                                                  int skip, int limit) {
-        List<AggregationOperation> ops = buildPurchasedFeedPipeline(tenantId, entryIds, collectionIds, type, search);
-        ops.add(buildSortStage(sort));
-        ops.add(Aggregation.skip((long) skip));
-        ops.add(Aggregation.limit(limit));
-        ops.add(context -> Document.parse(PUBLIC_FEED_PROJECT));
+    public Document findPurchasedFeed(String tenantId, String userId,
+                                      String type, String search, String sort,
+                                      int skip, int limit) {
+        List<AggregationOperation> ops = buildPurchasedFeedPipeline(tenantId, userId, type, search);
 
-        Aggregation agg = Aggregation.newAggregation(ops);
-        return mongoTemplate.aggregate(agg, "entries", Document.class).getMappedResults();
-    }
+        Document sortDoc = buildSortDocument(sort);
 
-    @Override
-    public long countPurchasedFeedItems(String tenantId,
-                                         Set<String> entryIds, Set<String> collectionIds,
-                                         String type, String search) {
-        List<AggregationOperation> ops = buildPurchasedFeedPipeline(tenantId, entryIds, collectionIds, type, search);
-        ops.add(Aggregation.count().as("total"));
+        // $facet: data + count in a single aggregation pass
+        ops.add(context -> new Document("$facet", new Document()
+                .append("data", List.of(
+                        sortDoc,
+                        new Document("$skip", skip),
+                        new Document("$limit", limit),
+                        Document.parse(PUBLIC_FEED_PROJECT)))
+                .append("count", List.of(
+                        new Document("$count", "total")))));
 
         Aggregation agg = Aggregation.newAggregation(ops);
-        Document result = mongoTemplate.aggregate(agg, "entries", Document.class).getUniqueMappedResult();
-        return result != null ? toLong(result.get("total")) : 0;
+        return readRouter.template(ReadRoute.PURCHASED_FEED).aggregate(agg, "entitlements", Document.class).getUniqueMappedResult();
     }
 
-    private List<AggregationOperation> buildPurchasedFeedPipeline(String tenantId,
-                                                                    Set<String> entryIds,
-                                                                    Set<String> collectionIds,
+    /**
+     * Rooted at the user's entitlements rather than at {@code entries}: the
+     * purchased ids never round-trip through the application, and each
+     * entitlement resolves its entry or collection with an {@code _id}
+     * {@code $lookup}.
+     */
+    private List<AggregationOperation> buildPurchasedFeedPipeline(String tenantId, String userId,
                                                                     String type, String search) {
         List<AggregationOperation> ops = new ArrayList<>();
 
-        // Convert string IDs to ObjectIds for _id matching
-        List<org.bson.types.ObjectId> entryOids = entryIds.stream()
-                .map(org.bson.types.ObjectId::new)
-                .collect(Collectors.toList());
-
-        // 1. Match purchased entries by ID
+        // 1. The user's ACTIVE entitlements (idx_ent_tenant_user_status_granted_id),
+        //    one per purchased entry or collection (unique per target).
         ops.add(Aggregation.match(Criteria.where("tenantId").is(tenantId)
-                .and("_id").in(entryOids)));
-
-        // 2. Normalize
+                .and("userId").is(userId)
+                .and("status").is("ACTIVE")));
         ops.add(context -> Document.parse("""
+            { "$project": {
+                "entryOid": { "$convert": { "input": "$entryId", "to": "objectId", "onError": null, "onNull": null } },
+                "collOid": { "$convert": { "input": "$collectionId", "to": "objectId", "onError": null, "onNull": null } }
+            }}
+            """));
+
+        // 2. Resolve and normalize purchased entries
+        Document entryMatch = new Document("$match", new Document("tenantId", tenantId));
+        Document entryAddFields = Document.parse("""
             { "$addFields": {
                 "kind": "entry",
                 "sortDate": "$publishedAt",
                 "itemCount": { "$literal": 0 },
                 "coverR2Key": { "$literal": null }
             }}
+            """);
+        ops.add(context -> new Document("$lookup", new Document("from", "entries")
+                .append("localField", "entryOid")
+                .append("foreignField", "_id")
+                .append("pipeline", List.of(entryMatch, entryAddFields))
+                .append("as", "entry")));
+
+        // 3. Resolve and normalize purchased collections
+        Document collMatch = new Document("$match", new Document("tenantId", tenantId));
+        Document collAddFields = Document.parse("""
+            { "$addFields": {
+                "kind": "collection",
+                "type": { "$ifNull": [ { "$toLower": "$collectionType" }, "catalog" ] },
+                "sortDate": "$publishedAt",
+                "itemCount": { "$cond": { "if": { "$isArray": "$items" }, "then": { "$size": "$items" }, "else": 0 } },
+                "durationSec": { "$literal": null },
+                "viewCount": { "$literal": 0 },
+                "thumbnailR2Key": { "$literal": null }
+            }}
+            """);
+        ops.add(context -> new Document("$lookup", new Document("from", "collections")
+                .append("localField", "collOid")
+                .append("foreignField", "_id")
+                .append("pipeline", List.of(collMatch, collAddFields))
+                .append("as", "collection")));
+
+        // 4. Drop entitlements whose target is gone (or in another tenant),
+        //    then promote the resolved document
+        ops.add(Aggregation.match(new Criteria().orOperator(
+                Criteria.where("entry.0").exists(true),
+                Criteria.where("collection.0").exists(true))));
+        ops.add(context -> Document.parse("""
+            { "$replaceWith": { "$ifNull": [ { "$first": "$entry" }, { "$first": "$collection" } ] } }
             """));
 
-        // 3. $unionWith purchased collections by ID
-        if (!collectionIds.isEmpty()) {
-            List<org.bson.types.ObjectId> collOids = collectionIds.stream()
-                    .map(org.bson.types.ObjectId::new)
-                    .collect(Collectors.toList());
-
-            Document collMatch = new Document("$match",
-                    new Document("tenantId", tenantId)
-                            .append("_id", new Document("$in", collOids)));
-            Document collAddFields = Document.parse("""
-                { "$addFields": {
-                    "kind": "collection",
-                    "type": { "$ifNull": [ { "$toLower": "$collectionType" }, "catalog" ] },
-                    "sortDate": "$publishedAt",
-                    "itemCount": { "$cond": { "if": { "$isArray": "$items" }, "then": { "$size": "$items" }, "else": 0 } },
-                    "durationSec": { "$literal": null },
-                    "viewCount": { "$literal": 0 },
-                    "thumbnailR2Key": { "$literal": null }
-                }}
-                """);
-            ops.add(context -> new Document("$unionWith",
-                    new Document("coll", "collections")
-                            .append("pipeline", List.of(collMatch, collAddFields))));
-        }
-
-        // 4. Optional type filter
+        // 5. Optional type filter
         addTypeFilter(ops, type);
 
-        // 5. Optional search
+        // 6. Optional search
         addSearchFilter(ops, search);
 
         return ops;
@@ -499,7 +524,7 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
                         new Document("$count", "total")))));
 
         Aggregation agg = Aggregation.newAggregation(ops);
-        return mongoTemplate.aggregate(agg, "entries", Document.class).getUniqueMappedResult();
+        return readRouter.template(ReadRoute.EXPLORE_FEED).aggregate(agg, "entries", Document.class).getUniqueMappedResult();
     }
 
     private Document buildSortDocument(String sort) {
@@ -583,7 +608,7 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
                         new Document("$count", "total")))));
 
         Aggregation agg = Aggregation.newAggregation(ops);
-        return mongoTemplate.aggregate(agg, "entries", Document.class).getUniqueMappedResult();
+        return readRouter.template(ReadRoute.COMMUNITY_FEED).aggregate(agg, "entries", Document.class).getUniqueMappedResult();
     }
 
     private List<AggregationOperation> buildCommunityFeedPipeline(String tenantId, String badgeKey,
@@ -767,7 +792,7 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
                 .append("count", List.of(new Document("$count", "total")))));
 
         Aggregation agg = Aggregation.newAggregation(ops);
-        Document result = mongoTemplate.aggregate(agg, collection, Document.class).getUniqueMappedResult();
+        Document result = readRouter.template(ReadRoute.SEARCH).aggregate(agg, collection, Document.class).getUniqueMappedResult();
         return result != null ? result : new Document();
     }
 
@@ -929,7 +954,7 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
         ops.add(Aggregation.limit(limit));
 
         Aggregation agg = Aggregation.newAggregation(ops);
-        return mongoTemplate.aggregate(agg, "entries", Document.class).getMappedResults();
+        return readRouter.template(ReadRoute.CHANNELS).aggregate(agg, "entries", Document.class).getMappedResults();
     }
 
     /**
@@ -992,7 +1017,7 @@ public class EntryMongoRepositoryCustomImpl implements EntryMongoRepositoryCusto
         ops.add(Aggregation.limit(limit));
 
         Aggregation agg = Aggregation.newAggregation(ops);
-        List<Document> docs = mongoTemplate.aggregate(agg, "entries", Document.class).getMappedResults();
+        List<Document> docs = readRouter.template(ReadRoute.SUGGESTIONS).aggregate(agg, "entries", Document.class).getMappedResults();
         List<String> suggestions = new ArrayList<>();
         for (Document doc : docs) {
             String title = doc.getString("title");
@@ -4,9 +4,12 @@ import org.earnlumens.mediastore.infrastructure.persistence.media.entity.ReportE
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Optional;
 
+/**
+ * Reports themselves. Scoring inputs (per-target, per-reporter and
+ * per-creator tallies) live in {@code report_counters}; see
+ * {@link org.earnlumens.mediastore.domain.media.repository.ReportCounterRepository}.
+ */
 public interface ReportMongoRepository extends MongoRepository<ReportEntity, String> {
 
     /** Check if user already reported this entry. */
@@ -15,21 +18,6 @@ public interface ReportMongoRepository extends MongoRepository<ReportEntity, Str
     /** Count this user's reports in a time window (rate-limiting). */
     long countByTenantIdAndReporterUserIdAndCreatedAtAfter(String tenantId, String reporterUserId, LocalDateTime after);
 
-    /** All reports for an entry (for aggregation / threshold). */
-    List<ReportEntity> findByTenantIdAndEntryId(String tenantId, String entryId);
-
-    /** Count distinct reports for an entry. */
+    /** Count distinct reports for an entry (fallback when the tallies can't be updated). */
     long countByTenantIdAndEntryId(String tenantId, String entryId);
-
-    /** Count total reports ever filed by this user. */
-    long countByTenantIdAndReporterUserId(String tenantId, String reporterUserId);
-
-    /** Count how many reports by this user were dismissed (abuse indicator). */
-    long countByTenantIdAndReporterUserIdAndResolution(String tenantId, String reporterUserId, String resolution);
-
-    /** All reports against entries by a specific creator (creator history). */
-    long countByTenantIdAndCreatorUserId(String tenantId, String creatorUserId);
-
-    /** Count resolved reports against a creator where content was removed/sanctioned. */
-    long countByTenantIdAndCreatorUserIdAndResolutionIn(String tenantId, String creatorUserId, List<String> resolutions);
 }
@@ -6,6 +6,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,4 +31,13 @@ public interface TranscodingJobMongoRepository extends MongoRepository<Transcodi
      */
     @Query("{ 'tenantId': ?0, 'entryId': ?1, 'status': { $in: ['PENDING', 'DISPATCHED', 'PROCESSING'] } }")
     Optional<TranscodingJobEntity> findActiveByTenantIdAndEntryId(String tenantId, String entryId);
+
+    /**
+     * Batched active-job probe for many entries, served by
+     * {@code idx_tenantId_entryId_status}. Projects only {@code entryId} so just
+     * the ids cross the wire.
+     */
+    @Query(value = "{ 'tenantId': ?0, 'entryId': { $in: ?1 }, 'status': { $in: ['PENDING', 'DISPATCHED', 'PROCESSING'] } }",
+            fields = "{ 'entryId': 1 }")
+    List<TranscodingJobEntity> findActiveEntryIdsByTenantIdAndEntryIdIn(String tenantId, Collection<String> entryIds);
 }
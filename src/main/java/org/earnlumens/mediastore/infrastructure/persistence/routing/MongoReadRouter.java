@@ -0,0 +1,169 @@
+package org.earnlumens.mediastore.infrastructure.persistence.routing;
+
+import com.mongodb.ReadPreference;
+import org.earnlumens.mediastore.infrastructure.config.MongoReadRoutingConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Picks the {@link MongoTemplate} a {@link ReadRoute} reads from.
+ *
+ * <p>The application's {@code MongoTemplate} keeps the connection's default
+ * read preference (primary) and stays the only template for writes and for
+ * every read that is not routed. Routes resolved to {@link ReadTarget#SECONDARY}
+ * get a second template over the same client and converter whose reads are
+ * {@code secondaryPreferred} with {@code maxStalenessSeconds}, so public
+ * feed and search traffic scales with the replica count instead of
+ * competing with payment and job writes on the primary. Against a
+ * standalone server (local dev) both templates read the same node.
+ *
+ * <p>{@link #primaryReads()} sends every route on the current thread to the
+ * primary for the scope it returns. {@code PublicCacheControlFilter} uses it
+ * right after a content version bump, when a lagging secondary could still
+ * return the pre-bump data and have it cached under the new ETag.
+ *
+ * <p>Not a {@code @Bean}: a second {@code MongoTemplate} bean would make
+ * Boot's auto-configured one back off.
+ */
+@Component
+public class MongoReadRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoReadRouter.class);
+    private static final ThreadLocal<Boolean> PRIMARY_READS = ThreadLocal.withInitial(() -> false);
+
+    private final MongoTemplate primary;
+    private final MongoTemplate secondary;
+    private final Map<ReadRoute, ReadTarget> targets = new EnumMap<>(ReadRoute.class);
+
+    private final Map<ReadRoute, LongAdder> reads = new EnumMap<>(ReadRoute.class);
+    private final Map<ReadRoute, Long> loggedReads = new EnumMap<>(ReadRoute.class);
+
+    public MongoReadRouter(MongoTemplate mongoTemplate, MongoReadRoutingConfig config) {
+        this.primary = mongoTemplate;
+
+        for (String key : config.getRoutes().keySet()) {
+            if (route(key) == null) {
+                logger.warn("Unknown read route '{}' in mediastore.mongo.read-routing.routes — ignored", key);
+            }
+        }
+        for (ReadRoute route : ReadRoute.values()) {
+            ReadTarget target = config.isEnabled()
+                    ? config.getRoutes().getOrDefault(route.key(), route.defaultTarget())
+                    : ReadTarget.PRIMARY;
+            targets.put(route, target);
+            reads.put(route, new LongAdder());
+            loggedReads.put(route, 0L);
+        }
+
+        if (targets.containsValue(ReadTarget.SECONDARY)) {
+            long maxStaleness = Math.max(MongoReadRoutingConfig.MIN_MAX_STALENESS_SECONDS, config.getMaxStalenessSeconds());
+            this.secondary = new MongoTemplate(mongoTemplate.getMongoDatabaseFactory(), mongoTemplate.getConverter());
+            this.secondary.setReadPreference(ReadPreference.secondaryPreferred(maxStaleness, TimeUnit.SECONDS));
+            logger.info("Read routing: secondaryPreferred (maxStalenessSeconds={}) for {}",
+                    maxStaleness, routesWith(ReadTarget.SECONDARY));
+        } else {
+            this.secondary = mongoTemplate;
+            logger.info("Read routing: all routes on primary");
+        }
+    }
+
+    /** A router that sends every route to {@code mongoTemplate}; for tools and tests. */
+    public static MongoReadRouter primaryOnly(MongoTemplate mongoTemplate) {
+        MongoReadRoutingConfig config = new MongoReadRoutingConfig();
+        config.setEnabled(false);
+        return new MongoReadRouter(mongoTemplate, config);
+    }
+
+    /** The template {@code route} reads from; counts the read. */
+    public MongoTemplate template(ReadRoute route) {
+        reads.get(route).increment();
+        return targets.get(route) == ReadTarget.SECONDARY && !PRIMARY_READS.get() ? secondary : primary;
+    }
+
+    /**
+     * Routes every read on the current thread to the primary until the
+     * returned scope is closed; use with try-with-resources. Scopes nest.
+     */
+    public static PrimaryReads primaryReads() {
+        boolean previous = PRIMARY_READS.get();
+        PRIMARY_READS.set(true);
+        return new PrimaryReads(previous);
+    }
+
+    /** Scope opened by {@link #primaryReads()}; closing it restores the previous routing. */
+    public static final class PrimaryReads implements AutoCloseable {
+
+        private final boolean previous;
+
+        private PrimaryReads(boolean previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous) {
+                PRIMARY_READS.set(true);
+            } else {
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    public ReadTarget targetFor(ReadRoute route) {
+        return targets.get(route);
+    }
+
+    /** Whether any route reads from secondaries (so their pools are worth warming). */
+    public boolean routesToSecondaries() {
+        return secondary != primary;
+    }
+
+    /** Reads routed through {@code route} since startup. */
+    public long reads(ReadRoute route) {
+        return reads.get(route).sum();
+    }
+
+    // ─── Metrics ───────────────────────────────────────────────
+
+    /** One line per interval, e.g. {@code READ_ROUTING explore-feed=secondary:412 studio=primary:20}. */
+    @Scheduled(fixedDelayString = "${mediastore.mongo.read-routing.stats-interval-ms:60000}",
+            initialDelayString = "${mediastore.mongo.read-routing.stats-interval-ms:60000}")
+    public synchronized void logStats() {
+        StringJoiner line = new StringJoiner(" ");
+        for (ReadRoute route : ReadRoute.values()) {
+            long total = reads.get(route).sum();
+            long window = total - loggedReads.get(route);
+            loggedReads.put(route, total);
+            if (window > 0) {
+                line.add(route.key() + "=" + targets.get(route).name().toLowerCase() + ":" + window);
+            }
+        }
+        if (line.length() > 0) {
+            logger.info("READ_ROUTING {}", line);
+        }
+    }
+
+    private String routesWith(ReadTarget target) {
+        StringJoiner keys = new StringJoiner(",");
+        targets.forEach((route, t) -> {
+            if (t == target) keys.add(route.key());
+        });
+        return keys.toString();
+    }
+
+    private static ReadRoute route(String key) {
+        for (ReadRoute route : ReadRoute.values()) {
+            if (route.key().equals(key)) return route;
+        }
+        return null;
+    }
+}
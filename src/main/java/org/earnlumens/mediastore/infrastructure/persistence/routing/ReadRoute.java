@@ -0,0 +1,43 @@
+package org.earnlumens.mediastore.infrastructure.persistence.routing;
+
+/**
+ * Named read paths that go through {@link MongoReadRouter}. Each has a
+ * default {@link ReadTarget}, overridable per route with
+ * {@code mediastore.mongo.read-routing.routes.<key>}.
+ *
+ * <p>Secondary by default: anonymous, public reads where a result a few
+ * seconds old is indistinguishable from a fresh one. Primary by default:
+ * paths a user expects to reflect their own last write (studio after an
+ * edit, the library after a purchase). Reads that are not listed here
+ * (payments, entitlements, anything followed by a write) use the primary
+ * template directly and are never routed.
+ */
+public enum ReadRoute {
+
+    EXPLORE_FEED("explore-feed", ReadTarget.SECONDARY),
+    COMMUNITY_FEED("community-feed", ReadTarget.SECONDARY),
+    PROFILE_FEED("profile-feed", ReadTarget.SECONDARY),
+    SPACE_FEED("space-feed", ReadTarget.SECONDARY),
+    SEARCH("search", ReadTarget.SECONDARY),
+    SUGGESTIONS("suggestions", ReadTarget.SECONDARY),
+    CHANNELS("channels", ReadTarget.SECONDARY),
+    SPACES("spaces", ReadTarget.SECONDARY),
+    FRANCHISES("franchises", ReadTarget.SECONDARY),
+    RATING_AGGREGATES("rating-aggregates", ReadTarget.SECONDARY),
+
+    STUDIO("studio", ReadTarget.PRIMARY),
+    PURCHASED_FEED("purchased-feed", ReadTarget.PRIMARY);
+
+    private final String key;
+    private final ReadTarget defaultTarget;
+
+    ReadRoute(String key, ReadTarget defaultTarget) {
+        this.key = key;
+        this.defaultTarget = defaultTarget;
+    }
+
+    /** Property and metrics key, e.g. {@code explore-feed}. */
+    public String key() { return key; }
+
+    public ReadTarget defaultTarget() { return defaultTarget; }
+}
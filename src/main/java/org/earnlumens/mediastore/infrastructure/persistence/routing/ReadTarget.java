@@ -0,0 +1,15 @@
+package org.earnlumens.mediastore.infrastructure.persistence.routing;
+
+/** Where a {@link ReadRoute} is served from. */
+public enum ReadTarget {
+
+    /** The replica-set primary: sees every acknowledged write. */
+    PRIMARY,
+
+    /**
+     * {@code secondaryPreferred} with {@code maxStalenessSeconds}: may lag the
+     * primary by up to that bound; falls back to the primary when no
+     * secondary qualifies.
+     */
+    SECONDARY
+}
@@ -1,9 +1,16 @@
 package org.earnlumens.mediastore.infrastructure.persistence.space.adapter;
 
 import org.earnlumens.mediastore.domain.space.Space;
+import org.earnlumens.mediastore.domain.space.SpaceStatus;
 import org.earnlumens.mediastore.domain.space.repository.SpaceRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.ReadRoute;
+import org.earnlumens.mediastore.infrastructure.persistence.space.entity.SpaceEntity;
 import org.earnlumens.mediastore.infrastructure.persistence.space.mapper.SpaceMapper;
 import org.earnlumens.mediastore.infrastructure.persistence.space.repository.SpaceMongoRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -14,10 +21,12 @@ public class SpaceRepositoryImpl implements SpaceRepository {
 
     private final SpaceMongoRepository mongoRepository;
     private final SpaceMapper mapper;
+    private final MongoReadRouter readRouter;
 
-    public SpaceRepositoryImpl(SpaceMongoRepository mongoRepository, SpaceMapper mapper) {
+    public SpaceRepositoryImpl(SpaceMongoRepository mongoRepository, SpaceMapper mapper, MongoReadRouter readRouter) {
         this.mongoRepository = mongoRepository;
         this.mapper = mapper;
+        this.readRouter = readRouter;
     }
 
     @Override
@@ -35,9 +44,12 @@ public class SpaceRepositoryImpl implements SpaceRepository {
 
     @Override
     public List<Space> findSidebarSpaces(String tenantId) {
-        return mongoRepository
-                .findByTenantIdAndStatusAndShowInSidebarTrueOrderBySortOrderAsc(
-                        tenantId, org.earnlumens.mediastore.domain.space.SpaceStatus.ACTIVE.name())
+        // Public sidebar: routed, so it may be served by a secondary.
+        Query query = new Query(Criteria.where("tenantId").is(tenantId)
+                .and("status").is(SpaceStatus.ACTIVE.name())
+                .and("showInSidebar").is(true))
+                .with(Sort.by(Sort.Direction.ASC, "sortOrder"));
+        return readRouter.template(ReadRoute.SPACES).find(query, SpaceEntity.class)
                 .stream()
                 .map(mapper::toModel)
                 .toList();
@@ -17,7 +17,4 @@ public interface SpaceMongoRepository extends MongoRepository<SpaceEntity, Strin
     Optional<SpaceEntity> findByTenantIdAndId(String tenantId, String id);
 
     List<SpaceEntity> findByTenantIdAndIdIn(String tenantId, List<String> ids);
-
-    List<SpaceEntity> findByTenantIdAndStatusAndShowInSidebarTrueOrderBySortOrderAsc(
-            String tenantId, String status);
 }
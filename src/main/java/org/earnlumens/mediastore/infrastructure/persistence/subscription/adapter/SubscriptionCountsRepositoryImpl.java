@@ -0,0 +1,81 @@
+package org.earnlumens.mediastore.infrastructure.persistence.subscription.adapter;
+
+import org.earnlumens.mediastore.domain.subscription.model.SubscriptionCounts;
+import org.earnlumens.mediastore.domain.subscription.repository.SubscriptionCountsRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.subscription.entity.SubscriptionCountsEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.subscription.mapper.SubscriptionCountsMapper;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class SubscriptionCountsRepositoryImpl implements SubscriptionCountsRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final SubscriptionCountsMapper mapper;
+
+    public SubscriptionCountsRepositoryImpl(MongoTemplate mongoTemplate, SubscriptionCountsMapper mapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public Optional<SubscriptionCounts> findByTenantIdAndUserId(String tenantId, String userId) {
+        return Optional.ofNullable(mongoTemplate.findById(
+                        SubscriptionCounts.idFor(tenantId, userId), SubscriptionCountsEntity.class))
+                .map(mapper::toModel);
+    }
+
+    @Override
+    public void incrementByTenantIdAndUserId(String tenantId, String userId, String field, long delta) {
+        Query query = Query.query(Criteria.where("_id").is(SubscriptionCounts.idFor(tenantId, userId)));
+        Update update = new Update()
+                .inc(field, delta)
+                .inc("version", 1)
+                .set("updatedAt", LocalDateTime.now(ZoneOffset.UTC));
+        mongoTemplate.updateFirst(query, update, SubscriptionCountsEntity.class);
+    }
+
+    @Override
+    public boolean replaceByTenantIdAndUserId(String tenantId, String userId, SubscriptionCounts rebuilt,
+                                              Long expectedVersion) {
+        SubscriptionCountsEntity entity = mapper.toEntity(rebuilt);
+        entity.setId(SubscriptionCounts.idFor(tenantId, userId));
+        entity.setTenantId(tenantId);
+        entity.setUserId(userId);
+
+        if (expectedVersion == null) {
+            entity.setVersion(1);
+            try {
+                mongoTemplate.insert(entity);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false; // another request built it first
+            }
+        }
+
+        entity.setVersion(expectedVersion + 1);
+        Query query = Query.query(Criteria.where("_id").is(entity.getId()).and("version").is(expectedVersion));
+        return mongoTemplate.replace(query, entity).getMatchedCount() == 1;
+    }
+
+    @Override
+    public List<SubscriptionCounts> findByReconciledAtBefore(LocalDateTime cutoff, int limit) {
+        Query query = Query.query(Criteria.where("reconciledAt").lt(cutoff))
+                .with(Sort.by(Sort.Direction.ASC, "reconciledAt"))
+                .limit(limit);
+        return mongoTemplate.find(query, SubscriptionCountsEntity.class)
+                .stream()
+                .map(mapper::toModel)
+                .toList();
+    }
+}
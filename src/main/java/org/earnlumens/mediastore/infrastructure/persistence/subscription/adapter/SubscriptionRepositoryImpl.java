@@ -5,10 +5,14 @@ import org.earnlumens.mediastore.domain.subscription.repository.SubscriptionRepo
 import org.earnlumens.mediastore.infrastructure.persistence.subscription.entity.SubscriptionEntity;
 import org.earnlumens.mediastore.infrastructure.persistence.subscription.mapper.SubscriptionMapper;
 import org.earnlumens.mediastore.infrastructure.persistence.subscription.repository.SubscriptionMongoRepository;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -17,12 +21,18 @@ import java.util.stream.Collectors;
 @Repository
 public class SubscriptionRepositoryImpl implements SubscriptionRepository {
 
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "subscribedAt")
+            .and(Sort.by(Sort.Direction.DESC, "_id"));
+
     private final SubscriptionMongoRepository mongoRepository;
     private final SubscriptionMapper mapper;
+    private final MongoTemplate mongoTemplate;
 
-    public SubscriptionRepositoryImpl(SubscriptionMongoRepository mongoRepository, SubscriptionMapper mapper) {
+    public SubscriptionRepositoryImpl(SubscriptionMongoRepository mongoRepository, SubscriptionMapper mapper,
+                                      MongoTemplate mongoTemplate) {
         this.mongoRepository = mongoRepository;
         this.mapper = mapper;
+        this.mongoTemplate = mongoTemplate;
     }
 
     @Override
@@ -37,15 +47,47 @@ public class SubscriptionRepositoryImpl implements SubscriptionRepository {
     }
 
     @Override
-    public Page<Subscription> findByTenantIdAndSubscriberId(String tenantId, String subscriberId, Pageable pageable) {
+    public List<Subscription> findByTenantIdAndSubscriberId(String tenantId, String subscriberId, Pageable pageable) {
         return mongoRepository.findByTenantIdAndSubscriberIdOrderBySubscribedAtDesc(tenantId, subscriberId, pageable)
-                .map(mapper::toModel);
+                .stream()
+                .map(mapper::toModel)
+                .toList();
     }
 
     @Override
-    public Page<Subscription> findByTenantIdAndTargetUserId(String tenantId, String targetUserId, Pageable pageable) {
+    public List<Subscription> findByTenantIdAndTargetUserId(String tenantId, String targetUserId, Pageable pageable) {
         return mongoRepository.findByTenantIdAndTargetUserIdOrderBySubscribedAtDesc(tenantId, targetUserId, pageable)
-                .map(mapper::toModel);
+                .stream()
+                .map(mapper::toModel)
+                .toList();
+    }
+
+    @Override
+    public List<Subscription> findPageByTenantIdAndSubscriberId(String tenantId, String subscriberId,
+                                                                LocalDateTime afterSubscribedAt, String afterId, int limit) {
+        return findKeysetPage(Criteria.where("tenantId").is(tenantId).and("subscriberId").is(subscriberId),
+                afterSubscribedAt, afterId, limit);
+    }
+
+    @Override
+    public List<Subscription> findPageByTenantIdAndTargetUserId(String tenantId, String targetUserId,
+                                                                LocalDateTime afterSubscribedAt, String afterId, int limit) {
+        return findKeysetPage(Criteria.where("tenantId").is(tenantId).and("targetUserId").is(targetUserId),
+                afterSubscribedAt, afterId, limit);
+    }
+
+    private List<Subscription> findKeysetPage(Criteria criteria, LocalDateTime afterSubscribedAt,
+                                              String afterId, int limit) {
+        if (afterSubscribedAt != null && afterId != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where("subscribedAt").lt(afterSubscribedAt),
+                    Criteria.where("subscribedAt").is(afterSubscribedAt).and("_id").lt(afterId));
+        }
+        Query query = Query.query(criteria).with(KEYSET_SORT).limit(limit);
+        return mongoTemplate.find(query, SubscriptionEntity.class)
+                .stream()
+                .map(mapper::toModel)
+                .toList();
     }
 
     @Override
@@ -75,7 +117,7 @@ public class SubscriptionRepositoryImpl implements SubscriptionRepository {
     }
 
     @Override
-    public void deleteByTenantIdAndId(String tenantId, String id) {
-        mongoRepository.deleteByTenantIdAndId(tenantId, id);
+    public boolean deleteByTenantIdAndId(String tenantId, String id) {
+        return mongoRepository.deleteByTenantIdAndId(tenantId, id) > 0;
     }
 }
@@ -0,0 +1,63 @@
+package org.earnlumens.mediastore.infrastructure.persistence.subscription.entity;
+
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Subscriber/subscription counters, one document per (tenant, user).
+ * The id is {@code tenantId:userId}, so a profile view reads its counts
+ * by {@code _id} instead of counting {@code subscriptions}.
+ */
+@Document(collection = "subscription_counts")
+@CompoundIndex(name = "idx_sub_counts_reconciled_at", def = "{'reconciledAt': 1}")
+public class SubscriptionCountsEntity {
+
+    @Id
+    private String id;
+
+    @NotBlank
+    private String tenantId;
+
+    @NotBlank
+    private String userId;
+
+    private long subscribers;
+
+    private long subscriptions;
+
+    private long version;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime reconciledAt;
+
+    public SubscriptionCountsEntity() {}
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTenantId() { return tenantId; }
+    public void setTenantId(String tenantId) { this.tenantId = tenantId; }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+
+    public long getSubscribers() { return subscribers; }
+    public void setSubscribers(long subscribers) { this.subscribers = subscribers; }
+
+    public long getSubscriptions() { return subscriptions; }
+    public void setSubscriptions(long subscriptions) { this.subscriptions = subscriptions; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+    public void setReconciledAt(LocalDateTime reconciledAt) { this.reconciledAt = reconciledAt; }
+}
@@ -14,15 +14,15 @@ import java.time.LocalDateTime;
  * <p>Indexes:
  * <ul>
  *   <li>{tenantId, subscriberId, targetUserId} UNIQUE — prevents duplicate subscriptions</li>
- *   <li>{tenantId, subscriberId, subscribedAt DESC} — "my subscriptions" list</li>
- *   <li>{tenantId, targetUserId, subscribedAt DESC} — "my subscribers" list + count</li>
+ *   <li>{tenantId, subscriberId, subscribedAt DESC, _id DESC} — "my subscriptions" keyset list</li>
+ *   <li>{tenantId, targetUserId, subscribedAt DESC, _id DESC} — "my subscribers" keyset list + count</li>
  * </ul>
  * </p>
  */
 @Document(collection = "subscriptions")
 @CompoundIndex(name = "idx_tenant_sub_target", def = "{'tenantId': 1, 'subscriberId': 1, 'targetUserId': 1}", unique = true)
-@CompoundIndex(name = "idx_tenant_sub_date", def = "{'tenantId': 1, 'subscriberId': 1, 'subscribedAt': -1}")
-@CompoundIndex(name = "idx_tenant_target_date", def = "{'tenantId': 1, 'targetUserId': 1, 'subscribedAt': -1}")
+@CompoundIndex(name = "idx_sub_tenant_sub_date_id", def = "{'tenantId': 1, 'subscriberId': 1, 'subscribedAt': -1, '_id': -1}")
+@CompoundIndex(name = "idx_sub_tenant_target_date_id", def = "{'tenantId': 1, 'targetUserId': 1, 'subscribedAt': -1, '_id': -1}")
 public class SubscriptionEntity {
 
     @Id
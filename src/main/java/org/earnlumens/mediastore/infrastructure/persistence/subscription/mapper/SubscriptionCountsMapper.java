@@ -0,0 +1,12 @@
+package org.earnlumens.mediastore.infrastructure.persistence.subscription.mapper;
+
+import org.earnlumens.mediastore.domain.subscription.model.SubscriptionCounts;
+import org.earnlumens.mediastore.infrastructure.persistence.subscription.entity.SubscriptionCountsEntity;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface SubscriptionCountsMapper {
+    SubscriptionCounts toModel(SubscriptionCountsEntity entity);
+
+    SubscriptionCountsEntity toEntity(SubscriptionCounts model);
+}
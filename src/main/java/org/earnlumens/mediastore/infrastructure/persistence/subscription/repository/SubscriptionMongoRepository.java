@@ -1,7 +1,6 @@
 package org.earnlumens.mediastore.infrastructure.persistence.subscription.repository;
 
 import org.earnlumens.mediastore.infrastructure.persistence.subscription.entity.SubscriptionEntity;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
@@ -14,9 +13,9 @@ public interface SubscriptionMongoRepository extends MongoRepository<Subscriptio
 
     Optional<SubscriptionEntity> findByTenantIdAndSubscriberIdAndTargetUserId(String tenantId, String subscriberId, String targetUserId);
 
-    Page<SubscriptionEntity> findByTenantIdAndSubscriberIdOrderBySubscribedAtDesc(String tenantId, String subscriberId, Pageable pageable);
+    List<SubscriptionEntity> findByTenantIdAndSubscriberIdOrderBySubscribedAtDesc(String tenantId, String subscriberId, Pageable pageable);
 
-    Page<SubscriptionEntity> findByTenantIdAndTargetUserIdOrderBySubscribedAtDesc(String tenantId, String targetUserId, Pageable pageable);
+    List<SubscriptionEntity> findByTenantIdAndTargetUserIdOrderBySubscribedAtDesc(String tenantId, String targetUserId, Pageable pageable);
 
     long countByTenantIdAndTargetUserId(String tenantId, String targetUserId);
 
@@ -24,5 +23,5 @@ public interface SubscriptionMongoRepository extends MongoRepository<Subscriptio
 
     List<SubscriptionEntity> findByTenantIdAndSubscriberIdAndTargetUserIdIn(String tenantId, String subscriberId, List<String> targetUserIds);
 
-    void deleteByTenantIdAndId(String tenantId, String id);
+    long deleteByTenantIdAndId(String tenantId, String id);
 }
@@ -7,6 +7,8 @@ import org.earnlumens.mediastore.domain.user.repository.UserBadgeRepository;
 import org.earnlumens.mediastore.infrastructure.persistence.user.entity.UserBadgeAssignmentEntity;
 import org.earnlumens.mediastore.infrastructure.persistence.user.mapper.UserBadgeMapper;
 import org.earnlumens.mediastore.infrastructure.persistence.user.repository.UserBadgeMongoRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
@@ -14,6 +16,7 @@ import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -72,9 +75,25 @@ public class UserBadgeRepositoryImpl implements UserBadgeRepository {
     }
 
     @Override
-    public List<UserBadgeAssignment> findExpiredAssignments(String tenantId, LocalDateTime before) {
+    public List<UserBadgeAssignment> findExpiredAssignments(String tenantId, LocalDateTime before, int limit) {
         return mongoRepository
-                .findByTenantIdAndStatusAndExpiresAtBefore(tenantId, BadgeAssignmentStatus.ACTIVE.name(), before)
+                .findByTenantIdAndStatusAndExpiresAtBefore(tenantId, BadgeAssignmentStatus.ACTIVE.name(), before,
+                        PageRequest.of(0, limit, Sort.by(Sort.Direction.ASC, "expiresAt")))
+                .stream()
+                .map(mapper::toModel)
+                .toList();
+    }
+
+    @Override
+    public List<UserBadgeAssignment> findUnexpiredByUsers(String tenantId, Collection<String> userIds, LocalDateTime at) {
+        Query query = new Query(Criteria.where("tenantId").is(tenantId)
+                .and("userId").in(userIds)
+                .and("status").is(BadgeAssignmentStatus.ACTIVE.name())
+                .orOperator(
+                        Criteria.where("expiresAt").is(null),
+                        Criteria.where("expiresAt").gte(at)));
+
+        return mongoTemplate.find(query, UserBadgeAssignmentEntity.class)
                 .stream()
                 .map(mapper::toModel)
                 .toList();
@@ -87,10 +106,10 @@ public class UserBadgeRepositoryImpl implements UserBadgeRepository {
     }
 
     @Override
-    public long expireAssignments(String tenantId, LocalDateTime before) {
+    public long expireAssignments(String tenantId, Collection<String> ids) {
         Query query = new Query(Criteria.where("tenantId").is(tenantId)
-                .and("status").is(BadgeAssignmentStatus.ACTIVE.name())
-                .and("expiresAt").lt(before));
+                .and("_id").in(ids)
+                .and("status").is(BadgeAssignmentStatus.ACTIVE.name()));
 
         Update update = new Update().set("status", BadgeAssignmentStatus.EXPIRED.name());
 
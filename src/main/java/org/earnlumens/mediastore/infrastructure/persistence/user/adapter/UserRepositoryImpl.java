@@ -2,23 +2,48 @@ package org.earnlumens.mediastore.infrastructure.persistence.user.adapter;
 
 import org.earnlumens.mediastore.domain.user.model.User;
 import org.earnlumens.mediastore.domain.user.repository.UserRepository;
+import org.earnlumens.mediastore.infrastructure.migration.SchemaMigrationRunner;
+import org.earnlumens.mediastore.infrastructure.migration.UsernameLowerIndexMigration;
 import org.earnlumens.mediastore.infrastructure.persistence.user.entity.UserEntity;
 import org.earnlumens.mediastore.infrastructure.persistence.user.mapper.UserMapper;
 import org.earnlumens.mediastore.infrastructure.persistence.user.repository.UserMongoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Repository
 public class UserRepositoryImpl implements UserRepository {
 
+    private static final Logger logger = LoggerFactory.getLogger(UserRepositoryImpl.class);
+
     private final UserMongoRepository userMongoRepository;
     private final UserMapper userMapper;
+    private final MongoTemplate mongoTemplate;
+    private final SchemaMigrationRunner migrationRunner;
+
+    /**
+     * True until V10 is recorded: a lookup miss may then just be an account
+     * whose {@code usernameLower} is not backfilled yet, so it is retried with
+     * the old case-insensitive regex. Latched off once V10 is applied.
+     */
+    private volatile boolean legacyUsernameLookups = true;
 
-    public UserRepositoryImpl(UserMongoRepository userMongoRepository, UserMapper userMapper) {
+    public UserRepositoryImpl(UserMongoRepository userMongoRepository, UserMapper userMapper,
+                              MongoTemplate mongoTemplate, SchemaMigrationRunner migrationRunner) {
         this.userMongoRepository = userMongoRepository;
         this.userMapper = userMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.migrationRunner = migrationRunner;
     }
 
     @Override
@@ -31,13 +56,19 @@ public class UserRepositoryImpl implements UserRepository {
 
     @Override
     public Optional<User> findByUsername(String username) {
-        return userMongoRepository.findByUsernameIgnoreCase(username)
-                .map(userMapper::toModel);
+        Optional<UserEntity> found = userMongoRepository.findByUsernameLower(toLower(username));
+        if (found.isEmpty() && legacyUsernameLookups()) {
+            found = userMongoRepository.findByUsernameIgnoreCase(username);
+        }
+        return found.map(userMapper::toModel);
     }
 
     @Override
     public Boolean existsByUsername(String username) {
-        return userMongoRepository.existsByUsernameIgnoreCase(username);
+        if (userMongoRepository.existsByUsernameLower(toLower(username))) {
+            return true;
+        }
+        return legacyUsernameLookups() && userMongoRepository.existsByUsernameIgnoreCase(username);
     }
 
     @Override
@@ -54,7 +85,16 @@ public class UserRepositoryImpl implements UserRepository {
     @Override
     public User save(User user) {
         UserEntity entity = userMapper.toEntity(user);
-        UserEntity saved = userMongoRepository.save(entity);
+        UserEntity saved;
+        try {
+            saved = userMongoRepository.save(entity);
+        } catch (DuplicateKeyException e) {
+            if (entity.getUsernameLower() == null) {
+                throw e;
+            }
+            resolveUsernameClaim(entity);
+            saved = userMongoRepository.save(entity);
+        }
         return userMapper.toModel(saved);
     }
 
@@ -63,4 +103,44 @@ public class UserRepositoryImpl implements UserRepository {
         return userMongoRepository.findByTempUUID(tempUUID)
                 .map(userMapper::toModel);
     }
+
+    /**
+     * Two accounts claim the same lowercase username: the other one renamed
+     * on X and has not logged in since. The most recent login owns the name;
+     * the loser is saved without {@code usernameLower} (out of the unique
+     * index) until its next login refreshes its username.
+     */
+    private void resolveUsernameClaim(UserEntity entity) {
+        Query holderQuery = Query.query(Criteria.where("usernameLower").is(entity.getUsernameLower())
+                .and("_id").ne(entity.getId()));
+        UserEntity holder = mongoTemplate.findOne(holderQuery, UserEntity.class);
+        if (holder == null) {
+            return;
+        }
+        if (isAfter(entity.getLastLoginAt(), holder.getLastLoginAt())) {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(holder.getId())),
+                    new Update().unset("usernameLower"), UserEntity.class);
+            logger.warn("[UserRepository] Username '{}' moved from stale user {} to user {}",
+                    entity.getUsernameLower(), holder.getOauthUserId(), entity.getOauthUserId());
+        } else {
+            entity.setUsernameLower(null);
+            logger.warn("[UserRepository] Username '{}' is held by user {}; user {} saved without it",
+                    holder.getUsernameLower(), holder.getOauthUserId(), entity.getOauthUserId());
+        }
+    }
+
+    private boolean legacyUsernameLookups() {
+        if (legacyUsernameLookups && migrationRunner.isApplied(UsernameLowerIndexMigration.VERSION)) {
+            legacyUsernameLookups = false;
+        }
+        return legacyUsernameLookups;
+    }
+
+    private static boolean isAfter(LocalDateTime a, LocalDateTime b) {
+        return a != null && (b == null || a.isAfter(b));
+    }
+
+    private static String toLower(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
+    }
 }
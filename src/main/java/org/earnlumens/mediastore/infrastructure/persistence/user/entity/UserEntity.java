@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -11,6 +12,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Document(collection = "users")
+// Profile lookups by username (unique, partial on usernameLower existing).
+// Created explicitly by UsernameLowerIndexMigration (auto-index-creation is disabled).
+@CompoundIndex(name = "idx_user_username_lower", def = "{'usernameLower': 1}", unique = true,
+        partialFilter = "{'usernameLower': {'$exists': true}}")
+// Login path: oauthUserId on every login/refresh, tempUUID for the one-time
+// exchange (sparse — cleared once used). Created by UserLookupIndexMigration.
+@CompoundIndex(name = "idx_user_oauth_user_id", def = "{'oauthUserId': 1}")
+@CompoundIndex(name = "idx_user_temp_uuid", def = "{'tempUUID': 1}", sparse = true)
 public class UserEntity {
 
     @Id
@@ -28,6 +37,15 @@ public class UserEntity {
     @Size(max = 50)
     private String username;
 
+    /**
+     * Lowercased copy of {@link #username}, kept in sync by the persistence
+     * mapper. Exists so profile lookups can use an exact, index-backed match
+     * instead of a case-insensitive regex (which cannot use index bounds in
+     * MongoDB). Absent on a stale account whose old username has since been
+     * claimed by another X account, so the unique index holds.
+     */
+    private String usernameLower;
+
     @Size(max = 100)
     private String displayName;
 
@@ -110,6 +128,14 @@ public class UserEntity {
         this.username = username;
     }
 
+    public String getUsernameLower() {
+        return usernameLower;
+    }
+
+    public void setUsernameLower(String usernameLower) {
+        this.usernameLower = usernameLower;
+    }
+
     public String getDisplayName() {
         return displayName;
     }
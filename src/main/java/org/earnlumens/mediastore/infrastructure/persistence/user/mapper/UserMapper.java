@@ -4,6 +4,8 @@ import org.earnlumens.mediastore.domain.user.model.User;
 import org.earnlumens.mediastore.infrastructure.persistence.user.entity.UserEntity;
 import org.mapstruct.InheritInverseConfiguration;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 @Mapper(componentModel = "spring")
 public interface UserMapper {
@@ -11,5 +13,11 @@ public interface UserMapper {
     User toModel(UserEntity entity);
 
     @InheritInverseConfiguration
+    @Mapping(target = "usernameLower", source = "username", qualifiedByName = "toLowerCase")
     UserEntity toEntity(User user);
+
+    @Named("toLowerCase")
+    default String toLowerCase(String value) {
+        return value == null ? null : value.toLowerCase(java.util.Locale.ROOT);
+    }
 }
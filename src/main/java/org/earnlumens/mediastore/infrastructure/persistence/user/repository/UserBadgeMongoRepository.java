@@ -1,6 +1,7 @@
 package org.earnlumens.mediastore.infrastructure.persistence.user.repository;
 
 import org.earnlumens.mediastore.infrastructure.persistence.user.entity.UserBadgeAssignmentEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.time.LocalDateTime;
@@ -19,7 +20,7 @@ public interface UserBadgeMongoRepository extends MongoRepository<UserBadgeAssig
             String tenantId, String badgeType, String status);
 
     List<UserBadgeAssignmentEntity> findByTenantIdAndStatusAndExpiresAtBefore(
-            String tenantId, String status, LocalDateTime before);
+            String tenantId, String status, LocalDateTime before, Pageable pageable);
 
     boolean existsByTenantIdAndUserIdAndBadgeTypeAndStatus(
             String tenantId, String userId, String badgeType, String status);
@@ -7,6 +7,15 @@ import java.util.Optional;
 
 public interface UserMongoRepository extends MongoRepository<UserEntity, String> {
 
+    /** Exact match on the lowercased username — served by {@code idx_user_username_lower}. */
+    Optional<UserEntity> findByUsernameLower(String usernameLower);
+
+    boolean existsByUsernameLower(String usernameLower);
+
+    /**
+     * Anchored case-insensitive regex; cannot use index bounds. Only a
+     * fallback for accounts not yet backfilled by V10.
+     */
     Optional<UserEntity> findByUsernameIgnoreCase(String username);
 
     Boolean existsByUsernameIgnoreCase(String username);
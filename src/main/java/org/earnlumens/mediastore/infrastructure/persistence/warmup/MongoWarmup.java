@@ -0,0 +1,226 @@
+package org.earnlumens.mediastore.infrastructure.persistence.warmup;
+
+import com.mongodb.ReadPreference;
+import org.bson.Document;
+import org.earnlumens.mediastore.domain.media.model.EntryStatus;
+import org.earnlumens.mediastore.domain.media.model.LanguageFilter;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.domain.user.model.BadgeType;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantResolver;
+import org.earnlumens.mediastore.infrastructure.tenant.read.TenantConfigService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Startup warm-up for the Mongo client, so a cold Cloud Run instance does not
+ * pay connection setup (TCP + TLS + auth + compression handshake) and query
+ * planning on its first user requests.
+ * <p>
+ * Runs once on a virtual thread when the application is ready:
+ * <ol>
+ *   <li>Opens {@code connections} pooled connections to the primary (and to a
+ *       secondary when read routing uses secondaries) with concurrent pings,
+ *       instead of waiting for the driver's pool maintenance to reach
+ *       {@code MONGO_MIN_POOL_SIZE}. Retried until Mongo answers or the
+ *       deadline passes.</li>
+ *   <li>Runs the hot storefront queries once (explore, community and
+ *       newest-published feeds, search suggestions) with the same arguments
+ *       the anonymous storefront uses. That caches their plans on the nodes
+ *       that serve them and loads the mapping and codec paths. Plans are
+ *       keyed by query shape, not tenant, so one tenant is enough: the
+ *       {@linkplain TenantResolver#DEFAULT_TENANT default tenant}, which
+ *       serves the apex and every unresolved host, or the first active
+ *       tenant id in order when it is not active. Failures are logged and
+ *       do not block.</li>
+ * </ol>
+ * {@link #isReady()} backs {@code GET /public/ready}, the startup probe: it
+ * turns true when both steps are done, when warm-up is disabled, or once
+ * {@code max-wait-ms} has passed since the application became ready (context
+ * startup does not use up the budget) so a slow Mongo never fails a rollout.
+ */
+@Component
+public class MongoWarmup {
+
+    private static final Logger logger = LoggerFactory.getLogger(MongoWarmup.class);
+
+    private static final Document PING = new Document("ping", 1);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoReadRouter readRouter;
+    private final EntryRepository entryRepository;
+    private final TenantConfigService tenantConfigService;
+    private final boolean enabled;
+    private final int connections;
+    private final long maxWaitNanos;
+
+    private volatile long deadlineNanos;
+    private volatile boolean deadlineStarted;
+    private volatile boolean done;
+
+    public MongoWarmup(
+            MongoTemplate mongoTemplate,
+            MongoReadRouter readRouter,
+            EntryRepository entryRepository,
+            TenantConfigService tenantConfigService,
+            @Value("${mediastore.mongo.warmup.enabled:true}") boolean enabled,
+            @Value("${mediastore.mongo.warmup.connections:${MONGO_MIN_POOL_SIZE:5}}") int connections,
+            @Value("${mediastore.mongo.warmup.max-wait-ms:30000}") long maxWaitMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.readRouter = readRouter;
+        this.entryRepository = entryRepository;
+        this.tenantConfigService = tenantConfigService;
+        this.enabled = enabled;
+        this.connections = Math.max(1, connections);
+        this.maxWaitNanos = Duration.ofMillis(Math.max(0, maxWaitMs)).toNanos();
+        this.done = !enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            logger.info("Mongo warm-up disabled (mediastore.mongo.warmup.enabled=false)");
+            return;
+        }
+        startDeadline();
+        Thread.ofVirtual().name("mongo-warmup").start(this::run);
+    }
+
+    /** True once warm-up finished, is disabled, or ran past its deadline. */
+    public boolean isReady() {
+        return done || (deadlineStarted && deadlinePassed());
+    }
+
+    /** Starts the {@code max-wait-ms} budget; called when the application is ready. */
+    void startDeadline() {
+        deadlineNanos = System.nanoTime() + maxWaitNanos;
+        deadlineStarted = true;
+    }
+
+    private boolean deadlinePassed() {
+        return System.nanoTime() - deadlineNanos >= 0;
+    }
+
+    void run() {
+        long started = System.nanoTime();
+        try {
+            int primary = openConnectionsUntilDeadline(ReadPreference.primary());
+            int secondary = readRouter.routesToSecondaries()
+                    ? openConnections(mongoTemplate, ReadPreference.secondaryPreferred(), connections)
+                    : 0;
+            long poolMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+            Map<String, Long> primed = primeHotQueries();
+            logger.info("MONGO_WARMUP connections={} secondaryConnections={} poolMs={} primed={} totalMs={}",
+                    primary, secondary, poolMs, primed,
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } catch (RuntimeException e) {
+            logger.warn("Mongo warm-up failed; serving cold: {}", e.getMessage());
+        } finally {
+            done = true;
+        }
+    }
+
+    private int openConnectionsUntilDeadline(ReadPreference readPreference) {
+        while (true) {
+            int opened = openConnections(mongoTemplate, readPreference, connections);
+            if (opened > 0 || deadlinePassed()) {
+                return opened;
+            }
+            try {
+                Thread.sleep(RETRY_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Sends {@code count} pings at once. Each in-flight command holds its own
+     * pooled connection, so the pool grows to {@code count} (bounded by
+     * {@code MONGO_MAX_POOL_SIZE}) instead of reusing the first one.
+     *
+     * @return how many pings succeeded
+     */
+    public static int openConnections(MongoTemplate template, ReadPreference readPreference, int count) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> pings = new ArrayList<>(count);
+        int succeeded = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                pings.add(executor.submit(() -> {
+                    start.await();
+                    return template.executeCommand(PING, readPreference);
+                }));
+            }
+            start.countDown();
+            for (Future<?> ping : pings) {
+                try {
+                    ping.get();
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    logger.debug("Warm-up ping failed: {}", e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return succeeded;
+    }
+
+    /** Hot storefront queries for the warm-up tenant; name → ms, -1 on failure. */
+    private Map<String, Long> primeHotQueries() {
+        Map<String, Long> timings = new LinkedHashMap<>();
+        String tenantId = warmupTenant(tenantConfigService.findAllActiveTenantIds());
+        if (tenantId == null) {
+            return timings;
+        }
+        prime(timings, "explore", () -> entryRepository.findExploreFeed(
+                tenantId, null, null, "newest", LanguageFilter.NONE, 0, 24));
+        // Same badge filter as PublicEntryService#getCommunityFeed.
+        prime(timings, "community", () -> entryRepository.findCommunityFeed(
+                tenantId, BadgeType.U1.key(), null, null, "newest", LanguageFilter.NONE, 0, 24));
+        prime(timings, "published", () -> entryRepository.findByTenantIdAndStatus(
+                tenantId, EntryStatus.PUBLISHED, PageRequest.of(0, 24)));
+        prime(timings, "suggestions", () -> entryRepository.searchSuggestions(tenantId, "a", 8));
+        return timings;
+    }
+
+    /** The default tenant when active, else the lowest active tenant id; {@code null} when none is active. */
+    static String warmupTenant(List<String> activeTenantIds) {
+        if (activeTenantIds.contains(TenantResolver.DEFAULT_TENANT)) {
+            return TenantResolver.DEFAULT_TENANT;
+        }
+        return activeTenantIds.stream().sorted().findFirst().orElse(null);
+    }
+
+    private static void prime(Map<String, Long> timings, String name, Runnable query) {
+        long started = System.nanoTime();
+        try {
+            query.run();
+            timings.put(name, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } catch (RuntimeException e) {
+            logger.warn("Warm-up query '{}' failed: {}", name, e.getMessage());
+            timings.put(name, -1L);
+        }
+    }
+}
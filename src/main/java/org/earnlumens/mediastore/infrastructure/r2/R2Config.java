@@ -6,6 +6,7 @@ import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
@@ -13,7 +14,7 @@ import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import java.net.URI;
 
 /**
- * Configures an {@link S3Presigner} bean pointing at the Cloudflare R2 endpoint.
+ * Configures the {@link S3Presigner} and S3 client beans pointing at the Cloudflare R2 endpoint.
  * R2 is S3-compatible, so we reuse the AWS SDK with a custom endpoint.
  */
 @Configuration
@@ -53,4 +54,21 @@ public class R2Config {
                         .build())
                 .build();
     }
+
+    /**
+     * Non-blocking client for bulk work ({@link R2PrefixDeleter}): many list /
+     * batch-delete calls can be in flight on a handful of event-loop threads.
+     */
+    @Bean(destroyMethod = "close")
+    public S3AsyncClient s3AsyncClient() {
+        return S3AsyncClient.builder()
+                .endpointOverride(URI.create(endpoint))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKeyId, secretAccessKey)))
+                .region(Region.of("auto"))
+                .serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(true)
+                        .build())
+                .build();
+    }
 }
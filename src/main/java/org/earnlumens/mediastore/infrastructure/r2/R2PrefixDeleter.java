@@ -0,0 +1,195 @@
+package org.earnlumens.mediastore.infrastructure.r2;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.Delete;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk prefix deletion on the async S3 client.
+ * <p>
+ * {@link R2StorageService#deleteByPrefix} lists and deletes one page at a time
+ * on a blocking client, so an HLS rendition tree (thousands of segments) or a
+ * backlog of drafts ties a thread up for minutes. Here:
+ * <ul>
+ *   <li>each prefix is a pipeline — the batch delete of page N (up to 1000
+ *       keys, the S3 DeleteObjects limit) runs while page N+1 is being
+ *       listed; the next list waits for the delete before last, so a prefix
+ *       never has more than two pages (two batch deletes) in flight;</li>
+ *   <li>{@link #deletePrefixes} runs up to {@code maxConcurrentPrefixes}
+ *       pipelines at once;</li>
+ *   <li>every run reports objects deleted and objects/s.</li>
+ * </ul>
+ * Retries are not handled here: callers that need durability go through the
+ * {@code r2_deletion_queue} (see {@code R2DeletionQueueService}).
+ */
+@Service
+public class R2PrefixDeleter {
+
+    private static final Logger logger = LoggerFactory.getLogger(R2PrefixDeleter.class);
+
+    /** S3/R2 DeleteObjects accepts at most 1000 keys per request; ListObjectsV2 returns at most 1000. */
+    static final int MAX_KEYS_PER_BATCH = 1000;
+
+    private final S3AsyncClient s3AsyncClient;
+    private final String bucket;
+    private final int maxConcurrentPrefixes;
+
+    public R2PrefixDeleter(
+            S3AsyncClient s3AsyncClient,
+            @Value("${mediastore.r2.bucket}") String bucket,
+            @Value("${mediastore.r2.delete-concurrency:8}") int maxConcurrentPrefixes
+    ) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucket = bucket;
+        this.maxConcurrentPrefixes = Math.max(1, maxConcurrentPrefixes);
+    }
+
+    /**
+     * Outcome of a {@link #deletePrefixes} run.
+     *
+     * @param deleted          objects deleted per prefix that finished cleanly
+     * @param failed           error message per prefix that failed (partially deleted prefixes land here)
+     * @param objects          total objects deleted, including partial progress of failed prefixes
+     * @param durationMs       wall-clock time of the run
+     * @param objectsPerSecond deletion throughput of the run
+     */
+    public record Report(
+            Map<String, Long> deleted,
+            Map<String, String> failed,
+            long objects,
+            long durationMs,
+            double objectsPerSecond
+    ) {}
+
+    /**
+     * Deletes every object under each prefix, running at most
+     * {@code maxConcurrentPrefixes} prefixes at a time. Blocks until all
+     * prefixes have finished or failed; never throws for a single prefix.
+     */
+    public Report deletePrefixes(Collection<String> prefixes) {
+        long start = System.nanoTime();
+        Semaphore permits = new Semaphore(maxConcurrentPrefixes);
+        Map<String, Long> deleted = new ConcurrentHashMap<>();
+        Map<String, String> failed = new ConcurrentHashMap<>();
+        AtomicLong objects = new AtomicLong();
+
+        List<CompletableFuture<Void>> runs = new ArrayList<>(prefixes.size());
+        for (String prefix : prefixes) {
+            permits.acquireUninterruptibly();
+            AtomicLong progress = new AtomicLong();
+            CompletableFuture<Void> run;
+            try {
+                run = deletePrefix(prefix, progress);
+            } catch (RuntimeException e) {
+                run = CompletableFuture.failedFuture(e);
+            }
+            runs.add(run.handle((count, error) -> {
+                permits.release();
+                objects.addAndGet(progress.get());
+                if (error == null) {
+                    deleted.put(prefix, count);
+                } else {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    failed.put(prefix, String.valueOf(cause.getMessage()));
+                    logger.warn("R2 prefix delete failed: prefix='{}', deletedBeforeFailure={}: {}",
+                            prefix, progress.get(), cause.getMessage());
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(runs.toArray(CompletableFuture[]::new)).join();
+
+        long durationMs = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        double rate = objects.get() * 1000.0 / durationMs;
+        if (!prefixes.isEmpty()) {
+            logger.info("R2 prefix delete: prefixes={}, failed={}, objects={}, durationMs={}, objects/s={}",
+                    prefixes.size(), failed.size(), objects.get(), durationMs, String.format("%.1f", rate));
+        }
+        return new Report(new LinkedHashMap<>(deleted), new LinkedHashMap<>(failed), objects.get(), durationMs, rate);
+    }
+
+    /**
+     * Deletes every object under {@code prefix}.
+     *
+     * @return future completing with the number of objects deleted
+     */
+    public CompletableFuture<Long> deletePrefix(String prefix) {
+        return deletePrefix(prefix, new AtomicLong());
+    }
+
+    private CompletableFuture<Long> deletePrefix(String prefix, AtomicLong progress) {
+        if (prefix == null || prefix.isBlank() || !prefix.contains("/")) {
+            // Refuse degenerate prefixes that could wipe the bucket.
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("Refusing suspicious prefix '" + prefix + "'"));
+        }
+        return listAndDelete(prefix, null, CompletableFuture.completedFuture(null), progress)
+                .thenApply(v -> progress.get());
+    }
+
+    /**
+     * One pipeline step: list a page, start its batch delete, and — once the
+     * previous page's delete has finished — list the next page while this
+     * page's delete is still in flight.
+     */
+    private CompletableFuture<Void> listAndDelete(String prefix, String continuationToken,
+                                                  CompletableFuture<Void> previousDelete, AtomicLong progress) {
+        ListObjectsV2Request list = ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(prefix)
+                .maxKeys(MAX_KEYS_PER_BATCH)
+                .continuationToken(continuationToken)
+                .build();
+
+        return s3AsyncClient.listObjectsV2(list).thenCompose(page -> {
+            List<ObjectIdentifier> keys = page.contents().stream()
+                    .map(o -> ObjectIdentifier.builder().key(o.key()).build())
+                    .toList();
+            CompletableFuture<Void> delete = deleteBatch(keys, progress);
+            if (!Boolean.TRUE.equals(page.isTruncated())) {
+                return CompletableFuture.allOf(previousDelete, delete);
+            }
+            String next = page.nextContinuationToken();
+            return previousDelete.thenCompose(v -> listAndDelete(prefix, next, delete, progress));
+        });
+    }
+
+    private CompletableFuture<Void> deleteBatch(List<ObjectIdentifier> keys, AtomicLong progress) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                .bucket(bucket)
+                .delete(Delete.builder().objects(keys).quiet(true).build())
+                .build();
+        return s3AsyncClient.deleteObjects(request).thenAccept(response -> {
+            List<S3Error> errors = response.errors();
+            progress.addAndGet(keys.size() - errors.size());
+            if (!errors.isEmpty()) {
+                S3Error first = errors.get(0);
+                throw new CompletionException(new IllegalStateException(String.format(
+                        "%d of %d key(s) not deleted, first: %s %s",
+                        errors.size(), keys.size(), first.key(), first.code())));
+            }
+        });
+    }
+}
@@ -2,20 +2,28 @@ package org.earnlumens.mediastore.infrastructure.r2;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
-import software.amazon.awssdk.services.s3.presigner.model.PresignedUploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
-import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
 
+import java.net.URI;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Generates presigned PUT URLs for uploading files directly to Cloudflare R2.
+ * <p>
+ * Single-PUT URLs go through the SDK presigner. Multipart part URLs are signed
+ * by {@link SigV4QueryPresigner}, which caches the derived signing key so a
+ * window of part URLs costs one HMAC each instead of five.
  */
 @Service
 public class R2PresignedUrlService {
@@ -29,15 +37,34 @@ public class R2PresignedUrlService {
     /** Multipart part URLs: very large files on slow links can take hours. */
     public static final Duration PART_URL_DURATION = Duration.ofHours(24);
 
+    /** R2 accepts "auto" as the SigV4 region, same as the SDK clients in {@link R2Config}. */
+    private static final String SIGNING_REGION = "auto";
+
     private final S3Presigner presigner;
     private final String bucket;
+    private final URI endpoint;
+    private final SigV4QueryPresigner partSigner;
+    private final Clock clock;
 
+    @Autowired
     public R2PresignedUrlService(
             S3Presigner presigner,
-            @Value("${mediastore.r2.bucket}") String bucket
+            @Value("${mediastore.r2.bucket}") String bucket,
+            @Value("${mediastore.r2.endpoint}") String endpoint,
+            @Value("${mediastore.r2.accessKeyId}") String accessKeyId,
+            @Value("${mediastore.r2.secretAccessKey}") String secretAccessKey
     ) {
+        this(presigner, bucket, endpoint, accessKeyId, secretAccessKey, Clock.systemUTC());
+    }
+
+    /** Package-private constructor for testing (fixed clock). */
+    R2PresignedUrlService(S3Presigner presigner, String bucket, String endpoint,
+                          String accessKeyId, String secretAccessKey, Clock clock) {
         this.presigner = presigner;
         this.bucket = bucket;
+        this.endpoint = URI.create(endpoint);
+        this.partSigner = new SigV4QueryPresigner(accessKeyId, secretAccessKey, SIGNING_REGION, "s3");
+        this.clock = clock;
     }
 
     /**
@@ -77,19 +104,24 @@ public class R2PresignedUrlService {
      * Generates a presigned URL for uploading one part of a multipart upload.
      */
     public String generatePresignedUploadPartUrl(String r2Key, String s3UploadId, int partNumber) {
-        UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
-                .bucket(bucket)
-                .key(r2Key)
-                .uploadId(s3UploadId)
-                .partNumber(partNumber)
-                .build();
-
-        UploadPartPresignRequest presignRequest = UploadPartPresignRequest.builder()
-                .signatureDuration(PART_URL_DURATION)
-                .uploadPartRequest(uploadPartRequest)
-                .build();
+        return generatePresignedUploadPartUrls(r2Key, s3UploadId, partNumber, 1).get(0);
+    }
 
-        PresignedUploadPartRequest presigned = presigner.presignUploadPart(presignRequest);
-        return presigned.url().toString();
+    /**
+     * Generates presigned URLs for parts {@code firstPart .. firstPart + count - 1}
+     * of a multipart upload. All URLs in the batch share one signing timestamp,
+     * so the cached signing key is looked up once per batch.
+     */
+    public List<String> generatePresignedUploadPartUrls(String r2Key, String s3UploadId, int firstPart, int count) {
+        Instant now = clock.instant();
+        String path = "/" + bucket + "/" + r2Key;
+        List<String> urls = new ArrayList<>(count);
+        for (int part = firstPart; part < firstPart + count; part++) {
+            urls.add(partSigner.presign("PUT", endpoint, path,
+                    Map.of("partNumber", Integer.toString(part), "uploadId", s3UploadId),
+                    PART_URL_DURATION, now));
+        }
+        logger.debug("Generated {} part URLs for key={}, parts {}..{}", count, r2Key, firstPart, firstPart + count - 1);
+        return urls;
     }
 }
@@ -0,0 +1,177 @@
+package org.earnlumens.mediastore.infrastructure.r2;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal AWS Signature V4 query-string presigner for path-style object URLs.
+ * <p>
+ * The SDK's {@code S3Presigner} re-derives the SigV4 signing key (four chained
+ * HMACs) and rebuilds a full request model for every URL. That is fine for one
+ * URL, but a 50 GB multipart upload needs hundreds of part URLs. This class
+ * keeps the derived key for the current UTC date (keys are scoped to
+ * date/region/service, so one derivation per day is enough) and signs each
+ * URL with a single HMAC over a hand-built canonical request.
+ * <p>
+ * Only the {@code host} header is signed and the payload is
+ * {@code UNSIGNED-PAYLOAD}, exactly like the SDK presigner — the client's
+ * {@code PUT} carries no extra signed headers.
+ */
+final class SigV4QueryPresigner {
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final DateTimeFormatter AMZ_DATE =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final String accessKeyId;
+    private final String secretAccessKey;
+    private final String region;
+    private final String service;
+
+    /** Derived signing key for {@link CachedKey#dateStamp}; swapped atomically at UTC midnight. */
+    private volatile CachedKey cachedKey;
+    private final AtomicLong keyDerivations = new AtomicLong();
+
+    private record CachedKey(String dateStamp, byte[] key) {}
+
+    SigV4QueryPresigner(String accessKeyId, String secretAccessKey, String region, String service) {
+        this.accessKeyId = accessKeyId;
+        this.secretAccessKey = secretAccessKey;
+        this.region = region;
+        this.service = service;
+    }
+
+    /**
+     * Presigns {@code method path?extraParams} against {@code endpoint}.
+     *
+     * @param endpoint    scheme + host (+ port), e.g. {@code https://acct.r2.cloudflarestorage.com}
+     * @param path        unencoded object path starting with {@code /}, e.g. {@code /bucket/key}
+     * @param extraParams request query parameters (unencoded), e.g. partNumber/uploadId
+     * @param expires     URL validity (max 7 days)
+     * @param now         signing time
+     * @return the full presigned URL
+     */
+    String presign(String method, URI endpoint, String path, Map<String, String> extraParams,
+                   Duration expires, Instant now) {
+        String amzDate = AMZ_DATE.format(now);
+        String dateStamp = amzDate.substring(0, 8);
+        String scope = dateStamp + "/" + region + "/" + service + "/aws4_request";
+        String host = hostHeader(endpoint);
+
+        Map<String, String> params = new TreeMap<>();
+        params.put("X-Amz-Algorithm", ALGORITHM);
+        params.put("X-Amz-Credential", accessKeyId + "/" + scope);
+        params.put("X-Amz-Date", amzDate);
+        params.put("X-Amz-Expires", Long.toString(expires.toSeconds()));
+        params.put("X-Amz-SignedHeaders", "host");
+        extraParams.forEach(params::put);
+
+        // All parameter names here are ASCII, so sorting raw names equals
+        // sorting their encodings as SigV4 requires.
+        StringBuilder query = new StringBuilder();
+        for (Map.Entry<String, String> e : params.entrySet()) {
+            if (!query.isEmpty()) query.append('&');
+            query.append(uriEncode(e.getKey(), true)).append('=').append(uriEncode(e.getValue(), true));
+        }
+
+        String canonicalPath = uriEncode(path, false);
+        String canonicalRequest = method + "\n"
+                + canonicalPath + "\n"
+                + query + "\n"
+                + "host:" + host + "\n"
+                + "\n"
+                + "host\n"
+                + "UNSIGNED-PAYLOAD";
+
+        String stringToSign = ALGORITHM + "\n"
+                + amzDate + "\n"
+                + scope + "\n"
+                + HEX.formatHex(sha256(canonicalRequest));
+
+        String signature = HEX.formatHex(hmac(signingKey(dateStamp), stringToSign));
+
+        return endpoint.getScheme() + "://" + host + canonicalPath
+                + "?" + query + "&X-Amz-Signature=" + signature;
+    }
+
+    /** Number of signing-key derivations so far (one per UTC day in steady state). */
+    long keyDerivations() {
+        return keyDerivations.get();
+    }
+
+    private byte[] signingKey(String dateStamp) {
+        CachedKey current = cachedKey;
+        if (current != null && current.dateStamp().equals(dateStamp)) {
+            return current.key();
+        }
+        // Benign race: concurrent callers at midnight may derive the same key twice.
+        byte[] kDate = hmac(("AWS4" + secretAccessKey).getBytes(StandardCharsets.UTF_8), dateStamp);
+        byte[] kRegion = hmac(kDate, region);
+        byte[] kService = hmac(kRegion, service);
+        byte[] kSigning = hmac(kService, "aws4_request");
+        cachedKey = new CachedKey(dateStamp, kSigning);
+        keyDerivations.incrementAndGet();
+        return kSigning;
+    }
+
+    private static String hostHeader(URI endpoint) {
+        int port = endpoint.getPort();
+        boolean defaultPort = port == -1
+                || ("https".equals(endpoint.getScheme()) && port == 443)
+                || ("http".equals(endpoint.getScheme()) && port == 80);
+        return defaultPort ? endpoint.getHost() : endpoint.getHost() + ":" + port;
+    }
+
+    /**
+     * RFC 3986 encoding as specified for SigV4: unreserved characters pass
+     * through, everything else is percent-encoded from UTF-8 bytes. Slashes are
+     * kept in paths and encoded in query components.
+     */
+    static String uriEncode(String value, boolean encodeSlash) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder(bytes.length + 16);
+        for (byte b : bytes) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (c == '/' && !encodeSlash)) {
+                sb.append(c);
+            } else {
+                sb.append('%').append(Character.toUpperCase(Character.forDigit((c >> 4) & 0xF, 16)))
+                        .append(Character.toUpperCase(Character.forDigit(c & 0xF, 16)));
+            }
+        }
+        return sb.toString();
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(new SecretKeySpec(key, HMAC_SHA256));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private static byte[] sha256(String data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -8,32 +8,52 @@ import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Temporary diagnostic filter to log request details for 403 responses.
- * Registered as a plain servlet filter OUTSIDE the Spring Security chain
- * so it wraps everything, including the CORS filter.
- *
- * TODO: Remove once the mobile 403 issue is resolved.
+ * Access log and 403 diagnostics, registered as a plain servlet filter OUTSIDE
+ * the Spring Security chain so it wraps everything, including the CORS filter.
+ * <p>
+ * The response is observed through {@link StatusCapturingResponseWrapper},
+ * which counts bytes without buffering them; the body is never copied.
+ * <ul>
+ *   <li><b>Access log</b> — one structured line per request (tenant, route
+ *       template, status, latency, bytes) on the {@code mediastore.access}
+ *       logger, which {@code logback-spring.xml} routes through a
+ *       non-blocking async appender.</li>
+ *   <li><b>403 diagnostics</b> — the {@code DIAG-403} line with request
+ *       headers and cookie names. The first 500 bytes of the 403 body are
+ *       included only when {@code mediastore.diagnostics.capture-403-body.enabled}
+ *       is set, and then only for a sampled fraction of requests.</li>
+ * </ul>
  */
 @Configuration
 public class DiagnosticFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(DiagnosticFilter.class);
+    private static final Logger accessLogger = LoggerFactory.getLogger("mediastore.access");
+
+    static final int BODY_CAPTURE_LIMIT = 500;
 
     @Bean
-    public FilterRegistrationBean<Filter> diagnosticFilterRegistration() {
+    public FilterRegistrationBean<Filter> diagnosticFilterRegistration(
+            @Value("${mediastore.diagnostics.access-log.enabled:true}") boolean accessLogEnabled,
+            @Value("${mediastore.diagnostics.capture-403-body.enabled:false}") boolean captureForbiddenBody,
+            @Value("${mediastore.diagnostics.capture-403-body.sample-rate:0.1}") double captureSampleRate
+    ) {
         FilterRegistrationBean<Filter> reg = new FilterRegistrationBean<>();
-        reg.setFilter(new DiagnosticServletFilter());
+        reg.setFilter(new DiagnosticServletFilter(accessLogEnabled, captureForbiddenBody, captureSampleRate));
         reg.addUrlPatterns("/*");
         reg.setOrder(Ordered.HIGHEST_PRECEDENCE);
         reg.setName("diagnosticFilter");
@@ -42,6 +62,16 @@ public class DiagnosticFilter {
 
     static class DiagnosticServletFilter implements Filter {
 
+        private final boolean accessLogEnabled;
+        private final boolean captureForbiddenBody;
+        private final double captureSampleRate;
+
+        DiagnosticServletFilter(boolean accessLogEnabled, boolean captureForbiddenBody, double captureSampleRate) {
+            this.accessLogEnabled = accessLogEnabled;
+            this.captureForbiddenBody = captureForbiddenBody;
+            this.captureSampleRate = captureSampleRate;
+        }
+
         @Override
         public void doFilter(ServletRequest servletRequest,
                              ServletResponse servletResponse,
@@ -51,61 +81,84 @@ public class DiagnosticFilter {
             HttpServletRequest request = (HttpServletRequest) servletRequest;
             HttpServletResponse response = (HttpServletResponse) servletResponse;
 
-            ContentCachingResponseWrapper wrappedResponse =
-                    new ContentCachingResponseWrapper(response);
-
-            chain.doFilter(request, wrappedResponse);
-
-            int status = wrappedResponse.getStatus();
-
-            if (status == 403) {
-                String method = request.getMethod();
-                String path = request.getRequestURI();
-                String query = request.getQueryString();
-                String origin = request.getHeader("Origin");
-                String referer = request.getHeader("Referer");
-                String userAgent = request.getHeader("User-Agent");
-                String host = request.getHeader("Host");
-                String cfIp = request.getHeader("CF-Connecting-IP");
-                String xff = request.getHeader("X-Forwarded-For");
-                String secFetchSite = request.getHeader("Sec-Fetch-Site");
-                String secFetchMode = request.getHeader("Sec-Fetch-Mode");
-
-                boolean hasCookies = request.getCookies() != null && request.getCookies().length > 0;
-                String cookieNames = "none";
-                if (hasCookies) {
-                    StringBuilder sb = new StringBuilder();
-                    for (Cookie c : request.getCookies()) {
-                        if (sb.length() > 0) sb.append(", ");
-                        sb.append(c.getName());
-                    }
-                    cookieNames = sb.toString();
+            long start = System.nanoTime();
+            boolean sampled = captureForbiddenBody
+                    && ThreadLocalRandom.current().nextDouble() < captureSampleRate;
+            StatusCapturingResponseWrapper wrappedResponse =
+                    new StatusCapturingResponseWrapper(response, sampled ? BODY_CAPTURE_LIMIT : 0);
+
+            try {
+                chain.doFilter(request, wrappedResponse);
+            } finally {
+                int status = wrappedResponse.getStatus();
+                if (accessLogEnabled && accessLogger.isInfoEnabled()) {
+                    logAccess(request, wrappedResponse, status, start);
+                }
+                if (status == HttpServletResponse.SC_FORBIDDEN) {
+                    logForbidden(request, wrappedResponse.getCapturedBody());
                 }
+            }
+        }
 
-                byte[] body = wrappedResponse.getContentAsByteArray();
-                String bodySnippet = body.length > 0
-                        ? new String(body, 0, Math.min(body.length, 500))
-                        : "(empty)";
-
-                logger.warn("DIAG-403 | {} {} {} | status=403 | origin={} | referer={} | host={} | "
-                                + "ua={} | ip={} | xff={} | sec-fetch-site={} | sec-fetch-mode={} | "
-                                + "cookies=[{}] | response-body={}",
-                        method,
-                        path,
-                        query != null ? "?" + query : "",
-                        origin,
-                        referer,
-                        host,
-                        userAgent,
-                        cfIp,
-                        xff,
-                        secFetchSite,
-                        secFetchMode,
-                        cookieNames,
-                        bodySnippet);
+        private static void logAccess(HttpServletRequest request, StatusCapturingResponseWrapper response,
+                                      int status, long start) {
+            Object tenant = request.getAttribute(TenantFilter.TENANT_ATTRIBUTE);
+            Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            long micros = (System.nanoTime() - start) / 1_000;
+            accessLogger.info("tenant={} method={} route={} status={} latencyMs={}.{} bytes={}",
+                    tenant != null ? tenant : "-",
+                    request.getMethod(),
+                    route != null ? route : "-",
+                    status,
+                    micros / 1_000,
+                    micros % 1_000 / 100,
+                    response.getBytesWritten());
+        }
+
+        private static void logForbidden(HttpServletRequest request, String capturedBody) {
+            String method = request.getMethod();
+            String path = request.getRequestURI();
+            String query = request.getQueryString();
+            String origin = request.getHeader("Origin");
+            String referer = request.getHeader("Referer");
+            String userAgent = request.getHeader("User-Agent");
+            String host = request.getHeader("Host");
+            String cfIp = request.getHeader("CF-Connecting-IP");
+            String xff = request.getHeader("X-Forwarded-For");
+            String secFetchSite = request.getHeader("Sec-Fetch-Site");
+            String secFetchMode = request.getHeader("Sec-Fetch-Mode");
+
+            boolean hasCookies = request.getCookies() != null && request.getCookies().length > 0;
+            String cookieNames = "none";
+            if (hasCookies) {
+                StringBuilder sb = new StringBuilder();
+                for (Cookie c : request.getCookies()) {
+                    if (sb.length() > 0) sb.append(", ");
+                    sb.append(c.getName());
+                }
+                cookieNames = sb.toString();
             }
 
-            wrappedResponse.copyBodyToResponse();
+            String bodySnippet = capturedBody == null
+                    ? "(not captured)"
+                    : capturedBody.isEmpty() ? "(empty)" : capturedBody;
+
+            logger.warn("DIAG-403 | {} {} {} | status=403 | origin={} | referer={} | host={} | "
+                            + "ua={} | ip={} | xff={} | sec-fetch-site={} | sec-fetch-mode={} | "
+                            + "cookies=[{}] | response-body={}",
+                    method,
+                    path,
+                    query != null ? "?" + query : "",
+                    origin,
+                    referer,
+                    host,
+                    userAgent,
+                    cfIp,
+                    xff,
+                    secFetchSite,
+                    secFetchMode,
+                    cookieNames,
+                    bodySnippet);
         }
     }
 }
@@ -0,0 +1,182 @@
+package org.earnlumens.mediastore.infrastructure.security;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response wrapper that observes a response without buffering it.
+ * <p>
+ * Every write goes straight to the container's stream; the wrapper only
+ * counts what passes through. Unlike {@code ContentCachingResponseWrapper}
+ * there is no per-response byte array and no copy at the end, so streaming
+ * and large payloads cost the same as unwrapped.
+ * <p>
+ * When {@code captureLimit > 0} and the status is 403 by the time the body
+ * starts, up to {@code captureLimit} bytes are also teed into a small buffer
+ * for diagnostics. Any other response never allocates one.
+ */
+final class StatusCapturingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int captureLimit;
+
+    private long bytesWritten;
+    private CountingOutputStream outputStream;
+    private PrintWriter writer;
+
+    private boolean captureDecided;
+    private byte[] captured;
+    private int capturedLength;
+
+    StatusCapturingResponseWrapper(HttpServletResponse response, int captureLimit) {
+        super(response);
+        this.captureLimit = captureLimit;
+    }
+
+    /**
+     * Body size as written by the application: bytes for stream responses,
+     * characters for writer responses (identical for ASCII/JSON payloads).
+     */
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /** The teed body prefix, or {@code null} when nothing was captured. */
+    String getCapturedBody() {
+        return captured == null ? null : new String(captured, 0, capturedLength, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CountingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new CountingWriter(super.getWriter()));
+        }
+        return writer;
+    }
+
+    private void observe(byte[] b, int off, int len) {
+        bytesWritten += len;
+        if (capturing()) {
+            int n = Math.min(len, captured.length - capturedLength);
+            System.arraycopy(b, off, captured, capturedLength, n);
+            capturedLength += n;
+        }
+    }
+
+    private void observe(int b) {
+        bytesWritten++;
+        if (capturing() && capturedLength < captured.length) {
+            captured[capturedLength++] = (byte) b;
+        }
+    }
+
+    private void observe(char[] c, int off, int len) {
+        bytesWritten += len;
+        if (capturing()) {
+            for (int i = off, end = off + len; i < end && capturedLength < captured.length; i++) {
+                captured[capturedLength++] = (byte) c[i];
+            }
+        }
+    }
+
+    private boolean capturing() {
+        if (!captureDecided) {
+            captureDecided = true;
+            if (captureLimit > 0 && getStatus() == HttpServletResponse.SC_FORBIDDEN) {
+                captured = new byte[captureLimit];
+            }
+        }
+        return captured != null;
+    }
+
+    private final class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            observe(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            observe(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+
+    private final class CountingWriter extends Writer {
+
+        private final Writer delegate;
+
+        CountingWriter(Writer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            delegate.write(cbuf, off, len);
+            observe(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            delegate.write(str, off, len);
+            bytesWritten += len;
+            if (capturing()) {
+                for (int i = off, end = off + len; i < end && capturedLength < captured.length; i++) {
+                    captured[capturedLength++] = (byte) str.charAt(i);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
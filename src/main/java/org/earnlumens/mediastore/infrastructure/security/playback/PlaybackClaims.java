@@ -0,0 +1,29 @@
+package org.earnlumens.mediastore.infrastructure.security.playback;
+
+/**
+ * What a playback token grants: reads under {@code prefix} of one entry's
+ * HLS renditions, for one viewer in one tenant, between {@code issuedAt} and
+ * {@code expiresAt} (epoch seconds).
+ *
+ * @param userId the viewer, or {@link #ANONYMOUS} for free content
+ * @param prefix the entry's HLS R2 prefix; any key under {@code prefix + "/"} is covered
+ */
+public record PlaybackClaims(
+        String keyId,
+        String tenantId,
+        String userId,
+        String entryId,
+        String prefix,
+        long issuedAt,
+        long expiresAt
+) {
+
+    public static final String ANONYMOUS = "-";
+
+    /** Whether {@code r2Key} lies under the granted prefix; dot segments never do. */
+    public boolean covers(String r2Key) {
+        return r2Key != null && r2Key.length() > prefix.length() + 1
+                && r2Key.startsWith(prefix) && r2Key.charAt(prefix.length()) == '/'
+                && !r2Key.contains("..");
+    }
+}
@@ -0,0 +1,178 @@
+package org.earnlumens.mediastore.infrastructure.security.playback;
+
+import org.bson.Document;
+import org.earnlumens.mediastore.infrastructure.config.PlaybackTokenConfig;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocations for playback tokens ({@link PlaybackTokenService}): a token
+ * matching a revocation is invalid when it was issued at or before the
+ * revocation's {@code notBefore} (both epoch seconds, so a revocation
+ * recorded "now" also covers tokens minted earlier in the same second).
+ * <p>
+ * A revocation targets a tenant plus a user, an entry, or both
+ * ({@link #ANY} for the other):
+ * <ul>
+ *   <li>user + entry — a refund or a revoked entitlement;</li>
+ *   <li>user only — a ban; {@code notBefore} is the end of the ban, so no
+ *       token is valid (or minted) until it has passed;</li>
+ *   <li>entry only — a takedown or a price change from free to paid.</li>
+ * </ul>
+ * Stored in {@code playback_revocations} ({@code _id = tenantId:userId:entryId})
+ * with an {@code expiresAt} TTL of {@code notBefore + ttl-seconds}: by then
+ * every token it could reject has expired on its own. Like
+ * {@code ContentVersionService}, the whole collection is mirrored in memory
+ * and reloaded every {@code revocation-refresh-interval-ms}, so checks never
+ * touch Mongo. The cdn-worker pulls the same list from
+ * {@code GET /api/internal/playback-revocations}.
+ */
+@Service
+public class PlaybackRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaybackRevocationService.class);
+
+    static final String COLLECTION = "playback_revocations";
+    public static final String ANY = "*";
+
+    /** One active revocation; {@code notBefore} in epoch seconds. */
+    public record Revocation(String tenantId, String userId, String entryId, long notBefore) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+    private final long ttlSeconds;
+    /** key → revocation; reloaded from Mongo, merged with local writes. */
+    private final Map<String, Revocation> revocations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PlaybackRevocationService(MongoTemplate mongoTemplate, PlaybackTokenConfig config) {
+        this(mongoTemplate, config, Clock.systemUTC());
+    }
+
+    PlaybackRevocationService(MongoTemplate mongoTemplate, PlaybackTokenConfig config, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+        this.ttlSeconds = Math.max(1, config.getTtlSeconds());
+    }
+
+    /**
+     * Records a revocation and applies it locally at once. Later calls for
+     * the same target only move {@code notBefore} forward.
+     *
+     * @param userId    the viewer, or {@code null} for every viewer of the entry
+     * @param entryId   the entry, or {@code null} for every entry of the viewer
+     * @param notBefore tokens issued up to this instant (to the second) are rejected
+     */
+    public Revocation revoke(String tenantId, String userId, String entryId, Instant notBefore) {
+        String user = userId != null && !userId.isBlank() ? userId : ANY;
+        String entry = entryId != null && !entryId.isBlank() ? entryId : ANY;
+        if (tenantId == null || tenantId.isBlank() || (ANY.equals(user) && ANY.equals(entry))) {
+            throw new IllegalArgumentException("A revocation needs a tenant and a user or an entry");
+        }
+        String key = key(tenantId, user, entry);
+        Date notBeforeDate = Date.from(notBefore);
+        mongoTemplate.upsert(
+                new Query(Criteria.where("_id").is(key)),
+                new Update().set("tenantId", tenantId)
+                        .set("userId", user)
+                        .set("entryId", entry)
+                        .max("notBefore", notBeforeDate)
+                        .max("expiresAt", Date.from(notBefore.plusSeconds(ttlSeconds)))
+                        .currentDate("updatedAt"),
+                COLLECTION);
+        Revocation revocation = new Revocation(tenantId, user, entry, notBefore.getEpochSecond());
+        revocations.merge(key, revocation, PlaybackRevocationService::later);
+        logger.info("PLAYBACK_REVOKED tenantId={} userId={} entryId={} notBefore={}", tenantId, user, entry, notBefore);
+        return revocations.get(key);
+    }
+
+    /**
+     * The latest {@code notBefore} (epoch seconds) of the revocations that
+     * apply to ({@code tenantId}, {@code userId}, {@code entryId}), or
+     * {@link Long#MIN_VALUE} when none does.
+     */
+    public long notBefore(String tenantId, String userId, String entryId) {
+        if (revocations.isEmpty()) {
+            return Long.MIN_VALUE;
+        }
+        long notBefore = Long.MIN_VALUE;
+        notBefore = Math.max(notBefore, lookup(key(tenantId, ANY, entryId)));
+        if (userId != null && !PlaybackClaims.ANONYMOUS.equals(userId)) {
+            notBefore = Math.max(notBefore, lookup(key(tenantId, userId, ANY)));
+            notBefore = Math.max(notBefore, lookup(key(tenantId, userId, entryId)));
+        }
+        return notBefore;
+    }
+
+    /** Whether a token with these claims has been revoked. */
+    public boolean isRevoked(PlaybackClaims claims) {
+        return claims.issuedAt() <= notBefore(claims.tenantId(), claims.userId(), claims.entryId());
+    }
+
+    /** Revocations that can still reject an unexpired token, oldest first. */
+    public List<Revocation> active(Instant now) {
+        long horizon = now.getEpochSecond() - ttlSeconds;
+        List<Revocation> active = new ArrayList<>();
+        for (Revocation revocation : revocations.values()) {
+            if (revocation.notBefore() > horizon) {
+                active.add(revocation);
+            }
+        }
+        active.sort(Comparator.comparingLong(Revocation::notBefore));
+        return active;
+    }
+
+    /** Reloads the whole mirror; one query regardless of how many revocations exist. */
+    @Scheduled(fixedDelayString = "${mediastore.playback-token.revocation-refresh-interval-ms:5000}",
+               initialDelayString = "${mediastore.playback-token.revocation-refresh-initial-delay-ms:0}")
+    public void refresh() {
+        try {
+            TenantContext.runWithoutTenant(() -> {
+                Map<String, Revocation> loaded = new HashMap<>();
+                for (Document doc : mongoTemplate.find(new Query(), Document.class, COLLECTION)) {
+                    if (doc.get("notBefore") instanceof Date notBefore) {
+                        loaded.put(doc.getString("_id"), new Revocation(doc.getString("tenantId"),
+                                doc.getString("userId"), doc.getString("entryId"), notBefore.toInstant().getEpochSecond()));
+                    }
+                }
+                loaded.forEach((key, revocation) -> revocations.merge(key, revocation, PlaybackRevocationService::later));
+                // Same rule as the TTL index, so a local write racing the reload is never dropped.
+                long horizon = clock.instant().getEpochSecond() - ttlSeconds;
+                revocations.values().removeIf(revocation -> revocation.notBefore() <= horizon);
+            });
+        } catch (Exception e) {
+            logger.warn("Playback revocation refresh failed; keeping previous list: {}", e.getMessage());
+        }
+    }
+
+    private long lookup(String key) {
+        Revocation revocation = revocations.get(key);
+        return revocation != null ? revocation.notBefore() : Long.MIN_VALUE;
+    }
+
+    private static Revocation later(Revocation a, Revocation b) {
+        return a.notBefore() >= b.notBefore() ? a : b;
+    }
+
+    private static String key(String tenantId, String userId, String entryId) {
+        return tenantId + ":" + userId + ":" + entryId;
+    }
+}
@@ -0,0 +1,241 @@
+package org.earnlumens.mediastore.infrastructure.security.playback;
+
+import org.earnlumens.mediastore.infrastructure.config.PlaybackTokenConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Mints and verifies HLS playback capability tokens, so the cdn-worker can
+ * authorize every manifest and segment request of a playback session
+ * locally instead of calling {@code GET /api/media/entitlements/{entryId}}
+ * (entry, entitlement, order, parent collections and asset lookups) on each
+ * edge-cache miss.
+ * <p>
+ * A token is minted only after a successful entitlement check and binds
+ * tenant, viewer, entry and the entry's HLS R2 prefix for
+ * {@code ttl-seconds}:
+ * <pre>
+ *   v1.&lt;kid&gt;.&lt;payload&gt;.&lt;signature&gt;
+ *   payload   = base64url(tenantId|userId|entryId|prefix|issuedAt|expiresAt)
+ *   signature = base64url(HMAC-SHA256(key[kid], "v1.&lt;kid&gt;.&lt;payload&gt;"))
+ * </pre>
+ * Base64url is unpadded and times are epoch seconds; docs/PLAYBACK-TOKENS.md
+ * is the contract the worker implements. {@link #verify} is the reference
+ * implementation of the edge check.
+ * <p>
+ * <b>Rotation.</b> Every key in {@code keys} verifies; only
+ * {@code active-key-id} signs. Rotate by adding the new key everywhere,
+ * switching {@code active-key-id}, and removing the old key once
+ * {@code ttl-seconds} have passed. <b>Revocation</b> (refunds, bans,
+ * takedowns) goes through {@link PlaybackRevocationService}; a revoked viewer
+ * gets no new token until the revocation's {@code notBefore} has passed.
+ * <p>
+ * Fail-closed: disabled, or enabled with a missing or short active key, no
+ * token is minted and the edge keeps using the entitlement endpoint.
+ */
+@Service
+public class PlaybackTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaybackTokenService.class);
+
+    static final String VERSION = "v1";
+    private static final String HMAC_SHA256 = "HmacSHA256";
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getUrlDecoder();
+
+    /** A minted token and its expiry (epoch seconds). */
+    public record Issued(String token, long expiresAt) {}
+
+    /** Outcome of {@link #verify}; only {@link #VALID} grants the read. */
+    public enum Verdict { VALID, MALFORMED, UNKNOWN_KEY, BAD_SIGNATURE, EXPIRED, WRONG_TENANT, WRONG_PATH, REVOKED }
+
+    private final PlaybackRevocationService revocations;
+    private final Clock clock;
+    private final boolean enabled;
+    private final long ttlSeconds;
+    private final String activeKeyId;
+    /** kid → initialized MAC, cloned per use. */
+    private final Map<String, Mac> keys;
+
+    @Autowired
+    public PlaybackTokenService(PlaybackTokenConfig config, PlaybackRevocationService revocations) {
+        this(config, revocations, Clock.systemUTC());
+    }
+
+    PlaybackTokenService(PlaybackTokenConfig config, PlaybackRevocationService revocations, Clock clock) {
+        this.revocations = revocations;
+        this.clock = clock;
+        this.ttlSeconds = Math.max(1, config.getTtlSeconds());
+        this.keys = parseKeys(config.getKeys());
+        this.activeKeyId = config.getActiveKeyId() == null ? "" : config.getActiveKeyId().trim();
+        boolean signable = keys.containsKey(activeKeyId);
+        if (config.isEnabled() && !signable) {
+            logger.error("Playback tokens: refusing to mint — active key '{}' is not in mediastore.playback-token.keys",
+                    activeKeyId);
+        }
+        this.enabled = config.isEnabled() && signable;
+        if (enabled) {
+            logger.info("Playback tokens: activeKeyId={} verifyKeys={} ttlSeconds={}", activeKeyId, keys.keySet(), ttlSeconds);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Mints a token for a viewer whose entitlement check just passed, or
+     * empty when tokens are disabled or the viewer/entry is revoked until
+     * later.
+     *
+     * @param userId the viewer, or {@code null} for anonymous access to free content
+     */
+    public Optional<Issued> issue(String tenantId, String userId, String entryId, String hlsPrefix) {
+        if (!enabled || hlsPrefix == null || hlsPrefix.isBlank()) {
+            return Optional.empty();
+        }
+        String user = userId != null ? userId : PlaybackClaims.ANONYMOUS;
+        for (String field : new String[]{tenantId, user, entryId, hlsPrefix}) {
+            if (field == null || field.isEmpty() || field.indexOf('|') >= 0) {
+                logger.warn("Playback token not minted: unsupported claim value for entryId={}", entryId);
+                return Optional.empty();
+            }
+        }
+        long now = clock.instant().getEpochSecond();
+        if (now <= revocations.notBefore(tenantId, user, entryId)) {
+            return Optional.empty();
+        }
+        long expiresAt = now + ttlSeconds;
+        String payload = B64.encodeToString(String.join("|", tenantId, user, entryId, stripTrailingSlash(hlsPrefix),
+                Long.toString(now), Long.toString(expiresAt)).getBytes(StandardCharsets.UTF_8));
+        String signed = VERSION + "." + activeKeyId + "." + payload;
+        return Optional.of(new Issued(signed + "." + B64.encodeToString(sign(activeKeyId, signed)), expiresAt));
+    }
+
+    /**
+     * Checks {@code token} for a read of {@code r2Key} in {@code tenantId}:
+     * signature under a known key, expiry, tenant, prefix, then revocations.
+     */
+    public Verdict verify(String token, String tenantId, String r2Key) {
+        Optional<PlaybackClaims> parsed = parse(token);
+        if (parsed.isEmpty()) {
+            return verdictForUnparsed(token);
+        }
+        PlaybackClaims claims = parsed.get();
+        if (clock.instant().getEpochSecond() >= claims.expiresAt()) {
+            return Verdict.EXPIRED;
+        }
+        if (!claims.tenantId().equals(tenantId)) {
+            return Verdict.WRONG_TENANT;
+        }
+        if (!claims.covers(r2Key)) {
+            return Verdict.WRONG_PATH;
+        }
+        return revocations.isRevoked(claims) ? Verdict.REVOKED : Verdict.VALID;
+    }
+
+    /** The claims of a well-formed token signed by a known key; expiry and binding are not checked. */
+    public Optional<PlaybackClaims> parse(String token) {
+        String[] parts = split(token);
+        if (parts == null || !keys.containsKey(parts[1])) {
+            return Optional.empty();
+        }
+        byte[] presented;
+        String[] fields;
+        try {
+            presented = B64_DECODER.decode(parts[3]);
+            fields = new String(B64_DECODER.decode(parts[2]), StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        byte[] expected = sign(parts[1], parts[0] + "." + parts[1] + "." + parts[2]);
+        if (!MessageDigest.isEqual(expected, presented) || fields.length != 6) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new PlaybackClaims(parts[1], fields[0], fields[1], fields[2], fields[3],
+                    Long.parseLong(fields[4]), Long.parseLong(fields[5])));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private Verdict verdictForUnparsed(String token) {
+        String[] parts = split(token);
+        if (parts == null) {
+            return Verdict.MALFORMED;
+        }
+        return keys.containsKey(parts[1]) ? Verdict.BAD_SIGNATURE : Verdict.UNKNOWN_KEY;
+    }
+
+    private static String[] split(String token) {
+        if (token == null || token.length() > 2048) {
+            return null;
+        }
+        String[] parts = token.split("\\.", -1);
+        return parts.length == 4 && VERSION.equals(parts[0]) ? parts : null;
+    }
+
+    private byte[] sign(String keyId, String signingInput) {
+        try {
+            Mac mac = (Mac) keys.get(keyId).clone();
+            return mac.doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HmacSHA256 MAC is not cloneable", e);
+        }
+    }
+
+    /** Parses {@code kid:base64url,kid:base64url}; malformed or short keys are skipped with an error. */
+    static Map<String, Mac> parseKeys(String spec) {
+        Map<String, Mac> parsed = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return parsed;
+        }
+        for (String pair : spec.split(",")) {
+            int colon = pair.indexOf(':');
+            String kid = colon > 0 ? pair.substring(0, colon).trim() : "";
+            if (kid.isEmpty() || kid.contains(".")) {
+                logger.error("Playback tokens: ignoring malformed key entry (expected kid:secret)");
+                continue;
+            }
+            byte[] secret;
+            try {
+                secret = B64_DECODER.decode(pair.substring(colon + 1).trim());
+            } catch (IllegalArgumentException e) {
+                logger.error("Playback tokens: ignoring key '{}' — secret is not base64url", kid);
+                continue;
+            }
+            if (secret.length < PlaybackTokenConfig.MIN_KEY_BYTES) {
+                logger.error("Playback tokens: ignoring key '{}' — secret shorter than {} bytes",
+                        kid, PlaybackTokenConfig.MIN_KEY_BYTES);
+                continue;
+            }
+            try {
+                Mac mac = Mac.getInstance(HMAC_SHA256);
+                mac.init(new SecretKeySpec(secret, HMAC_SHA256));
+                parsed.put(kid, mac);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 unavailable", e);
+            }
+        }
+        return Collections.unmodifiableMap(parsed);
+    }
+
+    private static String stripTrailingSlash(String prefix) {
+        return prefix.endsWith("/") ? prefix.substring(0, prefix.length() - 1) : prefix;
+    }
+}
@@ -29,6 +29,12 @@ public class TenantFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(TenantFilter.class);
 
+    /**
+     * Request attribute carrying the resolved tenant, for outer filters (the
+     * access log) that still need it after {@link TenantContext} is cleared.
+     */
+    public static final String TENANT_ATTRIBUTE = TenantFilter.class.getName() + ".tenant";
+
     private final TenantResolver tenantResolver;
 
     public TenantFilter(TenantResolver tenantResolver) {
@@ -43,6 +49,7 @@ public class TenantFilter extends OncePerRequestFilter {
         try {
             String tenantId = tenantResolver.resolve(request);
             TenantContext.set(tenantId);
+            request.setAttribute(TENANT_ATTRIBUTE, tenantId);
             logger.trace("TenantContext set: tenant={}, path={}", tenantId, request.getRequestURI());
             filterChain.doFilter(request, response);
         } finally {
@@ -0,0 +1,154 @@
+package org.earnlumens.mediastore.infrastructure.web;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * AIMD concurrency limit for one request budget of {@link ConcurrencyLimitFilter}.
+ * <p>
+ * Every finished request is a sample. A sample slower than the budget's
+ * target latency, or one that failed (5xx / exception), multiplies the limit
+ * by {@link #BACKOFF_RATIO} — at most once per target-latency period, so a
+ * burst of slow completions counts as one congestion signal. A fast sample
+ * taken while at least half the limit was in use adds {@code 1/limit}, about
+ * one slot per limit's worth of requests. The limit stays within
+ * {@code [minLimit, maxLimit]}.
+ * <p>
+ * A request over the limit waits up to the caller's timeout for a slot;
+ * at most {@code limit} requests wait, and the rest are rejected at once.
+ * Uses a {@link ReentrantLock} rather than {@code synchronized} so waiting
+ * virtual threads do not pin their carrier.
+ */
+final class AdaptiveConcurrencyLimit {
+
+    static final double BACKOFF_RATIO = 0.9;
+
+    /** Snapshot for metrics; counters are cumulative, {@code peakInFlight} since the last {@link #stats(boolean)} reset. */
+    record Stats(String budget, int limit, int inFlight, int peakInFlight, long accepted, long queued, long rejected) {}
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private int peakInFlight;
+    private boolean backedOff;
+    private long lastBackoffNanos;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    AdaptiveConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit, long targetLatencyMs) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMs);
+    }
+
+    /**
+     * Takes a slot, waiting up to {@code timeoutNanos} when the budget is
+     * full.
+     *
+     * @return {@code false} when the request must be shed
+     */
+    boolean tryAcquire(long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < currentLimit()) {
+                admit();
+                return true;
+            }
+            if (timeoutNanos <= 0 || waiting >= currentLimit()) {
+                rejected.increment();
+                return false;
+            }
+            waiting++;
+            queued.increment();
+            try {
+                long remaining = timeoutNanos;
+                while (inFlight >= currentLimit()) {
+                    if (remaining <= 0) {
+                        rejected.increment();
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                admit();
+                return true;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a slot and adjusts the limit from the request's outcome.
+     *
+     * @param latencyNanos time the request held the slot
+     * @param failed       the request ended in a 5xx or an exception
+     * @param nowNanos     {@link System#nanoTime()} at release
+     */
+    void release(long latencyNanos, boolean failed, long nowNanos) {
+        lock.lock();
+        try {
+            int used = inFlight;
+            inFlight--;
+            if (failed || latencyNanos > targetLatencyNanos) {
+                if (!backedOff || nowNanos - lastBackoffNanos >= targetLatencyNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                    backedOff = true;
+                    lastBackoffNanos = nowNanos;
+                }
+            } else if (used * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Stats stats(boolean resetPeak) {
+        lock.lock();
+        try {
+            Stats stats = new Stats(name, currentLimit(), inFlight, peakInFlight,
+                    accepted.sum(), queued.sum(), rejected.sum());
+            if (resetPeak) {
+                peakInFlight = inFlight;
+            }
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int limit() {
+        lock.lock();
+        try {
+            return currentLimit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int currentLimit() {
+        return (int) limit;
+    }
+
+    private void admit() {
+        inFlight++;
+        peakInFlight = Math.max(peakInFlight, inFlight);
+        accepted.increment();
+    }
+}
@@ -0,0 +1,248 @@
+package org.earnlumens.mediastore.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive per-route concurrency limit that sheds overload with
+ * {@code 503 + Retry-After} before it reaches the MongoDB pool.
+ * <p>
+ * Tomcat runs requests on virtual threads, so nothing bounds how many wait on
+ * the driver's pool ({@code MONGO_MAX_POOL_SIZE}, 40 by default). Under a
+ * spike thousands of them queue there, every route's latency climbs with the
+ * queue, and Cloud Run scales out on latency instead of load. Each budget
+ * below gets its own {@link AdaptiveConcurrencyLimit} (AIMD on the budget's
+ * target latency), so a feed spike is cut back to what the pool sustains
+ * while payments and auth keep their own slots and their p99.
+ *
+ * <p>Budgets (initial / min / max in-flight, target latency):
+ * <ul>
+ *   <li><b>PUBLIC</b>   – /public/**:          20 / 4 / 40,  300 ms (feeds, catalog)</li>
+ *   <li><b>SEARCH</b>   – /public/search/**:    8 / 2 / 16,  500 ms</li>
+ *   <li><b>PAYMENTS</b> – /api/payments/**, /api/purchases/**: 16 / 4 / 32, 2000 ms (Horizon round-trips)</li>
+ *   <li><b>AUTH</b>     – /api/auth/**, /api/user/**: 16 / 4 / 32, 500 ms</li>
+ *   <li><b>INTERNAL</b> – /api/internal/**:     8 / 2 / 16, 1000 ms (worker callbacks)</li>
+ *   <li><b>DEFAULT</b>  – everything else:     16 / 4 / 32,  500 ms</li>
+ * </ul>
+ *
+ * <p>Not limited: preflights, {@code /error}, anonymous public GETs that
+ * {@link PublicCacheControlFilter} answers with a {@code 304} or a cached
+ * body, the health and startup probes
+ * ({@code /public}, {@code /public/ready}) and the order long-poll
+ * ({@code /api/payments/orders/{id}/await}). A shed probe would fail a
+ * rollout, and the startup probe's "warming up" 503 would read as congestion.
+ * The long-poll sits idle for up to its await timeout. If it held a PAYMENTS
+ * slot, open checkouts would fill the budget, and their 25 s "latency" would
+ * drive it to its minimum, so {@code /api/payments/submit} would be shed. A
+ * 304 or cache hit costs a map lookup: shedding it under a saturated PUBLIC
+ * budget would turn away the cheapest responses, and its near-zero latency
+ * would drive the limit up. Only requests that do work take a slot and feed
+ * the AIMD samples.
+ *
+ * <p>A request over its budget waits up to {@code queue-timeout-ms} for a
+ * slot and is otherwise answered {@code 503} with {@code Retry-After}.
+ * Runs after {@link org.earnlumens.mediastore.infrastructure.security.RateLimitFilter},
+ * so a throttled client never takes a slot, and right after
+ * {@link org.earnlumens.mediastore.infrastructure.tenant.TenantFilter}, whose
+ * tenant the cached-response check needs. Limit, in-flight, peak, queued
+ * and rejected counts are logged per budget as {@code CONCURRENCY_LIMIT}
+ * every {@code stats-interval-ms}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 11) // right after TenantFilter
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    enum Budget {
+        PUBLIC(20, 4, 40, 300),
+        SEARCH(8, 2, 16, 500),
+        PAYMENTS(16, 4, 32, 2000),
+        AUTH(16, 4, 32, 500),
+        INTERNAL(8, 2, 16, 1000),
+        DEFAULT(16, 4, 32, 500);
+
+        final int initialLimit;
+        final int minLimit;
+        final int maxLimit;
+        final long targetLatencyMs;
+
+        Budget(int initialLimit, int minLimit, int maxLimit, long targetLatencyMs) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.targetLatencyMs = targetLatencyMs;
+        }
+    }
+
+    private final boolean enabled;
+    private final long queueTimeoutNanos;
+    private final String retryAfterSeconds;
+    private final Map<Budget, AdaptiveConcurrencyLimit> limits = new EnumMap<>(Budget.class);
+    private final Map<Budget, Long> loggedRejected = new EnumMap<>(Budget.class);
+    private final Map<Budget, Long> loggedAccepted = new EnumMap<>(Budget.class);
+
+    /** CORS allow-list for 503 responses, same source as RateLimitFilter's 429s. */
+    private final Set<String> allowedCorsOrigins;
+
+    private final PublicCacheControlFilter publicCache;
+
+    public ConcurrencyLimitFilter(
+            @Value("${mediastore.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${mediastore.concurrency-limit.queue-timeout-ms:50}") long queueTimeoutMs,
+            @Value("${mediastore.concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds,
+            @Value("${mediastore.frontend.uri:}") String frontendUri,
+            @Value("${mediastore.cors.allowed-origins:}") String allowedOriginsConfig,
+            PublicCacheControlFilter publicCache
+    ) {
+        this.enabled = enabled;
+        this.publicCache = publicCache;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, queueTimeoutMs));
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfterSeconds));
+        for (Budget budget : Budget.values()) {
+            limits.put(budget, new AdaptiveConcurrencyLimit(budget.name(), budget.initialLimit,
+                    budget.minLimit, budget.maxLimit, budget.targetLatencyMs));
+        }
+        Set<String> origins = new HashSet<>();
+        if (allowedOriginsConfig != null && !allowedOriginsConfig.isBlank()) {
+            Arrays.stream(allowedOriginsConfig.split(","))
+                    .map(String::strip)
+                    .filter(s -> !s.isEmpty() && !s.contains("*"))
+                    .forEach(origins::add);
+        }
+        if (frontendUri != null && !frontendUri.isBlank()) {
+            origins.add(frontendUri.strip());
+        }
+        this.allowedCorsOrigins = Collections.unmodifiableSet(origins);
+        logger.info("Concurrency limit: enabled={} queueTimeoutMs={} retryAfterSeconds={}",
+                enabled, queueTimeoutMs, this.retryAfterSeconds);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Preflights, the error page, 304s and cached bodies never touch MongoDB.
+        return !enabled
+                || "OPTIONS".equals(request.getMethod())
+                || "/error".equals(request.getRequestURI())
+                || exempt(request.getRequestURI())
+                || publicCache.answersWithoutController(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Budget budget = classify(request.getRequestURI());
+        AdaptiveConcurrencyLimit limit = limits.get(budget);
+        boolean admitted;
+        try {
+            admitted = limit.tryAcquire(queueTimeoutNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            logger.debug("Concurrency limit: shed budget={} limit={} path={}",
+                    budget, limit.limit(), request.getRequestURI());
+            rejectOverloaded(request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = response.getStatus() >= 500;
+        } finally {
+            long end = System.nanoTime();
+            limit.release(end - start, failed, end);
+        }
+    }
+
+    // ── Request classification ────────────────────────────────────
+
+    /** Probes and long-polls: they never take a slot or count as a latency sample. */
+    static boolean exempt(String path) {
+        return "/public".equals(path)
+                || "/public/ready".equals(path)
+                || (path.startsWith("/api/payments/orders/") && path.endsWith("/await"));
+    }
+
+    static Budget classify(String path) {
+        if (path.startsWith("/public/search"))   return Budget.SEARCH;
+        if (path.startsWith("/public/"))         return Budget.PUBLIC;
+        if (path.startsWith("/api/payments"))    return Budget.PAYMENTS;
+        if (path.startsWith("/api/purchases"))   return Budget.PAYMENTS;
+        if (path.startsWith("/api/auth/"))       return Budget.AUTH;
+        if (path.startsWith("/api/user"))        return Budget.AUTH;
+        if (path.startsWith("/api/internal/"))   return Budget.INTERNAL;
+        return Budget.DEFAULT;
+    }
+
+    // ── Metrics ───────────────────────────────────────────────────
+
+    /** Current limit, in-flight and cumulative counters per budget. */
+    List<AdaptiveConcurrencyLimit.Stats> stats() {
+        return limits.values().stream().map(limit -> limit.stats(false)).toList();
+    }
+
+    AdaptiveConcurrencyLimit limit(Budget budget) {
+        return limits.get(budget);
+    }
+
+    @Scheduled(fixedDelayString = "${mediastore.concurrency-limit.stats-interval-ms:60000}",
+            initialDelayString = "${mediastore.concurrency-limit.stats-interval-ms:60000}")
+    public void logStats() {
+        for (Map.Entry<Budget, AdaptiveConcurrencyLimit> entry : limits.entrySet()) {
+            AdaptiveConcurrencyLimit.Stats stats = entry.getValue().stats(true);
+            long windowAccepted = stats.accepted() - loggedAccepted.getOrDefault(entry.getKey(), 0L);
+            long windowRejected = stats.rejected() - loggedRejected.getOrDefault(entry.getKey(), 0L);
+            loggedAccepted.put(entry.getKey(), stats.accepted());
+            loggedRejected.put(entry.getKey(), stats.rejected());
+            if (windowAccepted == 0 && windowRejected == 0) {
+                continue;
+            }
+            logger.info("CONCURRENCY_LIMIT budget={} limit={} inFlight={} peakInFlight={} accepted={} rejected={} queuedTotal={}",
+                    stats.budget(), stats.limit(), stats.inFlight(), stats.peakInFlight(),
+                    windowAccepted, windowRejected, stats.queued());
+        }
+    }
+
+    // ── 503 response ──────────────────────────────────────────────
+
+    private void rejectOverloaded(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String origin = request.getHeader("Origin");
+        if (origin != null && allowedCorsOrigins.contains(origin)) {
+            response.setHeader("Access-Control-Allow-Origin", origin);
+            response.setHeader("Access-Control-Allow-Credentials", "true");
+        }
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setContentType("application/json");
+        response.setHeader("Retry-After", retryAfterSeconds);
+        response.setHeader("Cache-Control", "no-store");
+        response.getWriter().write("{\"error\":\"Service Unavailable\"}");
+    }
+}
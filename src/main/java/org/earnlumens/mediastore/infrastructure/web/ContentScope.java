@@ -0,0 +1,32 @@
+package org.earnlumens.mediastore.infrastructure.web;
+
+/**
+ * Families of public, anonymously cacheable resources that share one
+ * per-tenant version stamp in {@link ContentVersionService}.
+ * <p>
+ * {@link #revalidateSeconds} bounds how long a representation can be answered
+ * with 304 without any bump: it covers changes no write path in this service
+ * announces (hot-feed time decay, counters updated with {@code $inc}, tenant
+ * settings edited by admin-api without a cache invalidation call).
+ */
+public enum ContentScope {
+
+    /** Entries, collections, feeds and spaces. */
+    CATALOG(300),
+    /** Rating lists and summaries. */
+    RATINGS(300),
+    /** Franchise listings and detail. */
+    FRANCHISES(300),
+    /** Tenant config and guideline notes (owned by admin-api). */
+    CONFIG(60);
+
+    private final long revalidateSeconds;
+
+    ContentScope(long revalidateSeconds) {
+        this.revalidateSeconds = revalidateSeconds;
+    }
+
+    public long revalidateSeconds() {
+        return revalidateSeconds;
+    }
+}
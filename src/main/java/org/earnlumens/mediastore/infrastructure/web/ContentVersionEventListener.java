@@ -0,0 +1,79 @@
+package org.earnlumens.mediastore.infrastructure.web;
+
+import org.bson.Document;
+import org.earnlumens.mediastore.infrastructure.franchise.write.FranchiseWriteModel;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.CollectionEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.RatingAggregateEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.RatingEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.space.entity.SpaceEntity;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bumps {@link ContentVersionService} stamps whenever publicly visible content
+ * is saved or deleted through Spring Data, so space, rating and franchise
+ * changes invalidate the matching public ETags without every service having
+ * to remember to do it.
+ * <p>
+ * Entry and collection writes are not handled here: their adapters write with
+ * find-and-replace / find-and-remove, whose events carry neither the tenant
+ * nor the new status, so {@code EntryRepositoryImpl} and
+ * {@code CollectionRepositoryImpl} bump {@link ContentScope#CATALOG}
+ * themselves. Derived deletes of either still arrive here.
+ * <p>
+ * Writes that bypass the mapping layer ({@code updateFirst}, {@code $inc}
+ * counters, bulk ops) raise no event; {@link ContentScope#revalidateSeconds()}
+ * bounds how long those stay hidden behind a 304.
+ */
+@Component
+public class ContentVersionEventListener extends AbstractMongoEventListener<Object> {
+
+    private final ContentVersionService contentVersionService;
+
+    public ContentVersionEventListener(ContentVersionService contentVersionService) {
+        this.contentVersionService = contentVersionService;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        switch (event.getSource()) {
+            case SpaceEntity s -> contentVersionService.bump(s.getTenantId(), ContentScope.CATALOG);
+            case RatingEntity r -> contentVersionService.bump(r.getTenantId(), ContentScope.RATINGS);
+            case RatingAggregateEntity a -> contentVersionService.bump(a.getTenantId(), ContentScope.RATINGS);
+            case FranchiseWriteModel f -> contentVersionService.bump(f.getTenantId(), ContentScope.FRANCHISES);
+            default -> { }
+        }
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Object> event) {
+        ContentScope scope = scopeFor(event.getType());
+        if (scope == null) {
+            return;
+        }
+        // Deletes only carry the query; every tenant-scoped delete filters on tenantId.
+        Document query = event.getSource();
+        if (query != null && query.get("tenantId") instanceof String tenantId) {
+            contentVersionService.bump(tenantId, scope);
+        }
+    }
+
+    private static ContentScope scopeFor(Class<?> type) {
+        if (type == null) {
+            return null;
+        }
+        if (type == EntryEntity.class || type == CollectionEntity.class || type == SpaceEntity.class) {
+            return ContentScope.CATALOG;
+        }
+        if (type == RatingEntity.class || type == RatingAggregateEntity.class) {
+            return ContentScope.RATINGS;
+        }
+        if (type == FranchiseWriteModel.class) {
+            return ContentScope.FRANCHISES;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,161 @@
+package org.earnlumens.mediastore.infrastructure.web;
+
+import org.bson.Document;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-tenant content version stamps backing the ETags of public read
+ * endpoints ({@link PublicCacheControlFilter}).
+ * <p>
+ * Stamps live in {@code content_versions} ({@code _id = tenantId:SCOPE},
+ * monotonically increasing {@code version}) so every instance derives the same
+ * ETag for the same content. Reads never touch Mongo: the whole collection is
+ * mirrored in memory and reloaded with one query every
+ * {@code mediastore.etag.refresh-interval-ms}. A bump updates Mongo and the
+ * local mirror at once, so the writing instance stops answering 304 right
+ * away and the others within one refresh interval.
+ * <p>
+ * Each instance also remembers when it saw a stamp change (its own bump, or
+ * a higher version on refresh) so {@link PublicCacheControlFilter} can keep
+ * renders off lagging secondaries right after a change
+ * ({@link #changedWithin}).
+ * <p>
+ * Until the first load completes, {@link #current} is empty and callers must
+ * skip conditional handling — serving a full body is always safe.
+ */
+@Service
+public class ContentVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContentVersionService.class);
+
+    static final String COLLECTION = "content_versions";
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+    private final Map<String, Instant> changedAt = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    @Autowired
+    public ContentVersionService(MongoTemplate mongoTemplate) {
+        this(mongoTemplate, Clock.systemUTC());
+    }
+
+    ContentVersionService(MongoTemplate mongoTemplate, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the stamp for {@code tenantId}/{@code scope} (0 when never
+     * bumped), or empty while the mirror has not been loaded yet.
+     */
+    public OptionalLong current(String tenantId, ContentScope scope) {
+        if (!loaded) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(versions.getOrDefault(key(tenantId, scope), 0L));
+    }
+
+    /**
+     * Strong ETag for a representation in {@code scope}, or {@code null} when
+     * the stamp is not known yet. Includes the revalidation window so every
+     * representation is re-sent in full at least once per
+     * {@link ContentScope#revalidateSeconds()}.
+     */
+    public String etag(String tenantId, ContentScope scope, Instant now) {
+        OptionalLong version = current(tenantId, scope);
+        if (version.isEmpty()) {
+            return null;
+        }
+        long window = now.getEpochSecond() / scope.revalidateSeconds();
+        return "\"" + scope.name().toLowerCase() + "-" + version.getAsLong() + "-" + window + "\"";
+    }
+
+    /**
+     * Whether this instance saw the {@code tenantId}/{@code scope} stamp
+     * change within the last {@code window}. Changes picked up by the first
+     * load do not count.
+     */
+    public boolean changedWithin(String tenantId, ContentScope scope, Duration window) {
+        Instant at = changedAt.get(key(tenantId, scope));
+        return at != null && !at.isBefore(clock.instant().minus(window));
+    }
+
+    /**
+     * Invalidates every ETag of {@code scope} for the tenant. Best effort: a
+     * failed bump is logged, and the revalidation window bounds staleness.
+     */
+    public void bump(String tenantId, ContentScope scope) {
+        if (tenantId == null || tenantId.isBlank()) {
+            return;
+        }
+        String key = key(tenantId, scope);
+        try {
+            Document updated = mongoTemplate.findAndModify(
+                    new Query(Criteria.where("_id").is(key)),
+                    new Update().inc("version", 1L)
+                            .set("tenantId", tenantId)
+                            .set("scope", scope.name())
+                            .currentDate("updatedAt"),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    Document.class,
+                    COLLECTION);
+            long version = updated != null && updated.get("version") instanceof Number n ? n.longValue() : 0L;
+            versions.merge(key, version, Math::max);
+            changedAt.put(key, clock.instant());
+            logger.debug("Content version bumped: {} → {}", key, version);
+        } catch (Exception e) {
+            logger.warn("CONTENT_VERSION_BUMP_FAILED key={}: {}", key, e.getMessage());
+        }
+    }
+
+    /** Reloads the whole mirror; one query regardless of how many tenants exist. */
+    @Scheduled(fixedDelayString = "${mediastore.etag.refresh-interval-ms:5000}",
+               initialDelayString = "${mediastore.etag.refresh-initial-delay-ms:0}")
+    public void refresh() {
+        try {
+            TenantContext.runWithoutTenant(() -> {
+                Query all = new Query();
+                all.fields().include("version");
+                for (Document doc : mongoTemplate.find(all, Document.class, COLLECTION)) {
+                    if (doc.get("version") instanceof Number n) {
+                        advance(doc.getString("_id"), n.longValue());
+                    }
+                }
+            });
+            loaded = true;
+        } catch (Exception e) {
+            logger.warn("Content version refresh failed; keeping previous stamps: {}", e.getMessage());
+        }
+    }
+
+    private void advance(String key, long version) {
+        Long previous = versions.get(key);
+        versions.merge(key, version, Math::max);
+        if (loaded && (previous == null || version > previous)) {
+            changedAt.put(key, clock.instant());
+        }
+    }
+
+    private static String key(String tenantId, ContentScope scope) {
+        return tenantId + ":" + scope.name();
+    }
+}
@@ -5,12 +5,20 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.infrastructure.config.MongoReadRoutingConfig;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
 
 /**
  * Sets {@code Cache-Control} headers on anonymous GET requests to public
@@ -32,14 +40,71 @@ import java.io.IOException;
  * responses are written (and possibly committed) inside the handler. A side
  * effect is that error responses share the short public TTL — bounded negative
  * caching, which is acceptable and even protective under load.
+ * <p>
+ * <b>Conditional GET.</b> Anonymous responses in a {@link ContentScope} also
+ * carry a strong {@code ETag} derived from the tenant's content version stamp
+ * ({@link ContentVersionService}). When the request's {@code If-None-Match}
+ * matches, the filter answers {@code 304 Not Modified} itself — before the
+ * controller runs, so no Mongo query is made. Search and price responses are
+ * not versioned and are always served in full; the tenant visitor/bootstrap
+ * payloads validate against their own content ETag. A 304 for an entry detail
+ * page still counts a view ({@link EntryRepository#incrementPublicViewCount}),
+ * which is buffered in memory, so the short-circuit stays free of Mongo.
+ * <p>
+ * <b>Compressed representations.</b> Anonymous 200 JSON responses of those
+ * routes are kept in {@link PublicResponseCache} as identity, gzip and brotli
+ * bodies. Versioned routes are looked up before the controller runs, so a hit
+ * skips the controller, JSON serialization and compression (a hit on an
+ * entry detail page still counts its view, as a 304 does); the tenant
+ * routes still run their (already cached) controller and reuse the stored
+ * bodies while its content ETag is unchanged, which skips compression. All
+ * of these responses carry {@code Vary: Accept-Encoding}.
+ * <p>
+ * <b>Renders after a bump.</b> Feeds read from secondaries that may lag the
+ * primary by up to {@code max-staleness-seconds}, so a body rendered right
+ * after a bump could still show the old content yet be stored (here and at
+ * the edge) under the new ETag until the next bump or revalidation window.
+ * For {@code primary-reads-after-bump-seconds} after this instance sees a
+ * scope's stamp change, versioned renders of that scope read from the primary
+ * ({@link MongoReadRouter#primaryReads()}); the extra primary load is bounded
+ * to one render per cache key, since later requests are 304s or cache hits.
  */
 @Component
 public class PublicCacheControlFilter extends OncePerRequestFilter {
 
     private final String sessionCookieName;
+    private final ContentVersionService contentVersionService;
+    private final PublicResponseCache responseCache;
+    private final EntryRepository entryRepository;
+    private final Duration primaryReadsAfterBump;
+    private final Clock clock;
+
+    @Autowired
+    public PublicCacheControlFilter(@Value("${mediastore.sec.cookieName}") String sessionCookieName,
+                                    ContentVersionService contentVersionService,
+                                    PublicResponseCache responseCache,
+                                    EntryRepository entryRepository,
+                                    @Value("${mediastore.etag.primary-reads-after-bump-seconds:90}")
+                                    long primaryReadsAfterBumpSeconds) {
+        this(sessionCookieName, contentVersionService, responseCache, entryRepository,
+                Duration.ofSeconds(primaryReadsAfterBumpSeconds), Clock.systemUTC());
+    }
+
+    PublicCacheControlFilter(String sessionCookieName, ContentVersionService contentVersionService,
+                             PublicResponseCache responseCache, EntryRepository entryRepository, Clock clock) {
+        this(sessionCookieName, contentVersionService, responseCache, entryRepository,
+                Duration.ofSeconds(MongoReadRoutingConfig.MIN_MAX_STALENESS_SECONDS), clock);
+    }
 
-    public PublicCacheControlFilter(@Value("${mediastore.sec.cookieName}") String sessionCookieName) {
+    PublicCacheControlFilter(String sessionCookieName, ContentVersionService contentVersionService,
+                             PublicResponseCache responseCache, EntryRepository entryRepository,
+                             Duration primaryReadsAfterBump, Clock clock) {
         this.sessionCookieName = sessionCookieName;
+        this.contentVersionService = contentVersionService;
+        this.responseCache = responseCache;
+        this.entryRepository = entryRepository;
+        this.primaryReadsAfterBump = primaryReadsAfterBump;
+        this.clock = clock;
     }
 
     @Override
@@ -57,10 +122,197 @@ public class PublicCacheControlFilter extends OncePerRequestFilter {
         } else {
             int ttl = ttlSecondsFor(request.getRequestURI());
             response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=" + ttl);
+
+            String etag = etagFor(request.getRequestURI());
+            if (etag != null) {
+                String key = PublicResponseCache.key(TenantContext.get(), request);
+                PublicResponseCache.Representations cached = responseCache.get(key, etag);
+                PublicResponseCache.Encoding encoding = cached != null
+                        ? cached.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                        : PublicResponseCache.Encoding.IDENTITY;
+                response.setHeader(HttpHeaders.ETAG, PublicResponseCache.etag(etag, encoding));
+                if (responseCache.isEnabled()) {
+                    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                }
+                if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+                    countView(request.getRequestURI());
+                    response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return;
+                }
+                if (cached != null) {
+                    countView(request.getRequestURI());
+                    PublicResponseCache.write(response, cached, encoding);
+                    return;
+                }
+                if (recentlyBumped(request.getRequestURI())) {
+                    try (MongoReadRouter.PrimaryReads ignored = MongoReadRouter.primaryReads()) {
+                        renderVersioned(request, response, filterChain, key, etag);
+                    }
+                } else {
+                    renderVersioned(request, response, filterChain, key, etag);
+                }
+                return;
+            } else if (responseCache.isEnabled() && request.getRequestURI().startsWith("/public/tenant")) {
+                response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                // The payload depends on the visitor host, not only the tenant.
+                renderAndCache(request, response, filterChain,
+                        PublicResponseCache.key(request.getServerName(), request), null);
+                return;
+            }
         }
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Whether this request will be answered here without running the
+     * controller: an anonymous versioned GET whose {@code If-None-Match}
+     * matches or whose body is cached. {@link ConcurrencyLimitFilter} lets such
+     * requests through without a slot, so they are never shed behind slow
+     * renders and their near-zero latency never feeds its limit. Needs the
+     * tenant, so it is only meaningful after {@code TenantFilter}. A body
+     * evicted or bumped between this check and {@link #doFilterInternal} is
+     * rendered without a slot; that is rare and costs one render.
+     */
+    public boolean answersWithoutController(HttpServletRequest request) {
+        if (shouldNotFilter(request) || isAuthenticated(request)) {
+            return false;
+        }
+        String etag = etagFor(request.getRequestURI());
+        return etag != null
+                && (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)
+                    || responseCache.contains(PublicResponseCache.key(TenantContext.get(), request), etag));
+    }
+
+    private void renderVersioned(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                                 String key, String etag) throws ServletException, IOException {
+        if (responseCache.isEnabled()) {
+            renderAndCache(request, response, filterChain, key, etag);
+        } else {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Runs the controller into a buffer and, for a cacheable 200 JSON body,
+     * stores and sends its compressed representations. {@code validator} is
+     * the version ETag, or {@code null} to validate against the content ETag
+     * the controller sets (reusing stored bodies while it is unchanged).
+     * <p>
+     * A version ETag that changed while the controller ran (a bump, or the
+     * revalidation window rolling over) may describe content newer than the
+     * body, so that body is sent but not stored.
+     */
+    private void renderAndCache(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                                String key, String validator) throws ServletException, IOException {
+        ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, buffered);
+
+        String etag = validator != null ? validator : buffered.getHeader(HttpHeaders.ETAG);
+        if (etag == null || !cacheable(buffered)
+                || (validator != null && !validator.equals(etagFor(request.getRequestURI())))) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+        PublicResponseCache.Representations representations = validator != null ? null : responseCache.get(key, etag);
+        if (representations == null) {
+            representations = responseCache.put(key, etag, buffered.getContentType(), buffered.getContentAsByteArray());
+        }
+        if (representations == null) {
+            buffered.copyBodyToResponse();
+            return;
+        }
+        PublicResponseCache.Encoding encoding = representations.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.ETAG, PublicResponseCache.etag(etag, encoding));
+        PublicResponseCache.write(response, representations, encoding);
+    }
+
+    /** A complete, shareable JSON body: 200, not already encoded, no cookie set. */
+    private static boolean cacheable(ContentCachingResponseWrapper buffered) {
+        String contentType = buffered.getContentType();
+        return buffered.getStatus() == HttpServletResponse.SC_OK
+                && contentType != null && contentType.contains("json")
+                && buffered.getHeader(HttpHeaders.CONTENT_ENCODING) == null
+                && buffered.getHeaders(HttpHeaders.SET_COOKIE).isEmpty();
+    }
+
+    private String etagFor(String path) {
+        ContentScope scope = scopeFor(path);
+        String tenantId = TenantContext.get();
+        if (scope == null || tenantId == null) {
+            return null;
+        }
+        return contentVersionService.etag(tenantId, scope, clock.instant());
+    }
+
+    /** Whether the path's scope changed recently enough that a secondary may still lag behind it. */
+    private boolean recentlyBumped(String path) {
+        ContentScope scope = scopeFor(path);
+        String tenantId = TenantContext.get();
+        return scope != null && tenantId != null
+                && contentVersionService.changedWithin(tenantId, scope, primaryReadsAfterBump);
+    }
+
+    /**
+     * Counts the view of an entry detail page answered here (304 or cache hit)
+     * instead of by {@code PublicEntryService}, which counts the views it renders.
+     */
+    private void countView(String path) {
+        String entryId = entryIdFor(path);
+        if (entryId != null) {
+            entryRepository.incrementPublicViewCount(TenantContext.get(), entryId);
+        }
+    }
+
+    /** The id of a {@code GET /public/entries/{id}} detail page; {@code null} for lists and other routes. */
+    static String entryIdFor(String path) {
+        String prefix = "/public/entries/";
+        if (!path.startsWith(prefix)) {
+            return null;
+        }
+        String id = path.substring(prefix.length());
+        return id.isEmpty() || id.contains("/") || "feed".equals(id) ? null : id;
+    }
+
+    /** Version family per resource; {@code null} for responses that are not versioned. */
+    static ContentScope scopeFor(String path) {
+        if (path.startsWith("/public/entries")
+                || path.startsWith("/public/collections")
+                || path.startsWith("/public/spaces")) {
+            return ContentScope.CATALOG;
+        }
+        if (path.startsWith("/public/ratings")) {
+            return ContentScope.RATINGS;
+        }
+        if (path.startsWith("/public/franchises")) {
+            return ContentScope.FRANCHISES;
+        }
+        if (path.startsWith("/public/guidelines")) {
+            return ContentScope.CONFIG;
+        }
+        // /public/tenant/** carries its own content ETag (TenantBootstrapCache).
+        return null;
+    }
+
+    /**
+     * Weak comparison per RFC 9110 §13.1.2, which is what If-None-Match uses:
+     * the edge may hand back {@code W/"…"} after re-compressing a body.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || "*".equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private boolean isAuthenticated(HttpServletRequest request) {
         if (request.getHeader(HttpHeaders.AUTHORIZATION) != null) {
             return true;
@@ -0,0 +1,341 @@
+package org.earnlumens.mediastore.infrastructure.web;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Per-instance LRU of serialized public JSON responses, each stored as
+ * identity, gzip and brotli bodies, so a repeat anonymous request costs a
+ * map lookup and a byte copy — no controller, no Jackson, no compression.
+ * Used by {@link PublicCacheControlFilter}.
+ * <p>
+ * Entries are keyed by tenant + path + normalized query string and carry the
+ * validator they were stored under: the version ETag for {@link ContentScope}
+ * routes (so a bump or a new revalidation window makes the entry unusable),
+ * or the content ETag the controller set for the tenant bootstrap routes.
+ * A lookup with a different validator is a miss and the entry is replaced.
+ * <p>
+ * Compressed bodies are served with a weak ETag ({@code W/"…"}): they are
+ * semantically equivalent to the identity body but not byte-identical.
+ * {@link PublicCacheControlFilter#matches} compares weakly, so either form
+ * revalidates. Bodies under {@link #MIN_COMPRESS_BYTES} are stored identity
+ * only. Brotli needs the brotli4j native library; without it only gzip is
+ * stored.
+ * <p>
+ * {@code max-bytes} bounds the sum of all stored bodies; the least recently
+ * used entries are evicted first.
+ */
+@Component
+public class PublicResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicResponseCache.class);
+
+    static final int MIN_COMPRESS_BYTES = 256;
+    private static final int BROTLI_QUALITY = 9;
+
+    /** Content-codings a representation can be stored and served in. */
+    public enum Encoding {
+        IDENTITY(null), GZIP("gzip"), BROTLI("br");
+
+        private final String token;
+
+        Encoding(String token) {
+            this.token = token;
+        }
+
+        /** The {@code Content-Encoding} token, {@code null} for identity. */
+        public String token() {
+            return token;
+        }
+    }
+
+    /** One cached 200 response in every stored content-coding; {@code gzip}/{@code brotli} may be null. */
+    public record Representations(String validator, String contentType, byte[] identity, byte[] gzip, byte[] brotli) {
+
+        /** Picks the coding to send for {@code acceptEncoding}, honouring q-values; ties prefer brotli. */
+        public Encoding negotiate(String acceptEncoding) {
+            double br = brotli != null ? quality(acceptEncoding, "br") : 0;
+            double gz = gzip != null ? quality(acceptEncoding, "gzip") : 0;
+            if (br > 0 && br >= gz) {
+                return Encoding.BROTLI;
+            }
+            return gz > 0 ? Encoding.GZIP : Encoding.IDENTITY;
+        }
+
+        public byte[] body(Encoding encoding) {
+            return switch (encoding) {
+                case GZIP -> gzip;
+                case BROTLI -> brotli;
+                case IDENTITY -> identity;
+            };
+        }
+
+        int size() {
+            return identity.length + (gzip != null ? gzip.length : 0) + (brotli != null ? brotli.length : 0);
+        }
+    }
+
+    /** Cumulative counters since startup. */
+    public record Stats(long hits, long misses, long stored, int entries, long bytes) {}
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final int maxBodyBytes;
+    private final boolean brotli;
+    /** key → representations; access-ordered. Guarded by itself. */
+    private final LinkedHashMap<String, Representations> entries = new LinkedHashMap<>(64, 0.75f, true);
+    /** Sum of {@link Representations#size()} over {@link #entries}. Guarded by {@link #entries}. */
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stored = new LongAdder();
+    private long loggedHits;
+    private long loggedMisses;
+
+    public PublicResponseCache(
+            @Value("${mediastore.response-cache.enabled:true}") boolean enabled,
+            @Value("${mediastore.response-cache.max-bytes:67108864}") long maxBytes,
+            @Value("${mediastore.response-cache.max-body-bytes:524288}") int maxBodyBytes) {
+        this.enabled = enabled;
+        this.maxBytes = Math.max(0, maxBytes);
+        this.maxBodyBytes = Math.max(0, maxBodyBytes);
+        this.brotli = enabled && brotliAvailable();
+        if (enabled) {
+            logger.info("Public response cache: maxBytes={} maxBodyBytes={} encodings={}",
+                    this.maxBytes, this.maxBodyBytes, brotli ? "br,gzip" : "gzip");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cache key: {@code scope} (tenant or visitor host), path, and the query
+     * parameters sorted by name with their values in request order, so
+     * {@code ?size=24&page=1} and {@code ?page=1&size=24} share an entry.
+     */
+    public static String key(String scope, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(96)
+                .append(scope != null ? scope : "-").append(' ').append(request.getRequestURI());
+        char separator = '?';
+        for (Map.Entry<String, String[]> param : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            for (String value : param.getValue()) {
+                key.append(separator).append(encode(param.getKey())).append('=').append(encode(value));
+                separator = '&';
+            }
+        }
+        return key.toString();
+    }
+
+    /** The ETag for {@code validator} sent in {@code encoding}: strong for identity, weak otherwise. */
+    public static String etag(String validator, Encoding encoding) {
+        if (encoding == Encoding.IDENTITY || validator.startsWith("W/")) {
+            return validator;
+        }
+        return "W/" + validator;
+    }
+
+    /** The entry for {@code key} if it was stored under {@code validator}; counts a hit or a miss. */
+    public Representations get(String key, String validator) {
+        if (!enabled) {
+            return null;
+        }
+        Representations cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached != null && cached.validator().equals(validator)) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /** Whether {@link #get} would hit, without counting the lookup as a hit or miss. */
+    public boolean contains(String key, String validator) {
+        if (!enabled) {
+            return false;
+        }
+        Representations cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        return cached != null && cached.validator().equals(validator);
+    }
+
+    /**
+     * Compresses {@code body} and stores it under {@code key}, replacing any
+     * entry for an older validator. Returns {@code null} when the body is too
+     * large to cache or the cache is disabled.
+     */
+    public Representations put(String key, String validator, String contentType, byte[] body) {
+        if (!enabled || body.length > maxBodyBytes) {
+            return null;
+        }
+        Representations representations = compress(validator, contentType, body);
+        int size = representations.size();
+        if (size > maxBytes) {
+            return representations;
+        }
+        synchronized (entries) {
+            Representations previous = entries.put(key, representations);
+            bytes += size - (previous != null ? previous.size() : 0);
+            Iterator<Representations> eldest = entries.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().size();
+                eldest.remove();
+            }
+        }
+        stored.increment();
+        return representations;
+    }
+
+    /** Writes {@code representations} in {@code encoding} with {@code Vary: Accept-Encoding}. */
+    public static void write(HttpServletResponse response, Representations representations, Encoding encoding)
+            throws IOException {
+        byte[] body = representations.body(encoding);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoding.token() != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.token());
+        }
+        if (representations.contentType() != null) {
+            response.setContentType(representations.contentType());
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits.sum(), misses.sum(), stored.sum(), entries.size(), bytes);
+        }
+    }
+
+    // ─── Compression ───────────────────────────────────────────
+
+    private Representations compress(String validator, String contentType, byte[] body) {
+        if (body.length < MIN_COMPRESS_BYTES) {
+            return new Representations(validator, contentType, body, null, null);
+        }
+        byte[] gzip = smaller(gzip(body), body);
+        byte[] br = brotli ? smaller(brotli(body), body) : null;
+        return new Representations(validator, contentType, body, gzip, br);
+    }
+
+    static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (OutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("gzip failed", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] body) {
+        try {
+            return Encoder.compress(body, new Encoder.Parameters().setQuality(BROTLI_QUALITY).setMode(Encoder.Mode.TEXT));
+        } catch (IOException e) {
+            logger.warn("Brotli compression failed; storing gzip only: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static byte[] smaller(byte[] compressed, byte[] body) {
+        return compressed != null && compressed.length < body.length ? compressed : null;
+    }
+
+    private static boolean brotliAvailable() {
+        try {
+            if (Brotli4jLoader.isAvailable()) {
+                return true;
+            }
+            logger.warn("Brotli unavailable, caching gzip only: {}", Brotli4jLoader.getUnavailabilityCause().getMessage());
+        } catch (LinkageError e) {
+            logger.warn("Brotli unavailable, caching gzip only: {}", e.getMessage());
+        }
+        return false;
+    }
+
+    /** q-value of {@code coding} in an {@code Accept-Encoding} header; {@code *} applies when it is not listed. */
+    static double quality(String acceptEncoding, String coding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return 0;
+        }
+        double wildcard = 0;
+        for (String part : acceptEncoding.split(",")) {
+            String[] fields = part.split(";");
+            String name = fields[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1;
+            for (int i = 1; i < fields.length; i++) {
+                String param = fields[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (name.equals(coding)) {
+                return q;
+            }
+            if (name.equals("*")) {
+                wildcard = q;
+            }
+        }
+        return wildcard;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // ─── Metrics ───────────────────────────────────────────────
+
+    /** One line per interval, e.g. {@code RESPONSE_CACHE hits=940 misses=60 hitRatePct=94 stored=58 entries=410 bytes=9830211}. */
+    @Scheduled(fixedDelayString = "${mediastore.response-cache.stats-interval-ms:60000}",
+            initialDelayString = "${mediastore.response-cache.stats-interval-ms:60000}")
+    public void logStats() {
+        Stats stats = stats();
+        long windowHits = stats.hits() - loggedHits;
+        long windowMisses = stats.misses() - loggedMisses;
+        loggedHits = stats.hits();
+        loggedMisses = stats.misses();
+        long lookups = windowHits + windowMisses;
+        if (lookups == 0) {
+            return;
+        }
+        logger.info("RESPONSE_CACHE hits={} misses={} hitRatePct={} stored={} entries={} bytes={}",
+                windowHits, windowMisses, windowHits * 100 / lookups, stats.stored(), stats.entries(), stats.bytes());
+    }
+}
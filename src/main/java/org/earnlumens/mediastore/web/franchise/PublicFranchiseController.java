@@ -39,7 +39,7 @@ public class PublicFranchiseController {
     @GetMapping
     public List<PublicFranchiseResponse> list() {
         String tenantId = TenantContext.require();
-        return repository.findByTenantIdAndStatus(tenantId, ACTIVE).stream()
+        return repository.findPublicByTenantIdAndStatus(tenantId, ACTIVE).stream()
                 .map(PublicFranchiseResponse::of)
                 .toList();
     }
@@ -48,7 +48,7 @@ public class PublicFranchiseController {
     @GetMapping("/{slug}")
     public ResponseEntity<PublicFranchiseResponse> getBySlug(@PathVariable String slug) {
         String tenantId = TenantContext.require();
-        return repository.findByTenantIdAndSlug(tenantId, slug == null ? null : slug.trim().toLowerCase())
+        return repository.findPublicByTenantIdAndSlug(tenantId, slug == null ? null : slug.trim().toLowerCase())
                 .filter(FranchiseReadModel::isActive)
                 .map(PublicFranchiseResponse::of)
                 .map(ResponseEntity::ok)
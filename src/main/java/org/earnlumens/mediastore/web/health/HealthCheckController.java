@@ -1,14 +1,35 @@
 package org.earnlumens.mediastore.web.health;
 
+import org.earnlumens.mediastore.infrastructure.persistence.warmup.MongoWarmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class HealthCheckController {
 
+    private final MongoWarmup mongoWarmup;
+
+    public HealthCheckController(MongoWarmup mongoWarmup) {
+        this.mongoWarmup = mongoWarmup;
+    }
+
     @GetMapping("/public")
     public String getPublicContent() {
         // Intentionally generic: avoid leaking environment/DB status.
         return "XX days for reset";
     }
+
+    /**
+     * Startup probe: 503 until the Mongo pool is pre-warmed and the hot query
+     * plans are primed (see {@link MongoWarmup}), then 200. Cloud Run sends
+     * traffic to a new instance only after this passes.
+     */
+    @GetMapping("/public/ready")
+    public ResponseEntity<String> ready() {
+        return mongoWarmup.isReady()
+                ? ResponseEntity.ok("ready")
+                : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("warming up");
+    }
 }
@@ -1,7 +1,9 @@
 package org.earnlumens.mediastore.web.internal;
 
 import org.earnlumens.mediastore.application.media.DraftCleanupService;
+import org.earnlumens.mediastore.application.media.R2DeletionQueueService;
 import org.earnlumens.mediastore.domain.media.dto.response.CleanupResult;
+import org.earnlumens.mediastore.infrastructure.r2.R2PrefixDeleter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -24,13 +27,16 @@ public class CleanupController {
     private static final Logger logger = LoggerFactory.getLogger(CleanupController.class);
 
     private final DraftCleanupService draftCleanupService;
+    private final R2DeletionQueueService deletionQueueService;
     private final String cleanupSecret;
 
     public CleanupController(
             DraftCleanupService draftCleanupService,
+            R2DeletionQueueService deletionQueueService,
             @Value("${mediastore.internal.cleanupSecret}") String cleanupSecret
     ) {
         this.draftCleanupService = draftCleanupService;
+        this.deletionQueueService = deletionQueueService;
         this.cleanupSecret = cleanupSecret;
     }
 
@@ -50,4 +56,30 @@ public class CleanupController {
         CleanupResult result = draftCleanupService.cleanOrphanedDrafts();
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * POST /api/internal/cleanup/r2-queue — Drain one batch of the R2 deletion
+     * queue now (the scheduled worker does this every 15 s) and report
+     * throughput. Requires header: X-Cleanup-Secret.
+     */
+    @PostMapping("/cleanup/r2-queue")
+    public ResponseEntity<?> drainR2Queue(
+            @RequestHeader(value = "X-Cleanup-Secret", required = false) String secret
+    ) {
+        if (secret == null || !cleanupSecret.equals(secret)) {
+            logger.warn("R2 queue drain: rejected — invalid or missing X-Cleanup-Secret");
+            return ResponseEntity.status(403).body(Map.of("error", "Forbidden"));
+        }
+
+        R2PrefixDeleter.Report report = deletionQueueService.drain();
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("prefixesDeleted", report.deleted().size());
+        body.put("prefixesFailed", report.failed().size());
+        body.put("objects", report.objects());
+        body.put("durationMs", report.durationMs());
+        body.put("objectsPerSecond", Math.round(report.objectsPerSecond() * 10) / 10.0);
+        body.put("pending", deletionQueueService.pendingCount());
+        return ResponseEntity.ok(body);
+    }
 }
@@ -0,0 +1,115 @@
+package org.earnlumens.mediastore.web.internal;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.earnlumens.mediastore.infrastructure.security.playback.PlaybackRevocationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Internal endpoints for playback-token revocation
+ * ({@link PlaybackRevocationService}).
+ *
+ * <ul>
+ *   <li>{@code POST /api/internal/playback-revocations} — called by admin-api
+ *       on refunds, bans and takedowns. {@code notBefore} (epoch seconds)
+ *       defaults to now; for a ban pass its end so no token is valid or
+ *       minted until then.</li>
+ *   <li>{@code GET /api/internal/playback-revocations} — polled by the
+ *       cdn-worker, which rejects a token issued before the {@code notBefore}
+ *       of any revocation matching its tenant and viewer and/or entry.</li>
+ * </ul>
+ *
+ * <p><b>Security:</b> same model as {@link TenantCacheController} — mounted
+ * under {@code /api/internal/**} (permitAll), gated by a shared secret in
+ * {@code X-Internal-Secret} compared in constant time, and fail-closed (503)
+ * while {@code mediastore.internal.playbackSecret} is unset or the
+ * placeholder.
+ */
+@RestController
+@RequestMapping("/api/internal/playback-revocations")
+public class PlaybackRevocationController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaybackRevocationController.class);
+    private static final String SECRET_PLACEHOLDER = "CHANGE_ME_IN_ENV";
+
+    private final PlaybackRevocationService revocationService;
+    private final String sharedSecret;
+
+    public PlaybackRevocationController(
+            PlaybackRevocationService revocationService,
+            @Value("${mediastore.internal.playbackSecret:}") String sharedSecret
+    ) {
+        this.revocationService = revocationService;
+        this.sharedSecret = sharedSecret == null ? "" : sharedSecret;
+    }
+
+    @PostMapping
+    public ResponseEntity<?> revoke(
+            @RequestHeader(value = "X-Internal-Secret", required = false) String presented,
+            @Valid @RequestBody RevokeRequest body
+    ) {
+        ResponseEntity<?> denied = checkSecret(presented);
+        if (denied != null) {
+            return denied;
+        }
+        if (isBlank(body.userId()) && isBlank(body.entryId())) {
+            return ResponseEntity.badRequest().body(Map.of("error", "userId or entryId required"));
+        }
+        Instant notBefore = body.notBefore() != null ? Instant.ofEpochSecond(body.notBefore()) : Instant.now();
+        PlaybackRevocationService.Revocation revocation =
+                revocationService.revoke(body.tenantId().trim(), body.userId(), body.entryId(), notBefore);
+        return ResponseEntity.ok(revocation);
+    }
+
+    @GetMapping
+    public ResponseEntity<?> list(@RequestHeader(value = "X-Internal-Secret", required = false) String presented) {
+        ResponseEntity<?> denied = checkSecret(presented);
+        if (denied != null) {
+            return denied;
+        }
+        Instant now = Instant.now();
+        return ResponseEntity.ok(Map.of(
+                "generatedAt", now.getEpochSecond(),
+                "revocations", revocationService.active(now)));
+    }
+
+    private ResponseEntity<?> checkSecret(String presented) {
+        // Fail-closed when the secret is unconfigured or still the placeholder.
+        if (sharedSecret.isBlank() || SECRET_PLACEHOLDER.equals(sharedSecret)) {
+            logger.error("Playback revocations: refusing — mediastore.internal.playbackSecret is not configured");
+            return ResponseEntity.status(503).body(Map.of("error", "playback_revocations_disabled"));
+        }
+        if (presented == null || !MessageDigest.isEqual(
+                presented.getBytes(StandardCharsets.UTF_8), sharedSecret.getBytes(StandardCharsets.UTF_8))) {
+            logger.warn("Playback revocations: rejected — invalid or missing X-Internal-Secret");
+            return ResponseEntity.status(403).body(Map.of("error", "forbidden"));
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    public record RevokeRequest(
+            @NotBlank @Size(max = 63) String tenantId,
+            @Size(max = 128) String userId,
+            @Size(max = 64) String entryId,
+            Long notBefore
+    ) {}
+}
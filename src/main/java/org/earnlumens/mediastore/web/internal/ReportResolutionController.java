@@ -0,0 +1,109 @@
+package org.earnlumens.mediastore.web.internal;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import org.earnlumens.mediastore.application.media.ReportService;
+import org.earnlumens.mediastore.domain.media.model.ReportResolution;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.ReportEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+
+/**
+ * Internal endpoint for moderator decisions on user reports.
+ *
+ * <ul>
+ *   <li>{@code POST /api/internal/reports/{reportId}/resolution} — called by
+ *       admin-api when a moderator closes a report from the queue. Records the
+ *       resolution and moves the reporter's and creator's tallies in
+ *       {@code report_counters} from the previous resolution to the new one,
+ *       which feeds the reputation and creator-history factors of later
+ *       priority scores. Re-resolving a report moves the tallies again.</li>
+ * </ul>
+ *
+ * <p><b>Security:</b> same model as {@link TenantCacheController} — mounted
+ * under {@code /api/internal/**} (permitAll), gated by a shared secret in
+ * {@code X-Internal-Secret} compared in constant time, and fail-closed (503)
+ * while {@code mediastore.internal.reportsSecret} is unset or the
+ * placeholder.
+ */
+@RestController
+@RequestMapping("/api/internal/reports")
+public class ReportResolutionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportResolutionController.class);
+    private static final String SECRET_PLACEHOLDER = "CHANGE_ME_IN_ENV";
+
+    private final ReportService reportService;
+    private final String sharedSecret;
+
+    public ReportResolutionController(
+            ReportService reportService,
+            @Value("${mediastore.internal.reportsSecret:}") String sharedSecret
+    ) {
+        this.reportService = reportService;
+        this.sharedSecret = sharedSecret == null ? "" : sharedSecret;
+    }
+
+    @PostMapping("/{reportId}/resolution")
+    public ResponseEntity<?> resolve(
+            @RequestHeader(value = "X-Internal-Secret", required = false) String presented,
+            @PathVariable("reportId") String reportId,
+            @Valid @RequestBody ResolveRequest body
+    ) {
+        ResponseEntity<?> denied = checkSecret(presented);
+        if (denied != null) {
+            return denied;
+        }
+        ReportResolution resolution;
+        try {
+            resolution = ReportResolution.valueOf(body.resolution().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "INVALID_RESOLUTION"));
+        }
+        try {
+            ReportEntity report = reportService.resolveReport(
+                    body.tenantId().trim(), reportId, resolution, body.resolvedBy());
+            return ResponseEntity.ok(Map.of(
+                    "id", report.getId(),
+                    "resolution", report.getResolution()));
+        } catch (IllegalArgumentException e) {
+            if ("REPORT_NOT_FOUND".equals(e.getMessage())) {
+                return ResponseEntity.status(404).body(Map.of("error", e.getMessage()));
+            }
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private ResponseEntity<?> checkSecret(String presented) {
+        // Fail-closed when the secret is unconfigured or still the placeholder.
+        if (sharedSecret.isBlank() || SECRET_PLACEHOLDER.equals(sharedSecret)) {
+            logger.error("Report resolution: refusing — mediastore.internal.reportsSecret is not configured");
+            return ResponseEntity.status(503).body(Map.of("error", "report_resolution_disabled"));
+        }
+        if (presented == null || !MessageDigest.isEqual(
+                presented.getBytes(StandardCharsets.UTF_8), sharedSecret.getBytes(StandardCharsets.UTF_8))) {
+            logger.warn("Report resolution: rejected — invalid or missing X-Internal-Secret");
+            return ResponseEntity.status(403).body(Map.of("error", "forbidden"));
+        }
+        return null;
+    }
+
+    public record ResolveRequest(
+            @NotBlank @Size(max = 63) String tenantId,
+            @NotBlank String resolution,
+            @NotBlank @Size(max = 128) String resolvedBy
+    ) {}
+}
@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import org.earnlumens.mediastore.infrastructure.tenant.read.TenantConfigService;
+import org.earnlumens.mediastore.infrastructure.web.ContentScope;
+import org.earnlumens.mediastore.infrastructure.web.ContentVersionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,7 +27,9 @@ import java.util.Map;
  * <p>Called by admin-api after every tenant mutation so the storefront sees
  * the new values immediately instead of waiting for the {@code TenantConfigService}
  * TTL to elapse (~5 min). Without this, the owner experiences a confusing
- * "save did nothing" delay after editing branding or the hero banner.
+ * "save did nothing" delay after editing branding or the hero banner. The
+ * tenant's {@link ContentScope#CONFIG} version is bumped too, so the visitor
+ * config and guideline ETags stop matching and the edge refetches them.
  *
  * <p><b>Security:</b>
  * <ul>
@@ -52,13 +56,16 @@ public class TenantCacheController {
     private static final String SECRET_PLACEHOLDER = "CHANGE_ME_IN_ENV";
 
     private final TenantConfigService tenantConfigService;
+    private final ContentVersionService contentVersionService;
     private final String sharedSecret;
 
     public TenantCacheController(
             TenantConfigService tenantConfigService,
+            ContentVersionService contentVersionService,
             @Value("${mediastore.internal.tenantCacheSecret:}") String sharedSecret
     ) {
         this.tenantConfigService = tenantConfigService;
+        this.contentVersionService = contentVersionService;
         this.sharedSecret = sharedSecret == null ? "" : sharedSecret;
     }
 
@@ -81,6 +88,7 @@ public class TenantCacheController {
 
         String subdomain = body.subdomain().trim().toLowerCase();
         tenantConfigService.invalidate(subdomain);
+        contentVersionService.bump(subdomain, ContentScope.CONFIG);
         logger.info("Tenant cache invalidated for subdomain={}", subdomain);
         return ResponseEntity.ok(Map.of("status", "invalidated", "subdomain", subdomain));
     }
@@ -3,6 +3,7 @@ package org.earnlumens.mediastore.web.internal;
 import org.earnlumens.mediastore.application.media.TranscodingJobService;
 import org.earnlumens.mediastore.domain.media.dto.request.TranscodingCallbackRequest;
 import org.earnlumens.mediastore.domain.media.dto.request.TranscodingHeartbeatRequest;
+import org.earnlumens.mediastore.domain.media.dto.response.BackfillResult;
 import org.earnlumens.mediastore.domain.media.model.TranscodingJob;
 import org.earnlumens.mediastore.infrastructure.tenant.TenantResolver;
 import org.slf4j.Logger;
@@ -14,10 +15,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -128,10 +131,14 @@ public class TranscodingCallbackController {
      * The existing watchdog + dispatcher pipeline will pick them up automatically.
      * <p>
      * Use this once to retroactively transcode videos uploaded before the HLS pipeline.
+     * The backfill is time-boxed and checkpointed: while the response reports
+     * {@code completed=false}, call again to resume where it stopped. Pass
+     * {@code resume=false} to restart from the first entry.
      */
     @PostMapping("/transcoding/batch")
     public ResponseEntity<?> batchTranscode(
             @RequestHeader(value = "X-Transcoding-Secret", required = false) String secret,
+            @RequestParam(defaultValue = "true") boolean resume,
             HttpServletRequest request
     ) {
         if (secret == null || !transcodingSecret.equals(secret)) {
@@ -140,14 +147,11 @@ public class TranscodingCallbackController {
         }
 
         String tenantId = tenantResolver.resolve(request);
-        logger.info("Batch transcode: triggered for tenant={}", tenantId);
+        logger.info("Batch transcode: triggered for tenant={}, resume={}", tenantId, resume);
 
-        int created = transcodingJobService.batchTranscodeExistingVideos(tenantId);
+        BackfillResult result = transcodingJobService.batchTranscodeExistingVideos(tenantId, resume);
 
-        return ResponseEntity.ok(Map.of(
-                "status", "ok",
-                "jobsCreated", created
-        ));
+        return ResponseEntity.ok(backfillBody("jobsCreated", result));
     }
 
     /**
@@ -157,11 +161,13 @@ public class TranscodingCallbackController {
      * from the FULL asset's client-reported metadata.
      * <p>
      * Use this once for entries that were uploaded with metadata but whose
-     * Entry never got durationSec denormalized.
+     * Entry never got durationSec denormalized. Resumable like
+     * {@code /transcoding/batch}.
      */
     @PostMapping("/metadata/batch")
     public ResponseEntity<?> batchMetadata(
             @RequestHeader(value = "X-Transcoding-Secret", required = false) String secret,
+            @RequestParam(defaultValue = "true") boolean resume,
             HttpServletRequest request
     ) {
         if (secret == null || !transcodingSecret.equals(secret)) {
@@ -170,14 +176,26 @@ public class TranscodingCallbackController {
         }
 
         String tenantId = tenantResolver.resolve(request);
-        logger.info("Batch metadata: triggered for tenant={}", tenantId);
+        logger.info("Batch metadata: triggered for tenant={}, resume={}", tenantId, resume);
 
-        int updated = transcodingJobService.batchFillMissingDuration(tenantId);
+        BackfillResult result = transcodingJobService.batchFillMissingDuration(tenantId, resume);
 
-        return ResponseEntity.ok(Map.of(
-                "status", "ok",
-                "entriesUpdated", updated
-        ));
+        return ResponseEntity.ok(backfillBody("entriesUpdated", result));
+    }
+
+    /** Response body shared by the batch endpoints; {@code affectedKey} keeps the legacy count field name. */
+    private static Map<String, Object> backfillBody(String affectedKey, BackfillResult result) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", "ok");
+        body.put(affectedKey, result.affected());
+        body.put("scanned", result.scanned());
+        body.put("totalScanned", result.totalScanned());
+        body.put("totalAffected", result.totalAffected());
+        body.put("resumed", result.resumed());
+        body.put("completed", result.completed());
+        body.put("durationMs", result.durationMs());
+        body.put("rowsPerSecond", Math.round(result.rowsPerSecond() * 10) / 10.0);
+        return body;
     }
 
     /**
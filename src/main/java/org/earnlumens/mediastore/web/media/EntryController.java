@@ -2,6 +2,7 @@ package org.earnlumens.mediastore.web.media;
 
 import jakarta.validation.Valid;
 import org.earnlumens.mediastore.application.media.EntryUploadService;
+import org.earnlumens.mediastore.application.media.OwnerStatsService;
 import org.earnlumens.mediastore.domain.media.dto.request.CreateEntryRequest;
 import org.earnlumens.mediastore.domain.media.dto.request.UpdateEntryMetadataRequest;
 import org.earnlumens.mediastore.domain.media.dto.request.UpdateEntryStatusRequest;
@@ -48,11 +49,14 @@ public class EntryController {
 
     private final EntryUploadService entryUploadService;
     private final TenantConfigService tenantConfigService;
+    private final OwnerStatsService ownerStatsService;
 
     public EntryController(EntryUploadService entryUploadService,
-                           TenantConfigService tenantConfigService) {
+                           TenantConfigService tenantConfigService,
+                           OwnerStatsService ownerStatsService) {
         this.entryUploadService = entryUploadService;
         this.tenantConfigService = tenantConfigService;
+        this.ownerStatsService = ownerStatsService;
     }
 
     /**
@@ -201,6 +205,7 @@ public class EntryController {
 
     /**
      * GET /api/entries/mine/stats — Aggregated dashboard stats for the authenticated creator.
+     * Served from the materialized owner_stats document (single point read).
      */
     @GetMapping("/mine/stats")
     public ResponseEntity<?> getMyStats() {
@@ -210,7 +215,7 @@ public class EntryController {
         }
 
         String tenantId = TenantContext.require();
-        OwnerStatsResponse stats = entryUploadService.getOwnerStats(tenantId, userId);
+        OwnerStatsResponse stats = ownerStatsService.getStats(tenantId, userId);
         return ResponseEntity.ok(stats);
     }
 
@@ -260,22 +265,6 @@ public class EntryController {
         return ResponseEntity.ok(response);
     }
 
-    /**
-     * GET /api/entries/mine/sales — List completed sales for the authenticated creator.
-     * Returns orders where the current user is the seller, with payment split breakdown.
-     */
-    @GetMapping("/mine/sales")
-    public ResponseEntity<?> getMySales() {
-        String userId = extractUserId();
-        if (userId == null) {
-            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
-        }
-
-        String tenantId = TenantContext.require();
-        var sales = entryUploadService.getSellerSales(tenantId, userId);
-        return ResponseEntity.ok(sales);
-    }
-
     private String extractUserId() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !(auth.getPrincipal() instanceof OAuth2User principal)) {
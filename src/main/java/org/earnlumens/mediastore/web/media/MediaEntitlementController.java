@@ -3,6 +3,7 @@ package org.earnlumens.mediastore.web.media;
 import jakarta.servlet.http.HttpServletRequest;
 import org.earnlumens.mediastore.application.media.MediaEntitlementService;
 import org.earnlumens.mediastore.domain.media.dto.response.MediaEntitlementResponse;
+import org.earnlumens.mediastore.infrastructure.security.playback.PlaybackTokenService;
 import org.earnlumens.mediastore.infrastructure.tenant.TenantResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +28,10 @@ import java.util.Optional;
  * This endpoint is accessible without authentication (permitAll) so that free
  * content can be served to unauthenticated users. The service layer enforces
  * that paid content still requires a valid session.
+ * <p>
+ * For HLS entries an allowed response also carries a playback token
+ * ({@link PlaybackTokenService}) that lets the worker authorize the rest of
+ * the session's manifests and segments at the edge.
  */
 @RestController
 @RequestMapping("/api/media")
@@ -36,13 +41,16 @@ public class MediaEntitlementController {
 
     private final TenantResolver tenantResolver;
     private final MediaEntitlementService mediaEntitlementService;
+    private final PlaybackTokenService playbackTokenService;
 
     public MediaEntitlementController(
             TenantResolver tenantResolver,
-            MediaEntitlementService mediaEntitlementService
+            MediaEntitlementService mediaEntitlementService,
+            PlaybackTokenService playbackTokenService
     ) {
         this.tenantResolver = tenantResolver;
         this.mediaEntitlementService = mediaEntitlementService;
+        this.playbackTokenService = playbackTokenService;
     }
 
     @GetMapping("/entitlements/{entryId}")
@@ -75,6 +83,14 @@ public class MediaEntitlementController {
             return ResponseEntity.status(403).body(Map.of("error", "Forbidden"));
         }
 
-        return ResponseEntity.ok(result.get());
+        // 4. HLS: mint a playback token so the edge can verify the rest of the session locally
+        MediaEntitlementResponse response = result.get();
+        if (response.hlsR2Prefix() != null) {
+            final MediaEntitlementResponse allowed = response;
+            response = playbackTokenService.issue(tenantId, userId, entryId, response.hlsR2Prefix())
+                    .map(token -> allowed.withPlaybackToken(token.token(), token.expiresAt()))
+                    .orElse(response);
+        }
+        return ResponseEntity.ok(response);
     }
 }
@@ -50,7 +50,7 @@ public class PublicRatingController {
             return ResponseEntity.badRequest().build();
         }
         String tenantId = TenantContext.require();
-        RatingAggregateResponse aggregate = ratingService.getAggregateResponse(tenantId, targetType, targetId);
+        RatingAggregateResponse aggregate = ratingService.getPublicAggregateResponse(tenantId, targetType, targetId);
         Page<Rating> reviews = ratingService.listReviews(tenantId, targetType, targetId, page, size);
         List<RatingResponse> items = reviews.getContent().stream()
                 .map(ratingService::toRatingResponse)
@@ -76,7 +76,7 @@ public class PublicRatingController {
             return ResponseEntity.badRequest().build();
         }
         String tenantId = TenantContext.require();
-        return ResponseEntity.ok(ratingService.getAggregateResponse(tenantId, targetType, targetId));
+        return ResponseEntity.ok(ratingService.getPublicAggregateResponse(tenantId, targetType, targetId));
     }
 
     private TargetType parseTargetType(String raw) {
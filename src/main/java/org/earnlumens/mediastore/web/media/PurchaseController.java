@@ -3,6 +3,7 @@ package org.earnlumens.mediastore.web.media;
 import jakarta.servlet.http.HttpServletRequest;
 import org.earnlumens.mediastore.application.media.PurchaseListService;
 import org.earnlumens.mediastore.domain.media.dto.response.PublicFeedPageResponse;
+import org.earnlumens.mediastore.domain.media.dto.response.PurchaseLibraryPageResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.PurchasedCollectionPageResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.PurchasedEntryPageResponse;
 import org.earnlumens.mediastore.infrastructure.tenant.TenantResolver;
@@ -62,6 +63,37 @@ public class PurchaseController {
         }
     }
 
+    /**
+     * GET /api/purchases/library?cursor=&limit=24
+     * Keyset-paginated purchase library, newest purchase first. Pass back
+     * {@code nextCursor} to fetch the following window.
+     */
+    @GetMapping("/library")
+    public ResponseEntity<?> getLibraryPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "24") int limit,
+            HttpServletRequest request) {
+
+        String userId = extractUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+
+        String tenantId = tenantResolver.resolve(request);
+
+        try {
+            PurchaseLibraryPageResponse response =
+                    purchaseListService.getLibraryPage(tenantId, userId, cursor, limit);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error listing purchase library for userId={}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.internalServerError()
+                    .body(Map.of("error", "Failed to list purchases"));
+        }
+    }
+
     /**
      * GET /api/purchases/collections?page=0&size=24
      * Returns a paginated list of collections the authenticated user has purchased.
@@ -99,7 +131,7 @@ public class PurchaseController {
 
     /**
      * GET /api/purchases/feed?type=&search=&sort=newest&page=0&size=24
-     * Unified purchased content feed: entries + collections merged via $unionWith.
+     * Unified purchased content feed: entries + collections resolved from the user's entitlements.
      */
     @GetMapping("/feed")
     public ResponseEntity<?> getUnifiedPurchases(
@@ -0,0 +1,151 @@
+package org.earnlumens.mediastore.web.media;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.earnlumens.mediastore.application.media.SellerSalesService;
+import org.earnlumens.mediastore.domain.media.dto.response.SellerSalesDailyResponse;
+import org.earnlumens.mediastore.domain.media.dto.response.SellerSalesPageResponse;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.user.OAuth2User;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+/**
+ * REST controller for the authenticated creator's sales.
+ * <p>
+ * Authenticated via Bearer JWT (AuthTokenFilter). The tenant is read from
+ * {@link TenantContext}, populated by {@code TenantFilter}.
+ */
+@RestController
+@RequestMapping("/api/entries/mine/sales")
+public class SellerSalesController {
+
+    private static final Logger logger = LoggerFactory.getLogger(SellerSalesController.class);
+
+    /** Default window for daily totals when no range is given. */
+    private static final int DEFAULT_DAILY_RANGE_DAYS = 30;
+
+    private final SellerSalesService sellerSalesService;
+
+    public SellerSalesController(SellerSalesService sellerSalesService) {
+        this.sellerSalesService = sellerSalesService;
+    }
+
+    /**
+     * GET /api/entries/mine/sales — Most recent completed sales with payment
+     * split breakdown, as a plain list. Kept for existing clients and capped at
+     * {@link SellerSalesService#LEGACY_LIST_LIMIT}; use {@code /page} for the
+     * full history.
+     */
+    @GetMapping
+    public ResponseEntity<?> getMySales() {
+        String userId = extractUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+
+        String tenantId = TenantContext.require();
+        return ResponseEntity.ok(sellerSalesService.getRecentSales(tenantId, userId));
+    }
+
+    /**
+     * GET /api/entries/mine/sales/page — Keyset-paginated completed sales,
+     * newest first. Pass the returned {@code nextCursor} to get the next page.
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getMySalesPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        String userId = extractUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+
+        String tenantId = TenantContext.require();
+        try {
+            SellerSalesPageResponse page = sellerSalesService.getSalesPage(tenantId, userId, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/entries/mine/sales/daily — Per-day totals (UTC) from the sales
+     * rollup. Defaults to the last 30 days.
+     */
+    @GetMapping("/daily")
+    public ResponseEntity<?> getMyDailySales(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        String userId = extractUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+
+        String tenantId = TenantContext.require();
+        LocalDate end = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_DAILY_RANGE_DAYS - 1);
+        try {
+            SellerSalesDailyResponse response = sellerSalesService.getDailyTotals(tenantId, userId, start, end);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * GET /api/entries/mine/sales/export.csv — Full sales history as CSV.
+     * <p>
+     * Rows are written to the response as they are read from the Mongo cursor
+     * (chunked transfer, flushed per chunk), on the request thread — virtual
+     * threads make the long-lived blocking write cheap and keep the tenant
+     * and security context in scope.
+     */
+    @GetMapping("/export.csv")
+    public void exportMySales(HttpServletResponse response) throws IOException {
+        String userId = extractUserId();
+        if (userId == null) {
+            response.sendError(401, "Unauthorized");
+            return;
+        }
+
+        String tenantId = TenantContext.require();
+        response.setContentType("text/csv; charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"sales-" + LocalDate.now(ZoneOffset.UTC) + ".csv\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        long rows = sellerSalesService.exportCsv(tenantId, userId, writer);
+        logger.info("Sales CSV export: tenant={}, sellerId={}, rows={}", tenantId, userId, rows);
+    }
+
+    private String extractUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof OAuth2User principal)) {
+            return null;
+        }
+        Object idAttr = principal.getAttribute("id");
+        return idAttr != null ? idAttr.toString() : null;
+    }
+}
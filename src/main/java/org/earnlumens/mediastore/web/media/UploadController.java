@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
@@ -201,6 +202,42 @@ public class UploadController {
         }
     }
 
+    /**
+     * POST /api/uploads/part-urls — Presign the next window of multipart part
+     * URLs. Init only returns the first window; the client requests more as
+     * its upload advances. {@code count} is capped server-side.
+     * Body: { "uploadId": "...", "firstPart": 33, "count": 32 }
+     */
+    @PostMapping("/part-urls")
+    public ResponseEntity<?> partUrls(
+            @RequestBody Map<String, Object> body,
+            HttpServletRequest httpRequest
+    ) {
+        String userId = extractUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+        Object uploadIdRaw = body.get("uploadId");
+        Object firstPartRaw = body.get("firstPart");
+        Object countRaw = body.getOrDefault("count", EntryUploadService.PART_URL_WINDOW);
+        if (!(uploadIdRaw instanceof String uploadId) || uploadId.isBlank()
+                || !(firstPartRaw instanceof Number firstPart)
+                || !(countRaw instanceof Number count)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "uploadId and firstPart are required"));
+        }
+
+        String tenantId = tenantResolver.resolve(httpRequest);
+        try {
+            return entryUploadService.generatePartUrlWindow(
+                            tenantId, userId, uploadId, firstPart.intValue(), count.intValue())
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(403).body(Map.of("error", "Forbidden")));
+        } catch (IllegalArgumentException e) {
+            logger.warn("partUrls: invalid request: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     /**
      * POST /api/uploads/abort — Cancel an in-progress upload, freeing any
      * stored bytes/parts. Best-effort and safe to retry.
@@ -227,10 +264,12 @@ public class UploadController {
 
     /**
      * GET /api/uploads/config — Server-enforced upload limits and multipart
-     * parameters, so the client validates against the same numbers.
+     * parameters, so the client validates against the same numbers. With
+     * {@code ?fileSizeBytes=} the returned {@code partSizeBytes} is the part
+     * size the server will use for that file.
      */
     @GetMapping("/config")
-    public ResponseEntity<?> uploadConfig() {
-        return ResponseEntity.ok(entryUploadService.getUploadConfig());
+    public ResponseEntity<?> uploadConfig(@RequestParam(value = "fileSizeBytes", required = false) Long fileSizeBytes) {
+        return ResponseEntity.ok(entryUploadService.getUploadConfig(fileSizeBytes));
     }
 }
@@ -8,15 +8,18 @@ import org.earnlumens.mediastore.domain.media.dto.request.PrepareTipRequest;
 import org.earnlumens.mediastore.domain.media.dto.request.SubmitPaymentRequest;
 import org.earnlumens.mediastore.domain.media.dto.response.PreparePaymentResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.SubmitPaymentResponse;
+import org.earnlumens.mediastore.domain.media.model.OrderStatus;
 import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.Map;
 
 /**
@@ -26,6 +29,9 @@ import java.util.Map;
  *                                         inline, then confirms on-chain asynchronously
  *                                         (202 + PROCESSING; poll the order status)
  *   GET  /api/payments/orders/{orderId} — buyer-owned order status (poll until final)
+ *   GET  /api/payments/orders/{orderId}/await?since=STATUS
+ *                                       — long-poll: answers when the status leaves
+ *                                         {@code since} or after the server-side timeout
  *
  * All endpoints require authentication (refresh cookie / JWT).
  */
@@ -37,11 +43,14 @@ public class PaymentController {
 
     private final PaymentService paymentService;
     private final PaymentSubmissionCoordinator submissionCoordinator;
+    private final Duration awaitTimeout;
 
     public PaymentController(PaymentService paymentService,
-                             PaymentSubmissionCoordinator submissionCoordinator) {
+                             PaymentSubmissionCoordinator submissionCoordinator,
+                             @Value("${mediastore.payments.order-status.await-timeout-ms:25000}") long awaitTimeoutMs) {
         this.paymentService = paymentService;
         this.submissionCoordinator = submissionCoordinator;
+        this.awaitTimeout = Duration.ofMillis(awaitTimeoutMs);
     }
 
     @PostMapping("/prepare")
@@ -156,6 +165,41 @@ public class PaymentController {
         }
     }
 
+    /**
+     * Long-poll replacement for polling {@link #orderStatus}: held open (on a
+     * virtual thread, no Mongo reads while idle) until the order leaves
+     * {@code since} or the server-side timeout elapses, then answers with the
+     * same body as {@code GET /orders/{orderId}}. An unchanged status in the
+     * response means "ask again".
+     */
+    @GetMapping("/orders/{orderId}/await")
+    public ResponseEntity<?> awaitOrderStatus(@PathVariable String orderId,
+                                              @RequestParam(defaultValue = "PROCESSING") String since) {
+        String userId = extractUserId();
+        if (userId == null) {
+            return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        }
+
+        OrderStatus sinceStatus;
+        try {
+            sinceStatus = OrderStatus.valueOf(since);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown order status: " + since));
+        }
+
+        String tenantId = TenantContext.require();
+
+        try {
+            SubmitPaymentResponse response = paymentService.awaitOrderStatus(
+                    tenantId, userId, orderId, sinceStatus, awaitTimeout);
+            return ResponseEntity.ok()
+                    .header("Cache-Control", "private, no-store")
+                    .body(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(Map.of("error", "Order not found"));
+        }
+    }
+
     /**
      * Extracts the user ID from the SecurityContext.
      */
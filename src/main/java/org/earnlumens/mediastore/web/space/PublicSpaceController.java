@@ -12,7 +12,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
-import java.util.Map;
 
 /**
  * Public, unauthenticated controller for reading {@link Space} metadata.
@@ -43,7 +42,7 @@ public class PublicSpaceController {
     public ResponseEntity<List<PublicSpaceResponse>> listSidebarSpaces() {
         String tenantId = TenantContext.require();
         List<Space> spaces = spaceRepository.findSidebarSpaces(tenantId);
-        return ResponseEntity.ok(spaces.stream().map(PublicSpaceController::toResponse).toList());
+        return ResponseEntity.ok(spaces.stream().map(PublicSpaceResponse::of).toList());
     }
 
     /**
@@ -56,20 +55,8 @@ public class PublicSpaceController {
         String tenantId = TenantContext.require();
         return spaceRepository.findByTenantIdAndId(tenantId, spaceId)
                 .filter(s -> s.getStatus() != SpaceStatus.ARCHIVED)
-                .map(PublicSpaceController::toResponse)
+                .map(PublicSpaceResponse::of)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
-
-    private static PublicSpaceResponse toResponse(Space s) {
-        return new PublicSpaceResponse(
-                s.getId(),
-                s.getKey(),
-                s.isSystemSpace(),
-                s.getSortOrder(),
-                s.getIcon(),
-                s.getBaseName(),
-                s.getTranslations() == null ? Map.of() : s.getTranslations()
-        );
-    }
 }
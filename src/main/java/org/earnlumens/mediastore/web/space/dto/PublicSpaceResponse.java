@@ -1,5 +1,7 @@
 package org.earnlumens.mediastore.web.space.dto;
 
+import org.earnlumens.mediastore.domain.space.Space;
+
 import java.util.Map;
 
 /**
@@ -20,4 +22,16 @@ public record PublicSpaceResponse(
         String icon,
         String baseName,
         Map<String, String> translations
-) {}
+) {
+    public static PublicSpaceResponse of(Space s) {
+        return new PublicSpaceResponse(
+                s.getId(),
+                s.getKey(),
+                s.isSystemSpace(),
+                s.getSortOrder(),
+                s.getIcon(),
+                s.getBaseName(),
+                s.getTranslations() == null ? Map.of() : s.getTranslations()
+        );
+    }
+}
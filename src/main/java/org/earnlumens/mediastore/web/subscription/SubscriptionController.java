@@ -2,9 +2,10 @@ package org.earnlumens.mediastore.web.subscription;
 
 import jakarta.servlet.http.HttpServletRequest;
 import org.earnlumens.mediastore.application.subscription.SubscriptionService;
+import org.earnlumens.mediastore.application.subscription.SubscriptionService.SubscriptionCursorPageResponse;
 import org.earnlumens.mediastore.application.subscription.SubscriptionService.SubscriptionPageResponse;
-import org.earnlumens.mediastore.domain.user.model.User;
-import org.earnlumens.mediastore.domain.user.repository.UserRepository;
+import org.earnlumens.mediastore.application.user.UserService;
+import org.earnlumens.mediastore.application.user.UserSummary;
 import org.earnlumens.mediastore.infrastructure.tenant.TenantResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,7 +28,9 @@ import java.util.Optional;
  *   <li>DELETE /api/subscriptions/{targetUserId} — unsubscribe from a user</li>
  *   <li>GET /api/subscriptions/check/{targetUserId} — check if subscribed</li>
  *   <li>GET /api/subscriptions/mine — list my subscriptions (who I follow)</li>
+ *   <li>GET /api/subscriptions/mine/page — keyset page of my subscriptions ({@code cursor}, {@code limit})</li>
  *   <li>GET /api/subscriptions/subscribers — list my subscribers (who follows me, private)</li>
+ *   <li>GET /api/subscriptions/subscribers/page — keyset page of my subscribers ({@code cursor}, {@code limit})</li>
  *   <li>GET /api/subscriptions/subscribers/count — my subscriber count</li>
  *   <li>GET /public/subscriptions/count/{username} — public subscriber count for any user</li>
  * </ul>
@@ -39,14 +42,14 @@ public class SubscriptionController {
     private static final Logger logger = LoggerFactory.getLogger(SubscriptionController.class);
 
     private final SubscriptionService subscriptionService;
-    private final UserRepository userRepository;
+    private final UserService userService;
     private final TenantResolver tenantResolver;
 
     public SubscriptionController(SubscriptionService subscriptionService,
-                                  UserRepository userRepository,
+                                  UserService userService,
                                   TenantResolver tenantResolver) {
         this.subscriptionService = subscriptionService;
-        this.userRepository = userRepository;
+        this.userService = userService;
         this.tenantResolver = tenantResolver;
     }
 
@@ -129,6 +132,27 @@ public class SubscriptionController {
         }
     }
 
+    @GetMapping("/api/subscriptions/mine/page")
+    public ResponseEntity<?> mySubscriptionsPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "24") int limit,
+            HttpServletRequest request) {
+        String userId = extractUserId();
+        if (userId == null) return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        String tenantId = tenantResolver.resolve(request);
+
+        try {
+            SubscriptionCursorPageResponse response =
+                    subscriptionService.getMySubscriptionsPage(tenantId, userId, cursor, limit);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error paging subscriptions for userId={}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to list subscriptions"));
+        }
+    }
+
     // ── My subscribers (who follows me — PRIVATE) ───────────
 
     @GetMapping("/api/subscriptions/subscribers")
@@ -149,6 +173,27 @@ public class SubscriptionController {
         }
     }
 
+    @GetMapping("/api/subscriptions/subscribers/page")
+    public ResponseEntity<?> mySubscribersPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "24") int limit,
+            HttpServletRequest request) {
+        String userId = extractUserId();
+        if (userId == null) return ResponseEntity.status(401).body(Map.of("error", "Unauthorized"));
+        String tenantId = tenantResolver.resolve(request);
+
+        try {
+            SubscriptionCursorPageResponse response =
+                    subscriptionService.getMySubscribersPage(tenantId, userId, cursor, limit);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        } catch (Exception e) {
+            logger.error("Error paging subscribers for userId={}: {}", userId, e.getMessage(), e);
+            return ResponseEntity.internalServerError().body(Map.of("error", "Failed to list subscribers"));
+        }
+    }
+
     // ── My subscriber count (private) ───────────────────────
 
     @GetMapping("/api/subscriptions/subscribers/count")
@@ -178,11 +223,11 @@ public class SubscriptionController {
         String tenantId = tenantResolver.resolve(request);
 
         try {
-            Optional<User> userOpt = userRepository.findByUsername(username);
+            Optional<UserSummary> userOpt = userService.findSummaryByUsername(username);
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(404).body(Map.of("error", "User not found"));
             }
-            long count = subscriptionService.getSubscriberCount(tenantId, userOpt.get().getId());
+            long count = subscriptionService.getSubscriberCount(tenantId, userOpt.get().id());
             return ResponseEntity.ok(Map.of("username", username, "count", count));
         } catch (Exception e) {
             logger.error("Error getting public subscriber count for username={}: {}", username, e.getMessage(), e);
@@ -1,15 +1,26 @@
 package org.earnlumens.mediastore.web.tenant;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.earnlumens.mediastore.domain.space.repository.SpaceRepository;
+import org.earnlumens.mediastore.infrastructure.franchise.read.FranchiseReadRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.ModerationConfigMongoRepository;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
 import org.earnlumens.mediastore.infrastructure.tenant.read.TenantConfigService;
 import org.earnlumens.mediastore.infrastructure.tenant.read.TenantReadModel;
+import org.earnlumens.mediastore.infrastructure.web.PublicCacheControlFilter;
+import org.earnlumens.mediastore.web.franchise.PublicFranchiseResponse;
+import org.earnlumens.mediastore.web.space.dto.PublicSpaceResponse;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -41,6 +52,11 @@ import java.util.regex.Pattern;
  * instead of delegating to it, because {@code TenantResolver} collapses
  * "reserved", "syntax invalid" and "not in DB" into the same fallback
  * (the default tenant). For the SPA we need to tell those apart.</p>
+ *
+ * <p>Responses are served pre-rendered from {@link TenantBootstrapCache}
+ * with a content ETag; {@code /bootstrap} bundles the visitor payload with
+ * the sidebar spaces, guideline notes and franchises so a cold SPA load
+ * needs one request instead of four.</p>
  */
 @RestController
 @RequestMapping("/public/tenant")
@@ -59,16 +75,103 @@ public class PublicTenantController {
     private String rootDomain;
 
     private final TenantConfigService tenantConfigService;
+    private final TenantBootstrapCache bootstrapCache;
+    private final SpaceRepository spaceRepository;
+    private final ModerationConfigMongoRepository moderationConfigRepository;
+    private final FranchiseReadRepository franchiseRepository;
 
-    public PublicTenantController(TenantConfigService tenantConfigService) {
+    public PublicTenantController(TenantConfigService tenantConfigService,
+                                  TenantBootstrapCache bootstrapCache,
+                                  SpaceRepository spaceRepository,
+                                  ModerationConfigMongoRepository moderationConfigRepository,
+                                  FranchiseReadRepository franchiseRepository) {
         this.tenantConfigService = tenantConfigService;
+        this.bootstrapCache = bootstrapCache;
+        this.spaceRepository = spaceRepository;
+        this.moderationConfigRepository = moderationConfigRepository;
+        this.franchiseRepository = franchiseRepository;
+    }
+
+    /** Which storefront the visitor's host maps to. */
+    enum VisitorKind { PLATFORM, TENANT, NOT_FOUND }
+
+    record Visitor(VisitorKind kind, String subdomain) {
+        String cacheKey() {
+            return kind == VisitorKind.TENANT ? "tenant:" + subdomain : "platform";
+        }
     }
 
     @GetMapping("/visitor")
-    public ResponseEntity<Map<String, Object>> visitor(HttpServletRequest request) {
+    public ResponseEntity<byte[]> visitor(
+            HttpServletRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        Visitor visitor = classify(request);
+        if (visitor.kind() == VisitorKind.NOT_FOUND) {
+            return respond(bootstrapCache.render(404, notFound(visitor.subdomain())), ifNoneMatch);
+        }
+        return respond(bootstrapCache.get("visitor|" + visitor.cacheKey(),
+                List.of(configTenantId(visitor)),
+                () -> visitorBody(visitor)), ifNoneMatch);
+    }
+
+    /**
+     * GET /public/tenant/bootstrap — everything the SPA needs to render its
+     * shell in one cached response: the {@code visitor} payload above, the
+     * sidebar {@code spaces}, the tenant's guideline {@code notes} and its
+     * ACTIVE {@code franchises}. Replaces four boot-time calls (visitor,
+     * spaces, guidelines, franchises) with one.
+     */
+    @GetMapping("/bootstrap")
+    public ResponseEntity<byte[]> bootstrap(
+            HttpServletRequest request,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        Visitor visitor = classify(request);
+        if (visitor.kind() == VisitorKind.NOT_FOUND) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("visitor", notFound(visitor.subdomain()));
+            return respond(bootstrapCache.render(404, body), ifNoneMatch);
+        }
+        String tenantId = TenantContext.require();
+        return respond(bootstrapCache.get("bootstrap|" + visitor.cacheKey() + "|" + tenantId,
+                List.of(configTenantId(visitor), tenantId),
+                () -> bootstrapBody(visitor, tenantId)), ifNoneMatch);
+    }
+
+    private Map<String, Object> bootstrapBody(Visitor visitor, String tenantId) {
+        Map<String, Object> guidelines = new LinkedHashMap<>();
+        guidelines.put("tenantId", tenantId);
+        guidelines.put("notes", moderationConfigRepository.findByTenantId(tenantId)
+                .map(c -> c.getTenantPublishingNotes())
+                .filter(s -> s != null && !s.isBlank())
+                .orElse(null));
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("visitor", visitorBody(visitor));
+        body.put("spaces", spaceRepository.findSidebarSpaces(tenantId).stream()
+                .map(PublicSpaceResponse::of).toList());
+        body.put("guidelines", guidelines);
+        body.put("franchises", franchiseRepository.findByTenantIdAndStatus(tenantId, "ACTIVE").stream()
+                .map(PublicFranchiseResponse::of).toList());
+        return body;
+    }
+
+    private static ResponseEntity<byte[]> respond(TenantBootstrapCache.Rendered rendered, String ifNoneMatch) {
+        if (rendered.status() == 200 && PublicCacheControlFilter.matches(ifNoneMatch, rendered.etag())) {
+            return ResponseEntity.status(304).eTag(rendered.etag()).build();
+        }
+        return ResponseEntity.status(rendered.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(rendered.etag())
+                .body(rendered.json());
+    }
+
+    /** Maps the visitor host to a storefront (see the class comment for the rules). */
+    Visitor classify(HttpServletRequest request) {
         String host = request.getServerName();
         if (host == null || host.isBlank()) {
-            return ResponseEntity.ok(platform());
+            return new Visitor(VisitorKind.PLATFORM, null);
         }
 
         String hostname = host.contains(":") ? host.substring(0, host.indexOf(':')) : host;
@@ -78,37 +181,50 @@ public class PublicTenantController {
                 || "localhost.dv".equals(hostname)
                 || "127.0.0.1".equals(hostname)
                 || rootDomain.equals(hostname)) {
-            return ResponseEntity.ok(platform());
+            return new Visitor(VisitorKind.PLATFORM, null);
         }
 
         String suffix = "." + rootDomain;
         if (!hostname.endsWith(suffix)) {
             // Unknown root domain (custom domain, preview deploy, etc.).
             // Treat as platform so the SPA still renders something usable.
-            return ResponseEntity.ok(platform());
+            return new Visitor(VisitorKind.PLATFORM, null);
         }
 
         String subdomain = hostname.substring(0, hostname.length() - suffix.length());
         if (subdomain.contains(".")
                 || RESERVED_SUBDOMAINS.contains(subdomain)
                 || !SUBDOMAIN.matcher(subdomain).matches()) {
-            return ResponseEntity.ok(platform());
+            return new Visitor(VisitorKind.PLATFORM, null);
         }
 
-        var tenantOpt = tenantConfigService.findActiveBySubdomain(subdomain);
-        if (tenantOpt.isEmpty()) {
-            Map<String, Object> body = new LinkedHashMap<>();
-            body.put("error", "tenant_not_found");
-            body.put("subdomain", subdomain);
-            return ResponseEntity.status(404).body(body);
-        }
+        return tenantConfigService.findActiveBySubdomain(subdomain).isPresent()
+                ? new Visitor(VisitorKind.TENANT, subdomain)
+                : new Visitor(VisitorKind.NOT_FOUND, subdomain);
+    }
+
+    /** Tenant document the visitor payload is rendered from. */
+    private String configTenantId(Visitor visitor) {
+        return visitor.kind() == VisitorKind.TENANT ? visitor.subdomain() : rootSubdomain();
+    }
 
-        var tenant = tenantOpt.get();
+    private Map<String, Object> visitorBody(Visitor visitor) {
+        if (visitor.kind() != VisitorKind.TENANT) {
+            return platform();
+        }
         Map<String, Object> body = new LinkedHashMap<>();
         body.put("kind", "tenant");
+        body.put("subdomain", visitor.subdomain());
+        tenantConfigService.findActiveBySubdomain(visitor.subdomain())
+                .ifPresent(tenant -> applyTenantConfig(body, tenant, visitor.subdomain()));
+        return body;
+    }
+
+    private static Map<String, Object> notFound(String subdomain) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("error", "tenant_not_found");
         body.put("subdomain", subdomain);
-        applyTenantConfig(body, tenant, subdomain);
-        return ResponseEntity.ok(body);
+        return body;
     }
 
     /**
@@ -228,10 +344,13 @@ public class PublicTenantController {
      * default themes.
      */
     private Optional<TenantReadModel> loadRootTenant() {
-        String rootSub = rootDomain.contains(".")
+        return tenantConfigService.findActiveBySubdomain(rootSubdomain());
+    }
+
+    private String rootSubdomain() {
+        return rootDomain.contains(".")
                 ? rootDomain.substring(0, rootDomain.indexOf('.'))
                 : rootDomain;
-        return tenantConfigService.findActiveBySubdomain(rootSub);
     }
 
     private static String firstNonBlank(String... values) {
@@ -0,0 +1,107 @@
+package org.earnlumens.mediastore.web.tenant;
+
+import org.earnlumens.mediastore.infrastructure.web.ContentScope;
+import org.earnlumens.mediastore.infrastructure.web.ContentVersionService;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Fully rendered JSON for the SPA's boot-time calls ({@code /public/tenant/visitor}
+ * and {@code /public/tenant/bootstrap}), kept per visitor context so a warm
+ * request costs a map lookup and a byte copy — no Mongo query, no map
+ * assembly, no Jackson.
+ * <p>
+ * An entry is rebuilt when any of the {@link ContentVersionService} stamps it
+ * was rendered from has moved (tenant config invalidated by admin-api, a
+ * space, franchise or catalog change) or after {@link #TTL}, which matches the
+ * {@code TenantConfigService} divergence window for edits that arrive without
+ * an invalidation call.
+ * <p>
+ * Only known contexts are cached (the platform and active tenants), so random
+ * subdomains cannot grow the map.
+ */
+@Component
+public class TenantBootstrapCache {
+
+    static final Duration TTL = Duration.ofSeconds(60);
+
+    /** A rendered response: status, JSON bytes and a strong content ETag. */
+    public record Rendered(int status, byte[] json, String etag) {}
+
+    private record Entry(Rendered rendered, List<Long> stamps, Instant expiresAt) {}
+
+    private static final ContentScope[] SCOPES = {ContentScope.CONFIG, ContentScope.CATALOG, ContentScope.FRANCHISES};
+
+    private final ObjectMapper objectMapper;
+    private final ContentVersionService contentVersionService;
+    private final Clock clock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public TenantBootstrapCache(ObjectMapper objectMapper, ContentVersionService contentVersionService) {
+        this(objectMapper, contentVersionService, Clock.systemUTC());
+    }
+
+    TenantBootstrapCache(ObjectMapper objectMapper, ContentVersionService contentVersionService, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.contentVersionService = contentVersionService;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached rendering for {@code key}, rebuilding it from
+     * {@code body} when missing or stale.
+     *
+     * @param tenantIds tenants whose CONFIG, CATALOG and FRANCHISES stamps the
+     *                  body depends on
+     */
+    public Rendered get(String key, List<String> tenantIds, Supplier<Map<String, Object>> body) {
+        Instant now = clock.instant();
+        List<Long> stamps = stamps(tenantIds);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt().isAfter(now) && entry.stamps().equals(stamps)) {
+            return entry.rendered();
+        }
+        Rendered rendered = render(200, body.get());
+        entries.put(key, new Entry(rendered, stamps, now.plus(TTL)));
+        return rendered;
+    }
+
+    /** Renders without caching (used for contexts that must not occupy the map). */
+    public Rendered render(int status, Map<String, Object> body) {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        return new Rendered(status, json, etag(json));
+    }
+
+    private List<Long> stamps(List<String> tenantIds) {
+        Long[] stamps = new Long[tenantIds.size() * SCOPES.length];
+        int i = 0;
+        for (String tenantId : tenantIds) {
+            for (ContentScope scope : SCOPES) {
+                OptionalLong version = contentVersionService.current(tenantId, scope);
+                stamps[i++] = version.isPresent() ? version.getAsLong() : -1L;
+            }
+        }
+        return List.of(stamps);
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -3,9 +3,11 @@ package org.earnlumens.mediastore.web.user;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.earnlumens.mediastore.application.user.UserBadgeService;
+import org.earnlumens.mediastore.application.user.UserProfileCache;
+import org.earnlumens.mediastore.application.user.UserProfileSnapshot;
 import org.earnlumens.mediastore.application.user.UserService;
+import org.earnlumens.mediastore.application.user.UserSummary;
 import org.earnlumens.mediastore.domain.user.dto.request.UpdateContentLanguagePreferencesRequest;
-import org.earnlumens.mediastore.domain.user.model.User;
 import org.earnlumens.mediastore.infrastructure.security.jwt.JwtUtils;
 import org.earnlumens.mediastore.infrastructure.tenant.TenantResolver;
 import org.springframework.http.ResponseEntity;
@@ -21,7 +23,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -30,13 +31,15 @@ public class UserController {
 
     private final UserService userService;
     private final UserBadgeService userBadgeService;
+    private final UserProfileCache profileCache;
     private final TenantResolver tenantResolver;
     private final JwtUtils jwtUtils;
 
     public UserController(UserService userService, UserBadgeService userBadgeService,
-                          TenantResolver tenantResolver, JwtUtils jwtUtils) {
+                          UserProfileCache profileCache, TenantResolver tenantResolver, JwtUtils jwtUtils) {
         this.userService = userService;
         this.userBadgeService = userBadgeService;
+        this.profileCache = profileCache;
         this.tenantResolver = tenantResolver;
         this.jwtUtils = jwtUtils;
     }
@@ -54,22 +57,25 @@ public class UserController {
         Object idAttr = oauth2User.getAttribute("id");
         if (idAttr != null) {
             String oauthUserId = idAttr.toString();
-            userBadgeService.getActiveBadgeKey(tenantId, oauthUserId)
-                    .ifPresent(badge -> response.put("profileBadge", badge));
-            // Inject persisted content-language preferences (Phase 4).
-            userService.findByOauthUserId(oauthUserId)
-                    .ifPresent(user -> {
-                        response.put("contentLanguagePreferences", toPreferencesMap(user));
-                        // Self-status disclosure: a user must always be able
-                        // to see their own sanction state. Only populated when
-                        // the user has an active warning, strike count or ban
-                        // window so we do not bloat the response for the 99%
-                        // case of clean accounts.
-                        Map<String, Object> sanction = toSelfSanctionMap(user);
-                        if (!sanction.isEmpty()) {
-                            response.put("sanctionStatus", sanction);
-                        }
-                    });
+            // Badge, content-language preferences (Phase 4) and sanction state,
+            // from UserProfileCache in the steady state.
+            UserProfileSnapshot profile = profileCache.get(tenantId, oauthUserId, () -> UserProfileSnapshot.of(
+                    userBadgeService.getActiveBadgeKey(tenantId, oauthUserId).orElse(null),
+                    userService.findByOauthUserId(oauthUserId).orElse(null)));
+            if (profile.profileBadge() != null) {
+                response.put("profileBadge", profile.profileBadge());
+            }
+            if (profile.contentLanguagePreferences() != null) {
+                response.put("contentLanguagePreferences", profile.contentLanguagePreferences());
+                // Self-status disclosure: a user must always be able
+                // to see their own sanction state. Only populated when
+                // the user has an active warning, strike count or ban
+                // window so we do not bloat the response for the 99%
+                // case of clean accounts.
+                if (!profile.sanctionStatus().isEmpty()) {
+                    response.put("sanctionStatus", profile.sanctionStatus());
+                }
+            }
         }
 
         return ResponseEntity.ok(response);
@@ -95,7 +101,7 @@ public class UserController {
 
         return userService.updateContentLanguagePreferences(idAttr.toString(), request)
                 .<ResponseEntity<?>>map(user -> {
-                    Map<String, Object> body = toPreferencesMap(user);
+                    Map<String, Object> body = UserProfileSnapshot.preferencesOf(user);
                     // Language prefs live as access-token claims (P1-1), so a
                     // stale token would keep filtering feeds by the OLD prefs
                     // until it expires. Mint a fresh token carrying the new
@@ -114,10 +120,10 @@ public class UserController {
         }
 
         String tenantId = tenantResolver.resolve(httpRequest);
-        return userService.findByUsername(username)
+        return userService.findSummaryByUsername(username)
                 .<ResponseEntity<?>>map(user -> {
                     Map<String, Object> response = toResponse(user);
-                    userBadgeService.getActiveBadgeKey(tenantId, user.getOauthUserId())
+                    userBadgeService.getActiveBadgeKey(tenantId, user.oauthUserId())
                             .ifPresent(badge -> response.put("profileBadge", badge));
                     return ResponseEntity.ok(response);
                 })
@@ -134,15 +140,15 @@ public class UserController {
         return ResponseEntity.ok(Map.of("username", username, "exists", exists));
     }
 
-    private Map<String, Object> toResponse(User user) {
+    private Map<String, Object> toResponse(UserSummary user) {
         Map<String, Object> response = new LinkedHashMap<>();
         // Expose the OAuth provider ID (same identifier used by JWT / extractUserId everywhere)
         // rather than the internal MongoDB _id, so subscription and other features stay consistent.
-        response.put("id", user.getOauthUserId());
-        response.put("username", user.getUsername());
-        response.put("displayName", user.getDisplayName());
-        response.put("profileImageUrl", user.getProfileImageUrl());
-        response.put("followersCount", user.getFollowersCount());
+        response.put("id", user.oauthUserId());
+        response.put("username", user.username());
+        response.put("displayName", user.displayName());
+        response.put("profileImageUrl", user.profileImageUrl());
+        response.put("followersCount", user.followersCount());
         return response;
     }
 
@@ -158,46 +164,4 @@ public class UserController {
         response.put("oauthProvider", attributes.get("oauth_provider"));
         return response;
     }
-
-    /**
-     * Serialize content-language preferences with safe defaults so the UI
-     * always receives a fully-populated object (never null fields).
-     */
-    private Map<String, Object> toPreferencesMap(User user) {
-        Map<String, Object> prefs = new LinkedHashMap<>();
-        List<String> langs = user.getContentLanguages();
-        prefs.put("contentLanguages", langs != null ? langs : List.of());
-        prefs.put("includeMulti", user.getIncludeMulti() == null ? Boolean.TRUE : user.getIncludeMulti());
-        prefs.put("showAllLanguages", user.getShowAllLanguages() == null ? Boolean.FALSE : user.getShowAllLanguages());
-        return prefs;
-    }
-
-    /**
-     * Self-disclosure of moderation status. Returned to the user under
-     * {@code sanctionStatus} on {@code GET /api/user/me} so the storefront
-     * can render a banner explaining what is going on. Empty when the user
-     * has no warnings, strikes or active ban.
-     *
-     * <p>Intentionally omits the moderator's identity ({@code banIssuedBy}):
-     * the affected user sees the platform decision, not who personally
-     * pressed the button.
-     */
-    private Map<String, Object> toSelfSanctionMap(User user) {
-        Map<String, Object> out = new LinkedHashMap<>();
-        if (user.isBlocked()) {
-            out.put("blocked", true);
-            out.put("banType", user.getBanType() != null ? user.getBanType() : "PERMA_BAN");
-            if (user.getBanReason() != null) out.put("reason", user.getBanReason());
-            if (user.getBanExpiresAt() != null) out.put("expiresAt", user.getBanExpiresAt().toString());
-            if (user.getBlockedAt() != null) out.put("issuedAt", user.getBlockedAt().toString());
-        }
-        Integer strikes = user.getStrikeCount();
-        if (strikes != null && strikes > 0) {
-            out.put("strikeCount", strikes);
-            if (user.getLastStrikeAt() != null) {
-                out.put("lastStrikeAt", user.getLastStrikeAt().toString());
-            }
-        }
-        return out;
-    }
 }
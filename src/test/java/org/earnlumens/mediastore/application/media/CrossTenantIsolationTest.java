@@ -6,6 +6,7 @@ import org.earnlumens.mediastore.domain.media.dto.response.MediaEntitlementRespo
 import org.earnlumens.mediastore.domain.media.model.Asset;
 import org.earnlumens.mediastore.domain.media.model.AssetStatus;
 import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryAccessView;
 import org.earnlumens.mediastore.domain.media.model.EntryStatus;
 import org.earnlumens.mediastore.domain.media.model.EntryType;
 import org.earnlumens.mediastore.domain.media.model.MediaKind;
@@ -88,15 +89,22 @@ class CrossTenantIsolationTest {
         world.put(key(TENANT_A, ENTRY_A), entryA);
         world.put(key(TENANT_B, ENTRY_B), entryB);
 
-        // Repository contract: findByTenantIdAndId(t, id) returns the entry
-        // ONLY when the (tenant, id) tuple exists in the world. This mirrors
-        // the real Mongo query where tenantId is part of the index.
+        // Repository contract: findByTenantIdAndId(t, id) and its projected
+        // access view return the entry ONLY when the (tenant, id) tuple exists
+        // in the world. This mirrors the real Mongo query where tenantId is
+        // part of the index.
         when(entryRepository.findByTenantIdAndId(anyString(), anyString()))
                 .thenAnswer(inv -> {
                     String t = inv.getArgument(0);
                     String id = inv.getArgument(1);
                     return Optional.ofNullable(world.get(key(t, id)));
                 });
+        when(entryRepository.findAccessViewByTenantIdAndId(anyString(), anyString()))
+                .thenAnswer(inv -> {
+                    String t = inv.getArgument(0);
+                    String id = inv.getArgument(1);
+                    return Optional.ofNullable(world.get(key(t, id))).map(EntryAccessView::of);
+                });
 
         // Asset lookup for FREE entries — return a READY full asset for each
         // tenant's own entry, nothing across tenants.
@@ -126,8 +134,6 @@ class CrossTenantIsolationTest {
                 entryRepository,
                 assetRepository,
                 mock(UserRepository.class),
-                mock(OrderRepository.class),
-                mock(org.earnlumens.mediastore.domain.media.repository.CollectionRepository.class),
                 mock(R2PresignedUrlService.class),
                 mock(org.earnlumens.mediastore.infrastructure.r2.R2StorageService.class),
                 mock(org.earnlumens.mediastore.domain.media.repository.UploadSessionRepository.class),
@@ -172,8 +178,8 @@ class CrossTenantIsolationTest {
 
         // The service must scope the lookup by tenantId: the call MUST be
         // (tenant-a, entry-b-id), never (anything, entry-b-id).
-        verify(entryRepository).findByTenantIdAndId(TENANT_A, ENTRY_B);
-        verify(entryRepository, never()).findByTenantIdAndId(eq(TENANT_B), anyString());
+        verify(entryRepository).findAccessViewByTenantIdAndId(TENANT_A, ENTRY_B);
+        verify(entryRepository, never()).findAccessViewByTenantIdAndId(eq(TENANT_B), anyString());
     }
 
     @Test
@@ -183,7 +189,7 @@ class CrossTenantIsolationTest {
         Optional<MediaEntitlementResponse> res =
                 entitlementService.checkEntitlement(TENANT_A, /* userId */ null, ENTRY_B);
         assertTrue(res.isEmpty());
-        verify(entryRepository).findByTenantIdAndId(TENANT_A, ENTRY_B);
+        verify(entryRepository).findAccessViewByTenantIdAndId(TENANT_A, ENTRY_B);
     }
 
     // ───────────────────────── cross-tenant mutations ─────────
@@ -1,12 +1,9 @@
 package org.earnlumens.mediastore.application.media;
 
 import org.earnlumens.mediastore.domain.media.dto.response.CleanupResult;
-import org.earnlumens.mediastore.domain.media.model.Asset;
-import org.earnlumens.mediastore.domain.media.model.AssetStatus;
 import org.earnlumens.mediastore.domain.media.model.Entry;
 import org.earnlumens.mediastore.domain.media.model.EntryStatus;
 import org.earnlumens.mediastore.domain.media.model.EntryType;
-import org.earnlumens.mediastore.domain.media.model.MediaKind;
 import org.earnlumens.mediastore.domain.media.model.MediaVisibility;
 import org.earnlumens.mediastore.domain.media.repository.AssetRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
@@ -14,10 +11,12 @@ import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -33,6 +32,7 @@ class DraftCleanupServiceTest {
 
     private EntryRepository entryRepository;
     private AssetRepository assetRepository;
+    private R2DeletionQueueService deletionQueueService;
     private DraftCleanupService service;
 
     @BeforeEach
@@ -45,7 +45,11 @@ class DraftCleanupServiceTest {
                 .thenReturn(Collections.emptyList());
         org.earnlumens.mediastore.infrastructure.r2.R2StorageService r2StorageService =
                 mock(org.earnlumens.mediastore.infrastructure.r2.R2StorageService.class);
-        service = new DraftCleanupService(entryRepository, assetRepository, uploadSessionRepository, r2StorageService);
+        deletionQueueService = mock(R2DeletionQueueService.class);
+        when(assetRepository.findEntryIdsWithAssetsByTenantIdAndEntryIdIn(eq(TENANT), any()))
+                .thenReturn(Set.of());
+        service = new DraftCleanupService(entryRepository, assetRepository, uploadSessionRepository,
+                r2StorageService, deletionQueueService);
         TenantContext.set(TENANT);
     }
 
@@ -67,18 +71,9 @@ class DraftCleanupServiceTest {
         return e;
     }
 
-    private Asset someAsset(String entryId) {
-        Asset a = new Asset();
-        a.setId("asset-1");
-        a.setTenantId(TENANT);
-        a.setEntryId(entryId);
-        a.setR2Key("private/media/" + entryId + "/full/file.mp4");
-        a.setContentType("video/mp4");
-        a.setFileName("file.mp4");
-        a.setFileSizeBytes(1024L);
-        a.setKind(MediaKind.FULL);
-        a.setStatus(AssetStatus.UPLOADED);
-        return a;
+    private void stubEntriesWithAssets(String... entryIds) {
+        when(assetRepository.findEntryIdsWithAssetsByTenantIdAndEntryIdIn(eq(TENANT), any()))
+                .thenReturn(Set.of(entryIds));
     }
 
     // ─── No stale drafts ──────────────────────────────────────
@@ -105,8 +100,6 @@ class DraftCleanupServiceTest {
 
         when(entryRepository.findByTenantIdAndStatusAndCreatedAtBefore(eq(TENANT), eq(EntryStatus.DRAFT), any()))
                 .thenReturn(List.of(video, image, audio));
-        when(assetRepository.findByTenantIdAndEntryId(eq(TENANT), any()))
-                .thenReturn(Collections.emptyList());
 
         CleanupResult result = service.cleanOrphanedDrafts();
 
@@ -115,6 +108,7 @@ class DraftCleanupServiceTest {
         assertEquals(1, result.byType().get("IMAGE"));
         assertEquals(1, result.byType().get("AUDIO"));
         verify(entryRepository, times(3)).deleteByTenantIdAndId(any(), any());
+        verify(assetRepository, never()).findByTenantIdAndEntryId(any(), any());
     }
 
     // ─── Draft with assets → NOT deleted ──────────────────────
@@ -125,14 +119,14 @@ class DraftCleanupServiceTest {
 
         when(entryRepository.findByTenantIdAndStatusAndCreatedAtBefore(eq(TENANT), eq(EntryStatus.DRAFT), any()))
                 .thenReturn(List.of(entry));
-        when(assetRepository.findByTenantIdAndEntryId(TENANT, "entry-1"))
-                .thenReturn(List.of(someAsset("entry-1")));
+        stubEntriesWithAssets("entry-1");
 
         CleanupResult result = service.cleanOrphanedDrafts();
 
         assertEquals(0, result.deletedCount());
         assertTrue(result.byType().isEmpty());
         verify(entryRepository, never()).deleteByTenantIdAndId(any(), any());
+        verify(deletionQueueService).enqueue(TENANT, List.of());
     }
 
     // ─── Mixed: some with assets, some without ────────────────
@@ -144,10 +138,7 @@ class DraftCleanupServiceTest {
 
         when(entryRepository.findByTenantIdAndStatusAndCreatedAtBefore(eq(TENANT), eq(EntryStatus.DRAFT), any()))
                 .thenReturn(List.of(orphan, withAsset));
-        when(assetRepository.findByTenantIdAndEntryId(TENANT, "entry-1"))
-                .thenReturn(Collections.emptyList());
-        when(assetRepository.findByTenantIdAndEntryId(TENANT, "entry-2"))
-                .thenReturn(List.of(someAsset("entry-2")));
+        stubEntriesWithAssets("entry-2");
 
         CleanupResult result = service.cleanOrphanedDrafts();
 
@@ -158,6 +149,23 @@ class DraftCleanupServiceTest {
         verify(entryRepository, never()).deleteByTenantIdAndId(eq(TENANT), eq("entry-2"));
     }
 
+    // ─── R2 prefixes queued durably before entries are deleted ─
+
+    @Test
+    void orphanedDraft_queuesBothPrefixesBeforeDeletingEntry() {
+        Entry orphan = orphanedDraft("entry-1", EntryType.VIDEO);
+
+        when(entryRepository.findByTenantIdAndStatusAndCreatedAtBefore(eq(TENANT), eq(EntryStatus.DRAFT), any()))
+                .thenReturn(List.of(orphan));
+
+        service.cleanOrphanedDrafts();
+
+        InOrder order = inOrder(deletionQueueService, entryRepository);
+        order.verify(deletionQueueService).enqueue(TENANT,
+                List.of("private/media/entry-1/", "public/media/entry-1/"));
+        order.verify(entryRepository).deleteByTenantIdAndId(TENANT, "entry-1");
+    }
+
     // ─── Multiple orphans of same type → count aggregated ─────
 
     @Test
@@ -168,8 +176,6 @@ class DraftCleanupServiceTest {
 
         when(entryRepository.findByTenantIdAndStatusAndCreatedAtBefore(eq(TENANT), eq(EntryStatus.DRAFT), any()))
                 .thenReturn(List.of(img1, img2, img3));
-        when(assetRepository.findByTenantIdAndEntryId(eq(TENANT), any()))
-                .thenReturn(Collections.emptyList());
 
         CleanupResult result = service.cleanOrphanedDrafts();
 
@@ -20,7 +20,6 @@ import org.earnlumens.mediastore.domain.media.model.TranscodingJob;
 import org.earnlumens.mediastore.domain.media.model.UploadSession;
 import org.earnlumens.mediastore.domain.media.repository.AssetRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
-import org.earnlumens.mediastore.domain.media.repository.OrderRepository;
 import org.earnlumens.mediastore.domain.media.repository.UploadSessionRepository;
 import org.earnlumens.mediastore.domain.user.repository.UserRepository;
 import org.earnlumens.mediastore.application.user.UserBadgeService;
@@ -54,7 +53,6 @@ class EntryUploadServiceTest {
     private EntryRepository entryRepository;
     private AssetRepository assetRepository;
     private UserRepository userRepository;
-    private OrderRepository orderRepository;
     private R2PresignedUrlService r2PresignedUrlService;
     private R2StorageService r2StorageService;
     private UploadSessionRepository uploadSessionRepository;
@@ -71,7 +69,6 @@ class EntryUploadServiceTest {
         entryRepository = mock(EntryRepository.class);
         assetRepository = mock(AssetRepository.class);
         userRepository = mock(UserRepository.class);
-        orderRepository = mock(OrderRepository.class);
         r2PresignedUrlService = mock(R2PresignedUrlService.class);
         r2StorageService = mock(R2StorageService.class);
         uploadSessionRepository = mock(UploadSessionRepository.class);
@@ -86,7 +83,7 @@ class EntryUploadServiceTest {
         platformConfig.setFeePercent(new BigDecimal("10.00"));
         stellarTransactionService = mock(org.earnlumens.mediastore.application.payment.StellarTransactionService.class);
         when(stellarTransactionService.isAccountActive(any())).thenReturn(true);
-        service = new EntryUploadService(entryRepository, assetRepository, userRepository, orderRepository, mock(org.earnlumens.mediastore.domain.media.repository.CollectionRepository.class), r2PresignedUrlService, r2StorageService, uploadSessionRepository, platformConfig, transcodingJobService, moderationJobService, userBadgeService, spaceValidationService, stellarTransactionService, 20, 10);
+        service = new EntryUploadService(entryRepository, assetRepository, userRepository, r2PresignedUrlService, r2StorageService, uploadSessionRepository, platformConfig, transcodingJobService, moderationJobService, userBadgeService, spaceValidationService, stellarTransactionService, 20, 10);
         when(userRepository.findAllById(any())).thenReturn(java.util.List.of());
         when(transcodingJobService.getMaxRetries()).thenReturn(3);
         when(transcodingJobService.createJob(any(TranscodingJob.class)))
@@ -256,6 +253,107 @@ class EntryUploadServiceTest {
         assertTrue(result.get().r2Key().contains("/thumbnail/"));
     }
 
+    // ─── multipart: windowed part URLs ─────────────────────────
+
+    @Test
+    void initUpload_multipart_presignsOnlyFirstWindow() {
+        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(draftEntry()));
+        when(r2StorageService.createMultipartUpload(anyString(), eq("video/mp4"))).thenReturn("s3-up-1");
+        when(r2PresignedUrlService.generatePresignedUploadPartUrls(anyString(), eq("s3-up-1"), eq(1), anyInt()))
+                .thenAnswer(inv -> java.util.Collections.nCopies(inv.getArgument(3), "https://r2.example.com/part"));
+
+        long fourGb = 4L * 1024 * 1024 * 1024;
+        InitUploadRequest request = new InitUploadRequest(
+                ENTRY_ID, "video.mp4", "video/mp4", "FULL", fourGb);
+
+        InitUploadResponse resp = service.initUpload(TENANT, USER_ID, request).orElseThrow();
+
+        assertTrue(resp.multipart());
+        assertEquals(256, resp.totalParts());
+        assertEquals(EntryUploadService.PART_SIZE_BYTES, resp.partSizeBytes());
+        assertEquals(EntryUploadService.PART_URL_WINDOW, resp.partUrls().size());
+        verify(r2PresignedUrlService).generatePresignedUploadPartUrls(
+                anyString(), eq("s3-up-1"), eq(1), eq(EntryUploadService.PART_URL_WINDOW));
+        verify(uploadSessionRepository).save(argThat((UploadSession s) ->
+                s.getTotalParts() == 256 && s.getPartSizeBytes() == EntryUploadService.PART_SIZE_BYTES));
+    }
+
+    @Test
+    void partSizeFor_doublesUntilPartCountFits() {
+        long mb = 1024L * 1024;
+        long gb = 1024L * mb;
+        assertEquals(16 * mb, EntryUploadService.partSizeFor(64 * mb));
+        assertEquals(16 * mb, EntryUploadService.partSizeFor(5 * gb));
+        assertEquals(16 * mb, EntryUploadService.partSizeFor(1000 * 16 * mb));
+        assertEquals(32 * mb, EntryUploadService.partSizeFor(1000 * 16 * mb + 1));
+        assertEquals(64 * mb, EntryUploadService.partSizeFor(50 * gb));
+    }
+
+    @Test
+    void uploadConfig_reportsThePartSizeUsedForTheGivenFile() {
+        long gb = 1024L * 1024 * 1024;
+
+        assertEquals(EntryUploadService.PART_SIZE_BYTES, service.getUploadConfig(null).get("partSizeBytes"));
+        assertEquals(EntryUploadService.partSizeFor(50 * gb), service.getUploadConfig(50 * gb).get("partSizeBytes"));
+        assertEquals(EntryUploadService.PART_SIZE_BYTES, service.getUploadConfig(50 * gb).get("minPartSizeBytes"));
+    }
+
+    @Test
+    void generatePartUrlWindow_clipsToLastPart() {
+        stubMultipartSession(40);
+        when(r2PresignedUrlService.generatePresignedUploadPartUrls("private/media/k", "s3-up-1", 33, 8))
+                .thenReturn(java.util.Collections.nCopies(8, "https://r2.example.com/part"));
+
+        var window = service.generatePartUrlWindow(TENANT, USER_ID, "up-1", 33, 32).orElseThrow();
+
+        assertEquals(33, window.firstPart());
+        assertEquals(40, window.totalParts());
+        assertEquals(8, window.partUrls().size());
+    }
+
+    @Test
+    void generatePartUrlWindow_capsCountAtWindow() {
+        stubMultipartSession(500);
+        when(r2PresignedUrlService.generatePresignedUploadPartUrls(anyString(), anyString(), anyInt(), anyInt()))
+                .thenReturn(java.util.List.of());
+
+        service.generatePartUrlWindow(TENANT, USER_ID, "up-1", 1, 10_000);
+
+        verify(r2PresignedUrlService).generatePresignedUploadPartUrls(
+                "private/media/k", "s3-up-1", 1, EntryUploadService.PART_URL_WINDOW);
+    }
+
+    @Test
+    void generatePartUrlWindow_outOfRange_throws() {
+        stubMultipartSession(40);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> service.generatePartUrlWindow(TENANT, USER_ID, "up-1", 41, 1));
+        assertEquals("INVALID_PART_NUMBER", ex.getMessage());
+        verifyNoInteractions(r2PresignedUrlService);
+    }
+
+    @Test
+    void generatePartUrlWindow_nonOwner_returnsEmpty() {
+        stubMultipartSession(40);
+
+        assertTrue(service.generatePartUrlWindow(TENANT, OTHER_USER, "up-1", 1, 8).isEmpty());
+        verifyNoInteractions(r2PresignedUrlService);
+    }
+
+    private void stubMultipartSession(int totalParts) {
+        UploadSession s = new UploadSession();
+        s.setId("up-1");
+        s.setTenantId(TENANT);
+        s.setUserId(USER_ID);
+        s.setR2Key("private/media/k");
+        s.setMultipart(true);
+        s.setS3UploadId("s3-up-1");
+        s.setTotalParts(totalParts);
+        when(uploadSessionRepository.findByIdAndTenantId("up-1", TENANT)).thenReturn(Optional.of(s));
+    }
+
     // ─── finalizeUpload ────────────────────────────────────────
 
     @Test
@@ -129,8 +129,8 @@ class MediaEntitlementServiceTest {
 
     @Test
     void owner_isAlwaysAllowed_withoutEntitlement() {
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(paidEntry()));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(paidEntry())));
         configureFullAsset();
 
         Optional<MediaEntitlementResponse> result =
@@ -148,8 +148,8 @@ class MediaEntitlementServiceTest {
 
     @Test
     void buyer_withActiveEntitlement_isAllowed() {
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(paidEntry()));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(paidEntry())));
         stubActivePurchaseEntitlement(BUYER_ID);
         configureFullAsset();
 
@@ -168,8 +168,8 @@ class MediaEntitlementServiceTest {
 
     @Test
     void buyer_withNonActiveEntitlement_isDenied() {
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(paidEntry()));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(paidEntry())));
 
         Optional<MediaEntitlementResponse> result =
                 service.checkEntitlement(TENANT, BUYER_ID, ENTRY_ID);
@@ -187,8 +187,8 @@ class MediaEntitlementServiceTest {
         Entry publicEntry = paidEntry();
         publicEntry.setVisibility(MediaVisibility.PUBLIC);
 
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(publicEntry));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(publicEntry)));
 
         Optional<MediaEntitlementResponse> result =
                 service.checkEntitlement(TENANT, STRANGER_ID, ENTRY_ID);
@@ -200,8 +200,8 @@ class MediaEntitlementServiceTest {
 
     @Test
     void stranger_withoutEntitlement_isDenied() {
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(paidEntry()));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(paidEntry())));
 
         Optional<MediaEntitlementResponse> result =
                 service.checkEntitlement(TENANT, STRANGER_ID, ENTRY_ID);
@@ -217,7 +217,7 @@ class MediaEntitlementServiceTest {
     @Test
     void tenantMismatch_entryNotFound_isDenied() {
         String otherTenant = "other-tenant";
-        when(entryRepository.findByTenantIdAndId(otherTenant, ENTRY_ID))
+        when(entryRepository.findAccessViewByTenantIdAndId(otherTenant, ENTRY_ID))
                 .thenReturn(Optional.empty());
 
         Optional<MediaEntitlementResponse> result =
@@ -231,7 +231,7 @@ class MediaEntitlementServiceTest {
 
     @Test
     void nonExistentEntry_isDenied() {
-        when(entryRepository.findByTenantIdAndId(TENANT, "no-such-entry"))
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, "no-such-entry"))
                 .thenReturn(Optional.empty());
 
         Optional<MediaEntitlementResponse> result =
@@ -245,8 +245,8 @@ class MediaEntitlementServiceTest {
 
     @Test
     void videoAsset_hasInlineDisposition() {
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(paidEntry()));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(paidEntry())));
         configureFullAsset();
 
         MediaEntitlementResponse resp = service.checkEntitlement(TENANT, OWNER_ID, ENTRY_ID).orElseThrow();
@@ -261,8 +261,8 @@ class MediaEntitlementServiceTest {
         zipAsset.setContentType("application/zip");
         zipAsset.setFileName("archive.zip");
 
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(paidEntry()));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(paidEntry())));
         when(assetRepository.findByTenantIdAndEntryIdAndKindAndStatus(
                 TENANT, ENTRY_ID, MediaKind.FULL, AssetStatus.READY))
                 .thenReturn(Optional.of(zipAsset));
@@ -277,8 +277,8 @@ class MediaEntitlementServiceTest {
 
     @Test
     void owner_allowed_butNoReadyAsset_returnsEmpty() {
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(paidEntry()));   // VIDEO type
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(paidEntry())));   // VIDEO type
         when(assetRepository.findByTenantIdAndEntryIdAndKindAndStatus(
                 TENANT, ENTRY_ID, MediaKind.FULL, AssetStatus.READY))
                 .thenReturn(Optional.empty());
@@ -296,8 +296,8 @@ class MediaEntitlementServiceTest {
         Entry resource = paidEntry();
         resource.setType(EntryType.RESOURCE);
 
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(resource));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(resource)));
         when(assetRepository.findByTenantIdAndEntryIdAndKindAndStatus(
                 TENANT, ENTRY_ID, MediaKind.FULL, AssetStatus.READY))
                 .thenReturn(Optional.empty());
@@ -316,8 +316,8 @@ class MediaEntitlementServiceTest {
         Entry resource = paidEntry();
         resource.setType(EntryType.RESOURCE);
 
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(resource));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(resource)));
         stubActivePurchaseEntitlement(BUYER_ID);
         when(assetRepository.findByTenantIdAndEntryIdAndKindAndStatus(
                 TENANT, ENTRY_ID, MediaKind.FULL, AssetStatus.READY))
@@ -336,8 +336,8 @@ class MediaEntitlementServiceTest {
         Entry resource = paidEntry();
         resource.setType(EntryType.RESOURCE);
 
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(resource));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(resource)));
 
         Optional<MediaEntitlementResponse> result =
                 service.checkEntitlement(TENANT, STRANGER_ID, ENTRY_ID);
@@ -349,8 +349,8 @@ class MediaEntitlementServiceTest {
 
     @Test
     void freeContent_isAccessibleToStranger_withoutEntitlement() {
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(freeEntry()));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(freeEntry())));
         configureFullAsset();
 
         Optional<MediaEntitlementResponse> result =
@@ -364,8 +364,8 @@ class MediaEntitlementServiceTest {
 
     @Test
     void freeContent_isAccessibleToOwner() {
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(freeEntry()));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(freeEntry())));
         configureFullAsset();
 
         Optional<MediaEntitlementResponse> result =
@@ -380,8 +380,8 @@ class MediaEntitlementServiceTest {
 
     @Test
     void unauthenticated_canAccessFreeContent() {
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(freeEntry()));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(freeEntry())));
         configureFullAsset();
 
         Optional<MediaEntitlementResponse> result =
@@ -394,8 +394,8 @@ class MediaEntitlementServiceTest {
 
     @Test
     void unauthenticated_isDenied_forPaidContent() {
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID))
-                .thenReturn(Optional.of(paidEntry()));
+        when(entryRepository.findAccessViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryAccessView.of(paidEntry())));
 
         Optional<MediaEntitlementResponse> result =
                 service.checkEntitlement(TENANT, null, ENTRY_ID);
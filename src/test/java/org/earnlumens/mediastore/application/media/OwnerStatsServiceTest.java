@@ -0,0 +1,202 @@
+package org.earnlumens.mediastore.application.media;
+
+import org.earnlumens.mediastore.domain.media.dto.response.OwnerStatsResponse;
+import org.earnlumens.mediastore.domain.media.model.OrderStatus;
+import org.earnlumens.mediastore.domain.media.model.OwnerStats;
+import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.domain.media.repository.OrderRepository;
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link OwnerStatsService}: point reads, build-on-miss,
+ * versioned reconciliation, and the {@link OwnerStats} status deltas applied
+ * by the persistence adapters.
+ */
+class OwnerStatsServiceTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final String USER = "creator-1";
+
+    private OwnerStatsRepository ownerStatsRepository;
+    private EntryRepository entryRepository;
+    private CollectionRepository collectionRepository;
+    private OrderRepository orderRepository;
+    private OwnerStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        ownerStatsRepository = mock(OwnerStatsRepository.class);
+        entryRepository = mock(EntryRepository.class);
+        collectionRepository = mock(CollectionRepository.class);
+        orderRepository = mock(OrderRepository.class);
+        service = new OwnerStatsService(ownerStatsRepository, entryRepository, collectionRepository,
+                orderRepository, 100, 6);
+    }
+
+    private void stubSource(long published, long drafts, long views, long collections, long sales) {
+        Map<String, Long> entries = new HashMap<>();
+        entries.put("totalEntries", published + drafts);
+        entries.put("totalViews", views);
+        entries.put("PUBLISHED", published);
+        entries.put("DRAFT", drafts);
+        when(entryRepository.getOwnerStats(TENANT, USER)).thenReturn(entries);
+        when(collectionRepository.countByTenantIdAndUserIdGroupByStatus(TENANT, USER))
+                .thenReturn(Map.of("PUBLISHED", collections));
+        when(orderRepository.countByTenantIdAndSellerIdAndStatus(TENANT, USER, OrderStatus.COMPLETED))
+                .thenReturn(sales);
+    }
+
+    private static OwnerStats stored(long published, long views, long version) {
+        OwnerStats s = new OwnerStats();
+        s.setTenantId(TENANT);
+        s.setUserId(USER);
+        s.setEntries(new HashMap<>(Map.of("PUBLISHED", published)));
+        s.setTotalEntries(published);
+        s.setTotalViews(views);
+        s.setVersion(version);
+        s.setReconciledAt(LocalDateTime.of(2026, 1, 1, 0, 0));
+        return s;
+    }
+
+    // ─── Point read ───
+
+    @Nested
+    class GetStats {
+
+        @Test
+        void hit_isASinglePointRead() {
+            when(ownerStatsRepository.findByTenantIdAndUserId(TENANT, USER))
+                    .thenReturn(Optional.of(stored(4, 120, 9)));
+
+            OwnerStatsResponse stats = service.getStats(TENANT, USER);
+
+            assertEquals(4, stats.totalEntries());
+            assertEquals(4, stats.published());
+            assertEquals(0, stats.drafts());
+            assertEquals(120, stats.totalViews());
+            verifyNoInteractions(entryRepository, collectionRepository, orderRepository);
+        }
+
+        @Test
+        void miss_buildsFromSourceAndInsertsOnce() {
+            when(ownerStatsRepository.findByTenantIdAndUserId(TENANT, USER)).thenReturn(Optional.empty());
+            stubSource(2, 3, 50, 1, 7);
+
+            OwnerStatsResponse stats = service.getStats(TENANT, USER);
+
+            assertEquals(5, stats.totalEntries());
+            assertEquals(3, stats.drafts());
+            assertEquals(50, stats.totalViews());
+            assertEquals(7, stats.totalSales());
+            assertEquals(1, stats.totalCollections());
+            assertEquals(1, stats.publishedCollections());
+
+            ArgumentCaptor<OwnerStats> captor = ArgumentCaptor.forClass(OwnerStats.class);
+            verify(ownerStatsRepository).replaceByTenantIdAndUserId(eq(TENANT), eq(USER), captor.capture(), isNull());
+            assertFalse(captor.getValue().getEntries().containsKey("totalEntries"),
+                    "totals must not leak into the per-status map");
+            assertNotNull(captor.getValue().getReconciledAt());
+        }
+    }
+
+    // ─── Reconciliation ───
+
+    @Nested
+    class Reconcile {
+
+        @Test
+        void rebuildsStaleDocuments_withTheirStoredVersion_andCountsDrift() {
+            when(ownerStatsRepository.findByReconciledAtBefore(any(), eq(100)))
+                    .thenReturn(List.of(stored(2, 40, 11)));
+            stubSource(2, 0, 45, 0, 0);
+            when(ownerStatsRepository.replaceByTenantIdAndUserId(eq(TENANT), eq(USER), any(), eq(11L)))
+                    .thenReturn(true);
+
+            assertEquals(1, service.reconcile(), "views drifted 40 → 45");
+        }
+
+        @Test
+        void inSyncDocument_isRestampedButNotCountedAsDrift() {
+            when(ownerStatsRepository.findByReconciledAtBefore(any(), anyInt()))
+                    .thenReturn(List.of(stored(2, 40, 3)));
+            stubSource(2, 0, 40, 0, 0);
+            when(ownerStatsRepository.replaceByTenantIdAndUserId(any(), any(), any(), any())).thenReturn(true);
+
+            assertEquals(0, service.reconcile());
+            verify(ownerStatsRepository).replaceByTenantIdAndUserId(eq(TENANT), eq(USER), any(), eq(3L));
+        }
+
+        @Test
+        void concurrentIncrement_skipsTheDocument() {
+            when(ownerStatsRepository.findByReconciledAtBefore(any(), anyInt()))
+                    .thenReturn(List.of(stored(2, 40, 3)));
+            stubSource(9, 9, 999, 0, 0);
+            when(ownerStatsRepository.replaceByTenantIdAndUserId(any(), any(), any(), any())).thenReturn(false);
+
+            assertEquals(0, service.reconcile());
+        }
+
+        @Test
+        void oneFailingOwner_doesNotStopTheBatch() {
+            OwnerStats other = stored(1, 0, 1);
+            other.setUserId("creator-2");
+            when(ownerStatsRepository.findByReconciledAtBefore(any(), anyInt()))
+                    .thenReturn(List.of(stored(2, 40, 3), other));
+            when(entryRepository.getOwnerStats(TENANT, USER)).thenThrow(new RuntimeException("timeout"));
+            when(entryRepository.getOwnerStats(TENANT, "creator-2")).thenReturn(Map.of("totalEntries", 1L, "PUBLISHED", 1L));
+            when(collectionRepository.countByTenantIdAndUserIdGroupByStatus(any(), any())).thenReturn(Map.of());
+            when(ownerStatsRepository.replaceByTenantIdAndUserId(any(), any(), any(), any())).thenReturn(true);
+
+            service.reconcile();
+
+            verify(ownerStatsRepository).replaceByTenantIdAndUserId(eq(TENANT), eq("creator-2"), any(), eq(1L));
+        }
+    }
+
+    // ─── Status deltas ───
+
+    @Nested
+    class Deltas {
+
+        @Test
+        void insert_incrementsStatusAndTotal() {
+            assertEquals(Map.of("entries.DRAFT", 1L, "totalEntries", 1L), OwnerStats.entryDelta(null, "DRAFT"));
+        }
+
+        @Test
+        void transition_movesOneUnitBetweenStatuses() {
+            assertEquals(Map.of("entries.IN_REVIEW", -1L, "entries.PUBLISHED", 1L),
+                    OwnerStats.entryDelta("IN_REVIEW", "PUBLISHED"));
+        }
+
+        @Test
+        void delete_decrementsStatusAndTotal() {
+            assertEquals(Map.of("collections.PUBLISHED", -1L, "totalCollections", -1L),
+                    OwnerStats.collectionDelta("PUBLISHED", null));
+        }
+
+        @Test
+        void unchangedStatus_isEmpty() {
+            assertTrue(OwnerStats.entryDelta("DRAFT", "DRAFT").isEmpty());
+            assertTrue(OwnerStats.collectionDelta(null, null).isEmpty());
+        }
+    }
+}
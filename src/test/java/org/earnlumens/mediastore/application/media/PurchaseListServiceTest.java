@@ -0,0 +1,197 @@
+package org.earnlumens.mediastore.application.media;
+
+import org.bson.Document;
+import org.earnlumens.mediastore.domain.media.dto.response.PublicFeedPageResponse;
+import org.earnlumens.mediastore.domain.media.dto.response.PurchaseLibraryPageResponse;
+import org.earnlumens.mediastore.domain.media.dto.response.PurchasedEntryPageResponse;
+import org.earnlumens.mediastore.domain.media.model.EntitlementStatus;
+import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryType;
+import org.earnlumens.mediastore.domain.media.model.PurchaseLibraryPage;
+import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
+import org.earnlumens.mediastore.domain.media.repository.EntitlementRepository;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link PurchaseListService}: keyset library windows, the
+ * legacy offset page on top of the same aggregation, and the purchased feed.
+ */
+class PurchaseListServiceTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final String USER = "buyer-1";
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private EntitlementRepository entitlementRepository;
+    private EntryRepository entryRepository;
+    private CollectionRepository collectionRepository;
+    private PurchaseListService service;
+
+    @BeforeEach
+    void setUp() {
+        entitlementRepository = mock(EntitlementRepository.class);
+        entryRepository = mock(EntryRepository.class);
+        collectionRepository = mock(CollectionRepository.class);
+        service = new PurchaseListService(entitlementRepository, entryRepository, collectionRepository);
+    }
+
+    private static PurchaseLibraryPage.Item item(String id, LocalDateTime grantedAt, boolean viaCollection) {
+        Entry entry = new Entry();
+        entry.setId(id);
+        entry.setType(EntryType.VIDEO);
+        entry.setTitle("Entry " + id);
+        return new PurchaseLibraryPage.Item(entry, grantedAt, viaCollection);
+    }
+
+    // ─── Keyset library ───
+
+    @Nested
+    class LibraryPage {
+
+        @Test
+        void firstWindow_returnsCursorOfLastEntitlement() {
+            when(entitlementRepository.findLibraryPageByTenantIdAndUserId(TENANT, USER, null, null, 0, 2))
+                    .thenReturn(new PurchaseLibraryPage(
+                            List.of(item("e1", T0, false), item("e2", T0.minusDays(1), true), item("e3", T0.minusDays(1), true)),
+                            2, T0.minusDays(1), "ent-2", true));
+
+            PurchaseLibraryPageResponse page = service.getLibraryPage(TENANT, USER, null, 2);
+
+            assertEquals(List.of("e1", "e2", "e3"), page.items().stream().map(i -> i.id()).toList());
+            assertEquals("video", page.items().get(0).type());
+            PurchaseListService.Cursor cursor = PurchaseListService.decodeCursor(page.nextCursor());
+            assertEquals(T0.minusDays(1), cursor.grantedAt());
+            assertEquals("ent-2", cursor.id());
+        }
+
+        @Test
+        void cursor_seeksPastPreviousWindow_withoutSkip() {
+            String cursor = PurchaseListService.encodeCursor(T0, "ent-9");
+            when(entitlementRepository.findLibraryPageByTenantIdAndUserId(TENANT, USER, T0, "ent-9", 0, 24))
+                    .thenReturn(new PurchaseLibraryPage(List.of(item("e5", T0.minusHours(1), false)),
+                            1, T0.minusHours(1), "ent-10", false));
+
+            PurchaseLibraryPageResponse page = service.getLibraryPage(TENANT, USER, cursor, 24);
+
+            assertEquals(1, page.items().size());
+            assertNull(page.nextCursor(), "last window has no cursor");
+            verifyNoInteractions(entryRepository, collectionRepository);
+            verify(entitlementRepository, never()).countByTenantIdAndUserIdAndStatus(any(), any(), any());
+        }
+
+        @Test
+        void windowThatExpandsToNothing_stillAdvancesTheCursor() {
+            when(entitlementRepository.findLibraryPageByTenantIdAndUserId(any(), any(), isNull(), isNull(), anyInt(), anyInt()))
+                    .thenReturn(new PurchaseLibraryPage(List.of(), 3, T0, "ent-3", true));
+
+            PurchaseLibraryPageResponse page = service.getLibraryPage(TENANT, USER, null, 3);
+
+            assertTrue(page.items().isEmpty());
+            assertNotNull(page.nextCursor());
+        }
+
+        @Test
+        void limit_isClamped() {
+            when(entitlementRepository.findLibraryPageByTenantIdAndUserId(any(), any(), any(), any(), anyInt(), anyInt()))
+                    .thenReturn(new PurchaseLibraryPage(List.of(), 0, null, null, false));
+
+            service.getLibraryPage(TENANT, USER, null, 10_000);
+
+            verify(entitlementRepository).findLibraryPageByTenantIdAndUserId(
+                    TENANT, USER, null, null, 0, PurchaseListService.MAX_PAGE_SIZE);
+        }
+
+        @Test
+        void malformedCursor_isRejected() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.getLibraryPage(TENANT, USER, "not-a-cursor", 24));
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.getLibraryPage(TENANT, USER,
+                            PurchaseListService.encodeCursor(T0, ""), 24));
+            verifyNoInteractions(entitlementRepository);
+        }
+    }
+
+    // ─── Offset page ───
+
+    @Nested
+    class ListPurchases {
+
+        @Test
+        void page_usesSkipAndIndexCount() {
+            when(entitlementRepository.countByTenantIdAndUserIdAndStatus(TENANT, USER, EntitlementStatus.ACTIVE))
+                    .thenReturn(50L);
+            when(entitlementRepository.findLibraryPageByTenantIdAndUserId(TENANT, USER, null, null, 24, 24))
+                    .thenReturn(new PurchaseLibraryPage(List.of(item("e1", T0, false)), 24, T0, "ent-1", true));
+
+            PurchasedEntryPageResponse page = service.listPurchases(TENANT, USER, 1, 24);
+
+            assertEquals(1, page.content().size());
+            assertEquals("2026-03-01T12:00:00", page.content().get(0).purchasedAt());
+            assertEquals(50, page.totalElements());
+            assertEquals(3, page.totalPages());
+        }
+
+        @Test
+        void pagePastTheEnd_skipsTheAggregation() {
+            when(entitlementRepository.countByTenantIdAndUserIdAndStatus(TENANT, USER, EntitlementStatus.ACTIVE))
+                    .thenReturn(10L);
+
+            PurchasedEntryPageResponse page = service.listPurchases(TENANT, USER, 5, 24);
+
+            assertTrue(page.content().isEmpty());
+            assertEquals(10, page.totalElements());
+            verify(entitlementRepository, never())
+                    .findLibraryPageByTenantIdAndUserId(any(), any(), any(), any(), anyInt(), anyInt());
+        }
+    }
+
+    // ─── Purchased feed ───
+
+    @Nested
+    class UnifiedFeed {
+
+        @Test
+        void singleAggregation_mapsDataAndCount() {
+            Document entry = new Document("_id", "e1").append("kind", "entry").append("type", "AUDIO")
+                    .append("title", "Song").append("isPaid", true);
+            Document collection = new Document("_id", "c1").append("kind", "collection").append("type", "catalog")
+                    .append("title", "Album").append("isPaid", true).append("itemCount", 12);
+            when(entryRepository.findPurchasedFeed(TENANT, USER, null, null, "newest", 0, 24))
+                    .thenReturn(new Document("data", List.of(entry, collection))
+                            .append("count", List.of(new Document("total", 2))));
+
+            PublicFeedPageResponse page = service.getUnifiedPurchases(TENANT, USER, null, null, "newest", 0, 24);
+
+            assertEquals(2, page.totalElements());
+            assertEquals(1, page.totalPages());
+            assertEquals("audio", page.content().get(0).type());
+            assertEquals(12, page.content().get(1).itemCount());
+            assertTrue(page.content().stream().allMatch(i -> !i.locked() && i.unlocked()));
+            verifyNoInteractions(entitlementRepository);
+        }
+
+        @Test
+        void emptyLibrary_isAnEmptyPage() {
+            when(entryRepository.findPurchasedFeed(any(), any(), any(), any(), any(), anyInt(), anyInt()))
+                    .thenReturn(new Document("data", List.of()).append("count", List.of()));
+
+            PublicFeedPageResponse page = service.getUnifiedPurchases(TENANT, USER, "COLLECTION", "x", "oldest", 0, 24);
+
+            assertTrue(page.content().isEmpty());
+            assertEquals(0, page.totalElements());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.earnlumens.mediastore.application.media;
+
+import org.earnlumens.mediastore.domain.media.model.R2DeletionTask;
+import org.earnlumens.mediastore.domain.media.repository.R2DeletionTaskRepository;
+import org.earnlumens.mediastore.infrastructure.r2.R2PrefixDeleter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link R2DeletionQueueService}: enqueue, per-item claims,
+ * outcome recording, exponential backoff and the max-attempts dead-letter.
+ */
+class R2DeletionQueueServiceTest {
+
+    private static final String TENANT = "earnlumens";
+
+    private R2DeletionTaskRepository taskRepository;
+    private R2PrefixDeleter prefixDeleter;
+    private R2DeletionQueueService service;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(R2DeletionTaskRepository.class);
+        prefixDeleter = mock(R2PrefixDeleter.class);
+        service = new R2DeletionQueueService(taskRepository, prefixDeleter, 50, 3);
+        when(taskRepository.claim(any(), any(), any())).thenReturn(1L);
+    }
+
+    private R2DeletionTask task(String prefix, int attempts) {
+        R2DeletionTask t = new R2DeletionTask(TENANT, prefix);
+        t.setAttempts(attempts);
+        return t;
+    }
+
+    private void stubDue(R2DeletionTask... tasks) {
+        when(taskRepository.findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtAsc(
+                eq(R2DeletionTask.Status.PENDING), any(), any()))
+                .thenReturn(List.of(tasks));
+    }
+
+    @Test
+    void enqueue_savesOnePendingTaskPerPrefix() {
+        service.enqueue(TENANT, List.of("private/media/e1/", "public/media/e1/"));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<R2DeletionTask>> captor = ArgumentCaptor.forClass(List.class);
+        verify(taskRepository).saveAll(captor.capture());
+        List<R2DeletionTask> saved = captor.getValue();
+        assertEquals(2, saved.size());
+        assertEquals(TENANT + ":private/media/e1/", saved.get(0).getId());
+        assertEquals(R2DeletionTask.Status.PENDING, saved.get(0).getStatus());
+    }
+
+    @Test
+    void enqueue_emptyIsNoop() {
+        service.enqueue(TENANT, List.of());
+
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void drain_nothingDue_doesNotCallDeleter() {
+        stubDue();
+
+        R2PrefixDeleter.Report report = service.drain();
+
+        assertEquals(0, report.objects());
+        verifyNoInteractions(prefixDeleter);
+    }
+
+    @Test
+    void drain_marksSuccessDoneAndReschedulesFailure() {
+        R2DeletionTask ok = task("private/media/ok/", 0);
+        R2DeletionTask bad = task("private/media/bad/", 0);
+        stubDue(ok, bad);
+        when(prefixDeleter.deletePrefixes(anyList())).thenReturn(new R2PrefixDeleter.Report(
+                Map.of("private/media/ok/", 1200L), Map.of("private/media/bad/", "503 SlowDown"),
+                1200, 100, 12_000));
+
+        LocalDateTime before = LocalDateTime.now();
+        service.drain();
+
+        assertEquals(R2DeletionTask.Status.DONE, ok.getStatus());
+        assertEquals(1200, ok.getObjectsDeleted());
+        assertEquals(1, ok.getAttempts());
+        assertFalse(ok.getExpiresAt().isBefore(before.plus(R2DeletionQueueService.DONE_RETENTION)));
+
+        assertEquals(R2DeletionTask.Status.PENDING, bad.getStatus());
+        assertEquals(1, bad.getAttempts());
+        assertEquals("503 SlowDown", bad.getLastError());
+        assertFalse(bad.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+        assertNull(bad.getExpiresAt());
+        verify(taskRepository).saveAll(List.of(ok, bad));
+    }
+
+    @Test
+    void drain_skipsItemsClaimedByAnotherInstance() {
+        R2DeletionTask mine = task("private/media/mine/", 0);
+        R2DeletionTask taken = task("private/media/taken/", 0);
+        stubDue(mine, taken);
+        when(taskRepository.claim(eq(taken.getId()), any(), any())).thenReturn(0L);
+        when(prefixDeleter.deletePrefixes(anyList())).thenReturn(new R2PrefixDeleter.Report(
+                Map.of("private/media/mine/", 3L), Map.of(), 3, 10, 300));
+
+        service.drain();
+
+        verify(prefixDeleter).deletePrefixes(List.of("private/media/mine/"));
+        verify(taskRepository).saveAll(List.of(mine));
+        assertEquals(0, taken.getAttempts());
+    }
+
+    @Test
+    void drain_claimsWithALeaseInTheFuture() {
+        R2DeletionTask t = task("private/media/e1/", 0);
+        stubDue(t);
+        when(prefixDeleter.deletePrefixes(anyList())).thenReturn(new R2PrefixDeleter.Report(
+                Map.of("private/media/e1/", 1L), Map.of(), 1, 10, 100));
+
+        service.drain();
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository).claim(eq(t.getId()), now.capture(), leaseUntil.capture());
+        assertEquals(R2DeletionQueueService.CLAIM_LEASE, Duration.between(now.getValue(), leaseUntil.getValue()));
+    }
+
+    @Test
+    void drain_parksTaskAsFailedAfterMaxAttempts() {
+        R2DeletionTask bad = task("private/media/bad/", 2);
+        stubDue(bad);
+        when(prefixDeleter.deletePrefixes(anyList())).thenReturn(new R2PrefixDeleter.Report(
+                Map.of(), Map.of("private/media/bad/", "AccessDenied"), 0, 10, 0));
+
+        service.drain();
+
+        assertEquals(R2DeletionTask.Status.FAILED, bad.getStatus());
+        assertEquals(3, bad.getAttempts());
+    }
+
+    @Test
+    void backoff_doublesAndCaps() {
+        assertEquals(Duration.ofSeconds(30), R2DeletionQueueService.backoff(1));
+        assertEquals(Duration.ofSeconds(60), R2DeletionQueueService.backoff(2));
+        assertEquals(Duration.ofSeconds(120), R2DeletionQueueService.backoff(3));
+        assertEquals(Duration.ofHours(1), R2DeletionQueueService.backoff(30));
+    }
+}
@@ -0,0 +1,236 @@
+package org.earnlumens.mediastore.application.media;
+
+import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryStatus;
+import org.earnlumens.mediastore.domain.media.model.ReportCounter;
+import org.earnlumens.mediastore.domain.media.model.ReportReason;
+import org.earnlumens.mediastore.domain.media.model.ReportResolution;
+import org.earnlumens.mediastore.domain.media.model.ReportSeverity;
+import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.domain.media.repository.ReportCounterRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.ReportEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.ReportMongoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ReportService} priority scoring on maintained tallies,
+ * including a brigading flood whose per-report work must not grow.
+ */
+class ReportServiceTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final String ENTRY = "entry-1";
+    private static final String CREATOR = "creator-1";
+
+    private ReportMongoRepository reportRepository;
+    private EntryRepository entryRepository;
+    private InMemoryReportCounters counters;
+    private ReportService service;
+
+    @BeforeEach
+    void setUp() {
+        reportRepository = mock(ReportMongoRepository.class);
+        entryRepository = mock(EntryRepository.class);
+        counters = new InMemoryReportCounters();
+        service = new ReportService(reportRepository, entryRepository, mock(CollectionRepository.class), counters);
+
+        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY)).thenAnswer(inv -> Optional.of(publishedEntry()));
+        when(reportRepository.save(any(ReportEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    private static Entry publishedEntry() {
+        Entry entry = new Entry();
+        entry.setId(ENTRY);
+        entry.setUserId(CREATOR);
+        entry.setStatus(EntryStatus.PUBLISHED);
+        entry.setTitle("Title");
+        return entry;
+    }
+
+    // ─── Scoring ───
+
+    @Nested
+    class Scoring {
+
+        @Test
+        void firstReport_scoresSeverityPlusNeutralReputation() {
+            int priority = service.computePriority(TENANT, ENTRY, CREATOR, "reporter-1", ReportSeverity.LOW);
+
+            assertEquals(8 + 15, priority);
+        }
+
+        @Test
+        void tallies_driveCountVelocityAndCreatorHistory() {
+            LocalDateTime now = LocalDateTime.now();
+            counters.recordReportByTenantId(TENANT, ENTRY, "r1", CREATOR, now.minusMinutes(2));
+            counters.recordReportByTenantId(TENANT, ENTRY, "r2", CREATOR, now.minusHours(3));
+            counters.recordResolutionByTenantId(TENANT, "r2", CREATOR, ReportResolution.OPEN, ReportResolution.SANCTIONED);
+
+            int priority = service.computePriority(TENANT, ENTRY, CREATOR, "reporter-new", ReportSeverity.MEDIUM);
+
+            // 18 severity + 15 neutral reporter + (2*2 + 6) creator + 2*5 count + 1*4 velocity
+            assertEquals(18 + 15 + 10 + 10 + 4, priority);
+        }
+
+        @Test
+        void dismissedReporter_losesReputation() {
+            counters.recordReportByTenantId(TENANT, "other", "abuser", "someone", LocalDateTime.now().minusDays(2));
+            counters.recordResolutionByTenantId(TENANT, "abuser", "someone", ReportResolution.OPEN, ReportResolution.DISMISSED);
+
+            int priority = service.computePriority(TENANT, ENTRY, CREATOR, "abuser", ReportSeverity.LOW);
+
+            assertEquals(8, priority, "all-dismissed reporter contributes nothing");
+        }
+    }
+
+    // ─── Resolution ───
+
+    @Nested
+    class Resolution {
+
+        @Test
+        void resolve_movesTalliesOutOfOpen() {
+            ReportEntity report = service.submitReport(TENANT, "reporter-1", "r", ENTRY, ReportReason.SPAM, null);
+            report.setId("rep-1");
+            when(reportRepository.findById("rep-1")).thenReturn(Optional.of(report));
+
+            service.resolveReport(TENANT, "rep-1", ReportResolution.REMOVED, "mod");
+
+            ReportCounter creator = counters.get(TENANT, ReportCounter.CREATOR, CREATOR);
+            assertEquals(0, creator.resolutionCount(ReportResolution.OPEN));
+            assertEquals(1, creator.resolutionCount(ReportResolution.REMOVED));
+            assertEquals("REMOVED", report.getResolution());
+            assertNotNull(report.getResolvedAt());
+        }
+
+        @Test
+        void resolve_rejectsOtherTenantsAndOpen() {
+            ReportEntity foreign = new ReportEntity();
+            foreign.setTenantId("other-tenant");
+            when(reportRepository.findById("rep-x")).thenReturn(Optional.of(foreign));
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.resolveReport(TENANT, "rep-x", ReportResolution.DISMISSED, "mod"));
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.resolveReport(TENANT, "rep-x", ReportResolution.OPEN, "mod"));
+        }
+    }
+
+    // ─── Brigading flood ───
+
+    @Nested
+    class Flood {
+
+        private static final int REPORTS = 10_000;
+
+        @Test
+        void tenThousandReportsOnOneEntry_touchAConstantNumberOfDocumentsPerReport() {
+            for (int i = 0; i < REPORTS; i++) {
+                service.submitReport(TENANT, "reporter-" + i, "user" + i, ENTRY, ReportReason.SPAM, null);
+            }
+
+            assertEquals(REPORTS, counters.get(TENANT, ReportCounter.TARGET, ENTRY).getTotal());
+
+            // One tally read of the same three counters and one tally write per
+            // submission, however many reports the entry already has.
+            assertEquals(REPORTS, counters.reads, "one tally read per submission");
+            assertEquals(3, counters.maxIdsPerRead, "target, reporter and creator counters only");
+            assertEquals(REPORTS, counters.writes, "one tally write per submission");
+
+            // Per report: duplicate check, daily limit, insert — and nothing
+            // proportional to the entry's existing reports.
+            verify(reportRepository, times(REPORTS))
+                    .existsByTenantIdAndReporterUserIdAndEntryId(anyString(), anyString(), anyString());
+            verify(reportRepository, times(REPORTS))
+                    .countByTenantIdAndReporterUserIdAndCreatedAtAfter(anyString(), anyString(), any());
+            verify(reportRepository, times(REPORTS)).save(any(ReportEntity.class));
+            verifyNoMoreInteractions(reportRepository);
+        }
+    }
+
+    /**
+     * Map-backed {@link ReportCounterRepository} with the same semantics as the
+     * Mongo adapter, so the flood exercises real tally maintenance.
+     */
+    static class InMemoryReportCounters implements ReportCounterRepository {
+
+        private final Map<String, ReportCounter> byId = new ConcurrentHashMap<>();
+        int reads;
+        int maxIdsPerRead;
+        int writes;
+
+        ReportCounter get(String tenantId, String kind, String subjectId) {
+            return byId.get(ReportCounter.idFor(tenantId, kind, subjectId));
+        }
+
+        @Override
+        public List<ReportCounter> findByTenantIdAndIdIn(String tenantId, List<String> ids) {
+            reads++;
+            maxIdsPerRead = Math.max(maxIdsPerRead, ids.size());
+            return ids.stream().map(byId::get).filter(c -> c != null && tenantId.equals(c.getTenantId())).toList();
+        }
+
+        @Override
+        public long recordReportByTenantId(String tenantId, String targetId, String reporterUserId,
+                                           String creatorUserId, LocalDateTime at) {
+            writes++;
+            filed(tenantId, ReportCounter.REPORTER, reporterUserId);
+            filed(tenantId, ReportCounter.CREATOR, creatorUserId);
+            ReportCounter target = counter(tenantId, ReportCounter.TARGET, targetId);
+            target.setTotal(target.getTotal() + 1);
+            long bucket = ReportCounter.velocityBucket(at);
+            Map<String, Long> ring = new HashMap<>();
+            target.getVelocity().forEach((k, v) -> {
+                if (Long.parseLong(k) > bucket - ReportCounter.VELOCITY_BUCKETS) ring.put(k, v);
+            });
+            ring.merge(Long.toString(bucket), 1L, Long::sum);
+            target.setVelocity(ring);
+            return target.getTotal();
+        }
+
+        @Override
+        public void recordResolutionByTenantId(String tenantId, String reporterUserId, String creatorUserId,
+                                               ReportResolution from, ReportResolution to) {
+            for (ReportCounter c : List.of(counter(tenantId, ReportCounter.REPORTER, reporterUserId),
+                    counter(tenantId, ReportCounter.CREATOR, creatorUserId))) {
+                c.getResolutions().merge(from.name(), -1L, Long::sum);
+                c.getResolutions().merge(to.name(), 1L, Long::sum);
+            }
+        }
+
+        @Override
+        public void rebuildFromReports() {}
+
+        private void filed(String tenantId, String kind, String subjectId) {
+            ReportCounter c = counter(tenantId, kind, subjectId);
+            c.setTotal(c.getTotal() + 1);
+            c.getResolutions().merge(ReportResolution.OPEN.name(), 1L, Long::sum);
+        }
+
+        private ReportCounter counter(String tenantId, String kind, String subjectId) {
+            return byId.computeIfAbsent(ReportCounter.idFor(tenantId, kind, subjectId), id -> {
+                ReportCounter c = new ReportCounter();
+                c.setId(id);
+                c.setTenantId(tenantId);
+                c.setKind(kind);
+                c.setSubjectId(subjectId);
+                return c;
+            });
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package org.earnlumens.mediastore.application.media;
+
+import org.earnlumens.mediastore.domain.media.dto.response.SellerSalesDailyResponse;
+import org.earnlumens.mediastore.domain.media.dto.response.SellerSalesPageResponse;
+import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryType;
+import org.earnlumens.mediastore.domain.media.model.Order;
+import org.earnlumens.mediastore.domain.media.model.OrderStatus;
+import org.earnlumens.mediastore.domain.media.model.PaymentSplit;
+import org.earnlumens.mediastore.domain.media.model.SellerSalesDay;
+import org.earnlumens.mediastore.domain.media.model.SplitRole;
+import org.earnlumens.mediastore.domain.media.model.TargetType;
+import org.earnlumens.mediastore.domain.media.repository.CollectionRepository;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.domain.media.repository.OrderRepository;
+import org.earnlumens.mediastore.domain.media.repository.SellerSalesDayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link SellerSalesService}: keyset paging and cursors,
+ * rollup-backed daily totals, and the chunked CSV export.
+ */
+class SellerSalesServiceTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final String SELLER = "seller-1";
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 5, 1, 12, 0, 0, 123_000_000);
+
+    private OrderRepository orderRepository;
+    private EntryRepository entryRepository;
+    private CollectionRepository collectionRepository;
+    private SellerSalesDayRepository sellerSalesDayRepository;
+    private SellerSalesService service;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        entryRepository = mock(EntryRepository.class);
+        collectionRepository = mock(CollectionRepository.class);
+        sellerSalesDayRepository = mock(SellerSalesDayRepository.class);
+        service = new SellerSalesService(orderRepository, entryRepository, collectionRepository,
+                sellerSalesDayRepository);
+        when(entryRepository.findByTenantIdAndIdIn(anyString(), anyList())).thenReturn(List.of());
+    }
+
+    private static Order sale(int i) {
+        Order o = new Order();
+        o.setId(String.format("order-%05d", i));
+        o.setTenantId(TENANT);
+        o.setSellerId(SELLER);
+        o.setTargetType(TargetType.ENTRY);
+        o.setEntryId("entry-" + (i % 3));
+        o.setStatus(OrderStatus.COMPLETED);
+        o.setAmountXlm(new BigDecimal("10.0000000"));
+        o.setCreatedAt(T0.minusMinutes(i));
+        o.setCompletedAt(T0.minusMinutes(i).plusSeconds(20));
+        o.setStellarTxHash("tx" + i);
+        o.setPaymentSplits(List.of(
+                new PaymentSplit("GSELLER", SplitRole.SELLER, new BigDecimal("90.00")),
+                new PaymentSplit("GPLATFORM", SplitRole.PLATFORM, new BigDecimal("10.00"))));
+        return o;
+    }
+
+    private static List<Order> sales(int fromInclusive, int toExclusive) {
+        return IntStream.range(fromInclusive, toExclusive).mapToObj(SellerSalesServiceTest::sale).toList();
+    }
+
+    // ─── Keyset paging ───
+
+    @Nested
+    class Paging {
+
+        @Test
+        void firstPage_fetchesOneExtraRow_andReturnsCursorOfLastItem() {
+            when(orderRepository.findPageByTenantIdAndSellerIdAndStatus(
+                    eq(TENANT), eq(SELLER), eq(OrderStatus.COMPLETED), isNull(), isNull(), eq(21)))
+                    .thenReturn(sales(0, 21));
+
+            SellerSalesPageResponse page = service.getSalesPage(TENANT, SELLER, null, 20);
+
+            assertEquals(20, page.items().size());
+            assertEquals("order-00019", page.items().get(19).orderId());
+            SellerSalesService.Cursor cursor = SellerSalesService.decodeCursor(page.nextCursor());
+            assertEquals(T0.minusMinutes(19), cursor.createdAt());
+            assertEquals("order-00019", cursor.id());
+        }
+
+        @Test
+        void nextPage_resumesStrictlyAfterTheCursor() {
+            String cursor = SellerSalesService.encodeCursor(T0.minusMinutes(19), "order-00019");
+            when(orderRepository.findPageByTenantIdAndSellerIdAndStatus(
+                    TENANT, SELLER, OrderStatus.COMPLETED, T0.minusMinutes(19), "order-00019", 21))
+                    .thenReturn(sales(20, 25));
+
+            SellerSalesPageResponse page = service.getSalesPage(TENANT, SELLER, cursor, 20);
+
+            assertEquals(5, page.items().size());
+            assertNull(page.nextCursor(), "last page has no cursor");
+        }
+
+        @Test
+        void limitIsClampedToMaxPageSize() {
+            when(orderRepository.findPageByTenantIdAndSellerIdAndStatus(
+                    any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of());
+
+            service.getSalesPage(TENANT, SELLER, null, 10_000);
+
+            verify(orderRepository).findPageByTenantIdAndSellerIdAndStatus(
+                    TENANT, SELLER, OrderStatus.COMPLETED, null, null, SellerSalesService.MAX_PAGE_SIZE + 1);
+        }
+
+        @Test
+        void malformedCursor_isRejected() {
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.getSalesPage(TENANT, SELLER, "not-a-cursor!", 20));
+            assertThrows(IllegalArgumentException.class,
+                    () -> service.getSalesPage(TENANT, SELLER,
+                            SellerSalesService.encodeCursor(T0, ""), 20));
+            verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        void splitsCarryComputedXlmAndTitlesAreBatchLoaded() {
+            Entry entry = new Entry();
+            entry.setId("entry-0");
+            entry.setTitle("Sunset");
+            entry.setType(EntryType.VIDEO);
+            when(entryRepository.findByTenantIdAndIdIn(TENANT, List.of("entry-0"))).thenReturn(List.of(entry));
+            when(orderRepository.findPageByTenantIdAndSellerIdAndStatus(
+                    any(), any(), any(), any(), any(), anyInt())).thenReturn(List.of(sale(0)));
+
+            var item = service.getSalesPage(TENANT, SELLER, null, 20).items().get(0);
+
+            assertEquals("Sunset", item.entryTitle());
+            assertEquals("VIDEO", item.entryType());
+            assertEquals(new BigDecimal("9.0000000"), item.splits().get(0).amountXlm());
+            assertEquals(new BigDecimal("1.0000000"), item.splits().get(1).amountXlm());
+            verify(entryRepository, times(1)).findByTenantIdAndIdIn(any(), anyList());
+            verifyNoInteractions(collectionRepository);
+        }
+    }
+
+    // ─── Daily totals ───
+
+    @Nested
+    class DailyTotals {
+
+        private SellerSalesDay day(String day, long orders, long gross, long seller) {
+            SellerSalesDay d = new SellerSalesDay();
+            d.setDay(day);
+            d.setOrders(orders);
+            d.setGrossStroops(gross);
+            d.setSellerStroops(seller);
+            return d;
+        }
+
+        @Test
+        void sumsRollupRowsAndConvertsStroopsToXlm() {
+            when(sellerSalesDayRepository.findByTenantIdAndSellerIdAndDayBetween(
+                    TENANT, SELLER, "2026-04-01", "2026-04-30"))
+                    .thenReturn(List.of(
+                            day("2026-04-02", 2, 200_000_000L, 180_000_000L),
+                            day("2026-04-20", 1, 5L, 4L)));
+
+            SellerSalesDailyResponse response = service.getDailyTotals(TENANT, SELLER,
+                    LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 30));
+
+            assertEquals(3, response.orders());
+            assertEquals(new BigDecimal("20.0000005"), response.grossXlm());
+            assertEquals(new BigDecimal("18.0000004"), response.sellerXlm());
+            assertEquals(2, response.days().size());
+            assertEquals("2026-04-20", response.days().get(1).day());
+            verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        void rejectsInvertedOrOversizedRanges() {
+            assertThrows(IllegalArgumentException.class, () -> service.getDailyTotals(TENANT, SELLER,
+                    LocalDate.of(2026, 4, 2), LocalDate.of(2026, 4, 1)));
+            assertThrows(IllegalArgumentException.class, () -> service.getDailyTotals(TENANT, SELLER,
+                    LocalDate.of(2025, 1, 1), LocalDate.of(2026, 4, 1)));
+            verifyNoInteractions(sellerSalesDayRepository);
+        }
+    }
+
+    // ─── CSV export ───
+
+    @Nested
+    class Export {
+
+        @Test
+        void streamsEveryRow_loadingTitlesOncePerChunk_andClosesTheCursor() throws Exception {
+            int total = SellerSalesService.EXPORT_CHUNK_SIZE * 2 + 1;
+            AtomicBoolean closed = new AtomicBoolean();
+            when(orderRepository.streamByTenantIdAndSellerIdAndStatus(TENANT, SELLER, OrderStatus.COMPLETED))
+                    .thenReturn(sales(0, total).stream().onClose(() -> closed.set(true)));
+            StringWriter out = new StringWriter();
+
+            long rows = service.exportCsv(TENANT, SELLER, out);
+
+            assertEquals(total, rows);
+            String[] lines = out.toString().split("\n");
+            assertEquals(total + 1, lines.length);
+            assertEquals(SellerSalesService.CSV_HEADER.trim(), lines[0]);
+            assertTrue(lines[1].startsWith("order-00000,"));
+            assertTrue(lines[1].contains(",10.0000000,9.0000000,tx0"), lines[1]);
+            verify(entryRepository, times(3)).findByTenantIdAndIdIn(eq(TENANT), anyList());
+            assertTrue(closed.get(), "the Mongo cursor must be released");
+        }
+
+        @Test
+        void emptyHistory_writesHeaderOnly() throws Exception {
+            when(orderRepository.streamByTenantIdAndSellerIdAndStatus(any(), any(), any()))
+                    .thenReturn(new ArrayList<Order>().stream());
+            StringWriter out = new StringWriter();
+
+            assertEquals(0, service.exportCsv(TENANT, SELLER, out));
+            assertEquals(SellerSalesService.CSV_HEADER, out.toString());
+            verifyNoInteractions(entryRepository);
+        }
+
+        @Test
+        void csvEscapesQuotesAndNeutralizesFormulas() {
+            assertEquals("plain", SellerSalesService.csv("plain"));
+            assertEquals("\"a, b\"", SellerSalesService.csv("a, b"));
+            assertEquals("\"say \"\"hi\"\"\"", SellerSalesService.csv("say \"hi\""));
+            assertEquals("'=HYPERLINK(1)", SellerSalesService.csv("=HYPERLINK(1)"));
+            assertEquals("\"'=SUM(A1,A2)\"", SellerSalesService.csv("=SUM(A1,A2)"));
+            assertEquals("", SellerSalesService.csv(null));
+        }
+    }
+}
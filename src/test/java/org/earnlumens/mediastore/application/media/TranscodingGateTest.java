@@ -10,7 +10,6 @@ import org.earnlumens.mediastore.domain.media.model.TranscodingJob;
 import org.earnlumens.mediastore.domain.media.model.TranscodingJobStatus;
 import org.earnlumens.mediastore.domain.media.repository.AssetRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
-import org.earnlumens.mediastore.domain.media.repository.OrderRepository;
 import org.earnlumens.mediastore.domain.user.repository.UserRepository;
 import org.earnlumens.mediastore.infrastructure.config.PlatformConfig;
 import org.earnlumens.mediastore.infrastructure.r2.R2PresignedUrlService;
@@ -57,8 +56,6 @@ class TranscodingGateTest {
                 entryRepository,
                 mock(AssetRepository.class),
                 mock(UserRepository.class),
-                mock(OrderRepository.class),
-                mock(org.earnlumens.mediastore.domain.media.repository.CollectionRepository.class),
                 mock(R2PresignedUrlService.class),
                 mock(org.earnlumens.mediastore.infrastructure.r2.R2StorageService.class),
                 mock(org.earnlumens.mediastore.domain.media.repository.UploadSessionRepository.class),
@@ -1,11 +1,18 @@
 package org.earnlumens.mediastore.application.media;
 
+import org.earnlumens.mediastore.domain.media.dto.response.BackfillResult;
 import org.earnlumens.mediastore.domain.media.model.Asset;
 import org.earnlumens.mediastore.domain.media.model.AssetStatus;
+import org.earnlumens.mediastore.domain.media.model.BackfillCheckpoint;
+import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryStatus;
+import org.earnlumens.mediastore.domain.media.model.EntryType;
+import org.earnlumens.mediastore.domain.media.model.MediaKind;
 import org.earnlumens.mediastore.domain.media.model.TranscodingJob;
 import org.earnlumens.mediastore.domain.media.model.TranscodingJobStatus;
 import org.earnlumens.mediastore.domain.media.port.TranscodingDispatchPort;
 import org.earnlumens.mediastore.domain.media.repository.AssetRepository;
+import org.earnlumens.mediastore.domain.media.repository.BackfillCheckpointRepository;
 import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
 import org.earnlumens.mediastore.domain.media.repository.TranscodingJobRepository;
 import org.earnlumens.mediastore.infrastructure.config.TranscodingConfig;
@@ -16,11 +23,17 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 /**
@@ -33,6 +46,7 @@ class TranscodingJobServiceTest {
     private EntryRepository entryRepository;
     private TranscodingConfig config;
     private TranscodingDispatchPort dispatchPort;
+    private BackfillCheckpointRepository checkpointRepository;
     private TranscodingJobService service;
 
     @BeforeEach
@@ -41,18 +55,28 @@ class TranscodingJobServiceTest {
         assetRepository = mock(AssetRepository.class);
         entryRepository = mock(EntryRepository.class);
         dispatchPort = mock(TranscodingDispatchPort.class);
+        checkpointRepository = mock(BackfillCheckpointRepository.class);
         config = new TranscodingConfig();
         config.setMaxRetries(3);
         config.setHeartbeatTimeoutSeconds(120);
         config.setStaleBatchSize(50);
         config.setDispatchBatchSize(10);
-        service = new TranscodingJobService(jobRepository, assetRepository, entryRepository, config, dispatchPort);
+        config.setBackfillPageSize(2);
+        config.setBackfillTimeBudgetSeconds(60);
+        service = new TranscodingJobService(jobRepository, assetRepository, entryRepository, config, dispatchPort,
+                checkpointRepository);
 
         // Default: save returns the same job
         when(jobRepository.save(any(TranscodingJob.class)))
                 .thenAnswer(inv -> inv.getArgument(0));
         when(assetRepository.save(any(Asset.class)))
                 .thenAnswer(inv -> inv.getArgument(0));
+        when(checkpointRepository.save(any(BackfillCheckpoint.class)))
+                .thenAnswer(inv -> inv.getArgument(0));
+        when(checkpointRepository.findByTenantIdAndName(any(), any()))
+                .thenReturn(Optional.empty());
+        when(jobRepository.insertAllForTenantId(any(), anyList()))
+                .thenAnswer(inv -> inv.getArgument(1));
     }
 
     private TranscodingJob staleJob(TranscodingJobStatus status, int retryCount, int maxRetries) {
@@ -505,6 +529,152 @@ class TranscodingJobServiceTest {
         }
     }
 
+    // ─── Batch backfills ────────────────────────────────────────
+
+    @Nested
+    class BatchTranscode {
+
+        @Test
+        void pagesEntries_batchesLookups_andInsertsOncePerPage() {
+            Entry e1 = videoEntry("e1", false);
+            Entry e2 = videoEntry("e2", false);
+            Entry e3 = videoEntry("e3", false);
+            when(entryRepository.findByTenantIdAndStatusAndTypeAfterId(
+                    eq("earnlumens"), eq(EntryStatus.PUBLISHED), eq(EntryType.VIDEO), isNull(), eq(2)))
+                    .thenReturn(List.of(e1, e2));
+            when(entryRepository.findByTenantIdAndStatusAndTypeAfterId(
+                    eq("earnlumens"), eq(EntryStatus.PUBLISHED), eq(EntryType.VIDEO), eq("e2"), eq(2)))
+                    .thenReturn(List.of(e3));
+            when(jobRepository.findActiveEntryIdsByTenantIdAndEntryIdIn(eq("earnlumens"), any()))
+                    .thenReturn(Set.of());
+            when(assetRepository.findByTenantIdAndEntryIdInAndKind(eq("earnlumens"), any(), eq(MediaKind.FULL)))
+                    .thenReturn(List.of(fullAsset("a1", "e1", AssetStatus.READY),
+                            fullAsset("a2", "e2", AssetStatus.UPLOADED)))
+                    .thenReturn(List.of(fullAsset("a3", "e3", AssetStatus.READY)));
+
+            BackfillResult result = service.batchTranscodeExistingVideos("earnlumens", true);
+
+            assertEquals(3, result.scanned());
+            assertEquals(3, result.affected());
+            assertTrue(result.completed());
+            assertFalse(result.resumed());
+            verify(jobRepository, times(2)).insertAllForTenantId(eq("earnlumens"), anyList());
+            verify(jobRepository, never()).findActiveByTenantIdAndEntryId(any(), any());
+            verify(jobRepository, never()).save(any());
+        }
+
+        @Test
+        void skipsHlsReady_activeJob_andMissingAsset() {
+            Entry ready = videoEntry("e1", true);
+            Entry active = videoEntry("e2", false);
+            Entry noAsset = videoEntry("e3", false);
+            when(entryRepository.findByTenantIdAndStatusAndTypeAfterId(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(List.of(ready, active, noAsset));
+            when(jobRepository.findActiveEntryIdsByTenantIdAndEntryIdIn(eq("earnlumens"), any()))
+                    .thenReturn(Set.of("e2"));
+            when(assetRepository.findByTenantIdAndEntryIdInAndKind(any(), any(), any()))
+                    .thenReturn(List.of(fullAsset("a2", "e2", AssetStatus.READY)));
+            config.setBackfillPageSize(10);
+
+            BackfillResult result = service.batchTranscodeExistingVideos("earnlumens", true);
+
+            assertEquals(3, result.scanned());
+            assertEquals(0, result.affected());
+            verify(jobRepository, never()).insertAllForTenantId(any(), anyList());
+        }
+
+        @Test
+        void prefersUploadedAssetOverReady() {
+            when(entryRepository.findByTenantIdAndStatusAndTypeAfterId(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(List.of(videoEntry("e1", false)));
+            when(jobRepository.findActiveEntryIdsByTenantIdAndEntryIdIn(any(), any())).thenReturn(Set.of());
+            when(assetRepository.findByTenantIdAndEntryIdInAndKind(any(), any(), any()))
+                    .thenReturn(List.of(fullAsset("ready", "e1", AssetStatus.READY),
+                            fullAsset("uploaded", "e1", AssetStatus.UPLOADED)));
+
+            service.batchTranscodeExistingVideos("earnlumens", true);
+
+            verify(jobRepository).insertAllForTenantId(eq("earnlumens"), argThat(jobs ->
+                    jobs.size() == 1 && "uploaded".equals(jobs.get(0).getAssetId())));
+        }
+
+        @Test
+        void resumesFromUnfinishedCheckpoint() {
+            BackfillCheckpoint checkpoint = new BackfillCheckpoint("earnlumens", "transcode");
+            checkpoint.setLastEntryId("e2");
+            checkpoint.setScanned(2);
+            when(checkpointRepository.findByTenantIdAndName("earnlumens", "transcode"))
+                    .thenReturn(Optional.of(checkpoint));
+            when(entryRepository.findByTenantIdAndStatusAndTypeAfterId(
+                    eq("earnlumens"), any(), any(), eq("e2"), anyInt()))
+                    .thenReturn(List.of());
+
+            BackfillResult result = service.batchTranscodeExistingVideos("earnlumens", true);
+
+            assertTrue(result.resumed());
+            assertTrue(result.completed());
+            assertEquals(0, result.scanned());
+            assertEquals(2, result.totalScanned());
+            verify(entryRepository, never()).findByTenantIdAndStatusAndTypeAfterId(
+                    any(), any(), any(), isNull(), anyInt());
+        }
+
+        @Test
+        void resumeFalse_restartsFromFirstEntry() {
+            BackfillCheckpoint checkpoint = new BackfillCheckpoint("earnlumens", "transcode");
+            checkpoint.setLastEntryId("e2");
+            when(checkpointRepository.findByTenantIdAndName("earnlumens", "transcode"))
+                    .thenReturn(Optional.of(checkpoint));
+            when(entryRepository.findByTenantIdAndStatusAndTypeAfterId(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(List.of());
+
+            BackfillResult result = service.batchTranscodeExistingVideos("earnlumens", false);
+
+            assertFalse(result.resumed());
+            verify(entryRepository).findByTenantIdAndStatusAndTypeAfterId(
+                    eq("earnlumens"), any(), any(), isNull(), anyInt());
+        }
+
+        @Test
+        void exhaustedTimeBudget_checkpointsAndReportsIncomplete() {
+            config.setBackfillTimeBudgetSeconds(0);
+            when(entryRepository.findByTenantIdAndStatusAndTypeAfterId(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(List.of(videoEntry("e1", true), videoEntry("e2", true)));
+
+            BackfillResult result = service.batchTranscodeExistingVideos("earnlumens", true);
+
+            assertFalse(result.completed());
+            assertEquals(2, result.scanned());
+            verify(checkpointRepository).save(argThat(cp ->
+                    "e2".equals(cp.getLastEntryId()) && !cp.isCompleted()));
+        }
+    }
+
+    @Nested
+    class BatchMetadata {
+
+        @Test
+        void fillsMissingDurationWithSingleBulkUpdate() {
+            Entry missing = videoEntry("e1", true);
+            Entry hasDuration = videoEntry("e2", true);
+            hasDuration.setDurationSec(30);
+            when(entryRepository.findByTenantIdAndStatusAndTypeAfterId(any(), any(), any(), any(), anyInt()))
+                    .thenReturn(List.of(missing, hasDuration));
+            Asset asset = fullAsset("a1", "e1", AssetStatus.READY);
+            asset.setDurationSec(42);
+            when(assetRepository.findByTenantIdAndEntryIdInAndKind(eq("earnlumens"), eq(List.of("e1")), eq(MediaKind.FULL)))
+                    .thenReturn(List.of(asset));
+            when(entryRepository.updateDurationSecByTenantId("earnlumens", Map.of("e1", 42))).thenReturn(1L);
+            config.setBackfillPageSize(10);
+
+            BackfillResult result = service.batchFillMissingDuration("earnlumens", true);
+
+            assertEquals(1, result.affected());
+            verify(entryRepository).updateDurationSecByTenantId("earnlumens", Map.of("e1", 42));
+            verify(entryRepository, never()).save(any());
+        }
+    }
+
     // ─── Helper ─────────────────────────────────────────────────
 
     private Asset testAsset(String assetId) {
@@ -515,4 +685,25 @@ class TranscodingJobServiceTest {
         a.setStatus(AssetStatus.UPLOADED);
         return a;
     }
+
+    private Entry videoEntry(String id, boolean hlsReady) {
+        Entry e = new Entry();
+        e.setId(id);
+        e.setTenantId("earnlumens");
+        e.setType(EntryType.VIDEO);
+        e.setStatus(EntryStatus.PUBLISHED);
+        e.setHlsReady(hlsReady);
+        return e;
+    }
+
+    private Asset fullAsset(String assetId, String entryId, AssetStatus status) {
+        Asset a = new Asset();
+        a.setId(assetId);
+        a.setTenantId("earnlumens");
+        a.setEntryId(entryId);
+        a.setKind(MediaKind.FULL);
+        a.setStatus(status);
+        a.setR2Key("private/media/earnlumens/" + entryId + "/full/video.mp4");
+        return a;
+    }
 }
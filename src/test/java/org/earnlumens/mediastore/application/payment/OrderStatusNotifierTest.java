@@ -0,0 +1,174 @@
+package org.earnlumens.mediastore.application.payment;
+
+import org.earnlumens.mediastore.domain.media.dto.response.SubmitPaymentResponse;
+import org.earnlumens.mediastore.domain.media.model.Order;
+import org.earnlumens.mediastore.domain.media.model.OrderStatus;
+import org.earnlumens.mediastore.domain.media.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link OrderStatusNotifier} and the long-poll built on it
+ * ({@link PaymentService#awaitOrderStatus}): waiters wake on publish, idle
+ * waits issue no reads, and the timeout returns the unchanged status.
+ */
+class OrderStatusNotifierTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final String USER = "buyer1";
+    private static final String ORDER_ID = "order1";
+
+    private OrderStatusNotifier notifier;
+    private OrderRepository orderRepository;
+    private PaymentService service;
+    private final AtomicReference<OrderStatus> stored = new AtomicReference<>(OrderStatus.PROCESSING);
+
+    @BeforeEach
+    void setUp() {
+        notifier = new OrderStatusNotifier();
+        orderRepository = mock(OrderRepository.class);
+        when(orderRepository.findByTenantIdAndId(TENANT, ORDER_ID)).thenAnswer(inv -> Optional.of(order()));
+        service = new PaymentService(
+                null, null, orderRepository, null,
+                null, null, null, null, null, null,
+                null, null,
+                notifier);
+    }
+
+    private Order order() {
+        Order o = new Order();
+        o.setId(ORDER_ID);
+        o.setTenantId(TENANT);
+        o.setUserId(USER);
+        o.setStellarTxHash("aabb");
+        o.setEntryId("entry1");
+        o.setStatus(stored.get());
+        return o;
+    }
+
+    // ─── Notifier ───
+
+    @Nested
+    class Notifier {
+
+        @Test
+        void publish_wakesEveryWaiterOnThatOrderOnly() {
+            CompletableFuture<OrderStatus> a = notifier.subscribe(ORDER_ID);
+            CompletableFuture<OrderStatus> b = notifier.subscribe(ORDER_ID);
+            CompletableFuture<OrderStatus> other = notifier.subscribe("order2");
+
+            notifier.publish(ORDER_ID, OrderStatus.COMPLETED);
+
+            assertEquals(OrderStatus.COMPLETED, a.getNow(null));
+            assertEquals(OrderStatus.COMPLETED, b.getNow(null));
+            assertFalse(other.isDone());
+            assertEquals(1, notifier.waitingOrders());
+        }
+
+        @Test
+        void unsubscribe_removesEmptyEntries() {
+            CompletableFuture<OrderStatus> waiter = notifier.subscribe(ORDER_ID);
+            notifier.unsubscribe(ORDER_ID, waiter);
+
+            assertEquals(0, notifier.waitingOrders());
+            notifier.publish(ORDER_ID, OrderStatus.FAILED); // no waiters — no-op
+            assertFalse(waiter.isDone());
+        }
+    }
+
+    // ─── Long-poll ───
+
+    @Nested
+    class LongPoll {
+
+        @Test
+        void alreadyChanged_returnsImmediately() {
+            stored.set(OrderStatus.COMPLETED);
+
+            SubmitPaymentResponse response = service.awaitOrderStatus(
+                    TENANT, USER, ORDER_ID, OrderStatus.PROCESSING, Duration.ofSeconds(30));
+
+            assertEquals("COMPLETED", response.status());
+            assertEquals(0, notifier.waitingOrders());
+        }
+
+        @Test
+        void publish_wakesWaiter_withStoredStatus() throws Exception {
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            Future<SubmitPaymentResponse> waiting = executor.submit(() -> service.awaitOrderStatus(
+                    TENANT, USER, ORDER_ID, OrderStatus.PROCESSING, Duration.ofSeconds(30)));
+            while (notifier.waitingOrders() == 0) {
+                Thread.sleep(5);
+            }
+
+            stored.set(OrderStatus.COMPLETED);
+            notifier.publish(ORDER_ID, OrderStatus.COMPLETED);
+
+            assertEquals("COMPLETED", waiting.get(5, TimeUnit.SECONDS).status());
+            assertEquals(0, notifier.waitingOrders());
+            executor.shutdown();
+        }
+
+        @Test
+        void timeout_returnsUnchangedStatus_withoutFurtherReads() {
+            SubmitPaymentResponse response = service.awaitOrderStatus(
+                    TENANT, USER, ORDER_ID, OrderStatus.PROCESSING, Duration.ofMillis(100));
+
+            assertEquals("PROCESSING", response.status());
+            verify(orderRepository, times(1)).findByTenantIdAndId(TENANT, ORDER_ID);
+            assertEquals(0, notifier.waitingOrders());
+        }
+
+        @Test
+        void otherUsersOrder_isNotFound() {
+            assertThrows(IllegalArgumentException.class, () -> service.awaitOrderStatus(
+                    TENANT, "intruder", ORDER_ID, OrderStatus.PROCESSING, Duration.ofSeconds(1)));
+            assertEquals(0, notifier.waitingOrders());
+        }
+
+        @Test
+        void thousandsOfIdleWaiters_costOneReadEach() throws Exception {
+            int waiters = 5_000;
+            List<Future<SubmitPaymentResponse>> pending = new ArrayList<>(waiters);
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < waiters; i++) {
+                    pending.add(executor.submit(() -> service.awaitOrderStatus(
+                            TENANT, USER, ORDER_ID, OrderStatus.PROCESSING, Duration.ofSeconds(30))));
+                }
+                while (waitingCount() < waiters) {
+                    Thread.sleep(10);
+                }
+
+                stored.set(OrderStatus.COMPLETED);
+                notifier.publish(ORDER_ID, OrderStatus.COMPLETED);
+
+                for (Future<SubmitPaymentResponse> f : pending) {
+                    assertEquals("COMPLETED", f.get(10, TimeUnit.SECONDS).status());
+                }
+            }
+            // One read to subscribe, one after the wake-up — none while idle.
+            verify(orderRepository, times(waiters * 2)).findByTenantIdAndId(TENANT, ORDER_ID);
+        }
+
+        private int waitingCount() {
+            return (int) mockingDetails(orderRepository).getInvocations().stream()
+                    .filter(inv -> inv.getMethod().getName().equals("findByTenantIdAndId"))
+                    .count();
+        }
+    }
+}
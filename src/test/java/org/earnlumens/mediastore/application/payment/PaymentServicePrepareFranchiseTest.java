@@ -2,6 +2,7 @@ package org.earnlumens.mediastore.application.payment;
 
 import org.earnlumens.mediastore.domain.media.dto.request.PreparePaymentRequest;
 import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryPricingView;
 import org.earnlumens.mediastore.domain.media.model.EntryStatus;
 import org.earnlumens.mediastore.domain.media.model.PaymentSplit;
 import org.earnlumens.mediastore.domain.media.model.SplitRole;
@@ -51,7 +52,8 @@ class PaymentServicePrepareFranchiseTest {
         service = new PaymentService(
                 entryRepository, null, orderRepository, null,
                 mock(StellarTransactionService.class), null, null, null, null,
-                franchiseReadRepository);
+                franchiseReadRepository, null, null,
+                new OrderStatusNotifier());
 
         Entry entry = new Entry();
         entry.setUserId(SELLER);
@@ -60,7 +62,8 @@ class PaymentServicePrepareFranchiseTest {
         entry.setPriceXlm(new BigDecimal("10"));
         entry.setPaymentSplits(List.of(
                 new PaymentSplit("G" + "S".repeat(55), SplitRole.SELLER, new BigDecimal("90.00"))));
-        when(entryRepository.findByTenantIdAndId(TENANT, ENTRY_ID)).thenReturn(Optional.of(entry));
+        when(entryRepository.findPricingViewByTenantIdAndId(TENANT, ENTRY_ID))
+                .thenReturn(Optional.of(EntryPricingView.of(entry)));
         when(orderRepository.findAllByTenantIdAndUserIdAndEntryId(TENANT, BUYER, ENTRY_ID))
                 .thenReturn(List.of());
     }
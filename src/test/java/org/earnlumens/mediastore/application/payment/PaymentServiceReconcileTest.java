@@ -7,6 +7,8 @@ import org.earnlumens.mediastore.domain.media.model.OrderStatus;
 import org.earnlumens.mediastore.domain.media.model.TargetType;
 import org.earnlumens.mediastore.domain.media.repository.EntitlementRepository;
 import org.earnlumens.mediastore.domain.media.repository.OrderRepository;
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
+import org.earnlumens.mediastore.domain.media.repository.SellerSalesDayRepository;
 import org.earnlumens.mediastore.infrastructure.config.StellarConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -44,6 +46,8 @@ class PaymentServiceReconcileTest {
     private OrderRepository orderRepository;
     private EntitlementRepository entitlementRepository;
     private StellarTransactionService stellarTxService;
+    private SellerSalesDayRepository sellerSalesDayRepository;
+    private OwnerStatsRepository ownerStatsRepository;
     private PaymentService service;
 
     @BeforeEach
@@ -51,9 +55,13 @@ class PaymentServiceReconcileTest {
         orderRepository = mock(OrderRepository.class);
         entitlementRepository = mock(EntitlementRepository.class);
         stellarTxService = mock(StellarTransactionService.class);
+        sellerSalesDayRepository = mock(SellerSalesDayRepository.class);
+        ownerStatsRepository = mock(OwnerStatsRepository.class);
         service = new PaymentService(
                 null, null, orderRepository, entitlementRepository,
-                stellarTxService, new StellarConfig(), null, null, null, null);
+                stellarTxService, new StellarConfig(), null, null, null, null,
+                sellerSalesDayRepository, ownerStatsRepository,
+                new OrderStatusNotifier());
     }
 
     private Order order(OrderStatus status, LocalDateTime expiresAt) {
@@ -105,6 +113,9 @@ class PaymentServiceReconcileTest {
         assertEquals(ReconcileOutcome.COMPLETED, outcome);
         verify(entitlementRepository).save(any(Entitlement.class));
         verify(orderRepository).expirePendingOrdersForUserExcept(TENANT, USER, ORDER_ID);
+        verify(sellerSalesDayRepository).incrementByTenantIdAndSellerIdAndDay(
+                eq(TENANT), any(), anyString(), eq(1L), eq(100_000_000L), eq(0L));
+        verify(ownerStatsRepository).incrementByTenantIdAndUserId(eq(TENANT), any(), anyMap());
     }
 
     @Test
@@ -144,6 +155,8 @@ class PaymentServiceReconcileTest {
 
         assertEquals(ReconcileOutcome.COMPLETED, service.reconcileOrder(stuck));
         verify(entitlementRepository).save(any(Entitlement.class));
+        // The CAS winner already counted this sale — never count it twice.
+        verifyNoInteractions(sellerSalesDayRepository, ownerStatsRepository);
     }
 
     @Test
@@ -47,7 +47,10 @@ class PaymentServiceSplitsTest {
                 platformConfig,
                 null,
                 tenantConfigService,
-                null);
+                null,
+                null,
+                null,
+                new OrderStatusNotifier());
     }
 
     private List<PaymentSplit> invoke(String tenantId, List<PaymentSplit> entrySplits) {
@@ -5,9 +5,14 @@ import org.earnlumens.mediastore.domain.media.dto.response.SubmitPaymentResponse
 import org.earnlumens.mediastore.domain.media.model.Entitlement;
 import org.earnlumens.mediastore.domain.media.model.Order;
 import org.earnlumens.mediastore.domain.media.model.OrderStatus;
+import org.earnlumens.mediastore.domain.media.model.OwnerStats;
+import org.earnlumens.mediastore.domain.media.model.PaymentSplit;
+import org.earnlumens.mediastore.domain.media.model.SplitRole;
 import org.earnlumens.mediastore.domain.media.model.TargetType;
 import org.earnlumens.mediastore.domain.media.repository.EntitlementRepository;
 import org.earnlumens.mediastore.domain.media.repository.OrderRepository;
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
+import org.earnlumens.mediastore.domain.media.repository.SellerSalesDayRepository;
 import org.earnlumens.mediastore.infrastructure.config.StellarConfig;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +31,8 @@ import org.stellar.sdk.operations.PaymentOperation;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -50,6 +57,8 @@ class PaymentServiceSubmitTest {
     private OrderRepository orderRepository;
     private EntitlementRepository entitlementRepository;
     private StellarTransactionService stellarTxService;
+    private SellerSalesDayRepository sellerSalesDayRepository;
+    private OwnerStatsRepository ownerStatsRepository;
     private PaymentService service;
     private Transaction parsedTx;
 
@@ -58,9 +67,13 @@ class PaymentServiceSubmitTest {
         orderRepository = mock(OrderRepository.class);
         entitlementRepository = mock(EntitlementRepository.class);
         stellarTxService = mock(StellarTransactionService.class);
+        sellerSalesDayRepository = mock(SellerSalesDayRepository.class);
+        ownerStatsRepository = mock(OwnerStatsRepository.class);
         service = new PaymentService(
                 null, null, orderRepository, entitlementRepository,
-                stellarTxService, new StellarConfig(), null, null, null, null);
+                stellarTxService, new StellarConfig(), null, null, null, null,
+                sellerSalesDayRepository, ownerStatsRepository,
+                new OrderStatusNotifier());
         parsedTx = buildDummyTransaction();
     }
 
@@ -159,6 +172,51 @@ class PaymentServiceSubmitTest {
         verify(entitlementRepository).save(any(Entitlement.class));
     }
 
+    // ── Seller daily sales rollup ────────────────────────────────
+
+    @Test
+    void submit_completed_addsSaleToSellerDailyRollup() {
+        mockHappyPath();
+        Order completed = order(OrderStatus.COMPLETED);
+        completed.setSellerId("seller1");
+        completed.setCompletedAt(LocalDateTime.of(2026, 3, 14, 23, 59));
+        completed.setPaymentSplits(List.of(
+                new PaymentSplit("GSELLER", SplitRole.SELLER, new BigDecimal("90.00")),
+                new PaymentSplit("GPLATFORM", SplitRole.PLATFORM, new BigDecimal("10.00"))));
+        when(orderRepository.tryComplete(eq(TENANT), eq(ORDER_ID), eq(TX_HASH), any()))
+                .thenReturn(Optional.of(completed));
+
+        service.submit(TENANT, USER, REQUEST);
+
+        // 10 XLM gross, 9 XLM to the seller — in stroops.
+        verify(sellerSalesDayRepository).incrementByTenantIdAndSellerIdAndDay(
+                TENANT, "seller1", "2026-03-14", 1, 100_000_000L, 90_000_000L);
+        verify(ownerStatsRepository).incrementByTenantIdAndUserId(
+                TENANT, "seller1", Map.of(OwnerStats.TOTAL_SALES, 1L));
+    }
+
+    @Test
+    void submit_rollupFailure_doesNotFailThePayment() {
+        mockHappyPath();
+        doThrow(new RuntimeException("mongo down")).when(sellerSalesDayRepository)
+                .incrementByTenantIdAndSellerIdAndDay(any(), any(), any(), anyLong(), anyLong(), anyLong());
+
+        SubmitPaymentResponse response = service.submit(TENANT, USER, REQUEST);
+
+        assertEquals("COMPLETED", response.status());
+        verify(entitlementRepository).save(any(Entitlement.class));
+    }
+
+    @Test
+    void submit_notConfirmed_neverTouchesRollup() {
+        mockHappyPath();
+        when(stellarTxService.submitTransaction(parsedTx))
+                .thenReturn(StellarTransactionService.SubmissionOutcome.REJECTED);
+
+        assertThrows(RuntimeException.class, () -> service.submit(TENANT, USER, REQUEST));
+        verifyNoInteractions(sellerSalesDayRepository, ownerStatsRepository);
+    }
+
     // ── Lock failures (explainLockFailure) ───────────────────────
 
     @Test
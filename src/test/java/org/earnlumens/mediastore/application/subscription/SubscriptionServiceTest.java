@@ -1,6 +1,9 @@
 package org.earnlumens.mediastore.application.subscription;
 
+import org.earnlumens.mediastore.application.subscription.SubscriptionService.SubscriptionCursorPageResponse;
 import org.earnlumens.mediastore.domain.subscription.model.Subscription;
+import org.earnlumens.mediastore.domain.subscription.model.SubscriptionCounts;
+import org.earnlumens.mediastore.domain.subscription.repository.SubscriptionCountsRepository;
 import org.earnlumens.mediastore.domain.subscription.repository.SubscriptionRepository;
 import org.earnlumens.mediastore.domain.user.model.User;
 import org.earnlumens.mediastore.domain.user.repository.UserRepository;
@@ -11,13 +14,19 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +36,8 @@ class SubscriptionServiceTest {
     private SubscriptionRepository subscriptionRepository;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private SubscriptionCountsRepository subscriptionCountsRepository;
 
     @InjectMocks
     private SubscriptionService subscriptionService;
@@ -75,6 +86,34 @@ class SubscriptionServiceTest {
         assertEquals(TARGET_ID, saved.getTargetUserId());
         assertEquals("subscriber", saved.getSubscriberUsername());
         assertEquals("creator", saved.getTargetUsername());
+
+        verify(subscriptionCountsRepository).incrementByTenantIdAndUserId(TENANT, TARGET_ID, SubscriptionCounts.SUBSCRIBERS, 1);
+        verify(subscriptionCountsRepository).incrementByTenantIdAndUserId(TENANT, SUBSCRIBER_ID, SubscriptionCounts.SUBSCRIPTIONS, 1);
+    }
+
+    @Test
+    void subscribe_concurrentDuplicate_returnsFalseWithoutCounting() {
+        when(subscriptionRepository.existsByTenantIdAndSubscriberIdAndTargetUserId(TENANT, SUBSCRIBER_ID, TARGET_ID))
+                .thenReturn(false);
+        when(userRepository.findByOauthUserId(SUBSCRIBER_ID)).thenReturn(Optional.of(subscriber));
+        when(userRepository.findByOauthUserId(TARGET_ID)).thenReturn(Optional.of(target));
+        when(subscriptionRepository.save(any())).thenThrow(new DuplicateKeyException("dup"));
+
+        assertFalse(subscriptionService.subscribe(TENANT, SUBSCRIBER_ID, TARGET_ID));
+        verifyNoInteractions(subscriptionCountsRepository);
+    }
+
+    @Test
+    void subscribe_counterFailure_doesNotFailTheSubscription() {
+        when(subscriptionRepository.existsByTenantIdAndSubscriberIdAndTargetUserId(TENANT, SUBSCRIBER_ID, TARGET_ID))
+                .thenReturn(false);
+        when(userRepository.findByOauthUserId(SUBSCRIBER_ID)).thenReturn(Optional.of(subscriber));
+        when(userRepository.findByOauthUserId(TARGET_ID)).thenReturn(Optional.of(target));
+        when(subscriptionRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        doThrow(new RuntimeException("mongo down")).when(subscriptionCountsRepository)
+                .incrementByTenantIdAndUserId(anyString(), anyString(), anyString(), anyLong());
+
+        assertTrue(subscriptionService.subscribe(TENANT, SUBSCRIBER_ID, TARGET_ID));
     }
 
     @Test
@@ -104,11 +143,26 @@ class SubscriptionServiceTest {
 
         when(subscriptionRepository.findByTenantIdAndSubscriberIdAndTargetUserId(TENANT, SUBSCRIBER_ID, TARGET_ID))
                 .thenReturn(Optional.of(existing));
+        when(subscriptionRepository.deleteByTenantIdAndId(TENANT, "sub-123")).thenReturn(true);
 
         boolean result = subscriptionService.unsubscribe(TENANT, SUBSCRIBER_ID, TARGET_ID);
 
         assertTrue(result);
         verify(subscriptionRepository).deleteByTenantIdAndId(TENANT, "sub-123");
+        verify(subscriptionCountsRepository).incrementByTenantIdAndUserId(TENANT, TARGET_ID, SubscriptionCounts.SUBSCRIBERS, -1);
+        verify(subscriptionCountsRepository).incrementByTenantIdAndUserId(TENANT, SUBSCRIBER_ID, SubscriptionCounts.SUBSCRIPTIONS, -1);
+    }
+
+    @Test
+    void unsubscribe_lostDeleteRace_doesNotDecrement() {
+        Subscription existing = new Subscription();
+        existing.setId("sub-123");
+        when(subscriptionRepository.findByTenantIdAndSubscriberIdAndTargetUserId(TENANT, SUBSCRIBER_ID, TARGET_ID))
+                .thenReturn(Optional.of(existing));
+        when(subscriptionRepository.deleteByTenantIdAndId(TENANT, "sub-123")).thenReturn(false);
+
+        assertFalse(subscriptionService.unsubscribe(TENANT, SUBSCRIBER_ID, TARGET_ID));
+        verifyNoInteractions(subscriptionCountsRepository);
     }
 
     @Test
@@ -131,10 +185,118 @@ class SubscriptionServiceTest {
     }
 
     @Test
-    void getSubscriberCount_delegatesToRepository() {
+    void getSubscriberCount_readsCounterDocument() {
+        when(subscriptionCountsRepository.findByTenantIdAndUserId(TENANT, TARGET_ID))
+                .thenReturn(Optional.of(counts(42, 3, 7)));
+
+        assertEquals(42L, subscriptionService.getSubscriberCount(TENANT, TARGET_ID));
+        verify(subscriptionRepository, never()).countByTenantIdAndTargetUserId(any(), any());
+    }
+
+    @Test
+    void getSubscriberCount_missingCounter_isBuiltFromSourceAndStored() {
+        when(subscriptionCountsRepository.findByTenantIdAndUserId(TENANT, TARGET_ID)).thenReturn(Optional.empty());
         when(subscriptionRepository.countByTenantIdAndTargetUserId(TENANT, TARGET_ID)).thenReturn(42L);
+        when(subscriptionRepository.countByTenantIdAndSubscriberId(TENANT, TARGET_ID)).thenReturn(5L);
 
         assertEquals(42L, subscriptionService.getSubscriberCount(TENANT, TARGET_ID));
+
+        ArgumentCaptor<SubscriptionCounts> captor = ArgumentCaptor.forClass(SubscriptionCounts.class);
+        verify(subscriptionCountsRepository).replaceByTenantIdAndUserId(eq(TENANT), eq(TARGET_ID), captor.capture(), isNull());
+        assertEquals(5L, captor.getValue().getSubscriptions());
+    }
+
+    @Test
+    void reconcileCounts_repairsDriftUnderVersionGuard() {
+        LocalDateTime cutoff = LocalDateTime.of(2026, 1, 1, 0, 0);
+        SubscriptionCounts drifted = counts(40, 3, 7);
+        SubscriptionCounts exact = counts(2, 0, 1);
+        exact.setUserId("user-3");
+        when(subscriptionCountsRepository.findByReconciledAtBefore(cutoff, 50)).thenReturn(List.of(drifted, exact));
+        when(subscriptionRepository.countByTenantIdAndTargetUserId(TENANT, TARGET_ID)).thenReturn(42L);
+        when(subscriptionRepository.countByTenantIdAndSubscriberId(TENANT, TARGET_ID)).thenReturn(3L);
+        when(subscriptionRepository.countByTenantIdAndTargetUserId(TENANT, "user-3")).thenReturn(2L);
+        when(subscriptionRepository.countByTenantIdAndSubscriberId(TENANT, "user-3")).thenReturn(0L);
+        when(subscriptionCountsRepository.replaceByTenantIdAndUserId(eq(TENANT), any(), any(), any())).thenReturn(true);
+
+        assertEquals(1, subscriptionService.reconcileCounts(cutoff, 50));
+        verify(subscriptionCountsRepository).replaceByTenantIdAndUserId(eq(TENANT), eq(TARGET_ID), any(), eq(7L));
+        verify(subscriptionCountsRepository).replaceByTenantIdAndUserId(eq(TENANT), eq("user-3"), any(), eq(1L));
+    }
+
+    @Test
+    void reconcileCounts_concurrentIncrement_isNotCountedAsDrift() {
+        LocalDateTime cutoff = LocalDateTime.of(2026, 1, 1, 0, 0);
+        when(subscriptionCountsRepository.findByReconciledAtBefore(cutoff, 50)).thenReturn(List.of(counts(40, 3, 7)));
+        when(subscriptionRepository.countByTenantIdAndTargetUserId(TENANT, TARGET_ID)).thenReturn(42L);
+        when(subscriptionRepository.countByTenantIdAndSubscriberId(TENANT, TARGET_ID)).thenReturn(3L);
+        when(subscriptionCountsRepository.replaceByTenantIdAndUserId(eq(TENANT), eq(TARGET_ID), any(), eq(7L)))
+                .thenReturn(false);
+
+        assertEquals(0, subscriptionService.reconcileCounts(cutoff, 50));
+    }
+
+    @Test
+    void subscribersPage_returnsCursorOnlyWhenMoreRowsExist() {
+        LocalDateTime t0 = LocalDateTime.of(2026, 3, 1, 12, 0);
+        when(subscriptionRepository.findPageByTenantIdAndTargetUserId(TENANT, TARGET_ID, null, null, 3))
+                .thenReturn(List.of(subscription("s1", t0), subscription("s2", t0), subscription("s3", t0.minusDays(1))));
+
+        SubscriptionCursorPageResponse page = subscriptionService.getMySubscribersPage(TENANT, TARGET_ID, null, 2);
+
+        assertEquals(2, page.items().size());
+        SubscriptionService.Cursor cursor = SubscriptionService.decodeCursor(page.nextCursor());
+        assertEquals(t0, cursor.subscribedAt());
+        assertEquals("s2", cursor.id());
+
+        when(subscriptionRepository.findPageByTenantIdAndTargetUserId(TENANT, TARGET_ID, t0, "s2", 3))
+                .thenReturn(List.of(subscription("s3", t0.minusDays(1))));
+
+        SubscriptionCursorPageResponse last = subscriptionService.getMySubscribersPage(TENANT, TARGET_ID, page.nextCursor(), 2);
+
+        assertEquals(1, last.items().size());
+        assertNull(last.nextCursor());
+    }
+
+    @Test
+    void subscriptionsPage_malformedCursor_isRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> subscriptionService.getMySubscriptionsPage(TENANT, SUBSCRIBER_ID, "not-a-cursor", 24));
+        verifyNoInteractions(subscriptionRepository);
+    }
+
+    @Test
+    void listMySubscribers_totalComesFromCounter() {
+        when(subscriptionRepository.findByTenantIdAndTargetUserId(eq(TENANT), eq(TARGET_ID), any()))
+                .thenReturn(List.of(subscription("s1", LocalDateTime.of(2026, 3, 1, 12, 0))));
+        when(subscriptionCountsRepository.findByTenantIdAndUserId(TENANT, TARGET_ID))
+                .thenReturn(Optional.of(counts(50, 0, 1)));
+
+        SubscriptionService.SubscriptionPageResponse page = subscriptionService.listMySubscribers(TENANT, TARGET_ID, 0, 24);
+
+        assertEquals(1, page.items().size());
+        assertEquals(50, page.totalElements());
+        assertEquals(3, page.totalPages());
+    }
+
+    private static SubscriptionCounts counts(long subscribers, long subscriptions, long version) {
+        SubscriptionCounts counts = new SubscriptionCounts();
+        counts.setTenantId(TENANT);
+        counts.setUserId(TARGET_ID);
+        counts.setSubscribers(subscribers);
+        counts.setSubscriptions(subscriptions);
+        counts.setVersion(version);
+        return counts;
+    }
+
+    private static Subscription subscription(String id, LocalDateTime subscribedAt) {
+        Subscription s = new Subscription();
+        s.setId(id);
+        s.setTenantId(TENANT);
+        s.setSubscriberId("fan-" + id);
+        s.setTargetUserId(TARGET_ID);
+        s.setSubscribedAt(subscribedAt);
+        return s;
     }
 
     @Test
@@ -0,0 +1,77 @@
+package org.earnlumens.mediastore.application.user;
+
+import org.earnlumens.mediastore.application.user.UserBadgeService.ExpirationResult;
+import org.earnlumens.mediastore.infrastructure.lock.DistributedLockService;
+import org.earnlumens.mediastore.infrastructure.tenant.read.TenantConfigService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link BadgeExpirationTask}: lock guard, tenant-parallel
+ * processing and per-tenant failure isolation.
+ */
+class BadgeExpirationTaskTest {
+
+    private UserBadgeService userBadgeService;
+    private TenantConfigService tenantConfigService;
+    private DistributedLockService lockService;
+    private BadgeExpirationTask task;
+
+    @BeforeEach
+    void setUp() {
+        userBadgeService = mock(UserBadgeService.class);
+        tenantConfigService = mock(TenantConfigService.class);
+        lockService = mock(DistributedLockService.class);
+        task = new BadgeExpirationTask(userBadgeService, tenantConfigService, lockService, 4);
+    }
+
+    @Test
+    void lockHeldElsewhere_skipsTheCycle() {
+        when(lockService.tryAcquire(eq("badge-expiration"), any(Duration.class))).thenReturn(false);
+
+        task.run();
+
+        verifyNoInteractions(tenantConfigService, userBadgeService);
+    }
+
+    @Test
+    void tenants_runConcurrently() {
+        // Both tenants must be inside processExpiredBadges at the same time to pass the latch.
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(userBadgeService.processExpiredBadges(anyString())).thenAnswer(inv -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS), "tenants were processed sequentially");
+            return new ExpirationResult(3, 2);
+        });
+
+        BadgeExpirationTask.CycleReport report = task.expireAcrossTenants(List.of("t1", "t2"));
+
+        assertEquals(2, report.tenants());
+        assertEquals(0, report.failedTenants());
+        assertEquals(6, report.assignments());
+        assertEquals(4, report.users());
+        assertTrue(report.usersPerSecond() > 0);
+    }
+
+    @Test
+    void failingTenant_doesNotStopTheOthers() {
+        when(userBadgeService.processExpiredBadges("bad")).thenThrow(new RuntimeException("boom"));
+        when(userBadgeService.processExpiredBadges("good")).thenReturn(new ExpirationResult(1, 1));
+
+        BadgeExpirationTask.CycleReport report = task.expireAcrossTenants(List.of("bad", "good"));
+
+        assertEquals(1, report.failedTenants());
+        assertEquals(1, report.assignments());
+    }
+}
@@ -0,0 +1,198 @@
+package org.earnlumens.mediastore.application.user;
+
+import org.bson.Document;
+import org.earnlumens.mediastore.application.user.UserBadgeService.ExpirationResult;
+import org.earnlumens.mediastore.domain.media.model.BackfillCheckpoint;
+import org.earnlumens.mediastore.domain.media.repository.BackfillCheckpointRepository;
+import org.earnlumens.mediastore.domain.user.model.BadgeAssignmentStatus;
+import org.earnlumens.mediastore.domain.user.model.BadgeType;
+import org.earnlumens.mediastore.domain.user.model.UserBadgeAssignment;
+import org.earnlumens.mediastore.domain.user.repository.UserBadgeRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.CollectionEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link UserBadgeService#processExpiredBadges}: batched
+ * content rewrites via bulkWrite, expire-after-rewrite ordering and the
+ * per-tenant checkpoint.
+ */
+class UserBadgeServiceTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final int BATCH = 2;
+
+    private UserBadgeRepository badgeRepository;
+    private MongoTemplate mongoTemplate;
+    private BackfillCheckpointRepository checkpointRepository;
+    private BulkOperations entryBulk;
+    private BulkOperations collectionBulk;
+    private UserBadgeService service;
+
+    @BeforeEach
+    void setUp() {
+        badgeRepository = mock(UserBadgeRepository.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        checkpointRepository = mock(BackfillCheckpointRepository.class);
+        entryBulk = mock(BulkOperations.class);
+        collectionBulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EntryEntity.class)).thenReturn(entryBulk);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CollectionEntity.class)).thenReturn(collectionBulk);
+        when(checkpointRepository.findByTenantIdAndName(TENANT, UserBadgeService.EXPIRATION_CHECKPOINT))
+                .thenReturn(Optional.empty());
+        when(badgeRepository.findUnexpiredByUsers(eq(TENANT), anyCollection(), any())).thenReturn(List.of());
+
+        service = new UserBadgeService(badgeRepository, mongoTemplate, checkpointRepository,
+                new UserProfileCache(100, 60), BATCH);
+    }
+
+    private static UserBadgeAssignment assignment(String id, String userId, BadgeType type) {
+        UserBadgeAssignment a = new UserBadgeAssignment();
+        a.setId(id);
+        a.setTenantId(TENANT);
+        a.setUserId(userId);
+        a.setBadgeType(type);
+        a.setStatus(BadgeAssignmentStatus.ACTIVE);
+        return a;
+    }
+
+    // ─── Batching ───
+
+    @Nested
+    class Batching {
+
+        @Test
+        void nothingExpired_writesNothing() {
+            when(badgeRepository.findExpiredAssignments(eq(TENANT), any(), eq(BATCH))).thenReturn(List.of());
+
+            assertEquals(ExpirationResult.NONE, service.processExpiredBadges(TENANT));
+            verifyNoInteractions(mongoTemplate, checkpointRepository);
+        }
+
+        @Test
+        void batch_isOneBulkWritePerCollection_clearingOrDowngrading() {
+            when(badgeRepository.findExpiredAssignments(eq(TENANT), any(), eq(BATCH)))
+                    .thenReturn(List.of(assignment("a1", "u1", BadgeType.U1), assignment("a2", "u2", BadgeType.U2)))
+                    .thenReturn(List.of());
+            when(badgeRepository.findUnexpiredByUsers(eq(TENANT), anyCollection(), any()))
+                    .thenReturn(List.of(assignment("a3", "u2", BadgeType.U1)));
+            when(badgeRepository.expireAssignments(TENANT, List.of("a1", "a2"))).thenReturn(2L);
+
+            ExpirationResult result = service.processExpiredBadges(TENANT);
+
+            assertEquals(new ExpirationResult(2, 2), result);
+            ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+            verify(entryBulk, times(2)).updateMulti(any(Query.class), updates.capture());
+            Document cleared = updates.getAllValues().get(0).getUpdateObject();
+            Document downgraded = updates.getAllValues().get(1).getUpdateObject();
+            assertTrue(cleared.containsKey("$unset"), "u1 has no badge left");
+            assertEquals("u1", downgraded.get("$set", Document.class).getString("authorBadge"),
+                    "u2 falls back to its remaining U1 badge");
+            verify(entryBulk).execute();
+            verify(collectionBulk, times(2)).updateMulti(any(Query.class), any(Update.class));
+            verify(collectionBulk).execute();
+            verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), any(Class.class));
+        }
+
+        @Test
+        void content_isRewrittenBeforeAssignmentsExpire() {
+            when(badgeRepository.findExpiredAssignments(eq(TENANT), any(), eq(BATCH)))
+                    .thenReturn(List.of(assignment("a1", "u1", BadgeType.U1)));
+            when(badgeRepository.expireAssignments(TENANT, List.of("a1"))).thenReturn(1L);
+
+            service.processExpiredBadges(TENANT);
+
+            InOrder order = inOrder(entryBulk, collectionBulk, badgeRepository);
+            order.verify(entryBulk).execute();
+            order.verify(collectionBulk).execute();
+            order.verify(badgeRepository).expireAssignments(TENANT, List.of("a1"));
+        }
+
+        @Test
+        void fullBatches_areDrainedUntilShort() {
+            when(badgeRepository.findExpiredAssignments(eq(TENANT), any(), eq(BATCH)))
+                    .thenReturn(List.of(assignment("a1", "u1", BadgeType.U1), assignment("a2", "u1", BadgeType.U2)))
+                    .thenReturn(List.of(assignment("a3", "u3", BadgeType.U1)));
+            when(badgeRepository.expireAssignments(eq(TENANT), anyCollection()))
+                    .thenAnswer(inv -> (long) inv.<List<String>>getArgument(1).size());
+
+            ExpirationResult result = service.processExpiredBadges(TENANT);
+
+            assertEquals(new ExpirationResult(3, 2), result);
+            verify(badgeRepository, times(2)).findExpiredAssignments(eq(TENANT), any(), anyInt());
+            verify(entryBulk, times(2)).execute();
+        }
+
+        @Test
+        void batchFlippedConcurrently_doesNotSpin() {
+            when(badgeRepository.findExpiredAssignments(eq(TENANT), any(), eq(BATCH)))
+                    .thenReturn(List.of(assignment("a1", "u1", BadgeType.U1), assignment("a2", "u2", BadgeType.U1)));
+            when(badgeRepository.expireAssignments(eq(TENANT), anyCollection())).thenReturn(0L);
+
+            assertEquals(0, service.processExpiredBadges(TENANT).assignments());
+            verify(badgeRepository, times(1)).findExpiredAssignments(eq(TENANT), any(), anyInt());
+        }
+    }
+
+    // ─── Checkpoint ───
+
+    @Nested
+    class Checkpoint {
+
+        @Test
+        void interruptedRun_isResumedAndCompleted() {
+            BackfillCheckpoint interrupted = new BackfillCheckpoint(TENANT, UserBadgeService.EXPIRATION_CHECKPOINT);
+            interrupted.setScanned(40);
+            interrupted.setAffected(30);
+            when(checkpointRepository.findByTenantIdAndName(TENANT, UserBadgeService.EXPIRATION_CHECKPOINT))
+                    .thenReturn(Optional.of(interrupted));
+            when(badgeRepository.findExpiredAssignments(eq(TENANT), any(), eq(BATCH)))
+                    .thenReturn(List.of(assignment("a1", "u1", BadgeType.U1)));
+            when(badgeRepository.expireAssignments(TENANT, List.of("a1"))).thenReturn(1L);
+
+            service.processExpiredBadges(TENANT);
+
+            assertEquals(41, interrupted.getScanned());
+            assertEquals(31, interrupted.getAffected());
+            assertTrue(interrupted.isCompleted());
+            verify(checkpointRepository, times(2)).save(interrupted);
+        }
+
+        @Test
+        void completedCheckpoint_startsAFreshRun() {
+            BackfillCheckpoint previous = new BackfillCheckpoint(TENANT, UserBadgeService.EXPIRATION_CHECKPOINT);
+            previous.setScanned(500);
+            previous.setCompleted(true);
+            when(checkpointRepository.findByTenantIdAndName(TENANT, UserBadgeService.EXPIRATION_CHECKPOINT))
+                    .thenReturn(Optional.of(previous));
+            when(badgeRepository.findExpiredAssignments(eq(TENANT), any(), eq(BATCH)))
+                    .thenReturn(List.of(assignment("a1", "u1", BadgeType.U1)));
+            when(badgeRepository.expireAssignments(TENANT, List.of("a1"))).thenReturn(1L);
+
+            service.processExpiredBadges(TENANT);
+
+            ArgumentCaptor<BackfillCheckpoint> saved = ArgumentCaptor.forClass(BackfillCheckpoint.class);
+            verify(checkpointRepository, atLeastOnce()).save(saved.capture());
+            assertNotSame(previous, saved.getValue());
+            assertEquals(1, saved.getValue().getScanned());
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package org.earnlumens.mediastore.application.user;
+
+import com.mongodb.client.result.UpdateResult;
+import org.earnlumens.mediastore.domain.media.repository.BackfillCheckpointRepository;
+import org.earnlumens.mediastore.domain.user.dto.request.UpdateContentLanguagePreferencesRequest;
+import org.earnlumens.mediastore.domain.user.model.BadgeAssignmentStatus;
+import org.earnlumens.mediastore.domain.user.model.BadgeType;
+import org.earnlumens.mediastore.domain.user.model.User;
+import org.earnlumens.mediastore.domain.user.model.UserBadgeAssignment;
+import org.earnlumens.mediastore.domain.user.repository.UserBadgeRepository;
+import org.earnlumens.mediastore.domain.user.repository.UserRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.CollectionEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link UserProfileCache}: per-(tenant, user) snapshots,
+ * LRU/TTL bounds, hit/miss counters, and invalidation by every writer that
+ * changes what {@code /api/user/me} returns — {@link UserService#save}
+ * (preferences, login sync, lazy unban), badge claims and badge expiry.
+ */
+class UserProfileCacheTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final String USER = "oauth1";
+
+    private static UserProfileSnapshot snapshot(String badge) {
+        return new UserProfileSnapshot(badge, null, Map.of());
+    }
+
+    /** A cache read that records how often the loader ran. */
+    private static UserProfileSnapshot read(UserProfileCache cache, String tenantId, AtomicInteger loads, String badge) {
+        return cache.get(tenantId, USER, () -> {
+            loads.incrementAndGet();
+            return snapshot(badge);
+        });
+    }
+
+    // ─── Cache ───
+
+    @Nested
+    class Cache {
+
+        @Test
+        void secondRead_isServedFromMemory() {
+            UserProfileCache cache = new UserProfileCache(10, 60);
+            AtomicInteger loads = new AtomicInteger();
+
+            read(cache, TENANT, loads, "u1");
+            assertEquals("u1", read(cache, TENANT, loads, "u2").profileBadge());
+
+            assertEquals(1, loads.get());
+            UserProfileCache.Stats stats = cache.stats();
+            assertEquals(1, stats.hits());
+            assertEquals(1, stats.misses());
+            assertEquals(1, stats.users());
+        }
+
+        @Test
+        void tenantsAreCachedSeparately() {
+            UserProfileCache cache = new UserProfileCache(10, 60);
+            AtomicInteger loads = new AtomicInteger();
+
+            read(cache, TENANT, loads, "u1");
+            assertNull(read(cache, "acme", loads, null).profileBadge());
+            assertEquals("u1", read(cache, TENANT, loads, "x").profileBadge());
+
+            assertEquals(2, loads.get());
+        }
+
+        @Test
+        void invalidate_dropsAllTenantsOfTheUser() {
+            UserProfileCache cache = new UserProfileCache(10, 60);
+            AtomicInteger loads = new AtomicInteger();
+            read(cache, TENANT, loads, "u1");
+            read(cache, "acme", loads, "u1");
+
+            cache.invalidate(USER);
+
+            assertEquals("u2", read(cache, TENANT, loads, "u2").profileBadge());
+            assertEquals("u2", read(cache, "acme", loads, "u2").profileBadge());
+            assertEquals(4, loads.get());
+            assertEquals(1, cache.stats().invalidations());
+        }
+
+        @Test
+        void boundedByUserCount() {
+            UserProfileCache cache = new UserProfileCache(2, 60);
+            for (String user : List.of("a", "b", "c")) {
+                cache.get(TENANT, user, () -> snapshot(null));
+            }
+
+            assertEquals(2, cache.stats().users());
+        }
+
+        @Test
+        void zeroTtl_disablesCaching() {
+            UserProfileCache cache = new UserProfileCache(10, 0);
+            AtomicInteger loads = new AtomicInteger();
+
+            read(cache, TENANT, loads, "u1");
+            read(cache, TENANT, loads, "u1");
+
+            assertEquals(2, loads.get());
+            assertEquals(0, cache.stats().users());
+        }
+
+        @Test
+        void loadRacingAnInvalidation_isNotCached() {
+            UserProfileCache cache = new UserProfileCache(10, 60);
+            AtomicInteger loads = new AtomicInteger();
+
+            // The write lands while the old state is being read from Mongo.
+            UserProfileSnapshot stale = cache.get(TENANT, USER, () -> {
+                loads.incrementAndGet();
+                cache.invalidate(USER);
+                return snapshot("old");
+            });
+
+            assertEquals("old", stale.profileBadge());
+            assertEquals("new", read(cache, TENANT, loads, "new").profileBadge());
+            assertEquals(2, loads.get());
+        }
+    }
+
+    // ─── Invalidation by writers ───
+
+    @Nested
+    class Writers {
+
+        private UserProfileCache cache;
+        private AtomicInteger loads;
+
+        @BeforeEach
+        void setUp() {
+            cache = new UserProfileCache(100, 60);
+            loads = new AtomicInteger();
+            read(cache, TENANT, loads, "cached");
+        }
+
+        private void assertInvalidated() {
+            assertEquals("fresh", read(cache, TENANT, loads, "fresh").profileBadge());
+            assertEquals(2, loads.get());
+        }
+
+        @Test
+        void userSave_preferenceUpdate_invalidates() {
+            UserRepository userRepository = mock(UserRepository.class);
+            User user = new User();
+            user.setOauthUserId(USER);
+            user.setUsername("daniel");
+            when(userRepository.findByOauthUserId(USER)).thenReturn(Optional.of(user));
+            when(userRepository.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+            UserService userService = new UserService(userRepository, new UsernameCache(10, 300), cache);
+
+            userService.updateContentLanguagePreferences(USER,
+                    new UpdateContentLanguagePreferencesRequest(List.of("es"), null, null));
+
+            assertInvalidated();
+        }
+
+        @Test
+        void unrelatedUserSave_keepsEntry() {
+            UserRepository userRepository = mock(UserRepository.class);
+            UserService userService = new UserService(userRepository, new UsernameCache(10, 300), cache);
+            User other = new User();
+            other.setOauthUserId("someone-else");
+
+            userService.save(other);
+
+            assertEquals("cached", read(cache, TENANT, loads, "fresh").profileBadge());
+        }
+
+        @Test
+        void badgeClaim_invalidates() {
+            UserBadgeRepository badgeRepository = mock(UserBadgeRepository.class);
+            MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+            when(badgeRepository.hasActiveBadge(TENANT, USER, BadgeType.U1)).thenReturn(false);
+            when(badgeRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), any(Class.class)))
+                    .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+            UserBadgeService badges = new UserBadgeService(badgeRepository, mongoTemplate,
+                    mock(BackfillCheckpointRepository.class), cache, 500);
+
+            assertTrue(badges.claimCommunityBadge(TENANT, USER, 1).isPresent());
+
+            assertInvalidated();
+        }
+
+        @Test
+        void badgeExpiry_invalidates() {
+            UserBadgeRepository badgeRepository = mock(UserBadgeRepository.class);
+            MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EntryEntity.class))
+                    .thenReturn(mock(BulkOperations.class));
+            when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CollectionEntity.class))
+                    .thenReturn(mock(BulkOperations.class));
+            UserBadgeAssignment expired = new UserBadgeAssignment();
+            expired.setId("a1");
+            expired.setTenantId(TENANT);
+            expired.setUserId(USER);
+            expired.setBadgeType(BadgeType.U1);
+            expired.setStatus(BadgeAssignmentStatus.ACTIVE);
+            expired.setExpiresAt(LocalDateTime.now().minusDays(1));
+            when(badgeRepository.findExpiredAssignments(eq(TENANT), any(), anyInt())).thenReturn(List.of(expired));
+            when(badgeRepository.findUnexpiredByUsers(eq(TENANT), anyCollection(), any())).thenReturn(List.of());
+            when(badgeRepository.expireAssignments(eq(TENANT), anyCollection())).thenReturn(1L);
+            UserBadgeService badges = new UserBadgeService(badgeRepository, mongoTemplate,
+                    mock(BackfillCheckpointRepository.class), cache, 500);
+
+            badges.processExpiredBadges(TENANT);
+
+            assertInvalidated();
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package org.earnlumens.mediastore.application.user;
+
+import org.earnlumens.mediastore.domain.user.model.User;
+import org.earnlumens.mediastore.domain.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link UsernameCache} and the cached profile lookups in
+ * {@link UserService}: case-insensitive keys, LRU eviction, TTL, and
+ * eviction on save.
+ */
+class UsernameCacheTest {
+
+    private static UserSummary summary(String username) {
+        return new UserSummary("id-" + username, "oauth-" + username, username, username, "https://img", 1);
+    }
+
+    // ─── Cache ───
+
+    @Nested
+    class Cache {
+
+        @Test
+        void keysAreCaseInsensitive() {
+            UsernameCache cache = new UsernameCache(10, 300);
+            cache.put(summary("Daniel"));
+
+            assertEquals("Daniel", cache.get("daniel").username());
+            assertEquals("Daniel", cache.get("DANIEL").username());
+
+            cache.invalidate("dAnIeL");
+            assertNull(cache.get("Daniel"));
+        }
+
+        @Test
+        void evictsLeastRecentlyUsed() {
+            UsernameCache cache = new UsernameCache(2, 300);
+            cache.put(summary("a"));
+            cache.put(summary("b"));
+            cache.get("a"); // a is now the most recently used
+            cache.put(summary("c"));
+
+            assertNotNull(cache.get("a"));
+            assertNull(cache.get("b"));
+            assertNotNull(cache.get("c"));
+            assertEquals(2, cache.size());
+        }
+
+        @Test
+        void zeroTtl_disablesCaching() {
+            UsernameCache cache = new UsernameCache(10, 0);
+            cache.put(summary("a"));
+
+            assertNull(cache.get("a"));
+            assertEquals(0, cache.size());
+        }
+    }
+
+    // ─── UserService ───
+
+    @Nested
+    class Service {
+
+        private UserRepository userRepository;
+        private UserService userService;
+
+        @BeforeEach
+        void setUp() {
+            userRepository = mock(UserRepository.class);
+            userService = new UserService(userRepository, new UsernameCache(100, 300), new UserProfileCache(100, 60));
+        }
+
+        private User user(String username) {
+            User user = new User();
+            user.setId("id1");
+            user.setOauthUserId("oauth1");
+            user.setUsername(username);
+            return user;
+        }
+
+        @Test
+        void repeatedLookups_hitMongoOnce() {
+            when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user("Daniel")));
+
+            assertEquals("oauth1", userService.findSummaryByUsername("daniel").orElseThrow().oauthUserId());
+            assertEquals("oauth1", userService.findSummaryByUsername("Daniel").orElseThrow().oauthUserId());
+            assertTrue(userService.existsByUsername("DANIEL"));
+
+            verify(userRepository, times(1)).findByUsername(anyString());
+            verify(userRepository, never()).existsByUsername(anyString());
+        }
+
+        @Test
+        void misses_areNotCached() {
+            when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+            assertTrue(userService.findSummaryByUsername("ghost").isEmpty());
+            assertTrue(userService.findSummaryByUsername("ghost").isEmpty());
+
+            verify(userRepository, times(2)).findByUsername("ghost");
+        }
+
+        @Test
+        void save_evictsTheUsersName() {
+            User user = user("Daniel");
+            when(userRepository.findByUsername(anyString())).thenReturn(Optional.of(user));
+            when(userRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+            userService.findSummaryByUsername("daniel");
+
+            user.setDisplayName("New Name");
+            userService.save(user);
+
+            assertEquals("New Name", userService.findSummaryByUsername("daniel").orElseThrow().displayName());
+            verify(userRepository, times(2)).findByUsername(anyString());
+        }
+
+        @Test
+        void evictUsername_dropsARenamedUsersOldName() {
+            when(userRepository.findByUsername("old")).thenReturn(Optional.of(user("old")));
+            userService.findSummaryByUsername("old");
+
+            userService.evictUsername("old");
+            when(userRepository.findByUsername("old")).thenReturn(Optional.empty());
+
+            assertTrue(userService.findSummaryByUsername("old").isEmpty());
+        }
+    }
+}
@@ -57,6 +57,22 @@ class TenantIsolationArchTest {
             "ThumbnailJobRepository#findAllStaleJobs",
             // Platform-level cleanup job aborts stale PENDING upload sessions across all tenants
             "UploadSessionRepository#findByStatusAndCreatedAtBefore",
+            // Platform-level R2 deletion queue worker drains due items across all tenants;
+            // each item carries its own tenantId and only names an entry-scoped prefix
+            "R2DeletionTaskRepository#findByStatusAndNextAttemptAtBeforeOrderByNextAttemptAtAsc",
+            "R2DeletionTaskRepository#countByStatus",
+            // Queue worker claims a due item by its id, which already embeds the tenant
+            "R2DeletionTaskRepository#claim",
+            // Platform-level owner_stats reconciliation picks the least recently
+            // reconciled documents across all tenants; each rebuild is re-scoped
+            // by the document's own tenantId
+            "OwnerStatsRepository#findByReconciledAtBefore",
+            // Same scheme for subscription_counts: rebuilds are re-scoped by the
+            // document's own tenantId
+            "SubscriptionCountsRepository#findByReconciledAtBefore",
+            // One-shot platform backfill of report tallies from the reports
+            // collection; every tally it writes keeps its source tenantId
+            "ReportCounterRepository#rebuildFromReports",
             // Anti-replay guard: a Stellar tx hash is globally unique on-chain, so the
             // "already consumed" check MUST be cross-tenant — scoping it by tenant would
             // allow replaying the same on-chain payment in a different tenant.
@@ -0,0 +1,35 @@
+package org.earnlumens.mediastore.infrastructure.config;
+
+import com.mongodb.MongoCompressor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MongoPoolConfig#compressors}: the
+ * {@code MONGO_COMPRESSORS} preference list.
+ */
+class MongoPoolConfigTest {
+
+    private static List<String> names(String value) {
+        return MongoPoolConfig.compressors(value).stream().map(MongoCompressor::getName).toList();
+    }
+
+    @Test
+    void defaultList_keepsPreferenceOrder() {
+        assertEquals(List.of("zstd", "snappy", "zlib"), names("zstd,snappy,zlib"));
+    }
+
+    @Test
+    void whitespaceCaseAndUnknownNames_areTolerated() {
+        assertEquals(List.of("zlib", "zstd"), names(" ZLIB , lz4,zstd ,"));
+    }
+
+    @Test
+    void emptyOrNull_disablesCompression() {
+        assertTrue(names("").isEmpty());
+        assertTrue(names(null).isEmpty());
+    }
+}
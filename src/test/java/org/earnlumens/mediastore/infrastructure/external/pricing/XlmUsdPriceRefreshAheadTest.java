@@ -0,0 +1,236 @@
+package org.earnlumens.mediastore.infrastructure.external.pricing;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the refresh-ahead mode of {@link XlmUsdPriceService} against local
+ * fake price endpoints (one {@link HttpServer} serving Horizon, Coinbase,
+ * Kraken and CoinGecko shaped responses): parallel fetch with per-source
+ * timeouts, non-blocking readers, the staleness bound and divergence metrics.
+ */
+class XlmUsdPriceRefreshAheadTest {
+
+    private static final Duration SOURCE_TIMEOUT = Duration.ofMillis(300);
+
+    private HttpServer server;
+    private String baseUrl;
+    private final Map<String, FakeEndpoint> endpoints = new ConcurrentHashMap<>();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    /** What a fake endpoint answers: HTTP status, body, and a delay before answering. */
+    private record FakeEndpoint(int status, String body, long delayMs) {}
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            FakeEndpoint endpoint = endpoints.getOrDefault(exchange.getRequestURI().getPath(),
+                    new FakeEndpoint(404, "{}", 0));
+            try {
+                Thread.sleep(endpoint.delayMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = endpoint.body().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(endpoint.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            } catch (IOException ignored) {
+                // client gave up (timeout) — nothing to do
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        sdex(null, 0);
+        coinbase("0.1000", 0);
+        kraken("0.1002", 0);
+        coingecko("0.1004", 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    // ─── Fake endpoints ───
+
+    private void sdex(String mid, long delayMs) {
+        endpoints.put("/order_book", mid == null
+                ? new FakeEndpoint(200, "{\"bids\":[],\"asks\":[]}", delayMs)
+                : new FakeEndpoint(200, "{\"bids\":[{\"price\":\"" + mid + "\"}],\"asks\":[{\"price\":\"" + mid + "\"}]}",
+                        delayMs));
+    }
+
+    private void coinbase(String price, long delayMs) {
+        endpoints.put("/coinbase", new FakeEndpoint(200, "{\"price\":\"" + price + "\"}", delayMs));
+    }
+
+    private void kraken(String price, long delayMs) {
+        endpoints.put("/kraken", new FakeEndpoint(200,
+                "{\"error\":[],\"result\":{\"XXLMZUSD\":{\"c\":[\"" + price + "\",\"1.0\"]}}}", delayMs));
+    }
+
+    private void coingecko(String price, long delayMs) {
+        endpoints.put("/coingecko", new FakeEndpoint(200, "{\"stellar\":{\"usd\":" + price + "}}", delayMs));
+    }
+
+    private void allFail() {
+        endpoints.replaceAll((path, e) -> new FakeEndpoint(503, "{}", 0));
+    }
+
+    private XlmUsdPriceService service(Duration maxStaleness) {
+        List<XlmUsdPriceSource> sources = List.of(
+                new CoinbaseXlmPriceSource(httpClient, baseUrl + "/coinbase"),
+                new KrakenXlmPriceSource(httpClient, baseUrl + "/kraken"),
+                new CoinGeckoXlmPriceSource(httpClient, baseUrl + "/coingecko"));
+        return new XlmUsdPriceService(sources, new SdexXlmPriceSource(httpClient, baseUrl),
+                Duration.ofSeconds(60), true, SOURCE_TIMEOUT, maxStaleness);
+    }
+
+    private static XlmUsdPriceService.SourceQuote quote(XlmUsdPriceService service, String source) {
+        return service.lastQuotes().stream().filter(q -> q.source().equals(source)).findFirst().orElseThrow();
+    }
+
+    // ─── Parallel fetch ───
+
+    @Nested
+    class ParallelFetch {
+
+        @Test
+        void slowSource_isCutOffAtItsTimeout_othersStillCount() {
+            kraken("0.1002", 3_000);
+            XlmUsdPriceService service = service(Duration.ofMinutes(5));
+
+            long start = System.nanoTime();
+            service.refreshAhead();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(elapsedMs < 2_000, "refresh waited " + elapsedMs + " ms for a slow source");
+            PriceSnapshot snapshot = service.getPrice();
+            // SDEX orderbook empty, Kraken timed out → median of Coinbase and CoinGecko
+            assertEquals(0, new BigDecimal("0.1002").compareTo(snapshot.price()));
+            assertEquals("median(2 sources)", snapshot.sourceUsed());
+            assertTrue(quote(service, "kraken").timedOut());
+            assertFalse(quote(service, "sdex").ok());
+        }
+
+        @Test
+        void sourcesAreQueriedConcurrently() {
+            coinbase("0.1000", 200);
+            kraken("0.1002", 200);
+            coingecko("0.1004", 200);
+            sdex("0.1001", 200);
+            XlmUsdPriceService service = service(Duration.ofMinutes(5));
+
+            long start = System.nanoTime();
+            service.refreshAhead();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            // Sequential would be ≥ 800 ms.
+            assertTrue(elapsedMs < 700, "refresh took " + elapsedMs + " ms");
+            assertEquals("sdex", service.getPrice().sourceUsed());
+        }
+    }
+
+    // ─── Readers ───
+
+    @Nested
+    class Readers {
+
+        @Test
+        void beforeFirstRefresh_failFastInsteadOfBlocking() {
+            XlmUsdPriceService service = service(Duration.ofMinutes(5));
+
+            IllegalStateException ex = assertThrows(IllegalStateException.class, service::getPrice);
+            assertTrue(ex.getMessage().contains("not loaded"));
+        }
+
+        @Test
+        void duringSlowRefresh_readersGetLastGoodPriceImmediately() throws Exception {
+            XlmUsdPriceService service = service(Duration.ofMinutes(5));
+            service.refreshAhead();
+            PriceSnapshot published = service.getPrice();
+
+            coinbase("0.2000", 250);
+            kraken("0.2000", 250);
+            coingecko("0.2000", 250);
+            CompletableFuture<Void> refresh = CompletableFuture.runAsync(service::refreshAhead);
+            Thread.sleep(50); // refresh is now waiting on the endpoints
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 1_000; i++) {
+                assertSame(published, service.getPrice());
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            assertTrue(elapsedMs < 100, "1000 reads took " + elapsedMs + " ms");
+            refresh.get(5, TimeUnit.SECONDS);
+        }
+
+        @Test
+        void failingSources_keepLastGoodPrice_untilStalenessBound() throws Exception {
+            XlmUsdPriceService service = service(Duration.ofMillis(300));
+            service.refreshAhead();
+            PriceSnapshot published = service.getPrice();
+
+            allFail();
+            service.refreshAhead();
+            assertSame(published, service.getPrice());
+
+            Thread.sleep(400);
+            service.refreshAhead();
+            IllegalStateException ex = assertThrows(IllegalStateException.class, service::getPrice);
+            assertTrue(ex.getMessage().contains("stale"));
+        }
+    }
+
+    // ─── Divergence ───
+
+    @Nested
+    class Divergence {
+
+        @Test
+        void quotesCarryLatencyAndDivergenceFromPublishedPrice() {
+            sdex("0.1000", 0);
+            coinbase("0.1100", 0);
+            XlmUsdPriceService service = service(Duration.ofMinutes(5));
+
+            service.refreshAhead();
+
+            assertEquals("sdex", service.getPrice().sourceUsed());
+            XlmUsdPriceService.SourceQuote coinbase = quote(service, "coinbase");
+            assertTrue(coinbase.ok());
+            assertTrue(coinbase.latencyMs() >= 0);
+            assertEquals(1_000, XlmUsdPriceService.divergenceBps(coinbase.price(), service.getPrice().price()));
+        }
+
+        @Test
+        void divergenceBps_isSigned() {
+            assertEquals(-50, XlmUsdPriceService.divergenceBps(new BigDecimal("0.0995"), new BigDecimal("0.1000")));
+            assertEquals(0, XlmUsdPriceService.divergenceBps(new BigDecimal("0.1000"), new BigDecimal("0.1000")));
+        }
+    }
+}
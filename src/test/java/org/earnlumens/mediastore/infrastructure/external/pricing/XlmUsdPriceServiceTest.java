@@ -1,5 +1,6 @@
 package org.earnlumens.mediastore.infrastructure.external.pricing;
 
+import org.earnlumens.mediastore.infrastructure.lock.DistributedLockService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +16,8 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -22,7 +25,7 @@ import static org.mockito.Mockito.*;
  * <p>
  * Covers: initial load, cache TTL, incremental updates, spike detection (3% threshold),
  * median recalculation, source rotation, source failure/exception, boundary cases,
- * thread safety, and constructor validation.
+ * thread safety, CEX sampling behind SDEX, and constructor validation.
  */
 class XlmUsdPriceServiceTest {
 
@@ -493,6 +496,91 @@ class XlmUsdPriceServiceTest {
         verify(source1, times(1)).fetchPrice();
     }
 
+    // ═══ CEX Sampling (SDEX configured) ═════════════════════════
+
+    private XlmUsdPriceService createSdexService(SdexXlmPriceSource sdex, DistributedLockService lock) {
+        return new XlmUsdPriceService(List.of(source1, source2, source3), sdex, Duration.ofHours(1),
+                true, Duration.ofSeconds(5), Duration.ofDays(1), lock, Duration.ofMinutes(5));
+    }
+
+    private SdexXlmPriceSource sdexSource(Optional<BigDecimal> price) {
+        SdexXlmPriceSource sdex = mock(SdexXlmPriceSource.class);
+        when(sdex.name()).thenReturn("sdex");
+        when(sdex.fetchPrice()).thenReturn(price);
+        return sdex;
+    }
+
+    private void stubCexPrices() {
+        when(source1.fetchPrice()).thenReturn(Optional.of(bd("0.10")));
+        when(source2.fetchPrice()).thenReturn(Optional.of(bd("0.11")));
+        when(source3.fetchPrice()).thenReturn(Optional.of(bd("0.12")));
+    }
+
+    @Test
+    @DisplayName("sdex healthy: CEX sampled once per interval, not every round")
+    void sdexHealthy_cexSampledOncePerInterval() {
+        stubCexPrices();
+        DistributedLockService lock = mock(DistributedLockService.class);
+        when(lock.tryAcquire(eq(XlmUsdPriceService.CEX_SAMPLE_LOCK), any())).thenReturn(true);
+        XlmUsdPriceService service = createSdexService(sdexSource(Optional.of(bd("0.105"))), lock);
+
+        for (int i = 0; i < 5; i++) {
+            service.refreshAhead();
+        }
+
+        assertEquals("sdex", service.getPrice().sourceUsed());
+        verify(source1, times(1)).fetchPrice();
+        verify(source2, times(1)).fetchPrice();
+        verify(source3, times(1)).fetchPrice();
+        verify(lock, times(1)).tryAcquire(eq(XlmUsdPriceService.CEX_SAMPLE_LOCK), any());
+        assertEquals(1, service.lastQuotes().size()); // later rounds: SDEX only
+    }
+
+    @Test
+    @DisplayName("sdex healthy: lease held by another instance → CEX never queried")
+    void sdexHealthy_lockHeldElsewhere_cexNotQueried() {
+        stubCexPrices();
+        DistributedLockService lock = mock(DistributedLockService.class);
+        when(lock.tryAcquire(eq(XlmUsdPriceService.CEX_SAMPLE_LOCK), any())).thenReturn(false);
+        XlmUsdPriceService service = createSdexService(sdexSource(Optional.of(bd("0.105"))), lock);
+
+        service.refreshAhead();
+        service.refreshAhead();
+
+        assertEquals("sdex", service.getPrice().sourceUsed());
+        verify(source1, never()).fetchPrice();
+        verify(source2, never()).fetchPrice();
+        verify(source3, never()).fetchPrice();
+    }
+
+    @Test
+    @DisplayName("sdex down: CEX queried as fallback on every round")
+    void sdexDown_cexQueriedAsFallback() {
+        stubCexPrices();
+        DistributedLockService lock = mock(DistributedLockService.class);
+        when(lock.tryAcquire(eq(XlmUsdPriceService.CEX_SAMPLE_LOCK), any())).thenReturn(false);
+        XlmUsdPriceService service = createSdexService(sdexSource(Optional.empty()), lock);
+
+        service.refreshAhead();
+        assertEquals("median(3 sources)", service.getPrice().sourceUsed());
+        service.refreshAhead();
+
+        verify(source1, times(2)).fetchPrice();
+        verify(source2, times(2)).fetchPrice();
+        verify(source3, times(2)).fetchPrice();
+    }
+
+    @Test
+    @DisplayName("shutdown: stops the fetch executor")
+    void shutdown_stopsFetching() {
+        stubCexPrices();
+        XlmUsdPriceService service = createService(Duration.ofHours(1));
+
+        service.shutdown();
+
+        assertThrows(RuntimeException.class, service::getPrice);
+    }
+
     // ═══ Constructor Validation ═══════════════════════════════
 
     @Test
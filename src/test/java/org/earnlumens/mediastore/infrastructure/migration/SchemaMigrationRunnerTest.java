@@ -0,0 +1,120 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import org.bson.Document;
+import org.earnlumens.mediastore.infrastructure.lock.DistributedLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link SchemaMigrationRunner}: the single version check on an
+ * up-to-date schema, cluster-wide exclusion and stop-on-failure ordering.
+ */
+class SchemaMigrationRunnerTest {
+
+    private MongoTemplate mongoTemplate;
+    private DistributedLockService lockService;
+    private List<Integer> ran;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        lockService = mock(DistributedLockService.class);
+        ran = new ArrayList<>();
+        when(lockService.tryAcquire(eq(SchemaMigrationRunner.LOCK_NAME), any())).thenReturn(true);
+    }
+
+    private SchemaMigrationRunner runner(SchemaMigration... migrations) {
+        return new SchemaMigrationRunner(List.of(migrations), mongoTemplate, lockService, 60, true);
+    }
+
+    private void applied(Integer... versions) {
+        when(mongoTemplate.findDistinct(any(Query.class), eq("_id"), eq(SchemaMigrationRunner.COLLECTION), eq(Integer.class)))
+                .thenReturn(List.of(versions));
+    }
+
+    private SchemaMigration migration(int version) {
+        return new SchemaMigration() {
+            @Override public int version() { return version; }
+            @Override public String description() { return "V" + version; }
+            @Override public void migrate() { ran.add(version); }
+        };
+    }
+
+    private SchemaMigration failing(int version) {
+        return new SchemaMigration() {
+            @Override public int version() { return version; }
+            @Override public String description() { return "broken"; }
+            @Override public void migrate() { throw new IllegalStateException("boom"); }
+        };
+    }
+
+    @Test
+    void upToDate_costsOneQueryAndNoLock() {
+        applied(1, 2);
+
+        assertEquals(0, runner(migration(2), migration(1)).runPending());
+
+        verify(mongoTemplate, times(1)).findDistinct(any(Query.class), any(), any(String.class), any(Class.class));
+        verifyNoInteractions(lockService);
+        assertTrue(ran.isEmpty());
+    }
+
+    @Test
+    void pending_appliedInVersionOrderAndRecorded() {
+        applied(1);
+
+        assertEquals(2, runner(migration(3), migration(1), migration(2)).runPending());
+
+        assertEquals(List.of(2, 3), ran);
+        ArgumentCaptor<Document> records = ArgumentCaptor.forClass(Document.class);
+        verify(mongoTemplate, times(2)).insert(records.capture(), eq(SchemaMigrationRunner.COLLECTION));
+        assertEquals(List.of(2, 3), records.getAllValues().stream().map(d -> d.getInteger("_id")).toList());
+    }
+
+    @Test
+    void lockHeldElsewhere_skips() {
+        applied();
+        when(lockService.tryAcquire(eq(SchemaMigrationRunner.LOCK_NAME), any())).thenReturn(false);
+
+        assertEquals(0, runner(migration(1)).runPending());
+
+        assertTrue(ran.isEmpty());
+        verify(mongoTemplate, never()).insert(any(Document.class), any(String.class));
+    }
+
+    @Test
+    void failure_stopsTheRunAndLeavesLaterVersionsPending() {
+        applied();
+
+        assertEquals(1, runner(migration(1), failing(2), migration(3)).runPending());
+
+        assertEquals(List.of(1), ran);
+        verify(mongoTemplate, times(1)).insert(any(Document.class), eq(SchemaMigrationRunner.COLLECTION));
+    }
+
+    @Test
+    void alreadyRecordedVersion_isNotAFailure() {
+        applied();
+        when(mongoTemplate.insert(any(Document.class), eq(SchemaMigrationRunner.COLLECTION)))
+                .thenThrow(new DuplicateKeyException("dup"));
+
+        assertEquals(2, runner(migration(1), migration(2)).runPending());
+    }
+
+    @Test
+    void duplicateVersions_areRejectedAtStartup() {
+        assertThrows(IllegalStateException.class, () -> runner(migration(4), migration(4)));
+    }
+}
@@ -0,0 +1,158 @@
+package org.earnlumens.mediastore.infrastructure.migration;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.earnlumens.mediastore.domain.media.model.OrderStatus;
+import org.earnlumens.mediastore.infrastructure.persistence.media.adapter.OrderRepositoryImpl;
+import org.earnlumens.mediastore.infrastructure.persistence.media.adapter.SellerSalesDayRepositoryImpl;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.OrderEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.OrderMapper;
+import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.SellerSalesDayMapper;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.OrderMongoRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link SellerSalesRollupMigration}: the seed never counts an
+ * order the live payment path already counted, and adds to (never replaces)
+ * rows live sales wrote before the migration ran.
+ */
+class SellerSalesRollupMigrationTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final String SELLER = "seller-1";
+
+    private static Document stage(String name) {
+        return SellerSalesRollupMigration.seedPipeline().stream()
+                .filter(stage -> stage.containsKey(name))
+                .findFirst()
+                .map(stage -> stage.get(name, Document.class))
+                .orElseThrow();
+    }
+
+    @Test
+    void completionCas_marksTheOrderAsCountedLive() {
+        MongoTemplate template = mock(MongoTemplate.class);
+        OrderRepositoryImpl orders = new OrderRepositoryImpl(
+                mock(OrderMongoRepository.class), mock(OrderMapper.class), template);
+
+        orders.tryComplete(TENANT, "o1", "tx", LocalDateTime.now(ZoneOffset.UTC));
+
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(template).findAndModify(any(Query.class), update.capture(),
+                any(FindAndModifyOptions.class), eq(OrderEntity.class));
+        assertEquals(true, update.getValue().getUpdateObject().get("$set", Document.class)
+                .get(OrderEntity.LIVE_ROLLUP));
+    }
+
+    @Test
+    void seed_skipsOrdersCountedLive() {
+        Document match = stage("$match");
+
+        assertEquals("COMPLETED", match.get("status"));
+        assertEquals(new Document("$ne", true), match.get(OrderEntity.LIVE_ROLLUP));
+    }
+
+    @Test
+    void seed_addsToExistingRowsInsteadOfReplacing() {
+        Document merge = stage("$merge");
+
+        assertInstanceOf(List.class, merge.get("whenMatched"), "whenMatched must be an update pipeline");
+        String pipeline = new Document("p", merge.get("whenMatched")).toJson();
+        assertTrue(pipeline.contains("$$new.orders"));
+        assertTrue(pipeline.contains("$seeded"));
+    }
+
+    // ─── Against MongoDB ───
+
+    /**
+     * A live sale {@code $inc}-upserts a seller-day row before V5 runs (the
+     * runner starts after the application is ready). Needs a MongoDB, so it runs with
+     * {@code ./gradlew indexAudit [-PindexAuditMongoUri=mongodb://…]}.
+     */
+    @Nested
+    @Tag("index-audit")
+    @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+    class AgainstMongo {
+
+        private static final String DAY = "2026-10-01";
+
+        private MongoClient client;
+        private String database;
+        private MongoTemplate template;
+
+        @BeforeAll
+        void setUp() {
+            client = MongoClients.create(System.getProperty("indexAudit.mongoUri", "mongodb://localhost:27017"));
+            database = "rollup_seed_" + System.currentTimeMillis();
+            template = new MongoTemplate(client, database);
+        }
+
+        @AfterAll
+        void tearDown() {
+            if (client != null) {
+                client.getDatabase(database).drop();
+                client.close();
+            }
+        }
+
+        private void insertCompletedOrder(String id, String amountXlm, boolean liveRollup) {
+            Document order = new Document("_id", id)
+                    .append("tenantId", TENANT)
+                    .append("sellerId", SELLER)
+                    .append("status", OrderStatus.COMPLETED.name())
+                    .append("amountXlm", new Decimal128(new BigDecimal(amountXlm)))
+                    .append("completedAt", Date.from(LocalDateTime.parse(DAY + "T12:00:00").toInstant(ZoneOffset.UTC)))
+                    .append("paymentSplits", List.of(new Document("role", "SELLER")
+                            .append("percent", new Decimal128(new BigDecimal("90")))));
+            if (liveRollup) {
+                order.append(OrderEntity.LIVE_ROLLUP, true);
+            }
+            template.getCollection("orders").insertOne(order);
+        }
+
+        @Test
+        void liveSaleBeforeTheSeed_isKeptAndLegacyOrdersAreAddedOnce() {
+            // One order completed before the live rollup existed…
+            insertCompletedOrder("legacy", "10", false);
+            // …and one completed (and counted) by the live path before V5 ran.
+            insertCompletedOrder("live", "5", true);
+            new SellerSalesDayRepositoryImpl(template, Mappers.getMapper(SellerSalesDayMapper.class))
+                    .incrementByTenantIdAndSellerIdAndDay(TENANT, SELLER, DAY, 1, 50_000_000L, 45_000_000L);
+
+            SellerSalesRollupMigration migration = new SellerSalesRollupMigration(new MigrationOps(template, 500, 0));
+            migration.migrate();
+            migration.migrate(); // a re-run after a partial $merge must not add again
+
+            Document row = template.getCollection("seller_sales_daily")
+                    .find(new Document("_id", TENANT + ":" + SELLER + ":" + DAY)).first();
+            assertNotNull(row);
+            assertEquals(2L, ((Number) row.get("orders")).longValue());
+            assertEquals(150_000_000L, ((Number) row.get("grossStroops")).longValue());
+            assertEquals(135_000_000L, ((Number) row.get("sellerStroops")).longValue());
+        }
+    }
+}
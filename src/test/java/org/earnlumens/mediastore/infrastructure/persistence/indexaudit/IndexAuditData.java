@@ -0,0 +1,288 @@
+package org.earnlumens.mediastore.infrastructure.persistence.indexaudit;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Representative data for the index audit: two tenants, a few hundred users
+ * and creators, thousands of entries in every status, collections,
+ * entitlements, orders, subscriptions, favorites, ratings and badges.
+ *
+ * <p>Volumes are big enough that the query planner has real choices (and a
+ * collection scan is visibly worse than an index scan), small enough to seed
+ * in a few seconds. Values are deterministic so failures reproduce.
+ */
+final class IndexAuditData {
+
+    static final String TENANT = "earnlumens";
+    static final String OTHER_TENANT = "acme";
+
+    static final int USERS = 400;
+    static final int CREATORS = 60;
+    static final int ENTRIES = 6_000;
+    static final int COLLECTIONS = 600;
+    static final int ENTITLEMENTS = 4_000;
+    static final int ORDERS = 4_000;
+    static final int SUBSCRIPTIONS = 4_000;
+    static final int FAVORITES = 3_000;
+    static final int RATINGS = 3_000;
+
+    private static final String[] TYPES = {"VIDEO", "AUDIO", "IMAGE", "RESOURCE"};
+    private static final String[] ENTRY_STATUSES = {"PUBLISHED", "PUBLISHED", "PUBLISHED", "DRAFT", "IN_REVIEW", "ARCHIVED"};
+    private static final String[] ORDER_STATUSES = {"COMPLETED", "COMPLETED", "COMPLETED", "PENDING", "FAILED", "EXPIRED"};
+    private static final String[] LANGUAGES = {"en", "es", "multi"};
+    private static final String[] WORDS = {"sunset", "guitar", "lesson", "city", "night", "drone", "recipe", "tour", "live", "beats"};
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    /** Sample values the audit cases look up — all exist in the seeded data. */
+    final String userOauthId;
+    final String creatorOauthId;
+    final String creatorUsernameLower;
+    final String tempUUID = "0f8f2b52-6d1e-4f0c-9a53-1c9d2c3a4b5c";
+    final String entryId;
+    final List<String> entryIds = new ArrayList<>();
+    final String collectionId;
+    final String stellarTxHash;
+    final String orderId;
+    final String spaceId = "space-music";
+
+    private final Random random = new Random(42);
+
+    private IndexAuditData(MongoTemplate template) {
+        userOauthId = oauthId(7);
+        creatorOauthId = oauthId(3);
+        creatorUsernameLower = username(3).toLowerCase();
+
+        seedUsers(template);
+        List<ObjectId> entries = seedEntries(template);
+        entryId = entries.get(0).toHexString();
+        for (int i = 0; i < 20; i++) {
+            entryIds.add(entries.get(i * 7).toHexString());
+        }
+        List<ObjectId> collections = seedCollections(template, entries);
+        collectionId = collections.get(0).toHexString();
+        seedEntitlements(template, entries);
+        ObjectId order = seedOrders(template, entries);
+        orderId = order.toHexString();
+        stellarTxHash = txHash(0);
+        seedSubscriptions(template);
+        seedFavorites(template, entries);
+        seedRatings(template, entries);
+        seedBadges(template);
+    }
+
+    static IndexAuditData seed(MongoTemplate template) {
+        return new IndexAuditData(template);
+    }
+
+    // ─── Collections ───
+
+    private void seedUsers(MongoTemplate template) {
+        List<Document> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            Document user = new Document("_id", new ObjectId())
+                    .append("oauthProvider", "x")
+                    .append("oauthUserId", oauthId(i))
+                    .append("username", username(i))
+                    .append("usernameLower", username(i).toLowerCase())
+                    .append("displayName", "User " + i)
+                    .append("followersCount", random.nextInt(50_000))
+                    .append("createdAt", date(i))
+                    .append("lastLoginAt", date(i + 30));
+            if (i == 7) {
+                user.append("tempUUID", tempUUID);
+            }
+            users.add(user);
+        }
+        template.getCollection("users").insertMany(users);
+    }
+
+    private List<ObjectId> seedEntries(MongoTemplate template) {
+        List<Document> docs = new ArrayList<>(ENTRIES);
+        List<ObjectId> ids = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            int creator = i % CREATORS;
+            ObjectId id = new ObjectId();
+            ids.add(id);
+            String title = WORDS[i % WORDS.length] + " " + WORDS[(i / 3) % WORDS.length] + " #" + i;
+            docs.add(new Document("_id", id)
+                    .append("tenantId", i % 10 == 9 ? OTHER_TENANT : TENANT)
+                    .append("userId", oauthId(creator))
+                    .append("authorUsername", username(creator))
+                    .append("authorUsernameLower", username(creator).toLowerCase())
+                    .append("authorBadge", creator % 5 == 0 ? "u1" : null)
+                    .append("title", title)
+                    .append("titleLower", title.toLowerCase())
+                    .append("description", "About " + title)
+                    .append("tags", List.of(WORDS[(i + 1) % WORDS.length], WORDS[(i + 4) % WORDS.length]))
+                    .append("type", TYPES[i % TYPES.length])
+                    .append("status", ENTRY_STATUSES[i % ENTRY_STATUSES.length])
+                    .append("visibility", "PUBLIC")
+                    .append("isPaid", i % 3 == 0)
+                    .append("spaceIds", i % 4 == 0 ? List.of(spaceId) : List.of())
+                    .append("contentLanguage", LANGUAGES[i % LANGUAGES.length])
+                    .append("viewCount", (long) random.nextInt(10_000))
+                    .append("createdAt", date(i))
+                    .append("publishedAt", date(i + 1)));
+        }
+        template.getCollection("entries").insertMany(docs);
+        return ids;
+    }
+
+    private List<ObjectId> seedCollections(MongoTemplate template, List<ObjectId> entries) {
+        List<Document> docs = new ArrayList<>(COLLECTIONS);
+        List<ObjectId> ids = new ArrayList<>(COLLECTIONS);
+        for (int i = 0; i < COLLECTIONS; i++) {
+            int creator = i % CREATORS;
+            ObjectId id = new ObjectId();
+            ids.add(id);
+            List<Document> items = new ArrayList<>();
+            for (int p = 0; p < 5; p++) {
+                items.add(new Document("entryId", entries.get((i * 5 + p) % entries.size()).toHexString())
+                        .append("position", p));
+            }
+            String title = "Pack " + WORDS[i % WORDS.length] + " " + i;
+            docs.add(new Document("_id", id)
+                    .append("tenantId", i % 10 == 9 ? OTHER_TENANT : TENANT)
+                    .append("userId", oauthId(creator))
+                    .append("authorUsername", username(creator))
+                    .append("authorUsernameLower", username(creator).toLowerCase())
+                    .append("authorBadge", creator % 5 == 0 ? "u1" : null)
+                    .append("title", title)
+                    .append("description", "Collection " + title)
+                    .append("collectionType", i % 2 == 0 ? "CATALOG" : "COURSE")
+                    .append("status", i % 4 == 3 ? "DRAFT" : "PUBLISHED")
+                    .append("visibility", i % 5 == 4 ? "UNLISTED" : "PUBLIC")
+                    .append("isPaid", i % 2 == 0)
+                    .append("items", items)
+                    .append("contentLanguage", LANGUAGES[i % LANGUAGES.length])
+                    .append("createdAt", date(i))
+                    .append("publishedAt", date(i + 1)));
+        }
+        template.getCollection("collections").insertMany(docs);
+        return ids;
+    }
+
+    private void seedEntitlements(MongoTemplate template, List<ObjectId> entries) {
+        List<Document> docs = new ArrayList<>(ENTITLEMENTS);
+        for (int i = 0; i < ENTITLEMENTS; i++) {
+            // user i % USERS holds entries i, i + USERS, … — unique per (user, entry).
+            docs.add(new Document("_id", new ObjectId())
+                    .append("tenantId", TENANT)
+                    .append("userId", oauthId(i % USERS))
+                    .append("targetType", "ENTRY")
+                    .append("entryId", entries.get(i % entries.size()).toHexString())
+                    .append("grantType", "PURCHASE")
+                    .append("status", i % 20 == 19 ? "REVOKED" : "ACTIVE")
+                    .append("grantedAt", date(i)));
+        }
+        template.getCollection("entitlements").insertMany(docs);
+    }
+
+    private ObjectId seedOrders(MongoTemplate template, List<ObjectId> entries) {
+        List<Document> docs = new ArrayList<>(ORDERS);
+        ObjectId first = null;
+        for (int i = 0; i < ORDERS; i++) {
+            ObjectId id = new ObjectId();
+            if (first == null) {
+                first = id;
+            }
+            String status = ORDER_STATUSES[i % ORDER_STATUSES.length];
+            docs.add(new Document("_id", id)
+                    .append("tenantId", TENANT)
+                    .append("userId", oauthId(i % USERS))
+                    .append("targetType", "ENTRY")
+                    .append("entryId", entries.get(i % entries.size()).toHexString())
+                    .append("sellerId", oauthId(i % CREATORS))
+                    .append("status", status)
+                    .append("stellarTxHash", txHash(i))
+                    .append("createdAt", date(i))
+                    .append("completedAt", "COMPLETED".equals(status) ? date(i + 1) : null)
+                    .append("expiresAt", date(i + 2)));
+        }
+        template.getCollection("orders").insertMany(docs);
+        return first;
+    }
+
+    private void seedSubscriptions(MongoTemplate template) {
+        List<Document> docs = new ArrayList<>(SUBSCRIPTIONS);
+        for (int i = 0; i < SUBSCRIPTIONS; i++) {
+            // subscriber i % USERS follows creator (i / USERS) — unique per pair.
+            docs.add(new Document("_id", new ObjectId())
+                    .append("tenantId", TENANT)
+                    .append("subscriberId", oauthId(i % USERS))
+                    .append("targetUserId", oauthId(i / USERS))
+                    .append("subscribedAt", date(i)));
+        }
+        template.getCollection("subscriptions").insertMany(docs);
+    }
+
+    private void seedFavorites(MongoTemplate template, List<ObjectId> entries) {
+        List<Document> docs = new ArrayList<>(FAVORITES);
+        for (int i = 0; i < FAVORITES; i++) {
+            docs.add(new Document("_id", new ObjectId())
+                    .append("tenantId", TENANT)
+                    .append("userId", oauthId(i % USERS))
+                    .append("itemId", entries.get(i).toHexString())
+                    .append("itemType", "ENTRY")
+                    .append("addedAt", date(i)));
+        }
+        template.getCollection("favorites").insertMany(docs);
+    }
+
+    private void seedRatings(MongoTemplate template, List<ObjectId> entries) {
+        List<Document> docs = new ArrayList<>(RATINGS);
+        for (int i = 0; i < RATINGS; i++) {
+            // rater i % USERS rates entry (i / USERS) — unique per (user, target).
+            docs.add(new Document("_id", new ObjectId())
+                    .append("tenantId", TENANT)
+                    .append("targetType", "ENTRY")
+                    .append("targetId", entries.get(i / USERS).toHexString())
+                    .append("userId", oauthId(i % USERS))
+                    .append("liked", i % 4 != 0)
+                    .append("proofType", "PURCHASE")
+                    .append("createdAt", date(i)));
+        }
+        template.getCollection("ratings").insertMany(docs);
+    }
+
+    private void seedBadges(MongoTemplate template) {
+        List<Document> docs = new ArrayList<>(CREATORS);
+        for (int i = 0; i < CREATORS; i += 5) {
+            docs.add(new Document("_id", new ObjectId())
+                    .append("tenantId", TENANT)
+                    .append("userId", oauthId(i))
+                    .append("badgeType", "U1")
+                    .append("status", "ACTIVE")
+                    .append("createdAt", date(i))
+                    .append("expiresAt", date(i + 365)));
+        }
+        template.getCollection("user_badge_assignments").insertMany(docs);
+    }
+
+    // ─── Values ───
+
+    static String oauthId(int i) {
+        return String.valueOf(1_000_000L + i);
+    }
+
+    static String username(int i) {
+        return (i < CREATORS ? "Creator_" : "Fan_") + i;
+    }
+
+    private static String txHash(int i) {
+        return String.format("%064x", i + 1);
+    }
+
+    private static Date date(int offsetHours) {
+        return Date.from(EPOCH.plusHours(offsetHours).toInstant(ZoneOffset.UTC));
+    }
+}
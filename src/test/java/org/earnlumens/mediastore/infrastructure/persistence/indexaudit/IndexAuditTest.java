@@ -0,0 +1,403 @@
+package org.earnlumens.mediastore.infrastructure.persistence.indexaudit;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.earnlumens.mediastore.domain.media.model.LanguageFilter;
+import org.earnlumens.mediastore.infrastructure.migration.HotFeedIndexMigration;
+import org.earnlumens.mediastore.infrastructure.migration.MigrationOps;
+import org.earnlumens.mediastore.infrastructure.migration.OwnerStatsIndexMigration;
+import org.earnlumens.mediastore.infrastructure.migration.PurchaseLibraryIndexMigration;
+import org.earnlumens.mediastore.infrastructure.migration.R2DeletionQueueIndexMigration;
+import org.earnlumens.mediastore.infrastructure.migration.SchemaMigration;
+import org.earnlumens.mediastore.infrastructure.migration.SearchTextIndexMigration;
+import org.earnlumens.mediastore.infrastructure.migration.SellerSalesRollupMigration;
+import org.earnlumens.mediastore.infrastructure.migration.SubscriptionIndexMigration;
+import org.earnlumens.mediastore.infrastructure.migration.UserLookupIndexMigration;
+import org.earnlumens.mediastore.infrastructure.migration.UsernameLowerIndexMigration;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.CollectionMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntitlementMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntitlementMongoRepositoryCustomImpl;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntryMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntryMongoRepositoryCustomImpl;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.FavoriteMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.OrderMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.RatingMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.earnlumens.mediastore.infrastructure.persistence.subscription.repository.SubscriptionMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.user.repository.UserBadgeMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.user.repository.UserMongoRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Index-coverage audit: runs every hot repository query shape against a real
+ * MongoDB seeded with {@link IndexAuditData}, explains the commands Spring
+ * Data actually sent ({@link QueryCapture}) and fails a hot query whose plan
+ * has a {@code COLLSCAN} or an in-memory {@code SORT}.
+ *
+ * <p>The throwaway database gets the indexes production has: every
+ * {@code @CompoundIndex} declared on an entity plus the index-building
+ * {@code SchemaMigration}s ({@code auto-index-creation} is off, so neither
+ * source alone is complete). Cold queries (workers, creator dashboards over
+ * bounded per-owner sets) are explained and reported but never fail.
+ *
+ * <p>Not part of {@code ./gradlew test}: needs a MongoDB, so it runs with
+ * {@code ./gradlew indexAudit [-PindexAuditMongoUri=mongodb://…]} and writes
+ * {@code build/reports/index-audit/index-audit.md}.
+ */
+@Tag("index-audit")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IndexAuditTest {
+
+    private static final String ENTITY_PACKAGE = "org.earnlumens.mediastore.infrastructure.persistence";
+    private static final String TENANT = IndexAuditData.TENANT;
+
+    /** One query shape: what to call, and whether it is on a hot request path. */
+    private record AuditCase(String name, boolean hot, Executable call) {}
+
+    /** Result of one case, kept for the report. */
+    private record Audited(AuditCase auditCase, List<QueryPlan> plans, String failure) {}
+
+    private final QueryCapture capture = new QueryCapture();
+    private final Map<String, Audited> results = new ConcurrentHashMap<>();
+    private final List<String> declaredIndexFailures = new ArrayList<>();
+
+    private MongoClient client;
+    private MongoTemplate template;
+    private String database;
+    private IndexAuditData data;
+
+    private UserMongoRepository users;
+    private UserBadgeMongoRepository badges;
+    private EntryMongoRepository entries;
+    private CollectionMongoRepository collections;
+    private EntitlementMongoRepository entitlements;
+    private OrderMongoRepository orders;
+    private SubscriptionMongoRepository subscriptions;
+    private FavoriteMongoRepository favorites;
+    private RatingMongoRepository ratings;
+
+    @BeforeAll
+    void setUp() throws Exception {
+        String uri = System.getProperty("indexAudit.mongoUri", "mongodb://localhost:27017");
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .addCommandListener(capture)
+                .build());
+        database = "index_audit_" + System.currentTimeMillis();
+        template = new MongoTemplate(client, database);
+
+        data = IndexAuditData.seed(template);
+        createDeclaredIndexes();
+        createMigrationIndexes();
+
+        MongoRepositoryFactory factory = new MongoRepositoryFactory(template);
+        users = factory.getRepository(UserMongoRepository.class);
+        badges = factory.getRepository(UserBadgeMongoRepository.class);
+        entries = factory.getRepository(EntryMongoRepository.class,
+                RepositoryFragments.just(new EntryMongoRepositoryCustomImpl(template, MongoReadRouter.primaryOnly(template))));
+        collections = factory.getRepository(CollectionMongoRepository.class);
+        entitlements = factory.getRepository(EntitlementMongoRepository.class,
+                RepositoryFragments.just(new EntitlementMongoRepositoryCustomImpl(template)));
+        orders = factory.getRepository(OrderMongoRepository.class);
+        subscriptions = factory.getRepository(SubscriptionMongoRepository.class);
+        favorites = factory.getRepository(FavoriteMongoRepository.class);
+        ratings = factory.getRepository(RatingMongoRepository.class);
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        try {
+            writeReport();
+        } finally {
+            if (client != null) {
+                client.getDatabase(database).drop();
+                client.close();
+            }
+        }
+    }
+
+    // ─── Indexes ───
+
+    /** Every {@code @CompoundIndex} / {@code @Indexed} on a {@code @Document} entity, as Spring resolves them. */
+    private void createDeclaredIndexes() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(org.springframework.data.mongodb.core.mapping.Document.class));
+        IndexResolver resolver = IndexResolver.create(template.getConverter().getMappingContext());
+
+        for (BeanDefinition candidate : scanner.findCandidateComponents(ENTITY_PACKAGE)) {
+            Class<?> entity = Class.forName(candidate.getBeanClassName());
+            for (IndexDefinition index : resolver.resolveIndexFor(entity)) {
+                try {
+                    template.indexOps(entity).createIndex(index);
+                } catch (RuntimeException e) {
+                    // Reported, not fatal: the declaration does not match what can exist in production.
+                    declaredIndexFailures.add(entity.getSimpleName() + " " + index.getIndexKeys().toJson()
+                            + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** The index-building migrations; data-only ones (V1, V8) are skipped. */
+    private void createMigrationIndexes() throws Exception {
+        MigrationOps ops = new MigrationOps(template, 500, 0);
+        List<SchemaMigration> migrations = List.of(
+                new HotFeedIndexMigration(ops),
+                new SearchTextIndexMigration(ops),
+                new R2DeletionQueueIndexMigration(ops),
+                new SellerSalesRollupMigration(ops),
+                new OwnerStatsIndexMigration(ops),
+                new PurchaseLibraryIndexMigration(ops),
+                new SubscriptionIndexMigration(ops),
+                new UsernameLowerIndexMigration(ops),
+                new UserLookupIndexMigration(ops));
+        for (SchemaMigration migration : migrations) {
+            migration.migrate();
+        }
+    }
+
+    // ─── Cases ───
+
+    private List<AuditCase> cases() {
+        String creator = data.creatorOauthId;
+        String author = data.creatorUsernameLower;
+        String user = data.userOauthId;
+        LanguageFilter english = new LanguageFilter(List.of("en"), true, false);
+        PageRequest page = PageRequest.of(0, 20);
+
+        return List.of(
+                // users — profile and login paths
+                hot("users.findByUsernameLower", () -> users.findByUsernameLower(author)),
+                hot("users.existsByUsernameLower", () -> users.existsByUsernameLower(author)),
+                hot("users.findByOauthUserId", () -> users.findByOauthUserId(user)),
+                hot("users.existsByOauthUserId", () -> users.existsByOauthUserId(user)),
+                hot("users.findByTempUUID", () -> users.findByTempUUID(data.tempUUID)),
+                hot("user_badge_assignments.findByTenantIdAndUserIdAndStatus",
+                        () -> badges.findByTenantIdAndUserIdAndStatus(TENANT, creator, "ACTIVE")),
+
+                // entries — detail, feeds, search
+                hot("entries.findByTenantIdAndId", () -> entries.findByTenantIdAndId(TENANT, data.entryId)),
+                hot("entries.findByTenantIdAndIdIn", () -> entries.findByTenantIdAndIdIn(TENANT, data.entryIds)),
+                hot("entries.incrementViewCounts",
+                        () -> entries.incrementViewCounts(TENANT, Map.of(data.entryId, 1L))),
+                hot("entries.findPublicOwnerIdsByTenantIdAndIdIn",
+                        () -> entries.findPublicOwnerIdsByTenantIdAndIdIn(TENANT, data.entryIds)),
+                hot("entries.findByTenantIdAndStatusOrderByPublishedAtDesc",
+                        () -> entries.findByTenantIdAndStatusOrderByPublishedAtDesc(TENANT, "PUBLISHED", page)),
+                // EntryRepositoryImpl.findByTenantIdAndSpaceIdAndStatus (routed template query)
+                hot("entries.spaceFeed", () -> template.find(new Query(Criteria.where("tenantId").is(TENANT)
+                        .and("spaceIds").is(data.spaceId).and("status").is("PUBLISHED"))
+                        .with(Sort.by(Sort.Direction.DESC, "publishedAt")).with(page), EntryEntity.class)),
+                hot("entries.authorFeed", () -> entries.findByTenantIdAndAuthorUsernameLowerAndStatusOrderByPublishedAtDesc(
+                        TENANT, author, "PUBLISHED", page)),
+                hot("entries.authorFeedByType",
+                        () -> entries.findByTenantIdAndAuthorUsernameLowerAndStatusAndTypeOrderByPublishedAtDesc(
+                                TENANT, author, "PUBLISHED", "VIDEO", page)),
+                hot("entries.findExploreFeed", () -> entries.findExploreFeed(
+                        TENANT, null, null, "newest", LanguageFilter.NONE, 0, 24)),
+                hot("entries.findExploreFeed(type, language)", () -> entries.findExploreFeed(
+                        TENANT, "VIDEO", null, "newest", english, 0, 24)),
+                hot("entries.findCommunityFeed", () -> entries.findCommunityFeed(
+                        TENANT, "u1", null, null, "newest", LanguageFilter.NONE, 0, 24)),
+                hot("entries.findProfileFeedItems", () -> entries.findProfileFeedItems(
+                        TENANT, author, null, null, "newest", 0, 24)),
+                hot("entries.countProfileFeedItems", () -> entries.countProfileFeedItems(TENANT, author, null, null)),
+                hot("entries.findPurchasedFeed", () -> entries.findPurchasedFeed(
+                        TENANT, user, null, null, "newest", 0, 24)),
+                hot("entries.findSearchFeed", () -> entries.findSearchFeed(TENANT, "guitar lesson", null, null, 0, 24)),
+                hot("entries.searchSuggestions", () -> entries.searchSuggestions(TENANT, "sun", 8)),
+                // Sorted by publishedAt after an authorUsernameLower prefix range: bounded by the prefix.
+                cold("entries.searchChannels", () -> entries.searchChannels(TENANT, "creator_1", 8)),
+                cold("entries.findStudioItems", () -> entries.findStudioItems(
+                        TENANT, creator, null, null, null, "newest", 0, 24)),
+                cold("entries.countStudioItems", () -> entries.countStudioItems(TENANT, creator, null, null, null)),
+                cold("entries.findByTenantIdAndUserIdOrderByCreatedAtDesc",
+                        () -> entries.findByTenantIdAndUserIdOrderByCreatedAtDesc(TENANT, creator, page)),
+                cold("entries.getOwnerStats", () -> entries.getOwnerStats(TENANT, creator)),
+                cold("entries.updateAuthorInfoByUserId",
+                        () -> entries.updateAuthorInfoByUserId(TENANT, creator, "Creator_3", "https://img")),
+
+                // collections
+                hot("collections.findByTenantIdAndId", () -> collections.findByTenantIdAndId(TENANT, data.collectionId)),
+                hot("collections.findByTenantIdAndStatusAndItems_EntryId",
+                        () -> collections.findByTenantIdAndStatusAndItems_EntryId(TENANT, "PUBLISHED", data.entryId)),
+
+                // entitlements — access checks and library
+                hot("entitlements.existsByTenantIdAndUserIdAndEntryIdAndStatus",
+                        () -> entitlements.existsByTenantIdAndUserIdAndEntryIdAndStatus(TENANT, user, data.entryId, "ACTIVE")),
+                hot("entitlements.findByTenantIdAndUserIdAndEntryIdInAndStatus",
+                        () -> entitlements.findByTenantIdAndUserIdAndEntryIdInAndStatus(TENANT, user, data.entryIds, "ACTIVE")),
+                hot("entitlements.findLibraryPage", () -> entitlements.findLibraryPage(TENANT, user, null, null, 0, 24)),
+                hot("entitlements.findLibraryPage(keyset)", () -> entitlements.findLibraryPage(
+                        TENANT, user, LocalDateTime.of(2025, 3, 1, 0, 0), data.orderId, 0, 24)),
+                hot("entitlements.findByTenantIdAndUserIdAndTargetTypeAndStatusOrderByGrantedAtDesc",
+                        () -> entitlements.findByTenantIdAndUserIdAndTargetTypeAndStatusOrderByGrantedAtDesc(
+                                TENANT, user, "ENTRY", "ACTIVE", page)),
+
+                // orders — checkout and payment
+                hot("orders.findByTenantIdAndId", () -> orders.findByTenantIdAndId(TENANT, data.orderId)),
+                hot("orders.findByTenantIdAndUserIdAndEntryId",
+                        () -> orders.findByTenantIdAndUserIdAndEntryId(TENANT, user, data.entryId)),
+                hot("orders.existsByStellarTxHashAndStatusAndIdNot",
+                        () -> orders.existsByStellarTxHashAndStatusAndIdNot(data.stellarTxHash, "COMPLETED", data.orderId)),
+                cold("orders.findByStatusAndExpiresAtBefore", () -> orders.findByStatusAndExpiresAtBefore(
+                        "PENDING", LocalDateTime.of(2025, 6, 1, 0, 0), PageRequest.of(0, 100))),
+                cold("orders.countByTenantIdAndSellerIdAndStatus",
+                        () -> orders.countByTenantIdAndSellerIdAndStatus(TENANT, creator, "COMPLETED")),
+
+                // subscriptions, favorites, ratings
+                hot("subscriptions.existsByTenantIdAndSubscriberIdAndTargetUserId",
+                        () -> subscriptions.existsByTenantIdAndSubscriberIdAndTargetUserId(TENANT, user, creator)),
+                hot("subscriptions.findByTenantIdAndSubscriberIdOrderBySubscribedAtDesc",
+                        () -> subscriptions.findByTenantIdAndSubscriberIdOrderBySubscribedAtDesc(TENANT, user, page)),
+                hot("subscriptions.findByTenantIdAndTargetUserIdOrderBySubscribedAtDesc",
+                        () -> subscriptions.findByTenantIdAndTargetUserIdOrderBySubscribedAtDesc(TENANT, creator, page)),
+                hot("subscriptions.countByTenantIdAndTargetUserId",
+                        () -> subscriptions.countByTenantIdAndTargetUserId(TENANT, creator)),
+                hot("favorites.existsByTenantIdAndUserIdAndItemId",
+                        () -> favorites.existsByTenantIdAndUserIdAndItemId(TENANT, user, data.entryId)),
+                hot("favorites.findByTenantIdAndUserIdOrderByAddedAtDesc",
+                        () -> favorites.findByTenantIdAndUserIdOrderByAddedAtDesc(TENANT, user, page)),
+                hot("ratings.findByTenantIdAndUserIdAndTargetTypeAndTargetId",
+                        () -> ratings.findByTenantIdAndUserIdAndTargetTypeAndTargetId(TENANT, user, "ENTRY", data.entryId)),
+                hot("ratings.findByTenantIdAndTargetTypeAndTargetId", () -> ratings.findByTenantIdAndTargetTypeAndTargetId(
+                        TENANT, "ENTRY", data.entryId, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt")))));
+    }
+
+    private static AuditCase hot(String name, Executable call) {
+        return new AuditCase(name, true, call);
+    }
+
+    private static AuditCase cold(String name, Executable call) {
+        return new AuditCase(name, false, call);
+    }
+
+    @TestFactory
+    Stream<DynamicTest> queryShapesUseIndexes() {
+        return cases().stream().map(c -> DynamicTest.dynamicTest(c.name(), () -> audit(c)));
+    }
+
+    private void audit(AuditCase auditCase) throws Throwable {
+        List<QueryCapture.Captured> commands;
+        capture.start();
+        try {
+            auditCase.call().execute();
+        } finally {
+            commands = capture.stop();
+        }
+        assertFalse(commands.isEmpty(), auditCase.name() + " sent no query to MongoDB");
+
+        List<QueryPlan> plans = new ArrayList<>();
+        for (QueryCapture.Captured command : commands) {
+            Document explain = template.getDb().runCommand(new Document("explain", command.command())
+                    .append("verbosity", "executionStats"));
+            plans.add(QueryPlan.from(command.commandName(), command.collection(), explain));
+        }
+
+        String failure = auditCase.hot() ? violation(plans) : null;
+        results.put(auditCase.name(), new Audited(auditCase, plans, failure));
+        if (failure != null) {
+            fail(auditCase.name() + ": " + failure);
+        }
+    }
+
+    private static String violation(List<QueryPlan> plans) {
+        for (QueryPlan plan : plans) {
+            if (plan.collectionScan()) {
+                return "COLLSCAN on " + plan.collection() + " (" + plan.commandName() + ", stages " + plan.stages() + ")";
+            }
+            if (plan.blockingSort()) {
+                return "in-memory SORT on " + plan.collection() + " (" + plan.commandName()
+                        + ", indexes " + plan.indexes() + ")";
+            }
+        }
+        return null;
+    }
+
+    // ─── Report ───
+
+    private void writeReport() throws IOException {
+        StringBuilder out = new StringBuilder()
+                .append("# Index audit\n\n")
+                .append("Seeded: ").append(IndexAuditData.ENTRIES).append(" entries, ")
+                .append(IndexAuditData.USERS).append(" users, ")
+                .append(IndexAuditData.ENTITLEMENTS).append(" entitlements, ")
+                .append(IndexAuditData.ORDERS).append(" orders.\n\n")
+                .append("| Query | Hot | Collection | Command | Stages | Indexes | Keys | Docs | Returned | Docs/returned | Verdict |\n")
+                .append("|---|---|---|---|---|---|---|---|---|---|---|\n");
+        for (AuditCase auditCase : cases()) {
+            Audited audited = results.get(auditCase.name());
+            if (audited == null) {
+                out.append("| ").append(auditCase.name()).append(" | ").append(auditCase.hot() ? "yes" : "")
+                        .append(" | | | | | | | | | not run |\n");
+                continue;
+            }
+            for (QueryPlan plan : audited.plans()) {
+                out.append("| ").append(auditCase.name())
+                        .append(" | ").append(auditCase.hot() ? "yes" : "")
+                        .append(" | ").append(plan.collection())
+                        .append(" | ").append(plan.commandName())
+                        .append(" | ").append(String.join(" ", plan.stages()))
+                        .append(" | ").append(String.join(", ", plan.indexes()))
+                        .append(" | ").append(plan.keysExamined())
+                        .append(" | ").append(plan.docsExamined())
+                        .append(" | ").append(plan.returned())
+                        .append(" | ").append(String.format(Locale.ROOT, "%.1f", plan.docsPerReturned()))
+                        .append(" | ").append(verdict(auditCase, plan))
+                        .append(" |\n");
+            }
+        }
+        if (!declaredIndexFailures.isEmpty()) {
+            out.append("\n## Declared indexes that could not be built\n\n");
+            declaredIndexFailures.forEach(f -> out.append("- ").append(f.replace('\n', ' ')).append('\n'));
+        }
+
+        Path dir = Path.of(System.getProperty("indexAudit.reportDir", "build/reports/index-audit"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("index-audit.md"), out);
+        System.out.println(out);
+    }
+
+    private static String verdict(AuditCase auditCase, QueryPlan plan) {
+        String problem = plan.collectionScan() ? "COLLSCAN" : plan.blockingSort() ? "SORT" : null;
+        if (problem == null) {
+            return "ok";
+        }
+        return auditCase.hot() ? "**FAIL** " + problem : problem;
+    }
+}
@@ -0,0 +1,61 @@
+package org.earnlumens.mediastore.infrastructure.persistence.indexaudit;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records the query commands a repository call sends to MongoDB, so the
+ * index audit can {@code explain} exactly what Spring Data generated
+ * (derived queries, {@code Page} counts, custom aggregations) instead of a
+ * hand-written copy of it.
+ *
+ * <p>Writes are recorded only when they carry a single statement, because
+ * {@code explain} accepts exactly one.
+ */
+final class QueryCapture implements CommandListener {
+
+    /** One recorded command, stripped of session and cluster-time fields. */
+    record Captured(String commandName, String collection, BsonDocument command) {}
+
+    private static final Set<String> QUERIES = Set.of("find", "aggregate", "count", "distinct", "findAndModify");
+    private static final Set<String> WRITES = Set.of("update", "delete");
+    private static final JsonWriterSettings EXACT = JsonWriterSettings.builder().outputMode(JsonMode.EXTENDED).build();
+
+    private final List<Captured> captured = new CopyOnWriteArrayList<>();
+    private volatile boolean recording;
+
+    void start() {
+        captured.clear();
+        recording = true;
+    }
+
+    List<Captured> stop() {
+        recording = false;
+        return List.copyOf(captured);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String name = event.getCommandName();
+        if (!recording || !(QUERIES.contains(name) || WRITES.contains(name))) {
+            return;
+        }
+        // The event's document is only valid during the callback — copy it.
+        BsonDocument command = BsonDocument.parse(event.getCommand().toJson(EXACT));
+        if (WRITES.contains(name)) {
+            String statements = name.equals("update") ? "updates" : "deletes";
+            if (!command.containsKey(statements) || command.getArray(statements).size() != 1) {
+                return;
+            }
+        }
+        command.keySet().removeIf(key -> key.startsWith("$") || key.equals("lsid") || key.equals("txnNumber"));
+        captured.add(new Captured(name, command.getString(name).getValue(), command));
+    }
+}
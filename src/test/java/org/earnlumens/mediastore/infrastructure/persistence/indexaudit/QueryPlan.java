@@ -0,0 +1,135 @@
+package org.earnlumens.mediastore.infrastructure.persistence.indexaudit;
+
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * What {@code explain} (verbosity {@code executionStats}) says about one
+ * command.
+ *
+ * <p>An aggregation has one query-layer plan per collection it reads: the
+ * leading {@code $cursor} stage, each {@code $unionWith} sub-pipeline, and
+ * each {@code $lookup} (reported as {@code collectionScans} /
+ * {@code indexesUsed}). All of them are walked, so a union or lookup that
+ * scans its collection is caught like a top-level find. Rejected plans are
+ * ignored. A pipeline-level {@code $sort} after a union is not a query-layer
+ * {@code SORT}; its cost shows up in the docs-examined ratio instead.
+ *
+ * @param stages       plan stage names of every winning plan, in walk order
+ * @param indexes      names of the indexes those plans use
+ * @param keysExamined index keys examined, summed over all plans
+ * @param docsExamined documents examined, summed over all plans
+ * @param returned     documents returned by the query layer
+ */
+record QueryPlan(
+        String commandName,
+        String collection,
+        List<String> stages,
+        Set<String> indexes,
+        long keysExamined,
+        long docsExamined,
+        long returned
+) {
+
+    static final String COLLSCAN = "COLLSCAN";
+    static final String SORT = "SORT";
+
+    /** A full collection scan, in the main plan or in a union / lookup. */
+    boolean collectionScan() {
+        return stages.contains(COLLSCAN);
+    }
+
+    /** A query-layer in-memory sort: no index provides the requested order. */
+    boolean blockingSort() {
+        return stages.contains(SORT);
+    }
+
+    /** Documents examined per document returned; the examined count itself when nothing is returned. */
+    double docsPerReturned() {
+        return returned == 0 ? docsExamined : (double) docsExamined / returned;
+    }
+
+    static QueryPlan from(String commandName, String collection, Document explain) {
+        Walk walk = new Walk();
+        walk.visit(explain);
+        return new QueryPlan(commandName, collection, List.copyOf(walk.stages), Set.copyOf(walk.indexes),
+                walk.keysExamined, walk.docsExamined, walk.returned);
+    }
+
+    private static final class Walk {
+
+        private final List<String> stages = new ArrayList<>();
+        private final Set<String> indexes = new LinkedHashSet<>();
+        private long keysExamined;
+        private long docsExamined;
+        private long returned;
+
+        void visit(Object node) {
+            if (node instanceof List<?> list) {
+                list.forEach(this::visit);
+                return;
+            }
+            if (!(node instanceof Document doc)) {
+                return;
+            }
+            for (Map.Entry<String, Object> e : doc.entrySet()) {
+                switch (e.getKey()) {
+                    case "rejectedPlans", "allPlansExecution", "slotBasedPlan" -> { }
+                    case "winningPlan" -> plan(e.getValue());
+                    case "executionStats" -> stats(e.getValue());
+                    default -> visit(e.getValue());
+                }
+            }
+            // $lookup stages report their foreign-collection access inline.
+            if (number(doc.get("collectionScans")) > 0) {
+                stages.add(COLLSCAN);
+            }
+            if (doc.get("indexesUsed") instanceof List<?> used) {
+                used.forEach(name -> indexes.add(String.valueOf(name)));
+            }
+            if (doc.containsKey("collectionScans")) {
+                keysExamined += number(doc.get("totalKeysExamined"));
+                docsExamined += number(doc.get("totalDocsExamined"));
+            }
+        }
+
+        /** A winning plan tree (classic, or the {@code queryPlan} half of an SBE plan). */
+        private void plan(Object node) {
+            if (node instanceof List<?> list) {
+                list.forEach(this::plan);
+                return;
+            }
+            if (!(node instanceof Document doc)) {
+                return;
+            }
+            if (doc.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            if (doc.get("indexName") instanceof String index) {
+                indexes.add(index);
+            }
+            doc.forEach((key, value) -> {
+                if (!key.equals("slotBasedPlan")) {
+                    plan(value);
+                }
+            });
+        }
+
+        private void stats(Object node) {
+            if (node instanceof Document doc) {
+                keysExamined += number(doc.get("totalKeysExamined"));
+                docsExamined += number(doc.get("totalDocsExamined"));
+                returned += number(doc.get("nReturned"));
+            }
+        }
+
+        private static long number(Object value) {
+            return value instanceof Number n ? n.longValue() : 0L;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.earnlumens.mediastore.infrastructure.persistence.indexaudit;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link QueryPlan}: the explain-output walk the index audit
+ * relies on, against trimmed {@code explain} documents in the shapes MongoDB
+ * returns for a find, an aggregation with {@code $unionWith}, and a
+ * {@code $lookup}.
+ */
+class QueryPlanTest {
+
+    // ── find ────────────────────────────────────────────────────────────────
+
+    @Test
+    void indexedFind_reportsIndexAndNoViolation() {
+        Document explain = Document.parse("""
+                { queryPlanner: { winningPlan: { stage: "LIMIT", inputStage: { stage: "FETCH",
+                    inputStage: { stage: "IXSCAN", indexName: "idx_tenant_status_published" } } },
+                  rejectedPlans: [ { stage: "SORT", inputStage: { stage: "COLLSCAN" } } ] },
+                  executionStats: { nReturned: 20, totalKeysExamined: 20, totalDocsExamined: 20 } }
+                """);
+
+        QueryPlan plan = QueryPlan.from("find", "entries", explain);
+
+        assertEquals(List.of("LIMIT", "FETCH", "IXSCAN"), plan.stages());
+        assertTrue(plan.indexes().contains("idx_tenant_status_published"));
+        assertFalse(plan.collectionScan(), "rejected plans must be ignored");
+        assertFalse(plan.blockingSort());
+        assertEquals(1.0, plan.docsPerReturned());
+    }
+
+    @Test
+    void sortOverIndexScan_isABlockingSort() {
+        Document explain = Document.parse("""
+                { queryPlanner: { winningPlan: { stage: "SORT", inputStage: { stage: "FETCH",
+                    inputStage: { stage: "IXSCAN", indexName: "idx_user_oauth_user_id" } } } },
+                  executionStats: { nReturned: 5, totalKeysExamined: 40, totalDocsExamined: 40 } }
+                """);
+
+        QueryPlan plan = QueryPlan.from("find", "ratings", explain);
+
+        assertTrue(plan.blockingSort());
+        assertEquals(8.0, plan.docsPerReturned());
+    }
+
+    @Test
+    void nothingReturned_ratioIsDocsExamined() {
+        Document explain = Document.parse("""
+                { queryPlanner: { winningPlan: { stage: "COLLSCAN" } },
+                  executionStats: { nReturned: 0, totalKeysExamined: 0, totalDocsExamined: 400 } }
+                """);
+
+        QueryPlan plan = QueryPlan.from("find", "users", explain);
+
+        assertTrue(plan.collectionScan());
+        assertEquals(400.0, plan.docsPerReturned());
+    }
+
+    // ── aggregate ───────────────────────────────────────────────────────────
+
+    @Test
+    void unionWithSubPipeline_collectionScanIsCaught() {
+        Document explain = Document.parse("""
+                { stages: [
+                    { $cursor: { queryPlanner: { winningPlan: { stage: "IXSCAN", indexName: "idx_tenant_status_published" } },
+                                 executionStats: { nReturned: 24, totalKeysExamined: 24, totalDocsExamined: 24 } } },
+                    { $unionWith: { coll: "collections", pipeline: [
+                        { $cursor: { queryPlanner: { winningPlan: { stage: "COLLSCAN" } },
+                                     executionStats: { nReturned: 24, totalKeysExamined: 0, totalDocsExamined: 600 } } } ] } },
+                    { $sort: { sortKey: { publishedAt: -1 } } } ] }
+                """);
+
+        QueryPlan plan = QueryPlan.from("aggregate", "entries", explain);
+
+        assertTrue(plan.collectionScan());
+        assertFalse(plan.blockingSort(), "a pipeline $sort is not a query-layer SORT");
+        assertEquals(624, plan.docsExamined());
+        assertEquals(48, plan.returned());
+    }
+
+    @Test
+    void lookupWithoutIndex_countsAsCollectionScan() {
+        Document explain = Document.parse("""
+                { stages: [
+                    { $cursor: { queryPlanner: { winningPlan: { stage: "IXSCAN", indexName: "idx_ent_library" } },
+                                 executionStats: { nReturned: 10, totalKeysExamined: 10, totalDocsExamined: 10 } } },
+                    { $lookup: { from: "entries", as: "entry" },
+                      totalDocsExamined: 6000, totalKeysExamined: 0, collectionScans: 10, indexesUsed: [] } ] }
+                """);
+
+        QueryPlan plan = QueryPlan.from("aggregate", "entitlements", explain);
+
+        assertTrue(plan.collectionScan());
+        assertEquals(6010, plan.docsExamined());
+    }
+
+    @Test
+    void sbePlan_readsQueryPlanHalfOnly() {
+        Document explain = Document.parse("""
+                { queryPlanner: { winningPlan: {
+                    queryPlan: { stage: "FETCH", inputStage: { stage: "IXSCAN", indexName: "idx_user_username_lower" } },
+                    slotBasedPlan: { stages: "[1] nlj ... COLLSCAN-looking text" } } },
+                  executionStats: { nReturned: 1, totalKeysExamined: 1, totalDocsExamined: 1 } }
+                """);
+
+        QueryPlan plan = QueryPlan.from("find", "users", explain);
+
+        assertEquals(List.of("FETCH", "IXSCAN"), plan.stages());
+        assertFalse(plan.collectionScan());
+    }
+}
@@ -0,0 +1,162 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.adapter;
+
+import org.bson.Document;
+import org.earnlumens.mediastore.domain.media.model.Entry;
+import org.earnlumens.mediastore.domain.media.model.EntryStatus;
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.EntryMapper;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntryMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.earnlumens.mediastore.infrastructure.web.ContentScope;
+import org.earnlumens.mediastore.infrastructure.web.ContentVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link EntryRepositoryImpl}: the {@code owner_stats} delta
+ * and the catalog version bump applied by status-changing writes, and the
+ * buffered view count.
+ */
+class EntryRepositoryImplTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final String OWNER = "user-1";
+
+    private MongoTemplate mongoTemplate;
+    private EntryMongoRepository entryMongoRepository;
+    private OwnerStatsRepository ownerStatsRepository;
+    private EntryViewCounter viewCounter;
+    private ContentVersionService contentVersions;
+    private EntryRepositoryImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        entryMongoRepository = mock(EntryMongoRepository.class);
+        ownerStatsRepository = mock(OwnerStatsRepository.class);
+        contentVersions = versionServiceOverMockedStore();
+        viewCounter = new EntryViewCounter(entryMongoRepository, ownerStatsRepository);
+        repository = new EntryRepositoryImpl(entryMongoRepository, Mappers.getMapper(EntryMapper.class),
+                mongoTemplate, ownerStatsRepository, MongoReadRouter.primaryOnly(mongoTemplate), contentVersions,
+                viewCounter);
+    }
+
+    /** A real {@link ContentVersionService} whose {@code content_versions} upsert counts up in memory. */
+    private static ContentVersionService versionServiceOverMockedStore() {
+        MongoTemplate store = mock(MongoTemplate.class);
+        AtomicLong version = new AtomicLong();
+        when(store.find(any(Query.class), eq(Document.class), anyString())).thenReturn(List.of());
+        when(store.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(Document.class), anyString()))
+                .thenAnswer(inv -> new Document("version", version.incrementAndGet()));
+        ContentVersionService service = new ContentVersionService(store);
+        service.refresh();
+        return service;
+    }
+
+    private String catalogEtag() {
+        return contentVersions.etag(TENANT, ContentScope.CATALOG, Instant.EPOCH);
+    }
+
+    private Entry entry(EntryStatus status) {
+        Entry entry = new Entry();
+        entry.setId("e1");
+        entry.setTenantId(TENANT);
+        entry.setUserId(OWNER);
+        entry.setStatus(status);
+        return entry;
+    }
+
+    private void stubPreviousStatus(EntryStatus status) {
+        EntryEntity previous = new EntryEntity();
+        previous.setStatus(status.name());
+        when(mongoTemplate.findAndReplace(any(Query.class), any(EntryEntity.class), any(FindAndReplaceOptions.class)))
+                .thenReturn(previous);
+    }
+
+    @Test
+    void save_statusChange_appliesTheDelta() {
+        stubPreviousStatus(EntryStatus.DRAFT);
+
+        repository.save(entry(EntryStatus.PUBLISHED));
+
+        verify(ownerStatsRepository).incrementByTenantIdAndUserId(eq(TENANT), eq(OWNER),
+                eq(Map.of("entries.DRAFT", -1L, "entries.PUBLISHED", 1L)));
+    }
+
+    @Test
+    void publishingAnExistingDraft_changesTheCatalogEtag() {
+        stubPreviousStatus(EntryStatus.DRAFT);
+        String before = catalogEtag();
+
+        repository.save(entry(EntryStatus.PUBLISHED));
+
+        assertNotNull(before);
+        assertNotEquals(before, catalogEtag());
+    }
+
+    @Test
+    void editingADraft_keepsTheCatalogEtag() {
+        stubPreviousStatus(EntryStatus.DRAFT);
+        String before = catalogEtag();
+
+        repository.save(entry(EntryStatus.DRAFT));
+
+        assertEquals(before, catalogEtag());
+    }
+
+    @Test
+    void deletingAPublishedEntry_changesTheCatalogEtag() {
+        EntryEntity removed = new EntryEntity();
+        removed.setStatus(EntryStatus.PUBLISHED.name());
+        removed.setUserId(OWNER);
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(EntryEntity.class))).thenReturn(removed);
+        String before = catalogEtag();
+
+        repository.deleteByTenantIdAndId(TENANT, "e1");
+
+        assertNotEquals(before, catalogEtag());
+    }
+
+    @Test
+    void save_sameStatus_skipsTheOwnerStatsWrite() {
+        stubPreviousStatus(EntryStatus.PUBLISHED);
+
+        repository.save(entry(EntryStatus.PUBLISHED));
+
+        verifyNoInteractions(ownerStatsRepository);
+    }
+
+    @Test
+    void incrementViewCount_writesNothingUntilTheFlush() {
+        repository.incrementViewCount(TENANT, "e1", OWNER);
+        repository.incrementViewCount(TENANT, "e1", OWNER);
+        repository.incrementViewCount(TENANT, "e2", OWNER);
+
+        verifyNoInteractions(entryMongoRepository, ownerStatsRepository, mongoTemplate);
+
+        viewCounter.flush();
+
+        verify(entryMongoRepository).incrementViewCounts(TENANT, Map.of("e1", 2L, "e2", 1L));
+        verify(ownerStatsRepository).incrementTotalViewsByTenantId(TENANT, Map.of(OWNER, 3L));
+        verifyNoInteractions(mongoTemplate);
+    }
+}
@@ -0,0 +1,129 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.adapter;
+
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntryMongoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link EntryViewCounter}: views are batched per tenant into
+ * one {@code entries} and one {@code owner_stats} bulk write per flush, and
+ * anonymous views counted without the entry resolve their owner at flush.
+ */
+class EntryViewCounterTest {
+
+    private EntryMongoRepository entryMongoRepository;
+    private OwnerStatsRepository ownerStatsRepository;
+    private EntryViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        entryMongoRepository = mock(EntryMongoRepository.class);
+        ownerStatsRepository = mock(OwnerStatsRepository.class);
+        counter = new EntryViewCounter(entryMongoRepository, ownerStatsRepository);
+    }
+
+    @Test
+    void emptyBuffer_flushWritesNothing() {
+        counter.flush();
+
+        verifyNoInteractions(entryMongoRepository, ownerStatsRepository);
+    }
+
+    @Test
+    void views_areSummedPerEntryAndPerOwner() {
+        for (int i = 0; i < 50; i++) {
+            counter.record("t1", "e1", "alice");
+        }
+        counter.record("t1", "e2", "alice");
+        counter.record("t1", "e3", "bob");
+
+        counter.flush();
+
+        verify(entryMongoRepository).incrementViewCounts("t1", Map.of("e1", 50L, "e2", 1L, "e3", 1L));
+        verify(ownerStatsRepository).incrementTotalViewsByTenantId("t1", Map.of("alice", 51L, "bob", 1L));
+        assertEquals(0, counter.pendingViews());
+    }
+
+    @Test
+    void eachTenant_getsItsOwnBulkWrites() {
+        counter.record("t1", "e1", "alice");
+        counter.record("t2", "e1", "alice");
+
+        counter.flush();
+
+        verify(entryMongoRepository).incrementViewCounts("t1", Map.of("e1", 1L));
+        verify(entryMongoRepository).incrementViewCounts("t2", Map.of("e1", 1L));
+        verify(ownerStatsRepository).incrementTotalViewsByTenantId("t1", Map.of("alice", 1L));
+        verify(ownerStatsRepository).incrementTotalViewsByTenantId("t2", Map.of("alice", 1L));
+    }
+
+    @Test
+    void flushedViews_areNotWrittenTwice() {
+        counter.record("t1", "e1", "alice");
+        counter.flush();
+        counter.record("t1", "e1", "alice");
+        counter.flush();
+
+        verify(entryMongoRepository, times(2)).incrementViewCounts("t1", Map.of("e1", 1L));
+    }
+
+    @Test
+    void failedFlush_isDroppedAndOtherTenantsStillFlush() {
+        when(entryMongoRepository.incrementViewCounts(eq("t1"), anyMap()))
+                .thenThrow(new RuntimeException("mongo down"));
+        counter.record("t1", "e1", "alice");
+        counter.record("t2", "e2", "bob");
+
+        assertDoesNotThrow(counter::flush);
+
+        verify(ownerStatsRepository).incrementTotalViewsByTenantId("t2", Map.of("bob", 1L));
+        verify(ownerStatsRepository, never()).incrementTotalViewsByTenantId(eq("t1"), any());
+        assertEquals(0, counter.pendingViews());
+    }
+
+    @Test
+    void publicViews_resolveTheirOwnerInOneQuery() {
+        when(entryMongoRepository.findPublicOwnerIdsByTenantIdAndIdIn(eq("t1"), any()))
+                .thenReturn(Map.of("e1", "alice", "e2", "bob"));
+        counter.recordPublic("t1", "e1");
+        counter.recordPublic("t1", "e1");
+        counter.recordPublic("t1", "e2");
+
+        counter.flush();
+
+        verify(entryMongoRepository, times(1)).findPublicOwnerIdsByTenantIdAndIdIn(eq("t1"), any());
+        verify(entryMongoRepository).incrementViewCounts("t1", Map.of("e1", 2L, "e2", 1L));
+        verify(ownerStatsRepository).incrementTotalViewsByTenantId("t1", Map.of("alice", 2L, "bob", 1L));
+    }
+
+    @Test
+    void publicViewsOfAHiddenEntry_areDropped() {
+        when(entryMongoRepository.findPublicOwnerIdsByTenantIdAndIdIn(eq("t1"), any())).thenReturn(Map.of());
+        counter.record("t1", "e1", "alice");   // owner viewing an archived entry
+        counter.recordPublic("t1", "e1");      // anonymous 304 on the same entry
+
+        counter.flush();
+
+        verify(entryMongoRepository).incrementViewCounts("t1", Map.of("e1", 1L));
+        verify(ownerStatsRepository).incrementTotalViewsByTenantId("t1", Map.of("alice", 1L));
+    }
+
+    @Test
+    void loadedViewsOnly_skipTheOwnerQuery() {
+        counter.record("t1", "e1", "alice");
+
+        counter.flush();
+
+        verify(entryMongoRepository, never()).findPublicOwnerIdsByTenantIdAndIdIn(any(), any());
+    }
+}
@@ -0,0 +1,294 @@
+package org.earnlumens.mediastore.infrastructure.persistence.media.repository;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonDocument;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.PaymentSplitEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.StatusChangeRecordEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.EntryMapper;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.springframework.data.repository.core.support.RepositoryComposition.RepositoryFragments;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Before/after benchmark for the projected entry reads
+ * ({@code find*FieldsBy…} + {@code EntryMapper.to*View}) against the full
+ * entity reads they replaced on the entitlement, prepare-payment and
+ * collection-detail paths.
+ *
+ * <p>Per call it reports the bytes MongoDB sent back for {@code find}
+ * (summed from the command replies), the heap allocated on the calling
+ * thread (decode + mapping) and the mean latency. Entries are seeded with
+ * the payload the hot paths do not need — description, resource content,
+ * tags, payment splits and status history — at sizes seen in production.
+ *
+ * <p>Not part of {@code ./gradlew test}: needs a MongoDB, so it runs with
+ * {@code ./gradlew mongoBenchmark [-PindexAuditMongoUri=mongodb://…]} and
+ * writes {@code build/reports/mongo-benchmark/entry-projections.md}.
+ */
+@Tag("mongo-benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EntryProjectionBenchmarkTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final int ENTRIES = 500;
+    private static final int ITEMS_PER_COLLECTION = 24;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2_000;
+
+    /** One measured read shape. */
+    private record Row(String path, String variant, long bytesPerCall, long allocatedPerCall, double micros) {}
+
+    private final AtomicBoolean counting = new AtomicBoolean();
+    private final LongAdder replyBytes = new LongAdder();
+    private final List<Row> rows = new ArrayList<>();
+
+    private MongoClient client;
+    private String database;
+    private EntryMongoRepository entries;
+    private EntryMapper mapper;
+    private List<String> ids;
+
+    @BeforeAll
+    void setUp() {
+        String uri = System.getProperty("indexAudit.mongoUri", "mongodb://localhost:27017");
+        CommandListener sizes = new CommandListener() {
+            @Override
+            public void commandSucceeded(CommandSucceededEvent event) {
+                if (counting.get() && ("find".equals(event.getCommandName()) || "getMore".equals(event.getCommandName()))) {
+                    replyBytes.add(sizeOf(event.getResponse()));
+                }
+            }
+        };
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .addCommandListener(sizes)
+                .build());
+        database = "entry_projection_bench_" + System.currentTimeMillis();
+        MongoTemplate template = new MongoTemplate(client, database);
+
+        ids = new ArrayList<>(ENTRIES);
+        List<EntryEntity> seed = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            EntryEntity entity = entry(i);
+            seed.add(entity);
+            ids.add(entity.getId());
+        }
+        template.insertAll(seed);
+
+        entries = new MongoRepositoryFactory(template).getRepository(EntryMongoRepository.class,
+                RepositoryFragments.just(new EntryMongoRepositoryCustomImpl(template, MongoReadRouter.primaryOnly(template))));
+        mapper = Mappers.getMapper(EntryMapper.class);
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        try {
+            writeReport();
+        } finally {
+            if (client != null) {
+                client.getDatabase(database).drop();
+                client.close();
+            }
+        }
+    }
+
+    @Test
+    void projectedReads_transferAndAllocateLessThanFullReads() {
+        List<String> items = ids.subList(0, ITEMS_PER_COLLECTION);
+
+        Row accessFull = measure("entitlement check", "full entity", i ->
+                entries.findByTenantIdAndId(TENANT, id(i)).map(mapper::toModel).orElseThrow());
+        Row accessView = measure("entitlement check", "EntryAccessView", i ->
+                entries.findAccessFieldsByTenantIdAndId(TENANT, id(i)).map(mapper::toAccessView).orElseThrow());
+
+        Row pricingFull = measure("prepare payment", "full entity", i ->
+                entries.findByTenantIdAndId(TENANT, id(i)).map(mapper::toModel).orElseThrow());
+        Row pricingView = measure("prepare payment", "EntryPricingView", i ->
+                entries.findPricingFieldsByTenantIdAndId(TENANT, id(i)).map(mapper::toPricingView).orElseThrow());
+
+        Row itemsFull = measure("collection detail (24 items)", "full entity", i ->
+                entries.findByTenantIdAndIdIn(TENANT, items).stream().map(mapper::toModel).toList());
+        Row itemsView = measure("collection detail (24 items)", "EntryItemView", i ->
+                entries.findItemFieldsByTenantIdAndIdIn(TENANT, items).stream().map(mapper::toItemView).toList());
+
+        assertTrue(accessView.bytesPerCall() < accessFull.bytesPerCall(), "access projection must transfer less");
+        assertTrue(pricingView.bytesPerCall() < pricingFull.bytesPerCall(), "pricing projection must transfer less");
+        assertTrue(itemsView.bytesPerCall() < itemsFull.bytesPerCall(), "item projection must transfer less");
+    }
+
+    // ─── Measurement ───
+
+    private interface Read {
+        Object run(int iteration);
+    }
+
+    /**
+     * Two passes so the listener's re-encoding of replies is not counted as
+     * allocation: the first counts reply bytes, the second allocation and time.
+     */
+    private Row measure(String path, String variant, Read read) {
+        for (int i = 0; i < WARMUP; i++) {
+            read.run(i);
+        }
+
+        replyBytes.reset();
+        counting.set(true);
+        try {
+            for (int i = 0; i < ITERATIONS; i++) {
+                read.run(i);
+            }
+        } finally {
+            counting.set(false);
+        }
+        long bytesPerCall = replyBytes.sum() / ITERATIONS;
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long started = System.nanoTime();
+        Object sink = null;
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink = read.run(i);
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        assertTrue(sink != null);
+
+        Row row = new Row(path, variant, bytesPerCall, allocated / ITERATIONS, elapsed / 1_000.0 / ITERATIONS);
+        rows.add(row);
+        return row;
+    }
+
+    private String id(int iteration) {
+        return ids.get(iteration % ids.size());
+    }
+
+    private static long sizeOf(BsonDocument response) {
+        if (response instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+        return new RawBsonDocument(response, new BsonDocumentCodec()).getByteBuffer().remaining();
+    }
+
+    // ─── Report ───
+
+    private void writeReport() throws IOException {
+        StringBuilder out = new StringBuilder()
+                .append("# Entry projection benchmark\n\n")
+                .append(ENTRIES).append(" seeded entries, ").append(ITERATIONS).append(" calls per row after ")
+                .append(WARMUP).append(" warm-up calls.\n\n")
+                .append("| Path | Read | Bytes from Mongo / call | Allocated / call | Mean µs |\n")
+                .append("|---|---|---:|---:|---:|\n");
+        for (Row row : rows) {
+            out.append(String.format(Locale.ROOT, "| %s | %s | %,d | %,d | %.1f |%n",
+                    row.path(), row.variant(), row.bytesPerCall(), row.allocatedPerCall(), row.micros()));
+        }
+        String report = out.toString();
+        System.out.println(report);
+
+        Path dir = Path.of(System.getProperty("mongoBenchmark.reportDir", "build/reports/mongo-benchmark"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("entry-projections.md"), report);
+    }
+
+    // ─── Seed ───
+
+    private static EntryEntity entry(int i) {
+        EntryEntity entity = new EntryEntity();
+        entity.setId(String.format(Locale.ROOT, "%024x", i + 1));
+        entity.setTenantId(TENANT);
+        entity.setUserId("creator-" + (i % 20));
+        entity.setAuthorUsername("Creator" + (i % 20));
+        entity.setAuthorUsernameLower("creator" + (i % 20));
+        entity.setAuthorAvatarUrl("https://cdn.example.com/avatars/creator-" + (i % 20) + ".webp");
+        entity.setTitle("Entry title number " + i + " with a realistic length");
+        entity.setTitleLower("entry title number " + i + " with a realistic length");
+        entity.setDescription(text("Description paragraph " + i + ". ", 1_500));
+        entity.setResourceContent(text("Resource body " + i + ". ", 4_000));
+        entity.setType(i % 3 == 0 ? "VIDEO" : i % 3 == 1 ? "AUDIO" : "IMAGE");
+        entity.setStatus("PUBLISHED");
+        entity.setVisibility("PUBLIC");
+        entity.setPaid(i % 2 == 0);
+        entity.setPriceXlm(new BigDecimal("25.5000000"));
+        entity.setPriceUsd(new BigDecimal("3.10"));
+        entity.setPriceCurrency("XLM");
+        entity.setPricingMode("INDIVIDUAL");
+        entity.setSellerWallet("GSELLER" + "A".repeat(49));
+        entity.setPaymentSplits(List.of(
+                split("GSELLER" + "A".repeat(49), "SELLER", "90"),
+                split("GPLATFORM" + "B".repeat(47), "PLATFORM", "10")));
+        entity.setTags(List.of("music", "live", "acoustic", "session", "original"));
+        entity.setSpaceIds(List.of("space-" + (i % 7)));
+        entity.setContentLanguage("en");
+        entity.setThumbnailR2Key("thumbnails/" + i + "/original.webp");
+        entity.setThumbnailVariantsPrefix("thumbnails/" + i + "/variants/");
+        entity.setPreviewR2Key("previews/" + i + "/preview.mp4");
+        entity.setDurationSec(180 + i);
+        entity.setHlsReady(true);
+        entity.setHlsR2Prefix("hls/" + i + "/");
+        entity.setViewCount(i * 17L);
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i);
+        entity.setCreatedAt(created);
+        entity.setUpdatedAt(created.plusDays(1));
+        entity.setPublishedAt(created.plusDays(1));
+        entity.setStatusHistory(List.of(
+                change("DRAFT", "IN_REVIEW", "creator-" + (i % 20), created),
+                change("IN_REVIEW", "APPROVED", "moderator-1", created.plusHours(4)),
+                change("APPROVED", "PUBLISHED", "creator-" + (i % 20), created.plusDays(1))));
+        return entity;
+    }
+
+    private static String text(String sentence, int length) {
+        StringBuilder text = new StringBuilder(length);
+        while (text.length() < length) {
+            text.append(sentence);
+        }
+        return text.substring(0, length);
+    }
+
+    private static PaymentSplitEntity split(String wallet, String role, String percent) {
+        PaymentSplitEntity split = new PaymentSplitEntity();
+        split.setWallet(wallet);
+        split.setRole(role);
+        split.setPercent(new BigDecimal(percent));
+        return split;
+    }
+
+    private static StatusChangeRecordEntity change(String from, String to, String actor, LocalDateTime at) {
+        StatusChangeRecordEntity change = new StatusChangeRecordEntity();
+        change.setFromStatus(from);
+        change.setToStatus(to);
+        change.setActor(actor);
+        change.setTimestamp(at);
+        return change;
+    }
+}
@@ -0,0 +1,142 @@
+package org.earnlumens.mediastore.infrastructure.persistence.routing;
+
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.earnlumens.mediastore.infrastructure.config.MongoReadRoutingConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link MongoReadRouter}: default targets per route,
+ * per-route overrides, the global switch, the staleness bound, primary
+ * pinning and read counters. The client is never connected; routing is
+ * decided up front.
+ */
+class MongoReadRouterTest {
+
+    private MongoClient client;
+    private MongoTemplate primary;
+
+    @BeforeEach
+    void setUp() {
+        client = MongoClients.create("mongodb://localhost:27017");
+        primary = new MongoTemplate(client, "read_routing_test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.close();
+    }
+
+    private static MongoReadRoutingConfig config(Map<String, ReadTarget> routes) {
+        MongoReadRoutingConfig config = new MongoReadRoutingConfig();
+        config.setRoutes(routes);
+        return config;
+    }
+
+    @Test
+    void publicRoutes_readSecondaryPreferredWithMaxStaleness() {
+        MongoReadRouter router = new MongoReadRouter(primary, config(Map.of()));
+
+        MongoTemplate explore = router.template(ReadRoute.EXPLORE_FEED);
+
+        assertNotSame(primary, explore);
+        ReadPreference preference = explore.getReadPreference();
+        assertEquals(ReadPreference.secondaryPreferred().getName(), preference.getName());
+        assertEquals(90L, ((TaggableReadPreference) preference).getMaxStaleness(TimeUnit.SECONDS));
+        for (ReadRoute route : new ReadRoute[]{ReadRoute.SEARCH, ReadRoute.SUGGESTIONS, ReadRoute.CHANNELS,
+                ReadRoute.SPACE_FEED, ReadRoute.SPACES, ReadRoute.FRANCHISES, ReadRoute.RATING_AGGREGATES}) {
+            assertSame(explore, router.template(route), route.key());
+        }
+    }
+
+    @Test
+    void readYourWritesRoutes_stayOnPrimary() {
+        MongoReadRouter router = new MongoReadRouter(primary, config(Map.of()));
+
+        assertSame(primary, router.template(ReadRoute.STUDIO));
+        assertSame(primary, router.template(ReadRoute.PURCHASED_FEED));
+    }
+
+    @Test
+    void perRouteOverride_winsOverDefault() {
+        MongoReadRouter router = new MongoReadRouter(primary, config(Map.of(
+                "search", ReadTarget.PRIMARY,
+                "purchased-feed", ReadTarget.SECONDARY)));
+
+        assertEquals(ReadTarget.PRIMARY, router.targetFor(ReadRoute.SEARCH));
+        assertSame(primary, router.template(ReadRoute.SEARCH));
+        assertEquals(ReadTarget.SECONDARY, router.targetFor(ReadRoute.PURCHASED_FEED));
+        assertNotSame(primary, router.template(ReadRoute.PURCHASED_FEED));
+        assertEquals(ReadTarget.SECONDARY, router.targetFor(ReadRoute.EXPLORE_FEED));
+    }
+
+    @Test
+    void unknownRouteKey_isIgnored() {
+        MongoReadRouter router = new MongoReadRouter(primary, config(Map.of("not-a-route", ReadTarget.PRIMARY)));
+
+        assertEquals(ReadTarget.SECONDARY, router.targetFor(ReadRoute.EXPLORE_FEED));
+    }
+
+    @Test
+    void disabled_everyRouteOnPrimary() {
+        MongoReadRoutingConfig config = config(Map.of("search", ReadTarget.SECONDARY));
+        config.setEnabled(false);
+        MongoReadRouter router = new MongoReadRouter(primary, config);
+
+        for (ReadRoute route : ReadRoute.values()) {
+            assertSame(primary, router.template(route), route.key());
+        }
+        assertSame(primary, MongoReadRouter.primaryOnly(primary).template(ReadRoute.EXPLORE_FEED));
+    }
+
+    @Test
+    void maxStaleness_belowDriverMinimum_isRaised() {
+        MongoReadRoutingConfig config = config(Map.of());
+        config.setMaxStalenessSeconds(10);
+        MongoReadRouter router = new MongoReadRouter(primary, config);
+
+        TaggableReadPreference preference = (TaggableReadPreference) router.template(ReadRoute.SEARCH).getReadPreference();
+
+        assertEquals(90L, preference.getMaxStaleness(TimeUnit.SECONDS));
+    }
+
+    @Test
+    void primaryReads_pinEveryRouteUntilClosed() {
+        MongoReadRouter router = new MongoReadRouter(primary, config(Map.of()));
+        MongoTemplate secondary = router.template(ReadRoute.EXPLORE_FEED);
+
+        try (MongoReadRouter.PrimaryReads outer = MongoReadRouter.primaryReads()) {
+            assertSame(primary, router.template(ReadRoute.EXPLORE_FEED));
+            try (MongoReadRouter.PrimaryReads inner = MongoReadRouter.primaryReads()) {
+                assertSame(primary, router.template(ReadRoute.SEARCH));
+            }
+            assertSame(primary, router.template(ReadRoute.SEARCH), "closing a nested scope keeps the outer one");
+        }
+
+        assertSame(secondary, router.template(ReadRoute.EXPLORE_FEED));
+    }
+
+    @Test
+    void reads_areCountedPerRoute() {
+        MongoReadRouter router = new MongoReadRouter(primary, config(Map.of()));
+
+        router.template(ReadRoute.EXPLORE_FEED);
+        router.template(ReadRoute.EXPLORE_FEED);
+        router.template(ReadRoute.STUDIO);
+        router.logStats();
+
+        assertEquals(2, router.reads(ReadRoute.EXPLORE_FEED));
+        assertEquals(1, router.reads(ReadRoute.STUDIO));
+        assertEquals(0, router.reads(ReadRoute.SEARCH));
+    }
+}
@@ -0,0 +1,219 @@
+package org.earnlumens.mediastore.infrastructure.persistence.routing;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.bson.BsonDocument;
+import org.earnlumens.mediastore.domain.media.model.EntryStatus;
+import org.earnlumens.mediastore.domain.media.model.LanguageFilter;
+import org.earnlumens.mediastore.domain.media.model.TargetType;
+import org.earnlumens.mediastore.domain.media.repository.OwnerStatsRepository;
+import org.earnlumens.mediastore.infrastructure.config.MongoReadRoutingConfig;
+import org.earnlumens.mediastore.infrastructure.franchise.read.FranchiseReadRepositoryCustomImpl;
+import org.earnlumens.mediastore.infrastructure.persistence.media.adapter.EntryRepositoryImpl;
+import org.earnlumens.mediastore.infrastructure.persistence.media.adapter.EntryViewCounter;
+import org.earnlumens.mediastore.infrastructure.persistence.media.adapter.RatingAggregateRepositoryImpl;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.EntryMapper;
+import org.earnlumens.mediastore.infrastructure.persistence.media.mapper.RatingAggregateMapper;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntryMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntryMongoRepositoryCustomImpl;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.RatingAggregateMongoRepository;
+import org.earnlumens.mediastore.infrastructure.persistence.space.adapter.SpaceRepositoryImpl;
+import org.earnlumens.mediastore.infrastructure.persistence.space.mapper.SpaceMapper;
+import org.earnlumens.mediastore.infrastructure.persistence.space.repository.SpaceMongoRepository;
+import org.earnlumens.mediastore.infrastructure.web.ContentVersionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mapstruct.factory.Mappers;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Routing decisions as the server sees them: runs the routed adapters
+ * against a local single-node replica set ({@code mongod --replSet rs0},
+ * {@code rs.initiate()}) and checks the {@code $readPreference} the driver
+ * attaches to each command. Secondary routes must carry
+ * {@code secondaryPreferred} with {@code maxStalenessSeconds}; primary
+ * routes must carry none (or {@code primary}). With one member the
+ * secondary routes fall back to the primary, so results are checked too.
+ *
+ * <p>Not part of {@code ./gradlew test}: needs a replica set, so it runs with
+ * {@code ./gradlew replicaSetTest [-PreplicaSetMongoUri=mongodb://…]}.
+ */
+@Tag("mongo-replica-set")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadRoutingReplicaSetTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final String SPACE = "space-1";
+
+    private final List<CommandStartedEvent> commands = new CopyOnWriteArrayList<>();
+
+    private MongoClient client;
+    private String database;
+    private MongoTemplate template;
+    private MongoReadRouter router;
+
+    @BeforeAll
+    void setUp() {
+        String uri = System.getProperty("replicaSet.mongoUri", "mongodb://localhost:27017/?replicaSet=rs0");
+        CommandListener listener = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                commands.add(event);
+            }
+        };
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .addCommandListener(listener)
+                .build());
+        assertNotNull(client.getDatabase("admin").runCommand(new org.bson.Document("hello", 1)).get("setName"),
+                "replicaSet.mongoUri must point at a replica set");
+
+        database = "read_routing_" + System.currentTimeMillis();
+        template = new MongoTemplate(client, database);
+        template.insert(entry("e1"));
+        router = new MongoReadRouter(template, new MongoReadRoutingConfig());
+    }
+
+    @AfterAll
+    void tearDown() {
+        if (client != null) {
+            client.getDatabase(database).drop();
+            client.close();
+        }
+    }
+
+    @BeforeEach
+    void clear() {
+        commands.clear();
+    }
+
+    // ─── Secondary routes ───
+
+    @Test
+    void exploreFeed_sentSecondaryPreferred() {
+        EntryMongoRepositoryCustomImpl entries = new EntryMongoRepositoryCustomImpl(template, router);
+
+        org.bson.Document feed = entries.findExploreFeed(TENANT, null, null, "newest", LanguageFilter.NONE, 0, 24);
+
+        assertNotNull(feed);
+        assertSecondaryPreferred("aggregate");
+    }
+
+    @Test
+    void spaceFeed_sentSecondaryPreferred() {
+        EntryRepositoryImpl entries = new EntryRepositoryImpl(mock(EntryMongoRepository.class),
+                Mappers.getMapper(EntryMapper.class), template, mock(OwnerStatsRepository.class), router,
+                mock(ContentVersionService.class), mock(EntryViewCounter.class));
+
+        var page = entries.findByTenantIdAndSpaceIdAndStatus(TENANT, SPACE, EntryStatus.PUBLISHED, PageRequest.of(0, 20));
+
+        assertEquals(1, page.getTotalElements());
+        assertSecondaryPreferred("find");
+    }
+
+    @Test
+    void sidebarSpaces_sentSecondaryPreferred() {
+        SpaceRepositoryImpl spaces = new SpaceRepositoryImpl(mock(SpaceMongoRepository.class), new SpaceMapper(), router);
+
+        spaces.findSidebarSpaces(TENANT);
+
+        assertSecondaryPreferred("find");
+    }
+
+    @Test
+    void franchisesAndRatingAggregates_sentSecondaryPreferred() {
+        new FranchiseReadRepositoryCustomImpl(router).findPublicByTenantIdAndStatus(TENANT, "ACTIVE");
+        new RatingAggregateRepositoryImpl(mock(RatingAggregateMongoRepository.class),
+                Mappers.getMapper(RatingAggregateMapper.class), router)
+                .findPublicByTenantIdAndTargetTypeAndTargetId(TENANT, TargetType.ENTRY, "e1");
+
+        assertSecondaryPreferred("find");
+    }
+
+    // ─── Primary routes ───
+
+    @Test
+    void studio_sentToPrimary() {
+        EntryMongoRepositoryCustomImpl entries = new EntryMongoRepositoryCustomImpl(template, router);
+
+        entries.findStudioItems(TENANT, "creator-1", null, null, null, "newest", 0, 20);
+
+        assertPrimary("aggregate");
+    }
+
+    @Test
+    void overriddenRoute_sentToPrimary() {
+        MongoReadRoutingConfig config = new MongoReadRoutingConfig();
+        config.setRoutes(Map.of("explore-feed", ReadTarget.PRIMARY));
+        EntryMongoRepositoryCustomImpl entries =
+                new EntryMongoRepositoryCustomImpl(template, new MongoReadRouter(template, config));
+
+        entries.findExploreFeed(TENANT, null, null, "newest", LanguageFilter.NONE, 0, 24);
+
+        assertPrimary("aggregate");
+    }
+
+    // ─── Helpers ───
+
+    private List<BsonDocument> sent(String commandName) {
+        List<BsonDocument> sent = commands.stream()
+                .filter(e -> commandName.equals(e.getCommandName()))
+                .map(CommandStartedEvent::getCommand)
+                .toList();
+        assertFalse(sent.isEmpty(), "no " + commandName + " command was sent");
+        return sent;
+    }
+
+    private void assertSecondaryPreferred(String commandName) {
+        for (BsonDocument command : sent(commandName)) {
+            BsonDocument preference = command.getDocument("$readPreference", null);
+            assertNotNull(preference, "missing $readPreference: " + command.toJson());
+            assertEquals("secondaryPreferred", preference.getString("mode").getValue());
+            assertEquals(90, preference.getNumber("maxStalenessSeconds").intValue());
+        }
+    }
+
+    private void assertPrimary(String commandName) {
+        for (BsonDocument command : sent(commandName)) {
+            BsonDocument preference = command.getDocument("$readPreference", null);
+            assertTrue(preference == null || "primary".equals(preference.getString("mode").getValue()),
+                    "expected primary: " + command.toJson());
+        }
+    }
+
+    private static EntryEntity entry(String id) {
+        EntryEntity entity = new EntryEntity();
+        entity.setId(id);
+        entity.setTenantId(TENANT);
+        entity.setUserId("creator-1");
+        entity.setAuthorUsername("Creator1");
+        entity.setAuthorUsernameLower("creator1");
+        entity.setTitle("Routed entry");
+        entity.setType("VIDEO");
+        entity.setStatus("PUBLISHED");
+        entity.setVisibility("PUBLIC");
+        entity.setSpaceIds(List.of(SPACE));
+        entity.setContentLanguage("en");
+        entity.setCreatedAt(LocalDateTime.now().minusDays(1));
+        entity.setPublishedAt(LocalDateTime.now());
+        return entity;
+    }
+}
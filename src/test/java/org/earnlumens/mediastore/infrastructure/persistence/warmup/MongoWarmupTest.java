@@ -0,0 +1,158 @@
+package org.earnlumens.mediastore.infrastructure.persistence.warmup;
+
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.ReadPreference;
+import org.bson.Document;
+import org.earnlumens.mediastore.domain.media.model.EntryStatus;
+import org.earnlumens.mediastore.domain.media.model.LanguageFilter;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.domain.user.model.BadgeType;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.earnlumens.mediastore.infrastructure.tenant.read.TenantConfigService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link MongoWarmup}: pool pre-warm per read target, hot
+ * query priming for the default (or first active) tenant, and when
+ * {@code /public/ready} flips — after warm-up, immediately when disabled, at
+ * the deadline (counted from application ready) when Mongo does not answer.
+ */
+class MongoWarmupTest {
+
+    private static final long LONG_WAIT_MS = 60_000;
+
+    private MongoTemplate template;
+    private MongoReadRouter router;
+    private EntryRepository entries;
+    private TenantConfigService tenants;
+
+    @BeforeEach
+    void setUp() {
+        template = mock(MongoTemplate.class);
+        router = mock(MongoReadRouter.class);
+        entries = mock(EntryRepository.class);
+        tenants = mock(TenantConfigService.class);
+        when(template.executeCommand(any(Document.class), any(ReadPreference.class))).thenReturn(new Document("ok", 1));
+        when(tenants.findAllActiveTenantIds()).thenReturn(List.of("acme", "earnlumens"));
+    }
+
+    private MongoWarmup warmup(boolean enabled, int connections, long maxWaitMs) {
+        return new MongoWarmup(template, router, entries, tenants, enabled, connections, maxWaitMs);
+    }
+
+    /** What {@code onApplicationReady} does, without the background thread. */
+    private static void runAtApplicationReady(MongoWarmup warmup) {
+        warmup.startDeadline();
+        warmup.run();
+    }
+
+    @Test
+    void notReadyUntilWarmupRan() {
+        MongoWarmup warmup = warmup(true, 5, LONG_WAIT_MS);
+
+        assertFalse(warmup.isReady());
+        runAtApplicationReady(warmup);
+
+        assertTrue(warmup.isReady());
+    }
+
+    @Test
+    void opensConfiguredConnectionsToPrimary() {
+        runAtApplicationReady(warmup(true, 5, LONG_WAIT_MS));
+
+        verify(template, times(5)).executeCommand(any(Document.class), eq(ReadPreference.primary()));
+        verify(template, never()).executeCommand(any(Document.class), eq(ReadPreference.secondaryPreferred()));
+    }
+
+    @Test
+    void alsoWarmsSecondariesWhenReadsAreRouted() {
+        when(router.routesToSecondaries()).thenReturn(true);
+
+        runAtApplicationReady(warmup(true, 3, LONG_WAIT_MS));
+
+        verify(template, times(3)).executeCommand(any(Document.class), eq(ReadPreference.primary()));
+        verify(template, times(3)).executeCommand(any(Document.class), eq(ReadPreference.secondaryPreferred()));
+    }
+
+    @Test
+    void primesHotQueriesForTheDefaultTenant() {
+        runAtApplicationReady(warmup(true, 1, LONG_WAIT_MS));
+
+        verify(entries).findExploreFeed(eq("earnlumens"), any(), any(), eq("newest"), eq(LanguageFilter.NONE), eq(0), anyInt());
+        verify(entries).findCommunityFeed(eq("earnlumens"), eq(BadgeType.U1.key()), any(), any(), eq("newest"), eq(LanguageFilter.NONE), eq(0), anyInt());
+        verify(entries).findByTenantIdAndStatus(eq("earnlumens"), eq(EntryStatus.PUBLISHED), any());
+        verify(entries).searchSuggestions(eq("earnlumens"), any(), anyInt());
+        verify(entries, never()).findExploreFeed(eq("acme"), any(), any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void withoutTheDefaultTenant_primesTheLowestActiveTenantId() {
+        assertEquals("acme", MongoWarmup.warmupTenant(List.of("zeta", "acme")));
+        assertEquals("earnlumens", MongoWarmup.warmupTenant(List.of("zeta", "earnlumens")));
+        assertNull(MongoWarmup.warmupTenant(List.of()));
+    }
+
+    @Test
+    void failingHotQuery_doesNotBlockReadiness() {
+        when(entries.findExploreFeed(any(), any(), any(), any(), any(), anyInt(), anyInt()))
+                .thenThrow(new IllegalStateException("boom"));
+        MongoWarmup warmup = warmup(true, 1, LONG_WAIT_MS);
+
+        runAtApplicationReady(warmup);
+
+        assertTrue(warmup.isReady());
+        verify(entries).searchSuggestions(any(), any(), anyInt());
+    }
+
+    @Test
+    void noActiveTenant_skipsPriming() {
+        when(tenants.findAllActiveTenantIds()).thenReturn(List.of());
+        MongoWarmup warmup = warmup(true, 1, LONG_WAIT_MS);
+
+        runAtApplicationReady(warmup);
+
+        assertTrue(warmup.isReady());
+        verifyNoInteractions(entries);
+    }
+
+    @Test
+    void mongoUnreachable_readyAtDeadline() {
+        when(template.executeCommand(any(Document.class), any(ReadPreference.class)))
+                .thenThrow(new MongoTimeoutException("no server"));
+        MongoWarmup warmup = warmup(true, 2, 0);
+
+        runAtApplicationReady(warmup);
+
+        assertTrue(warmup.isReady());
+    }
+
+    @Test
+    void deadline_startsWhenTheApplicationIsReady() {
+        MongoWarmup warmup = warmup(true, 1, 0);
+
+        assertFalse(warmup.isReady(), "context startup must not use up max-wait-ms");
+        warmup.startDeadline();
+
+        assertTrue(warmup.isReady());
+    }
+
+    @Test
+    void disabled_readyImmediately() {
+        MongoWarmup warmup = warmup(false, 5, LONG_WAIT_MS);
+
+        warmup.onApplicationReady();
+
+        assertTrue(warmup.isReady());
+        verifyNoInteractions(template);
+    }
+}
@@ -0,0 +1,267 @@
+package org.earnlumens.mediastore.infrastructure.persistence.warmup;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import org.bson.Document;
+import org.earnlumens.mediastore.domain.media.model.LanguageFilter;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.EntryEntity;
+import org.earnlumens.mediastore.infrastructure.persistence.media.repository.EntryMongoRepositoryCustomImpl;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Wire-level benchmark for the Mongo client tuning in {@code MongoPoolConfig}
+ * and {@link MongoWarmup}, against a local MongoDB:
+ * <ul>
+ *   <li><b>Bytes on the wire</b> for an explore-feed page per compressor
+ *       (none, zlib, snappy, zstd). Read from the server's
+ *       {@code network.physicalBytesOut} (compressed) and {@code bytesOut}
+ *       (logical) counters. Each is corrected for the
+ *       {@code serverStatus} calls themselves, so the server should be
+ *       otherwise idle.</li>
+ *   <li><b>First-request latency</b> of a fresh client: the first feed
+ *       query on a cold pool versus after {@link MongoWarmup#openConnections}.
+ *       Locally there is no TLS, so the gap understates what Atlas shows.</li>
+ * </ul>
+ * Not part of {@code ./gradlew test}: runs with
+ * {@code ./gradlew mongoBenchmark [-PindexAuditMongoUri=mongodb://…]} and
+ * writes {@code build/reports/mongo-benchmark/mongo-wire.md}.
+ */
+@Tag("mongo-benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MongoWireBenchmarkTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final int ENTRIES = 300;
+    private static final int PAGES = 50;
+    private static final int TRIALS = 7;
+    private static final int WARM_CONNECTIONS = 5;
+
+    private final StringBuilder report = new StringBuilder();
+
+    private String uri;
+    private String database;
+    private MongoClient admin;
+
+    @BeforeAll
+    void setUp() {
+        uri = System.getProperty("indexAudit.mongoUri", "mongodb://localhost:27017");
+        admin = MongoClients.create(uri);
+        database = "mongo_wire_bench_" + System.currentTimeMillis();
+        MongoTemplate template = new MongoTemplate(admin, database);
+        List<EntryEntity> seed = new ArrayList<>(ENTRIES);
+        for (int i = 0; i < ENTRIES; i++) {
+            seed.add(entry(i));
+        }
+        template.insertAll(seed);
+        report.append("# Mongo wire benchmark\n\n");
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        try {
+            String out = report.toString();
+            System.out.println(out);
+            Path dir = Path.of(System.getProperty("mongoBenchmark.reportDir", "build/reports/mongo-benchmark"));
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("mongo-wire.md"), out);
+        } finally {
+            admin.getDatabase(database).drop();
+            admin.close();
+        }
+    }
+
+    // ─── Bytes on the wire ───
+
+    @Test
+    void compression_reducesPhysicalBytesOut() {
+        report.append("## Explore feed page (24 items), ").append(PAGES).append(" pages per row\n\n")
+                .append("| Compressor | Physical bytes / page | Logical bytes / page | Ratio |\n")
+                .append("|---|---:|---:|---:|\n");
+
+        long uncompressed = -1;
+        long best = Long.MAX_VALUE;
+        for (String name : List.of("none", "zlib", "snappy", "zstd")) {
+            List<MongoCompressor> compressors = switch (name) {
+                case "zlib" -> List.of(MongoCompressor.createZlibCompressor());
+                case "snappy" -> List.of(MongoCompressor.createSnappyCompressor());
+                case "zstd" -> List.of(MongoCompressor.createZstdCompressor());
+                default -> List.of();
+            };
+            try (MongoClient client = MongoClients.create(MongoClientSettings.builder()
+                    .applyConnectionString(new ConnectionString(uri))
+                    .compressorList(compressors)
+                    .build())) {
+                EntryMongoRepositoryCustomImpl entries = repository(client);
+                explore(entries);
+
+                long overheadPhysical = Long.MAX_VALUE;
+                long overheadLogical = Long.MAX_VALUE;
+                for (int i = 0; i < 3; i++) {
+                    long[] a = networkOut();
+                    long[] b = networkOut();
+                    overheadPhysical = Math.min(overheadPhysical, b[0] - a[0]);
+                    overheadLogical = Math.min(overheadLogical, b[1] - a[1]);
+                }
+
+                long[] before = networkOut();
+                for (int i = 0; i < PAGES; i++) {
+                    explore(entries);
+                }
+                long[] after = networkOut();
+                long physical = Math.max(0, after[0] - before[0] - overheadPhysical) / PAGES;
+                long logical = Math.max(0, after[1] - before[1] - overheadLogical) / PAGES;
+
+                if (name.equals("none")) uncompressed = physical;
+                else best = Math.min(best, physical);
+                report.append(String.format(Locale.ROOT, "| %s | %,d | %,d | %.2f |%n", name, physical, logical,
+                        logical == 0 ? 1.0 : (double) physical / logical));
+            }
+        }
+        report.append('\n');
+
+        assertTrue(uncompressed > 0, "no bytes measured; is the server idle?");
+        assertTrue(best < uncompressed, "no compressor reduced bytes on the wire");
+    }
+
+    // ─── First request ───
+
+    @Test
+    void prewarmedPool_servesFirstRequestWithoutConnecting() {
+        long[] cold = new long[TRIALS];
+        long[] warm = new long[TRIALS];
+        long[] warmup = new long[TRIALS];
+        int[] coldOpened = new int[TRIALS];
+        int[] warmOpened = new int[TRIALS];
+
+        for (int t = 0; t < TRIALS; t++) {
+            AtomicInteger created = new AtomicInteger();
+            try (MongoClient client = client(created)) {
+                long started = System.nanoTime();
+                explore(repository(client));
+                cold[t] = System.nanoTime() - started;
+                coldOpened[t] = created.get();
+            }
+
+            created.set(0);
+            try (MongoClient client = client(created)) {
+                MongoTemplate template = new MongoTemplate(client, database);
+                long warmStarted = System.nanoTime();
+                MongoWarmup.openConnections(template, ReadPreference.primary(), WARM_CONNECTIONS);
+                warmup[t] = System.nanoTime() - warmStarted;
+                int opened = created.get();
+
+                long started = System.nanoTime();
+                explore(repository(client));
+                warm[t] = System.nanoTime() - started;
+                warmOpened[t] = created.get() - opened;
+            }
+        }
+
+        report.append("## First explore-feed request on a fresh client, median of ").append(TRIALS).append('\n')
+                .append('\n')
+                .append("| Pool | First request ms | Connections opened by it | Warm-up ms |\n")
+                .append("|---|---:|---:|---:|\n")
+                .append(String.format(Locale.ROOT, "| cold | %.1f | %d | – |%n", median(cold), medianInt(coldOpened)))
+                .append(String.format(Locale.ROOT, "| pre-warmed (%d) | %.1f | %d | %.1f |%n",
+                        WARM_CONNECTIONS, median(warm), medianInt(warmOpened), median(warmup)))
+                .append('\n');
+
+        assertFalse(Arrays.stream(warmOpened).anyMatch(n -> n > 0), "the first request after warm-up opened a connection");
+    }
+
+    // ─── Helpers ───
+
+    private MongoClient client(AtomicInteger created) {
+        return MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(new ConnectionPoolListener() {
+                    @Override
+                    public void connectionCreated(ConnectionCreatedEvent event) {
+                        created.incrementAndGet();
+                    }
+                }))
+                .build());
+    }
+
+    private EntryMongoRepositoryCustomImpl repository(MongoClient client) {
+        MongoTemplate template = new MongoTemplate(client, database);
+        return new EntryMongoRepositoryCustomImpl(template, MongoReadRouter.primaryOnly(template));
+    }
+
+    private static void explore(EntryMongoRepositoryCustomImpl entries) {
+        entries.findExploreFeed(TENANT, null, null, "newest", LanguageFilter.NONE, 0, 24);
+    }
+
+    /** {@code [physicalBytesOut, bytesOut]} from {@code serverStatus}. */
+    private long[] networkOut() {
+        Document status = admin.getDatabase("admin").runCommand(new Document("serverStatus", 1));
+        Document network = status.get("network", Document.class);
+        Number logical = network.get("bytesOut", Number.class);
+        Number physical = network.get("physicalBytesOut", Number.class);
+        return new long[]{(physical != null ? physical : logical).longValue(), logical.longValue()};
+    }
+
+    private static double median(long[] nanos) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2] / 1_000_000.0;
+    }
+
+    private static int medianInt(int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static EntryEntity entry(int i) {
+        EntryEntity entity = new EntryEntity();
+        entity.setId(String.format(Locale.ROOT, "%024x", i + 1));
+        entity.setTenantId(TENANT);
+        entity.setUserId("creator-" + (i % 20));
+        entity.setAuthorUsername("Creator" + (i % 20));
+        entity.setAuthorUsernameLower("creator" + (i % 20));
+        entity.setAuthorAvatarUrl("https://cdn.example.com/avatars/creator-" + (i % 20) + ".webp");
+        entity.setTitle("Entry title number " + i + " with a realistic length");
+        entity.setTitleLower("entry title number " + i + " with a realistic length");
+        entity.setDescription(("Description paragraph " + i + " about the session, the gear and the venue. ").repeat(12));
+        entity.setType(i % 3 == 0 ? "VIDEO" : i % 3 == 1 ? "AUDIO" : "IMAGE");
+        entity.setStatus("PUBLISHED");
+        entity.setVisibility("PUBLIC");
+        entity.setPaid(i % 2 == 0);
+        entity.setPriceCurrency("XLM");
+        entity.setTags(List.of("music", "live", "acoustic", "session", "original"));
+        entity.setContentLanguage("en");
+        entity.setThumbnailR2Key("thumbnails/" + i + "/original.webp");
+        entity.setThumbnailVariantsPrefix("thumbnails/" + i + "/variants/");
+        entity.setDurationSec(180 + i);
+        LocalDateTime created = LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(i);
+        entity.setCreatedAt(created);
+        entity.setPublishedAt(created.plusDays(1));
+        return entity;
+    }
+}
@@ -0,0 +1,137 @@
+package org.earnlumens.mediastore.infrastructure.r2;
+
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.DeletedObject;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory S3-compatible stand-in for the two calls {@link R2PrefixDeleter}
+ * uses: ListObjectsV2 (lexicographic, continuation token = last key returned)
+ * and DeleteObjects. Calls complete asynchronously after a configurable
+ * latency, and the fake records in-flight counts so tests can observe
+ * pipelining and concurrency bounds.
+ */
+class InMemoryS3AsyncClient implements S3AsyncClient {
+
+    final NavigableMap<String, Long> objects = new ConcurrentSkipListMap<>();
+    /** Keys that DeleteObjects reports as per-key errors (AccessDenied) instead of deleting. */
+    final Set<String> undeletableKeys = ConcurrentHashMap.newKeySet();
+
+    final AtomicInteger listCalls = new AtomicInteger();
+    final AtomicInteger deleteCalls = new AtomicInteger();
+    final AtomicInteger maxKeysPerDelete = new AtomicInteger();
+    final AtomicInteger maxConcurrentLists = new AtomicInteger();
+    /** Set when a list request was issued while a delete was still in flight. */
+    final AtomicBoolean listOverlappedDelete = new AtomicBoolean();
+
+    private final AtomicInteger listsInFlight = new AtomicInteger();
+    private final AtomicInteger deletesInFlight = new AtomicInteger();
+    private final Executor delayed;
+
+    InMemoryS3AsyncClient(long latencyMs) {
+        this.delayed = CompletableFuture.delayedExecutor(latencyMs, TimeUnit.MILLISECONDS);
+    }
+
+    void put(String key) {
+        objects.put(key, 1L);
+    }
+
+    @Override
+    public CompletableFuture<ListObjectsV2Response> listObjectsV2(ListObjectsV2Request request) {
+        listCalls.incrementAndGet();
+        if (deletesInFlight.get() > 0) {
+            listOverlappedDelete.set(true);
+        }
+        maxConcurrentLists.accumulateAndGet(listsInFlight.incrementAndGet(), Math::max);
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                String prefix = request.prefix() == null ? "" : request.prefix();
+                int maxKeys = request.maxKeys() == null ? 1000 : Math.min(request.maxKeys(), 1000);
+                String after = request.continuationToken();
+                NavigableMap<String, Long> tail = after == null
+                        ? objects.tailMap(prefix, true)
+                        : objects.tailMap(after, false);
+
+                List<S3Object> page = new ArrayList<>();
+                boolean truncated = false;
+                for (String key : tail.keySet()) {
+                    if (!key.startsWith(prefix)) break;
+                    if (page.size() == maxKeys) {
+                        truncated = true;
+                        break;
+                    }
+                    page.add(S3Object.builder().key(key).size(1L).build());
+                }
+                return ListObjectsV2Response.builder()
+                        .contents(page)
+                        .keyCount(page.size())
+                        .isTruncated(truncated)
+                        .nextContinuationToken(truncated ? page.get(page.size() - 1).key() : null)
+                        .build();
+            } finally {
+                listsInFlight.decrementAndGet();
+            }
+        }, delayed);
+    }
+
+    @Override
+    public CompletableFuture<DeleteObjectsResponse> deleteObjects(DeleteObjectsRequest request) {
+        List<ObjectIdentifier> keys = request.delete().objects();
+        if (keys.size() > 1000) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("MalformedXML: more than 1000 keys"));
+        }
+        deleteCalls.incrementAndGet();
+        maxKeysPerDelete.accumulateAndGet(keys.size(), Math::max);
+        deletesInFlight.incrementAndGet();
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                List<DeletedObject> deleted = new ArrayList<>();
+                List<S3Error> errors = new ArrayList<>();
+                for (ObjectIdentifier id : keys) {
+                    if (undeletableKeys.contains(id.key())) {
+                        errors.add(S3Error.builder().key(id.key()).code("AccessDenied").build());
+                    } else {
+                        objects.remove(id.key());
+                        deleted.add(DeletedObject.builder().key(id.key()).build());
+                    }
+                }
+                return DeleteObjectsResponse.builder().deleted(deleted).errors(errors).build();
+            } finally {
+                deletesInFlight.decrementAndGet();
+            }
+        }, delayed);
+    }
+
+    long countUnder(String prefix) {
+        return objects.keySet().stream().filter(k -> k.startsWith(prefix)).count();
+    }
+
+    @Override
+    public String serviceName() {
+        return "s3";
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,118 @@
+package org.earnlumens.mediastore.infrastructure.r2;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link R2PrefixDeleter} against {@link InMemoryS3AsyncClient}:
+ * pagination into ≤1000-key batches, list/delete pipelining, the concurrency
+ * bound across prefixes, per-key error surfacing and the degenerate-prefix guard.
+ */
+class R2PrefixDeleterTest {
+
+    private static final String BUCKET = "multimedia";
+
+    private static void fill(InMemoryS3AsyncClient s3, String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            s3.put(String.format("%sseg-%05d.ts", prefix, i));
+        }
+    }
+
+    @Test
+    void deletesEveryObjectUnderPrefix_inBatchesOfAtMost1000() {
+        InMemoryS3AsyncClient s3 = new InMemoryS3AsyncClient(0);
+        fill(s3, "private/media/e1/hls/", 2_500);
+        fill(s3, "private/media/e10/hls/", 10); // shares the "e1" string prefix but not the "e1/" path
+        R2PrefixDeleter deleter = new R2PrefixDeleter(s3, BUCKET, 4);
+
+        long deleted = deleter.deletePrefix("private/media/e1/").join();
+
+        assertEquals(2_500, deleted);
+        assertEquals(0, s3.countUnder("private/media/e1/"));
+        assertEquals(10, s3.countUnder("private/media/e10/"));
+        assertEquals(3, s3.deleteCalls.get());
+        assertTrue(s3.maxKeysPerDelete.get() <= R2PrefixDeleter.MAX_KEYS_PER_BATCH);
+    }
+
+    @Test
+    void nextPageIsListedWhileBatchDeleteIsInFlight() {
+        InMemoryS3AsyncClient s3 = new InMemoryS3AsyncClient(20);
+        fill(s3, "private/media/e1/", 5_000);
+        R2PrefixDeleter deleter = new R2PrefixDeleter(s3, BUCKET, 1);
+
+        deleter.deletePrefix("private/media/e1/").join();
+
+        assertTrue(s3.listOverlappedDelete.get(), "list of page N+1 should overlap delete of page N");
+        assertEquals(0, s3.countUnder("private/media/e1/"));
+    }
+
+    @Test
+    void deletePrefixes_boundsConcurrencyAndReportsThroughput() {
+        InMemoryS3AsyncClient s3 = new InMemoryS3AsyncClient(10);
+        List<String> prefixes = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            String prefix = "public/media/e" + i + "/";
+            fill(s3, prefix, 150);
+            prefixes.add(prefix);
+        }
+        R2PrefixDeleter deleter = new R2PrefixDeleter(s3, BUCKET, 3);
+
+        R2PrefixDeleter.Report report = deleter.deletePrefixes(prefixes);
+
+        assertEquals(12, report.deleted().size());
+        assertTrue(report.failed().isEmpty());
+        assertEquals(12 * 150, report.objects());
+        assertTrue(report.objectsPerSecond() > 0);
+        assertTrue(s3.objects.isEmpty());
+        // One list in flight per prefix pipeline, at most 3 pipelines at once.
+        assertTrue(s3.maxConcurrentLists.get() <= 3, "max concurrent lists: " + s3.maxConcurrentLists.get());
+        assertTrue(s3.maxConcurrentLists.get() > 1, "prefixes should run in parallel");
+    }
+
+    @Test
+    void perKeyErrors_failThePrefixButOthersComplete() {
+        InMemoryS3AsyncClient s3 = new InMemoryS3AsyncClient(0);
+        fill(s3, "private/media/bad/", 20);
+        fill(s3, "private/media/good/", 20);
+        s3.undeletableKeys.add("private/media/bad/seg-00003.ts");
+        R2PrefixDeleter deleter = new R2PrefixDeleter(s3, BUCKET, 2);
+
+        R2PrefixDeleter.Report report = deleter.deletePrefixes(
+                List.of("private/media/bad/", "private/media/good/"));
+
+        assertEquals(20L, report.deleted().get("private/media/good/"));
+        assertTrue(report.failed().get("private/media/bad/").contains("AccessDenied"));
+        assertEquals(39, report.objects());
+        assertEquals(1, s3.countUnder("private/media/bad/"));
+    }
+
+    @Test
+    void refusesDegeneratePrefixes() {
+        InMemoryS3AsyncClient s3 = new InMemoryS3AsyncClient(0);
+        fill(s3, "private/media/e1/", 5);
+        R2PrefixDeleter deleter = new R2PrefixDeleter(s3, BUCKET, 2);
+
+        CompletionException ex = assertThrows(CompletionException.class,
+                () -> deleter.deletePrefix("private").join());
+        assertInstanceOf(IllegalArgumentException.class, ex.getCause());
+
+        R2PrefixDeleter.Report report = deleter.deletePrefixes(List.of("", "private/media/e1/"));
+        assertEquals(1, report.failed().size());
+        assertEquals(5L, report.deleted().get("private/media/e1/"));
+        assertEquals(1, s3.listCalls.get(), "the degenerate prefix must never be listed");
+    }
+
+    @Test
+    void emptyPrefix_deletesNothing() {
+        InMemoryS3AsyncClient s3 = new InMemoryS3AsyncClient(0);
+        R2PrefixDeleter deleter = new R2PrefixDeleter(s3, BUCKET, 2);
+
+        assertEquals(0L, deleter.deletePrefix("private/media/none/").join());
+        assertEquals(0, s3.deleteCalls.get());
+    }
+}
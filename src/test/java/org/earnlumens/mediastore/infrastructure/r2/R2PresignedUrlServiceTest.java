@@ -0,0 +1,71 @@
+package org.earnlumens.mediastore.infrastructure.r2;
+
+import org.earnlumens.mediastore.application.media.EntryUploadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for multipart part-URL presigning in {@link R2PresignedUrlService},
+ * including the constant-size init window for 1/10/50 GB uploads. Init
+ * latency and response size are measured by {@link UploadInitBenchmarkTest}.
+ */
+class R2PresignedUrlServiceTest {
+
+    private static final long GB = 1024L * 1024 * 1024;
+
+    private R2PresignedUrlService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new R2PresignedUrlService(mock(S3Presigner.class), "multimedia",
+                "https://acct.r2.cloudflarestorage.com", "AKIDEXAMPLE", "secret",
+                Clock.fixed(Instant.parse("2025-01-15T10:00:00Z"), ZoneOffset.UTC));
+    }
+
+    @Test
+    void partUrls_arePathStyleAndNumberedFromFirstPart() {
+        List<String> urls = service.generatePresignedUploadPartUrls("private/media/e1/full/x.mp4", "up-1", 5, 3);
+
+        assertEquals(3, urls.size());
+        for (int i = 0; i < 3; i++) {
+            String url = urls.get(i);
+            assertTrue(url.startsWith("https://acct.r2.cloudflarestorage.com/multimedia/private/media/e1/full/x.mp4?"));
+            assertTrue(url.contains("partNumber=" + (5 + i) + "&"));
+            assertTrue(url.contains("uploadId=up-1"));
+            assertTrue(url.contains("X-Amz-Expires=86400"));
+            assertTrue(url.contains("%2Fauto%2Fs3%2Faws4_request"));
+        }
+    }
+
+    @Test
+    void singlePartUrl_matchesBatchUrl() {
+        String single = service.generatePresignedUploadPartUrl("k", "up-1", 7);
+        String batch = service.generatePresignedUploadPartUrls("k", "up-1", 7, 1).get(0);
+
+        assertEquals(batch, single);
+    }
+
+    @Test
+    void initWindow_presignsAConstantNumberOfUrlsFor1_10_50GB() {
+        for (long size : new long[]{1 * GB, 10 * GB, 50 * GB}) {
+            long partSize = EntryUploadService.partSizeFor(size);
+            int totalParts = (int) ((size + partSize - 1) / partSize);
+            int window = Math.min(totalParts, EntryUploadService.PART_URL_WINDOW);
+
+            List<String> first = service.generatePresignedUploadPartUrls("k", "up", 1, window);
+
+            assertTrue(totalParts <= 1000, "adaptive part size keeps part count bounded");
+            assertEquals(EntryUploadService.PART_URL_WINDOW, first.size());
+            assertTrue(first.get(window - 1).contains("partNumber=" + window + "&"));
+        }
+    }
+}
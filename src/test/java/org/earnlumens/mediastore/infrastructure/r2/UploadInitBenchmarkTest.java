@@ -0,0 +1,101 @@
+package org.earnlumens.mediastore.infrastructure.r2;
+
+import org.earnlumens.mediastore.application.media.EntryUploadService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Upload-init cost for 1/10/50 GB files: presigning the first
+ * {@link EntryUploadService#PART_URL_WINDOW} part URLs (what
+ * {@code initUpload} returns) against presigning every part up front. Rows
+ * report init latency and the response size — part URLs and their payload
+ * bytes — per file size.
+ * <p>
+ * Not part of {@code ./gradlew test}: runs with {@code ./gradlew webBenchmark}
+ * and writes {@code build/reports/web-benchmark/upload-init.md}.
+ */
+@Tag("web-benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UploadInitBenchmarkTest {
+
+    private static final long GB = 1024L * 1024 * 1024;
+    private static final int ROUNDS = 20;
+
+    private final StringBuilder report = new StringBuilder();
+
+    private R2PresignedUrlService service;
+
+    /** One init strategy for one file size. */
+    record Run(int urls, long payloadBytes, double millis) {}
+
+    @BeforeAll
+    void setUp() {
+        service = new R2PresignedUrlService(mock(S3Presigner.class), "multimedia",
+                "https://acct.r2.cloudflarestorage.com", "AKIDEXAMPLE", "secret",
+                Clock.fixed(Instant.parse("2025-01-15T10:00:00Z"), ZoneOffset.UTC));
+        // Warm up JIT and the signing-key cache so the rows measure presign cost only.
+        for (int i = 0; i < ROUNDS; i++) {
+            service.generatePresignedUploadPartUrls("warm", "up", 1, 1_000);
+        }
+        report.append("# Upload init cost\n\n")
+                .append("Mean of ").append(ROUNDS).append(" inits per row\n\n")
+                .append("| File | Part size | Parts | Init | URLs returned | URL payload bytes | ms / init |\n")
+                .append("|---:|---:|---:|---|---:|---:|---:|\n");
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        String out = report.toString();
+        System.out.println(out);
+        Path dir = Path.of(System.getProperty("webBenchmark.reportDir", "build/reports/web-benchmark"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("upload-init.md"), out);
+    }
+
+    @Test
+    void windowedInit_staysConstantFrom1To50GB() {
+        for (long size : new long[]{1 * GB, 10 * GB, 50 * GB}) {
+            long partSize = EntryUploadService.partSizeFor(size);
+            int totalParts = (int) ((size + partSize - 1) / partSize);
+            int window = Math.min(totalParts, EntryUploadService.PART_URL_WINDOW);
+
+            Run all = row(size, partSize, totalParts, "all parts up front", totalParts);
+            Run windowed = row(size, partSize, totalParts, "window (initUpload)", window);
+
+            assertEquals(totalParts, all.urls());
+            assertEquals(window, windowed.urls());
+            assertTrue(windowed.payloadBytes() <= all.payloadBytes());
+        }
+        report.append('\n');
+    }
+
+    private Run row(long size, long partSize, int totalParts, String init, int count) {
+        List<String> urls = List.of();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            urls = service.generatePresignedUploadPartUrls("private/media/e1/full/x.mp4", "up-1", 1, count);
+        }
+        double millis = (System.nanoTime() - start) / 1e6 / ROUNDS;
+        Run run = new Run(urls.size(), urls.stream().mapToLong(String::length).sum(), millis);
+        report.append(String.format(Locale.ROOT, "| %d GB | %d MB | %,d | %s | %,d | %,d | %.2f |%n",
+                size / GB, partSize / (1024 * 1024), totalParts, init, run.urls(), run.payloadBytes(), run.millis()));
+        return run;
+    }
+}
@@ -0,0 +1,130 @@
+package org.earnlumens.mediastore.infrastructure.security;
+
+import ch.qos.logback.classic.Level;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Per-request allocation and time of {@link DiagnosticFilter} against the
+ * previous {@code ContentCachingResponseWrapper} filter, for a 64 KiB body
+ * written to a response that discards it.
+ * <p>
+ * Not part of {@code ./gradlew test}: runs with {@code ./gradlew webBenchmark}
+ * and writes {@code build/reports/web-benchmark/diagnostic-filter.md}.
+ */
+@Tag("web-benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DiagnosticFilterBenchmarkTest {
+
+    private static final byte[] PAYLOAD = new byte[64 * 1024];
+    private static final int WARMUP = 2_000;
+    private static final int REQUESTS = 5_000;
+
+    private final StringBuilder report = new StringBuilder();
+
+    private ch.qos.logback.classic.Logger accessLogger;
+    private Level previousLevel;
+
+    /** Per-request cost of one filter. */
+    record Run(long bytesPerRequest, long nanosPerRequest) {}
+
+    @BeforeAll
+    void setUp() {
+        // Keep the loops off the console; the access path itself still runs.
+        accessLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("mediastore.access");
+        previousLevel = accessLogger.getLevel();
+        accessLogger.setLevel(Level.OFF);
+        report.append("# DiagnosticFilter overhead\n\n")
+                .append(REQUESTS).append(" requests per row, 64 KiB body, single thread\n\n")
+                .append("| Filter | Allocated B / request | ns / request |\n")
+                .append("|---|---:|---:|\n");
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        accessLogger.setLevel(previousLevel);
+        String out = report.toString();
+        System.out.println(out);
+        Path dir = Path.of(System.getProperty("webBenchmark.reportDir", "build/reports/web-benchmark"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("diagnostic-filter.md"), out);
+    }
+
+    @Test
+    void allocatesAFractionOfTheBufferingFilter() throws Exception {
+        var filter = new DiagnosticFilter.DiagnosticServletFilter(true, false, 0.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/public/feed");
+        FilterChain chain = (req, res) -> {
+            ((HttpServletResponse) res).setStatus(200);
+            res.getOutputStream().write(PAYLOAD);
+        };
+
+        Run buffering = row("ContentCachingResponseWrapper (before)", () -> {
+            var wrapped = new ContentCachingResponseWrapper(new DiscardingResponse());
+            chain.doFilter(request, wrapped);
+            wrapped.getStatus();
+            wrapped.copyBodyToResponse();
+        });
+        Run streaming = row("DiagnosticFilter (streaming)", () -> filter.doFilter(request, new DiscardingResponse(), chain));
+
+        report.append('\n');
+        // The buffering filter allocates at least one body-sized array per request.
+        assertTrue(buffering.bytesPerRequest() >= PAYLOAD.length);
+        assertTrue(streaming.bytesPerRequest() < PAYLOAD.length / 8,
+                "streaming filter allocated " + streaming.bytesPerRequest() + " B/request");
+    }
+
+    private Run row(String name, ThrowingRunnable body) throws Exception {
+        for (int i = 0; i < WARMUP; i++) body.run();
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().threadId();
+        long bytesBefore = threads.getThreadAllocatedBytes(tid);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) body.run();
+        long nanos = System.nanoTime() - start;
+        long bytes = threads.getThreadAllocatedBytes(tid) - bytesBefore;
+        Run run = new Run(bytes / REQUESTS, nanos / REQUESTS);
+        report.append(String.format(Locale.ROOT, "| %s | %,d | %,d |%n", name, run.bytesPerRequest(), run.nanosPerRequest()));
+        return run;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    /** Response whose body goes nowhere, so only the filter's own allocation is measured. */
+    private static final class DiscardingResponse extends MockHttpServletResponse {
+
+        private static final ServletOutputStream SINK = new ServletOutputStream() {
+            @Override public void write(int b) {}
+            @Override public void write(byte[] b, int off, int len) {}
+            @Override public boolean isReady() { return true; }
+            @Override public void setWriteListener(WriteListener writeListener) {}
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return SINK;
+        }
+    }
+}
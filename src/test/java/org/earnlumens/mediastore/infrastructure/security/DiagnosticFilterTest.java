@@ -0,0 +1,128 @@
+package org.earnlumens.mediastore.infrastructure.security;
+
+import ch.qos.logback.classic.Level;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DiagnosticFilter}: responses pass through unbuffered
+ * and the 403 body is captured only when opted in. Allocation against the
+ * previous buffering filter is measured by {@link DiagnosticFilterBenchmarkTest}.
+ */
+class DiagnosticFilterTest {
+
+    private static final byte[] PAYLOAD = new byte[64 * 1024];
+
+    private ch.qos.logback.classic.Logger accessLogger;
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        // Keep access lines off the console; the access path itself still runs.
+        accessLogger = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger("mediastore.access");
+        previousLevel = accessLogger.getLevel();
+        accessLogger.setLevel(Level.OFF);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.setLevel(previousLevel);
+    }
+
+    private static FilterChain writing(int status, byte[] body) {
+        return (req, res) -> {
+            ((HttpServletResponse) res).setStatus(status);
+            res.getOutputStream().write(body);
+        };
+    }
+
+    // ─── Pass-through ───
+
+    @Nested
+    class PassThrough {
+
+        @Test
+        void bodyReachesTheContainerBeforeTheChainReturns() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            AtomicReference<Integer> seenInsideChain = new AtomicReference<>();
+            var filter = new DiagnosticFilter.DiagnosticServletFilter(true, false, 1.0);
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/public/feed"), response, (req, res) -> {
+                res.getOutputStream().write(PAYLOAD);
+                seenInsideChain.set(response.getContentAsByteArray().length);
+            });
+
+            assertEquals(PAYLOAD.length, seenInsideChain.get(), "nothing is held back in a buffer");
+            assertEquals(PAYLOAD.length, response.getContentAsByteArray().length);
+        }
+
+        @Test
+        void wrapperCountsStreamAndWriterBytes() throws Exception {
+            var stream = new StatusCapturingResponseWrapper(new MockHttpServletResponse(), 0);
+            stream.getOutputStream().write(PAYLOAD, 0, 1000);
+            stream.getOutputStream().write('x');
+            assertEquals(1001, stream.getBytesWritten());
+
+            var writer = new StatusCapturingResponseWrapper(new MockHttpServletResponse(), 0);
+            writer.getWriter().write("{\"ok\":true}");
+            writer.getWriter().flush();
+            assertEquals(11, writer.getBytesWritten());
+        }
+    }
+
+    // ─── 403 body capture ───
+
+    @Nested
+    class ForbiddenCapture {
+
+        @Test
+        void capturesPrefixOfForbiddenBody_whenEnabled() throws Exception {
+            var wrapper = new StatusCapturingResponseWrapper(new MockHttpServletResponse(),
+                    DiagnosticFilter.BODY_CAPTURE_LIMIT);
+            wrapper.setStatus(403);
+            wrapper.getWriter().write("Invalid CORS request" + "x".repeat(1000));
+            wrapper.getWriter().flush();
+
+            String body = wrapper.getCapturedBody();
+            assertTrue(body.startsWith("Invalid CORS request"));
+            assertEquals(DiagnosticFilter.BODY_CAPTURE_LIMIT, body.length());
+        }
+
+        @Test
+        void nothingCaptured_forOtherStatusesOrWhenDisabled() throws Exception {
+            var ok = new StatusCapturingResponseWrapper(new MockHttpServletResponse(),
+                    DiagnosticFilter.BODY_CAPTURE_LIMIT);
+            ok.setStatus(200);
+            ok.getOutputStream().write(PAYLOAD);
+            assertNull(ok.getCapturedBody());
+
+            var disabled = new StatusCapturingResponseWrapper(new MockHttpServletResponse(), 0);
+            disabled.setStatus(403);
+            disabled.getOutputStream().write(PAYLOAD);
+            assertNull(disabled.getCapturedBody());
+        }
+
+        @Test
+        void forbiddenResponse_passesThroughFilterUnchanged() throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            var filter = new DiagnosticFilter.DiagnosticServletFilter(true, true, 1.0);
+
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/orders"), response,
+                    writing(403, "denied".getBytes()));
+
+            assertEquals(403, response.getStatus());
+            assertEquals("denied", response.getContentAsString());
+        }
+    }
+}
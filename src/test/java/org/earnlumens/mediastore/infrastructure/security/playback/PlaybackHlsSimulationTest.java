@@ -0,0 +1,197 @@
+package org.earnlumens.mediastore.infrastructure.security.playback;
+
+import org.earnlumens.mediastore.infrastructure.config.PlaybackTokenConfig;
+import org.earnlumens.mediastore.infrastructure.security.playback.PlaybackTokenService.Verdict;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.earnlumens.mediastore.infrastructure.security.playback.PlaybackTokenServiceTest.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Replays the {@code loadtest/hls.js} request pattern against a simulated
+ * cdn-worker that follows docs/PLAYBACK-TOKENS.md: each viewer fetches the
+ * master playlist, a variant playlist and a window of segments; the worker
+ * verifies the viewer's playback cookie and only calls the entitlement
+ * endpoint (the "origin") when it is missing or rejected.
+ */
+class PlaybackHlsSimulationTest {
+
+    private static final int VIEWERS = 20;
+    private static final int SEGMENTS = 30;
+
+    private MutableClock clock;
+    private PlaybackRevocationService revocations;
+    private PlaybackTokenService tokens;
+    private Edge edge;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(NOW);
+        PlaybackTokenConfig config = config("k1:" + secret('a'), "k1");
+        revocations = new PlaybackRevocationService(mock(MongoTemplate.class), config, clock);
+        tokens = new PlaybackTokenService(config, revocations, clock);
+        edge = new Edge();
+        edge.entitled.add(USER);
+        for (int v = 0; v < VIEWERS; v++) {
+            edge.entitled.add(viewer(v));
+        }
+    }
+
+    private static String viewer(int v) {
+        return "viewer-" + v;
+    }
+
+    /** master → variant → {@code count} segments from {@code start}; returns the status of each request. */
+    private List<Integer> play(String tenant, String viewer, String entry, int start, int count) {
+        String prefix = "public/media/" + entry + "/hls";
+        List<Integer> statuses = new ArrayList<>();
+        statuses.add(edge.get(tenant, viewer, entry, prefix + "/master.m3u8"));
+        statuses.add(edge.get(tenant, viewer, entry, prefix + "/720p/index.m3u8"));
+        for (int i = 0; i < count; i++) {
+            statuses.add(edge.get(tenant, viewer, entry, prefix + "/720p/segment_%05d.ts".formatted(start + i)));
+        }
+        return statuses;
+    }
+
+    private static boolean allOk(List<Integer> statuses) {
+        return statuses.stream().allMatch(status -> status == 200);
+    }
+
+    // ─── Scenarios ───
+
+    @Test
+    void oneEntitlementCheckPerViewer_authorizesTheWholeSession() {
+        for (int v = 0; v < VIEWERS; v++) {
+            assertTrue(allOk(play(TENANT, viewer(v), ENTRY, 0, SEGMENTS)));
+        }
+        clock.advance(60);
+        for (int v = 0; v < VIEWERS; v++) {
+            assertTrue(allOk(play(TENANT, viewer(v), ENTRY, SEGMENTS, SEGMENTS)));
+        }
+
+        assertEquals(VIEWERS * 2 * (SEGMENTS + 2), edge.requests);
+        assertEquals(VIEWERS, edge.originCalls);
+    }
+
+    @Test
+    void expiryMidSession_costsOneRecheck() {
+        assertTrue(allOk(play(TENANT, USER, ENTRY, 0, 10)));
+        clock.advance(900);
+        assertTrue(allOk(play(TENANT, USER, ENTRY, 10, 10)));
+
+        assertEquals(2, edge.originCalls);
+    }
+
+    @Test
+    void refund_cutsPlaybackOffAtTheNextSegment() {
+        assertTrue(allOk(play(TENANT, USER, ENTRY, 0, 5)));
+
+        edge.entitled.remove(USER);
+        revocations.revoke(TENANT, USER, ENTRY, clock.instant());
+
+        List<Integer> after = play(TENANT, USER, ENTRY, 5, 5);
+        assertTrue(after.stream().allMatch(status -> status == 403));
+        assertTrue(allOk(play(TENANT, viewer(1), ENTRY, 0, 5)));
+    }
+
+    @Test
+    void ban_revokesTokensOnEveryEntryAndStopsMintingUntilItEnds() {
+        String otherEntry = "6650aa00bb11cc22dd33ee55";
+        assertTrue(allOk(play(TENANT, USER, ENTRY, 0, 5)));
+        assertTrue(allOk(play(TENANT, USER, otherEntry, 0, 5)));
+        int before = edge.originCalls;
+
+        revocations.revoke(TENANT, USER, null, clock.instant().plusSeconds(600));
+
+        // Tokens are rejected and none is minted: every request goes back to the origin.
+        play(TENANT, USER, ENTRY, 5, 5);
+        play(TENANT, USER, otherEntry, 5, 5);
+        assertEquals(before + 14, edge.originCalls);
+        assertTrue(edge.cookies.isEmpty());
+
+        clock.advance(601);
+        assertTrue(allOk(play(TENANT, USER, ENTRY, 10, 5)));
+        assertEquals(before + 15, edge.originCalls);
+    }
+
+    @Test
+    void tokenForOneEntry_doesNotOpenAnother() {
+        assertTrue(allOk(play(TENANT, USER, ENTRY, 0, 5)));
+        String token = edge.cookies.get(USER + "@" + ENTRY);
+
+        assertEquals(Verdict.WRONG_PATH, tokens.verify(token, TENANT, "public/media/6650aa00bb11cc22dd33ee55/hls/master.m3u8"));
+        assertEquals(Verdict.WRONG_TENANT, tokens.verify(token, "acme", PREFIX + "/master.m3u8"));
+    }
+
+    // ─── Simulated cdn-worker ───
+
+    /**
+     * Edge worker: a cookie per viewer and entry ({@code Path=/cdn/media/<entryId>/hls/}),
+     * local verification, fallback to the entitlement endpoint.
+     */
+    private class Edge {
+        final Set<String> entitled = new HashSet<>();
+        final Map<String, String> cookies = new HashMap<>();
+        int requests;
+        int originCalls;
+
+        int get(String tenant, String viewer, String entry, String r2Key) {
+            requests++;
+            String cookie = viewer + "@" + entry;
+            String token = cookies.get(cookie);
+            if (token != null && tokens.verify(token, tenant, r2Key) == Verdict.VALID) {
+                return 200;
+            }
+            cookies.remove(cookie);
+            // GET /api/media/entitlements/{entryId}: MediaEntitlementController issues a token on allow.
+            originCalls++;
+            if (!entitled.contains(viewer)) {
+                return 403;
+            }
+            tokens.issue(tenant, viewer, entry, "public/media/" + entry + "/hls")
+                    .ifPresent(issued -> cookies.put(cookie, issued.token()));
+            return 200;
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
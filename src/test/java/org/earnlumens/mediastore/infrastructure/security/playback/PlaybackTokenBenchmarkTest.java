@@ -0,0 +1,108 @@
+package org.earnlumens.mediastore.infrastructure.security.playback;
+
+import org.earnlumens.mediastore.infrastructure.config.PlaybackTokenConfig;
+import org.earnlumens.mediastore.infrastructure.security.playback.PlaybackTokenService.Verdict;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.ZoneOffset;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.earnlumens.mediastore.infrastructure.security.playback.PlaybackTokenServiceTest.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * CPU benchmark for {@link PlaybackTokenService}: cost of minting a token
+ * (once per entitlement check) and of verifying one (the reference for what
+ * the cdn-worker does per manifest/segment request), with 100 active
+ * revocations loaded so the lookup is not free.
+ * <p>
+ * Not part of {@code ./gradlew test}: runs with {@code ./gradlew webBenchmark}
+ * and writes {@code build/reports/web-benchmark/playback-tokens.md}.
+ */
+@Tag("web-benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlaybackTokenBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int OPERATIONS = 100_000;
+
+    private final StringBuilder report = new StringBuilder();
+
+    private PlaybackTokenService service;
+
+    @BeforeAll
+    void setUp() {
+        PlaybackTokenConfig config = config("k1:" + secret('a') + ",k2:" + secret('b'), "k2");
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        PlaybackRevocationService revocations = new PlaybackRevocationService(mock(MongoTemplate.class), config, clock);
+        for (int i = 0; i < 100; i++) {
+            revocations.revoke(TENANT, "banned-" + i, null, NOW.minusSeconds(60));
+        }
+        service = new PlaybackTokenService(config, revocations, clock);
+        report.append("# Playback token benchmark\n\n")
+                .append(OPERATIONS).append(" operations per row, single thread, 100 active revocations\n\n")
+                .append("| Operation | CPU µs / op | Ops / s per core | Allocated B / op |\n")
+                .append("|---|---:|---:|---:|\n");
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        String out = report.toString();
+        System.out.println(out);
+        Path dir = Path.of(System.getProperty("webBenchmark.reportDir", "build/reports/web-benchmark"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("playback-tokens.md"), out);
+    }
+
+    @Test
+    void issueAndVerify_costMicroseconds() {
+        String token = service.issue(TENANT, USER, ENTRY, PREFIX).orElseThrow().token();
+        String segment = PREFIX + "/720p/segment_00042.ts";
+        assertEquals(Verdict.VALID, service.verify(token, TENANT, segment));
+
+        double issue = row("issue (per entitlement check)", () -> service.issue(TENANT, USER, ENTRY, PREFIX));
+        double verify = row("verify (per manifest/segment)", () -> service.verify(token, TENANT, segment));
+        double tampered = row("verify, bad signature", () -> service.verify(token + "x", TENANT, segment));
+
+        report.append('\n');
+        assertTrue(issue < 100, "minting a token should take well under 100 µs");
+        assertTrue(verify < 100, "verifying a token should take well under 100 µs");
+        assertTrue(tampered < 100, "rejecting a forged token should take well under 100 µs");
+    }
+
+    /** Runs one operation; returns CPU µs per call. */
+    private double row(String operation, Supplier<Object> op) {
+        Object sink = null;
+        for (int i = 0; i < WARMUP; i++) {
+            sink = op.get();
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < OPERATIONS; i++) {
+            sink = op.get();
+        }
+        double cpuMicros = (threads.getCurrentThreadCpuTime() - cpuBefore) / 1_000.0 / OPERATIONS;
+        double allocated = (threads.getThreadAllocatedBytes(thread) - allocatedBefore) / (double) OPERATIONS;
+        assertTrue(sink != null);
+
+        report.append(String.format(Locale.ROOT, "| %s | %.2f | %,.0f | %.0f |%n",
+                operation, cpuMicros, 1_000_000 / cpuMicros, allocated));
+        return cpuMicros;
+    }
+}
@@ -0,0 +1,276 @@
+package org.earnlumens.mediastore.infrastructure.security.playback;
+
+import org.bson.Document;
+import org.earnlumens.mediastore.infrastructure.config.PlaybackTokenConfig;
+import org.earnlumens.mediastore.infrastructure.security.playback.PlaybackTokenService.Verdict;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link PlaybackTokenService} and
+ * {@link PlaybackRevocationService}: token shape, tampering, key rotation,
+ * tenant/prefix binding, expiry and revocation.
+ */
+class PlaybackTokenServiceTest {
+
+    static final String TENANT = "earnlumens";
+    static final String USER = "oauth-user-123";
+    static final String ENTRY = "6650aa00bb11cc22dd33ee44";
+    static final String PREFIX = "public/media/" + ENTRY + "/hls";
+    static final Instant NOW = Instant.parse("2026-10-19T12:00:00Z");
+
+    private MongoTemplate mongoTemplate;
+    private PlaybackRevocationService revocations;
+    private PlaybackTokenService service;
+
+    static String secret(char fill) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(fill).repeat(32).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static PlaybackTokenConfig config(String keys, String activeKeyId) {
+        PlaybackTokenConfig config = new PlaybackTokenConfig();
+        config.setEnabled(true);
+        config.setTtlSeconds(900);
+        config.setKeys(keys);
+        config.setActiveKeyId(activeKeyId);
+        return config;
+    }
+
+    private PlaybackTokenService service(PlaybackTokenConfig config, Instant now) {
+        return new PlaybackTokenService(config, revocations, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        PlaybackTokenConfig config = config("k1:" + secret('a') + ",k2:" + secret('b'), "k2");
+        revocations = new PlaybackRevocationService(mongoTemplate, config, Clock.fixed(NOW, ZoneOffset.UTC));
+        service = service(config, NOW);
+    }
+
+    private String issue() {
+        return service.issue(TENANT, USER, ENTRY, PREFIX).orElseThrow().token();
+    }
+
+    // ─── Issue + verify ───
+
+    @Nested
+    class Signing {
+
+        @Test
+        void issuedToken_verifiesForSegmentsAndPlaylistsUnderThePrefix() {
+            PlaybackTokenService.Issued issued = service.issue(TENANT, USER, ENTRY, PREFIX + "/").orElseThrow();
+
+            assertTrue(issued.token().startsWith("v1.k2."));
+            assertEquals(NOW.getEpochSecond() + 900, issued.expiresAt());
+            assertEquals(Verdict.VALID, service.verify(issued.token(), TENANT, PREFIX + "/master.m3u8"));
+            assertEquals(Verdict.VALID, service.verify(issued.token(), TENANT, PREFIX + "/720p/segment_00042.ts"));
+        }
+
+        @Test
+        void claimsRoundTrip() {
+            PlaybackClaims claims = service.parse(issue()).orElseThrow();
+
+            assertEquals(new PlaybackClaims("k2", TENANT, USER, ENTRY, PREFIX,
+                    NOW.getEpochSecond(), NOW.getEpochSecond() + 900), claims);
+        }
+
+        @Test
+        void anonymousViewer_getsDashUser() {
+            String token = service.issue(TENANT, null, ENTRY, PREFIX).orElseThrow().token();
+
+            assertEquals(PlaybackClaims.ANONYMOUS, service.parse(token).orElseThrow().userId());
+        }
+
+        @Test
+        void tamperedPayloadOrSignature_isRejected() {
+            String[] parts = issue().split("\\.");
+            String otherPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    (TENANT + "|" + USER + "|other|public/media/other/hls|0|9999999999").getBytes(StandardCharsets.UTF_8));
+
+            assertEquals(Verdict.BAD_SIGNATURE,
+                    service.verify(parts[0] + "." + parts[1] + "." + otherPayload + "." + parts[3], TENANT, "public/media/other/hls/a.ts"));
+            assertEquals(Verdict.BAD_SIGNATURE,
+                    service.verify(parts[0] + "." + parts[1] + "." + parts[2] + ".AAAA", TENANT, PREFIX + "/a.ts"));
+            assertEquals(Verdict.MALFORMED, service.verify("v2." + parts[1] + "." + parts[2] + "." + parts[3], TENANT, PREFIX + "/a.ts"));
+            assertEquals(Verdict.MALFORMED, service.verify("garbage", TENANT, PREFIX + "/a.ts"));
+            assertEquals(Verdict.MALFORMED, service.verify(null, TENANT, PREFIX + "/a.ts"));
+        }
+
+        @Test
+        void pipeInClaim_isNotMinted() {
+            assertTrue(service.issue(TENANT, "a|b", ENTRY, PREFIX).isEmpty());
+        }
+    }
+
+    // ─── Binding + expiry ───
+
+    @Nested
+    class Binding {
+
+        @Test
+        void otherTenant_isRejected() {
+            assertEquals(Verdict.WRONG_TENANT, service.verify(issue(), "acme", PREFIX + "/master.m3u8"));
+        }
+
+        @Test
+        void otherEntryOrSiblingPrefix_isRejected() {
+            String token = issue();
+
+            assertEquals(Verdict.WRONG_PATH, service.verify(token, TENANT, "public/media/other/hls/master.m3u8"));
+            assertEquals(Verdict.WRONG_PATH, service.verify(token, TENANT, PREFIX + "-evil/master.m3u8"));
+            assertEquals(Verdict.WRONG_PATH, service.verify(token, TENANT, PREFIX + "/../../other/hls/a.ts"));
+            assertEquals(Verdict.WRONG_PATH, service.verify(token, TENANT, PREFIX));
+            assertEquals(Verdict.WRONG_PATH, service.verify(token, TENANT, "private/media/" + ENTRY + "/video.mp4"));
+        }
+
+        @Test
+        void expiresAfterTtl() {
+            String token = issue();
+            PlaybackTokenConfig config = config("k2:" + secret('b'), "k2");
+
+            assertEquals(Verdict.VALID, service(config, NOW.plusSeconds(899)).verify(token, TENANT, PREFIX + "/a.ts"));
+            assertEquals(Verdict.EXPIRED, service(config, NOW.plusSeconds(900)).verify(token, TENANT, PREFIX + "/a.ts"));
+        }
+    }
+
+    // ─── Key rotation ───
+
+    @Nested
+    class Rotation {
+
+        @Test
+        void tokensOfAStillListedKey_keepVerifying() {
+            PlaybackTokenService old = service(config("k1:" + secret('a'), "k1"), NOW);
+            String token = old.issue(TENANT, USER, ENTRY, PREFIX).orElseThrow().token();
+
+            assertEquals(Verdict.VALID, service.verify(token, TENANT, PREFIX + "/a.ts"));
+            assertTrue(issue().startsWith("v1.k2."));
+        }
+
+        @Test
+        void removedKey_isUnknown() {
+            PlaybackTokenService rotated = service(config("k3:" + secret('c'), "k3"), NOW);
+
+            assertEquals(Verdict.UNKNOWN_KEY, rotated.verify(issue(), TENANT, PREFIX + "/a.ts"));
+        }
+
+        @Test
+        void sameKidWithOtherSecret_failsSignature() {
+            PlaybackTokenService forged = service(config("k2:" + secret('z'), "k2"), NOW);
+            String token = forged.issue(TENANT, USER, ENTRY, PREFIX).orElseThrow().token();
+
+            assertEquals(Verdict.BAD_SIGNATURE, service.verify(token, TENANT, PREFIX + "/a.ts"));
+        }
+
+        @Test
+        void missingOrShortActiveKey_mintsNothing() {
+            assertFalse(service(config("k1:" + secret('a'), "k2"), NOW).isEnabled());
+            assertFalse(service(config("k1:c2hvcnQ", "k1"), NOW).isEnabled());
+            assertTrue(service(config("k1:" + secret('a'), "k2"), NOW).issue(TENANT, USER, ENTRY, PREFIX).isEmpty());
+        }
+
+        @Test
+        void disabled_mintsNothing() {
+            PlaybackTokenConfig config = config("k1:" + secret('a'), "k1");
+            config.setEnabled(false);
+
+            assertTrue(service(config, NOW).issue(TENANT, USER, ENTRY, PREFIX).isEmpty());
+        }
+    }
+
+    // ─── Revocation ───
+
+    @Nested
+    class Revocations {
+
+        @Test
+        void refund_revokesThatViewersTokensForTheEntry() {
+            String token = issue();
+            String otherViewer = service.issue(TENANT, "someone-else", ENTRY, PREFIX).orElseThrow().token();
+
+            revocations.revoke(TENANT, USER, ENTRY, NOW.plusSeconds(1));
+
+            assertEquals(Verdict.REVOKED, service.verify(token, TENANT, PREFIX + "/a.ts"));
+            assertEquals(Verdict.VALID, service.verify(otherViewer, TENANT, PREFIX + "/a.ts"));
+            verify(mongoTemplate).upsert(any(Query.class), any(), eq(PlaybackRevocationService.COLLECTION));
+        }
+
+        @Test
+        void ban_revokesEverythingAndBlocksMintingUntilItEnds() {
+            String token = issue();
+
+            revocations.revoke(TENANT, USER, null, NOW.plusSeconds(3600));
+
+            assertEquals(Verdict.REVOKED, service.verify(token, TENANT, PREFIX + "/a.ts"));
+            assertTrue(service.issue(TENANT, USER, ENTRY, PREFIX).isEmpty());
+            assertTrue(service(config("k2:" + secret('b'), "k2"), NOW.plusSeconds(3600))
+                    .issue(TENANT, USER, ENTRY, PREFIX).isEmpty());
+            assertTrue(service(config("k2:" + secret('b'), "k2"), NOW.plusSeconds(3601))
+                    .issue(TENANT, USER, ENTRY, PREFIX).isPresent());
+        }
+
+        @Test
+        void takedown_revokesEveryViewerIncludingAnonymous() {
+            String anonymous = service.issue(TENANT, null, ENTRY, PREFIX).orElseThrow().token();
+
+            revocations.revoke(TENANT, null, ENTRY, NOW.plusSeconds(1));
+
+            assertEquals(Verdict.REVOKED, service.verify(anonymous, TENANT, PREFIX + "/a.ts"));
+            assertEquals(Verdict.REVOKED, service.verify(issue(), TENANT, PREFIX + "/a.ts"));
+        }
+
+        @Test
+        void revocationRecordedNow_coversTokensMintedThisSecond() {
+            String token = issue();
+
+            revocations.revoke(TENANT, USER, ENTRY, NOW);
+
+            assertEquals(Verdict.REVOKED, service.verify(token, TENANT, PREFIX + "/a.ts"));
+        }
+
+        @Test
+        void tokenMintedAfterRevocation_isValid() {
+            revocations.revoke(TENANT, USER, ENTRY, NOW.minusSeconds(5));
+
+            assertEquals(Verdict.VALID, service.verify(issue(), TENANT, PREFIX + "/a.ts"));
+        }
+
+        @Test
+        void revocationWithoutTarget_isRejected() {
+            assertThrows(IllegalArgumentException.class, () -> revocations.revoke(TENANT, null, null, NOW));
+            verifyNoInteractions(mongoTemplate);
+        }
+
+        @Test
+        void refresh_picksUpRevocationsWrittenElsewhere() {
+            String token = issue();
+            when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(PlaybackRevocationService.COLLECTION)))
+                    .thenReturn(List.of(new Document("_id", TENANT + ":" + USER + ":*")
+                            .append("tenantId", TENANT).append("userId", USER).append("entryId", "*")
+                            .append("notBefore", Date.from(NOW.plusSeconds(60)))));
+
+            revocations.refresh();
+
+            assertEquals(Verdict.REVOKED, service.verify(token, TENANT, PREFIX + "/a.ts"));
+            assertEquals(1, revocations.active(NOW).size());
+        }
+    }
+}
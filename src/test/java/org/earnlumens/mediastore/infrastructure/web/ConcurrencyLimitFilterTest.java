@@ -0,0 +1,421 @@
+package org.earnlumens.mediastore.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.bson.Document;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.earnlumens.mediastore.infrastructure.web.ConcurrencyLimitFilter.Budget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ConcurrencyLimitFilter} and
+ * {@link AdaptiveConcurrencyLimit}: AIMD adjustment, queueing and shedding,
+ * per-route budgets, exempt probes and long-polls, public responses answered
+ * from the cache without a slot, and the 503 response.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private ConcurrencyLimitFilter filter;
+    private AtomicInteger calls;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        filter = newFilter(true, 0);
+        calls = new AtomicInteger();
+        chain = (req, res) -> calls.incrementAndGet();
+    }
+
+    private static ConcurrencyLimitFilter newFilter(boolean enabled, long queueTimeoutMs) {
+        return new ConcurrencyLimitFilter(enabled, queueTimeoutMs, 2, "https://earnlumens.org", "",
+                mock(PublicCacheControlFilter.class));
+    }
+
+    private MockHttpServletResponse perform(String path) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.addHeader("Origin", "https://earnlumens.org");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    /** Takes every slot of a budget, as requests stuck on the Mongo pool would. */
+    private void saturate(Budget budget) throws InterruptedException {
+        saturate(filter, budget);
+    }
+
+    private static void saturate(ConcurrencyLimitFilter filter, Budget budget) throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = filter.limit(budget);
+        int slots = limit.limit();
+        for (int i = 0; i < slots; i++) {
+            assertTrue(limit.tryAcquire(0));
+        }
+    }
+
+    // ─── AIMD limit ───
+
+    @Nested
+    class Limit {
+
+        @Test
+        void slowSamples_backOffOncePerTargetPeriod() throws Exception {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("t", 20, 4, 40, 100);
+            for (int i = 0; i < 10; i++) {
+                assertTrue(limit.tryAcquire(0));
+            }
+
+            for (int i = 0; i < 10; i++) {
+                limit.release(500 * MS, false, 1_000 * MS);
+            }
+            assertEquals(18, limit.limit());
+
+            assertTrue(limit.tryAcquire(0));
+            limit.release(500 * MS, false, 1_100 * MS);
+            assertEquals(16, limit.limit());
+        }
+
+        @Test
+        void failures_backOffEvenWhenFast() throws Exception {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("t", 20, 4, 40, 100);
+            assertTrue(limit.tryAcquire(0));
+
+            limit.release(MS, true, 0);
+
+            assertEquals(18, limit.limit());
+        }
+
+        @Test
+        void fastSamplesAtHighUtilization_growTowardsMax() throws Exception {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("t", 8, 2, 12, 100);
+            for (int round = 0; round < 200; round++) {
+                int slots = limit.limit();
+                for (int i = 0; i < slots; i++) {
+                    assertTrue(limit.tryAcquire(0));
+                }
+                for (int i = 0; i < slots; i++) {
+                    limit.release(MS, false, 0);
+                }
+            }
+
+            assertEquals(12, limit.limit());
+        }
+
+        @Test
+        void fastSamplesWhenIdle_doNotGrow() throws Exception {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("t", 8, 2, 12, 100);
+            for (int i = 0; i < 500; i++) {
+                assertTrue(limit.tryAcquire(0));
+                limit.release(MS, false, 0);
+            }
+
+            assertEquals(8, limit.limit());
+        }
+
+        @Test
+        void neverBelowMin() throws Exception {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("t", 5, 3, 10, 100);
+            for (int i = 0; i < 50; i++) {
+                assertTrue(limit.tryAcquire(0));
+                limit.release(MS, true, i * 200 * MS);
+            }
+
+            assertEquals(3, limit.limit());
+        }
+
+        @Test
+        void overLimit_waitsForASlotWithinTheTimeout() throws Exception {
+            AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit("t", 1, 1, 1, 100);
+            assertTrue(limit.tryAcquire(0));
+
+            Thread releaser = Thread.ofVirtual().start(() -> {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                limit.release(MS, false, 0);
+            });
+
+            assertTrue(limit.tryAcquire(TimeUnit.SECONDS.toNanos(5)));
+            releaser.join();
+            assertFalse(limit.tryAcquire(10 * MS));
+
+            AdaptiveConcurrencyLimit.Stats stats = limit.stats(false);
+            assertEquals(2, stats.accepted());
+            assertTrue(stats.queued() >= 1);
+            assertEquals(1, stats.rejected());
+            assertEquals(1, stats.inFlight());
+        }
+    }
+
+    // ─── Filter ───
+
+    @Nested
+    class Filter {
+
+        @Test
+        void underLimit_passesThroughAndReleases() throws Exception {
+            MockHttpServletResponse response = perform("/public/entries/feed");
+
+            assertEquals(200, response.getStatus());
+            assertEquals(1, calls.get());
+            assertEquals(0, filter.limit(Budget.PUBLIC).stats(false).inFlight());
+        }
+
+        @Test
+        void fullBudget_sheds503WithRetryAfterAndCors() throws Exception {
+            saturate(Budget.PUBLIC);
+
+            MockHttpServletResponse response = perform("/public/entries/feed");
+
+            assertEquals(503, response.getStatus());
+            assertEquals("2", response.getHeader("Retry-After"));
+            assertEquals("no-store", response.getHeader("Cache-Control"));
+            assertEquals("https://earnlumens.org", response.getHeader("Access-Control-Allow-Origin"));
+            assertEquals(0, calls.get());
+            assertEquals(1, filter.limit(Budget.PUBLIC).stats(false).rejected());
+        }
+
+        @Test
+        void feedSpike_leavesPaymentsAuthAndInternalUntouched() throws Exception {
+            saturate(Budget.PUBLIC);
+            saturate(Budget.SEARCH);
+
+            assertEquals(503, perform("/public/search").getStatus());
+            assertEquals(200, perform("/api/payments/prepare").getStatus());
+            assertEquals(200, perform("/api/auth/refresh").getStatus());
+            assertEquals(200, perform("/api/internal/thumbnail/callback").getStatus());
+            assertEquals(3, calls.get());
+        }
+
+        @Test
+        void serverError_countsAsCongestion() throws Exception {
+            int before = filter.limit(Budget.DEFAULT).limit();
+            chain = (req, res) -> ((HttpServletResponse) res).setStatus(500);
+
+            perform("/api/media/entitlements/x");
+
+            assertTrue(filter.limit(Budget.DEFAULT).limit() < before);
+        }
+
+        @Test
+        void exception_releasesTheSlot() {
+            chain = (req, res) -> {
+                throw new IllegalStateException("boom");
+            };
+
+            assertThrows(IllegalStateException.class, () -> perform("/api/payments/prepare"));
+            assertEquals(0, filter.limit(Budget.PAYMENTS).stats(false).inFlight());
+        }
+
+        @Test
+        void disabledOrPreflight_isNeverLimited() throws Exception {
+            saturate(Budget.PUBLIC);
+            MockHttpServletRequest preflight = new MockHttpServletRequest("OPTIONS", "/public/entries/feed");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(preflight, response, chain);
+            assertEquals(200, response.getStatus());
+
+            filter = newFilter(false, 0);
+            saturate(Budget.PUBLIC);
+            assertEquals(200, perform("/public/entries/feed").getStatus());
+            assertEquals(2, calls.get());
+        }
+
+        @Test
+        void heldLongPolls_leaveRoomForSubmit() throws Exception {
+            int awaits = Budget.PAYMENTS.maxLimit * 2;
+            CountDownLatch entered = new CountDownLatch(awaits);
+            CountDownLatch wake = new CountDownLatch(1);
+            chain = (req, res) -> {
+                calls.incrementAndGet();
+                if (((HttpServletRequest) req).getRequestURI().endsWith("/await")) {
+                    entered.countDown();
+                    try {
+                        wake.await(); // idle until the order changes
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            int limitBefore = filter.limit(Budget.PAYMENTS).limit();
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<MockHttpServletResponse>> polls = new ArrayList<>();
+                for (int i = 0; i < awaits; i++) {
+                    String path = "/api/payments/orders/o" + i + "/await";
+                    polls.add(clients.submit(() -> perform(path)));
+                }
+                assertTrue(entered.await(5, TimeUnit.SECONDS), "every long-poll should be held open");
+
+                assertEquals(0, filter.limit(Budget.PAYMENTS).stats(false).inFlight());
+                assertEquals(200, perform("/api/payments/submit").getStatus());
+
+                wake.countDown();
+                for (Future<MockHttpServletResponse> poll : polls) {
+                    assertEquals(200, poll.get(5, TimeUnit.SECONDS).getStatus());
+                }
+            }
+            assertEquals(limitBefore, filter.limit(Budget.PAYMENTS).limit());
+            assertEquals(1, filter.limit(Budget.PAYMENTS).stats(false).accepted());
+        }
+
+        @Test
+        void probes_areNeverShedAndNeverCountAsCongestion() throws Exception {
+            chain = (req, res) -> ((HttpServletResponse) res).setStatus(503); // "warming up"
+            int before = filter.limit(Budget.PUBLIC).limit();
+            for (int i = 0; i < 20; i++) {
+                perform("/public/ready");
+            }
+            assertEquals(before, filter.limit(Budget.PUBLIC).limit());
+
+            saturate(Budget.PUBLIC);
+            chain = (req, res) -> calls.incrementAndGet();
+
+            assertEquals(200, perform("/public/ready").getStatus());
+            assertEquals(200, perform("/public").getStatus());
+            assertEquals(2, calls.get());
+        }
+
+        @Test
+        void classifiesRoutes() {
+            assertEquals(Budget.SEARCH, ConcurrencyLimitFilter.classify("/public/search/autocomplete"));
+            assertEquals(Budget.PUBLIC, ConcurrencyLimitFilter.classify("/public/entries/feed"));
+            assertEquals(Budget.PAYMENTS, ConcurrencyLimitFilter.classify("/api/payments/submit"));
+            assertEquals(Budget.PAYMENTS, ConcurrencyLimitFilter.classify("/api/purchases"));
+            assertEquals(Budget.AUTH, ConcurrencyLimitFilter.classify("/api/auth/refresh"));
+            assertEquals(Budget.AUTH, ConcurrencyLimitFilter.classify("/api/user/me"));
+            assertEquals(Budget.INTERNAL, ConcurrencyLimitFilter.classify("/api/internal/tenant-cache/evict"));
+            assertEquals(Budget.DEFAULT, ConcurrencyLimitFilter.classify("/api/media/entitlements/x"));
+
+            assertTrue(ConcurrencyLimitFilter.exempt("/api/payments/orders/o1/await"));
+            assertTrue(ConcurrencyLimitFilter.exempt("/public/ready"));
+            assertFalse(ConcurrencyLimitFilter.exempt("/api/payments/orders/o1"));
+            assertFalse(ConcurrencyLimitFilter.exempt("/public/readyz"));
+        }
+    }
+
+    // ─── Cached public responses ───
+
+    /**
+     * The limiter in front of a real {@link PublicCacheControlFilter} (the
+     * security chain between them is elided): 304s and cache hits cost no
+     * Mongo work, so they must neither take a slot nor be shed.
+     */
+    @Nested
+    class CachedPublicResponses {
+
+        private static final String TENANT = "earnlumens";
+        private static final String BODY = "{\"id\":\"e1\"}";
+
+        private ConcurrencyLimitFilter limiter;
+        private PublicCacheControlFilter publicCache;
+        private FilterChain controller;
+
+        @BeforeEach
+        void setUp() {
+            Clock clock = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+            MongoTemplate store = mock(MongoTemplate.class);
+            when(store.find(any(Query.class), eq(Document.class), eq(ContentVersionService.COLLECTION)))
+                    .thenReturn(List.of(new Document("_id", TENANT + ":CATALOG").append("version", 7L)));
+            ContentVersionService versions = new ContentVersionService(store, clock);
+            versions.refresh();
+            publicCache = new PublicCacheControlFilter("session", versions,
+                    new PublicResponseCache(true, 1 << 20, 1 << 16), mock(EntryRepository.class), clock);
+            limiter = new ConcurrencyLimitFilter(true, 0, 2, "https://earnlumens.org", "", publicCache);
+            controller = (req, res) -> {
+                calls.incrementAndGet();
+                res.setContentType("application/json");
+                res.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+            };
+            TenantContext.set(TENANT);
+        }
+
+        @AfterEach
+        void clearTenant() {
+            TenantContext.clear();
+        }
+
+        private MockHttpServletResponse get(String path, String ifNoneMatch) throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+            if (ifNoneMatch != null) {
+                request.addHeader("If-None-Match", ifNoneMatch);
+            }
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            limiter.doFilter(request, response, (req, res) -> publicCache.doFilter(req, res, controller));
+            return response;
+        }
+
+        @Test
+        void saturatedPublicBudget_stillServesACachedEntry() throws Exception {
+            String etag = get("/public/entries/e1", null).getHeader("ETag");
+            AdaptiveConcurrencyLimit limit = limiter.limit(Budget.PUBLIC);
+            saturate(limiter, Budget.PUBLIC);
+            AdaptiveConcurrencyLimit.Stats before = limit.stats(false);
+
+            MockHttpServletResponse hit = get("/public/entries/e1", null);
+            MockHttpServletResponse notModified = get("/public/entries/e1", etag);
+
+            assertEquals(200, hit.getStatus());
+            assertEquals(BODY, hit.getContentAsString());
+            assertEquals(304, notModified.getStatus());
+            assertEquals(1, calls.get());
+            AdaptiveConcurrencyLimit.Stats after = limit.stats(false);
+            assertEquals(before.accepted(), after.accepted());
+            assertEquals(before.limit(), after.limit());
+            assertEquals(0, after.rejected());
+        }
+
+        @Test
+        void saturatedPublicBudget_stillShedsACacheMiss() throws Exception {
+            get("/public/entries/e1", null);
+            saturate(limiter, Budget.PUBLIC);
+
+            assertEquals(503, get("/public/entries/e2", null).getStatus());
+            assertEquals(1, calls.get());
+        }
+
+        @Test
+        void authenticatedRequest_stillTakesASlot() throws Exception {
+            get("/public/entries/e1", null);
+            saturate(limiter, Budget.PUBLIC);
+            MockHttpServletRequest authed = new MockHttpServletRequest("GET", "/public/entries/e1");
+            authed.addHeader("Authorization", "Bearer x");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            limiter.doFilter(authed, response, (req, res) -> publicCache.doFilter(req, res, controller));
+
+            assertEquals(503, response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package org.earnlumens.mediastore.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Saturation test for {@link ConcurrencyLimitFilter} against a slow local
+ * MongoDB stand-in: a fair pool of 40 connections ({@code MONGO_MAX_POOL_SIZE})
+ * where every query holds a connection for 20 ms and gives up after 2 s
+ * waiting, like the driver's wait-queue timeout.
+ * <p>
+ * 400 virtual-thread clients hammer the explore feed (two queries per page)
+ * while one client issues payment requests (one query each). Without the
+ * limiter every feed request queues on the pool and the payment waits behind
+ * them; with it the PUBLIC budget is shed with 503 and the payment keeps a
+ * near-idle pool. Shed clients back off 10 ms, a scaled-down Retry-After.
+ * <p>
+ * Not part of {@code ./gradlew test}: runs with {@code ./gradlew webBenchmark}
+ * and writes {@code build/reports/web-benchmark/concurrency-limit.md}.
+ */
+@Tag("web-benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConcurrencyLimitSaturationTest {
+
+    private static final int POOL_SIZE = 40;
+    private static final long QUERY_MS = 20;
+    private static final long POOL_WAIT_MS = 2_000;
+    private static final int FEED_CLIENTS = 400;
+    private static final long RUN_MS = 4_000;
+    private static final long WARMUP_MS = 1_000;
+
+    private final StringBuilder report = new StringBuilder();
+
+    /** Result of one run; latencies in ms. */
+    record Run(long feedOk, long feedShed, long poolTimeouts, int payments, double paymentP50, double paymentP99) {}
+
+    @BeforeAll
+    void setUp() {
+        report.append("# Concurrency limit saturation test\n\n")
+                .append(FEED_CLIENTS).append(" feed clients, 1 payment client, pool of ").append(POOL_SIZE)
+                .append(" × ").append(QUERY_MS).append(" ms queries, ").append(RUN_MS).append(" ms run\n\n")
+                .append("| Mode | Feed 200 | Feed 503 | Pool timeouts | Payments | Payment p50 ms | Payment p99 ms |\n")
+                .append("|---|---:|---:|---:|---:|---:|---:|\n");
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        String out = report.toString();
+        System.out.println(out);
+        Path dir = Path.of(System.getProperty("webBenchmark.reportDir", "build/reports/web-benchmark"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("concurrency-limit.md"), out);
+    }
+
+    @Test
+    void feedSpike_isShedAndPaymentP99Holds() throws Exception {
+        Run unlimited = run("no limiter", new ConcurrencyLimitFilter(false, 50, 1, "", "", mock(PublicCacheControlFilter.class)));
+        Run limited = run("adaptive limiter", new ConcurrencyLimitFilter(true, 50, 1, "", "", mock(PublicCacheControlFilter.class)));
+
+        report.append('\n');
+        assertTrue(limited.feedShed() > 0, "the feed spike should be shed");
+        assertEquals(0, limited.poolTimeouts(), "no request should time out on the pool");
+        assertTrue(limited.paymentP99() * 2 < unlimited.paymentP99(),
+                "payment p99 should at least halve: " + limited.paymentP99() + " vs " + unlimited.paymentP99());
+    }
+
+    private Run run(String mode, ConcurrencyLimitFilter filter) throws Exception {
+        SlowMongo mongo = new SlowMongo();
+        AtomicLong feedOk = new AtomicLong();
+        AtomicLong feedShed = new AtomicLong();
+        FilterChain feed = (req, res) -> {
+            if (!mongo.query() || !mongo.query()) {
+                ((HttpServletResponse) res).setStatus(500);
+            }
+        };
+        FilterChain payment = (req, res) -> {
+            if (!mongo.query()) {
+                ((HttpServletResponse) res).setStatus(500);
+            }
+        };
+
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(RUN_MS);
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < FEED_CLIENTS; i++) {
+            clients.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < end) {
+                    int status = request(filter, "/public/entries/feed", feed);
+                    if (status == 503) {
+                        feedShed.incrementAndGet();
+                        sleep(10);
+                    } else if (status == 200) {
+                        feedOk.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        sleep(WARMUP_MS);
+        List<Double> latencies = new ArrayList<>();
+        while (System.nanoTime() < end) {
+            long start = System.nanoTime();
+            request(filter, "/api/payments/prepare", payment);
+            latencies.add((System.nanoTime() - start) / 1_000_000.0);
+            sleep(5);
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+
+        Collections.sort(latencies);
+        Run run = new Run(feedOk.get(), feedShed.get(), mongo.timeouts.get(), latencies.size(),
+                percentile(latencies, 0.50), percentile(latencies, 0.99));
+        report.append(String.format(Locale.ROOT, "| %s | %,d | %,d | %,d | %,d | %.1f | %.1f |%n",
+                mode, run.feedOk(), run.feedShed(), run.poolTimeouts(), run.payments(),
+                run.paymentP50(), run.paymentP99()));
+        return run;
+    }
+
+    private static int request(ConcurrencyLimitFilter filter, String path, FilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception e) {
+            return 500;
+        }
+        return response.getStatus();
+    }
+
+    private static double percentile(List<Double> sorted, double p) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) (sorted.size() * p)));
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Connection pool stand-in: FIFO wait for one of {@link #POOL_SIZE} connections, then {@link #QUERY_MS} of work. */
+    private static final class SlowMongo {
+        private final Semaphore pool = new Semaphore(POOL_SIZE, true);
+        final AtomicLong timeouts = new AtomicLong();
+
+        boolean query() {
+            try {
+                if (!pool.tryAcquire(POOL_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                    timeouts.incrementAndGet();
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            try {
+                Thread.sleep(QUERY_MS);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                pool.release();
+            }
+        }
+    }
+}
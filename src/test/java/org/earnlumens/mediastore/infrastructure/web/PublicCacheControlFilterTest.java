@@ -0,0 +1,535 @@
+package org.earnlumens.mediastore.infrastructure.web;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import org.bson.Document;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.infrastructure.config.MongoReadRoutingConfig;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.MongoReadRouter;
+import org.earnlumens.mediastore.infrastructure.persistence.routing.ReadRoute;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for conditional GET in {@link PublicCacheControlFilter}: ETags
+ * from tenant version stamps, 304 before the controller runs, invalidation
+ * on bump, views counted for detail pages the filter answers, primary reads
+ * right after a bump, and precompressed bodies from {@link PublicResponseCache}.
+ */
+class PublicCacheControlFilterTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+
+    private MongoTemplate mongoTemplate;
+    private ContentVersionService versions;
+    private PublicResponseCache responseCache;
+    private EntryRepository entryRepository;
+    private PublicCacheControlFilter filter;
+    private FilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(ContentVersionService.COLLECTION)))
+                .thenReturn(List.of(new Document("_id", TENANT + ":CATALOG").append("version", 7L)));
+        versions = new ContentVersionService(mongoTemplate, CLOCK);
+        versions.refresh();
+        responseCache = new PublicResponseCache(true, 1 << 20, 1 << 16);
+        entryRepository = mock(EntryRepository.class);
+        filter = new PublicCacheControlFilter("session", versions, responseCache, entryRepository, CLOCK);
+        chain = mock(FilterChain.class);
+        TenantContext.set(TENANT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    private MockHttpServletResponse get(String path, String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    // ─── ETags ───
+
+    @Nested
+    class Etags {
+
+        @Test
+        void anonymousFeed_carriesVersionedEtag() throws Exception {
+            MockHttpServletResponse response = get("/public/entries/feed", null);
+
+            assertEquals(200, response.getStatus());
+            assertTrue(response.getHeader("ETag").startsWith("\"catalog-7-"));
+            assertEquals("public, max-age=15", response.getHeader("Cache-Control"));
+            verify(chain).doFilter(any(), any());
+        }
+
+        @Test
+        void unversionedAndPersonalized_haveNoEtag() throws Exception {
+            assertNull(get("/public/search", null).getHeader("ETag"));
+            assertNull(get("/public/price/xlm", null).getHeader("ETag"));
+
+            MockHttpServletRequest authed = new MockHttpServletRequest("GET", "/public/entries");
+            authed.setCookies(new Cookie("session", "x"));
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(authed, response, chain);
+            assertNull(response.getHeader("ETag"));
+            assertEquals("private, no-store", response.getHeader("Cache-Control"));
+        }
+
+        @Test
+        void beforeFirstLoad_noEtag() throws Exception {
+            filter = new PublicCacheControlFilter("session", new ContentVersionService(mongoTemplate), responseCache,
+                    entryRepository, CLOCK);
+
+            assertNull(get("/public/entries", null).getHeader("ETag"));
+        }
+    }
+
+    // ─── Conditional GET ───
+
+    @Nested
+    class Conditional {
+
+        @Test
+        void matchingIfNoneMatch_is304WithoutRunningTheController() throws Exception {
+            String etag = get("/public/collections", null).getHeader("ETag");
+            reset(chain);
+
+            MockHttpServletResponse response = get("/public/collections", "W/" + etag);
+
+            assertEquals(304, response.getStatus());
+            assertEquals(etag, response.getHeader("ETag"));
+            assertEquals("public, max-age=15", response.getHeader("Cache-Control"));
+            verifyNoInteractions(chain);
+            verify(mongoTemplate, times(1)).find(any(Query.class), eq(Document.class), any(String.class));
+        }
+
+        @Test
+        void bump_invalidatesOnlyThatScope() throws Exception {
+            String feedEtag = get("/public/entries", null).getHeader("ETag");
+            String franchiseEtag = get("/public/franchises", null).getHeader("ETag");
+            when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                    eq(Document.class), eq(ContentVersionService.COLLECTION)))
+                    .thenReturn(new Document("_id", TENANT + ":CATALOG").append("version", 8L));
+
+            versions.bump(TENANT, ContentScope.CATALOG);
+
+            assertEquals(200, get("/public/entries", feedEtag).getStatus());
+            assertEquals(304, get("/public/franchises", franchiseEtag).getStatus());
+        }
+
+        @Test
+        void revalidationWindow_changesTheEtag() {
+            String now = versions.etag(TENANT, ContentScope.CONFIG, CLOCK.instant());
+            String later = versions.etag(TENANT, ContentScope.CONFIG, CLOCK.instant().plusSeconds(61));
+
+            assertNotEquals(now, later);
+        }
+
+        @Test
+        void ifNoneMatchParsing() {
+            assertTrue(PublicCacheControlFilter.matches("\"a\", \"b\"", "\"b\""));
+            assertTrue(PublicCacheControlFilter.matches("*", "\"b\""));
+            assertFalse(PublicCacheControlFilter.matches("\"a\"", "\"b\""));
+            assertFalse(PublicCacheControlFilter.matches(null, "\"b\""));
+        }
+    }
+
+    // ─── Views ───
+
+    /** A detail page answered by the filter must still count as a view. */
+    @Nested
+    class Views {
+
+        @Test
+        void detail304_stillCountsTheView() throws Exception {
+            String etag = get("/public/entries/e1", null).getHeader("ETag");
+            reset(chain);
+
+            MockHttpServletResponse response = get("/public/entries/e1", etag);
+
+            assertEquals(304, response.getStatus());
+            verifyNoInteractions(chain);
+            verify(entryRepository).incrementPublicViewCount(TENANT, "e1");
+        }
+
+        @Test
+        void list304_countsNoView() throws Exception {
+            for (String path : List.of("/public/entries", "/public/entries/feed",
+                    "/public/entries/community/feed", "/public/entries/by-user/alice")) {
+                String etag = get(path, null).getHeader("ETag");
+                assertEquals(304, get(path, etag).getStatus());
+            }
+
+            verifyNoInteractions(entryRepository);
+        }
+
+        @Test
+        void detailRender_leavesCountingToTheService() throws Exception {
+            get("/public/entries/e1", null);
+
+            verify(chain).doFilter(any(), any());
+            verifyNoInteractions(entryRepository);
+        }
+
+        @Test
+        void entryIdParsing() {
+            assertEquals("e1", PublicCacheControlFilter.entryIdFor("/public/entries/e1"));
+            assertNull(PublicCacheControlFilter.entryIdFor("/public/entries"));
+            assertNull(PublicCacheControlFilter.entryIdFor("/public/entries/"));
+            assertNull(PublicCacheControlFilter.entryIdFor("/public/entries/feed"));
+            assertNull(PublicCacheControlFilter.entryIdFor("/public/entries/by-user/alice"));
+            assertNull(PublicCacheControlFilter.entryIdFor("/public/collections/c1"));
+        }
+    }
+
+    // ─── Reads after a bump ───
+
+    /**
+     * Right after a bump the feed must not be rendered from a secondary that
+     * may still lag, or the old body would be cached under the new ETag.
+     */
+    @Nested
+    class AfterBump {
+
+        private MongoClient client;
+        private MongoTemplate primary;
+        private MongoReadRouter router;
+        private final List<MongoTemplate> feedReads = new ArrayList<>();
+
+        @BeforeEach
+        void controllerReadsTheFeed() throws Exception {
+            client = MongoClients.create("mongodb://localhost:27017"); // never connected
+            primary = new MongoTemplate(client, "after_bump_test");
+            router = new MongoReadRouter(primary, new MongoReadRoutingConfig());
+            doAnswer(invocation -> {
+                feedReads.add(router.template(ReadRoute.EXPLORE_FEED));
+                return null;
+            }).when(chain).doFilter(any(), any());
+        }
+
+        @AfterEach
+        void closeClient() {
+            client.close();
+        }
+
+        private void bumpCatalogTo(long version) {
+            when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                    eq(Document.class), eq(ContentVersionService.COLLECTION)))
+                    .thenReturn(new Document("_id", TENANT + ":CATALOG").append("version", version));
+            versions.bump(TENANT, ContentScope.CATALOG);
+        }
+
+        @Test
+        void withoutARecentBump_feedReadsTheSecondary() throws Exception {
+            get("/public/entries/feed", null);
+
+            assertNotSame(primary, feedReads.getFirst());
+        }
+
+        @Test
+        void localBump_rendersTheScopeFromThePrimary() throws Exception {
+            bumpCatalogTo(8L);
+
+            get("/public/entries/feed", null);
+            get("/public/franchises", null);
+
+            assertSame(primary, feedReads.get(0));
+            assertNotSame(primary, feedReads.get(1), "other scopes keep reading the secondary");
+            assertNotSame(primary, router.template(ReadRoute.EXPLORE_FEED), "pin ends with the request");
+        }
+
+        @Test
+        void bumpSeenOnRefresh_rendersFromThePrimary() throws Exception {
+            when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(ContentVersionService.COLLECTION)))
+                    .thenReturn(List.of(new Document("_id", TENANT + ":CATALOG").append("version", 9L)));
+            versions.refresh();
+
+            get("/public/entries/feed", null);
+
+            assertSame(primary, feedReads.getFirst());
+        }
+
+        @Test
+        void afterTheWindow_feedReadsTheSecondaryAgain() throws Exception {
+            AtomicReference<Instant> now = new AtomicReference<>(CLOCK.instant());
+            versions = new ContentVersionService(mongoTemplate, new Clock() {
+                @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+                @Override public Clock withZone(ZoneId zone) { return this; }
+                @Override public Instant instant() { return now.get(); }
+            });
+            versions.refresh();
+            filter = new PublicCacheControlFilter("session", versions, responseCache, entryRepository,
+                    Duration.ofSeconds(90), CLOCK);
+            bumpCatalogTo(8L);
+            now.set(now.get().plusSeconds(91));
+
+            get("/public/entries/feed", null);
+
+            assertNotSame(primary, feedReads.getFirst());
+        }
+    }
+
+    // ─── Compressed representations ───
+
+    @Nested
+    class Precompressed {
+
+        private static final String JSON = "{\"content\":[" + "{\"id\":\"e1\",\"title\":\"Live session\"},".repeat(40)
+                + "{}],\"page\":0}";
+
+        private final AtomicInteger renders = new AtomicInteger();
+
+        @BeforeEach
+        void controllerWritesJson() throws Exception {
+            doAnswer(invocation -> {
+                renders.incrementAndGet();
+                HttpServletResponse response = invocation.getArgument(1);
+                response.setContentType("application/json");
+                response.getOutputStream().write(JSON.getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(chain).doFilter(any(), any());
+        }
+
+        private MockHttpServletResponse fetch(String path, String acceptEncoding) throws Exception {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+            if (acceptEncoding != null) {
+                request.addHeader("Accept-Encoding", acceptEncoding);
+            }
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+            return response;
+        }
+
+        @Test
+        void repeatRequest_isServedWithoutTheController() throws Exception {
+            MockHttpServletResponse first = fetch("/public/entries/feed", "gzip");
+            MockHttpServletResponse second = fetch("/public/entries/feed", "gzip");
+
+            assertEquals(1, renders.get());
+            assertEquals("gzip", second.getHeader("Content-Encoding"));
+            assertEquals("Accept-Encoding", second.getHeader("Vary"));
+            assertArrayEquals(first.getContentAsByteArray(), second.getContentAsByteArray());
+            assertEquals(JSON, gunzip(second.getContentAsByteArray()));
+        }
+
+        @Test
+        void detailCacheHit_stillCountsTheView() throws Exception {
+            fetch("/public/entries/e1", "gzip");
+            verifyNoInteractions(entryRepository); // rendered: PublicEntryService counts it
+
+            MockHttpServletResponse second = fetch("/public/entries/e1", "gzip");
+
+            assertEquals(1, renders.get());
+            assertEquals(200, second.getStatus());
+            verify(entryRepository).incrementPublicViewCount(TENANT, "e1");
+        }
+
+        @Test
+        void listCacheHit_countsNoView() throws Exception {
+            fetch("/public/entries/feed", null);
+            fetch("/public/entries/feed", null);
+
+            assertEquals(1, renders.get());
+            verifyNoInteractions(entryRepository);
+        }
+
+        @Test
+        void identityRequest_getsStrongEtag_compressedGetsWeak() throws Exception {
+            MockHttpServletResponse identity = fetch("/public/entries", null);
+            MockHttpServletResponse gzip = fetch("/public/entries", "gzip, deflate");
+
+            assertNull(identity.getHeader("Content-Encoding"));
+            assertEquals(JSON, identity.getContentAsString());
+            assertTrue(identity.getHeader("ETag").startsWith("\"catalog-7-"));
+            assertEquals("W/" + identity.getHeader("ETag"), gzip.getHeader("ETag"));
+            assertEquals(gzip.getContentAsByteArray().length, gzip.getContentLength());
+        }
+
+        @Test
+        void weakEtag_stillRevalidates() throws Exception {
+            String weak = fetch("/public/entries", "gzip").getHeader("ETag");
+
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/public/entries");
+            request.addHeader("Accept-Encoding", "gzip");
+            request.addHeader("If-None-Match", weak);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, chain);
+
+            assertEquals(304, response.getStatus());
+            assertEquals(1, renders.get());
+        }
+
+        @Test
+        void paramOrder_sharesAnEntry_differentParamsDoNot() throws Exception {
+            MockHttpServletRequest a = new MockHttpServletRequest("GET", "/public/entries/feed");
+            a.addParameter("size", "24");
+            a.addParameter("page", "1");
+            MockHttpServletRequest b = new MockHttpServletRequest("GET", "/public/entries/feed");
+            b.addParameter("page", "1");
+            b.addParameter("size", "24");
+            MockHttpServletRequest c = new MockHttpServletRequest("GET", "/public/entries/feed");
+            c.addParameter("page", "2");
+
+            assertEquals(PublicResponseCache.key(TENANT, a), PublicResponseCache.key(TENANT, b));
+            assertNotEquals(PublicResponseCache.key(TENANT, a), PublicResponseCache.key(TENANT, c));
+            assertNotEquals(PublicResponseCache.key(TENANT, a), PublicResponseCache.key("acme", b));
+        }
+
+        @Test
+        void bump_rendersAgain() throws Exception {
+            fetch("/public/entries", "gzip");
+            when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                    eq(Document.class), eq(ContentVersionService.COLLECTION)))
+                    .thenReturn(new Document("_id", TENANT + ":CATALOG").append("version", 8L));
+            versions.bump(TENANT, ContentScope.CATALOG);
+
+            MockHttpServletResponse response = fetch("/public/entries", "gzip");
+
+            assertEquals(2, renders.get());
+            assertTrue(response.getHeader("ETag").startsWith("W/\"catalog-8-"));
+        }
+
+        @Test
+        void bumpDuringRender_isServedButNotCached() throws Exception {
+            when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                    eq(Document.class), eq(ContentVersionService.COLLECTION)))
+                    .thenReturn(new Document("_id", TENANT + ":CATALOG").append("version", 8L));
+            doAnswer(invocation -> {
+                renders.incrementAndGet();
+                versions.bump(TENANT, ContentScope.CATALOG); // a publish lands while the feed renders
+                HttpServletResponse response = invocation.getArgument(1);
+                response.setContentType("application/json");
+                response.getOutputStream().write(JSON.getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(chain).doFilter(any(), any());
+
+            MockHttpServletResponse response = fetch("/public/entries", "gzip");
+
+            assertEquals(JSON, response.getContentAsString());
+            assertTrue(response.getHeader("ETag").startsWith("\"catalog-7-"));
+            assertEquals(0, responseCache.stats().entries());
+        }
+
+        @Test
+        void unversionedRoutes_areNotCached() throws Exception {
+            fetch("/public/search", "gzip");
+            MockHttpServletResponse response = fetch("/public/search", "gzip");
+
+            assertEquals(2, renders.get());
+            assertNull(response.getHeader("Content-Encoding"));
+            assertEquals(JSON, response.getContentAsString());
+        }
+
+        @Test
+        void tenantRoutes_reuseBodiesWhileContentEtagHolds() throws Exception {
+            doAnswer(invocation -> {
+                renders.incrementAndGet();
+                HttpServletResponse response = invocation.getArgument(1);
+                response.setHeader("ETag", "\"abc\"");
+                response.setContentType("application/json");
+                response.getOutputStream().write(JSON.getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(chain).doFilter(any(), any());
+
+            fetch("/public/tenant/visitor", "gzip");
+            MockHttpServletResponse response = fetch("/public/tenant/visitor", "gzip");
+
+            assertEquals(2, renders.get());
+            assertEquals(1, responseCache.stats().hits());
+            assertEquals("W/\"abc\"", response.getHeader("ETag"));
+            assertEquals(JSON, gunzip(response.getContentAsByteArray()));
+        }
+
+        @Test
+        void errorsAndCookies_areNotCached() throws Exception {
+            doAnswer(invocation -> {
+                renders.incrementAndGet();
+                HttpServletResponse response = invocation.getArgument(1);
+                response.setStatus(404);
+                response.setContentType("application/json");
+                response.getOutputStream().write(JSON.getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(chain).doFilter(any(), any());
+
+            fetch("/public/entries/missing", "gzip");
+            MockHttpServletResponse response = fetch("/public/entries/missing", "gzip");
+
+            assertEquals(2, renders.get());
+            assertEquals(404, response.getStatus());
+            assertEquals(JSON, response.getContentAsString());
+        }
+
+        @Test
+        void disabled_passesThrough() throws Exception {
+            filter = new PublicCacheControlFilter("session", versions, new PublicResponseCache(false, 0, 0),
+                    entryRepository, CLOCK);
+
+            fetch("/public/entries", "gzip");
+            MockHttpServletResponse response = fetch("/public/entries", "gzip");
+
+            assertEquals(2, renders.get());
+            assertNull(response.getHeader("Vary"));
+            assertNull(response.getHeader("Content-Encoding"));
+        }
+
+        @Test
+        void acceptEncodingNegotiation() {
+            byte[] body = new byte[1];
+            PublicResponseCache.Representations all = new PublicResponseCache.Representations("\"v\"", "application/json", body, body, body);
+            PublicResponseCache.Representations gzipOnly = new PublicResponseCache.Representations("\"v\"", "application/json", body, body, null);
+
+            assertEquals(PublicResponseCache.Encoding.BROTLI, all.negotiate("gzip, deflate, br"));
+            assertEquals(PublicResponseCache.Encoding.GZIP, all.negotiate("br;q=0.5, gzip"));
+            assertEquals(PublicResponseCache.Encoding.GZIP, all.negotiate("br;q=0, *"));
+            assertEquals(PublicResponseCache.Encoding.GZIP, gzipOnly.negotiate("br, gzip"));
+            assertEquals(PublicResponseCache.Encoding.IDENTITY, all.negotiate("identity"));
+            assertEquals(PublicResponseCache.Encoding.IDENTITY, all.negotiate(null));
+        }
+
+        private static String gunzip(byte[] body) throws Exception {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
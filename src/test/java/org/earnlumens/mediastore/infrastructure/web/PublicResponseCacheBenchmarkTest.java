@@ -0,0 +1,183 @@
+package org.earnlumens.mediastore.infrastructure.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.bson.Document;
+import org.earnlumens.mediastore.domain.media.dto.response.PublicFeedItemResponse;
+import org.earnlumens.mediastore.domain.media.dto.response.PublicFeedPageResponse;
+import org.earnlumens.mediastore.domain.media.repository.EntryRepository;
+import org.earnlumens.mediastore.infrastructure.tenant.TenantContext;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * CPU benchmark for {@link PublicResponseCache}: anonymous explore-feed
+ * requests (48 items) through {@link PublicCacheControlFilter}, with a
+ * controller stand-in that serializes the page with Jackson. Rows:
+ * <ul>
+ *   <li>no cache, identity body (today without {@code server.compression});</li>
+ *   <li>no cache, gzip per request (today with {@code server.compression});</li>
+ *   <li>cache hit, gzip and brotli.</li>
+ * </ul>
+ * CPU and allocation are per-thread ({@code com.sun.management.ThreadMXBean})
+ * and exclude the Mongo query the real controller makes, so the uncached rows
+ * understate the saving.
+ * <p>
+ * Not part of {@code ./gradlew test}: runs with {@code ./gradlew webBenchmark}
+ * and writes {@code build/reports/web-benchmark/public-response-cache.md}.
+ */
+@Tag("web-benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PublicResponseCacheBenchmarkTest {
+
+    private static final String TENANT = "earnlumens";
+    private static final String PATH = "/public/entries/feed";
+    private static final int WARMUP = 2_000;
+    private static final int REQUESTS = 5_000;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final PublicFeedPageResponse page = page();
+    private final StringBuilder report = new StringBuilder();
+
+    private ContentVersionService versions;
+
+    @BeforeAll
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq(ContentVersionService.COLLECTION)))
+                .thenReturn(List.of(new Document("_id", TENANT + ":CATALOG").append("version", 1L)));
+        versions = new ContentVersionService(mongoTemplate);
+        versions.refresh();
+        TenantContext.set(TENANT);
+        report.append("# Public response cache benchmark\n\n")
+                .append("Explore feed, 48 items, ").append(REQUESTS).append(" requests per row\n\n")
+                .append("| Mode | CPU µs / request | Allocated KB / request | Body bytes |\n")
+                .append("|---|---:|---:|---:|\n");
+    }
+
+    @AfterAll
+    void tearDown() throws IOException {
+        TenantContext.clear();
+        String out = report.toString();
+        System.out.println(out);
+        Path dir = Path.of(System.getProperty("webBenchmark.reportDir", "build/reports/web-benchmark"));
+        Files.createDirectories(dir);
+        Files.writeString(dir.resolve("public-response-cache.md"), out);
+    }
+
+    @Test
+    void cacheHit_usesLessCpuThanSerializingAndCompressing() throws Exception {
+        PublicResponseCache disabled = new PublicResponseCache(false, 0, 0);
+        PublicResponseCache enabled = new PublicResponseCache(true, 64L << 20, 1 << 20);
+
+        double identity = row("no cache, identity", disabled, null, false);
+        double gzipPerRequest = row("no cache, gzip per request", disabled, "gzip", true);
+        double cachedGzip = row("cache hit, gzip", enabled, "gzip", false);
+        double cachedBrotli = row("cache hit, br", enabled, "gzip, deflate, br", false);
+
+        report.append('\n');
+        assertTrue(cachedGzip < identity, "cache hit should cost less CPU than serializing");
+        assertTrue(cachedGzip < gzipPerRequest, "cache hit should cost less CPU than compressing per request");
+        assertTrue(cachedBrotli < gzipPerRequest, "brotli hit should cost less CPU than compressing per request");
+    }
+
+    /** Runs one mode; returns CPU µs per request. */
+    private double row(String mode, PublicResponseCache cache, String acceptEncoding, boolean compressPerRequest)
+            throws Exception {
+        PublicCacheControlFilter filter = new PublicCacheControlFilter("session", versions, cache,
+                mock(EntryRepository.class), 90);
+        FilterChain controller = (request, response) -> {
+            byte[] json = objectMapper.writeValueAsBytes(page);
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setContentType("application/json");
+            if (compressPerRequest) {
+                json = gzipDefaultLevel(json);
+                http.setHeader("Content-Encoding", "gzip");
+            }
+            http.getOutputStream().write(json);
+        };
+
+        int bodyBytes = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            bodyBytes = request(filter, controller, acceptEncoding).getContentAsByteArray().length;
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < REQUESTS; i++) {
+            request(filter, controller, acceptEncoding);
+        }
+        double cpuMicros = (threads.getCurrentThreadCpuTime() - cpuBefore) / 1_000.0 / REQUESTS;
+        double allocatedKb = (threads.getThreadAllocatedBytes(thread) - allocatedBefore) / 1024.0 / REQUESTS;
+
+        report.append(String.format(Locale.ROOT, "| %s | %.1f | %.1f | %,d |%n", mode, cpuMicros, allocatedKb, bodyBytes));
+        return cpuMicros;
+    }
+
+    private static MockHttpServletResponse request(PublicCacheControlFilter filter, FilterChain controller,
+                                                   String acceptEncoding) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+        request.addParameter("sort", "newest");
+        request.addParameter("page", "0");
+        request.addParameter("size", "48");
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+
+    /** What Tomcat's {@code server.compression} does: default deflate level, every request. */
+    private static byte[] gzipDefaultLevel(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+
+    private static PublicFeedPageResponse page() {
+        List<PublicFeedItemResponse> items = new ArrayList<>(48);
+        for (int i = 0; i < 48; i++) {
+            items.add(new PublicFeedItemResponse(
+                    String.format(Locale.ROOT, "%024x", i + 1), "entry", i % 2 == 0 ? "video" : "audio",
+                    "Entry title number " + i + " with a realistic length",
+                    ("Description paragraph " + i + " about the session, the gear and the venue. ").repeat(3),
+                    "Creator" + (i % 20), "https://cdn.example.com/avatars/creator-" + (i % 20) + ".webp",
+                    i % 5 == 0 ? "u1" : null, "2026-01-01T00:00:00Z",
+                    "thumbnails/" + i + "/original.webp", null, 180 + i, 1_000L + i, i % 2 == 0,
+                    new BigDecimal("12.5"), new BigDecimal("3.10"), "XLM", 0, i % 2 == 0, false,
+                    "thumbnails/" + i + "/variants/", null, null));
+        }
+        return new PublicFeedPageResponse(items, 0, 48, 480, 10);
+    }
+}
@@ -0,0 +1,80 @@
+package org.earnlumens.mediastore.web.internal;
+
+import org.earnlumens.mediastore.application.media.ReportService;
+import org.earnlumens.mediastore.domain.media.model.ReportResolution;
+import org.earnlumens.mediastore.infrastructure.persistence.media.entity.ReportEntity;
+import org.earnlumens.mediastore.web.internal.ReportResolutionController.ResolveRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ReportResolutionController}.
+ */
+class ReportResolutionControllerTest {
+
+    private static final String SECRET = "test-reports-secret";
+    private static final String TENANT = "earnlumens";
+
+    private ReportService reportService;
+    private ReportResolutionController controller;
+
+    @BeforeEach
+    void setUp() {
+        reportService = mock(ReportService.class);
+        controller = new ReportResolutionController(reportService, SECRET);
+    }
+
+    @Test
+    void wrongSecret_returns403() {
+        ResponseEntity<?> resp = controller.resolve("wrong", "rep-1", new ResolveRequest(TENANT, "DISMISSED", "mod"));
+
+        assertEquals(403, resp.getStatusCode().value());
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    void placeholderSecret_failsClosed() {
+        controller = new ReportResolutionController(reportService, "CHANGE_ME_IN_ENV");
+
+        ResponseEntity<?> resp = controller.resolve("CHANGE_ME_IN_ENV", "rep-1",
+                new ResolveRequest(TENANT, "DISMISSED", "mod"));
+
+        assertEquals(503, resp.getStatusCode().value());
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    void resolve_movesTheTalliesThroughTheService() {
+        ReportEntity resolved = new ReportEntity();
+        resolved.setId("rep-1");
+        resolved.setResolution(ReportResolution.REMOVED.name());
+        when(reportService.resolveReport(TENANT, "rep-1", ReportResolution.REMOVED, "mod-7")).thenReturn(resolved);
+
+        ResponseEntity<?> resp = controller.resolve(SECRET, "rep-1", new ResolveRequest(TENANT, "removed", "mod-7"));
+
+        assertEquals(200, resp.getStatusCode().value());
+        verify(reportService).resolveReport(TENANT, "rep-1", ReportResolution.REMOVED, "mod-7");
+    }
+
+    @Test
+    void unknownResolution_returns400() {
+        ResponseEntity<?> resp = controller.resolve(SECRET, "rep-1", new ResolveRequest(TENANT, "BANNED", "mod"));
+
+        assertEquals(400, resp.getStatusCode().value());
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    void missingReport_returns404() {
+        when(reportService.resolveReport(TENANT, "rep-x", ReportResolution.CLOSED, "mod"))
+                .thenThrow(new IllegalArgumentException("REPORT_NOT_FOUND"));
+
+        ResponseEntity<?> resp = controller.resolve(SECRET, "rep-x", new ResolveRequest(TENANT, "CLOSED", "mod"));
+
+        assertEquals(404, resp.getStatusCode().value());
+    }
+}
@@ -2,6 +2,7 @@ package org.earnlumens.mediastore.web.media;
 
 import io.jsonwebtoken.Claims;
 import org.earnlumens.mediastore.application.media.EntryUploadService;
+import org.earnlumens.mediastore.application.media.OwnerStatsService;
 import org.earnlumens.mediastore.domain.media.dto.request.CreateEntryRequest;
 import org.earnlumens.mediastore.domain.media.dto.request.UpdateEntryStatusRequest;
 import org.earnlumens.mediastore.domain.media.dto.response.CreateEntryResponse;
@@ -54,7 +55,8 @@ class EntryControllerTest {
 
         when(tenantConfigService.findActiveBySubdomain(any())).thenReturn(Optional.empty());
 
-        EntryController controller = new EntryController(entryUploadService, tenantConfigService);
+        EntryController controller = new EntryController(entryUploadService, tenantConfigService,
+                mock(OwnerStatsService.class));
 
         AuthTokenFilter authFilter = new AuthTokenFilter();
         ReflectionTestUtils.setField(authFilter, "jwtUtils", jwtUtils);
@@ -6,6 +6,7 @@ import org.earnlumens.mediastore.application.media.MediaEntitlementService;
 import org.earnlumens.mediastore.domain.media.dto.response.MediaEntitlementResponse;
 import org.earnlumens.mediastore.infrastructure.security.jwt.JwtUtils;
 import org.earnlumens.mediastore.infrastructure.security.jwt.RefreshCookieAuthFilter;
+import org.earnlumens.mediastore.infrastructure.security.playback.PlaybackTokenService;
 import org.earnlumens.mediastore.infrastructure.tenant.TenantResolver;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -45,6 +46,7 @@ class MediaEntitlementControllerTest {
     private JwtUtils jwtUtils;
     private TenantResolver tenantResolver;
     private MediaEntitlementService mediaEntitlementService;
+    private PlaybackTokenService playbackTokenService;
 
     @BeforeEach
     void setUp() {
@@ -53,10 +55,11 @@ class MediaEntitlementControllerTest {
         jwtUtils = mock(JwtUtils.class);
         tenantResolver = mock(TenantResolver.class);
         mediaEntitlementService = mock(MediaEntitlementService.class);
+        playbackTokenService = mock(PlaybackTokenService.class);
 
         // Controller (no longer depends on JwtUtils)
         MediaEntitlementController controller =
-                new MediaEntitlementController(tenantResolver, mediaEntitlementService);
+                new MediaEntitlementController(tenantResolver, mediaEntitlementService, playbackTokenService);
 
         // Filter (cookie → SecurityContext)
         RefreshCookieAuthFilter cookieFilter = new RefreshCookieAuthFilter();
@@ -232,4 +235,53 @@ class MediaEntitlementControllerTest {
 
         verify(mediaEntitlementService).checkEntitlement(TENANT_ID, null, ENTRY_ID);
     }
+
+    // ─── HLS: playback token for edge-side verification ─────
+
+    @Test
+    void hlsEntry_allowed_carriesPlaybackToken() throws Exception {
+        configureValidToken();
+        String prefix = "public/media/entry-abc-456/hls";
+        when(mediaEntitlementService.checkEntitlement(TENANT_ID, USER_ID, ENTRY_ID))
+                .thenReturn(Optional.of(new MediaEntitlementResponse(true, null, null, null, null, prefix)));
+        when(playbackTokenService.issue(TENANT_ID, USER_ID, ENTRY_ID, prefix))
+                .thenReturn(Optional.of(new PlaybackTokenService.Issued("v1.k1.payload.sig", 1792400000L)));
+
+        mockMvc.perform(get("/api/media/entitlements/{entryId}", ENTRY_ID)
+                        .cookie(new Cookie(COOKIE_NAME, VALID_TOKEN)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hlsR2Prefix").value(prefix))
+                .andExpect(jsonPath("$.playbackToken").value("v1.k1.payload.sig"))
+                .andExpect(jsonPath("$.playbackTokenExpiresAt").value(1792400000L));
+    }
+
+    @Test
+    void hlsEntry_tokensDisabled_returnsPlainDecision() throws Exception {
+        String prefix = "public/media/entry-abc-456/hls";
+        when(mediaEntitlementService.checkEntitlement(TENANT_ID, null, ENTRY_ID))
+                .thenReturn(Optional.of(new MediaEntitlementResponse(true, null, null, null, null, prefix)));
+        when(playbackTokenService.issue(TENANT_ID, null, ENTRY_ID, prefix)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/media/entitlements/{entryId}", ENTRY_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allowed").value(true))
+                .andExpect(jsonPath("$.playbackToken").doesNotExist());
+    }
+
+    @Test
+    void nonHlsOrDenied_neverMintsToken() throws Exception {
+        when(mediaEntitlementService.checkEntitlement(TENANT_ID, null, ENTRY_ID))
+                .thenReturn(Optional.of(allowedResponse()));
+
+        mockMvc.perform(get("/api/media/entitlements/{entryId}", ENTRY_ID))
+                .andExpect(status().isOk());
+
+        when(mediaEntitlementService.checkEntitlement(TENANT_ID, null, ENTRY_ID))
+                .thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/media/entitlements/{entryId}", ENTRY_ID))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(playbackTokenService);
+    }
 }
@@ -5,6 +5,7 @@ import org.earnlumens.mediastore.domain.media.dto.request.FinalizeUploadRequest;
 import org.earnlumens.mediastore.domain.media.dto.request.InitUploadRequest;
 import org.earnlumens.mediastore.domain.media.dto.response.FinalizeUploadResponse;
 import org.earnlumens.mediastore.domain.media.dto.response.InitUploadResponse;
+import org.earnlumens.mediastore.domain.media.dto.response.PartUrlWindowResponse;
 import org.earnlumens.mediastore.infrastructure.security.jwt.AuthTokenFilter;
 import org.earnlumens.mediastore.infrastructure.security.jwt.JwtUtils;
 import org.earnlumens.mediastore.infrastructure.tenant.TenantResolver;
@@ -23,10 +24,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -178,4 +182,46 @@ class UploadControllerTest {
                 .andExpect(status().isForbidden())
                 .andExpect(jsonPath("$.error").value("Forbidden"));
     }
+
+    // ─── POST /api/uploads/part-urls ───────────────────────────
+
+    @Test
+    void partUrls_validAuth_returnsWindow() throws Exception {
+        setAuthContext();
+        when(entryUploadService.generatePartUrlWindow(TENANT_ID, USER_ID, "up-1", 33, 32))
+                .thenReturn(Optional.of(new PartUrlWindowResponse("up-1", 33, 40, List.of("u33", "u34"))));
+
+        mockMvc.perform(post("/api/uploads/part-urls")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uploadId\":\"up-1\",\"firstPart\":33,\"count\":32}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstPart").value(33))
+                .andExpect(jsonPath("$.totalParts").value(40))
+                .andExpect(jsonPath("$.partUrls[1]").value("u34"));
+    }
+
+    @Test
+    void partUrls_missingFirstPart_returns400() throws Exception {
+        setAuthContext();
+
+        mockMvc.perform(post("/api/uploads/part-urls")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uploadId\":\"up-1\"}"))
+                .andExpect(status().isBadRequest());
+
+        verify(entryUploadService, never()).generatePartUrlWindow(anyString(), anyString(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void partUrls_outOfRange_returns400() throws Exception {
+        setAuthContext();
+        when(entryUploadService.generatePartUrlWindow(TENANT_ID, USER_ID, "up-1", 99, 32))
+                .thenThrow(new IllegalArgumentException("INVALID_PART_NUMBER"));
+
+        mockMvc.perform(post("/api/uploads/part-urls")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"uploadId\":\"up-1\",\"firstPart\":99}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_PART_NUMBER"));
+    }
 }
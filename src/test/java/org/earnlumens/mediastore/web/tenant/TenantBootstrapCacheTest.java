@@ -0,0 +1,111 @@
+package org.earnlumens.mediastore.web.tenant;
+
+import org.earnlumens.mediastore.infrastructure.web.ContentScope;
+import org.earnlumens.mediastore.infrastructure.web.ContentVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link TenantBootstrapCache}: warm hits skip the body
+ * supplier, and stamp moves or TTL expiry rebuild it.
+ */
+class TenantBootstrapCacheTest {
+
+    private static final String TENANT = "acme";
+
+    private ContentVersionService versions;
+    private MutableClock clock;
+    private TenantBootstrapCache cache;
+    private AtomicInteger builds;
+
+    @BeforeEach
+    void setUp() {
+        versions = mock(ContentVersionService.class);
+        when(versions.current(any(), any())).thenReturn(OptionalLong.of(1));
+        clock = new MutableClock(Instant.parse("2026-10-19T12:00:00Z"));
+        cache = new TenantBootstrapCache(JsonMapper.builder().build(), versions, clock);
+        builds = new AtomicInteger();
+    }
+
+    private TenantBootstrapCache.Rendered get() {
+        return cache.get("bootstrap|tenant:acme|acme", List.of(TENANT), () -> {
+            builds.incrementAndGet();
+            return Map.of("visitor", Map.of("kind", "tenant", "subdomain", TENANT));
+        });
+    }
+
+    @Test
+    void warmHit_reusesRenderedBytes() {
+        TenantBootstrapCache.Rendered first = get();
+        TenantBootstrapCache.Rendered second = get();
+
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+        assertEquals(200, first.status());
+        assertTrue(new String(first.json(), StandardCharsets.UTF_8).contains("\"subdomain\":\"acme\""));
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+    }
+
+    @Test
+    void configBump_rebuilds() {
+        get();
+        when(versions.current(eq(TENANT), eq(ContentScope.CONFIG))).thenReturn(OptionalLong.of(2));
+
+        get();
+
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void ttlExpiry_rebuilds() {
+        get();
+        clock.advanceSeconds(TenantBootstrapCache.TTL.toSeconds() + 1);
+
+        get();
+
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void sameBytes_sameEtag() {
+        String a = cache.render(200, Map.of("k", "v")).etag();
+        String b = cache.render(200, Map.of("k", "v")).etag();
+        String c = cache.render(200, Map.of("k", "w")).etag();
+
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advanceSeconds(long seconds) {
+            now = now.plusSeconds(seconds);
+        }
+
+        @Override public ZoneId getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+        @Override public Instant instant() { return now; }
+    }
+}
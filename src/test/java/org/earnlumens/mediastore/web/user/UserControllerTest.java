@@ -2,6 +2,8 @@ package org.earnlumens.mediastore.web.user;
 
 import org.earnlumens.mediastore.application.user.UserService;
 import org.earnlumens.mediastore.application.user.UserBadgeService;
+import org.earnlumens.mediastore.application.user.UserProfileCache;
+import org.earnlumens.mediastore.application.user.UserSummary;
 import org.earnlumens.mediastore.domain.user.model.User;
 import org.earnlumens.mediastore.infrastructure.tenant.TenantResolver;
 import org.junit.jupiter.api.AfterEach;
@@ -20,6 +22,8 @@ import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -40,7 +44,8 @@ class UserControllerTest {
         tenantResolver = mock(TenantResolver.class);
         jwtUtils = mock(org.earnlumens.mediastore.infrastructure.security.jwt.JwtUtils.class);
         when(tenantResolver.resolve(org.mockito.ArgumentMatchers.any())).thenReturn("earnlumens");
-        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService, userBadgeService, tenantResolver, jwtUtils)).build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new UserController(userService, userBadgeService,
+                new UserProfileCache(100, 60), tenantResolver, jwtUtils)).build();
     }
 
     @AfterEach
@@ -64,6 +69,30 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.oauthProvider").value("x"));
     }
 
+    @Test
+    void me_repeatedCalls_serveProfileFromCache() throws Exception {
+        OAuth2User oauth2User = buildOauthUser();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(oauth2User, null, oauth2User.getAuthorities())
+        );
+        User user = new User();
+        user.setOauthUserId("oauth-id");
+        user.setContentLanguages(List.of("es"));
+        when(userService.findByOauthUserId("oauth-id")).thenReturn(Optional.of(user));
+        when(userBadgeService.getActiveBadgeKey("earnlumens", "oauth-id")).thenReturn(Optional.of("u1"));
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/user/me"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.profileBadge").value("u1"))
+                    .andExpect(jsonPath("$.contentLanguagePreferences.contentLanguages[0]").value("es"))
+                    .andExpect(jsonPath("$.contentLanguagePreferences.includeMulti").value(true));
+        }
+
+        verify(userService, times(1)).findByOauthUserId("oauth-id");
+        verify(userBadgeService, times(1)).getActiveBadgeKey("earnlumens", "oauth-id");
+    }
+
     @Test
     void me_whenNoAuthentication_returns401() throws Exception {
         SecurityContextHolder.clearContext();
@@ -80,7 +109,7 @@ class UserControllerTest {
         user.setUsername("daniel");
         user.setDisplayName("Daniel");
 
-        when(userService.findByUsername("daniel")).thenReturn(Optional.of(user));
+        when(userService.findSummaryByUsername("daniel")).thenReturn(Optional.of(UserSummary.of(user)));
 
         mockMvc.perform(get("/api/user/by-username/daniel"))
                 .andExpect(status().isOk())
@@ -89,7 +118,7 @@ class UserControllerTest {
 
     @Test
     void getByUsername_whenMissing_returns404() throws Exception {
-        when(userService.findByUsername("missing")).thenReturn(Optional.empty());
+        when(userService.findSummaryByUsername("missing")).thenReturn(Optional.empty());
 
         mockMvc.perform(get("/api/user/by-username/missing"))
                 .andExpect(status().isNotFound())
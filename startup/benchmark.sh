@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+#
+# Startup benchmark: boots the API in the plain and optimized (Spring AOT +
+# AppCDS) modes against a local MongoDB stand-in and reports, per run,
+# time-to-first-request (process launch → first HTTP response) and resident
+# set size right after that response.
+#
+# Usage: startup/benchmark.sh <boot-jar> <extracted-app-dir> [runs]
+#
+#   MONGODB_URI   use this MongoDB instead of starting a throwaway mongo:7 container
+#   BENCH_PORT    port the app listens on (default 18080)
+#   BENCH_PATH    request used as the "first request" (default /public, the health check)
+#   JAVA          java launcher (default: java on PATH)
+#
+# Invoked by `./gradlew -Paot startupBenchmark`; see docs/STARTUP.md.
+set -euo pipefail
+
+BOOT_JAR=${1:?boot jar required}
+APP_DIR=${2:?extracted app dir required}
+RUNS=${3:-3}
+PORT=${BENCH_PORT:-18080}
+REQUEST_PATH=${BENCH_PATH:-/public}
+JAVA=${JAVA:-java}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+TRAINING_PROPS="$ROOT/startup/training.properties"
+
+MONGO_CONTAINER=""
+cleanup() {
+  [[ -n "${APP_PID:-}" ]] && kill "$APP_PID" 2>/dev/null || true
+  [[ -n "$MONGO_CONTAINER" ]] && docker rm -f "$MONGO_CONTAINER" >/dev/null 2>&1 || true
+}
+trap cleanup EXIT
+
+if [[ -z "${MONGODB_URI:-}" ]]; then
+  MONGO_CONTAINER=$(docker run -d --rm -p 127.0.0.1::27017 mongo:7)
+  MONGO_PORT=$(docker port "$MONGO_CONTAINER" 27017/tcp | head -n1 | sed 's/.*://')
+  export MONGODB_URI="mongodb://127.0.0.1:${MONGO_PORT}/media_store_startup"
+  for _ in $(seq 1 60); do
+    docker exec "$MONGO_CONTAINER" mongosh --quiet --eval 'db.runCommand({ping:1}).ok' >/dev/null 2>&1 && break
+    sleep 0.5
+  done
+fi
+
+now_ms() { date +%s%3N; }
+
+# run_once <label> <java args...>: prints "<label> <ttfr-ms> <rss-mb> <status>"
+run_once() {
+  local label=$1; shift
+  local start status rss_kb
+  start=$(now_ms)
+  "$JAVA" "$@" \
+      --server.port="$PORT" \
+      --spring.config.additional-location="file:$TRAINING_PROPS" \
+      >"/tmp/startup-bench-$label.log" 2>&1 &
+  APP_PID=$!
+
+  status=000
+  for _ in $(seq 1 1200); do
+    status=$(curl -s -o /dev/null -w '%{http_code}' "http://127.0.0.1:${PORT}${REQUEST_PATH}" || true)
+    [[ "$status" != "000" ]] && break
+    if ! kill -0 "$APP_PID" 2>/dev/null; then
+      echo "$label: app exited before serving; see /tmp/startup-bench-$label.log" >&2
+      exit 1
+    fi
+    sleep 0.05
+  done
+  local ttfr=$(( $(now_ms) - start ))
+  rss_kb=$(ps -o rss= -p "$APP_PID" | tr -d ' ')
+
+  kill "$APP_PID"; wait "$APP_PID" 2>/dev/null || true
+  APP_PID=""
+  printf '%-10s %8d %8d %6s\n' "$label" "$ttfr" "$(( rss_kb / 1024 ))" "$status"
+}
+
+APP_JAR=$(find "$APP_DIR" -maxdepth 1 -name '*.jar' | head -n1)
+CDS_ARCHIVE="$APP_DIR/app.jsa"
+[[ -f "$CDS_ARCHIVE" ]] || { echo "missing $CDS_ARCHIVE — run ./gradlew -Paot cdsArchive" >&2; exit 1; }
+
+printf '%-10s %8s %8s %6s\n' mode ttfr_ms rss_mb status
+for _ in $(seq 1 "$RUNS"); do
+  run_once plain -jar "$BOOT_JAR"
+  run_once optimized -XX:SharedArchiveFile="$CDS_ARCHIVE" -Dspring.aot.enabled=true -jar "$APP_JAR"
+done